@@ -0,0 +1,63 @@
+/*
+ * Copyright Amazon.com, Inc. or its affiliates. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License").
+ * You may not use this file except in compliance with the License.
+ * A copy of the License is located at
+ *
+ *  http://aws.amazon.com/apache2.0
+ *
+ * or in the "license" file accompanying this file. This file is distributed
+ * on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either
+ * express or implied. See the License for the specific language governing
+ * permissions and limitations under the License.
+ */
+
+
+package software.amazon.awssdk.codegen.model.config.customization;
+
+/**
+ * Configuration for an async waiter whose polling requests are combined by a
+ * {@link software.amazon.awssdk.core.waiters.BatchingAsyncWaiter}.
+ */
+public class BatchedWaiterConfig {
+    /**
+     * The c2j name of the list member of the polling request that identifies the resources to wait for, e.g. "InstanceIds".
+     */
+    private String batchMember;
+
+    /**
+     * The FQCN of the {@code BiFunction<RequestT, ResponseT, ResponseT>} that narrows the response of a combined polling
+     * request down to the resources of one of the requests that were combined. It must have a public no-arg constructor.
+     */
+    private String responseFilterFqcn;
+
+    /**
+     * The maximum number of resources of a combined polling request. If not set, the default of the waiter is used.
+     */
+    private Integer maxBatchSize;
+
+    public String getBatchMember() {
+        return batchMember;
+    }
+
+    public void setBatchMember(String batchMember) {
+        this.batchMember = batchMember;
+    }
+
+    public String getResponseFilterFqcn() {
+        return responseFilterFqcn;
+    }
+
+    public void setResponseFilterFqcn(String responseFilterFqcn) {
+        this.responseFilterFqcn = responseFilterFqcn;
+    }
+
+    public Integer getMaxBatchSize() {
+        return maxBatchSize;
+    }
+
+    public void setMaxBatchSize(Integer maxBatchSize) {
+        this.maxBatchSize = maxBatchSize;
+    }
+}
@@ -192,6 +192,13 @@ public class CustomizationConfig {
      */
     private UnderscoresInNameBehavior underscoresInNameBehavior;
 
+    /**
+     * Async waiters whose polling requests should be combined across pending waits.
+     * Key - waiter name
+     * Value - how the polling requests of the waiter are combined
+     */
+    private Map<String, BatchedWaiterConfig> batchedWaiters = new HashMap<>();
+
     private String userAgent;
     
     private RetryMode defaultRetryMode;
@@ -474,6 +481,14 @@ public class CustomizationConfig {
         return this;
     }
 
+    public Map<String, BatchedWaiterConfig> getBatchedWaiters() {
+        return batchedWaiters;
+    }
+
+    public void setBatchedWaiters(Map<String, BatchedWaiterConfig> batchedWaiters) {
+        this.batchedWaiters = batchedWaiters;
+    }
+
     public String getUserAgent() {
         return userAgent;
     }
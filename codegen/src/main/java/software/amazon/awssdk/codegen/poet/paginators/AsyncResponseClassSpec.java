@@ -41,6 +41,7 @@ import software.amazon.awssdk.codegen.poet.PoetUtils;
 import software.amazon.awssdk.core.async.SdkPublisher;
 import software.amazon.awssdk.core.pagination.async.AsyncPageFetcher;
 import software.amazon.awssdk.core.pagination.async.PaginatedItemsPublisher;
+import software.amazon.awssdk.core.pagination.async.PrefetchingResponsesSubscription;
 import software.amazon.awssdk.core.pagination.async.ResponsesSubscription;
 
 /**
@@ -66,6 +67,7 @@ public class AsyncResponseClassSpec extends PaginatorsClassSpec {
                                                .addMethod(publicConstructor())
                                                .addMethod(privateConstructor())
                                                .addMethod(subscribeMethod())
+                                               .addMethod(prefetchMethod())
                                                .addMethods(getMethodSpecsForResultKeyList())
                                                .addJavadoc(paginationDocs.getDocsForAsyncResponseClass(
                                                    getAsyncClientInterfaceName()))
@@ -150,6 +152,37 @@ public class AsyncResponseClassSpec extends PaginatorsClassSpec {
                          .build();
     }
 
+    /**
+     * A {@link MethodSpec} for the prefetch() method, which returns a publisher of the same pages that fetches pages ahead
+     * of the subscriber using a {@link PrefetchingResponsesSubscription}.
+     */
+    private MethodSpec prefetchMethod() {
+        return MethodSpec.methodBuilder(PREFETCH_METHOD)
+                         .addModifiers(Modifier.PUBLIC, Modifier.FINAL)
+                         .addParameter(int.class, MAX_PREFETCHED_PAGES)
+                         .returns(getAsyncResponseInterface())
+                         .addStatement("return $1L -> $1L.onSubscribe($2T.builder().$1L($1L).$3L($4L).$5L($5L).build())",
+                                       SUBSCRIBER, PrefetchingResponsesSubscription.class, NEXT_PAGE_FETCHER_MEMBER,
+                                       nextPageFetcherArgument(), MAX_PREFETCHED_PAGES)
+                         .addJavadoc(CodeBlock.builder()
+                                              .add("Returns a publisher of the same response pages that, while the subscriber "
+                                                   + "is processing a page, fetches up to {@code $L} of the following pages "
+                                                   + "without waiting for the subscriber to request them.\n",
+                                                   MAX_PREFETCHED_PAGES)
+                                              .add("\n")
+                                              .add("This reduces the time spent waiting for the service when processing a page "
+                                                   + "takes a significant amount of time, at the cost of holding up to "
+                                                   + "{@code $L} additional pages in memory. The pages are still requested one "
+                                                   + "after the other, because each request depends on the previous response.\n",
+                                                   MAX_PREFETCHED_PAGES)
+                                              .add("\n")
+                                              .add("@param $L The maximum number of pages fetched ahead of the pages delivered "
+                                                   + "to the subscriber.\n", MAX_PREFETCHED_PAGES)
+                                              .add("@return A publisher of the response pages.")
+                                              .build())
+                         .build();
+    }
+
     protected String nextPageFetcherArgument() {
         return NEXT_PAGE_FETCHER_MEMBER;
     }
@@ -44,6 +44,8 @@ public abstract class PaginatorsClassSpec implements ClassSpec {
     protected static final String HAS_NEXT_PAGE_METHOD = "hasNextPage";
     protected static final String NEXT_PAGE_METHOD = "nextPage";
     protected static final String RESUME_METHOD = "resume";
+    protected static final String PREFETCH_METHOD = "prefetch";
+    protected static final String MAX_PREFETCHED_PAGES = "maxPrefetchedPages";
     protected static final String PREVIOUS_PAGE_METHOD_ARGUMENT = "previousPage";
     protected static final String RESPONSE_LITERAL = "response";
     protected static final String LAST_SUCCESSFUL_PAGE_LITERAL = "lastSuccessfulPage";
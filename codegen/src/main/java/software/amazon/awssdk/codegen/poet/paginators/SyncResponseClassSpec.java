@@ -25,6 +25,7 @@ import com.squareup.javapoet.TypeSpec;
 import java.util.Collections;
 import java.util.Iterator;
 import java.util.Objects;
+import java.util.concurrent.Executor;
 import java.util.function.Function;
 import java.util.stream.Collectors;
 import java.util.stream.Stream;
@@ -36,6 +37,7 @@ import software.amazon.awssdk.codegen.poet.ClassSpec;
 import software.amazon.awssdk.codegen.poet.PoetUtils;
 import software.amazon.awssdk.core.pagination.sync.PaginatedItemsIterable;
 import software.amazon.awssdk.core.pagination.sync.PaginatedResponsesIterator;
+import software.amazon.awssdk.core.pagination.sync.PrefetchingResponsesIterator;
 import software.amazon.awssdk.core.pagination.sync.SdkIterable;
 import software.amazon.awssdk.core.pagination.sync.SyncPageFetcher;
 
@@ -45,6 +47,7 @@ import software.amazon.awssdk.core.pagination.sync.SyncPageFetcher;
 public class SyncResponseClassSpec extends PaginatorsClassSpec {
 
     protected static final String ITERATOR_METHOD = "iterator";
+    private static final String EXECUTOR = "executor";
 
     public SyncResponseClassSpec(IntermediateModel model, String c2jOperationName, PaginatorDefinition paginatorDefinition) {
         super(model, c2jOperationName, paginatorDefinition);
@@ -59,6 +62,7 @@ public class SyncResponseClassSpec extends PaginatorsClassSpec {
                                                .addFields(fields().collect(Collectors.toList()))
                                                .addMethod(constructor())
                                                .addMethod(iteratorMethod())
+                                               .addMethod(prefetchMethod())
                                                .addMethods(getMethodSpecsForResultKeyList())
                                                .addJavadoc(paginationDocs.getDocsForSyncResponseClass(
                                                    getClientInterfaceName()))
@@ -123,6 +127,39 @@ public class SyncResponseClassSpec extends PaginatorsClassSpec {
                 .build();
     }
 
+    /**
+     * A {@link MethodSpec} for the prefetch() method, which returns an iterable over the same pages that fetches pages ahead
+     * of the caller using a {@link PrefetchingResponsesIterator}.
+     */
+    private MethodSpec prefetchMethod() {
+        return MethodSpec.methodBuilder(PREFETCH_METHOD)
+                         .addModifiers(Modifier.PUBLIC, Modifier.FINAL)
+                         .addParameter(int.class, MAX_PREFETCHED_PAGES)
+                         .addParameter(Executor.class, EXECUTOR)
+                         .returns(getSyncResponseInterface())
+                         .addStatement("return () -> $1T.builder().$2L($3L).$4L($4L).$5L($5L).build()",
+                                       PrefetchingResponsesIterator.class, NEXT_PAGE_FETCHER_MEMBER, nextPageFetcherArgument(),
+                                       MAX_PREFETCHED_PAGES, EXECUTOR)
+                         .addJavadoc(CodeBlock.builder()
+                                              .add("Returns an iterable over the same response pages that, while a page is "
+                                                   + "being processed, fetches up to {@code $L} of the following pages in the "
+                                                   + "background using the provided executor.\n",
+                                                   MAX_PREFETCHED_PAGES)
+                                              .add("\n")
+                                              .add("This reduces the time spent waiting for the service when processing a page "
+                                                   + "takes a significant amount of time, at the cost of holding up to "
+                                                   + "{@code $L} additional pages in memory. The pages are still requested one "
+                                                   + "after the other, because each request depends on the previous response.\n",
+                                                   MAX_PREFETCHED_PAGES)
+                                              .add("\n")
+                                              .add("@param $L The maximum number of pages fetched ahead of the page being "
+                                                   + "processed.\n", MAX_PREFETCHED_PAGES)
+                                              .add("@param $L The executor on which the pages are fetched.\n", EXECUTOR)
+                                              .add("@return An iterable over the response pages.")
+                                              .build())
+                         .build();
+    }
+
     protected String nextPageFetcherArgument() {
         return NEXT_PAGE_FETCHER_MEMBER;
     }
@@ -29,6 +29,7 @@ import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.Executors;
 import java.util.concurrent.ScheduledExecutorService;
 import javax.lang.model.element.Modifier;
+import software.amazon.awssdk.codegen.model.config.customization.BatchedWaiterConfig;
 import software.amazon.awssdk.codegen.model.intermediate.IntermediateModel;
 import software.amazon.awssdk.codegen.model.intermediate.OperationModel;
 import software.amazon.awssdk.codegen.poet.PoetExtensions;
@@ -81,6 +82,12 @@ public class AsyncWaiterClassSpec extends BaseWaiterClassSpec {
         return Optional.of(".scheduledExecutorService(executorService)");
     }
 
+    @Override
+    protected Optional<BatchedWaiterConfig> batchedWaiterConfig(String waiterKey) {
+        return Optional.ofNullable(model.getCustomizationConfig().getBatchedWaiters())
+                       .map(batchedWaiters -> batchedWaiters.get(waiterKey));
+    }
+
     @Override
     protected void additionalConstructorInitialization(MethodSpec.Builder method) {
         method.beginControlFlow("if (builder.executorService == null)")
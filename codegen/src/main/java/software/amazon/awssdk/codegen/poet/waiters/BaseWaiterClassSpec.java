@@ -47,7 +47,9 @@ import software.amazon.awssdk.annotations.ThreadSafe;
 import software.amazon.awssdk.awscore.AwsRequestOverrideConfiguration;
 import software.amazon.awssdk.awscore.exception.AwsServiceException;
 import software.amazon.awssdk.codegen.emitters.tasks.WaitersRuntimeGeneratorTask;
+import software.amazon.awssdk.codegen.model.config.customization.BatchedWaiterConfig;
 import software.amazon.awssdk.codegen.model.intermediate.IntermediateModel;
+import software.amazon.awssdk.codegen.model.intermediate.MemberModel;
 import software.amazon.awssdk.codegen.model.intermediate.OperationModel;
 import software.amazon.awssdk.codegen.model.service.Acceptor;
 import software.amazon.awssdk.codegen.model.service.WaiterDefinition;
@@ -58,6 +60,7 @@ import software.amazon.awssdk.core.ApiName;
 import software.amazon.awssdk.core.internal.waiters.WaiterAttribute;
 import software.amazon.awssdk.core.retry.backoff.BackoffStrategy;
 import software.amazon.awssdk.core.retry.backoff.FixedDelayBackoffStrategy;
+import software.amazon.awssdk.core.waiters.BatchingAsyncWaiter;
 import software.amazon.awssdk.core.waiters.WaiterAcceptor;
 import software.amazon.awssdk.core.waiters.WaiterOverrideConfiguration;
 import software.amazon.awssdk.core.waiters.WaiterState;
@@ -150,6 +153,13 @@ public abstract class BaseWaiterClassSpec implements ClassSpec {
         return Optional.empty();
     }
 
+    /**
+     * @return How the polling requests of the given waiter are combined, if it is a batched waiter.
+     */
+    protected Optional<BatchedWaiterConfig> batchedWaiterConfig(String waiterKey) {
+        return Optional.empty();
+    }
+
     private MethodSpec constructor() {
         MethodSpec.Builder ctor = MethodSpec.constructorBuilder()
                                             .addModifiers(PRIVATE)
@@ -218,6 +228,11 @@ public abstract class BaseWaiterClassSpec implements ClassSpec {
             .builder();
 
         String waiterFieldName = waiterFieldName(waiterKey);
+        Optional<BatchedWaiterConfig> batchedWaiterConfig = batchedWaiterConfig(waiterKey);
+        if (batchedWaiterConfig.isPresent()) {
+            return batchedWaiterFieldInitialization(waiterKey, opModel, batchedWaiterConfig.get());
+        }
+
         codeBlockBuilder.add("this.$L = $T.builder($T.class)"
                              + ".acceptors($LAcceptors()).overrideConfiguration($LConfig(builder.overrideConfiguration))",
                              waiterFieldName,
@@ -231,6 +246,41 @@ public abstract class BaseWaiterClassSpec implements ClassSpec {
         return codeBlockBuilder.build();
     }
 
+    private CodeBlock batchedWaiterFieldInitialization(String waiterKey, OperationModel opModel, BatchedWaiterConfig config) {
+        MemberModel batchMember = opModel.getInputShape().findMemberModelByC2jName(config.getBatchMember());
+        if (!batchMember.isList() || !"String".equals(batchMember.getListModel().getMemberType())) {
+            throw new IllegalStateException(String.format("The batch member %s of the %s waiter must be a list of strings.",
+                                                          config.getBatchMember(), waiterKey));
+        }
+
+        String waiterFieldName = waiterFieldName(waiterKey);
+        ClassName requestType = ClassName.get(modelPackage, opModel.getInput().getVariableType());
+        CodeBlock.Builder codeBlockBuilder = CodeBlock.builder();
+        codeBlockBuilder.add("this.$L = $T.builder($T.class, $T.class)"
+                             + ".acceptors($LAcceptors()).overrideConfiguration($LConfig(builder.overrideConfiguration))",
+                             waiterFieldName,
+                             BatchingAsyncWaiter.class,
+                             requestType,
+                             ClassName.get(modelPackage, opModel.getReturnType().getReturnType()),
+                             waiterFieldName,
+                             waiterFieldName);
+        additionalWaiterConfig().ifPresent(codeBlockBuilder::add);
+        codeBlockBuilder.add(".pollingFunction(r -> client.$N(applyWaitersUserAgent(r)))",
+                             lowercaseFirstChar(opModel.getOperationName()))
+                        .add(".batchMember($T::$N, (r, v) -> r.toBuilder().$N(v).build())",
+                             requestType,
+                             batchMember.getFluentGetterMethodName(),
+                             batchMember.getFluentSetterMethodName());
+        if (config.getResponseFilterFqcn() != null) {
+            codeBlockBuilder.add(".responseFilter(new $T())", ClassName.bestGuess(config.getResponseFilterFqcn()));
+        }
+        if (config.getMaxBatchSize() != null) {
+            codeBlockBuilder.add(".maxBatchSize($L)", config.getMaxBatchSize());
+        }
+        codeBlockBuilder.addStatement(".build()");
+        return codeBlockBuilder.build();
+    }
+
     private List<FieldSpec> waitersFields() {
         return waiters.entrySet().stream()
                       .map(this::waiterField)
@@ -241,6 +291,14 @@ public abstract class BaseWaiterClassSpec implements ClassSpec {
         OperationModel opModel = operationModel(waiterDefinition.getValue());
         ClassName pojoResponse = ClassName.get(modelPackage, opModel.getReturnType().getReturnType());
         String fieldName = waiterFieldName(waiterDefinition.getKey());
+        if (batchedWaiterConfig(waiterDefinition.getKey()).isPresent()) {
+            ClassName requestType = ClassName.get(modelPackage, opModel.getInput().getVariableType());
+            return FieldSpec.builder(ParameterizedTypeName.get(ClassName.get(BatchingAsyncWaiter.class),
+                                                               requestType,
+                                                               pojoResponse), fieldName)
+                            .addModifiers(PRIVATE, FINAL)
+                            .build();
+        }
         return FieldSpec.builder(ParameterizedTypeName.get(waiterClassName,
                                                            pojoResponse), fieldName)
                         .addModifiers(PRIVATE, FINAL)
@@ -317,8 +375,17 @@ public abstract class BaseWaiterClassSpec implements ClassSpec {
             .addParameter(requestType, opModel.getInput().getVariableName())
             .addParameter(overrideConfig, "overrideConfig")
             .addModifiers(PUBLIC)
-            .addAnnotation(Override.class)
-            .addStatement("return $L.$L(() -> client.$N(applyWaitersUserAgent($N)), $LConfig(overrideConfig))",
+            .addAnnotation(Override.class);
+
+        if (batchedWaiterConfig(waiterMethodName).isPresent()) {
+            return builder.addStatement("return $L.runAsync($N, $LConfig(overrideConfig))",
+                                        waiterFieldName,
+                                        opModel.getInput().getVariableName(),
+                                        waiterFieldName)
+                          .build();
+        }
+
+        builder.addStatement("return $L.$L(() -> client.$N(applyWaitersUserAgent($N)), $LConfig(overrideConfig))",
                           waiterFieldName,
                           waiterClassName.simpleName().equals("Waiter") ? "run" : "runAsync",
                           lowercaseFirstChar(waiterDefinition.getValue().getOperation()),
@@ -337,8 +404,16 @@ public abstract class BaseWaiterClassSpec implements ClassSpec {
         MethodSpec.Builder builder = methodSignatureWithReturnType(waiterMethodName, opModel)
             .addParameter(requestType, opModel.getInput().getVariableName())
             .addModifiers(PUBLIC)
-            .addAnnotation(Override.class)
-            .addStatement("return $L.$L(() -> client.$N(applyWaitersUserAgent($N)))",
+            .addAnnotation(Override.class);
+
+        if (batchedWaiterConfig(waiterMethodName).isPresent()) {
+            return builder.addStatement("return $L.runAsync($N)",
+                                        waiterFieldName(waiterMethodName),
+                                        opModel.getInput().getVariableName())
+                          .build();
+        }
+
+        builder.addStatement("return $L.$L(() -> client.$N(applyWaitersUserAgent($N)))",
                           waiterFieldName(waiterMethodName),
                           waiterClassName.simpleName().equals("Waiter") ? "run" : "runAsync",
                           lowercaseFirstChar(waiterDefinition.getValue().getOperation()),
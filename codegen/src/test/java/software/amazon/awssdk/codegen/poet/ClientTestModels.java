@@ -74,6 +74,22 @@ public class ClientTestModels {
         return new IntermediateModelBuilder(models).build();
     }
 
+    public static IntermediateModel batchedWaitersServiceModels() {
+        File serviceModel = new File(ClientTestModels.class.getResource("client/c2j/batchedwaiters/service-2.json").getFile());
+        File customizationModel =
+            new File(ClientTestModels.class.getResource("client/c2j/batchedwaiters/customization.config").getFile());
+        File waitersModel = new File(ClientTestModels.class.getResource("client/c2j/batchedwaiters/waiters-2.json").getFile());
+
+        C2jModels models = C2jModels
+                .builder()
+                .serviceModel(getServiceModel(serviceModel))
+                .customizationConfig(getCustomizationConfig(customizationModel))
+                .waitersModel(getWaiters(waitersModel))
+                .build();
+
+        return new IntermediateModelBuilder(models).build();
+    }
+
     public static IntermediateModel xmlServiceModels() {
         File serviceModel = new File(ClientTestModels.class.getResource("client/c2j/xml/service-2.json").getFile());
         File customizationModel = new File(ClientTestModels.class.getResource("client/c2j/xml/customization.config").getFile());
@@ -47,4 +47,10 @@ public class WaitersClassSpecTest {
         ClassSpec waiterInterface = new WaiterClassSpec(ClientTestModels.queryServiceModels());
         assertThat(waiterInterface, generatesTo("query-sync-waiter-class.java"));
     }
+
+    @Test
+    public void batchedAsyncWaiterImpl() throws Exception {
+        ClassSpec asyncWaiterClassSpec = new AsyncWaiterClassSpec(ClientTestModels.batchedWaitersServiceModels());
+        assertThat(asyncWaiterClassSpec, generatesTo("batched-async-waiter-class.java"));
+    }
 }
@@ -9,6 +9,7 @@ import software.amazon.awssdk.annotations.Generated;
 import software.amazon.awssdk.core.async.SdkPublisher;
 import software.amazon.awssdk.core.pagination.async.AsyncPageFetcher;
 import software.amazon.awssdk.core.pagination.async.PaginatedItemsPublisher;
+import software.amazon.awssdk.core.pagination.async.PrefetchingResponsesSubscription;
 import software.amazon.awssdk.core.pagination.async.ResponsesSubscription;
 import software.amazon.awssdk.core.util.PaginatorUtils;
 import software.amazon.awssdk.services.jsonprotocoltests.JsonProtocolTestsAsyncClient;
@@ -100,6 +101,23 @@ public class PaginatedOperationWithResultKeyPublisher implements SdkPublisher<Pa
         subscriber.onSubscribe(ResponsesSubscription.builder().subscriber(subscriber).nextPageFetcher(nextPageFetcher).build());
     }
 
+    /**
+     * Returns a publisher of the same response pages that, while the subscriber is processing a page, fetches up to
+     * {@code maxPrefetchedPages} of the following pages without waiting for the subscriber to request them.
+     *
+     * This reduces the time spent waiting for the service when processing a page takes a significant amount of time, at
+     * the cost of holding up to {@code maxPrefetchedPages} additional pages in memory. The pages are still requested one
+     * after the other, because each request depends on the previous response.
+     *
+     * @param maxPrefetchedPages
+     *        The maximum number of pages fetched ahead of the pages delivered to the subscriber.
+     * @return A publisher of the response pages.
+     */
+    public final SdkPublisher<PaginatedOperationWithResultKeyResponse> prefetch(int maxPrefetchedPages) {
+        return subscriber -> subscriber.onSubscribe(PrefetchingResponsesSubscription.builder().subscriber(subscriber)
+                .nextPageFetcher(nextPageFetcher).maxPrefetchedPages(maxPrefetchedPages).build());
+    }
+
     /**
      * Returns a publisher that can be used to get a stream of data. You need to subscribe to the publisher to request
      * the stream of data. The publisher has a helper forEach method that takes in a {@link java.util.function.Consumer}
@@ -1,8 +1,10 @@
 package software.amazon.awssdk.services.jsonprotocoltests.paginators;
 
 import java.util.Iterator;
+import java.util.concurrent.Executor;
 import software.amazon.awssdk.annotations.Generated;
 import software.amazon.awssdk.core.pagination.sync.PaginatedResponsesIterator;
+import software.amazon.awssdk.core.pagination.sync.PrefetchingResponsesIterator;
 import software.amazon.awssdk.core.pagination.sync.SdkIterable;
 import software.amazon.awssdk.core.pagination.sync.SyncPageFetcher;
 import software.amazon.awssdk.core.util.PaginatorUtils;
@@ -88,6 +90,25 @@ public class PaginatedOperationWithoutResultKeyIterable implements SdkIterable<P
         return PaginatedResponsesIterator.builder().nextPageFetcher(nextPageFetcher).build();
     }
 
+    /**
+     * Returns an iterable over the same response pages that, while a page is being processed, fetches up to
+     * {@code maxPrefetchedPages} of the following pages in the background using the provided executor.
+     *
+     * This reduces the time spent waiting for the service when processing a page takes a significant amount of time, at
+     * the cost of holding up to {@code maxPrefetchedPages} additional pages in memory. The pages are still requested one
+     * after the other, because each request depends on the previous response.
+     *
+     * @param maxPrefetchedPages
+     *        The maximum number of pages fetched ahead of the page being processed.
+     * @param executor
+     *        The executor on which the pages are fetched.
+     * @return An iterable over the response pages.
+     */
+    public final SdkIterable<PaginatedOperationWithoutResultKeyResponse> prefetch(int maxPrefetchedPages, Executor executor) {
+        return () -> PrefetchingResponsesIterator.builder().nextPageFetcher(nextPageFetcher)
+                .maxPrefetchedPages(maxPrefetchedPages).executor(executor).build();
+    }
+
     private class PaginatedOperationWithoutResultKeyResponseFetcher implements
                                                                     SyncPageFetcher<PaginatedOperationWithoutResultKeyResponse> {
         @Override
@@ -2,10 +2,12 @@ package software.amazon.awssdk.services.jsonprotocoltests.paginators;
 
 import java.util.Collections;
 import java.util.Iterator;
+import java.util.concurrent.Executor;
 import java.util.function.Function;
 import software.amazon.awssdk.annotations.Generated;
 import software.amazon.awssdk.core.pagination.sync.PaginatedItemsIterable;
 import software.amazon.awssdk.core.pagination.sync.PaginatedResponsesIterator;
+import software.amazon.awssdk.core.pagination.sync.PrefetchingResponsesIterator;
 import software.amazon.awssdk.core.pagination.sync.SdkIterable;
 import software.amazon.awssdk.core.pagination.sync.SyncPageFetcher;
 import software.amazon.awssdk.core.util.PaginatorUtils;
@@ -88,6 +90,25 @@ public class SameTokenPaginationApiIterable implements SdkIterable<SameTokenPagi
         return PaginatedResponsesIterator.builder().nextPageFetcher(new SameTokenPaginationApiResponseFetcher()).build();
     }
 
+    /**
+     * Returns an iterable over the same response pages that, while a page is being processed, fetches up to
+     * {@code maxPrefetchedPages} of the following pages in the background using the provided executor.
+     *
+     * This reduces the time spent waiting for the service when processing a page takes a significant amount of time, at
+     * the cost of holding up to {@code maxPrefetchedPages} additional pages in memory. The pages are still requested one
+     * after the other, because each request depends on the previous response.
+     *
+     * @param maxPrefetchedPages
+     *        The maximum number of pages fetched ahead of the page being processed.
+     * @param executor
+     *        The executor on which the pages are fetched.
+     * @return An iterable over the response pages.
+     */
+    public final SdkIterable<SameTokenPaginationApiResponse> prefetch(int maxPrefetchedPages, Executor executor) {
+        return () -> PrefetchingResponsesIterator.builder().nextPageFetcher(new SameTokenPaginationApiResponseFetcher())
+                .maxPrefetchedPages(maxPrefetchedPages).executor(executor).build();
+    }
+
     /**
      * Returns an iterable to iterate through the paginated {@link SameTokenPaginationApiResponse#items()} member. The
      * returned iterable is used to iterate through the results across all response pages and not a single page.
@@ -0,0 +1,207 @@
+package software.amazon.awssdk.services.batchedwaiters.waiters;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.function.Consumer;
+import software.amazon.awssdk.annotations.Generated;
+import software.amazon.awssdk.annotations.SdkInternalApi;
+import software.amazon.awssdk.annotations.ThreadSafe;
+import software.amazon.awssdk.awscore.AwsRequestOverrideConfiguration;
+import software.amazon.awssdk.awscore.exception.AwsServiceException;
+import software.amazon.awssdk.core.ApiName;
+import software.amazon.awssdk.core.internal.waiters.WaiterAttribute;
+import software.amazon.awssdk.core.retry.backoff.BackoffStrategy;
+import software.amazon.awssdk.core.retry.backoff.FixedDelayBackoffStrategy;
+import software.amazon.awssdk.core.waiters.AsyncWaiter;
+import software.amazon.awssdk.core.waiters.BatchingAsyncWaiter;
+import software.amazon.awssdk.core.waiters.WaiterAcceptor;
+import software.amazon.awssdk.core.waiters.WaiterOverrideConfiguration;
+import software.amazon.awssdk.core.waiters.WaiterResponse;
+import software.amazon.awssdk.services.batchedwaiters.BatchedWaitersAsyncClient;
+import software.amazon.awssdk.services.batchedwaiters.internal.DescribeThingsResponseFilter;
+import software.amazon.awssdk.services.batchedwaiters.model.BatchedWaitersRequest;
+import software.amazon.awssdk.services.batchedwaiters.model.DescribeThingsRequest;
+import software.amazon.awssdk.services.batchedwaiters.model.DescribeThingsResponse;
+import software.amazon.awssdk.services.batchedwaiters.waiters.internal.WaitersRuntime;
+import software.amazon.awssdk.utils.AttributeMap;
+import software.amazon.awssdk.utils.SdkAutoCloseable;
+import software.amazon.awssdk.utils.ThreadFactoryBuilder;
+
+@Generated("software.amazon.awssdk:codegen")
+@SdkInternalApi
+@ThreadSafe
+final class DefaultBatchedWaitersAsyncWaiter implements BatchedWaitersAsyncWaiter {
+    private static final WaiterAttribute<SdkAutoCloseable> CLIENT_ATTRIBUTE = new WaiterAttribute<>(SdkAutoCloseable.class);
+
+    private static final WaiterAttribute<ScheduledExecutorService> SCHEDULED_EXECUTOR_SERVICE_ATTRIBUTE = new WaiterAttribute<>(ScheduledExecutorService.class);
+
+    private final BatchedWaitersAsyncClient client;
+
+    private final AttributeMap managedResources;
+
+    private final BatchingAsyncWaiter<DescribeThingsRequest, DescribeThingsResponse> thingReadyWaiter;
+
+    private final AsyncWaiter<DescribeThingsResponse> thingExistsWaiter;
+
+    private final ScheduledExecutorService executorService;
+
+    private DefaultBatchedWaitersAsyncWaiter(DefaultBuilder builder) {
+        AttributeMap.Builder attributeMapBuilder = AttributeMap.builder();
+        if (builder.client == null) {
+            this.client = BatchedWaitersAsyncClient.builder().build();
+            attributeMapBuilder.put(CLIENT_ATTRIBUTE, this.client);
+        }
+        else {
+            this.client = builder.client;
+        }
+        if (builder.executorService == null) {
+            this.executorService = Executors.newScheduledThreadPool(1, new ThreadFactoryBuilder().threadNamePrefix("waiters-ScheduledExecutor").build());
+            attributeMapBuilder.put(SCHEDULED_EXECUTOR_SERVICE_ATTRIBUTE, this.executorService);
+        }
+        else {
+            this.executorService = builder.executorService;
+        }
+        managedResources = attributeMapBuilder.build();
+        this.thingReadyWaiter = BatchingAsyncWaiter.builder(DescribeThingsRequest.class, DescribeThingsResponse.class).acceptors(thingReadyWaiterAcceptors())
+                                                .overrideConfiguration(thingReadyWaiterConfig(builder.overrideConfiguration))
+                                                .scheduledExecutorService(executorService)
+                                                .pollingFunction(r -> client.describeThings(applyWaitersUserAgent(r)))
+                                                .batchMember(DescribeThingsRequest::thingIds, (r, v) -> r.toBuilder().thingIds(v).build())
+                                                .responseFilter(new DescribeThingsResponseFilter())
+                                                .maxBatchSize(50).build();
+        this.thingExistsWaiter = AsyncWaiter.builder(DescribeThingsResponse.class).acceptors(thingExistsWaiterAcceptors()).overrideConfiguration(thingExistsWaiterConfig(builder.overrideConfiguration)).scheduledExecutorService(executorService).build();
+    }
+
+    private static String errorCode(Throwable error) {
+        if (error instanceof AwsServiceException) {
+            return ((AwsServiceException) error).awsErrorDetails().errorCode();
+        }
+        return null;
+    }
+
+    @Override
+    public CompletableFuture<WaiterResponse<DescribeThingsResponse>> waitUntilThingExists(
+            DescribeThingsRequest describeThingsRequest) {
+        return thingExistsWaiter.runAsync(() -> client.describeThings(applyWaitersUserAgent(describeThingsRequest)));
+    }
+
+    @Override
+    public CompletableFuture<WaiterResponse<DescribeThingsResponse>> waitUntilThingExists(
+            DescribeThingsRequest describeThingsRequest, WaiterOverrideConfiguration overrideConfig) {
+        return thingExistsWaiter.runAsync(() -> client.describeThings(applyWaitersUserAgent(describeThingsRequest)), thingExistsWaiterConfig(overrideConfig));
+    }
+
+    @Override
+    public CompletableFuture<WaiterResponse<DescribeThingsResponse>> waitUntilThingReady(
+            DescribeThingsRequest describeThingsRequest) {
+        return thingReadyWaiter.runAsync(describeThingsRequest);
+    }
+
+    @Override
+    public CompletableFuture<WaiterResponse<DescribeThingsResponse>> waitUntilThingReady(
+            DescribeThingsRequest describeThingsRequest, WaiterOverrideConfiguration overrideConfig) {
+        return thingReadyWaiter.runAsync(describeThingsRequest, thingReadyWaiterConfig(overrideConfig));
+    }
+
+    private static List<WaiterAcceptor<? super DescribeThingsResponse>> thingReadyWaiterAcceptors() {
+        List<WaiterAcceptor<? super DescribeThingsResponse>> result = new ArrayList<>();
+        result.add(WaiterAcceptor.successOnResponseAcceptor(response -> {
+            WaitersRuntime.Value input = new WaitersRuntime.Value(response);
+            List<Object> resultValues = input.field("Things").flatten().field("State").values();
+            return !resultValues.isEmpty() && resultValues.stream().allMatch(v -> Objects.equals(v, "ready"));
+        }));
+        result.add(WaiterAcceptor.errorOnResponseAcceptor(response -> {
+            WaitersRuntime.Value input = new WaitersRuntime.Value(response);
+            List<Object> resultValues = input.field("Things").flatten().field("State").values();
+            return !resultValues.isEmpty() && resultValues.stream().anyMatch(v -> Objects.equals(v, "failed"));
+        }));
+        result.addAll(WaitersRuntime.DEFAULT_ACCEPTORS);
+        return result;
+    }
+
+    private static List<WaiterAcceptor<? super DescribeThingsResponse>> thingExistsWaiterAcceptors() {
+        List<WaiterAcceptor<? super DescribeThingsResponse>> result = new ArrayList<>();
+        result.add(WaiterAcceptor.successOnResponseAcceptor(response -> {
+            WaitersRuntime.Value input = new WaitersRuntime.Value(response);
+            return Objects.equals(input.field("Things").flatten().length().compare(">", input.constant(0)).value(), true);
+        }));
+        result.addAll(WaitersRuntime.DEFAULT_ACCEPTORS);
+        return result;
+    }
+
+    private static WaiterOverrideConfiguration thingReadyWaiterConfig(
+            WaiterOverrideConfiguration overrideConfig) {
+        Optional<WaiterOverrideConfiguration> optionalOverrideConfig = Optional.ofNullable(overrideConfig);
+        int maxAttempts = optionalOverrideConfig.flatMap(WaiterOverrideConfiguration::maxAttempts).orElse(40);
+        BackoffStrategy backoffStrategy = optionalOverrideConfig.flatMap(WaiterOverrideConfiguration::backoffStrategy).orElse(FixedDelayBackoffStrategy.create(Duration.ofSeconds(5)));
+        Duration waitTimeout = optionalOverrideConfig.flatMap(WaiterOverrideConfiguration::waitTimeout).orElse(null);
+        return WaiterOverrideConfiguration.builder().maxAttempts(maxAttempts).backoffStrategy(backoffStrategy).waitTimeout(waitTimeout).build();
+    }
+
+    private static WaiterOverrideConfiguration thingExistsWaiterConfig(
+            WaiterOverrideConfiguration overrideConfig) {
+        Optional<WaiterOverrideConfiguration> optionalOverrideConfig = Optional.ofNullable(overrideConfig);
+        int maxAttempts = optionalOverrideConfig.flatMap(WaiterOverrideConfiguration::maxAttempts).orElse(40);
+        BackoffStrategy backoffStrategy = optionalOverrideConfig.flatMap(WaiterOverrideConfiguration::backoffStrategy).orElse(FixedDelayBackoffStrategy.create(Duration.ofSeconds(5)));
+        Duration waitTimeout = optionalOverrideConfig.flatMap(WaiterOverrideConfiguration::waitTimeout).orElse(null);
+        return WaiterOverrideConfiguration.builder().maxAttempts(maxAttempts).backoffStrategy(backoffStrategy).waitTimeout(waitTimeout).build();
+    }
+
+    @Override
+    public void close() {
+        managedResources.close();
+    }
+
+    public static BatchedWaitersAsyncWaiter.Builder builder() {
+        return new DefaultBuilder();
+    }
+
+    private <T extends BatchedWaitersRequest> T applyWaitersUserAgent(T request) {
+        Consumer<AwsRequestOverrideConfiguration.Builder> userAgentApplier = b -> b.addApiName(ApiName.builder().version("waiter").name("hll").build());
+        AwsRequestOverrideConfiguration overrideConfiguration =
+                                        request.overrideConfiguration().map(c -> c.toBuilder().applyMutation(userAgentApplier).build())
+                                        .orElse((AwsRequestOverrideConfiguration.builder().applyMutation(userAgentApplier).build()));
+        return (T) request.toBuilder().overrideConfiguration(overrideConfiguration).build();
+    }
+
+    public static final class DefaultBuilder implements BatchedWaitersAsyncWaiter.Builder {
+        private BatchedWaitersAsyncClient client;
+
+        private WaiterOverrideConfiguration overrideConfiguration;
+
+        private ScheduledExecutorService executorService;
+
+        private DefaultBuilder() {
+        }
+
+        @Override
+        public BatchedWaitersAsyncWaiter.Builder scheduledExecutorService(
+                ScheduledExecutorService executorService) {
+            this.executorService = executorService;
+            return this;
+        }
+
+        @Override
+        public BatchedWaitersAsyncWaiter.Builder overrideConfiguration(
+                WaiterOverrideConfiguration overrideConfiguration) {
+            this.overrideConfiguration = overrideConfiguration;
+            return this;
+        }
+
+        @Override
+        public BatchedWaitersAsyncWaiter.Builder client(BatchedWaitersAsyncClient client) {
+            this.client = client;
+            return this;
+        }
+
+        public BatchedWaitersAsyncWaiter build() {
+            return new DefaultBatchedWaitersAsyncWaiter(this);
+        }
+    }
+}
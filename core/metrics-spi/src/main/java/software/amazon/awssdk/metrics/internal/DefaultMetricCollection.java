@@ -39,10 +39,15 @@ public final class DefaultMetricCollection implements MetricCollection {
 
     public DefaultMetricCollection(String name, Map<SdkMetric<?>,
         List<MetricRecord<?>>> metrics, List<MetricCollection> children) {
+        this(name, metrics, children, Instant.now());
+    }
+
+    DefaultMetricCollection(String name, Map<SdkMetric<?>, List<MetricRecord<?>>> metrics, List<MetricCollection> children,
+                            Instant creationTime) {
         this.name = name;
         this.metrics = new HashMap<>(metrics);
         this.children = children != null ? Collections.unmodifiableList(new ArrayList<>(children)) : Collections.emptyList();
-        this.creationTime = Instant.now();
+        this.creationTime = creationTime;
     }
 
     @Override
@@ -15,11 +15,14 @@
 
 package software.amazon.awssdk.metrics.internal;
 
+import java.time.Instant;
 import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Iterator;
 import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
-import java.util.stream.Collectors;
+import java.util.concurrent.atomic.AtomicReference;
 import software.amazon.awssdk.annotations.SdkInternalApi;
 import software.amazon.awssdk.metrics.MetricCollection;
 import software.amazon.awssdk.metrics.MetricCollector;
@@ -29,12 +32,19 @@ import software.amazon.awssdk.utils.Logger;
 import software.amazon.awssdk.utils.ToString;
 import software.amazon.awssdk.utils.Validate;
 
+/**
+ * A lock-free {@link MetricCollector}.
+ *
+ * <p>Reported values are prepended to an immutable list with a compare-and-set, and children are kept in the same kind of
+ * append-only list. {@link #collect()} only takes a snapshot of the head of the list; the values are grouped into
+ * {@link MetricRecord}s when the returned collection is first read.
+ */
 @SdkInternalApi
 public final class DefaultMetricCollector implements MetricCollector {
     private static final Logger log = Logger.loggerFor(DefaultMetricCollector.class);
     private final String name;
-    private final Map<SdkMetric<?>, List<MetricRecord<?>>> metrics = new LinkedHashMap<>();
-    private final List<MetricCollector> children = new ArrayList<>();
+    private final AtomicReference<Value> values = new AtomicReference<>();
+    private final AtomicReference<Child> children = new AtomicReference<>();
 
     public DefaultMetricCollector(String name) {
         this.name = name;
@@ -46,25 +56,36 @@ public final class DefaultMetricCollector implements MetricCollector {
     }
 
     @Override
-    public synchronized <T> void reportMetric(SdkMetric<T> metric, T data) {
-        metrics.computeIfAbsent(metric, (m) -> new ArrayList<>())
-               .add(new DefaultMetricRecord<>(metric, data));
+    public <T> void reportMetric(SdkMetric<T> metric, T data) {
+        Value value = new Value(metric, data);
+        Value head;
+        do {
+            head = values.get();
+            value.next = head;
+        } while (!values.compareAndSet(head, value));
     }
 
     @Override
-    public synchronized MetricCollector createChild(String name) {
-        MetricCollector child = new DefaultMetricCollector(name);
-        children.add(child);
-        return child;
+    public MetricCollector createChild(String name) {
+        MetricCollector childCollector = new DefaultMetricCollector(name);
+        Child child = new Child(childCollector);
+        Child head;
+        do {
+            head = children.get();
+            child.next = head;
+        } while (!children.compareAndSet(head, child));
+        return childCollector;
     }
 
     @Override
-    public synchronized MetricCollection collect() {
-        List<MetricCollection> collectedChildren = children.stream()
-                .map(MetricCollector::collect)
-                .collect(Collectors.toList());
+    public MetricCollection collect() {
+        List<MetricCollection> collectedChildren = new ArrayList<>();
+        for (Child child = children.get(); child != null; child = child.next) {
+            collectedChildren.add(child.collector.collect());
+        }
+        Collections.reverse(collectedChildren);
 
-        DefaultMetricCollection metricRecords = new DefaultMetricCollection(name, metrics, collectedChildren);
+        LazyMetricCollection metricRecords = new LazyMetricCollection(name, values.get(), collectedChildren);
 
         log.debug(() -> "Collected metrics records: " + metricRecords);
         return metricRecords;
@@ -78,6 +99,110 @@ public final class DefaultMetricCollector implements MetricCollector {
     @Override
     public String toString() {
         return ToString.builder("DefaultMetricCollector")
-            .add("metrics", metrics).build();
+            .add("metrics", toRecords(values.get())).build();
+    }
+
+    /**
+     * Convert a list of values, which is ordered newest first, into records grouped by metric in the order they were reported.
+     */
+    private static Map<SdkMetric<?>, List<MetricRecord<?>>> toRecords(Value newest) {
+        List<Value> reported = new ArrayList<>();
+        for (Value value = newest; value != null; value = value.next) {
+            reported.add(value);
+        }
+        Collections.reverse(reported);
+
+        Map<SdkMetric<?>, List<MetricRecord<?>>> records = new LinkedHashMap<>();
+        for (Value value : reported) {
+            records.computeIfAbsent(value.metric, m -> new ArrayList<>()).add(value.toRecord());
+        }
+        return records;
+    }
+
+    /**
+     * A node in the list of reported values. {@link #next} is only written before the node is published with a
+     * compare-and-set, which makes it visible to every thread that reads the node from the list.
+     */
+    private static final class Value {
+        private final SdkMetric<?> metric;
+        private final Object value;
+        private Value next;
+
+        private Value(SdkMetric<?> metric, Object value) {
+            this.metric = metric;
+            this.value = value;
+        }
+
+        @SuppressWarnings("unchecked")
+        private MetricRecord<?> toRecord() {
+            return new DefaultMetricRecord<>((SdkMetric<Object>) metric, value);
+        }
+    }
+
+    private static final class Child {
+        private final MetricCollector collector;
+        private Child next;
+
+        private Child(MetricCollector collector) {
+            this.collector = collector;
+        }
+    }
+
+    /**
+     * A {@link MetricCollection} over a snapshot of a collector's values, which creates its records on first use.
+     */
+    private static final class LazyMetricCollection implements MetricCollection {
+        private final String name;
+        private final List<MetricCollection> children;
+        private final Instant creationTime;
+        private final Value newestValue;
+        private volatile MetricCollection delegate;
+
+        private LazyMetricCollection(String name, Value newestValue, List<MetricCollection> children) {
+            this.name = name;
+            this.newestValue = newestValue;
+            this.children = Collections.unmodifiableList(children);
+            this.creationTime = Instant.now();
+        }
+
+        @Override
+        public String name() {
+            return name;
+        }
+
+        @Override
+        public <T> List<T> metricValues(SdkMetric<T> metric) {
+            return delegate().metricValues(metric);
+        }
+
+        @Override
+        public List<MetricCollection> children() {
+            return children;
+        }
+
+        @Override
+        public Instant creationTime() {
+            return creationTime;
+        }
+
+        @Override
+        public Iterator<MetricRecord<?>> iterator() {
+            return delegate().iterator();
+        }
+
+        @Override
+        public String toString() {
+            return delegate().toString();
+        }
+
+        private MetricCollection delegate() {
+            MetricCollection result = delegate;
+            if (result == null) {
+                // Racing readers may each build an equivalent collection; any of them can be kept.
+                result = new DefaultMetricCollection(name, toRecords(newestValue), children, creationTime);
+                delegate = result;
+            }
+            return result;
+        }
     }
 }
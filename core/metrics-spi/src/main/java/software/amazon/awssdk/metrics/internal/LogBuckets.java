@@ -0,0 +1,110 @@
+/*
+ * Copyright Amazon.com, Inc. or its affiliates. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License").
+ * You may not use this file except in compliance with the License.
+ * A copy of the License is located at
+ *
+ *  http://aws.amazon.com/apache2.0
+ *
+ * or in the "license" file accompanying this file. This file is distributed
+ * on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either
+ * express or implied. See the License for the specific language governing
+ * permissions and limitations under the License.
+ */
+
+package software.amazon.awssdk.metrics.internal;
+
+import software.amazon.awssdk.annotations.Immutable;
+import software.amazon.awssdk.annotations.SdkInternalApi;
+import software.amazon.awssdk.annotations.ThreadSafe;
+import software.amazon.awssdk.utils.Validate;
+
+/**
+ * The bucket layout of a histogram with logarithmically-sized buckets, in the style of an HDR histogram, shared by the
+ * histograms of the metric publishers.
+ *
+ * <p>Each power of two in a bounded range is split into {@link #subBuckets()} linear sub-buckets, so a bucket is never wider
+ * than 1/{@link #subBuckets()} of the values it contains. Buckets are numbered from 0 in ascending order of value, and the
+ * buckets of one power of two are consecutive, so a histogram can allocate them one power of two at a time: bucket {@code i}
+ * is sub-bucket {@code i % subBuckets()} of power of two {@code i / subBuckets()}.
+ */
+@SdkInternalApi
+@Immutable
+@ThreadSafe
+public final class LogBuckets {
+    private static final int MANTISSA_BITS = 52;
+
+    private final int subBucketBits;
+    private final int subBuckets;
+    private final int minExponent;
+    private final int maxExponent;
+
+    /**
+     * @param subBucketBits The base 2 logarithm of the number of sub-buckets per power of two.
+     * @param minExponent The exponent of the lowest power of two with buckets of its own.
+     * @param maxExponent The exponent of the highest power of two with buckets of its own.
+     */
+    public LogBuckets(int subBucketBits, int minExponent, int maxExponent) {
+        Validate.isTrue(subBucketBits >= 0 && subBucketBits <= 16, "subBucketBits must be between 0 and 16");
+        Validate.isTrue(minExponent >= Double.MIN_EXPONENT && maxExponent <= Double.MAX_EXPONENT && minExponent <= maxExponent,
+                        "The exponent range must be within the range of normal doubles");
+        this.subBucketBits = subBucketBits;
+        this.subBuckets = 1 << subBucketBits;
+        this.minExponent = minExponent;
+        this.maxExponent = maxExponent;
+    }
+
+    /**
+     * @return The number of sub-buckets per power of two.
+     */
+    public int subBuckets() {
+        return subBuckets;
+    }
+
+    /**
+     * @return The number of powers of two with buckets of their own.
+     */
+    public int exponents() {
+        return maxExponent - minExponent + 1;
+    }
+
+    /**
+     * @return The total number of buckets.
+     */
+    public int bucketCount() {
+        return exponents() << subBucketBits;
+    }
+
+    /**
+     * @return The smallest magnitude that is not clamped to the lowest bucket.
+     */
+    public double minMagnitude() {
+        return Math.scalb(1.0, minExponent);
+    }
+
+    /**
+     * Return the bucket of a positive, finite magnitude. Magnitudes below {@link #minMagnitude()} are in the lowest bucket, and
+     * magnitudes above the highest power of two are in the highest bucket.
+     */
+    public int bucketIndex(double magnitude) {
+        int exponent = Math.getExponent(magnitude);
+        if (exponent < minExponent) {
+            return 0;
+        }
+        if (exponent > maxExponent) {
+            return bucketCount() - 1;
+        }
+        int subBucket = (int) (Double.doubleToRawLongBits(magnitude) >>> (MANTISSA_BITS - subBucketBits)) & (subBuckets - 1);
+        return (exponent - minExponent) << subBucketBits | subBucket;
+    }
+
+    /**
+     * Return the value in the middle of a bucket.
+     */
+    public double bucketMidpoint(int bucketIndex) {
+        int exponent = (bucketIndex >>> subBucketBits) + minExponent;
+        int subBucket = bucketIndex & (subBuckets - 1);
+        return Math.scalb(1 + (subBucket + 0.5) / subBuckets, exponent);
+    }
+}
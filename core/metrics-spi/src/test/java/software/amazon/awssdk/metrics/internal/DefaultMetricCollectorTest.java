@@ -17,6 +17,11 @@ package software.amazon.awssdk.metrics.internal;
 
 import static org.assertj.core.api.Assertions.assertThat;
 
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
 import java.util.stream.Stream;
 import org.junit.Rule;
 import org.junit.jupiter.api.AfterAll;
@@ -30,6 +35,15 @@ import software.amazon.awssdk.metrics.SdkMetric;
 
 public class DefaultMetricCollectorTest {
     private static final SdkMetric<Integer> M1 = SdkMetric.create("m1", Integer.class, MetricLevel.INFO, MetricCategory.CORE);
+    private static final SdkMetric<Long> LONG = SdkMetric.create("long", Long.class, MetricLevel.INFO, MetricCategory.CORE);
+    private static final SdkMetric<Double> DOUBLE = SdkMetric.create("double", Double.class, MetricLevel.INFO,
+                                                                     MetricCategory.CORE);
+    private static final SdkMetric<Boolean> BOOLEAN = SdkMetric.create("boolean", Boolean.class, MetricLevel.INFO,
+                                                                       MetricCategory.CORE);
+    private static final SdkMetric<Duration> DURATION = SdkMetric.create("duration", Duration.class, MetricLevel.INFO,
+                                                                         MetricCategory.CORE);
+    private static final SdkMetric<String> STRING = SdkMetric.create("string", String.class, MetricLevel.INFO,
+                                                                     MetricCategory.CORE);
 
     @Rule
     public ExpectedException thrown = ExpectedException.none();
@@ -70,4 +84,73 @@ public class DefaultMetricCollectorTest {
         MetricCollection collected = parent.collect();
         assertThat(collected.children().stream().map(MetricCollection::name)).containsExactly(childNames);
     }
+
+    @Test
+    public void testCollect_valuesOfAllTypesAreReturnedUnchanged() {
+        MetricCollector collector = MetricCollector.create("collector");
+        collector.reportMetric(M1, null);
+        collector.reportMetric(M1, -1);
+        collector.reportMetric(LONG, Long.MIN_VALUE);
+        collector.reportMetric(DOUBLE, 0.5);
+        collector.reportMetric(BOOLEAN, true);
+        collector.reportMetric(BOOLEAN, false);
+        collector.reportMetric(DURATION, Duration.ofMillis(1500));
+        collector.reportMetric(DURATION, Duration.ofSeconds(Long.MAX_VALUE));
+        collector.reportMetric(STRING, "value");
+
+        MetricCollection collect = collector.collect();
+        assertThat(collect.metricValues(M1)).containsExactly(null, -1);
+        assertThat(collect.metricValues(LONG)).containsExactly(Long.MIN_VALUE);
+        assertThat(collect.metricValues(DOUBLE)).containsExactly(0.5);
+        assertThat(collect.metricValues(BOOLEAN)).containsExactly(true, false);
+        assertThat(collect.metricValues(DURATION)).containsExactly(Duration.ofMillis(1500), Duration.ofSeconds(Long.MAX_VALUE));
+        assertThat(collect.metricValues(STRING)).containsExactly("value");
+        assertThat(collect.stream()).hasSize(9);
+    }
+
+    @Test
+    public void testCollect_metricCreatedAfterCollectorIsCollected() {
+        MetricCollector collector = MetricCollector.create("collector");
+        SdkMetric<Integer> lateMetric = SdkMetric.create("late", Integer.class, MetricLevel.INFO, MetricCategory.CORE);
+        collector.reportMetric(lateMetric, 1);
+        collector.reportMetric(lateMetric, 2);
+
+        assertThat(collector.collect().metricValues(lateMetric)).containsExactly(1, 2);
+    }
+
+    @Test
+    public void testCollect_metricsReportedAfterCollectAreNotInCollection() {
+        MetricCollector collector = MetricCollector.create("collector");
+        collector.reportMetric(M1, 1);
+        MetricCollection collect = collector.collect();
+        collector.reportMetric(M1, 2);
+        collector.reportMetric(LONG, 3L);
+        collector.createChild("child");
+
+        assertThat(collect.metricValues(M1)).containsExactly(1);
+        assertThat(collect.metricValues(LONG)).isEmpty();
+        assertThat(collect.children()).isEmpty();
+    }
+
+    @Test
+    public void testReportMetric_concurrentReportsAreAllCollected() {
+        MetricCollector collector = MetricCollector.create("collector");
+        int threads = 8;
+        int reportsPerThread = 10_000;
+        CompletableFuture<?>[] reporters =
+            IntStream.range(0, threads)
+                     .mapToObj(t -> CompletableFuture.runAsync(() -> {
+                         for (int i = 0; i < reportsPerThread; i++) {
+                             collector.reportMetric(M1, t * reportsPerThread + i);
+                         }
+                         collector.createChild("child" + t);
+                     }))
+                     .toArray(CompletableFuture[]::new);
+        CompletableFuture.allOf(reporters).join();
+
+        MetricCollection collect = collector.collect();
+        List<Integer> expected = IntStream.range(0, threads * reportsPerThread).boxed().collect(Collectors.toList());
+        assertThat(collect.metricValues(M1).stream().sorted()).containsExactlyElementsOf(expected);
+        assertThat(collect.children()).hasSize(threads);
+    }
 }
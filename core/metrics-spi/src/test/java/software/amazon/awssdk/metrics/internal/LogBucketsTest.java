@@ -0,0 +1,67 @@
+/*
+ * Copyright Amazon.com, Inc. or its affiliates. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License").
+ * You may not use this file except in compliance with the License.
+ * A copy of the License is located at
+ *
+ *  http://aws.amazon.com/apache2.0
+ *
+ * or in the "license" file accompanying this file. This file is distributed
+ * on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either
+ * express or implied. See the License for the specific language governing
+ * permissions and limitations under the License.
+ */
+
+package software.amazon.awssdk.metrics.internal;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import org.junit.jupiter.api.Test;
+
+public class LogBucketsTest {
+    private static final LogBuckets BUCKETS = new LogBuckets(4, -2, 10);
+
+    @Test
+    public void layout_coversEveryPowerOfTwoInRange() {
+        assertThat(BUCKETS.subBuckets()).isEqualTo(16);
+        assertThat(BUCKETS.exponents()).isEqualTo(13);
+        assertThat(BUCKETS.bucketCount()).isEqualTo(13 * 16);
+        assertThat(BUCKETS.minMagnitude()).isEqualTo(0.25);
+    }
+
+    @Test
+    public void bucketIndex_isLinearWithinAPowerOfTwo() {
+        assertThat(BUCKETS.bucketIndex(0.25)).isZero();
+        assertThat(BUCKETS.bucketIndex(1.0)).isEqualTo(2 * 16);
+        assertThat(BUCKETS.bucketIndex(1.5)).isEqualTo(2 * 16 + 8);
+        assertThat(BUCKETS.bucketIndex(1.99)).isEqualTo(2 * 16 + 15);
+        assertThat(BUCKETS.bucketIndex(2.0)).isEqualTo(3 * 16);
+    }
+
+    @Test
+    public void bucketIndex_clampsMagnitudesOutsideTheRange() {
+        assertThat(BUCKETS.bucketIndex(0.1)).isZero();
+        assertThat(BUCKETS.bucketIndex(Double.MIN_VALUE)).isZero();
+        assertThat(BUCKETS.bucketIndex(4096)).isEqualTo(BUCKETS.bucketCount() - 1);
+        assertThat(BUCKETS.bucketIndex(Double.MAX_VALUE)).isEqualTo(BUCKETS.bucketCount() - 1);
+    }
+
+    @Test
+    public void bucketMidpoint_isWithinTheBucket() {
+        for (double value = 0.25; value < 2048; value *= 1.01) {
+            int index = BUCKETS.bucketIndex(value);
+            double midpoint = BUCKETS.bucketMidpoint(index);
+            assertThat(BUCKETS.bucketIndex(midpoint)).isEqualTo(index);
+            assertThat(Math.abs(midpoint - value) / value).isLessThanOrEqualTo(1.0 / 16);
+        }
+    }
+
+    @Test
+    public void invalidLayout_isRejected() {
+        assertThatThrownBy(() -> new LogBuckets(17, 0, 1)).isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> new LogBuckets(4, 2, 1)).isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> new LogBuckets(4, -2000, 1)).isInstanceOf(IllegalArgumentException.class);
+    }
+}
@@ -26,13 +26,20 @@ import static software.amazon.awssdk.core.client.config.SdkClientOption.ADDITION
 import static software.amazon.awssdk.core.client.config.SdkClientOption.API_CALL_ATTEMPT_TIMEOUT;
 import static software.amazon.awssdk.core.client.config.SdkClientOption.API_CALL_TIMEOUT;
 import static software.amazon.awssdk.core.client.config.SdkClientOption.ASYNC_HTTP_CLIENT;
+import static software.amazon.awssdk.core.client.config.SdkClientOption.BYTE_BUFFER_POOL;
+import static software.amazon.awssdk.core.client.config.SdkClientOption.CIRCUIT_BREAKER_POLICY;
+import static software.amazon.awssdk.core.client.config.SdkClientOption.CIRCUIT_BREAKER_REGISTRY;
 import static software.amazon.awssdk.core.client.config.SdkClientOption.CRC32_FROM_COMPRESSED_DATA_ENABLED;
 import static software.amazon.awssdk.core.client.config.SdkClientOption.ENDPOINT_OVERRIDDEN;
 import static software.amazon.awssdk.core.client.config.SdkClientOption.EXECUTION_ATTRIBUTES;
 import static software.amazon.awssdk.core.client.config.SdkClientOption.EXECUTION_INTERCEPTORS;
+import static software.amazon.awssdk.core.client.config.SdkClientOption.HEDGING_LATENCY_TRACKERS;
+import static software.amazon.awssdk.core.client.config.SdkClientOption.HEDGING_POLICY;
 import static software.amazon.awssdk.core.client.config.SdkClientOption.METRIC_PUBLISHERS;
 import static software.amazon.awssdk.core.client.config.SdkClientOption.PROFILE_FILE;
 import static software.amazon.awssdk.core.client.config.SdkClientOption.PROFILE_NAME;
+import static software.amazon.awssdk.core.client.config.SdkClientOption.RATE_LIMITING_TOKEN_BUCKET;
+import static software.amazon.awssdk.core.client.config.SdkClientOption.RETRY_COORDINATOR;
 import static software.amazon.awssdk.core.client.config.SdkClientOption.RETRY_POLICY;
 import static software.amazon.awssdk.core.client.config.SdkClientOption.SCHEDULED_EXECUTOR_SERVICE;
 import static software.amazon.awssdk.core.client.config.SdkClientOption.SIGNER_OVERRIDDEN;
@@ -64,9 +71,18 @@ import software.amazon.awssdk.core.interceptor.ClasspathInterceptorChainFactory;
 import software.amazon.awssdk.core.interceptor.ExecutionInterceptor;
 import software.amazon.awssdk.core.internal.http.loader.DefaultSdkAsyncHttpClientBuilder;
 import software.amazon.awssdk.core.internal.http.loader.DefaultSdkHttpClientBuilder;
+import software.amazon.awssdk.core.internal.http.timers.HashedWheelTimer;
+import software.amazon.awssdk.core.internal.http.timers.SharedTimeoutScheduler;
 import software.amazon.awssdk.core.internal.interceptor.HttpChecksumRequiredInterceptor;
+import software.amazon.awssdk.core.internal.retry.CircuitBreakerRegistry;
+import software.amazon.awssdk.core.internal.retry.HedgingLatencyTrackers;
+import software.amazon.awssdk.core.internal.retry.RateLimitingTokenBucketRegistry;
+import software.amazon.awssdk.core.internal.retry.RetryCoordinator;
+import software.amazon.awssdk.core.retry.CircuitBreakerPolicy;
+import software.amazon.awssdk.core.retry.HedgingPolicy;
 import software.amazon.awssdk.core.retry.RetryMode;
 import software.amazon.awssdk.core.retry.RetryPolicy;
+import software.amazon.awssdk.core.util.ByteBufferPool;
 import software.amazon.awssdk.core.util.SdkUserAgent;
 import software.amazon.awssdk.http.ExecutableHttpRequest;
 import software.amazon.awssdk.http.HttpExecuteRequest;
@@ -210,7 +226,8 @@ public abstract class SdkDefaultClientBuilder<B extends SdkClientBuilder<B, C>,
                                          .option(PROFILE_NAME, ProfileFileSystemSetting.AWS_PROFILE.getStringValueOrThrow())
                                          .option(USER_AGENT_PREFIX, SdkUserAgent.create().userAgent())
                                          .option(USER_AGENT_SUFFIX, "")
-                                         .option(CRC32_FROM_COMPRESSED_DATA_ENABLED, false));
+                                         .option(CRC32_FROM_COMPRESSED_DATA_ENABLED, false)
+                                         .option(BYTE_BUFFER_POOL, ByteBufferPool.defaultPool()));
     }
 
     /**
@@ -228,6 +245,7 @@ public abstract class SdkDefaultClientBuilder<B extends SdkClientBuilder<B, C>,
         return config.toBuilder()
                      .option(SdkClientOption.SYNC_HTTP_CLIENT, resolveSyncHttpClient(config))
                      .option(SdkClientOption.CLIENT_TYPE, SYNC)
+                     .option(SCHEDULED_EXECUTOR_SERVICE, SharedTimeoutScheduler.instance())
                      .build();
     }
 
@@ -239,6 +257,7 @@ public abstract class SdkDefaultClientBuilder<B extends SdkClientBuilder<B, C>,
                      .option(FUTURE_COMPLETION_EXECUTOR, resolveAsyncFutureCompletionExecutor(config))
                      .option(ASYNC_HTTP_CLIENT, resolveAsyncHttpClient(config))
                      .option(SdkClientOption.CLIENT_TYPE, ASYNC)
+                     .option(SCHEDULED_EXECUTOR_SERVICE, resolveScheduledExecutorService())
                      .build();
     }
 
@@ -246,13 +265,28 @@ public abstract class SdkDefaultClientBuilder<B extends SdkClientBuilder<B, C>,
      * Finalize global configuration from the default-applied configuration.
      */
     private SdkClientConfiguration finalizeConfiguration(SdkClientConfiguration config) {
+        RetryPolicy retryPolicy = resolveRetryPolicy(config);
         return config.toBuilder()
-                     .option(SCHEDULED_EXECUTOR_SERVICE, resolveScheduledExecutorService())
                      .option(EXECUTION_INTERCEPTORS, resolveExecutionInterceptors(config))
-                     .option(RETRY_POLICY, resolveRetryPolicy(config))
+                     .option(RETRY_POLICY, retryPolicy)
+                     .option(RETRY_COORDINATOR, RetryCoordinator.create())
+                     .option(RATE_LIMITING_TOKEN_BUCKET,
+                             RateLimitingTokenBucketRegistry.resolve(config.option(SdkClientOption.SERVICE_NAME), retryPolicy))
+                     .option(HEDGING_LATENCY_TRACKERS, resolveHedgingLatencyTrackers(config))
+                     .option(CIRCUIT_BREAKER_REGISTRY, resolveCircuitBreakerRegistry(config))
                      .build();
     }
 
+    private CircuitBreakerRegistry resolveCircuitBreakerRegistry(SdkClientConfiguration config) {
+        CircuitBreakerPolicy policy = config.option(CIRCUIT_BREAKER_POLICY);
+        return policy == null ? null : CircuitBreakerRegistry.create(policy);
+    }
+
+    private HedgingLatencyTrackers resolveHedgingLatencyTrackers(SdkClientConfiguration config) {
+        HedgingPolicy policy = config.option(HEDGING_POLICY);
+        return policy == null ? null : HedgingLatencyTrackers.create(policy);
+    }
+
     private RetryPolicy resolveRetryPolicy(SdkClientConfiguration config) {
         RetryPolicy policy = config.option(SdkClientOption.RETRY_POLICY);
         if (policy != null) {
@@ -335,11 +369,15 @@ public abstract class SdkDefaultClientBuilder<B extends SdkClientBuilder<B, C>,
 
     /**
      * Finalize the internal SDK scheduled executor service that is used for scheduling tasks such
-     * as async retry attempts and timeout task.
+     * as async retry attempts and timeout task. Tasks are timed on a {@link HashedWheelTimer} and run on a small pool, because
+     * they complete futures and send retries.
      */
     private ScheduledExecutorService resolveScheduledExecutorService() {
-        return Executors.newScheduledThreadPool(5, new ThreadFactoryBuilder()
-            .threadNamePrefix("sdk-ScheduledExecutor").build());
+        return new HashedWheelTimer(HashedWheelTimer.DEFAULT_TICK_DURATION,
+                                    HashedWheelTimer.DEFAULT_TICKS_PER_WHEEL,
+                                    new ThreadFactoryBuilder().threadNamePrefix("sdk-ScheduledExecutor-timer").build(),
+                                    Executors.newFixedThreadPool(5, new ThreadFactoryBuilder()
+                                        .threadNamePrefix("sdk-ScheduledExecutor").build()));
     }
 
     /**
@@ -390,6 +428,9 @@ public abstract class SdkDefaultClientBuilder<B extends SdkClientBuilder<B, C>,
     public final B overrideConfiguration(ClientOverrideConfiguration overrideConfig) {
         clientConfiguration.option(EXECUTION_INTERCEPTORS, overrideConfig.executionInterceptors());
         clientConfiguration.option(RETRY_POLICY, overrideConfig.retryPolicy().orElse(null));
+        clientConfiguration.option(HEDGING_POLICY, overrideConfig.hedgingPolicy().orElse(null));
+        clientConfiguration.option(CIRCUIT_BREAKER_POLICY, overrideConfig.circuitBreakerPolicy().orElse(null));
+        clientConfiguration.option(BYTE_BUFFER_POOL, overrideConfig.byteBufferPool().orElse(null));
         clientConfiguration.option(ADDITIONAL_HTTP_HEADERS, overrideConfig.headers());
         clientConfiguration.option(SIGNER, overrideConfig.advancedOption(SIGNER).orElse(null));
         clientConfiguration.option(USER_AGENT_SUFFIX, overrideConfig.advancedOption(USER_AGENT_SUFFIX).orElse(null));
@@ -28,9 +28,12 @@ import software.amazon.awssdk.annotations.SdkPublicApi;
 import software.amazon.awssdk.core.interceptor.ExecutionAttribute;
 import software.amazon.awssdk.core.interceptor.ExecutionAttributes;
 import software.amazon.awssdk.core.interceptor.ExecutionInterceptor;
+import software.amazon.awssdk.core.retry.CircuitBreakerPolicy;
+import software.amazon.awssdk.core.retry.HedgingPolicy;
 import software.amazon.awssdk.core.retry.RetryMode;
 import software.amazon.awssdk.core.retry.RetryPolicy;
 import software.amazon.awssdk.core.sync.ResponseTransformer;
+import software.amazon.awssdk.core.util.ByteBufferPool;
 import software.amazon.awssdk.metrics.MetricPublisher;
 import software.amazon.awssdk.profiles.ProfileFile;
 import software.amazon.awssdk.profiles.ProfileFileSystemSetting;
@@ -52,6 +55,9 @@ public final class ClientOverrideConfiguration
         implements ToCopyableBuilder<ClientOverrideConfiguration.Builder, ClientOverrideConfiguration> {
     private final Map<String, List<String>> headers;
     private final RetryPolicy retryPolicy;
+    private final HedgingPolicy hedgingPolicy;
+    private final CircuitBreakerPolicy circuitBreakerPolicy;
+    private final ByteBufferPool byteBufferPool;
     private final List<ExecutionInterceptor> executionInterceptors;
     private final AttributeMap advancedOptions;
     private final Duration apiCallAttemptTimeout;
@@ -67,6 +73,9 @@ public final class ClientOverrideConfiguration
     private ClientOverrideConfiguration(Builder builder) {
         this.headers = CollectionUtils.deepUnmodifiableMap(builder.headers(), () -> new TreeMap<>(String.CASE_INSENSITIVE_ORDER));
         this.retryPolicy = builder.retryPolicy();
+        this.hedgingPolicy = builder.hedgingPolicy();
+        this.circuitBreakerPolicy = builder.circuitBreakerPolicy();
+        this.byteBufferPool = builder.byteBufferPool();
         this.executionInterceptors = Collections.unmodifiableList(new ArrayList<>(builder.executionInterceptors()));
         this.advancedOptions = builder.advancedOptions();
         this.apiCallTimeout = Validate.isPositiveOrNull(builder.apiCallTimeout(), "apiCallTimeout");
@@ -82,6 +91,9 @@ public final class ClientOverrideConfiguration
         return new DefaultClientOverrideConfigurationBuilder().advancedOptions(advancedOptions.toBuilder())
                 .headers(headers)
                 .retryPolicy(retryPolicy)
+                .hedgingPolicy(hedgingPolicy)
+                .circuitBreakerPolicy(circuitBreakerPolicy)
+                .byteBufferPool(byteBufferPool)
                 .apiCallTimeout(apiCallTimeout)
                 .apiCallAttemptTimeout(apiCallAttemptTimeout)
                 .executionInterceptors(executionInterceptors)
@@ -118,6 +130,36 @@ public final class ClientOverrideConfiguration
         return Optional.ofNullable(retryPolicy);
     }
 
+    /**
+     * The optional hedging policy that should be used when executing latency-sensitive read operations. If not present,
+     * requests are not hedged.
+     *
+     * @see Builder#hedgingPolicy(HedgingPolicy)
+     */
+    public Optional<HedgingPolicy> hedgingPolicy() {
+        return Optional.ofNullable(hedgingPolicy);
+    }
+
+    /**
+     * The optional circuit breaker policy that should be used to stop sending requests to failing endpoints. If not present,
+     * requests are always sent.
+     *
+     * @see Builder#circuitBreakerPolicy(CircuitBreakerPolicy)
+     */
+    public Optional<CircuitBreakerPolicy> circuitBreakerPolicy() {
+        return Optional.ofNullable(circuitBreakerPolicy);
+    }
+
+    /**
+     * The optional pool of buffers that should be used for the temporary buffers of the async I/O paths. If not present,
+     * {@link ByteBufferPool#defaultPool()} is used.
+     *
+     * @see Builder#byteBufferPool(ByteBufferPool)
+     */
+    public Optional<ByteBufferPool> byteBufferPool() {
+        return Optional.ofNullable(byteBufferPool);
+    }
+
     /**
      * Load the optional requested advanced option that was configured on the client builder.
      *
@@ -215,6 +257,9 @@ public final class ClientOverrideConfiguration
         return ToString.builder("ClientOverrideConfiguration")
                 .add("headers", headers)
                 .add("retryPolicy", retryPolicy)
+                .add("hedgingPolicy", hedgingPolicy)
+                .add("circuitBreakerPolicy", circuitBreakerPolicy)
+                .add("byteBufferPool", byteBufferPool)
                 .add("apiCallTimeout", apiCallTimeout)
                 .add("apiCallAttemptTimeout", apiCallAttemptTimeout)
                 .add("executionInterceptors", executionInterceptors)
@@ -302,6 +347,51 @@ public final class ClientOverrideConfiguration
 
         RetryPolicy retryPolicy();
 
+        /**
+         * Configure the hedging policy that should be used when executing latency-sensitive read operations. Hedging is
+         * disabled by default, and is only supported by asynchronous clients.
+         *
+         * @see ClientOverrideConfiguration#hedgingPolicy()
+         */
+        Builder hedgingPolicy(HedgingPolicy hedgingPolicy);
+
+        /**
+         * Configure the hedging policy that should be used when executing latency-sensitive read operations.
+         */
+        default Builder hedgingPolicy(Consumer<HedgingPolicy.Builder> hedgingPolicy) {
+            return hedgingPolicy(HedgingPolicy.builder().applyMutation(hedgingPolicy).build());
+        }
+
+        HedgingPolicy hedgingPolicy();
+
+        /**
+         * Configure the circuit breaker policy that should be used to stop sending requests to failing endpoints. Circuit
+         * breakers are disabled by default.
+         *
+         * @see ClientOverrideConfiguration#circuitBreakerPolicy()
+         */
+        Builder circuitBreakerPolicy(CircuitBreakerPolicy circuitBreakerPolicy);
+
+        /**
+         * Configure the circuit breaker policy that should be used to stop sending requests to failing endpoints.
+         */
+        default Builder circuitBreakerPolicy(Consumer<CircuitBreakerPolicy.Builder> circuitBreakerPolicy) {
+            return circuitBreakerPolicy(CircuitBreakerPolicy.builder().applyMutation(circuitBreakerPolicy).build());
+        }
+
+        CircuitBreakerPolicy circuitBreakerPolicy();
+
+        /**
+         * Configure the pool of buffers that should be used for the temporary buffers of the async I/O paths, such as when
+         * validating response checksums. By default, all clients share {@link ByteBufferPool#defaultPool()}. A pool can be
+         * shared by multiple clients, and is not closed when the client is closed.
+         *
+         * @see ClientOverrideConfiguration#byteBufferPool()
+         */
+        Builder byteBufferPool(ByteBufferPool byteBufferPool);
+
+        ByteBufferPool byteBufferPool();
+
         /**
          * Configure a list of execution interceptors that will have access to read and modify the request and response objcets as
          * they are processed by the SDK. These will replace any interceptors configured previously with this method or
@@ -477,6 +567,9 @@ public final class ClientOverrideConfiguration
     private static final class DefaultClientOverrideConfigurationBuilder implements Builder {
         private Map<String, List<String>> headers = new HashMap<>();
         private RetryPolicy retryPolicy;
+        private HedgingPolicy hedgingPolicy;
+        private CircuitBreakerPolicy circuitBreakerPolicy;
+        private ByteBufferPool byteBufferPool;
         private List<ExecutionInterceptor> executionInterceptors = new ArrayList<>();
         private AttributeMap.Builder advancedOptions = AttributeMap.builder();
         private Duration apiCallTimeout;
@@ -525,6 +618,51 @@ public final class ClientOverrideConfiguration
             return retryPolicy;
         }
 
+        @Override
+        public Builder hedgingPolicy(HedgingPolicy hedgingPolicy) {
+            this.hedgingPolicy = hedgingPolicy;
+            return this;
+        }
+
+        public void setHedgingPolicy(HedgingPolicy hedgingPolicy) {
+            hedgingPolicy(hedgingPolicy);
+        }
+
+        @Override
+        public HedgingPolicy hedgingPolicy() {
+            return hedgingPolicy;
+        }
+
+        @Override
+        public Builder circuitBreakerPolicy(CircuitBreakerPolicy circuitBreakerPolicy) {
+            this.circuitBreakerPolicy = circuitBreakerPolicy;
+            return this;
+        }
+
+        public void setCircuitBreakerPolicy(CircuitBreakerPolicy circuitBreakerPolicy) {
+            circuitBreakerPolicy(circuitBreakerPolicy);
+        }
+
+        @Override
+        public CircuitBreakerPolicy circuitBreakerPolicy() {
+            return circuitBreakerPolicy;
+        }
+
+        @Override
+        public Builder byteBufferPool(ByteBufferPool byteBufferPool) {
+            this.byteBufferPool = byteBufferPool;
+            return this;
+        }
+
+        public void setByteBufferPool(ByteBufferPool byteBufferPool) {
+            byteBufferPool(byteBufferPool);
+        }
+
+        @Override
+        public ByteBufferPool byteBufferPool() {
+            return byteBufferPool;
+        }
+
         @Override
         public Builder executionInterceptors(List<ExecutionInterceptor> executionInterceptors) {
             Validate.paramNotNull(executionInterceptors, "executionInterceptors");
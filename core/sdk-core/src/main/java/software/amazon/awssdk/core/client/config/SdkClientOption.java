@@ -25,8 +25,15 @@ import software.amazon.awssdk.core.ClientType;
 import software.amazon.awssdk.core.ServiceConfiguration;
 import software.amazon.awssdk.core.interceptor.ExecutionAttributes;
 import software.amazon.awssdk.core.interceptor.ExecutionInterceptor;
+import software.amazon.awssdk.core.internal.retry.CircuitBreakerRegistry;
+import software.amazon.awssdk.core.internal.retry.HedgingLatencyTrackers;
+import software.amazon.awssdk.core.internal.retry.RateLimitingTokenBucket;
+import software.amazon.awssdk.core.internal.retry.RetryCoordinator;
+import software.amazon.awssdk.core.retry.CircuitBreakerPolicy;
+import software.amazon.awssdk.core.retry.HedgingPolicy;
 import software.amazon.awssdk.core.retry.RetryMode;
 import software.amazon.awssdk.core.retry.RetryPolicy;
+import software.amazon.awssdk.core.util.ByteBufferPool;
 import software.amazon.awssdk.http.SdkHttpClient;
 import software.amazon.awssdk.http.async.SdkAsyncHttpClient;
 import software.amazon.awssdk.metrics.MetricPublisher;
@@ -48,6 +55,46 @@ public final class SdkClientOption<T> extends ClientOption<T> {
      */
     public static final SdkClientOption<RetryPolicy> RETRY_POLICY = new SdkClientOption<>(RetryPolicy.class);
 
+    /**
+     * The retries this client has in flight to each endpoint, limited by {@link RetryPolicy#maxConcurrentRetriesPerEndpoint()}.
+     */
+    public static final SdkClientOption<RetryCoordinator> RETRY_COORDINATOR = new SdkClientOption<>(RetryCoordinator.class);
+
+    /**
+     * The client-side rate limiter of this client, used by {@link RetryMode#ADAPTIVE}. It is shared with the other clients of
+     * the same service that are configured with the same {@link RetryPolicy#rateLimiterName()}.
+     */
+    public static final SdkClientOption<RateLimitingTokenBucket> RATE_LIMITING_TOKEN_BUCKET =
+        new SdkClientOption<>(RateLimitingTokenBucket.class);
+
+    /**
+     * @see ClientOverrideConfiguration#hedgingPolicy()
+     */
+    public static final SdkClientOption<HedgingPolicy> HEDGING_POLICY = new SdkClientOption<>(HedgingPolicy.class);
+
+    /**
+     * The latencies observed by this client for the operations hedged according to its {@link #HEDGING_POLICY}.
+     */
+    public static final SdkClientOption<HedgingLatencyTrackers> HEDGING_LATENCY_TRACKERS =
+        new SdkClientOption<>(HedgingLatencyTrackers.class);
+
+    /**
+     * @see ClientOverrideConfiguration#circuitBreakerPolicy()
+     */
+    public static final SdkClientOption<CircuitBreakerPolicy> CIRCUIT_BREAKER_POLICY =
+        new SdkClientOption<>(CircuitBreakerPolicy.class);
+
+    /**
+     * The circuit breakers of this client, configured by its {@link #CIRCUIT_BREAKER_POLICY}.
+     */
+    public static final SdkClientOption<CircuitBreakerRegistry> CIRCUIT_BREAKER_REGISTRY =
+        new SdkClientOption<>(CircuitBreakerRegistry.class);
+
+    /**
+     * @see ClientOverrideConfiguration#byteBufferPool()
+     */
+    public static final SdkClientOption<ByteBufferPool> BYTE_BUFFER_POOL = new SdkClientOption<>(ByteBufferPool.class);
+
     /**
      * @see ClientOverrideConfiguration#executionInterceptors()
      */
@@ -0,0 +1,94 @@
+/*
+ * Copyright Amazon.com, Inc. or its affiliates. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License").
+ * You may not use this file except in compliance with the License.
+ * A copy of the License is located at
+ *
+ *  http://aws.amazon.com/apache2.0
+ *
+ * or in the "license" file accompanying this file. This file is distributed
+ * on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either
+ * express or implied. See the License for the specific language governing
+ * permissions and limitations under the License.
+ */
+
+
+package software.amazon.awssdk.core.exception;
+
+import software.amazon.awssdk.annotations.SdkPublicApi;
+import software.amazon.awssdk.core.retry.CircuitBreakerPolicy;
+
+/**
+ * Signals that a request was not sent because the circuit breaker for its endpoint is open, after too many of the recent
+ * requests to the endpoint failed. These requests are not retried.
+ *
+ * @see CircuitBreakerPolicy
+ */
+@SdkPublicApi
+public final class CircuitBreakerOpenException extends SdkClientException {
+
+    private static final long serialVersionUID = 1L;
+
+    private CircuitBreakerOpenException(Builder b) {
+        super(b);
+    }
+
+    public static CircuitBreakerOpenException create(String host) {
+        return builder().message(String.format("The request was not sent because the circuit breaker for %s is open. Too many "
+                                               + "of the recent requests to this endpoint failed.", host))
+                        .build();
+    }
+
+    @Override
+    public boolean retryable() {
+        return false;
+    }
+
+    @Override
+    public Builder toBuilder() {
+        return new BuilderImpl(this);
+    }
+
+    public static Builder builder() {
+        return new BuilderImpl();
+    }
+
+    public interface Builder extends SdkClientException.Builder {
+        @Override
+        Builder message(String message);
+
+        @Override
+        Builder cause(Throwable cause);
+
+        @Override
+        CircuitBreakerOpenException build();
+    }
+
+    protected static final class BuilderImpl extends SdkClientException.BuilderImpl implements Builder {
+
+        protected BuilderImpl() {
+        }
+
+        protected BuilderImpl(CircuitBreakerOpenException ex) {
+            super(ex);
+        }
+
+        @Override
+        public Builder message(String message) {
+            this.message = message;
+            return this;
+        }
+
+        @Override
+        public Builder cause(Throwable cause) {
+            this.cause = cause;
+            return this;
+        }
+
+        @Override
+        public CircuitBreakerOpenException build() {
+            return new CircuitBreakerOpenException(this);
+        }
+    }
+}
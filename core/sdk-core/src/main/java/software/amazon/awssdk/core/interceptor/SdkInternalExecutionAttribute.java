@@ -15,8 +15,10 @@
 
 package software.amazon.awssdk.core.interceptor;
 
+import java.time.Duration;
 import software.amazon.awssdk.annotations.SdkProtectedApi;
 import software.amazon.awssdk.core.interceptor.trait.HttpChecksumRequired;
+import software.amazon.awssdk.core.util.ByteBufferPool;
 
 /**
  * Attributes that can be applied to all sdk requests. Only generated code from the SDK clients should set these values.
@@ -47,6 +49,20 @@ public final class SdkInternalExecutionAttribute extends SdkExecutionAttribute {
     public static final ExecutionAttribute<Boolean> DISABLE_HOST_PREFIX_INJECTION =
             new ExecutionAttribute<>("DisableHostPrefixInjection");
 
+    /**
+     * The pool of buffers that should be used for the temporary buffers of the async I/O paths.
+     * See {@link software.amazon.awssdk.core.client.config.ClientOverrideConfiguration#byteBufferPool()}
+     */
+    public static final ExecutionAttribute<ByteBufferPool> BYTE_BUFFER_POOL = new ExecutionAttribute<>("ByteBufferPool");
+
+    /**
+     * The delay that was waited before the current attempt of the request, set by the SDK's retry handling. Backoff strategies
+     * can read it from {@link software.amazon.awssdk.core.retry.RetryPolicyContext#executionAttributes()} to base the next
+     * delay on the previous one.
+     */
+    public static final ExecutionAttribute<Duration> LAST_BACKOFF_DELAY_DURATION =
+        new ExecutionAttribute<>("LastBackoffDuration");
+
     private SdkInternalExecutionAttribute() {
     }
 }
@@ -15,8 +15,6 @@
 
 package software.amazon.awssdk.core.internal.async;
 
-import static software.amazon.awssdk.utils.FunctionalUtils.invokeSafely;
-
 import java.io.ByteArrayOutputStream;
 import java.nio.ByteBuffer;
 import java.util.concurrent.CompletableFuture;
@@ -26,7 +24,13 @@ import software.amazon.awssdk.annotations.SdkInternalApi;
 import software.amazon.awssdk.core.ResponseBytes;
 import software.amazon.awssdk.core.async.AsyncResponseTransformer;
 import software.amazon.awssdk.core.async.SdkPublisher;
-import software.amazon.awssdk.utils.BinaryUtils;
+import software.amazon.awssdk.core.interceptor.ExecutionAttributes;
+import software.amazon.awssdk.core.interceptor.SdkExecutionAttribute;
+import software.amazon.awssdk.core.interceptor.SdkInternalExecutionAttribute;
+import software.amazon.awssdk.core.internal.util.ByteBufferPoolMetrics;
+import software.amazon.awssdk.core.util.ByteBufferPool;
+import software.amazon.awssdk.core.util.ByteBufferPool.PooledBuffer;
+import software.amazon.awssdk.metrics.MetricCollector;
 
 /**
  * Implementation of {@link AsyncResponseTransformer} that dumps content into a byte array and supports further
@@ -43,6 +47,16 @@ public final class ByteArrayAsyncResponseTransformer<ResponseT> implements
 
     private volatile CompletableFuture<byte[]> cf;
     private volatile ResponseT response;
+    private volatile ExecutionAttributes executionAttributes;
+
+    /**
+     * Configure the execution attributes of the API call this transformer is used for, so that content is copied through the
+     * {@link ByteBufferPool} of the client executing the call, and pool usage is reported on its current attempt. The
+     * transformer is created before it's known which client it's used with, so until this is called the default pool is used.
+     */
+    public void executionAttributes(ExecutionAttributes executionAttributes) {
+        this.executionAttributes = executionAttributes;
+    }
 
     @Override
     public CompletableFuture<ResponseBytes<ResponseT>> prepare() {
@@ -57,7 +71,11 @@ public final class ByteArrayAsyncResponseTransformer<ResponseT> implements
 
     @Override
     public void onStream(SdkPublisher<ByteBuffer> publisher) {
-        publisher.subscribe(new BaosSubscriber(cf));
+        ExecutionAttributes attributes = executionAttributes;
+        ByteBufferPool pool = attributes == null ? null : attributes.getAttribute(SdkInternalExecutionAttribute.BYTE_BUFFER_POOL);
+        MetricCollector metricCollector =
+            attributes == null ? null : attributes.getAttribute(SdkExecutionAttribute.API_CALL_ATTEMPT_METRIC_COLLECTOR);
+        publisher.subscribe(new BaosSubscriber(cf, pool == null ? ByteBufferPool.defaultPool() : pool, metricCollector));
     }
 
     @Override
@@ -67,13 +85,21 @@ public final class ByteArrayAsyncResponseTransformer<ResponseT> implements
 
     static class BaosSubscriber implements Subscriber<ByteBuffer> {
         private final CompletableFuture<byte[]> resultFuture;
+        private final ByteBufferPoolMetrics bufferPool;
+        private final MetricCollector metricCollector;
 
         private ByteArrayOutputStream baos = new ByteArrayOutputStream();
 
         private Subscription subscription;
 
         BaosSubscriber(CompletableFuture<byte[]> resultFuture) {
+            this(resultFuture, ByteBufferPool.defaultPool(), null);
+        }
+
+        BaosSubscriber(CompletableFuture<byte[]> resultFuture, ByteBufferPool bufferPool, MetricCollector metricCollector) {
             this.resultFuture = resultFuture;
+            this.bufferPool = new ByteBufferPoolMetrics(bufferPool);
+            this.metricCollector = metricCollector;
         }
 
         @Override
@@ -88,18 +114,36 @@ public final class ByteArrayAsyncResponseTransformer<ResponseT> implements
 
         @Override
         public void onNext(ByteBuffer byteBuffer) {
-            invokeSafely(() -> baos.write(BinaryUtils.copyBytesFrom(byteBuffer)));
+            if (byteBuffer.hasArray()) {
+                baos.write(byteBuffer.array(), byteBuffer.arrayOffset() + byteBuffer.position(), byteBuffer.remaining());
+            } else {
+                writeThroughPooledBuffer(byteBuffer);
+            }
             subscription.request(1);
         }
 
+        /**
+         * Direct and read-only buffers don't expose their backing array, so their content is copied through a temporary
+         * buffer.
+         */
+        private void writeThroughPooledBuffer(ByteBuffer byteBuffer) {
+            try (PooledBuffer pooledBuffer = bufferPool.acquire(byteBuffer.remaining())) {
+                ByteBuffer buffer = pooledBuffer.buffer();
+                buffer.put(byteBuffer.duplicate());
+                baos.write(buffer.array(), 0, buffer.position());
+            }
+        }
+
         @Override
         public void onError(Throwable throwable) {
+            bufferPool.report(metricCollector);
             baos = null;
             resultFuture.completeExceptionally(throwable);
         }
 
         @Override
         public void onComplete() {
+            bufferPool.report(metricCollector);
             resultFuture.complete(baos.toByteArray());
         }
     }
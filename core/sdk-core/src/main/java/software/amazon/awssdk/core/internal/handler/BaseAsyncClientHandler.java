@@ -37,6 +37,7 @@ import software.amazon.awssdk.core.http.HttpResponseHandler;
 import software.amazon.awssdk.core.interceptor.ExecutionAttributes;
 import software.amazon.awssdk.core.interceptor.InterceptorContext;
 import software.amazon.awssdk.core.internal.InternalCoreExecutionAttribute;
+import software.amazon.awssdk.core.internal.async.ByteArrayAsyncResponseTransformer;
 import software.amazon.awssdk.core.internal.http.AmazonAsyncHttpClient;
 import software.amazon.awssdk.core.internal.http.IdempotentAsyncResponseHandler;
 import software.amazon.awssdk.core.internal.http.TransformingAsyncResponseHandler;
@@ -117,6 +118,11 @@ public abstract class BaseAsyncClientHandler extends BaseClientHandler implement
             // Running beforeExecution interceptors and modifyRequest interceptors.
             ExecutionContext context = invokeInterceptorsAndCreateExecutionContext(executionParams);
 
+            if (asyncResponseTransformer instanceof ByteArrayAsyncResponseTransformer) {
+                ((ByteArrayAsyncResponseTransformer<?>) asyncResponseTransformer)
+                    .executionAttributes(context.executionAttributes());
+            }
+
             HttpResponseHandler<OutputT> decoratedResponseHandlers =
                 decorateResponseHandlers(executionParams.getResponseHandler(), context);
 
@@ -35,6 +35,7 @@ import software.amazon.awssdk.core.internal.http.TransformingAsyncResponseHandle
 import software.amazon.awssdk.core.internal.http.pipeline.RequestPipeline;
 import software.amazon.awssdk.core.internal.http.pipeline.stages.utils.RetryableStageHelper;
 import software.amazon.awssdk.core.internal.retry.RateLimitingTokenBucket;
+import software.amazon.awssdk.core.internal.retry.RateLimitingTokenBucketRegistry;
 import software.amazon.awssdk.http.SdkHttpFullRequest;
 import software.amazon.awssdk.utils.CompletableFutureUtils;
 
@@ -57,7 +58,7 @@ public final class AsyncRetryableStage<OutputT> implements RequestPipeline<SdkHt
         this.responseHandler = responseHandler;
         this.dependencies = dependencies;
         this.scheduledExecutor = dependencies.clientConfiguration().option(SdkClientOption.SCHEDULED_EXECUTOR_SERVICE);
-        this.rateLimitingTokenBucket = new RateLimitingTokenBucket();
+        this.rateLimitingTokenBucket = RateLimitingTokenBucketRegistry.forClient(dependencies.clientConfiguration());
         this.requestPipeline = requestPipeline;
     }
 
@@ -92,6 +93,7 @@ public final class AsyncRetryableStage<OutputT> implements RequestPipeline<SdkHt
 
         public CompletableFuture<Response<OutputT>> execute() throws Exception {
             CompletableFuture<Response<OutputT>> future = new CompletableFuture<>();
+            future.whenComplete((r, t) -> retryableStageHelper.releaseConcurrentRetry());
             maybeAttemptExecute(future);
             return future;
         }
@@ -0,0 +1,64 @@
+/*
+ * Copyright Amazon.com, Inc. or its affiliates. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License").
+ * You may not use this file except in compliance with the License.
+ * A copy of the License is located at
+ *
+ *  http://aws.amazon.com/apache2.0
+ *
+ * or in the "license" file accompanying this file. This file is distributed
+ * on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either
+ * express or implied. See the License for the specific language governing
+ * permissions and limitations under the License.
+ */
+
+
+package software.amazon.awssdk.core.internal.http.pipeline.stages;
+
+import software.amazon.awssdk.annotations.SdkInternalApi;
+import software.amazon.awssdk.core.Response;
+import software.amazon.awssdk.core.client.config.SdkClientOption;
+import software.amazon.awssdk.core.internal.http.HttpClientDependencies;
+import software.amazon.awssdk.core.internal.http.RequestExecutionContext;
+import software.amazon.awssdk.core.internal.http.pipeline.RequestPipeline;
+import software.amazon.awssdk.core.internal.http.pipeline.RequestToResponsePipeline;
+import software.amazon.awssdk.core.internal.http.pipeline.stages.utils.CircuitBreakerStageHelper;
+import software.amazon.awssdk.core.internal.retry.CircuitBreakerRegistry;
+import software.amazon.awssdk.http.SdkHttpFullRequest;
+
+/**
+ * Wrapper around the pipeline for a single request attempt that fails the attempt without sending it when the circuit breaker
+ * for the endpoint host is open, and records the outcome of the attempt with the circuit breaker otherwise.
+ */
+@SdkInternalApi
+public final class CircuitBreakerStage<OutputT> implements RequestToResponsePipeline<OutputT> {
+    private final CircuitBreakerRegistry circuitBreakerRegistry;
+    private final RequestPipeline<SdkHttpFullRequest, Response<OutputT>> wrapped;
+
+    public CircuitBreakerStage(HttpClientDependencies dependencies,
+                               RequestPipeline<SdkHttpFullRequest, Response<OutputT>> wrapped) {
+        this.circuitBreakerRegistry = dependencies.clientConfiguration().option(SdkClientOption.CIRCUIT_BREAKER_REGISTRY);
+        this.wrapped = wrapped;
+    }
+
+    @Override
+    public Response<OutputT> execute(SdkHttpFullRequest request, RequestExecutionContext context) throws Exception {
+        if (circuitBreakerRegistry == null) {
+            return wrapped.execute(request, context);
+        }
+
+        CircuitBreakerStageHelper helper = new CircuitBreakerStageHelper(circuitBreakerRegistry, request, context);
+        helper.acquirePermission();
+
+        Response<OutputT> response;
+        try {
+            response = wrapped.execute(request, context);
+        } catch (Throwable t) {
+            helper.recordFailure(t);
+            throw t;
+        }
+        helper.recordResponse(response);
+        return response;
+    }
+}
@@ -41,8 +41,10 @@ import software.amazon.awssdk.core.internal.http.RequestExecutionContext;
 import software.amazon.awssdk.core.internal.http.TransformingAsyncResponseHandler;
 import software.amazon.awssdk.core.internal.http.async.SimpleHttpContentPublisher;
 import software.amazon.awssdk.core.internal.http.pipeline.RequestPipeline;
+import software.amazon.awssdk.core.internal.http.pipeline.stages.utils.AsyncHedgedRequestExecutor;
 import software.amazon.awssdk.core.internal.http.timers.TimeoutTracker;
 import software.amazon.awssdk.core.internal.http.timers.TimerUtils;
+import software.amazon.awssdk.core.internal.retry.HedgingLatencyTrackers;
 import software.amazon.awssdk.core.internal.util.MetricUtils;
 import software.amazon.awssdk.core.metrics.CoreMetric;
 import software.amazon.awssdk.http.SdkHttpFullRequest;
@@ -69,6 +71,8 @@ public final class MakeAsyncHttpRequestStage<OutputT>
     private final Executor futureCompletionExecutor;
     private final ScheduledExecutorService timeoutExecutor;
     private final Duration apiCallAttemptTimeout;
+    private final HedgingLatencyTrackers hedgingLatencyTrackers;
+    private final AsyncHedgedRequestExecutor hedgedRequestExecutor;
 
     public MakeAsyncHttpRequestStage(TransformingAsyncResponseHandler<Response<OutputT>> responseHandler,
                                      HttpClientDependencies dependencies) {
@@ -78,6 +82,11 @@ public final class MakeAsyncHttpRequestStage<OutputT>
         this.sdkAsyncHttpClient = dependencies.clientConfiguration().option(SdkClientOption.ASYNC_HTTP_CLIENT);
         this.apiCallAttemptTimeout = dependencies.clientConfiguration().option(SdkClientOption.API_CALL_ATTEMPT_TIMEOUT);
         this.timeoutExecutor = dependencies.clientConfiguration().option(SdkClientOption.SCHEDULED_EXECUTOR_SERVICE);
+        this.hedgingLatencyTrackers = dependencies.clientConfiguration().option(SdkClientOption.HEDGING_LATENCY_TRACKERS);
+        this.hedgedRequestExecutor = hedgingLatencyTrackers == null ? null :
+                                     new AsyncHedgedRequestExecutor(sdkAsyncHttpClient, timeoutExecutor, hedgingLatencyTrackers,
+                                                                    dependencies.clientConfiguration()
+                                                                                .option(SdkClientOption.RETRY_POLICY));
     }
 
     @Override
@@ -178,17 +187,23 @@ public final class MakeAsyncHttpRequestStage<OutputT>
         // Set content length if it hasn't been set already.
         SdkHttpFullRequest requestWithContentLength = getRequestWithContentLength(request, requestProvider);
 
-        MetricCollector httpMetricCollector = MetricUtils.createHttpMetricsCollector(context);
-
-        AsyncExecuteRequest executeRequest = AsyncExecuteRequest.builder()
-                                                                .request(requestWithContentLength)
-                                                                .requestContentPublisher(requestProvider)
-                                                                .responseHandler(wrappedResponseHandler)
-                                                                .fullDuplex(isFullDuplex(context.executionAttributes()))
-                                                                .metricCollector(httpMetricCollector)
-                                                                .build();
-
-        CompletableFuture<Void> httpClientFuture = doExecuteHttpRequest(context, executeRequest);
+        CompletableFuture<Void> httpClientFuture;
+        if (AsyncHedgedRequestExecutor.shouldHedge(hedgingLatencyTrackers, requestWithContentLength, context)) {
+            httpClientFuture = doExecuteHttpRequest(context, () -> hedgedRequestExecutor.execute(
+                requestWithContentLength, wrappedResponseHandler, isFullDuplex(context.executionAttributes()), context));
+        } else {
+            MetricCollector httpMetricCollector = MetricUtils.createHttpMetricsCollector(context);
+
+            AsyncExecuteRequest executeRequest = AsyncExecuteRequest.builder()
+                                                                    .request(requestWithContentLength)
+                                                                    .requestContentPublisher(requestProvider)
+                                                                    .responseHandler(wrappedResponseHandler)
+                                                                    .fullDuplex(isFullDuplex(context.executionAttributes()))
+                                                                    .metricCollector(httpMetricCollector)
+                                                                    .build();
+
+            httpClientFuture = doExecuteHttpRequest(context, () -> sdkAsyncHttpClient.execute(executeRequest));
+        }
 
         TimeoutTracker timeoutTracker = setupAttemptTimer(responseFuture, context);
         context.apiCallAttemptTimeoutTracker(timeoutTracker);
@@ -213,10 +228,11 @@ public final class MakeAsyncHttpRequestStage<OutputT>
         return responseFuture;
     }
 
-    private CompletableFuture<Void> doExecuteHttpRequest(RequestExecutionContext context, AsyncExecuteRequest executeRequest) {
+    private CompletableFuture<Void> doExecuteHttpRequest(RequestExecutionContext context,
+                                                         Supplier<CompletableFuture<Void>> execution) {
         MetricCollector metricCollector = context.attemptMetricCollector();
         long callStart = System.nanoTime();
-        CompletableFuture<Void> httpClientFuture = sdkAsyncHttpClient.execute(executeRequest);
+        CompletableFuture<Void> httpClientFuture = execution.get();
 
         // Offload the metrics reporting from this stage onto the future completion executor
         CompletableFuture<Void> result = httpClientFuture.whenComplete((r, t) -> {
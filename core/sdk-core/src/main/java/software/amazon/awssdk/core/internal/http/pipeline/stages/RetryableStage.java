@@ -28,6 +28,7 @@ import software.amazon.awssdk.core.internal.http.pipeline.RequestPipeline;
 import software.amazon.awssdk.core.internal.http.pipeline.RequestToResponsePipeline;
 import software.amazon.awssdk.core.internal.http.pipeline.stages.utils.RetryableStageHelper;
 import software.amazon.awssdk.core.internal.retry.RateLimitingTokenBucket;
+import software.amazon.awssdk.core.internal.retry.RateLimitingTokenBucketRegistry;
 import software.amazon.awssdk.http.SdkHttpFullRequest;
 
 /**
@@ -43,7 +44,7 @@ public final class RetryableStage<OutputT> implements RequestToResponsePipeline<
                           RequestPipeline<SdkHttpFullRequest, Response<OutputT>> requestPipeline) {
         this.dependencies = dependencies;
         this.requestPipeline = requestPipeline;
-        this.rateLimitingTokenBucket = new RateLimitingTokenBucket();
+        this.rateLimitingTokenBucket = RateLimitingTokenBucketRegistry.forClient(dependencies.clientConfiguration());
     }
 
     @SdkTestInternalApi
@@ -60,6 +61,15 @@ public final class RetryableStage<OutputT> implements RequestToResponsePipeline<
         RetryableStageHelper retryableStageHelper = new RetryableStageHelper(request, context, rateLimitingTokenBucket,
                                                                              dependencies);
 
+        try {
+            return executeWithRetries(context, retryableStageHelper);
+        } finally {
+            retryableStageHelper.releaseConcurrentRetry();
+        }
+    }
+
+    private Response<OutputT> executeWithRetries(RequestExecutionContext context,
+                                                 RetryableStageHelper retryableStageHelper) throws Exception {
         while (true) {
             retryableStageHelper.startingAttempt();
 
@@ -0,0 +1,381 @@
+/*
+ * Copyright Amazon.com, Inc. or its affiliates. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License").
+ * You may not use this file except in compliance with the License.
+ * A copy of the License is located at
+ *
+ *  http://aws.amazon.com/apache2.0
+ *
+ * or in the "license" file accompanying this file. This file is distributed
+ * on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either
+ * express or implied. See the License for the specific language governing
+ * permissions and limitations under the License.
+ */
+
+package software.amazon.awssdk.core.internal.http.pipeline.stages.utils;
+
+import static java.util.concurrent.TimeUnit.NANOSECONDS;
+
+import java.nio.ByteBuffer;
+import java.time.Duration;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+import org.reactivestreams.Publisher;
+import org.reactivestreams.Subscriber;
+import org.reactivestreams.Subscription;
+import software.amazon.awssdk.annotations.SdkInternalApi;
+import software.amazon.awssdk.core.SdkStandardLogger;
+import software.amazon.awssdk.core.exception.SdkClientException;
+import software.amazon.awssdk.core.interceptor.SdkExecutionAttribute;
+import software.amazon.awssdk.core.internal.InternalCoreExecutionAttribute;
+import software.amazon.awssdk.core.internal.http.RequestExecutionContext;
+import software.amazon.awssdk.core.internal.http.async.SimpleHttpContentPublisher;
+import software.amazon.awssdk.core.internal.retry.HedgingLatencyTrackers;
+import software.amazon.awssdk.core.internal.util.MetricUtils;
+import software.amazon.awssdk.core.metrics.CoreMetric;
+import software.amazon.awssdk.core.retry.HedgingPolicy;
+import software.amazon.awssdk.core.retry.RetryPolicy;
+import software.amazon.awssdk.core.retry.conditions.RetryCondition;
+import software.amazon.awssdk.core.retry.conditions.TokenBucketRetryCondition;
+import software.amazon.awssdk.http.SdkHttpFullRequest;
+import software.amazon.awssdk.http.SdkHttpResponse;
+import software.amazon.awssdk.http.async.AsyncExecuteRequest;
+import software.amazon.awssdk.http.async.SdkAsyncHttpClient;
+import software.amazon.awssdk.http.async.SdkAsyncHttpResponseHandler;
+import software.amazon.awssdk.metrics.MetricCollector;
+import software.amazon.awssdk.metrics.NoOpMetricCollector;
+
+/**
+ * Executes an HTTP request on an {@link SdkAsyncHttpClient} according to a {@link HedgingPolicy}.
+ *
+ * <p>If the initial HTTP request has not received a response after the delay resolved by the hedging policy, an identical
+ * hedged request is sent. Whichever request receives response headers first is delivered to the response handler, and the
+ * other request is cancelled. If one of the two requests fails before any response is received, the other one is allowed to
+ * complete. Only when both fail is the failure delivered to the response handler.
+ */
+@SdkInternalApi
+public final class AsyncHedgedRequestExecutor {
+    private final SdkAsyncHttpClient httpClient;
+    private final ScheduledExecutorService scheduledExecutor;
+    private final HedgingLatencyTrackers latencyTrackers;
+    private final HedgingPolicy hedgingPolicy;
+    private final TokenBucketRetryCondition tokenBucket;
+
+    public AsyncHedgedRequestExecutor(SdkAsyncHttpClient httpClient,
+                                      ScheduledExecutorService scheduledExecutor,
+                                      HedgingLatencyTrackers latencyTrackers,
+                                      RetryPolicy retryPolicy) {
+        this.httpClient = httpClient;
+        this.scheduledExecutor = scheduledExecutor;
+        this.latencyTrackers = latencyTrackers;
+        this.hedgingPolicy = latencyTrackers.hedgingPolicy();
+        this.tokenBucket = retryTokenBucket(retryPolicy);
+    }
+
+    private static TokenBucketRetryCondition retryTokenBucket(RetryPolicy retryPolicy) {
+        RetryCondition retryCapacityCondition = retryPolicy == null ? null : retryPolicy.toBuilder().retryCapacityCondition();
+        if (retryCapacityCondition instanceof TokenBucketRetryCondition) {
+            return (TokenBucketRetryCondition) retryCapacityCondition;
+        }
+        return null;
+    }
+
+    /**
+     * Returns true if the provided request should be executed with {@link #execute}. Only the first attempt of an API call
+     * without a streaming request payload is hedged, and only if the {@link HedgingPolicy} considers the operation hedgeable.
+     */
+    public static boolean shouldHedge(HedgingLatencyTrackers latencyTrackers, SdkHttpFullRequest request,
+                                      RequestExecutionContext context) {
+        if (latencyTrackers == null || context.requestProvider() != null) {
+            return false;
+        }
+
+        Integer attempt = context.executionAttributes().getAttribute(InternalCoreExecutionAttribute.EXECUTION_ATTEMPT);
+        if (attempt != null && attempt > 1) {
+            return false;
+        }
+
+        String operationName = context.executionAttributes().getAttribute(SdkExecutionAttribute.OPERATION_NAME);
+        return latencyTrackers.isHedgeable(operationName, request.method());
+    }
+
+    /**
+     * Execute the provided request, hedging it if it does not receive a response in time. The returned future completes
+     * when the request whose response was delivered to the response handler completes. Completing the returned future
+     * exceptionally cancels all outstanding requests.
+     */
+    public CompletableFuture<Void> execute(SdkHttpFullRequest request,
+                                           SdkAsyncHttpResponseHandler responseHandler,
+                                           boolean fullDuplex,
+                                           RequestExecutionContext context) {
+        return new HedgedExecution(request, responseHandler, fullDuplex, context).start();
+    }
+
+    private final class HedgedExecution {
+        private final SdkHttpFullRequest request;
+        private final SdkAsyncHttpResponseHandler responseHandler;
+        private final boolean fullDuplex;
+        private final RequestExecutionContext context;
+        private final String operationName;
+        private final MetricCollector attemptMetricCollector;
+
+        private final CompletableFuture<Void> result = new CompletableFuture<>();
+        private final AtomicReference<HttpRequestAttempt> winner = new AtomicReference<>();
+
+        /**
+         * The number of sent requests that have not yet failed. When it reaches zero, no hedged request may be sent anymore.
+         */
+        private final AtomicInteger outstandingRequests = new AtomicInteger(1);
+
+        /**
+         * Whether the tokens taken from the retry token bucket for the hedged request have yet to be returned.
+         */
+        private final AtomicBoolean holdingHedgeCapacity = new AtomicBoolean(false);
+
+        private volatile HttpRequestAttempt initialRequest;
+        private volatile HttpRequestAttempt hedgedRequest;
+        private volatile ScheduledFuture<?> hedgeTask;
+        private volatile Duration hedgeDelay;
+
+        private HedgedExecution(SdkHttpFullRequest request,
+                                SdkAsyncHttpResponseHandler responseHandler,
+                                boolean fullDuplex,
+                                RequestExecutionContext context) {
+            this.request = request;
+            this.responseHandler = responseHandler;
+            this.fullDuplex = fullDuplex;
+            this.context = context;
+            this.operationName = context.executionAttributes().getAttribute(SdkExecutionAttribute.OPERATION_NAME);
+            this.attemptMetricCollector = context.attemptMetricCollector() == null ? NoOpMetricCollector.create()
+                                                                                   : context.attemptMetricCollector();
+        }
+
+        private CompletableFuture<Void> start() {
+            result.whenComplete((r, t) -> {
+                if (t != null) {
+                    cancelHedgeTask();
+                    cancel(initialRequest, t);
+                    cancel(hedgedRequest, t);
+                }
+            });
+
+            initialRequest = new HttpRequestAttempt(false);
+            initialRequest.send();
+
+            if (winner.get() == null) {
+                // Hedges are scheduled on the client's timer, which fires in ticks of HashedWheelTimer.DEFAULT_TICK_DURATION,
+                // so a hedged request may be sent up to one tick later than the delay.
+                hedgeDelay = latencyTrackers.hedgeDelay(operationName);
+                hedgeTask = scheduledExecutor.schedule(this::sendHedgedRequest, hedgeDelay.toNanos(), NANOSECONDS);
+            }
+
+            return result;
+        }
+
+        private void sendHedgedRequest() {
+            if (winner.get() != null) {
+                return;
+            }
+
+            if (tokenBucket != null) {
+                if (!tokenBucket.tryAcquireCapacity(hedgingPolicy.tokenCost())) {
+                    SdkStandardLogger.REQUEST_LOGGER.debug(() -> "Not hedging request because the client has experienced too "
+                                                                 + "many recent call failures.");
+                    return;
+                }
+                holdingHedgeCapacity.set(true);
+            }
+
+            // A request may have been selected while the tokens were being acquired, in which case it will not return them.
+            if (winner.get() != null || !incrementOutstandingRequestsIfPositive()) {
+                releaseHedgeCapacity();
+                return;
+            }
+
+            SdkStandardLogger.REQUEST_LOGGER.debug(() -> "No response received after " + hedgeDelay.toMillis() + "ms. "
+                                                         + "Sending hedged request: " + request);
+            attemptMetricCollector.reportMetric(CoreMetric.HEDGE_DELAY_DURATION, hedgeDelay);
+            hedgedRequest = new HttpRequestAttempt(true);
+            try {
+                hedgedRequest.send();
+            } catch (Throwable t) {
+                hedgedRequest.failed(t);
+            }
+        }
+
+        private boolean incrementOutstandingRequestsIfPositive() {
+            int current;
+            do {
+                current = outstandingRequests.get();
+                if (current <= 0) {
+                    return false;
+                }
+            } while (!outstandingRequests.compareAndSet(current, current + 1));
+            return true;
+        }
+
+        private void releaseHedgeCapacity() {
+            if (holdingHedgeCapacity.compareAndSet(true, false)) {
+                tokenBucket.releaseCapacity(hedgingPolicy.tokenCost());
+            }
+        }
+
+        /**
+         * Invoked once a request has been selected to be delivered to the response handler, either because it received a
+         * response first or because it was the last request to fail.
+         */
+        private void selected(HttpRequestAttempt attempt) {
+            cancelHedgeTask();
+
+            HttpRequestAttempt other = attempt == initialRequest ? hedgedRequest : initialRequest;
+            if (other != null) {
+                cancel(other, SdkClientException.create("Request was cancelled because another request for the same API call "
+                                                        + "attempt received a response first."));
+            }
+
+            HttpRequestAttempt hedged = hedgedRequest;
+            attemptMetricCollector.reportMetric(CoreMetric.HEDGE_COUNT, hedged == null ? 0 : 1);
+            attemptMetricCollector.reportMetric(CoreMetric.HEDGE_WON, attempt.isHedge);
+
+            if (!attempt.failed.get()) {
+                // The service responded, so return the hedge's cost to the bucket whichever request won, like a successful
+                // retry would. The tokens are only kept when every request failed.
+                releaseHedgeCapacity();
+            }
+        }
+
+        private void cancelHedgeTask() {
+            ScheduledFuture<?> task = hedgeTask;
+            if (task != null) {
+                task.cancel(false);
+            }
+        }
+
+        private void cancel(HttpRequestAttempt attempt, Throwable cause) {
+            if (attempt != null && attempt.httpClientFuture != null) {
+                attempt.httpClientFuture.completeExceptionally(cause);
+            }
+        }
+
+        private boolean isLoser(HttpRequestAttempt attempt) {
+            HttpRequestAttempt selected = winner.get();
+            return selected != null && selected != attempt;
+        }
+
+        /**
+         * A single HTTP request sent as part of a hedged execution. Events are forwarded to the response handler only if this
+         * request was selected.
+         */
+        private final class HttpRequestAttempt implements SdkAsyncHttpResponseHandler {
+            private final boolean isHedge;
+            private final AtomicBoolean failed = new AtomicBoolean(false);
+            private volatile long startTimeNanos;
+            private volatile CompletableFuture<Void> httpClientFuture;
+
+            private HttpRequestAttempt(boolean isHedge) {
+                this.isHedge = isHedge;
+            }
+
+            private void send() {
+                MetricCollector httpMetricCollector = MetricUtils.createHttpMetricsCollector(context);
+                AsyncExecuteRequest executeRequest = AsyncExecuteRequest.builder()
+                                                                        .request(request)
+                                                                        .requestContentPublisher(
+                                                                            new SimpleHttpContentPublisher(request))
+                                                                        .responseHandler(this)
+                                                                        .fullDuplex(fullDuplex)
+                                                                        .metricCollector(httpMetricCollector)
+                                                                        .build();
+
+                startTimeNanos = System.nanoTime();
+                CompletableFuture<Void> future = httpClient.execute(executeRequest);
+                httpClientFuture = future;
+
+                future.whenComplete((r, t) -> {
+                    if (t != null) {
+                        failed(t);
+                    } else if (winner.get() == this) {
+                        result.complete(null);
+                    }
+                });
+
+                // The other request may have been selected while this one was being sent.
+                if (isLoser(this)) {
+                    cancel(this, SdkClientException.create("Request was cancelled because another request for the same API "
+                                                           + "call attempt received a response first."));
+                }
+            }
+
+            @Override
+            public void onHeaders(SdkHttpResponse headers) {
+                if (winner.compareAndSet(null, this)) {
+                    latencyTrackers.recordLatency(operationName, Duration.ofNanos(System.nanoTime() - startTimeNanos));
+                    selected(this);
+                    responseHandler.onHeaders(headers);
+                }
+            }
+
+            @Override
+            public void onStream(Publisher<ByteBuffer> stream) {
+                if (winner.get() == this) {
+                    responseHandler.onStream(stream);
+                } else {
+                    stream.subscribe(new CancellingSubscriber());
+                }
+            }
+
+            @Override
+            public void onError(Throwable error) {
+                if (winner.get() == this) {
+                    responseHandler.onError(error);
+                } else {
+                    failed(error);
+                }
+            }
+
+            private void failed(Throwable error) {
+                if (!failed.compareAndSet(false, true)) {
+                    return;
+                }
+
+                if (winner.get() == this) {
+                    result.completeExceptionally(error);
+                    return;
+                }
+
+                if (outstandingRequests.decrementAndGet() == 0 && winner.compareAndSet(null, this)) {
+                    selected(this);
+                    responseHandler.onError(error);
+                    result.completeExceptionally(error);
+                }
+            }
+        }
+    }
+
+    /**
+     * Cancels the response stream of a request that was not selected.
+     */
+    private static final class CancellingSubscriber implements Subscriber<ByteBuffer> {
+        @Override
+        public void onSubscribe(Subscription subscription) {
+            subscription.cancel();
+        }
+
+        @Override
+        public void onNext(ByteBuffer byteBuffer) {
+        }
+
+        @Override
+        public void onError(Throwable throwable) {
+        }
+
+        @Override
+        public void onComplete() {
+        }
+    }
+}
@@ -0,0 +1,118 @@
+/*
+ * Copyright Amazon.com, Inc. or its affiliates. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License").
+ * You may not use this file except in compliance with the License.
+ * A copy of the License is located at
+ *
+ *  http://aws.amazon.com/apache2.0
+ *
+ * or in the "license" file accompanying this file. This file is distributed
+ * on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either
+ * express or implied. See the License for the specific language governing
+ * permissions and limitations under the License.
+ */
+
+
+package software.amazon.awssdk.core.internal.http.pipeline.stages.utils;
+
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CompletionException;
+import software.amazon.awssdk.annotations.SdkInternalApi;
+import software.amazon.awssdk.core.Response;
+import software.amazon.awssdk.core.exception.AbortedException;
+import software.amazon.awssdk.core.exception.CircuitBreakerOpenException;
+import software.amazon.awssdk.core.internal.http.RequestExecutionContext;
+import software.amazon.awssdk.core.internal.http.pipeline.stages.AsyncCircuitBreakerStage;
+import software.amazon.awssdk.core.internal.http.pipeline.stages.CircuitBreakerStage;
+import software.amazon.awssdk.core.internal.retry.CircuitBreaker;
+import software.amazon.awssdk.core.internal.retry.CircuitBreakerRegistry;
+import software.amazon.awssdk.core.metrics.CoreMetric;
+import software.amazon.awssdk.core.retry.RetryUtils;
+import software.amazon.awssdk.http.SdkHttpFullRequest;
+import software.amazon.awssdk.metrics.MetricCollector;
+
+/**
+ * Contains the logic shared by {@link CircuitBreakerStage} and {@link AsyncCircuitBreakerStage} when interacting with the
+ * circuit breaker of a host in the client's {@link CircuitBreakerRegistry} during a single API call attempt.
+ */
+@SdkInternalApi
+public final class CircuitBreakerStageHelper {
+    private final String host;
+    private final CircuitBreaker circuitBreaker;
+    private final RequestExecutionContext context;
+    private final CircuitBreaker.State initialState;
+
+    public CircuitBreakerStageHelper(CircuitBreakerRegistry circuitBreakerRegistry,
+                                     SdkHttpFullRequest request,
+                                     RequestExecutionContext context) {
+        this.host = request.host();
+        this.circuitBreaker = circuitBreakerRegistry.circuitBreaker(host);
+        this.context = context;
+        this.initialState = circuitBreaker.state();
+    }
+
+    /**
+     * Acquire permission from the circuit breaker to send the request, or throw a {@link CircuitBreakerOpenException} if the
+     * circuit breaker is open.
+     */
+    public void acquirePermission() {
+        if (!circuitBreaker.tryAcquirePermission()) {
+            reportMetrics();
+            throw CircuitBreakerOpenException.create(host);
+        }
+    }
+
+    /**
+     * Record the response to the request with the circuit breaker. Responses with a 5xx status code and throttling errors count
+     * as failures, all other responses count as successes.
+     */
+    public void recordResponse(Response<?> response) {
+        if (isFailure(response)) {
+            circuitBreaker.onFailure();
+        } else {
+            circuitBreaker.onSuccess();
+        }
+        reportMetrics();
+    }
+
+    /**
+     * Record with the circuit breaker that no response was received for the request. Cancelled and aborted requests say
+     * nothing about the health of the endpoint, so they count neither as successes nor as failures.
+     */
+    public void recordFailure(Throwable failure) {
+        if (isCancellation(failure)) {
+            circuitBreaker.releasePermission();
+        } else {
+            circuitBreaker.onFailure();
+        }
+        reportMetrics();
+    }
+
+    private static boolean isCancellation(Throwable failure) {
+        Throwable cause = failure instanceof CompletionException && failure.getCause() != null ? failure.getCause() : failure;
+        return cause instanceof CancellationException || cause instanceof AbortedException;
+    }
+
+    private static boolean isFailure(Response<?> response) {
+        if (response.isSuccess()) {
+            return false;
+        }
+        if (response.httpResponse() != null && response.httpResponse().statusCode() >= 500) {
+            return true;
+        }
+        return response.exception() != null && RetryUtils.isThrottlingException(response.exception());
+    }
+
+    private void reportMetrics() {
+        MetricCollector metricCollector = context.attemptMetricCollector();
+        if (metricCollector == null) {
+            return;
+        }
+        CircuitBreaker.State state = circuitBreaker.state();
+        metricCollector.reportMetric(CoreMetric.CIRCUIT_BREAKER_STATE, state.name());
+        if (state != initialState) {
+            metricCollector.reportMetric(CoreMetric.CIRCUIT_BREAKER_STATE_TRANSITION, state.name());
+        }
+    }
+}
@@ -18,14 +18,17 @@ package software.amazon.awssdk.core.internal.http.pipeline.stages.utils;
 import java.time.Duration;
 import java.util.OptionalDouble;
 import java.util.concurrent.CompletionException;
+import java.util.concurrent.atomic.AtomicBoolean;
 import software.amazon.awssdk.annotations.SdkInternalApi;
 import software.amazon.awssdk.core.Response;
 import software.amazon.awssdk.core.SdkStandardLogger;
 import software.amazon.awssdk.core.client.config.SdkClientOption;
+import software.amazon.awssdk.core.exception.CircuitBreakerOpenException;
 import software.amazon.awssdk.core.exception.NonRetryableException;
 import software.amazon.awssdk.core.exception.SdkClientException;
 import software.amazon.awssdk.core.exception.SdkException;
 import software.amazon.awssdk.core.interceptor.ExecutionAttribute;
+import software.amazon.awssdk.core.interceptor.SdkInternalExecutionAttribute;
 import software.amazon.awssdk.core.internal.InternalCoreExecutionAttribute;
 import software.amazon.awssdk.core.internal.http.HttpClientDependencies;
 import software.amazon.awssdk.core.internal.http.RequestExecutionContext;
@@ -33,6 +36,7 @@ import software.amazon.awssdk.core.internal.http.pipeline.stages.AsyncRetryableS
 import software.amazon.awssdk.core.internal.http.pipeline.stages.RetryableStage;
 import software.amazon.awssdk.core.internal.retry.ClockSkewAdjuster;
 import software.amazon.awssdk.core.internal.retry.RateLimitingTokenBucket;
+import software.amazon.awssdk.core.internal.retry.RetryCoordinator;
 import software.amazon.awssdk.core.metrics.CoreMetric;
 import software.amazon.awssdk.core.retry.RetryMode;
 import software.amazon.awssdk.core.retry.RetryPolicy;
@@ -40,6 +44,7 @@ import software.amazon.awssdk.core.retry.RetryPolicyContext;
 import software.amazon.awssdk.core.retry.RetryUtils;
 import software.amazon.awssdk.http.SdkHttpFullRequest;
 import software.amazon.awssdk.http.SdkHttpResponse;
+import software.amazon.awssdk.metrics.MetricCollector;
 
 /**
  * Contains the logic shared by {@link RetryableStage} and {@link AsyncRetryableStage} when querying and interacting with a
@@ -50,17 +55,21 @@ public class RetryableStageHelper {
     public static final String SDK_RETRY_INFO_HEADER = "amz-sdk-request";
 
     public static final ExecutionAttribute<Duration> LAST_BACKOFF_DELAY_DURATION =
-        new ExecutionAttribute<>("LastBackoffDuration");
+        SdkInternalExecutionAttribute.LAST_BACKOFF_DELAY_DURATION;
 
     private final SdkHttpFullRequest request;
     private final RequestExecutionContext context;
     private final RetryPolicy retryPolicy;
     private final RateLimitingTokenBucket rateLimitingTokenBucket;
     private final HttpClientDependencies dependencies;
+    private final RetryCoordinator retryCoordinator;
+    private final AtomicBoolean holdingConcurrentRetry = new AtomicBoolean(false);
 
     private int attemptNumber = 0;
     private SdkHttpResponse lastResponse = null;
     private SdkException lastException = null;
+    private boolean clockSkewAdjusted = false;
+    private boolean retryRejected = false;
 
     public RetryableStageHelper(SdkHttpFullRequest request,
                                 RequestExecutionContext context,
@@ -71,12 +80,16 @@ public class RetryableStageHelper {
         this.retryPolicy = dependencies.clientConfiguration().option(SdkClientOption.RETRY_POLICY);
         this.rateLimitingTokenBucket = rateLimitingTokenBucket;
         this.dependencies = dependencies;
+        this.retryCoordinator = retryPolicy == null || retryPolicy.maxConcurrentRetriesPerEndpoint() == null
+                                ? null
+                                : dependencies.clientConfiguration().option(SdkClientOption.RETRY_COORDINATOR);
     }
 
     /**
      * Invoke when starting a request attempt, before querying the retry policy.
      */
     public void startingAttempt() {
+        releaseConcurrentRetry();
         ++attemptNumber;
         context.executionAttributes().putAttribute(InternalCoreExecutionAttribute.EXECUTION_ATTEMPT, attemptNumber);
     }
@@ -90,13 +103,17 @@ public class RetryableStageHelper {
             return true;
         }
 
-        if (lastException instanceof NonRetryableException) {
+        if (lastException instanceof NonRetryableException || lastException instanceof CircuitBreakerOpenException) {
             return false;
         }
 
         RetryPolicyContext context = retryPolicyContext(true);
 
         boolean willRetry = retryPolicy.aggregateRetryCondition().shouldRetry(context);
+        if (willRetry && !tryAcquireConcurrentRetry()) {
+            retryRejected = true;
+            willRetry = false;
+        }
         if (!willRetry) {
             retryPolicy.aggregateRetryCondition().requestWillNotBeRetried(context);
         }
@@ -109,6 +126,9 @@ public class RetryableStageHelper {
      */
     public SdkException retryPolicyDisallowedRetryException() {
         context.executionContext().metricCollector().reportMetric(CoreMetric.RETRY_COUNT, retriesAttemptedSoFar(true));
+        reportRateLimiterMetrics();
+        releaseConcurrentRetry();
+        reportRetryCoordinatorMetrics();
         return lastException;
     }
 
@@ -120,6 +140,10 @@ public class RetryableStageHelper {
         Duration result;
         if (isInitialAttempt()) {
             result = Duration.ZERO;
+        } else if (clockSkewAdjusted) {
+            // The request failed because it was signed with a skewed clock, not because the service is struggling, so the
+            // request signed with the corrected clock can be sent right away.
+            result = Duration.ZERO;
         } else {
             RetryPolicyContext context = retryPolicyContext(true);
             if (RetryUtils.isThrottlingException(lastException)) {
@@ -128,6 +152,7 @@ public class RetryableStageHelper {
                 result = retryPolicy.backoffStrategy().computeDelayBeforeNextRetry(context);
             }
         }
+        clockSkewAdjusted = false;
         context.executionAttributes().putAttribute(LAST_BACKOFF_DELAY_DURATION, result);
         return result;
     }
@@ -165,6 +190,7 @@ public class RetryableStageHelper {
         ClockSkewAdjuster clockSkewAdjuster = dependencies.clockSkewAdjuster();
         if (!response.isSuccess() && clockSkewAdjuster.shouldAdjust(response.exception())) {
             dependencies.updateTimeOffset(clockSkewAdjuster.getAdjustmentInSeconds(response.httpResponse()));
+            clockSkewAdjusted = true;
         }
     }
 
@@ -174,6 +200,21 @@ public class RetryableStageHelper {
     public void attemptSucceeded() {
         retryPolicy.aggregateRetryCondition().requestSucceeded(retryPolicyContext(false));
         context.executionContext().metricCollector().reportMetric(CoreMetric.RETRY_COUNT, retriesAttemptedSoFar(false));
+        reportRateLimiterMetrics();
+        releaseConcurrentRetry();
+        reportRetryCoordinatorMetrics();
+    }
+
+    /**
+     * Release the concurrent retry held by the current attempt, if it is a retry and concurrent retries are limited. This is
+     * done automatically when the execution completes through {@link #attemptSucceeded()} or
+     * {@link #retryPolicyDisallowedRetryException()}, and must be invoked when it completes in any other way. Invoking it more
+     * than once has no effect.
+     */
+    public void releaseConcurrentRetry() {
+        if (holdingConcurrentRetry.compareAndSet(true, false)) {
+            retryCoordinator.releaseRetry(request);
+        }
     }
 
     /**
@@ -293,6 +334,36 @@ public class RetryableStageHelper {
         rateLimitingTokenBucket.updateClientSendingRate(false);
     }
 
+    private void reportRateLimiterMetrics() {
+        if (!isRateLimitingEnabled()) {
+            return;
+        }
+        MetricCollector metricCollector = context.executionContext().metricCollector();
+        metricCollector.reportMetric(CoreMetric.RATE_LIMITER_MEASURED_TX_RATE, rateLimitingTokenBucket.measuredTxRate());
+        rateLimitingTokenBucket.fillRate()
+                               .ifPresent(fillRate -> metricCollector.reportMetric(CoreMetric.RATE_LIMITER_FILL_RATE, fillRate));
+    }
+
+    private boolean tryAcquireConcurrentRetry() {
+        if (retryCoordinator == null) {
+            return true;
+        }
+        if (!retryCoordinator.tryAcquireRetry(request, retryPolicy.maxConcurrentRetriesPerEndpoint())) {
+            return false;
+        }
+        holdingConcurrentRetry.set(true);
+        return true;
+    }
+
+    private void reportRetryCoordinatorMetrics() {
+        if (retryCoordinator == null) {
+            return;
+        }
+        MetricCollector metricCollector = context.executionContext().metricCollector();
+        metricCollector.reportMetric(CoreMetric.CONCURRENT_RETRIES, retryCoordinator.concurrentRetries(request));
+        metricCollector.reportMetric(CoreMetric.RETRY_REJECTED, retryRejected);
+    }
+
     private boolean isInitialAttempt() {
         return attemptNumber == 1;
     }
@@ -0,0 +1,524 @@
+/*
+ * Copyright Amazon.com, Inc. or its affiliates. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License").
+ * You may not use this file except in compliance with the License.
+ * A copy of the License is located at
+ *
+ *  http://aws.amazon.com/apache2.0
+ *
+ * or in the "license" file accompanying this file. This file is distributed
+ * on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either
+ * express or implied. See the License for the specific language governing
+ * permissions and limitations under the License.
+ */
+
+package software.amazon.awssdk.core.internal.http.timers;
+
+import static java.util.concurrent.TimeUnit.NANOSECONDS;
+
+import java.time.Duration;
+import java.util.Collections;
+import java.util.List;
+import java.util.Queue;
+import java.util.concurrent.AbstractExecutorService;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Delayed;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.FutureTask;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.RunnableScheduledFuture;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.locks.LockSupport;
+import software.amazon.awssdk.annotations.SdkInternalApi;
+import software.amazon.awssdk.annotations.ThreadSafe;
+import software.amazon.awssdk.utils.Logger;
+import software.amazon.awssdk.utils.Validate;
+
+/**
+ * A {@link ScheduledExecutorService} backed by a hashed timing wheel, for the API call and API call attempt timeouts and the
+ * retry delays of SDK clients.
+ *
+ * <p>Almost every timeout the SDK schedules is cancelled shortly after, because the call finished in time. A
+ * {@link java.util.concurrent.ScheduledThreadPoolExecutor} keeps its tasks in a heap guarded by a single lock, so every
+ * schedule and every cancel is an O(log n) operation under that lock. This timer instead hands new and cancelled tasks to a
+ * single worker thread through lock-free queues, and the worker files them into a ring of buckets, one per tick. Scheduling
+ * and cancelling are O(1) and never block, at the cost of firing tasks up to one tick late.
+ *
+ * <p>Expired tasks are run on the worker thread, unless a task executor is provided. Tasks that do more than flip a flag or
+ * interrupt a thread (e.g. completing a future with user callbacks, or sending a retry) should use a task executor so they
+ * can't delay the expiry of other tasks.
+ *
+ * <p>{@link #shutdown()} stops new tasks from being accepted, but delayed tasks that were already scheduled still run, like
+ * the default policy of {@link java.util.concurrent.ScheduledThreadPoolExecutor}. Periodic tasks are not rescheduled after
+ * shutdown. {@link #shutdownNow()} cancels all pending tasks; because the wheel is only accessed by the worker thread, it
+ * always returns an empty list.
+ */
+@SdkInternalApi
+@ThreadSafe
+public class HashedWheelTimer extends AbstractExecutorService implements ScheduledExecutorService {
+    /**
+     * The tick duration of the SDK's timers. API call timeouts are configured in milliseconds and are typically seconds long,
+     * so firing them up to 10ms late is not noticeable. Hedged requests are also scheduled on these timers; see
+     * {@code HedgingPolicy#minimumDelay()}.
+     */
+    public static final Duration DEFAULT_TICK_DURATION = Duration.ofMillis(10);
+
+    /**
+     * The number of ticks per wheel of the SDK's timers. One revolution is ~5 seconds, which covers the common timeout and
+     * retry delays without them having to wait for more than one revolution.
+     */
+    public static final int DEFAULT_TICKS_PER_WHEEL = 512;
+
+    private static final Logger log = Logger.loggerFor(HashedWheelTimer.class);
+
+    private static final int RUNNING = 0;
+    private static final int SHUTDOWN = 1;
+    private static final int STOPPED = 2;
+
+    // Keep deadlines far enough from Long.MAX_VALUE that adding the current time can't overflow.
+    private static final long MAX_DELAY_NANOS = Long.MAX_VALUE >> 1;
+
+    // Bound the tasks transferred per tick, so that a burst of new tasks can't stop the wheel from advancing.
+    private static final int MAX_TRANSFERS_PER_TICK = 100_000;
+
+    private final long tickNanos;
+    private final Bucket[] wheel;
+    private final int mask;
+    private final ExecutorService taskExecutor;
+    private final Thread worker;
+    private final long startTime;
+
+    private final Queue<WheelTask<?>> pendingTasks = new ConcurrentLinkedQueue<>();
+    private final Queue<WheelTask<?>> cancelledTasks = new ConcurrentLinkedQueue<>();
+    private final AtomicBoolean started = new AtomicBoolean();
+    private final AtomicBoolean idle = new AtomicBoolean();
+    private final CountDownLatch terminated = new CountDownLatch(1);
+
+    private volatile int state = RUNNING;
+
+    // Only accessed by the worker thread.
+    private long tick;
+    private long tasksInWheel;
+
+    /**
+     * Create a timer. Its worker thread is started when the first task is scheduled.
+     *
+     * @param tickDuration The resolution of the timer. Tasks fire up to one tick after their delay has elapsed.
+     * @param ticksPerWheel The number of buckets in the wheel, rounded up to a power of two. Tasks whose delay is longer than
+     * one revolution of the wheel are visited once per revolution.
+     * @param threadFactory The factory for the worker thread.
+     * @param taskExecutor The executor that runs expired tasks, or null to run them on the worker thread. The timer shuts it
+     * down once it has terminated.
+     */
+    public HashedWheelTimer(Duration tickDuration,
+                            int ticksPerWheel,
+                            ThreadFactory threadFactory,
+                            ExecutorService taskExecutor) {
+        Validate.isPositive(tickDuration, "tickDuration");
+        Validate.isPositive(ticksPerWheel, "ticksPerWheel");
+        Validate.isTrue(ticksPerWheel <= 1 << 30, "ticksPerWheel must not exceed 2^30.");
+        Validate.paramNotNull(threadFactory, "threadFactory");
+
+        this.tickNanos = tickDuration.toNanos();
+        this.wheel = new Bucket[ticksPerWheel == 1 ? 1 : Integer.highestOneBit(ticksPerWheel - 1) << 1];
+        for (int i = 0; i < wheel.length; i++) {
+            wheel[i] = new Bucket();
+        }
+        this.mask = wheel.length - 1;
+        this.taskExecutor = taskExecutor;
+        this.worker = Validate.notNull(threadFactory.newThread(this::runWorker), "threadFactory returned a null thread.");
+        this.startTime = System.nanoTime();
+    }
+
+    @Override
+    public ScheduledFuture<?> schedule(Runnable command, long delay, TimeUnit unit) {
+        Validate.paramNotNull(command, "command");
+        return schedule(new WheelTask<Void>(command, null, deadline(delay, unit), 0));
+    }
+
+    @Override
+    public <V> ScheduledFuture<V> schedule(Callable<V> callable, long delay, TimeUnit unit) {
+        Validate.paramNotNull(callable, "callable");
+        return schedule(new WheelTask<>(callable, deadline(delay, unit)));
+    }
+
+    @Override
+    public ScheduledFuture<?> scheduleAtFixedRate(Runnable command, long initialDelay, long period, TimeUnit unit) {
+        Validate.paramNotNull(command, "command");
+        Validate.isTrue(period > 0, "period must be positive.");
+        return schedule(new WheelTask<Void>(command, null, deadline(initialDelay, unit), unit.toNanos(period)));
+    }
+
+    @Override
+    public ScheduledFuture<?> scheduleWithFixedDelay(Runnable command, long initialDelay, long delay, TimeUnit unit) {
+        Validate.paramNotNull(command, "command");
+        Validate.isTrue(delay > 0, "delay must be positive.");
+        return schedule(new WheelTask<Void>(command, null, deadline(initialDelay, unit), -unit.toNanos(delay)));
+    }
+
+    @Override
+    public void execute(Runnable command) {
+        Validate.paramNotNull(command, "command");
+        if (taskExecutor == null) {
+            schedule(command, 0, NANOSECONDS);
+            return;
+        }
+        if (state != RUNNING) {
+            throw new RejectedExecutionException("The timer has been shut down.");
+        }
+        taskExecutor.execute(command);
+    }
+
+    @Override
+    public void shutdown() {
+        if (state == RUNNING) {
+            state = SHUTDOWN;
+        }
+        wakeUpWorker();
+    }
+
+    @Override
+    public List<Runnable> shutdownNow() {
+        state = STOPPED;
+        wakeUpWorker();
+        if (taskExecutor != null) {
+            taskExecutor.shutdownNow();
+        }
+        return Collections.emptyList();
+    }
+
+    @Override
+    public boolean isShutdown() {
+        return state != RUNNING;
+    }
+
+    @Override
+    public boolean isTerminated() {
+        return terminated.getCount() == 0 && (taskExecutor == null || taskExecutor.isTerminated());
+    }
+
+    @Override
+    public boolean awaitTermination(long timeout, TimeUnit unit) throws InterruptedException {
+        long deadline = System.nanoTime() + unit.toNanos(timeout);
+        if (!terminated.await(timeout, unit)) {
+            return false;
+        }
+        return taskExecutor == null || taskExecutor.awaitTermination(deadline - System.nanoTime(), NANOSECONDS);
+    }
+
+    private long deadline(long delay, TimeUnit unit) {
+        long delayNanos = Math.min(Math.max(unit.toNanos(delay), 0), MAX_DELAY_NANOS);
+        return now() + delayNanos;
+    }
+
+    private long now() {
+        return System.nanoTime() - startTime;
+    }
+
+    private <V> WheelTask<V> schedule(WheelTask<V> task) {
+        if (state != RUNNING) {
+            throw new RejectedExecutionException("The timer has been shut down.");
+        }
+        startWorkerIfNeeded();
+        enqueue(task);
+
+        // The worker may have drained the queue for the last time between our state check and enqueue.
+        if (state != RUNNING && pendingTasks.remove(task)) {
+            throw new RejectedExecutionException("The timer has been shut down.");
+        }
+        return task;
+    }
+
+    private void enqueue(WheelTask<?> task) {
+        pendingTasks.add(task);
+        // Only the first task scheduled while the worker is idle needs to wake it up.
+        if (idle.get() && idle.compareAndSet(true, false)) {
+            LockSupport.unpark(worker);
+        }
+    }
+
+    private void startWorkerIfNeeded() {
+        if (!started.get() && started.compareAndSet(false, true)) {
+            worker.start();
+        }
+    }
+
+    private void wakeUpWorker() {
+        if (started.get()) {
+            LockSupport.unpark(worker);
+        } else if (started.compareAndSet(false, true)) {
+            // Nothing was ever scheduled, so there is nothing to wait for.
+            terminate();
+        }
+    }
+
+    private void runWorker() {
+        try {
+            while (state != STOPPED) {
+                if (state == SHUTDOWN && tasksInWheel == 0 && pendingTasks.isEmpty()) {
+                    break;
+                }
+
+                long now = waitForNextTick();
+                if (now < 0) {
+                    break;
+                }
+
+                processCancelledTasks();
+                transferPendingTasks();
+                wheel[(int) (tick & mask)].expireTasks();
+                tick++;
+            }
+        } catch (Throwable t) {
+            log.error(() -> "The timeout timer's worker thread failed. Pending timeouts will not fire.", t);
+        } finally {
+            cancelRemainingTasks();
+            terminate();
+        }
+    }
+
+    /**
+     * Wait until the current tick has elapsed, parking indefinitely if there is nothing to time.
+     *
+     * @return The current time, or -1 if the timer was stopped while waiting.
+     */
+    private long waitForNextTick() {
+        if (tasksInWheel == 0 && pendingTasks.isEmpty()) {
+            awaitTasks();
+        }
+
+        long tickDeadline = (tick + 1) * tickNanos;
+        while (true) {
+            long now = now();
+            if (now >= tickDeadline) {
+                return now;
+            }
+            if (state == STOPPED) {
+                return -1;
+            }
+            LockSupport.parkNanos(this, tickDeadline - now);
+        }
+    }
+
+    private void awaitTasks() {
+        // Publish that we're idle before the final check of the queue, so that a concurrent enqueue() either sees the flag
+        // and wakes us up, or is seen by the check.
+        idle.set(true);
+        while (pendingTasks.isEmpty() && state == RUNNING) {
+            LockSupport.park(this);
+        }
+        idle.set(false);
+
+        // The wheel is empty, so skip the ticks that elapsed while we were parked.
+        tick = Math.max(tick, now() / tickNanos);
+    }
+
+    private void processCancelledTasks() {
+        WheelTask<?> task;
+        while ((task = cancelledTasks.poll()) != null) {
+            // Tasks that are still pending are skipped when they are transferred.
+            if (task.bucket != null) {
+                task.bucket.remove(task);
+            }
+        }
+    }
+
+    private void transferPendingTasks() {
+        for (int i = 0; i < MAX_TRANSFERS_PER_TICK; i++) {
+            WheelTask<?> task = pendingTasks.poll();
+            if (task == null) {
+                return;
+            }
+            // Publish the transfer before checking for cancellation, so that a concurrent cancel() either sees it and queues
+            // the task for removal from the wheel, or is seen here.
+            task.transferred = true;
+            if (task.isCancelled()) {
+                continue;
+            }
+
+            long taskTick = task.deadline / tickNanos;
+            task.remainingRounds = (taskTick - tick) / wheel.length;
+
+            // A task whose deadline has already passed goes in the current bucket, which is expired next.
+            wheel[(int) (Math.max(taskTick, tick) & mask)].add(task);
+        }
+    }
+
+    private void runExpiredTask(WheelTask<?> task) {
+        if (taskExecutor == null) {
+            task.run();
+            return;
+        }
+
+        try {
+            taskExecutor.execute(task);
+        } catch (RejectedExecutionException e) {
+            log.warn(() -> "Unable to run an expired timer task, because its executor rejected it.", e);
+            task.cancel(false);
+        }
+    }
+
+    private void cancelRemainingTasks() {
+        for (Bucket bucket : wheel) {
+            bucket.cancelAll();
+        }
+
+        WheelTask<?> task;
+        while ((task = pendingTasks.poll()) != null) {
+            task.cancel(false);
+        }
+        cancelledTasks.clear();
+    }
+
+    private void terminate() {
+        terminated.countDown();
+        if (taskExecutor != null) {
+            taskExecutor.shutdown();
+        }
+    }
+
+    /**
+     * The tasks that expire in one tick of the wheel, in a doubly-linked list. Only accessed by the worker thread.
+     */
+    private final class Bucket {
+        private WheelTask<?> head;
+        private WheelTask<?> tail;
+
+        private void add(WheelTask<?> task) {
+            task.bucket = this;
+            if (head == null) {
+                head = task;
+            } else {
+                tail.next = task;
+                task.prev = tail;
+            }
+            tail = task;
+            tasksInWheel++;
+        }
+
+        private WheelTask<?> remove(WheelTask<?> task) {
+            WheelTask<?> next = task.next;
+            if (task.prev != null) {
+                task.prev.next = next;
+            } else {
+                head = next;
+            }
+            if (next != null) {
+                next.prev = task.prev;
+            } else {
+                tail = task.prev;
+            }
+
+            task.bucket = null;
+            task.prev = null;
+            task.next = null;
+            tasksInWheel--;
+            return next;
+        }
+
+        private void expireTasks() {
+            WheelTask<?> task = head;
+            while (task != null) {
+                if (task.remainingRounds <= 0) {
+                    WheelTask<?> next = remove(task);
+                    runExpiredTask(task);
+                    task = next;
+                } else if (task.isCancelled()) {
+                    task = remove(task);
+                } else {
+                    task.remainingRounds--;
+                    task = task.next;
+                }
+            }
+        }
+
+        private void cancelAll() {
+            while (head != null) {
+                WheelTask<?> task = head;
+                remove(task);
+                task.cancel(false);
+            }
+        }
+    }
+
+    /**
+     * A task scheduled on the wheel. Its deadline is relative to the timer's start time.
+     */
+    private final class WheelTask<V> extends FutureTask<V> implements RunnableScheduledFuture<V> {
+        // Positive for fixed-rate, negative for fixed-delay and zero for one-shot tasks.
+        private final long period;
+        private volatile long deadline;
+        private volatile boolean transferred;
+
+        // Only accessed by the worker thread.
+        private Bucket bucket;
+        private WheelTask<?> prev;
+        private WheelTask<?> next;
+        private long remainingRounds;
+
+        private WheelTask(Runnable runnable, V result, long deadline, long period) {
+            super(runnable, result);
+            this.deadline = deadline;
+            this.period = period;
+        }
+
+        private WheelTask(Callable<V> callable, long deadline) {
+            super(callable);
+            this.deadline = deadline;
+            this.period = 0;
+        }
+
+        @Override
+        public boolean isPeriodic() {
+            return period != 0;
+        }
+
+        @Override
+        public long getDelay(TimeUnit unit) {
+            return unit.convert(deadline - now(), NANOSECONDS);
+        }
+
+        @Override
+        public int compareTo(Delayed other) {
+            if (other == this) {
+                return 0;
+            }
+            return Long.compare(getDelay(NANOSECONDS), other.getDelay(NANOSECONDS));
+        }
+
+        @Override
+        public void run() {
+            if (!isPeriodic()) {
+                super.run();
+                return;
+            }
+
+            if (runAndReset()) {
+                if (state != RUNNING) {
+                    cancel(false);
+                    return;
+                }
+                deadline = period > 0 ? deadline + period : now() - period;
+                enqueue(this);
+            }
+        }
+
+        @Override
+        public boolean cancel(boolean mayInterruptIfRunning) {
+            boolean cancelled = super.cancel(mayInterruptIfRunning);
+            // Most timeouts are cancelled before the worker has seen them. Those are dropped when they're transferred, so only
+            // tasks that may be in the wheel need to be removed by the worker.
+            if (cancelled && transferred) {
+                cancelledTasks.add(this);
+            }
+            return cancelled;
+        }
+    }
+}
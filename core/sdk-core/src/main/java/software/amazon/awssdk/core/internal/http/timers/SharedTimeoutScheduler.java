@@ -0,0 +1,92 @@
+/*
+ * Copyright Amazon.com, Inc. or its affiliates. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License").
+ * You may not use this file except in compliance with the License.
+ * A copy of the License is located at
+ *
+ *  http://aws.amazon.com/apache2.0
+ *
+ * or in the "license" file accompanying this file. This file is distributed
+ * on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either
+ * express or implied. See the License for the specific language governing
+ * permissions and limitations under the License.
+ */
+
+package software.amazon.awssdk.core.internal.http.timers;
+
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import software.amazon.awssdk.annotations.SdkInternalApi;
+import software.amazon.awssdk.utils.ThreadFactoryBuilder;
+
+/**
+ * A process-wide scheduler for the {@link SyncTimeoutTask}s of synchronous clients.
+ *
+ * <p>Sync clients only need a scheduler to fire API call and API call attempt timeouts, so a single daemon timer thread can
+ * serve every sync client in the JVM, instead of each client owning its own scheduler thread pool. This matters when callers
+ * create many clients or run sync calls on virtual threads, where the per-call cost should be the timeout task and not a
+ * platform thread. The scheduler is a {@link HashedWheelTimer}, so that the many threads scheduling and cancelling timeouts
+ * don't contend on a single lock.
+ *
+ * <p>The timer thread only times the tasks. An expired timeout interrupts the calling thread and aborts the in-flight request,
+ * which can block (e.g. while closing a stuck connection), so it runs on a small pool of daemon threads instead. A slow abort
+ * therefore doesn't delay the timeouts of other calls. The pool's threads stop when they have been idle for a minute.
+ *
+ * <p>The scheduler is shared, so it ignores {@link ScheduledExecutorService#shutdown()} and
+ * {@link ScheduledExecutorService#shutdownNow()} calls made when a client is closed.
+ */
+@SdkInternalApi
+public final class SharedTimeoutScheduler {
+
+    private SharedTimeoutScheduler() {
+    }
+
+    /**
+     * @return The shared timeout scheduler, creating it if this is the first call.
+     */
+    public static ScheduledExecutorService instance() {
+        return Holder.INSTANCE;
+    }
+
+    private static final class Holder {
+        private static final ScheduledExecutorService INSTANCE = new UnmanagedHashedWheelTimer();
+    }
+
+    private static final class UnmanagedHashedWheelTimer extends HashedWheelTimer {
+        private static final int TASK_THREADS = 5;
+
+        private UnmanagedHashedWheelTimer() {
+            super(DEFAULT_TICK_DURATION,
+                  DEFAULT_TICKS_PER_WHEEL,
+                  new ThreadFactoryBuilder().threadNamePrefix("sdk-SharedTimeoutScheduler-timer")
+                                            .daemonThreads(true)
+                                            .build(),
+                  taskExecutor());
+        }
+
+        private static ThreadPoolExecutor taskExecutor() {
+            ThreadPoolExecutor executor = new ThreadPoolExecutor(TASK_THREADS, TASK_THREADS, 60, TimeUnit.SECONDS,
+                                                                 new LinkedBlockingQueue<>(),
+                                                                 new ThreadFactoryBuilder()
+                                                                     .threadNamePrefix("sdk-SharedTimeoutScheduler")
+                                                                     .daemonThreads(true)
+                                                                     .build());
+            executor.allowCoreThreadTimeOut(true);
+            return executor;
+        }
+
+        @Override
+        public void shutdown() {
+        }
+
+        @Override
+        public List<Runnable> shutdownNow() {
+            return Collections.emptyList();
+        }
+    }
+}
@@ -0,0 +1,184 @@
+/*
+ * Copyright Amazon.com, Inc. or its affiliates. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License").
+ * You may not use this file except in compliance with the License.
+ * A copy of the License is located at
+ *
+ *  http://aws.amazon.com/apache2.0
+ *
+ * or in the "license" file accompanying this file. This file is distributed
+ * on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either
+ * express or implied. See the License for the specific language governing
+ * permissions and limitations under the License.
+ */
+
+
+package software.amazon.awssdk.core.internal.retry;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import software.amazon.awssdk.annotations.SdkInternalApi;
+import software.amazon.awssdk.annotations.SdkTestInternalApi;
+import software.amazon.awssdk.annotations.ThreadSafe;
+import software.amazon.awssdk.core.retry.CircuitBreakerPolicy;
+
+/**
+ * The circuit breaker of one endpoint, configured by a {@link CircuitBreakerPolicy}.
+ *
+ * <p>The breaker starts {@link State#CLOSED}, and records whether each of the last {@code slidingWindowSize} requests to the
+ * endpoint failed. When at least {@code minimumNumberOfCalls} requests have been recorded and the percentage of failures
+ * reaches {@code failureRateThreshold}, the breaker opens. While {@link State#OPEN}, no requests are permitted. After
+ * {@code openStateDuration}, the breaker becomes {@link State#HALF_OPEN} and permits {@code permittedCallsInHalfOpenState}
+ * trial requests: if one of them fails the breaker opens again, and if all of them succeed it closes.
+ */
+@SdkInternalApi
+@ThreadSafe
+public final class CircuitBreaker {
+    private final CircuitBreakerPolicy policy;
+    private final Clock clock;
+
+    private final boolean[] window;
+    private int windowPosition;
+    private int recordedCalls;
+    private int failedCalls;
+
+    private State state = State.CLOSED;
+    private Instant openedAt;
+    private int trialCallsPermitted;
+    private int trialCallsSucceeded;
+
+    public CircuitBreaker(CircuitBreakerPolicy policy) {
+        this(policy, Clock.systemUTC());
+    }
+
+    @SdkTestInternalApi
+    CircuitBreaker(CircuitBreakerPolicy policy, Clock clock) {
+        this.policy = policy;
+        this.clock = clock;
+        this.window = new boolean[policy.slidingWindowSize()];
+    }
+
+    /**
+     * The current state of the breaker.
+     */
+    public synchronized State state() {
+        return state;
+    }
+
+    /**
+     * Returns true if a request may be sent to the endpoint. Every permitted request must be followed by a call to
+     * {@link #onSuccess()} or {@link #onFailure()} once its outcome is known, or to {@link #releasePermission()} if it is
+     * abandoned before then.
+     */
+    public synchronized boolean tryAcquirePermission() {
+        switch (state) {
+            case CLOSED:
+                return true;
+            case OPEN:
+                Duration openFor = Duration.between(openedAt, clock.instant());
+                if (openFor.compareTo(policy.openStateDuration()) < 0) {
+                    return false;
+                }
+                transitionTo(State.HALF_OPEN);
+                return tryAcquireTrialPermission();
+            case HALF_OPEN:
+                return tryAcquireTrialPermission();
+            default:
+                throw new IllegalStateException("Unknown state: " + state);
+        }
+    }
+
+    /**
+     * Record that a permitted request to the endpoint succeeded, or failed for a reason that does not indicate that the
+     * endpoint is unhealthy.
+     */
+    public synchronized void onSuccess() {
+        switch (state) {
+            case CLOSED:
+                record(false);
+                break;
+            case HALF_OPEN:
+                ++trialCallsSucceeded;
+                if (trialCallsSucceeded >= policy.permittedCallsInHalfOpenState()) {
+                    transitionTo(State.CLOSED);
+                }
+                break;
+            default:
+                // The request was permitted before the breaker opened.
+                break;
+        }
+    }
+
+    /**
+     * Record that a permitted request to the endpoint failed in a way that indicates that the endpoint is unhealthy.
+     */
+    public synchronized void onFailure() {
+        switch (state) {
+            case CLOSED:
+                record(true);
+                if (recordedCalls >= policy.minimumNumberOfCalls() &&
+                    failedCalls * 100.0 / recordedCalls >= policy.failureRateThreshold()) {
+                    transitionTo(State.OPEN);
+                }
+                break;
+            case HALF_OPEN:
+                transitionTo(State.OPEN);
+                break;
+            default:
+                // The request was permitted before the breaker opened.
+                break;
+        }
+    }
+
+    /**
+     * Record that a permitted request was abandoned before its outcome was known, e.g. because it was cancelled, so that it
+     * counts neither as a success nor as a failure. In the {@link State#HALF_OPEN} state, this lets another trial request
+     * be sent in its place.
+     */
+    public synchronized void releasePermission() {
+        if (state == State.HALF_OPEN && trialCallsPermitted > trialCallsSucceeded) {
+            --trialCallsPermitted;
+        }
+    }
+
+    private boolean tryAcquireTrialPermission() {
+        if (trialCallsPermitted >= policy.permittedCallsInHalfOpenState()) {
+            return false;
+        }
+        ++trialCallsPermitted;
+        return true;
+    }
+
+    private void record(boolean failed) {
+        if (recordedCalls == window.length) {
+            if (window[windowPosition]) {
+                --failedCalls;
+            }
+        } else {
+            ++recordedCalls;
+        }
+        window[windowPosition] = failed;
+        if (failed) {
+            ++failedCalls;
+        }
+        windowPosition = (windowPosition + 1) % window.length;
+    }
+
+    private void transitionTo(State newState) {
+        state = newState;
+        windowPosition = 0;
+        recordedCalls = 0;
+        failedCalls = 0;
+        trialCallsPermitted = 0;
+        trialCallsSucceeded = 0;
+        openedAt = newState == State.OPEN ? clock.instant() : null;
+    }
+
+    public enum State {
+        CLOSED,
+        OPEN,
+        HALF_OPEN
+    }
+}
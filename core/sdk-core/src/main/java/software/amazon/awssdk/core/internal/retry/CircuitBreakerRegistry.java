@@ -0,0 +1,106 @@
+/*
+ * Copyright Amazon.com, Inc. or its affiliates. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License").
+ * You may not use this file except in compliance with the License.
+ * A copy of the License is located at
+ *
+ *  http://aws.amazon.com/apache2.0
+ *
+ * or in the "license" file accompanying this file. This file is distributed
+ * on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either
+ * express or implied. See the License for the specific language governing
+ * permissions and limitations under the License.
+ */
+
+
+package software.amazon.awssdk.core.internal.retry;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.locks.Lock;
+import java.util.concurrent.locks.ReentrantLock;
+import software.amazon.awssdk.annotations.SdkInternalApi;
+import software.amazon.awssdk.annotations.SdkTestInternalApi;
+import software.amazon.awssdk.annotations.ThreadSafe;
+import software.amazon.awssdk.core.retry.CircuitBreakerPolicy;
+import software.amazon.awssdk.utils.Validate;
+
+/**
+ * The {@link CircuitBreaker}s of one client, keyed by endpoint host and configured by the client's
+ * {@link CircuitBreakerPolicy}.
+ *
+ * <p>Only the circuit breakers of the {@link #DEFAULT_MAX_HOSTS} most recently used hosts are kept, so that clients sending
+ * requests to an unbounded number of hosts (e.g. S3 virtual-hosted-style bucket endpoints) do not accumulate breakers. The
+ * breaker of a host that was evicted starts closed when requests are sent to the host again.
+ */
+@SdkInternalApi
+@ThreadSafe
+public final class CircuitBreakerRegistry {
+    static final int DEFAULT_MAX_HOSTS = 1024;
+
+    private final CircuitBreakerPolicy policy;
+    private final Lock lock = new ReentrantLock();
+    private final Map<String, CircuitBreaker> circuitBreakers;
+
+    private CircuitBreakerRegistry(CircuitBreakerPolicy policy, int maxHosts) {
+        this.policy = Validate.paramNotNull(policy, "policy");
+        Validate.isPositive(maxHosts, "maxHosts");
+        this.circuitBreakers = new LeastRecentlyUsedMap<>(maxHosts);
+    }
+
+    public static CircuitBreakerRegistry create(CircuitBreakerPolicy policy) {
+        return new CircuitBreakerRegistry(policy, DEFAULT_MAX_HOSTS);
+    }
+
+    @SdkTestInternalApi
+    static CircuitBreakerRegistry create(CircuitBreakerPolicy policy, int maxHosts) {
+        return new CircuitBreakerRegistry(policy, maxHosts);
+    }
+
+    public CircuitBreakerPolicy policy() {
+        return policy;
+    }
+
+    /**
+     * Returns the circuit breaker for the provided endpoint host, creating it if this is the first request to the host or if
+     * its breaker has been evicted.
+     */
+    public CircuitBreaker circuitBreaker(String host) {
+        lock.lock();
+        try {
+            return circuitBreakers.computeIfAbsent(host, h -> new CircuitBreaker(policy));
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    @SdkTestInternalApi
+    int size() {
+        lock.lock();
+        try {
+            return circuitBreakers.size();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * A map that evicts its least recently accessed entry once it holds more than {@code maxSize} entries.
+     */
+    private static final class LeastRecentlyUsedMap<K, V> extends LinkedHashMap<K, V> {
+        private static final long serialVersionUID = 1L;
+
+        private final int maxSize;
+
+        private LeastRecentlyUsedMap(int maxSize) {
+            super(16, 0.75f, true);
+            this.maxSize = maxSize;
+        }
+
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<K, V> eldest) {
+            return size() > maxSize;
+        }
+    }
+}
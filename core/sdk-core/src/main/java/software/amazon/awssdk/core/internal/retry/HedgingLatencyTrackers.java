@@ -0,0 +1,83 @@
+/*
+ * Copyright Amazon.com, Inc. or its affiliates. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License").
+ * You may not use this file except in compliance with the License.
+ * A copy of the License is located at
+ *
+ *  http://aws.amazon.com/apache2.0
+ *
+ * or in the "license" file accompanying this file. This file is distributed
+ * on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either
+ * express or implied. See the License for the specific language governing
+ * permissions and limitations under the License.
+ */
+
+
+package software.amazon.awssdk.core.internal.retry;
+
+import java.time.Duration;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import software.amazon.awssdk.annotations.SdkInternalApi;
+import software.amazon.awssdk.annotations.ThreadSafe;
+import software.amazon.awssdk.core.retry.HedgingPolicy;
+import software.amazon.awssdk.http.SdkHttpMethod;
+import software.amazon.awssdk.utils.Validate;
+
+/**
+ * The per-client state needed to apply a {@link HedgingPolicy}: a {@link LatencyPercentileTracker} for each operation that
+ * has been hedged. One instance is created by the client builder for each client, so that clients sharing the same policy
+ * do not share observed latencies.
+ */
+@SdkInternalApi
+@ThreadSafe
+public final class HedgingLatencyTrackers {
+    private final HedgingPolicy hedgingPolicy;
+    private final Map<String, LatencyPercentileTracker> latencyTrackers = new ConcurrentHashMap<>();
+
+    private HedgingLatencyTrackers(HedgingPolicy hedgingPolicy) {
+        this.hedgingPolicy = Validate.paramNotNull(hedgingPolicy, "hedgingPolicy");
+    }
+
+    public static HedgingLatencyTrackers create(HedgingPolicy hedgingPolicy) {
+        return new HedgingLatencyTrackers(hedgingPolicy);
+    }
+
+    public HedgingPolicy hedgingPolicy() {
+        return hedgingPolicy;
+    }
+
+    /**
+     * Returns true if a request for the provided operation and HTTP method may be hedged.
+     */
+    public boolean isHedgeable(String operationName, SdkHttpMethod method) {
+        if (!hedgingPolicy.hedgeableOperations().isEmpty()) {
+            return hedgingPolicy.hedgeableOperations().contains(operationName);
+        }
+        return method == SdkHttpMethod.GET || method == SdkHttpMethod.HEAD;
+    }
+
+    /**
+     * Returns the amount of time to wait for a response to the initial request of the provided operation before sending a
+     * hedged request.
+     */
+    public Duration hedgeDelay(String operationName) {
+        Duration minimumDelay = hedgingPolicy.minimumDelay();
+        LatencyPercentileTracker tracker = latencyTrackers.get(operationName);
+        if (tracker == null) {
+            return minimumDelay;
+        }
+        return tracker.percentile()
+                      .filter(d -> d.compareTo(minimumDelay) > 0)
+                      .orElse(minimumDelay);
+    }
+
+    /**
+     * Record the latency observed for receiving a response to a request of the provided operation.
+     */
+    public void recordLatency(String operationName, Duration latency) {
+        latencyTrackers.computeIfAbsent(operationName, o -> new LatencyPercentileTracker(hedgingPolicy.delayPercentile()))
+                       .record(latency);
+    }
+}
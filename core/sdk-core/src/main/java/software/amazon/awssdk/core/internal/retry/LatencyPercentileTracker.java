@@ -0,0 +1,88 @@
+/*
+ * Copyright Amazon.com, Inc. or its affiliates. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License").
+ * You may not use this file except in compliance with the License.
+ * A copy of the License is located at
+ *
+ *  http://aws.amazon.com/apache2.0
+ *
+ * or in the "license" file accompanying this file. This file is distributed
+ * on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either
+ * express or implied. See the License for the specific language governing
+ * permissions and limitations under the License.
+ */
+
+package software.amazon.awssdk.core.internal.retry;
+
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.Optional;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+import software.amazon.awssdk.annotations.SdkInternalApi;
+import software.amazon.awssdk.annotations.ThreadSafe;
+import software.amazon.awssdk.utils.Validate;
+
+/**
+ * Tracks a configured percentile over a sliding window of the most recently recorded latencies.
+ *
+ * <p>Recording a latency is a lock-free write into a fixed-size ring buffer. The percentile is only recomputed every
+ * {@link #RECOMPUTE_INTERVAL} recordings, so reading it is a single volatile read.
+ */
+@SdkInternalApi
+@ThreadSafe
+public final class LatencyPercentileTracker {
+    /**
+     * The number of samples kept in the window. Must be a power of two.
+     */
+    private static final int WINDOW_SIZE = 1024;
+
+    /**
+     * The number of recordings between two computations of the percentile. This is also the minimum number of samples needed
+     * before a percentile is reported.
+     */
+    private static final int RECOMPUTE_INTERVAL = 64;
+
+    private final double percentile;
+    private final AtomicLongArray samples = new AtomicLongArray(WINDOW_SIZE);
+    private final AtomicLong recordedCount = new AtomicLong();
+    private volatile long percentileNanos = -1;
+
+    public LatencyPercentileTracker(double percentile) {
+        Validate.isTrue(percentile > 0 && percentile <= 100, "Percentile must be in the range (0, 100], but was %s.", percentile);
+        this.percentile = percentile;
+    }
+
+    /**
+     * Record an observed latency.
+     */
+    public void record(Duration latency) {
+        long count = recordedCount.getAndIncrement();
+        samples.set((int) (count & (WINDOW_SIZE - 1)), latency.toNanos());
+
+        if ((count + 1) % RECOMPUTE_INTERVAL == 0) {
+            recompute((int) Math.min(count + 1, WINDOW_SIZE));
+        }
+    }
+
+    /**
+     * Retrieve the configured percentile of the latencies in the current window, or {@link Optional#empty()} if not enough
+     * latencies have been recorded yet.
+     */
+    public Optional<Duration> percentile() {
+        long nanos = percentileNanos;
+        return nanos < 0 ? Optional.empty() : Optional.of(Duration.ofNanos(nanos));
+    }
+
+    private void recompute(int sampleCount) {
+        long[] snapshot = new long[sampleCount];
+        for (int i = 0; i < sampleCount; i++) {
+            snapshot[i] = samples.get(i);
+        }
+        Arrays.sort(snapshot);
+
+        int index = (int) Math.ceil(percentile / 100 * sampleCount) - 1;
+        percentileNanos = snapshot[Math.max(0, Math.min(index, sampleCount - 1))];
+    }
+}
@@ -16,11 +16,24 @@
 package software.amazon.awssdk.core.internal.retry;
 
 import java.util.OptionalDouble;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.UnaryOperator;
 import software.amazon.awssdk.annotations.SdkInternalApi;
 import software.amazon.awssdk.annotations.SdkTestInternalApi;
+import software.amazon.awssdk.annotations.ThreadSafe;
 import software.amazon.awssdk.core.exception.SdkClientException;
 
+/**
+ * The client-side rate limiter of {@link software.amazon.awssdk.core.retry.RetryMode#ADAPTIVE}.
+ *
+ * <p>Every request acquires a token before it is sent and reports whether it was throttled once it completes, so this is on
+ * the path of every request of every client that shares the bucket (see {@link RateLimitingTokenBucketRegistry}). Instead of
+ * guarding its state with a lock, the bucket keeps all of it in one immutable {@link State} that each operation replaces with
+ * a compare-and-set, retrying if another thread won the race. Operations therefore never block each other, and each one still
+ * sees and updates a consistent state, as the algorithm below requires.
+ */
 @SdkInternalApi
+@ThreadSafe
 public class RateLimitingTokenBucket {
     private static final double MIN_FILL_RATE = 0.5;
     private static final double MIN_CAPACITY = 1.0;
@@ -30,33 +43,20 @@ public class RateLimitingTokenBucket {
     private static final double SCALE_CONSTANT = 0.4;
 
     private final Clock clock;
-
-    private Double fillRate;
-    private Double maxCapacity;
-    private double currentCapacity;
-    private Double lastTimestamp;
-    private boolean enabled;
-    private double measuredTxRate;
-    private double lastTxRateBucket;
-    private long requestCount;
-    private double lastMaxRate;
-    private double lastThrottleTime;
-
-    private double timeWindow;
+    private final AtomicReference<State> state;
 
     public interface Clock {
         double time();
     }
 
     public RateLimitingTokenBucket() {
-        clock = new DefaultClock();
-        initialize();
+        this(new DefaultClock());
     }
 
     @SdkTestInternalApi
     RateLimitingTokenBucket(Clock clock) {
         this.clock = clock;
-        initialize();
+        this.state = new AtomicReference<>(State.initial(clock.time()));
     }
 
     /**
@@ -151,32 +151,27 @@ public class RateLimitingTokenBucket {
      * @return The amount of time in seconds to wait before proceeding.
      */
     public OptionalDouble acquireNonBlocking(double amount, boolean fastFail) {
-        double waitTime = 0.0;
-
-        synchronized (this) {
-            // If rate limiting is not enabled, we technically have an uncapped limit
-            if (!enabled) {
-                return OptionalDouble.of(0.0);
-            }
+        // If rate limiting is not enabled, we technically have an uncapped limit
+        if (!state.get().enabled) {
+            return OptionalDouble.of(0.0);
+        }
 
-            refill();
+        refill();
 
-            double originalCapacity = currentCapacity;
-            double unfulfilled = tryAcquireCapacity(amount);
+        while (true) {
+            State current = state.get();
+            double unfulfilled = unfulfilled(current, amount);
 
             if (unfulfilled > 0.0 && fastFail) {
-                currentCapacity = originalCapacity;
                 return OptionalDouble.empty();
             }
 
-            // If all the tokens couldn't be acquired immediately, wait enough
-            // time to fill the remainder.
-            if (unfulfilled > 0) {
-                waitTime = unfulfilled / fillRate;
+            if (state.compareAndSet(current, current.withCurrentCapacity(current.currentCapacity - amount))) {
+                // If all the tokens couldn't be acquired immediately, wait enough
+                // time to fill the remainder.
+                return OptionalDouble.of(unfulfilled > 0 ? unfulfilled / current.fillRate : 0.0);
             }
         }
-
-        return OptionalDouble.of(waitTime);
     }
 
     /**
@@ -185,27 +180,16 @@ public class RateLimitingTokenBucket {
      * @return The unfulfilled amount.
      */
     double tryAcquireCapacity(double amount) {
-        double result;
-        if (amount <= currentCapacity) {
-            result = 0;
-        } else {
-            result = amount - currentCapacity;
+        while (true) {
+            State current = state.get();
+            if (state.compareAndSet(current, current.withCurrentCapacity(current.currentCapacity - amount))) {
+                return unfulfilled(current, amount);
+            }
         }
-        currentCapacity = currentCapacity - amount;
-        return result;
     }
 
-    private void initialize() {
-        fillRate = null;
-        maxCapacity = null;
-        currentCapacity = 0.0;
-        lastTimestamp = null;
-        enabled = false;
-        measuredTxRate = 0.0;
-        lastTxRateBucket = Math.floor(clock.time());
-        requestCount = 0;
-        lastMaxRate = 0.0;
-        lastThrottleTime = clock.time();
+    private static double unfulfilled(State state, double amount) {
+        return amount <= state.currentCapacity ? 0 : amount - state.currentCapacity;
     }
 
     /**
@@ -221,63 +205,8 @@ public class RateLimitingTokenBucket {
      * </pre>
      */
     // Package private for testing
-    synchronized void refill() {
-        double timestamp = clock.time();
-        if (lastTimestamp == null) {
-            lastTimestamp = timestamp;
-            return;
-        }
-
-        double fillAmount = (timestamp - lastTimestamp) * fillRate;
-        currentCapacity = Math.min(maxCapacity, currentCapacity + fillAmount);
-        lastTimestamp = timestamp;
-    }
-
-    /**
-     * <pre>
-     * _TokenBucketUpdateRate(new_rps)
-     *   # Refill based on our current rate before we update to the new fill rate.
-     *   _TokenBucketRefill()
-     *   fill_rate = max(new_rps, MIN_FILL_RATE)
-     *   max_capacity = max(new_rps, MIN_CAPACITY)
-     *   # When we scale down we can't have a current capacity that exceeds our
-     *   # max_capacity.
-     *   current_capacity = min(current_capacity, max_capacity)
-     * </pre>
-     */
-    private synchronized void updateRate(double newRps) {
-        refill();
-        fillRate = Math.max(newRps, MIN_FILL_RATE);
-        maxCapacity = Math.max(newRps, MIN_CAPACITY);
-        currentCapacity = Math.min(currentCapacity, maxCapacity);
-    }
-
-    /**
-     * <pre>
-     * t = time()
-     * time_bucket = floor(t * 2) / 2
-     * request_count = request_count + 1
-     * if time_bucket > last_tx_rate_bucket
-     *   current_rate = request_count / (time_bucket - last_tx_rate_bucket)
-     *   measured_tx_rate = (current_rate * SMOOTH) + (measured_tx_rate * (1 - SMOOTH))
-     *   request_count = 0
-     *   last_tx_rate_bucket = time_bucket
-     * </pre>
-     */
-    private synchronized void updateMeasuredRate() {
-        double t = clock.time();
-        double timeBucket = Math.floor(t * 2) / 2;
-        requestCount = requestCount + 1;
-        if (timeBucket > lastTxRateBucket) {
-            double currentRate = requestCount / (timeBucket - lastTxRateBucket);
-            measuredTxRate = (currentRate * SMOOTH) + (measuredTxRate * (1 - SMOOTH));
-            requestCount = 0;
-            lastTxRateBucket = timeBucket;
-        }
-    }
-
-    synchronized void enable() {
-        enabled = true;
+    void refill() {
+        update(s -> s.refill(clock.time()));
     }
 
     /**
@@ -305,30 +234,28 @@ public class RateLimitingTokenBucket {
      *   _TokenBucketUpdateRate(new_rate)
      * </pre>
      */
-    public synchronized void updateClientSendingRate(boolean throttlingResponse) {
-        updateMeasuredRate();
-
-        double calculatedRate;
-        if (throttlingResponse) {
-            double rateToUse;
-            if (!enabled) {
-                rateToUse = measuredTxRate;
-            } else {
-                rateToUse = Math.min(measuredTxRate, fillRate);
-            }
+    public void updateClientSendingRate(boolean throttlingResponse) {
+        update(s -> s.updateClientSendingRate(throttlingResponse, clock.time()));
+    }
 
-            lastMaxRate = rateToUse;
-            calculateTimeWindow();
-            lastThrottleTime = clock.time();
-            calculatedRate = cubicThrottle(rateToUse);
-            enable();
-        } else {
-            calculateTimeWindow();
-            calculatedRate = cubicSuccess(clock.time());
-        }
+    /**
+     * @return The rate, in requests per second, at which the bucket is currently refilled, or empty if rate limiting has not
+     * been engaged by a throttling response.
+     */
+    public OptionalDouble fillRate() {
+        State current = state.get();
+        return current.enabled ? OptionalDouble.of(current.fillRate) : OptionalDouble.empty();
+    }
+
+    /**
+     * @return The smoothed rate, in requests per second, at which responses have been received.
+     */
+    public double measuredTxRate() {
+        return state.get().measuredTxRate;
+    }
 
-        double newRate = Math.min(calculatedRate, 2 * measuredTxRate);
-        updateRate(newRate);
+    void enable() {
+        update(State::enable);
     }
 
     /**
@@ -340,8 +267,8 @@ public class RateLimitingTokenBucket {
      * </pre>
      */
     // Package private for testing
-    synchronized void calculateTimeWindow() {
-        timeWindow = Math.pow((lastMaxRate * (1 - BETA)) / SCALE_CONSTANT, 1.0 / 3);
+    void calculateTimeWindow() {
+        update(State::calculateTimeWindow);
     }
 
     /**
@@ -368,8 +295,7 @@ public class RateLimitingTokenBucket {
      */
     // Package private for testing
     double cubicThrottle(double rateToUse) {
-        double calculatedRate = rateToUse * BETA;
-        return calculatedRate;
+        return State.cubicThrottle(rateToUse);
     }
 
     /**
@@ -381,10 +307,22 @@ public class RateLimitingTokenBucket {
      * </pre>
      */
     // Package private for testing
-    synchronized double cubicSuccess(double timestamp) {
-        double dt = timestamp - lastThrottleTime;
-        double calculatedRate = SCALE_CONSTANT * Math.pow(dt - timeWindow, 3) + lastMaxRate;
-        return calculatedRate;
+    double cubicSuccess(double timestamp) {
+        return state.get().cubicSuccess(timestamp);
+    }
+
+    /**
+     * Replace the state with the result of applying the given function to it, retrying with the latest state if it was
+     * changed concurrently. The function may therefore be invoked more than once, and must not have side effects.
+     */
+    private void update(UnaryOperator<State> function) {
+        while (true) {
+            State current = state.get();
+            State updated = function.apply(current);
+            if (updated == current || state.compareAndSet(current, updated)) {
+                return;
+            }
+        }
     }
 
     static class DefaultClock implements Clock {
@@ -396,37 +334,216 @@ public class RateLimitingTokenBucket {
     }
 
     @SdkTestInternalApi
-    synchronized void setLastMaxRate(double lastMaxRate) {
-        this.lastMaxRate = lastMaxRate;
+    void setLastMaxRate(double lastMaxRate) {
+        update(s -> s.copy(c -> c.lastMaxRate = lastMaxRate));
     }
 
     @SdkTestInternalApi
-    synchronized void setLastThrottleTime(double lastThrottleTime) {
-        this.lastThrottleTime = lastThrottleTime;
+    void setLastThrottleTime(double lastThrottleTime) {
+        update(s -> s.copy(c -> c.lastThrottleTime = lastThrottleTime));
     }
 
     @SdkTestInternalApi
-    synchronized double getMeasuredTxRate() {
-        return measuredTxRate;
+    double getMeasuredTxRate() {
+        return state.get().measuredTxRate;
     }
 
     @SdkTestInternalApi
-    synchronized double getFillRate() {
-        return fillRate;
+    double getFillRate() {
+        return state.get().fillRate;
     }
 
     @SdkTestInternalApi
-    synchronized void setCurrentCapacity(double currentCapacity) {
-        this.currentCapacity = currentCapacity;
+    void setCurrentCapacity(double currentCapacity) {
+        update(s -> s.withCurrentCapacity(currentCapacity));
     }
 
     @SdkTestInternalApi
-    synchronized double getCurrentCapacity() {
-        return currentCapacity;
+    double getCurrentCapacity() {
+        return state.get().currentCapacity;
     }
 
     @SdkTestInternalApi
-    synchronized void setFillRate(double fillRate) {
-        this.fillRate = fillRate;
+    void setFillRate(double fillRate) {
+        update(s -> s.copy(c -> c.fillRate = fillRate));
+    }
+
+    /**
+     * A snapshot of the state of the bucket. Instances are never modified once they have been published: every change is made
+     * on a {@link #copy} that replaces the published instance.
+     */
+    private static final class State {
+        private Double fillRate;
+        private Double maxCapacity;
+        private double currentCapacity;
+        private Double lastTimestamp;
+        private boolean enabled;
+        private double measuredTxRate;
+        private double lastTxRateBucket;
+        private long requestCount;
+        private double lastMaxRate;
+        private double lastThrottleTime;
+        private double timeWindow;
+
+        private State() {
+        }
+
+        private State(State other) {
+            this.fillRate = other.fillRate;
+            this.maxCapacity = other.maxCapacity;
+            this.currentCapacity = other.currentCapacity;
+            this.lastTimestamp = other.lastTimestamp;
+            this.enabled = other.enabled;
+            this.measuredTxRate = other.measuredTxRate;
+            this.lastTxRateBucket = other.lastTxRateBucket;
+            this.requestCount = other.requestCount;
+            this.lastMaxRate = other.lastMaxRate;
+            this.lastThrottleTime = other.lastThrottleTime;
+            this.timeWindow = other.timeWindow;
+        }
+
+        private static State initial(double time) {
+            State state = new State();
+            state.currentCapacity = 0.0;
+            state.enabled = false;
+            state.measuredTxRate = 0.0;
+            state.lastTxRateBucket = Math.floor(time);
+            state.requestCount = 0;
+            state.lastMaxRate = 0.0;
+            state.lastThrottleTime = time;
+            return state;
+        }
+
+        private State copy(Mutation mutation) {
+            State copy = new State(this);
+            mutation.apply(copy);
+            return copy;
+        }
+
+        private State withCurrentCapacity(double currentCapacity) {
+            return copy(c -> c.currentCapacity = currentCapacity);
+        }
+
+        private State enable() {
+            return enabled ? this : copy(c -> c.enabled = true);
+        }
+
+        private State calculateTimeWindow() {
+            return copy(State::calculateTimeWindowInPlace);
+        }
+
+        private State refill(double timestamp) {
+            return copy(c -> c.refillInPlace(timestamp));
+        }
+
+        private State updateClientSendingRate(boolean throttlingResponse, double timestamp) {
+            return copy(c -> c.updateClientSendingRateInPlace(throttlingResponse, timestamp));
+        }
+
+        // The methods below may only be invoked on a copy that has not been published yet.
+
+        private void refillInPlace(double timestamp) {
+            if (lastTimestamp == null) {
+                lastTimestamp = timestamp;
+                return;
+            }
+
+            // Another thread may have refilled with a later timestamp than ours after we read the clock.
+            if (timestamp <= lastTimestamp) {
+                return;
+            }
+
+            double fillAmount = (timestamp - lastTimestamp) * fillRate;
+            currentCapacity = Math.min(maxCapacity, currentCapacity + fillAmount);
+            lastTimestamp = timestamp;
+        }
+
+        /**
+         * <pre>
+         * _TokenBucketUpdateRate(new_rps)
+         *   # Refill based on our current rate before we update to the new fill rate.
+         *   _TokenBucketRefill()
+         *   fill_rate = max(new_rps, MIN_FILL_RATE)
+         *   max_capacity = max(new_rps, MIN_CAPACITY)
+         *   # When we scale down we can't have a current capacity that exceeds our
+         *   # max_capacity.
+         *   current_capacity = min(current_capacity, max_capacity)
+         * </pre>
+         */
+        private void updateRateInPlace(double newRps, double timestamp) {
+            refillInPlace(timestamp);
+            fillRate = Math.max(newRps, MIN_FILL_RATE);
+            maxCapacity = Math.max(newRps, MIN_CAPACITY);
+            currentCapacity = Math.min(currentCapacity, maxCapacity);
+        }
+
+        /**
+         * <pre>
+         * t = time()
+         * time_bucket = floor(t * 2) / 2
+         * request_count = request_count + 1
+         * if time_bucket > last_tx_rate_bucket
+         *   current_rate = request_count / (time_bucket - last_tx_rate_bucket)
+         *   measured_tx_rate = (current_rate * SMOOTH) + (measured_tx_rate * (1 - SMOOTH))
+         *   request_count = 0
+         *   last_tx_rate_bucket = time_bucket
+         * </pre>
+         */
+        private void updateMeasuredRateInPlace(double timestamp) {
+            double timeBucket = Math.floor(timestamp * 2) / 2;
+            requestCount = requestCount + 1;
+            if (timeBucket > lastTxRateBucket) {
+                double currentRate = requestCount / (timeBucket - lastTxRateBucket);
+                measuredTxRate = (currentRate * SMOOTH) + (measuredTxRate * (1 - SMOOTH));
+                requestCount = 0;
+                lastTxRateBucket = timeBucket;
+            }
+        }
+
+        private void updateClientSendingRateInPlace(boolean throttlingResponse, double timestamp) {
+            updateMeasuredRateInPlace(timestamp);
+
+            double calculatedRate;
+            if (throttlingResponse) {
+                double rateToUse;
+                if (!enabled) {
+                    rateToUse = measuredTxRate;
+                } else {
+                    rateToUse = Math.min(measuredTxRate, fillRate);
+                }
+
+                lastMaxRate = rateToUse;
+                calculateTimeWindowInPlace();
+                lastThrottleTime = timestamp;
+                calculatedRate = cubicThrottle(rateToUse);
+                enabled = true;
+            } else {
+                // The time window only depends on lastMaxRate, which is only changed by throttling responses, so it does not
+                // need to be recalculated here.
+                calculatedRate = cubicSuccess(timestamp);
+            }
+
+            double newRate = Math.min(calculatedRate, 2 * measuredTxRate);
+            updateRateInPlace(newRate, timestamp);
+        }
+
+        private void calculateTimeWindowInPlace() {
+            timeWindow = Math.pow((lastMaxRate * (1 - BETA)) / SCALE_CONSTANT, 1.0 / 3);
+        }
+
+        private static double cubicThrottle(double rateToUse) {
+            return rateToUse * BETA;
+        }
+
+        private double cubicSuccess(double timestamp) {
+            double dt = timestamp - lastThrottleTime;
+            double delta = dt - timeWindow;
+            return SCALE_CONSTANT * delta * delta * delta + lastMaxRate;
+        }
+
+        @FunctionalInterface
+        private interface Mutation {
+            void apply(State state);
+        }
     }
 }
@@ -0,0 +1,119 @@
+/*
+ * Copyright Amazon.com, Inc. or its affiliates. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License").
+ * You may not use this file except in compliance with the License.
+ * A copy of the License is located at
+ *
+ *  http://aws.amazon.com/apache2.0
+ *
+ * or in the "license" file accompanying this file. This file is distributed
+ * on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either
+ * express or implied. See the License for the specific language governing
+ * permissions and limitations under the License.
+ */
+
+package software.amazon.awssdk.core.internal.retry;
+
+import java.lang.ref.ReferenceQueue;
+import java.lang.ref.WeakReference;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import software.amazon.awssdk.annotations.SdkInternalApi;
+import software.amazon.awssdk.annotations.SdkTestInternalApi;
+import software.amazon.awssdk.annotations.ThreadSafe;
+import software.amazon.awssdk.core.client.config.SdkClientConfiguration;
+import software.amazon.awssdk.core.client.config.SdkClientOption;
+import software.amazon.awssdk.core.retry.RetryPolicy;
+import software.amazon.awssdk.utils.Pair;
+import software.amazon.awssdk.utils.Validate;
+
+/**
+ * The {@link RateLimitingTokenBucket}s that are shared by clients through {@link RetryPolicy#rateLimiterName()}, keyed by
+ * service name and rate limiter name.
+ *
+ * <p>Each client resolves its bucket once, when it is built, and keeps it under
+ * {@link SdkClientOption#RATE_LIMITING_TOKEN_BUCKET}. The registry only holds weak references to shared buckets, so a shared
+ * bucket is discarded, and its entry removed, once every client that uses it has been garbage collected. The number of
+ * entries is therefore bounded by the number of live clients.
+ */
+@SdkInternalApi
+@ThreadSafe
+public final class RateLimitingTokenBucketRegistry {
+    private static final ConcurrentMap<Pair<String, String>, BucketReference> SHARED_BUCKETS = new ConcurrentHashMap<>();
+    private static final ReferenceQueue<RateLimitingTokenBucket> DISCARDED_BUCKETS = new ReferenceQueue<>();
+
+    private RateLimitingTokenBucketRegistry() {
+    }
+
+    /**
+     * Return the rate limiter of a client: the bucket it resolved when it was built, or a new bucket if the configuration was
+     * not created by a client builder.
+     */
+    public static RateLimitingTokenBucket forClient(SdkClientConfiguration clientConfiguration) {
+        RateLimitingTokenBucket bucket = clientConfiguration.option(SdkClientOption.RATE_LIMITING_TOKEN_BUCKET);
+        return bucket == null ? new RateLimitingTokenBucket() : bucket;
+    }
+
+    /**
+     * Resolve the rate limiter for a new client: the shared bucket named by its retry policy, or a new bucket of its own if its
+     * retry policy does not name one.
+     */
+    public static RateLimitingTokenBucket resolve(String serviceName, RetryPolicy retryPolicy) {
+        String name = retryPolicy == null ? null : retryPolicy.rateLimiterName();
+        if (name == null) {
+            return new RateLimitingTokenBucket();
+        }
+        return shared(serviceName, name);
+    }
+
+    /**
+     * Return the bucket shared by the clients of a service that are configured with the given rate limiter name, creating it
+     * if no live client uses it.
+     */
+    public static RateLimitingTokenBucket shared(String serviceName, String rateLimiterName) {
+        Validate.paramNotNull(rateLimiterName, "rateLimiterName");
+        removeDiscardedBuckets();
+
+        // Clients built without a service name (e.g. in tests) can still share a bucket with each other.
+        Pair<String, String> key = Pair.of(serviceName == null ? "" : serviceName, rateLimiterName);
+        RateLimitingTokenBucket[] result = new RateLimitingTokenBucket[1];
+        SHARED_BUCKETS.compute(key, (k, reference) -> {
+            RateLimitingTokenBucket bucket = reference == null ? null : reference.get();
+            if (bucket != null) {
+                result[0] = bucket;
+                return reference;
+            }
+            result[0] = new RateLimitingTokenBucket();
+            return new BucketReference(k, result[0]);
+        });
+        return result[0];
+    }
+
+    private static void removeDiscardedBuckets() {
+        BucketReference reference;
+        while ((reference = (BucketReference) DISCARDED_BUCKETS.poll()) != null) {
+            SHARED_BUCKETS.remove(reference.key, reference);
+        }
+    }
+
+    @SdkTestInternalApi
+    static int size() {
+        removeDiscardedBuckets();
+        return SHARED_BUCKETS.size();
+    }
+
+    @SdkTestInternalApi
+    static void clear() {
+        SHARED_BUCKETS.clear();
+    }
+
+    private static final class BucketReference extends WeakReference<RateLimitingTokenBucket> {
+        private final Pair<String, String> key;
+
+        private BucketReference(Pair<String, String> key, RateLimitingTokenBucket bucket) {
+            super(bucket, DISCARDED_BUCKETS);
+            this.key = key;
+        }
+    }
+}
@@ -0,0 +1,90 @@
+/*
+ * Copyright Amazon.com, Inc. or its affiliates. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License").
+ * You may not use this file except in compliance with the License.
+ * A copy of the License is located at
+ *
+ *  http://aws.amazon.com/apache2.0
+ *
+ * or in the "license" file accompanying this file. This file is distributed
+ * on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either
+ * express or implied. See the License for the specific language governing
+ * permissions and limitations under the License.
+ */
+
+
+package software.amazon.awssdk.core.internal.retry;
+
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.AtomicBoolean;
+import software.amazon.awssdk.annotations.SdkInternalApi;
+import software.amazon.awssdk.annotations.SdkTestInternalApi;
+import software.amazon.awssdk.annotations.ThreadSafe;
+import software.amazon.awssdk.core.retry.RetryPolicy;
+import software.amazon.awssdk.http.SdkHttpRequest;
+import software.amazon.awssdk.utils.Validate;
+
+/**
+ * Counts the retries that one client has in flight to each endpoint, so that they can be limited to
+ * {@link RetryPolicy#maxConcurrentRetriesPerEndpoint()}. Endpoints are keyed by the scheme, host and port of the request.
+ *
+ * <p>One coordinator is created by the client builder for each client. An endpoint is only tracked while the client has
+ * retries in flight to it, so the number of tracked endpoints is bounded by the number of retries in flight, even for clients
+ * that send requests to an unbounded number of hosts (e.g. S3 virtual-hosted-style bucket endpoints).
+ */
+@SdkInternalApi
+@ThreadSafe
+public final class RetryCoordinator {
+    private final ConcurrentMap<String, Integer> concurrentRetries = new ConcurrentHashMap<>();
+
+    private RetryCoordinator() {
+    }
+
+    public static RetryCoordinator create() {
+        return new RetryCoordinator();
+    }
+
+    /**
+     * Reserve one of the retries to the endpoint of the given request. Returns false, without reserving a retry, if
+     * {@code maxConcurrentRetries} retries are already in flight to the endpoint. Every successful call must be paired with a
+     * call to {@link #releaseRetry(SdkHttpRequest)}.
+     */
+    public boolean tryAcquireRetry(SdkHttpRequest request, int maxConcurrentRetries) {
+        Validate.isNotNegative(maxConcurrentRetries, "maxConcurrentRetries");
+        AtomicBoolean acquired = new AtomicBoolean(false);
+        concurrentRetries.compute(endpointKey(request), (endpoint, current) -> {
+            int retries = current == null ? 0 : current;
+            if (retries >= maxConcurrentRetries) {
+                return current;
+            }
+            acquired.set(true);
+            return retries + 1;
+        });
+        return acquired.get();
+    }
+
+    /**
+     * Release a retry reserved through {@link #tryAcquireRetry(SdkHttpRequest, int)}, once the retry attempt has completed.
+     */
+    public void releaseRetry(SdkHttpRequest request) {
+        concurrentRetries.computeIfPresent(endpointKey(request), (endpoint, current) -> current <= 1 ? null : current - 1);
+    }
+
+    /**
+     * The number of retries currently in flight to the endpoint of the given request.
+     */
+    public int concurrentRetries(SdkHttpRequest request) {
+        return concurrentRetries.getOrDefault(endpointKey(request), 0);
+    }
+
+    @SdkTestInternalApi
+    int trackedEndpoints() {
+        return concurrentRetries.size();
+    }
+
+    private static String endpointKey(SdkHttpRequest request) {
+        return request.protocol() + "://" + request.host() + ":" + request.port();
+    }
+}
@@ -0,0 +1,64 @@
+/*
+ * Copyright Amazon.com, Inc. or its affiliates. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License").
+ * You may not use this file except in compliance with the License.
+ * A copy of the License is located at
+ *
+ *  http://aws.amazon.com/apache2.0
+ *
+ * or in the "license" file accompanying this file. This file is distributed
+ * on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either
+ * express or implied. See the License for the specific language governing
+ * permissions and limitations under the License.
+ */
+
+package software.amazon.awssdk.core.internal.util;
+
+import software.amazon.awssdk.annotations.NotThreadSafe;
+import software.amazon.awssdk.annotations.SdkInternalApi;
+import software.amazon.awssdk.core.metrics.CoreMetric;
+import software.amazon.awssdk.core.util.ByteBufferPool;
+import software.amazon.awssdk.core.util.ByteBufferPool.PooledBuffer;
+import software.amazon.awssdk.metrics.MetricCollector;
+
+/**
+ * Counts the buffers that a subscriber to response content acquires from a {@link ByteBufferPool}, so that they can be
+ * reported as {@link CoreMetric#BYTE_BUFFER_POOL_HITS} and {@link CoreMetric#BYTE_BUFFER_POOL_MISSES} once the content has been
+ * consumed. Reactive streams signals are serial, so the counts are not synchronized.
+ */
+@SdkInternalApi
+@NotThreadSafe
+public final class ByteBufferPoolMetrics {
+    private final ByteBufferPool pool;
+    private int hits;
+    private int misses;
+
+    public ByteBufferPoolMetrics(ByteBufferPool pool) {
+        this.pool = pool;
+    }
+
+    /**
+     * Acquire a buffer from the pool and count whether it was reused.
+     */
+    public PooledBuffer acquire(int minimumCapacity) {
+        PooledBuffer buffer = pool.acquire(minimumCapacity);
+        if (buffer.isReused()) {
+            hits++;
+        } else {
+            misses++;
+        }
+        return buffer;
+    }
+
+    /**
+     * Report the counts to the provided collector, if any buffer was acquired.
+     */
+    public void report(MetricCollector metricCollector) {
+        if (metricCollector == null || hits + misses == 0) {
+            return;
+        }
+        metricCollector.reportMetric(CoreMetric.BYTE_BUFFER_POOL_HITS, hits);
+        metricCollector.reportMetric(CoreMetric.BYTE_BUFFER_POOL_MISSES, misses);
+    }
+}
@@ -0,0 +1,310 @@
+/*
+ * Copyright Amazon.com, Inc. or its affiliates. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License").
+ * You may not use this file except in compliance with the License.
+ * A copy of the License is located at
+ *
+ *  http://aws.amazon.com/apache2.0
+ *
+ * or in the "license" file accompanying this file. This file is distributed
+ * on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either
+ * express or implied. See the License for the specific language governing
+ * permissions and limitations under the License.
+ */
+
+
+package software.amazon.awssdk.core.internal.waiters;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Queue;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.Future;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.BiFunction;
+import java.util.function.Function;
+import software.amazon.awssdk.annotations.SdkInternalApi;
+import software.amazon.awssdk.annotations.ThreadSafe;
+import software.amazon.awssdk.core.SdkRequest;
+import software.amazon.awssdk.core.exception.SdkClientException;
+import software.amazon.awssdk.core.waiters.WaiterAcceptor;
+import software.amazon.awssdk.core.waiters.WaiterResponse;
+import software.amazon.awssdk.core.waiters.WaiterState;
+import software.amazon.awssdk.utils.CompletableFutureUtils;
+import software.amazon.awssdk.utils.Either;
+
+/**
+ * Executes the waits of a {@link DefaultBatchingAsyncWaiter}.
+ *
+ * <p>Waits that are ready to be polled are queued, and a single flush task scheduled {@code batchWindow} after the first of
+ * them drains the queue, groups the waits by their request without its batch member and sends one polling request per group
+ * of at most {@code maxBatchSize} resources. Each wait then matches its own (filtered) response against its acceptors and,
+ * if it needs to be retried, is queued again after its jittered backoff delay.
+ *
+ * <p>A wait whose future is cancelled, or otherwise completed by its caller, is dropped: its scheduled retry or individual
+ * poll is cancelled, and it is left out of the next flush. A combined request that is already in flight is not cancelled,
+ * because it also serves the other waits of its batch, but its response is ignored for the dropped wait.
+ *
+ * <p>When a combined request fails, each of its waits is polled with its own request. A wait that fails that way too (e.g. one
+ * whose resource doesn't exist yet) is polled on its own from then on, until its own request succeeds, so that it doesn't make
+ * the combined requests of every later attempt fail as well.
+ *
+ * @param <RequestT> the type of the polling request
+ * @param <ResponseT> the type of the response
+ */
+@SdkInternalApi
+@ThreadSafe
+public final class BatchingAsyncWaiterExecutor<RequestT, ResponseT> {
+    /**
+     * The maximum fraction of its backoff delay by which the delay before the next attempt of a wait is shortened.
+     */
+    private static final double MAX_DELAY_JITTER = 0.1;
+
+    private final ScheduledExecutorService executorService;
+    private final Function<RequestT, CompletableFuture<ResponseT>> pollingFunction;
+    private final Function<RequestT, List<String>> batchMemberGetter;
+    private final BiFunction<RequestT, List<String>, RequestT> batchMemberSetter;
+    private final BiFunction<RequestT, ResponseT, ResponseT> responseFilter;
+    private final int maxBatchSize;
+    private final long batchWindowMillis;
+
+    private final Queue<PendingWait<RequestT, ResponseT>> readyWaits = new ConcurrentLinkedQueue<>();
+    private final AtomicBoolean flushScheduled = new AtomicBoolean();
+
+    BatchingAsyncWaiterExecutor(DefaultBatchingAsyncWaiter.DefaultBuilder<RequestT, ResponseT> builder) {
+        this.executorService = builder.scheduledExecutorService();
+        this.pollingFunction = builder.pollingFunction();
+        this.batchMemberGetter = builder.batchMemberGetter();
+        this.batchMemberSetter = builder.batchMemberSetter();
+        this.responseFilter = builder.responseFilter();
+        this.maxBatchSize = builder.maxBatchSize();
+        this.batchWindowMillis = builder.batchWindow().toMillis();
+    }
+
+    /**
+     * Start waiting for the resources identified by the provided request.
+     */
+    CompletableFuture<WaiterResponse<ResponseT>> execute(RequestT request, WaiterExecutorHelper<ResponseT> executorHelper) {
+        PendingWait<RequestT, ResponseT> wait = new PendingWait<>(request, batchMember(request), executorHelper);
+        enqueue(wait);
+        return wait.future;
+    }
+
+    private void enqueue(PendingWait<RequestT, ResponseT> wait) {
+        readyWaits.add(wait);
+        if (flushScheduled.compareAndSet(false, true)) {
+            executorService.schedule(this::flush, batchWindowMillis, TimeUnit.MILLISECONDS);
+        }
+    }
+
+    private void flush() {
+        // Allow the waits that become ready from now on to schedule the next flush.
+        flushScheduled.set(false);
+
+        Map<Object, List<PendingWait<RequestT, ResponseT>>> waitsByBatchKey = new LinkedHashMap<>();
+        PendingWait<RequestT, ResponseT> wait;
+        while ((wait = readyWaits.poll()) != null) {
+            if (wait.future.isDone()) {
+                continue;
+            }
+            if (wait.batchMember.isEmpty() || wait.isolated) {
+                pollIndividually(wait);
+            } else {
+                waitsByBatchKey.computeIfAbsent(batchKey(wait.request), k -> new ArrayList<>()).add(wait);
+            }
+        }
+
+        waitsByBatchKey.values().forEach(this::pollInBatches);
+    }
+
+    private void pollInBatches(List<PendingWait<RequestT, ResponseT>> waits) {
+        List<PendingWait<RequestT, ResponseT>> batch = new ArrayList<>();
+        Set<String> batchMember = new LinkedHashSet<>();
+        for (PendingWait<RequestT, ResponseT> wait : waits) {
+            if (!batch.isEmpty() && batchMember.size() + wait.batchMember.size() > maxBatchSize) {
+                pollBatch(batch, batchMember);
+                batch = new ArrayList<>();
+                batchMember = new LinkedHashSet<>();
+            }
+            batch.add(wait);
+            batchMember.addAll(wait.batchMember);
+        }
+        pollBatch(batch, batchMember);
+    }
+
+    private void pollBatch(List<PendingWait<RequestT, ResponseT>> batch, Set<String> batchMember) {
+        if (batch.size() == 1) {
+            pollIndividually(batch.get(0));
+            return;
+        }
+
+        RequestT combinedRequest = batchMemberSetter.apply(batch.get(0).request, new ArrayList<>(batchMember));
+        poll(combinedRequest).whenComplete((response, exception) -> {
+            if (exception != null) {
+                // The error may have been caused by a single resource (e.g. one that doesn't exist yet), so it is only
+                // trusted for the waits that see it with their own request, which are then kept out of combined requests.
+                batch.forEach(this::pollIndividually);
+                return;
+            }
+            batch.forEach(wait -> onResponse(wait, Either.left(filterResponse(wait, response))));
+        });
+    }
+
+    private void pollIndividually(PendingWait<RequestT, ResponseT> wait) {
+        CompletableFuture<ResponseT> poll = poll(wait.request);
+        wait.attempt(poll);
+        poll.whenComplete((response, exception) -> {
+            wait.isolated = exception != null;
+            if (exception == null) {
+                onResponse(wait, Either.left(filterResponse(wait, response)));
+            } else {
+                onResponse(wait, Either.right(exception instanceof CompletionException ? exception.getCause() : exception));
+            }
+        });
+    }
+
+    private CompletableFuture<ResponseT> poll(RequestT request) {
+        try {
+            return pollingFunction.apply(request);
+        } catch (Throwable t) {
+            return CompletableFutureUtils.failedFuture(t);
+        }
+    }
+
+    private void onResponse(PendingWait<RequestT, ResponseT> wait, Either<ResponseT, Throwable> responseOrException) {
+        if (wait.future.isDone()) {
+            return;
+        }
+
+        WaiterExecutorHelper<ResponseT> executorHelper = wait.executorHelper;
+        int attemptNumber = ++wait.attemptNumber;
+        try {
+            Optional<WaiterAcceptor<? super ResponseT>> optionalWaiterAcceptor =
+                executorHelper.firstWaiterAcceptorIfMatched(responseOrException);
+
+            if (optionalWaiterAcceptor.isPresent()) {
+                WaiterAcceptor<? super ResponseT> acceptor = optionalWaiterAcceptor.get();
+                WaiterState state = acceptor.waiterState();
+                switch (state) {
+                    case SUCCESS:
+                        wait.future.complete(executorHelper.createWaiterResponse(responseOrException, attemptNumber));
+                        break;
+                    case RETRY:
+                        maybeRetry(wait, attemptNumber);
+                        break;
+                    case FAILURE:
+                        wait.future.completeExceptionally(executorHelper.waiterFailureException(acceptor));
+                        break;
+                    default:
+                        wait.future.completeExceptionally(new UnsupportedOperationException());
+                }
+            } else {
+                wait.future.completeExceptionally(executorHelper.noneMatchException(responseOrException));
+            }
+        } catch (Throwable t) {
+            wait.future.completeExceptionally(SdkClientException.create("Encountered unexpected exception.", t));
+        }
+    }
+
+    private void maybeRetry(PendingWait<RequestT, ResponseT> wait, int attemptNumber) {
+        Either<Long, SdkClientException> nextDelayOrUnretryableException =
+            wait.executorHelper.nextDelayOrUnretryableException(attemptNumber, wait.startTime);
+
+        nextDelayOrUnretryableException.apply(
+            nextDelay -> wait.attempt(executorService.schedule(() -> enqueue(wait), jitter(nextDelay), TimeUnit.MILLISECONDS)),
+            wait.future::completeExceptionally);
+    }
+
+    /**
+     * Shorten the delay by a random fraction of at most {@link #MAX_DELAY_JITTER}, so that waits started at the same time
+     * spread out over the batch windows instead of all becoming ready in the same one, without exceeding the wait timeout.
+     */
+    private static long jitter(long delayMillis) {
+        return delayMillis - (long) (ThreadLocalRandom.current().nextDouble(MAX_DELAY_JITTER) * delayMillis);
+    }
+
+    private ResponseT filterResponse(PendingWait<RequestT, ResponseT> wait, ResponseT response) {
+        if (responseFilter == null || wait.batchMember.isEmpty()) {
+            return response;
+        }
+        return responseFilter.apply(wait.request, response);
+    }
+
+    private List<String> batchMember(RequestT request) {
+        if (batchMemberGetter == null) {
+            return Collections.emptyList();
+        }
+        List<String> batchMember = batchMemberGetter.apply(request);
+        return batchMember == null ? Collections.emptyList() : batchMember;
+    }
+
+    /**
+     * The requests that can be combined with the provided request have the same batch key: the request without its batch
+     * member, and the request override configuration that generated requests don't take into account in their equality.
+     */
+    private Object batchKey(RequestT request) {
+        RequestT requestWithoutBatchMember = batchMemberSetter.apply(request, Collections.emptyList());
+        if (request instanceof SdkRequest) {
+            return Arrays.asList(requestWithoutBatchMember, ((SdkRequest) request).overrideConfiguration().orElse(null));
+        }
+        return requestWithoutBatchMember;
+    }
+
+    private static final class PendingWait<RequestT, ResponseT> {
+        private final RequestT request;
+        private final List<String> batchMember;
+        private final WaiterExecutorHelper<ResponseT> executorHelper;
+        private final CompletableFuture<WaiterResponse<ResponseT>> future = new CompletableFuture<>();
+        private final long startTime = System.currentTimeMillis();
+
+        /**
+         * Only accessed by the thread that handles the response of the current attempt, which happens-after the previous one.
+         */
+        private int attemptNumber;
+
+        /**
+         * Whether the last individual poll of this wait failed, in which case it isn't combined with other waits. Accessed
+         * like {@link #attemptNumber}, and read by the flush that follows the handling of the response.
+         */
+        private boolean isolated;
+
+        /**
+         * The scheduled retry or the individual poll of this wait, which is cancelled when the wait is completed by its caller.
+         */
+        private volatile Future<?> attempt;
+
+        private PendingWait(RequestT request, List<String> batchMember, WaiterExecutorHelper<ResponseT> executorHelper) {
+            this.request = request;
+            this.batchMember = batchMember;
+            this.executorHelper = executorHelper;
+            future.whenComplete((r, t) -> cancelAttempt());
+        }
+
+        private void attempt(Future<?> newAttempt) {
+            this.attempt = newAttempt;
+            if (future.isDone()) {
+                cancelAttempt();
+            }
+        }
+
+        private void cancelAttempt() {
+            Future<?> currentAttempt = attempt;
+            if (currentAttempt != null) {
+                currentAttempt.cancel(false);
+            }
+        }
+    }
+}
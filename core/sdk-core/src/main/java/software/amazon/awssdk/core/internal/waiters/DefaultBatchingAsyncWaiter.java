@@ -0,0 +1,174 @@
+/*
+ * Copyright Amazon.com, Inc. or its affiliates. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License").
+ * You may not use this file except in compliance with the License.
+ * A copy of the License is located at
+ *
+ *  http://aws.amazon.com/apache2.0
+ *
+ * or in the "license" file accompanying this file. This file is distributed
+ * on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either
+ * express or implied. See the License for the specific language governing
+ * permissions and limitations under the License.
+ */
+
+
+package software.amazon.awssdk.core.internal.waiters;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.function.BiFunction;
+import java.util.function.Function;
+import software.amazon.awssdk.annotations.SdkInternalApi;
+import software.amazon.awssdk.annotations.ThreadSafe;
+import software.amazon.awssdk.core.waiters.BatchingAsyncWaiter;
+import software.amazon.awssdk.core.waiters.WaiterAcceptor;
+import software.amazon.awssdk.core.waiters.WaiterOverrideConfiguration;
+import software.amazon.awssdk.core.waiters.WaiterResponse;
+import software.amazon.awssdk.utils.Validate;
+
+/**
+ * Default implementation of the generic {@link BatchingAsyncWaiter}.
+ * @param <RequestT> The type of the polling request
+ * @param <ResponseT> The type of the response
+ */
+@SdkInternalApi
+@ThreadSafe
+public final class DefaultBatchingAsyncWaiter<RequestT, ResponseT> implements BatchingAsyncWaiter<RequestT, ResponseT> {
+    private static final int DEFAULT_MAX_BATCH_SIZE = 100;
+    private static final Duration DEFAULT_BATCH_WINDOW = Duration.ofMillis(100);
+
+    private final List<WaiterAcceptor<? super ResponseT>> waiterAcceptors;
+    private final WaiterExecutorHelper<ResponseT> executorHelper;
+    private final BatchingAsyncWaiterExecutor<RequestT, ResponseT> handler;
+
+    private DefaultBatchingAsyncWaiter(DefaultBuilder<RequestT, ResponseT> builder) {
+        this.waiterAcceptors = Collections.unmodifiableList(builder.waiterAcceptors);
+        this.executorHelper = new WaiterExecutorHelper<>(waiterAcceptors,
+                                                         new WaiterConfiguration(builder.overrideConfiguration));
+        this.handler = new BatchingAsyncWaiterExecutor<>(builder);
+    }
+
+    @Override
+    public CompletableFuture<WaiterResponse<ResponseT>> runAsync(RequestT request) {
+        return handler.execute(request, executorHelper);
+    }
+
+    @Override
+    public CompletableFuture<WaiterResponse<ResponseT>> runAsync(RequestT request, WaiterOverrideConfiguration overrideConfig) {
+        return handler.execute(request, new WaiterExecutorHelper<>(waiterAcceptors, new WaiterConfiguration(overrideConfig)));
+    }
+
+    public static <RequestT, ResponseT> Builder<RequestT, ResponseT> builder() {
+        return new DefaultBuilder<>();
+    }
+
+    public static final class DefaultBuilder<RequestT, ResponseT> implements Builder<RequestT, ResponseT> {
+        private List<WaiterAcceptor<? super ResponseT>> waiterAcceptors = new ArrayList<>();
+        private ScheduledExecutorService scheduledExecutorService;
+        private WaiterOverrideConfiguration overrideConfiguration;
+        private Function<RequestT, CompletableFuture<ResponseT>> pollingFunction;
+        private Function<RequestT, List<String>> batchMemberGetter;
+        private BiFunction<RequestT, List<String>, RequestT> batchMemberSetter;
+        private BiFunction<RequestT, ResponseT, ResponseT> responseFilter;
+        private Integer maxBatchSize = DEFAULT_MAX_BATCH_SIZE;
+        private Duration batchWindow = DEFAULT_BATCH_WINDOW;
+
+        private DefaultBuilder() {
+        }
+
+        @Override
+        public Builder<RequestT, ResponseT> scheduledExecutorService(ScheduledExecutorService scheduledExecutorService) {
+            this.scheduledExecutorService = scheduledExecutorService;
+            return this;
+        }
+
+        @Override
+        public Builder<RequestT, ResponseT> pollingFunction(Function<RequestT, CompletableFuture<ResponseT>> pollingFunction) {
+            this.pollingFunction = pollingFunction;
+            return this;
+        }
+
+        @Override
+        public Builder<RequestT, ResponseT> batchMember(Function<RequestT, List<String>> getter,
+                                                        BiFunction<RequestT, List<String>, RequestT> setter) {
+            this.batchMemberGetter = getter;
+            this.batchMemberSetter = setter;
+            return this;
+        }
+
+        @Override
+        public Builder<RequestT, ResponseT> responseFilter(BiFunction<RequestT, ResponseT, ResponseT> responseFilter) {
+            this.responseFilter = responseFilter;
+            return this;
+        }
+
+        @Override
+        public Builder<RequestT, ResponseT> maxBatchSize(Integer maxBatchSize) {
+            this.maxBatchSize = maxBatchSize;
+            return this;
+        }
+
+        @Override
+        public Builder<RequestT, ResponseT> batchWindow(Duration batchWindow) {
+            this.batchWindow = batchWindow;
+            return this;
+        }
+
+        @Override
+        public Builder<RequestT, ResponseT> acceptors(List<WaiterAcceptor<? super ResponseT>> waiterAcceptors) {
+            this.waiterAcceptors = new ArrayList<>(waiterAcceptors);
+            return this;
+        }
+
+        @Override
+        public Builder<RequestT, ResponseT> overrideConfiguration(WaiterOverrideConfiguration overrideConfiguration) {
+            this.overrideConfiguration = overrideConfiguration;
+            return this;
+        }
+
+        @Override
+        public Builder<RequestT, ResponseT> addAcceptor(WaiterAcceptor<? super ResponseT> waiterAcceptor) {
+            waiterAcceptors.add(waiterAcceptor);
+            return this;
+        }
+
+        ScheduledExecutorService scheduledExecutorService() {
+            return Validate.paramNotNull(scheduledExecutorService, "executorService");
+        }
+
+        Function<RequestT, CompletableFuture<ResponseT>> pollingFunction() {
+            return Validate.paramNotNull(pollingFunction, "pollingFunction");
+        }
+
+        Function<RequestT, List<String>> batchMemberGetter() {
+            return batchMemberGetter;
+        }
+
+        BiFunction<RequestT, List<String>, RequestT> batchMemberSetter() {
+            return batchMemberSetter;
+        }
+
+        BiFunction<RequestT, ResponseT, ResponseT> responseFilter() {
+            return responseFilter;
+        }
+
+        int maxBatchSize() {
+            return Validate.isPositive(Validate.paramNotNull(maxBatchSize, "maxBatchSize"), "maxBatchSize");
+        }
+
+        Duration batchWindow() {
+            return Validate.isNotNegative(batchWindow, "batchWindow");
+        }
+
+        @Override
+        public DefaultBatchingAsyncWaiter<RequestT, ResponseT> build() {
+            return new DefaultBatchingAsyncWaiter<>(this);
+        }
+    }
+}
@@ -17,7 +17,12 @@ package software.amazon.awssdk.core.metrics;
 
 import java.time.Duration;
 import software.amazon.awssdk.annotations.SdkPublicApi;
+import software.amazon.awssdk.core.async.AsyncResponseTransformer;
+import software.amazon.awssdk.core.retry.CircuitBreakerPolicy;
+import software.amazon.awssdk.core.retry.HedgingPolicy;
+import software.amazon.awssdk.core.retry.RetryMode;
 import software.amazon.awssdk.core.retry.RetryPolicy;
+import software.amazon.awssdk.core.util.ByteBufferPool;
 import software.amazon.awssdk.metrics.MetricCategory;
 import software.amazon.awssdk.metrics.MetricLevel;
 import software.amazon.awssdk.metrics.SdkMetric;
@@ -73,6 +78,88 @@ public final class CoreMetric {
     public static final SdkMetric<Duration> BACKOFF_DELAY_DURATION =
         metric("BackoffDelayDuration", Duration.class, MetricLevel.INFO);
 
+    /**
+     * The duration of time that the SDK waited for a response to the initial HTTP request of this API call attempt before
+     * sending a hedged request, based on the {@link HedgingPolicy}. This is only reported when a hedged request was sent.
+     */
+    public static final SdkMetric<Duration> HEDGE_DELAY_DURATION =
+        metric("HedgeDelayDuration", Duration.class, MetricLevel.INFO);
+
+    /**
+     * The number of hedged HTTP requests the SDK sent during this API call attempt. This is only reported for API call attempts
+     * that are eligible for hedging based on the {@link HedgingPolicy}.
+     */
+    public static final SdkMetric<Integer> HEDGE_COUNT =
+        metric("HedgeCount", Integer.class, MetricLevel.INFO);
+
+    /**
+     * True if the response for this API call attempt was received from a hedged HTTP request, false otherwise. This is only
+     * reported for API call attempts that are eligible for hedging based on the {@link HedgingPolicy}.
+     */
+    public static final SdkMetric<Boolean> HEDGE_WON =
+        metric("HedgeWon", Boolean.class, MetricLevel.INFO);
+
+    /**
+     * The state of the circuit breaker for the endpoint host of this API call attempt when the attempt completed, based on the
+     * {@link CircuitBreakerPolicy}: {@code CLOSED}, {@code OPEN} or {@code HALF_OPEN}. This is only reported for clients with a
+     * circuit breaker policy.
+     */
+    public static final SdkMetric<String> CIRCUIT_BREAKER_STATE =
+        metric("CircuitBreakerState", String.class, MetricLevel.INFO);
+
+    /**
+     * The state that the circuit breaker for the endpoint host of this API call attempt changed to while the attempt was made,
+     * based on the {@link CircuitBreakerPolicy}. This is only reported when the state of the circuit breaker changed.
+     */
+    public static final SdkMetric<String> CIRCUIT_BREAKER_STATE_TRANSITION =
+        metric("CircuitBreakerStateTransition", String.class, MetricLevel.INFO);
+
+    /**
+     * The rate, in requests per second, at which the client-side rate limiter of {@link RetryMode#ADAPTIVE} lets the client
+     * send requests when this API call completed. This is only reported for clients using the {@code ADAPTIVE} retry mode, once
+     * their rate limiter has been engaged by a throttling error.
+     */
+    public static final SdkMetric<Double> RATE_LIMITER_FILL_RATE =
+        metric("RateLimiterFillRate", Double.class, MetricLevel.INFO);
+
+    /**
+     * The rate, in requests per second, at which the client-side rate limiter of {@link RetryMode#ADAPTIVE} measured responses
+     * being received when this API call completed. This is only reported for clients using the {@code ADAPTIVE} retry mode.
+     */
+    public static final SdkMetric<Double> RATE_LIMITER_MEASURED_TX_RATE =
+        metric("RateLimiterMeasuredTxRate", Double.class, MetricLevel.INFO);
+
+    /**
+     * The number of retries that the client which made the API call had in flight to its endpoint when the call completed.
+     * Retries made by other clients are not counted. This is only reported for clients whose retry policy sets
+     * {@link RetryPolicy.Builder#maxConcurrentRetriesPerEndpoint(Integer)}.
+     */
+    public static final SdkMetric<Integer> CONCURRENT_RETRIES =
+        metric("ConcurrentRetries", Integer.class, MetricLevel.INFO);
+
+    /**
+     * Whether the API call failed without being retried because the number of retries in flight to its endpoint reached
+     * {@link RetryPolicy.Builder#maxConcurrentRetriesPerEndpoint(Integer)}. This is only reported for clients that limit
+     * concurrent retries.
+     */
+    public static final SdkMetric<Boolean> RETRY_REJECTED =
+        metric("RetryRejected", Boolean.class, MetricLevel.INFO);
+
+    /**
+     * The number of temporary buffers used to process the response content of the API call attempt that were reused from the
+     * client's {@link ByteBufferPool}. This is only reported for attempts whose response content was copied through pooled
+     * buffers, such as direct buffers received by {@link AsyncResponseTransformer#toBytes()}.
+     */
+    public static final SdkMetric<Integer> BYTE_BUFFER_POOL_HITS =
+        metric("ByteBufferPoolHits", Integer.class, MetricLevel.TRACE);
+
+    /**
+     * The number of temporary buffers used to process the response content of the API call attempt that the client's
+     * {@link ByteBufferPool} had to newly allocate. This is reported whenever {@link #BYTE_BUFFER_POOL_HITS} is.
+     */
+    public static final SdkMetric<Integer> BYTE_BUFFER_POOL_MISSES =
+        metric("ByteBufferPoolMisses", Integer.class, MetricLevel.TRACE);
+
     /**
      * The duration of time taken to marshall the SDK request to an HTTP request.
      */
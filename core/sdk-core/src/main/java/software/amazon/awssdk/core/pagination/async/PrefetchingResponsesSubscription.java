@@ -0,0 +1,211 @@
+/*
+ * Copyright Amazon.com, Inc. or its affiliates. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License").
+ * You may not use this file except in compliance with the License.
+ * A copy of the License is located at
+ *
+ *  http://aws.amazon.com/apache2.0
+ *
+ * or in the "license" file accompanying this file. This file is distributed
+ * on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either
+ * express or implied. See the License for the specific language governing
+ * permissions and limitations under the License.
+ */
+
+
+package software.amazon.awssdk.core.pagination.async;
+
+import java.util.ArrayDeque;
+import java.util.Queue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.reactivestreams.Subscription;
+import software.amazon.awssdk.annotations.SdkProtectedApi;
+import software.amazon.awssdk.utils.CompletableFutureUtils;
+import software.amazon.awssdk.utils.Validate;
+
+/**
+ * An implementation of the {@link Subscription} interface that can be used to signal and cancel demand for
+ * paginated response pages, and that fetches the pages following the last delivered page while the subscriber is processing
+ * it.
+ *
+ * <p>Because the request for a page depends on the token returned with the previous page, pages are still fetched one at a
+ * time, but each page is requested as soon as the previous one is received instead of when the subscriber signals demand for
+ * it. At most {@code maxPrefetchedPages} pages that have not been delivered to the subscriber yet are held in memory; fetching
+ * is suspended until the subscriber requests more pages. No service call is made until the first request.
+ *
+ * @param <ResponseT> The type of a single response page
+ */
+@SdkProtectedApi
+public final class PrefetchingResponsesSubscription<ResponseT> extends PaginationSubscription<ResponseT> {
+
+    private final int maxPrefetchedPages;
+
+    // Ensures that only one thread at a time delivers pages to the subscriber or starts fetching a page.
+    private final AtomicInteger drainRequests = new AtomicInteger(0);
+
+    // All of the fields below are guarded by "this".
+    private final Queue<ResponseT> prefetchedPages = new ArrayDeque<>();
+    private ResponseT lastFetchedPage;
+    private boolean fetching;
+    private boolean lastPageFetched;
+    private Throwable failure;
+
+    private PrefetchingResponsesSubscription(BuilderImpl builder) {
+        super(builder);
+        this.maxPrefetchedPages = Validate.isPositive(builder.maxPrefetchedPages, "maxPrefetchedPages");
+    }
+
+    /**
+     * Create a builder for creating a {@link PrefetchingResponsesSubscription}.
+     */
+    public static Builder builder() {
+        return new BuilderImpl();
+    }
+
+    @Override
+    public void request(long n) {
+        if (isTerminated()) {
+            return;
+        }
+
+        if (n <= 0) {
+            subscriber.onError(new IllegalArgumentException("Non-positive request signals are illegal"));
+            cleanup();
+            return;
+        }
+
+        outstandingRequests.accumulateAndGet(n, (current, added) -> current + added < 0 ? Long.MAX_VALUE : current + added);
+        handleRequests();
+    }
+
+    @Override
+    protected void handleRequests() {
+        if (drainRequests.getAndIncrement() != 0) {
+            return;
+        }
+
+        int missed = 1;
+        do {
+            deliverPrefetchedPages();
+            fetchNextPageIfNeeded();
+            missed = drainRequests.addAndGet(-missed);
+        } while (missed != 0);
+    }
+
+    /**
+     * Deliver as many prefetched pages as the subscriber requested, and terminate the subscription once all pages have been
+     * delivered or a page could not be fetched.
+     */
+    private void deliverPrefetchedPages() {
+        while (!isTerminated()) {
+            ResponseT page = null;
+            boolean allPrefetchedPagesDelivered;
+            synchronized (this) {
+                allPrefetchedPagesDelivered = prefetchedPages.isEmpty();
+                if (!allPrefetchedPagesDelivered && outstandingRequests.get() > 0) {
+                    page = prefetchedPages.poll();
+                }
+            }
+
+            if (page != null) {
+                outstandingRequests.getAndDecrement();
+                currentPage = page;
+                // Start fetching the page that takes this one's place before the subscriber starts processing it.
+                fetchNextPageIfNeeded();
+                subscriber.onNext(page);
+                continue;
+            }
+
+            if (allPrefetchedPagesDelivered) {
+                terminateIfDone();
+            }
+            return;
+        }
+
+        synchronized (this) {
+            prefetchedPages.clear();
+        }
+    }
+
+    private void terminateIfDone() {
+        Throwable error;
+        boolean complete;
+        synchronized (this) {
+            error = failure;
+            complete = lastPageFetched;
+        }
+
+        if (error != null) {
+            subscriber.onError(error);
+            cleanup();
+        } else if (complete) {
+            completeSubscription();
+        }
+    }
+
+    /**
+     * Start fetching the next page, unless a page is already being fetched, all pages have been fetched or enough pages are
+     * already waiting to be delivered.
+     */
+    private void fetchNextPageIfNeeded() {
+        ResponseT previousPage;
+        synchronized (this) {
+            if (isTerminated() || fetching || lastPageFetched || failure != null
+                || prefetchedPages.size() >= maxPrefetchedPages) {
+                return;
+            }
+            fetching = true;
+            previousPage = lastFetchedPage;
+        }
+
+        CompletableFuture<ResponseT> nextPage;
+        try {
+            nextPage = nextPageFetcher.nextPage(previousPage);
+        } catch (Throwable t) {
+            nextPage = CompletableFutureUtils.failedFuture(t);
+        }
+
+        nextPage.whenComplete((response, error) -> {
+            synchronized (this) {
+                fetching = false;
+                if (error != null) {
+                    failure = error;
+                } else {
+                    lastFetchedPage = response;
+                    prefetchedPages.add(response);
+                    lastPageFetched = !nextPageFetcher.hasNextPage(response);
+                }
+            }
+            handleRequests();
+        });
+    }
+
+    public interface Builder extends PaginationSubscription.Builder<PrefetchingResponsesSubscription, Builder> {
+        /**
+         * The maximum number of pages that are fetched ahead of the pages delivered to the subscriber.
+         */
+        Builder maxPrefetchedPages(Integer maxPrefetchedPages);
+
+        @Override
+        PrefetchingResponsesSubscription build();
+    }
+
+    private static final class BuilderImpl
+        extends PaginationSubscription.BuilderImpl<PrefetchingResponsesSubscription, Builder>
+        implements Builder {
+        private Integer maxPrefetchedPages;
+
+        @Override
+        public Builder maxPrefetchedPages(Integer maxPrefetchedPages) {
+            this.maxPrefetchedPages = maxPrefetchedPages;
+            return this;
+        }
+
+        @Override
+        public PrefetchingResponsesSubscription build() {
+            return new PrefetchingResponsesSubscription(this);
+        }
+    }
+}
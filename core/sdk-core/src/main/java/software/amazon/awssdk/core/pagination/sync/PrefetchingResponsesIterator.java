@@ -0,0 +1,205 @@
+/*
+ * Copyright Amazon.com, Inc. or its affiliates. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License").
+ * You may not use this file except in compliance with the License.
+ * A copy of the License is located at
+ *
+ *  http://aws.amazon.com/apache2.0
+ *
+ * or in the "license" file accompanying this file. This file is distributed
+ * on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either
+ * express or implied. See the License for the specific language governing
+ * permissions and limitations under the License.
+ */
+
+
+package software.amazon.awssdk.core.pagination.sync;
+
+import java.util.ArrayDeque;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+import java.util.Queue;
+import java.util.concurrent.Executor;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.Lock;
+import java.util.concurrent.locks.ReentrantLock;
+import software.amazon.awssdk.annotations.SdkProtectedApi;
+import software.amazon.awssdk.core.exception.AbortedException;
+import software.amazon.awssdk.core.exception.SdkClientException;
+import software.amazon.awssdk.utils.Validate;
+
+/**
+ * Iterator for all response pages in a paginated operation, that fetches the pages following the current page in the
+ * background while the current page is being processed.
+ *
+ * <p>Because the request for a page depends on the token returned with the previous page, pages are still fetched one at a
+ * time, but each page is requested as soon as the previous one is received instead of when the caller calls next(). At most
+ * {@code maxPrefetchedPages} pages that have not been returned by next() yet are held in memory; fetching is suspended until
+ * the caller consumes a page. No service call is made until hasNext() or next() is first called.
+ *
+ * <p>A failure to fetch a page is thrown by the next() call that would have returned the page.
+ *
+ * @param <ResponseT> The type of a single response page
+ */
+@SdkProtectedApi
+public final class PrefetchingResponsesIterator<ResponseT> implements Iterator<ResponseT> {
+
+    private final SyncPageFetcher<ResponseT> nextPageFetcher;
+    private final int maxPrefetchedPages;
+    private final Executor executor;
+
+    // A lock rather than a monitor, so that a virtual thread waiting for a page does not pin its carrier thread.
+    private final Lock lock = new ReentrantLock();
+    private final Condition pageFetched = lock.newCondition();
+
+    // All of the fields below are guarded by "lock".
+    private final Queue<ResponseT> prefetchedPages = new ArrayDeque<>();
+    private ResponseT lastFetchedPage;
+    private boolean fetching;
+    private boolean lastPageFetched;
+    private RuntimeException failure;
+
+    private PrefetchingResponsesIterator(BuilderImpl builder) {
+        this.nextPageFetcher = Validate.paramNotNull(builder.nextPageFetcher, "nextPageFetcher");
+        this.maxPrefetchedPages = Validate.isPositive(builder.maxPrefetchedPages, "maxPrefetchedPages");
+        this.executor = Validate.paramNotNull(builder.executor, "executor");
+    }
+
+    public static Builder builder() {
+        return new BuilderImpl();
+    }
+
+    @Override
+    public boolean hasNext() {
+        lock.lock();
+        try {
+            fetchIfNeeded();
+
+            while (prefetchedPages.isEmpty() && failure == null && !lastPageFetched) {
+                try {
+                    pageFetched.await();
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    throw AbortedException.create("Thread interrupted while waiting for the next page", e);
+                }
+            }
+
+            return !prefetchedPages.isEmpty() || failure != null;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    @Override
+    public ResponseT next() {
+        lock.lock();
+        try {
+            if (!hasNext()) {
+                throw new NoSuchElementException("No more pages left");
+            }
+
+            ResponseT page = prefetchedPages.poll();
+            if (page == null) {
+                throw failure;
+            }
+
+            fetchIfNeeded();
+            return page;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Start fetching the next page, unless a page is already being fetched, all pages have been fetched or enough pages are
+     * already waiting to be consumed.
+     */
+    private void fetchIfNeeded() {
+        if (fetching || lastPageFetched || failure != null || prefetchedPages.size() >= maxPrefetchedPages) {
+            return;
+        }
+
+        fetching = true;
+        ResponseT previousPage = lastFetchedPage;
+        try {
+            executor.execute(() -> fetch(previousPage));
+        } catch (RuntimeException e) {
+            fetching = false;
+            failure = e;
+        }
+    }
+
+    private void fetch(ResponseT previousPage) {
+        ResponseT page = null;
+        RuntimeException error = null;
+        try {
+            page = nextPageFetcher.nextPage(previousPage);
+        } catch (RuntimeException e) {
+            error = e;
+        } catch (Error e) {
+            error = SdkClientException.create("Unable to fetch the next page", e);
+        }
+
+        lock.lock();
+        try {
+            fetching = false;
+            if (error != null) {
+                failure = error;
+            } else {
+                lastFetchedPage = page;
+                prefetchedPages.add(page);
+                lastPageFetched = !nextPageFetcher.hasNextPage(page);
+                fetchIfNeeded();
+            }
+            pageFetched.signalAll();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    public interface Builder {
+        Builder nextPageFetcher(SyncPageFetcher nextPageFetcher);
+
+        /**
+         * The maximum number of pages that are fetched ahead of the page returned by next().
+         */
+        Builder maxPrefetchedPages(Integer maxPrefetchedPages);
+
+        /**
+         * The executor used to fetch pages in the background.
+         */
+        Builder executor(Executor executor);
+
+        PrefetchingResponsesIterator build();
+    }
+
+    private static final class BuilderImpl implements Builder {
+        private SyncPageFetcher nextPageFetcher;
+        private Integer maxPrefetchedPages;
+        private Executor executor;
+
+        @Override
+        public Builder nextPageFetcher(SyncPageFetcher nextPageFetcher) {
+            this.nextPageFetcher = nextPageFetcher;
+            return this;
+        }
+
+        @Override
+        public Builder maxPrefetchedPages(Integer maxPrefetchedPages) {
+            this.maxPrefetchedPages = maxPrefetchedPages;
+            return this;
+        }
+
+        @Override
+        public Builder executor(Executor executor) {
+            this.executor = executor;
+            return this;
+        }
+
+        @Override
+        public PrefetchingResponsesIterator build() {
+            return new PrefetchingResponsesIterator(this);
+        }
+    }
+}
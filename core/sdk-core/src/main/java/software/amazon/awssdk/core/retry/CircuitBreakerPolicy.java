@@ -0,0 +1,344 @@
+/*
+ * Copyright Amazon.com, Inc. or its affiliates. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License").
+ * You may not use this file except in compliance with the License.
+ * A copy of the License is located at
+ *
+ *  http://aws.amazon.com/apache2.0
+ *
+ * or in the "license" file accompanying this file. This file is distributed
+ * on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either
+ * express or implied. See the License for the specific language governing
+ * permissions and limitations under the License.
+ */
+
+
+package software.amazon.awssdk.core.retry;
+
+import java.time.Duration;
+import software.amazon.awssdk.annotations.Immutable;
+import software.amazon.awssdk.annotations.SdkPublicApi;
+import software.amazon.awssdk.core.exception.CircuitBreakerOpenException;
+import software.amazon.awssdk.utils.ToString;
+import software.amazon.awssdk.utils.Validate;
+import software.amazon.awssdk.utils.builder.CopyableBuilder;
+import software.amazon.awssdk.utils.builder.ToCopyableBuilder;
+
+/**
+ * Interface for specifying a circuit breaker policy, which stops a client from sending requests to an endpoint that is failing.
+ *
+ * <p>
+ * Each client configured with the policy keeps a circuit breaker for each endpoint host that it sends requests to. While a
+ * circuit breaker is closed, it records whether each of the last {@link #slidingWindowSize()} request attempts to its host
+ * failed. An attempt fails when the request could not be sent or received, when the service returns a 5xx status code, or
+ * when the request is throttled. When at least {@link #minimumNumberOfCalls()} attempts have been recorded and the percentage
+ * of failed attempts reaches {@link #failureRateThreshold()}, the circuit breaker opens.
+ *
+ * <p>
+ * While a circuit breaker is open, API calls to its host fail immediately with a {@link CircuitBreakerOpenException} instead
+ * of being sent, and are not retried. After {@link #openStateDuration()}, the circuit breaker becomes half-open and lets
+ * {@link #permittedCallsInHalfOpenState()} request attempts through. If one of them fails, the circuit breaker opens again.
+ * If all of them succeed, it closes.
+ *
+ * <p>
+ * In contrast to the {@link RetryPolicy}, which only stops retries when the service is unhealthy, an open circuit breaker also
+ * stops the first attempt of each API call. Circuit breakers are disabled by default. Clients that are configured with the same
+ * policy do not share circuit breakers. A client only keeps the circuit breakers of the 1024 hosts it most recently sent
+ * requests to; the circuit breaker of any other host starts closed when requests are sent to it again.
+ */
+@Immutable
+@SdkPublicApi
+public final class CircuitBreakerPolicy implements ToCopyableBuilder<CircuitBreakerPolicy.Builder, CircuitBreakerPolicy> {
+    private static final double DEFAULT_FAILURE_RATE_THRESHOLD = 50.0;
+    private static final int DEFAULT_SLIDING_WINDOW_SIZE = 100;
+    private static final int DEFAULT_MINIMUM_NUMBER_OF_CALLS = 20;
+    private static final Duration DEFAULT_OPEN_STATE_DURATION = Duration.ofSeconds(30);
+    private static final int DEFAULT_PERMITTED_CALLS_IN_HALF_OPEN_STATE = 5;
+
+    private final double failureRateThreshold;
+    private final int slidingWindowSize;
+    private final int minimumNumberOfCalls;
+    private final Duration openStateDuration;
+    private final int permittedCallsInHalfOpenState;
+
+    private CircuitBreakerPolicy(BuilderImpl builder) {
+        this.failureRateThreshold = Validate.paramNotNull(builder.failureRateThreshold, "failureRateThreshold");
+        Validate.isTrue(failureRateThreshold > 0 && failureRateThreshold <= 100,
+                        "failureRateThreshold must be in the range (0, 100], but was %s.", failureRateThreshold);
+        this.slidingWindowSize = Validate.isPositive(Validate.paramNotNull(builder.slidingWindowSize, "slidingWindowSize"),
+                                                     "slidingWindowSize");
+        this.minimumNumberOfCalls = Validate.isPositive(Validate.paramNotNull(builder.minimumNumberOfCalls,
+                                                                              "minimumNumberOfCalls"),
+                                                        "minimumNumberOfCalls");
+        Validate.isTrue(minimumNumberOfCalls <= slidingWindowSize,
+                        "minimumNumberOfCalls (%s) must not be greater than slidingWindowSize (%s).",
+                        minimumNumberOfCalls, slidingWindowSize);
+        this.openStateDuration = Validate.isPositive(Validate.paramNotNull(builder.openStateDuration, "openStateDuration"),
+                                                     "openStateDuration");
+        this.permittedCallsInHalfOpenState =
+            Validate.isPositive(Validate.paramNotNull(builder.permittedCallsInHalfOpenState, "permittedCallsInHalfOpenState"),
+                                "permittedCallsInHalfOpenState");
+    }
+
+    /**
+     * Create a {@link CircuitBreakerPolicy.Builder} populated with the default values.
+     */
+    public static Builder builder() {
+        return new BuilderImpl();
+    }
+
+    /**
+     * The percentage of failed request attempts at which a circuit breaker opens.
+     */
+    public double failureRateThreshold() {
+        return failureRateThreshold;
+    }
+
+    /**
+     * The number of most recent request attempts to a host that the failure rate is computed from.
+     */
+    public int slidingWindowSize() {
+        return slidingWindowSize;
+    }
+
+    /**
+     * The minimum number of request attempts to a host that must be recorded before its circuit breaker can open.
+     */
+    public int minimumNumberOfCalls() {
+        return minimumNumberOfCalls;
+    }
+
+    /**
+     * The amount of time that a circuit breaker stays open before it lets trial request attempts through.
+     */
+    public Duration openStateDuration() {
+        return openStateDuration;
+    }
+
+    /**
+     * The number of trial request attempts that a half-open circuit breaker lets through.
+     */
+    public int permittedCallsInHalfOpenState() {
+        return permittedCallsInHalfOpenState;
+    }
+
+    @Override
+    public Builder toBuilder() {
+        return builder().failureRateThreshold(failureRateThreshold)
+                        .slidingWindowSize(slidingWindowSize)
+                        .minimumNumberOfCalls(minimumNumberOfCalls)
+                        .openStateDuration(openStateDuration)
+                        .permittedCallsInHalfOpenState(permittedCallsInHalfOpenState);
+    }
+
+    @Override
+    public String toString() {
+        return ToString.builder("CircuitBreakerPolicy")
+                       .add("failureRateThreshold", failureRateThreshold)
+                       .add("slidingWindowSize", slidingWindowSize)
+                       .add("minimumNumberOfCalls", minimumNumberOfCalls)
+                       .add("openStateDuration", openStateDuration)
+                       .add("permittedCallsInHalfOpenState", permittedCallsInHalfOpenState)
+                       .build();
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) {
+            return true;
+        }
+        if (o == null || getClass() != o.getClass()) {
+            return false;
+        }
+
+        CircuitBreakerPolicy that = (CircuitBreakerPolicy) o;
+
+        if (Double.compare(that.failureRateThreshold, failureRateThreshold) != 0) {
+            return false;
+        }
+        if (slidingWindowSize != that.slidingWindowSize) {
+            return false;
+        }
+        if (minimumNumberOfCalls != that.minimumNumberOfCalls) {
+            return false;
+        }
+        if (permittedCallsInHalfOpenState != that.permittedCallsInHalfOpenState) {
+            return false;
+        }
+        return openStateDuration.equals(that.openStateDuration);
+    }
+
+    @Override
+    public int hashCode() {
+        int result = Double.hashCode(failureRateThreshold);
+        result = 31 * result + slidingWindowSize;
+        result = 31 * result + minimumNumberOfCalls;
+        result = 31 * result + openStateDuration.hashCode();
+        result = 31 * result + permittedCallsInHalfOpenState;
+        return result;
+    }
+
+    public interface Builder extends CopyableBuilder<Builder, CircuitBreakerPolicy> {
+        /**
+         * Configure the percentage of failed request attempts at which a circuit breaker opens.
+         *
+         * <p>
+         * By default, this is 50.
+         */
+        Builder failureRateThreshold(Double failureRateThreshold);
+
+        /**
+         * @see #failureRateThreshold(Double)
+         */
+        Double failureRateThreshold();
+
+        /**
+         * Configure the number of most recent request attempts to a host that the failure rate is computed from.
+         *
+         * <p>
+         * By default, this is 100.
+         */
+        Builder slidingWindowSize(Integer slidingWindowSize);
+
+        /**
+         * @see #slidingWindowSize(Integer)
+         */
+        Integer slidingWindowSize();
+
+        /**
+         * Configure the minimum number of request attempts to a host that must be recorded before its circuit breaker can
+         * open. This must not be greater than the {@link #slidingWindowSize(Integer)}.
+         *
+         * <p>
+         * By default, this is 20.
+         */
+        Builder minimumNumberOfCalls(Integer minimumNumberOfCalls);
+
+        /**
+         * @see #minimumNumberOfCalls(Integer)
+         */
+        Integer minimumNumberOfCalls();
+
+        /**
+         * Configure the amount of time that a circuit breaker stays open before it lets trial request attempts through.
+         *
+         * <p>
+         * By default, this is 30 seconds.
+         */
+        Builder openStateDuration(Duration openStateDuration);
+
+        /**
+         * @see #openStateDuration(Duration)
+         */
+        Duration openStateDuration();
+
+        /**
+         * Configure the number of trial request attempts that a half-open circuit breaker lets through. All of them must
+         * succeed for the circuit breaker to close.
+         *
+         * <p>
+         * By default, this is 5.
+         */
+        Builder permittedCallsInHalfOpenState(Integer permittedCallsInHalfOpenState);
+
+        /**
+         * @see #permittedCallsInHalfOpenState(Integer)
+         */
+        Integer permittedCallsInHalfOpenState();
+
+        @Override
+        CircuitBreakerPolicy build();
+    }
+
+    /**
+     * Builder for a {@link CircuitBreakerPolicy}.
+     */
+    private static final class BuilderImpl implements Builder {
+        private Double failureRateThreshold = DEFAULT_FAILURE_RATE_THRESHOLD;
+        private Integer slidingWindowSize = DEFAULT_SLIDING_WINDOW_SIZE;
+        private Integer minimumNumberOfCalls = DEFAULT_MINIMUM_NUMBER_OF_CALLS;
+        private Duration openStateDuration = DEFAULT_OPEN_STATE_DURATION;
+        private Integer permittedCallsInHalfOpenState = DEFAULT_PERMITTED_CALLS_IN_HALF_OPEN_STATE;
+
+        @Override
+        public Builder failureRateThreshold(Double failureRateThreshold) {
+            this.failureRateThreshold = failureRateThreshold;
+            return this;
+        }
+
+        public void setFailureRateThreshold(Double failureRateThreshold) {
+            failureRateThreshold(failureRateThreshold);
+        }
+
+        @Override
+        public Double failureRateThreshold() {
+            return failureRateThreshold;
+        }
+
+        @Override
+        public Builder slidingWindowSize(Integer slidingWindowSize) {
+            this.slidingWindowSize = slidingWindowSize;
+            return this;
+        }
+
+        public void setSlidingWindowSize(Integer slidingWindowSize) {
+            slidingWindowSize(slidingWindowSize);
+        }
+
+        @Override
+        public Integer slidingWindowSize() {
+            return slidingWindowSize;
+        }
+
+        @Override
+        public Builder minimumNumberOfCalls(Integer minimumNumberOfCalls) {
+            this.minimumNumberOfCalls = minimumNumberOfCalls;
+            return this;
+        }
+
+        public void setMinimumNumberOfCalls(Integer minimumNumberOfCalls) {
+            minimumNumberOfCalls(minimumNumberOfCalls);
+        }
+
+        @Override
+        public Integer minimumNumberOfCalls() {
+            return minimumNumberOfCalls;
+        }
+
+        @Override
+        public Builder openStateDuration(Duration openStateDuration) {
+            this.openStateDuration = openStateDuration;
+            return this;
+        }
+
+        public void setOpenStateDuration(Duration openStateDuration) {
+            openStateDuration(openStateDuration);
+        }
+
+        @Override
+        public Duration openStateDuration() {
+            return openStateDuration;
+        }
+
+        @Override
+        public Builder permittedCallsInHalfOpenState(Integer permittedCallsInHalfOpenState) {
+            this.permittedCallsInHalfOpenState = permittedCallsInHalfOpenState;
+            return this;
+        }
+
+        public void setPermittedCallsInHalfOpenState(Integer permittedCallsInHalfOpenState) {
+            permittedCallsInHalfOpenState(permittedCallsInHalfOpenState);
+        }
+
+        @Override
+        public Integer permittedCallsInHalfOpenState() {
+            return permittedCallsInHalfOpenState;
+        }
+
+        @Override
+        public CircuitBreakerPolicy build() {
+            return new CircuitBreakerPolicy(this);
+        }
+    }
+}
@@ -0,0 +1,316 @@
+/*
+ * Copyright Amazon.com, Inc. or its affiliates. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License").
+ * You may not use this file except in compliance with the License.
+ * A copy of the License is located at
+ *
+ *  http://aws.amazon.com/apache2.0
+ *
+ * or in the "license" file accompanying this file. This file is distributed
+ * on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either
+ * express or implied. See the License for the specific language governing
+ * permissions and limitations under the License.
+ */
+
+package software.amazon.awssdk.core.retry;
+
+import java.time.Duration;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.Set;
+import software.amazon.awssdk.annotations.Immutable;
+import software.amazon.awssdk.annotations.SdkPublicApi;
+import software.amazon.awssdk.core.retry.conditions.TokenBucketRetryCondition;
+import software.amazon.awssdk.utils.ToString;
+import software.amazon.awssdk.utils.Validate;
+import software.amazon.awssdk.utils.builder.CopyableBuilder;
+import software.amazon.awssdk.utils.builder.ToCopyableBuilder;
+
+/**
+ * Interface for specifying a hedging policy to use when executing latency-sensitive read operations with an asynchronous
+ * client.
+ *
+ * <p>
+ * When hedging is enabled for an operation and the initial HTTP request of an API call has not received a response after the
+ * {@link #delayPercentile()} of recently observed latencies for that operation, a second, identical HTTP request is sent on a
+ * different connection. The first of the two requests to receive a response is used and the other is cancelled. Latencies are
+ * observed separately by each client that is configured with the policy.
+ *
+ * <p>
+ * Hedging is only applied to the first attempt of an API call and only to operations that are safe to send twice. Each hedged
+ * request consumes {@link #tokenCost()} tokens from the {@link TokenBucketRetryCondition} of the client's {@link RetryPolicy}, so
+ * that hedging is throttled together with retries when the service is unhealthy. The tokens are returned once either request
+ * receives a response, and are only kept when both requests fail. If no tokens are available, no hedged request is sent.
+ *
+ * <p>
+ * Hedging is disabled by default. It is not supported by synchronous clients, or for operations with a streaming request
+ * payload.
+ */
+@Immutable
+@SdkPublicApi
+public final class HedgingPolicy implements ToCopyableBuilder<HedgingPolicy.Builder, HedgingPolicy> {
+    private static final double DEFAULT_DELAY_PERCENTILE = 95.0;
+    private static final Duration DEFAULT_MINIMUM_DELAY = Duration.ofMillis(10);
+    private static final int DEFAULT_TOKEN_COST = 5;
+
+    private final Set<String> hedgeableOperations;
+    private final double delayPercentile;
+    private final Duration minimumDelay;
+    private final int tokenCost;
+
+    private HedgingPolicy(BuilderImpl builder) {
+        this.hedgeableOperations = Collections.unmodifiableSet(new HashSet<>(builder.hedgeableOperations));
+        this.delayPercentile = Validate.paramNotNull(builder.delayPercentile, "delayPercentile");
+        Validate.isTrue(delayPercentile > 0 && delayPercentile <= 100,
+                        "delayPercentile must be in the range (0, 100], but was %s.", delayPercentile);
+        this.minimumDelay = Validate.isNotNegative(Validate.paramNotNull(builder.minimumDelay, "minimumDelay"),
+                                                   "minimumDelay");
+        this.tokenCost = Validate.isNotNegative(Validate.paramNotNull(builder.tokenCost, "tokenCost"), "tokenCost");
+    }
+
+    /**
+     * Create a {@link HedgingPolicy.Builder} populated with the default values.
+     */
+    public static Builder builder() {
+        return new BuilderImpl();
+    }
+
+    /**
+     * The names of the operations that may be hedged. If empty, only {@code GET} and {@code HEAD} requests are hedged.
+     */
+    public Set<String> hedgeableOperations() {
+        return hedgeableOperations;
+    }
+
+    /**
+     * The percentile of recently observed response latencies after which a hedged request is sent.
+     */
+    public double delayPercentile() {
+        return delayPercentile;
+    }
+
+    /**
+     * The minimum amount of time to wait before sending a hedged request. This is also the delay used until enough latencies
+     * have been observed for an operation to compute the {@link #delayPercentile()}.
+     *
+     * <p>
+     * Hedged requests are scheduled on the client's timer, which has a resolution of 10 milliseconds, so a hedged request may
+     * be sent up to 10 milliseconds later than the computed delay.
+     */
+    public Duration minimumDelay() {
+        return minimumDelay;
+    }
+
+    /**
+     * The number of tokens a hedged request consumes from the client's {@link TokenBucketRetryCondition}.
+     */
+    public int tokenCost() {
+        return tokenCost;
+    }
+
+    @Override
+    public Builder toBuilder() {
+        return builder().hedgeableOperations(hedgeableOperations)
+                        .delayPercentile(delayPercentile)
+                        .minimumDelay(minimumDelay)
+                        .tokenCost(tokenCost);
+    }
+
+    @Override
+    public String toString() {
+        return ToString.builder("HedgingPolicy")
+                       .add("hedgeableOperations", hedgeableOperations)
+                       .add("delayPercentile", delayPercentile)
+                       .add("minimumDelay", minimumDelay)
+                       .add("tokenCost", tokenCost)
+                       .build();
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) {
+            return true;
+        }
+        if (o == null || getClass() != o.getClass()) {
+            return false;
+        }
+
+        HedgingPolicy that = (HedgingPolicy) o;
+
+        if (Double.compare(that.delayPercentile, delayPercentile) != 0) {
+            return false;
+        }
+        if (tokenCost != that.tokenCost) {
+            return false;
+        }
+        if (!hedgeableOperations.equals(that.hedgeableOperations)) {
+            return false;
+        }
+        return minimumDelay.equals(that.minimumDelay);
+    }
+
+    @Override
+    public int hashCode() {
+        int result = hedgeableOperations.hashCode();
+        result = 31 * result + Double.hashCode(delayPercentile);
+        result = 31 * result + minimumDelay.hashCode();
+        result = 31 * result + tokenCost;
+        return result;
+    }
+
+    public interface Builder extends CopyableBuilder<Builder, HedgingPolicy> {
+        /**
+         * Configure the names of the operations that may be hedged, such as {@code GetItem}. Only operations that are safe to
+         * send more than once should be configured. If no operations are configured, only {@code GET} and {@code HEAD} requests
+         * are hedged.
+         *
+         * <p>
+         * This overrides any values currently configured in the builder.
+         */
+        Builder hedgeableOperations(Collection<String> hedgeableOperations);
+
+        /**
+         * Add an operation that may be hedged.
+         *
+         * @see #hedgeableOperations(Collection)
+         */
+        Builder addHedgeableOperation(String operationName);
+
+        /**
+         * @see #hedgeableOperations(Collection)
+         */
+        Set<String> hedgeableOperations();
+
+        /**
+         * Configure the percentile of recently observed response latencies after which a hedged request is sent.
+         *
+         * <p>
+         * By default, this is 95.
+         */
+        Builder delayPercentile(Double delayPercentile);
+
+        /**
+         * @see #delayPercentile(Double)
+         */
+        Double delayPercentile();
+
+        /**
+         * Configure the minimum amount of time to wait before sending a hedged request. This is also the delay used until
+         * enough latencies have been observed for an operation to compute the {@link #delayPercentile(Double)}.
+         *
+         * <p>
+         * Hedged requests are scheduled on the client's timer, which has a resolution of 10 milliseconds, so a hedged request
+         * may be sent up to 10 milliseconds later than the computed delay.
+         *
+         * <p>
+         * By default, this is 10 milliseconds.
+         */
+        Builder minimumDelay(Duration minimumDelay);
+
+        /**
+         * @see #minimumDelay(Duration)
+         */
+        Duration minimumDelay();
+
+        /**
+         * Configure the number of tokens a hedged request consumes from the client's {@link TokenBucketRetryCondition}.
+         *
+         * <p>
+         * By default, this is 5.
+         */
+        Builder tokenCost(Integer tokenCost);
+
+        /**
+         * @see #tokenCost(Integer)
+         */
+        Integer tokenCost();
+
+        @Override
+        HedgingPolicy build();
+    }
+
+    /**
+     * Builder for a {@link HedgingPolicy}.
+     */
+    private static final class BuilderImpl implements Builder {
+        private Set<String> hedgeableOperations = new HashSet<>();
+        private Double delayPercentile = DEFAULT_DELAY_PERCENTILE;
+        private Duration minimumDelay = DEFAULT_MINIMUM_DELAY;
+        private Integer tokenCost = DEFAULT_TOKEN_COST;
+
+        @Override
+        public Builder hedgeableOperations(Collection<String> hedgeableOperations) {
+            Validate.paramNotNull(hedgeableOperations, "hedgeableOperations");
+            this.hedgeableOperations = new HashSet<>(hedgeableOperations);
+            return this;
+        }
+
+        public void setHedgeableOperations(Collection<String> hedgeableOperations) {
+            hedgeableOperations(hedgeableOperations);
+        }
+
+        @Override
+        public Builder addHedgeableOperation(String operationName) {
+            Validate.paramNotNull(operationName, "operationName");
+            this.hedgeableOperations.add(operationName);
+            return this;
+        }
+
+        @Override
+        public Set<String> hedgeableOperations() {
+            return Collections.unmodifiableSet(hedgeableOperations);
+        }
+
+        @Override
+        public Builder delayPercentile(Double delayPercentile) {
+            this.delayPercentile = delayPercentile;
+            return this;
+        }
+
+        public void setDelayPercentile(Double delayPercentile) {
+            delayPercentile(delayPercentile);
+        }
+
+        @Override
+        public Double delayPercentile() {
+            return delayPercentile;
+        }
+
+        @Override
+        public Builder minimumDelay(Duration minimumDelay) {
+            this.minimumDelay = minimumDelay;
+            return this;
+        }
+
+        public void setMinimumDelay(Duration minimumDelay) {
+            minimumDelay(minimumDelay);
+        }
+
+        @Override
+        public Duration minimumDelay() {
+            return minimumDelay;
+        }
+
+        @Override
+        public Builder tokenCost(Integer tokenCost) {
+            this.tokenCost = tokenCost;
+            return this;
+        }
+
+        public void setTokenCost(Integer tokenCost) {
+            tokenCost(tokenCost);
+        }
+
+        @Override
+        public Integer tokenCost() {
+            return tokenCost;
+        }
+
+        @Override
+        public HedgingPolicy build() {
+            return new HedgingPolicy(this);
+        }
+    }
+}
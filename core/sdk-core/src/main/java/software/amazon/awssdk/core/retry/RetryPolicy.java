@@ -54,6 +54,8 @@ public final class RetryPolicy implements ToCopyableBuilder<RetryPolicy.Builder,
     private final RetryCondition retryCapacityCondition;
     private final RetryCondition aggregateRetryCondition;
     private Boolean fastFailRateLimiting;
+    private final String rateLimiterName;
+    private final Integer maxConcurrentRetriesPerEndpoint;
 
     private RetryPolicy(BuilderImpl builder) {
         this.additionalRetryConditionsAllowed = builder.additionalRetryConditionsAllowed;
@@ -65,7 +67,11 @@ public final class RetryPolicy implements ToCopyableBuilder<RetryPolicy.Builder,
         this.retryCapacityCondition = builder.retryCapacityCondition;
         this.aggregateRetryCondition = generateAggregateRetryCondition();
         this.fastFailRateLimiting = builder.isFastFailRateLimiting();
+        this.rateLimiterName = builder.rateLimiterName();
+        this.maxConcurrentRetriesPerEndpoint = builder.maxConcurrentRetriesPerEndpoint();
         validateFastFailRateLimiting();
+        validateRateLimiterName();
+        validateMaxConcurrentRetriesPerEndpoint();
     }
 
     /**
@@ -128,6 +134,26 @@ public final class RetryPolicy implements ToCopyableBuilder<RetryPolicy.Builder,
         return fastFailRateLimiting;
     }
 
+    /**
+     * When using {@link RetryMode#ADAPTIVE} retry mode, the name of the client-side rate limiter that this client shares with
+     * other clients of the same service, or null if the client has a rate limiter of its own.
+     *
+     * @see Builder#rateLimiterName(String)
+     */
+    public String rateLimiterName() {
+        return rateLimiterName;
+    }
+
+    /**
+     * The maximum number of retries that may be in flight at the same time to an endpoint, or null if retries to an endpoint
+     * are not limited.
+     *
+     * @see Builder#maxConcurrentRetriesPerEndpoint(Integer)
+     */
+    public Integer maxConcurrentRetriesPerEndpoint() {
+        return maxConcurrentRetriesPerEndpoint;
+    }
+
     /**
      * Returns true if service-specific conditions are allowed on this policy (e.g. more conditions may be added by the SDK if
      * they are recommended).
@@ -189,7 +215,9 @@ public final class RetryPolicy implements ToCopyableBuilder<RetryPolicy.Builder,
                                  .backoffStrategy(backoffStrategy)
                                  .throttlingBackoffStrategy(throttlingBackoffStrategy)
                                  .retryCapacityCondition(retryCapacityCondition)
-                                 .fastFailRateLimiting(fastFailRateLimiting);
+                                 .fastFailRateLimiting(fastFailRateLimiting)
+                                 .rateLimiterName(rateLimiterName)
+                                 .maxConcurrentRetriesPerEndpoint(maxConcurrentRetriesPerEndpoint);
     }
 
     @Override
@@ -200,6 +228,8 @@ public final class RetryPolicy implements ToCopyableBuilder<RetryPolicy.Builder,
                        .add("backoffStrategy", backoffStrategy)
                        .add("throttlingBackoffStrategy", throttlingBackoffStrategy)
                        .add("fastFailRateLimiting", fastFailRateLimiting)
+                       .add("rateLimiterName", rateLimiterName)
+                       .add("maxConcurrentRetriesPerEndpoint", maxConcurrentRetriesPerEndpoint)
                        .build();
     }
 
@@ -226,7 +256,13 @@ public final class RetryPolicy implements ToCopyableBuilder<RetryPolicy.Builder,
         if (!throttlingBackoffStrategy.equals(that.throttlingBackoffStrategy)) {
             return false;
         }
-        return Objects.equals(fastFailRateLimiting, that.fastFailRateLimiting);
+        if (!Objects.equals(fastFailRateLimiting, that.fastFailRateLimiting)) {
+            return false;
+        }
+        if (!Objects.equals(rateLimiterName, that.rateLimiterName)) {
+            return false;
+        }
+        return Objects.equals(maxConcurrentRetriesPerEndpoint, that.maxConcurrentRetriesPerEndpoint);
     }
 
     @Override
@@ -236,6 +272,8 @@ public final class RetryPolicy implements ToCopyableBuilder<RetryPolicy.Builder,
         result = 31 * result + backoffStrategy.hashCode();
         result = 31 * result + throttlingBackoffStrategy.hashCode();
         result = 31 * result + Objects.hashCode(fastFailRateLimiting);
+        result = 31 * result + Objects.hashCode(rateLimiterName);
+        result = 31 * result + Objects.hashCode(maxConcurrentRetriesPerEndpoint);
         return result;
     }
 
@@ -249,6 +287,24 @@ public final class RetryPolicy implements ToCopyableBuilder<RetryPolicy.Builder,
                         + "configured mode is %s.", retryMode.name());
     }
 
+    private void validateRateLimiterName() {
+        if (rateLimiterName == null) {
+            return;
+        }
+
+        Validate.isTrue(RetryMode.ADAPTIVE == retryMode,
+                        "A rate limiter name is configured, but this setting is only valid for the ADAPTIVE retry mode. The "
+                        + "configured mode is %s.", retryMode.name());
+    }
+
+    private void validateMaxConcurrentRetriesPerEndpoint() {
+        if (maxConcurrentRetriesPerEndpoint == null) {
+            return;
+        }
+
+        Validate.isNotNegative(maxConcurrentRetriesPerEndpoint, "maxConcurrentRetriesPerEndpoint");
+    }
+
     public interface Builder extends CopyableBuilder<Builder, RetryPolicy> {
         /**
          * Configure whether further conditions can be added to this policy after it is created. This may include service-
@@ -347,7 +403,50 @@ public final class RetryPolicy implements ToCopyableBuilder<RetryPolicy.Builder,
          * rate limiter to execute the request, instead of waiting for capacity to be available.
          */
         Boolean isFastFailRateLimiting();
-        
+
+        /**
+         * When using {@link RetryMode#ADAPTIVE} retry mode, share the client-side rate limiter with every other client of the
+         * same service that is configured with the same name, instead of giving this client a rate limiter of its own.
+         *
+         * <p>The rate limiter slows down a client after it has been throttled. Clients that send requests to the same
+         * throttled resource (such as a DynamoDB table) should share a rate limiter, e.g. by naming it after the resource,
+         * so that all of them slow down together instead of each one having to be throttled first.
+         *
+         * <p>By default, this is null and each client has its own rate limiter.
+         *
+         * @param rateLimiterName The name of the shared rate limiter.
+         */
+        Builder rateLimiterName(String rateLimiterName);
+
+        /**
+         * @see #rateLimiterName(String)
+         */
+        String rateLimiterName();
+
+        /**
+         * Limit the number of retries that a client may have in flight at the same time to the same endpoint. When the limit is
+         * reached, a failed request is not retried and its last failure is returned to the caller instead.
+         *
+         * <p>The limit applies to each client separately: clients configured with the same policy do not share their
+         * retries in flight. An endpoint is identified by the scheme, host and port of the request, so requests to different
+         * hosts (e.g. S3 virtual-hosted-style bucket endpoints) are limited separately.
+         *
+         * <p>When an endpoint is failing, every request that is sent to it is retried. Limiting the number of concurrent
+         * retries keeps the retries of many concurrent callers from adding to the load on the endpoint, much like a circuit
+         * breaker. The number of retries in flight when an API call completes is reported as
+         * {@link software.amazon.awssdk.core.metrics.CoreMetric#CONCURRENT_RETRIES}.
+         *
+         * <p>By default, this is null and the number of concurrent retries is not limited.
+         *
+         * @param maxConcurrentRetriesPerEndpoint The maximum number of concurrent retries to an endpoint.
+         */
+        Builder maxConcurrentRetriesPerEndpoint(Integer maxConcurrentRetriesPerEndpoint);
+
+        /**
+         * @see #maxConcurrentRetriesPerEndpoint(Integer)
+         */
+        Integer maxConcurrentRetriesPerEndpoint();
+
         @Override
         RetryPolicy build();
     }
@@ -365,6 +464,8 @@ public final class RetryPolicy implements ToCopyableBuilder<RetryPolicy.Builder,
         private RetryCondition retryCondition;
         private RetryCondition retryCapacityCondition;
         private Boolean fastFailRateLimiting;
+        private String rateLimiterName;
+        private Integer maxConcurrentRetriesPerEndpoint;
 
         private BuilderImpl(RetryMode retryMode) {
             this.retryMode = retryMode;
@@ -417,6 +518,36 @@ public final class RetryPolicy implements ToCopyableBuilder<RetryPolicy.Builder,
             return fastFailRateLimiting;
         }
 
+        @Override
+        public Builder rateLimiterName(String rateLimiterName) {
+            this.rateLimiterName = rateLimiterName;
+            return this;
+        }
+
+        public void setRateLimiterName(String rateLimiterName) {
+            rateLimiterName(rateLimiterName);
+        }
+
+        @Override
+        public String rateLimiterName() {
+            return rateLimiterName;
+        }
+
+        @Override
+        public Builder maxConcurrentRetriesPerEndpoint(Integer maxConcurrentRetriesPerEndpoint) {
+            this.maxConcurrentRetriesPerEndpoint = maxConcurrentRetriesPerEndpoint;
+            return this;
+        }
+
+        public void setMaxConcurrentRetriesPerEndpoint(Integer maxConcurrentRetriesPerEndpoint) {
+            maxConcurrentRetriesPerEndpoint(maxConcurrentRetriesPerEndpoint);
+        }
+
+        @Override
+        public Integer maxConcurrentRetriesPerEndpoint() {
+            return maxConcurrentRetriesPerEndpoint;
+        }
+
         @Override
         public Builder backoffStrategy(BackoffStrategy backoffStrategy) {
             this.backoffStrategy = backoffStrategy;
@@ -0,0 +1,183 @@
+/*
+ * Copyright Amazon.com, Inc. or its affiliates. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License").
+ * You may not use this file except in compliance with the License.
+ * A copy of the License is located at
+ *
+ *  http://aws.amazon.com/apache2.0
+ *
+ * or in the "license" file accompanying this file. This file is distributed
+ * on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either
+ * express or implied. See the License for the specific language governing
+ * permissions and limitations under the License.
+ */
+
+
+package software.amazon.awssdk.core.retry.backoff;
+
+import static software.amazon.awssdk.utils.NumericUtils.min;
+import static software.amazon.awssdk.utils.Validate.isNotNegative;
+
+import java.time.Duration;
+import java.util.Random;
+import software.amazon.awssdk.annotations.SdkPublicApi;
+import software.amazon.awssdk.core.interceptor.ExecutionAttributes;
+import software.amazon.awssdk.core.interceptor.SdkInternalExecutionAttribute;
+import software.amazon.awssdk.core.retry.RetryPolicyContext;
+import software.amazon.awssdk.utils.ToString;
+import software.amazon.awssdk.utils.builder.CopyableBuilder;
+import software.amazon.awssdk.utils.builder.ToCopyableBuilder;
+
+/**
+ * Backoff strategy that uses a decorrelated jitter strategy for computing the next backoff delay. A decorrelated jitter
+ * strategy computes a new random delay between the base delay and three times the previous delay of the same request, capped
+ * at the max backoff time.
+ *
+ * For example, using a base delay of 100 and a max backoff time of 10000, the first retry is delayed by 100 to 300, and if
+ * it was delayed by 250, the second retry is delayed by 100 to 750.
+ *
+ * In contrast to {@link FullJitterBackoffStrategy}, the delays of requests that started failing at the same time do not grow
+ * in step with each other, so their retries spread out over time instead of arriving in waves.
+ */
+@SdkPublicApi
+public final class DecorrelatedJitterBackoffStrategy implements BackoffStrategy,
+                                                                ToCopyableBuilder<DecorrelatedJitterBackoffStrategy.Builder,
+                                                                    DecorrelatedJitterBackoffStrategy> {
+    private static final Duration BASE_DELAY_CEILING = Duration.ofMillis(Integer.MAX_VALUE); // Around 24 days
+    private static final Duration MAX_BACKOFF_CEILING = Duration.ofMillis(Integer.MAX_VALUE); // Around 24 days
+
+    private final Duration baseDelay;
+    private final Duration maxBackoffTime;
+    private final Random random;
+
+    private DecorrelatedJitterBackoffStrategy(BuilderImpl builder) {
+        this(builder.baseDelay, builder.maxBackoffTime, new Random());
+    }
+
+    DecorrelatedJitterBackoffStrategy(final Duration baseDelay, final Duration maxBackoffTime, final Random random) {
+        this.baseDelay = min(isNotNegative(baseDelay, "baseDelay"), BASE_DELAY_CEILING);
+        this.maxBackoffTime = min(isNotNegative(maxBackoffTime, "maxBackoffTime"), MAX_BACKOFF_CEILING);
+        this.random = random;
+    }
+
+    @Override
+    public Duration computeDelayBeforeNextRetry(RetryPolicyContext context) {
+        long base = baseDelay.toMillis();
+        long previous = Math.max(base, previousDelay(context).toMillis());
+        long ceiling = Math.min(previous * 3, maxBackoffTime.toMillis());
+        long delay = ceiling <= base ? ceiling : base + (long) (random.nextDouble() * (ceiling - base));
+        // Minimum of 1 ms (consistent with BackoffStrategy.none()'s behavior)
+        return Duration.ofMillis(Math.max(delay, 1L));
+    }
+
+    /**
+     * The delay before the previous attempt of the request, or zero if this is the first retry.
+     */
+    private static Duration previousDelay(RetryPolicyContext context) {
+        ExecutionAttributes attributes = context.executionAttributes();
+        if (context.retriesAttempted() == 0 || attributes == null) {
+            return Duration.ZERO;
+        }
+        Duration previous = attributes.getAttribute(SdkInternalExecutionAttribute.LAST_BACKOFF_DELAY_DURATION);
+        return previous == null ? Duration.ZERO : previous;
+    }
+
+    @Override
+    public Builder toBuilder() {
+        return builder().baseDelay(baseDelay).maxBackoffTime(maxBackoffTime);
+    }
+
+    public static Builder builder() {
+        return new BuilderImpl();
+    }
+
+    public interface Builder extends CopyableBuilder<Builder, DecorrelatedJitterBackoffStrategy> {
+        Builder baseDelay(Duration baseDelay);
+
+        Duration baseDelay();
+
+        Builder maxBackoffTime(Duration maxBackoffTime);
+
+        Duration maxBackoffTime();
+
+        @Override
+        DecorrelatedJitterBackoffStrategy build();
+    }
+
+    private static final class BuilderImpl implements Builder {
+
+        private Duration baseDelay;
+        private Duration maxBackoffTime;
+
+        private BuilderImpl() {
+        }
+
+        @Override
+        public Builder baseDelay(Duration baseDelay) {
+            this.baseDelay = baseDelay;
+            return this;
+        }
+
+        public void setBaseDelay(Duration baseDelay) {
+            baseDelay(baseDelay);
+        }
+
+        @Override
+        public Duration baseDelay() {
+            return baseDelay;
+        }
+
+        @Override
+        public Builder maxBackoffTime(Duration maxBackoffTime) {
+            this.maxBackoffTime = maxBackoffTime;
+            return this;
+        }
+
+        public void setMaxBackoffTime(Duration maxBackoffTime) {
+            maxBackoffTime(maxBackoffTime);
+        }
+
+        @Override
+        public Duration maxBackoffTime() {
+            return maxBackoffTime;
+        }
+
+        @Override
+        public DecorrelatedJitterBackoffStrategy build() {
+            return new DecorrelatedJitterBackoffStrategy(this);
+        }
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) {
+            return true;
+        }
+        if (o == null || getClass() != o.getClass()) {
+            return false;
+        }
+
+        DecorrelatedJitterBackoffStrategy that = (DecorrelatedJitterBackoffStrategy) o;
+
+        if (!baseDelay.equals(that.baseDelay)) {
+            return false;
+        }
+        return maxBackoffTime.equals(that.maxBackoffTime);
+    }
+
+    @Override
+    public int hashCode() {
+        int result = baseDelay.hashCode();
+        result = 31 * result + maxBackoffTime.hashCode();
+        return result;
+    }
+
+    @Override
+    public String toString() {
+        return ToString.builder("DecorrelatedJitterBackoffStrategy")
+                       .add("baseDelay", baseDelay)
+                       .add("maxBackoffTime", maxBackoffTime)
+                       .build();
+    }
+}
@@ -18,6 +18,7 @@ package software.amazon.awssdk.core.retry.conditions;
 import static software.amazon.awssdk.core.internal.retry.SdkDefaultRetrySetting.TOKEN_BUCKET_SIZE;
 
 import java.util.Optional;
+import software.amazon.awssdk.annotations.SdkInternalApi;
 import software.amazon.awssdk.annotations.SdkPublicApi;
 import software.amazon.awssdk.core.interceptor.ExecutionAttribute;
 import software.amazon.awssdk.core.interceptor.ExecutionAttributes;
@@ -114,6 +115,23 @@ public class TokenBucketRetryCondition implements RetryCondition {
         return capacity.currentCapacity();
     }
 
+    /**
+     * Try to acquire the provided amount of capacity from the token bucket for work that is not a retry, such as a hedged
+     * request. Returns true if the capacity was acquired.
+     */
+    @SdkInternalApi
+    public boolean tryAcquireCapacity(int amountToAcquire) {
+        return capacity.tryAcquire(amountToAcquire).isPresent();
+    }
+
+    /**
+     * Release capacity previously acquired with {@link #tryAcquireCapacity(int)} back to the token bucket.
+     */
+    @SdkInternalApi
+    public void releaseCapacity(int amountToRelease) {
+        capacity.release(amountToRelease);
+    }
+
     @Override
     public boolean shouldRetry(RetryPolicyContext context) {
         int costOfFailure = exceptionCostFunction.apply(context.exception());
@@ -0,0 +1,358 @@
+/*
+ * Copyright Amazon.com, Inc. or its affiliates. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License").
+ * You may not use this file except in compliance with the License.
+ * A copy of the License is located at
+ *
+ *  http://aws.amazon.com/apache2.0
+ *
+ * or in the "license" file accompanying this file. This file is distributed
+ * on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either
+ * express or implied. See the License for the specific language governing
+ * permissions and limitations under the License.
+ */
+
+package software.amazon.awssdk.core.util;
+
+import java.nio.ByteBuffer;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+import java.util.concurrent.atomic.LongAdder;
+import software.amazon.awssdk.annotations.SdkPublicApi;
+import software.amazon.awssdk.annotations.ThreadSafe;
+import software.amazon.awssdk.utils.SdkAutoCloseable;
+import software.amazon.awssdk.utils.ToString;
+import software.amazon.awssdk.utils.Validate;
+import software.amazon.awssdk.utils.builder.SdkBuilder;
+
+/**
+ * A pool of heap {@link ByteBuffer}s that the SDK uses for the temporary buffers of its async I/O paths, to reduce the
+ * allocation rate when transferring large amounts of data.
+ *
+ * <p>Buffers are pooled in power-of-two size classes, from 1 KiB up to {@link Builder#maxPooledBufferSize(Integer)}.
+ * Released buffers are first kept in a small local cache, one of about one per CPU that is picked by the releasing thread, and
+ * then in a bounded queue shared by all threads. The number of local caches does not depend on the number of threads, so the
+ * pool can be used from any number of short-lived or virtual threads. Requests for buffers larger than the largest size class
+ * are always satisfied with a new, unpooled buffer.
+ *
+ * <p>Buffers are acquired as a {@link PooledBuffer}, which is returned to the pool when it is closed. A buffer must not be used
+ * after it has been closed.
+ *
+ * <p>The pool used by a client can be configured with
+ * {@link software.amazon.awssdk.core.client.config.ClientOverrideConfiguration.Builder#byteBufferPool(ByteBufferPool)}. By
+ * default, all clients share {@link #defaultPool()}.
+ */
+@SdkPublicApi
+@ThreadSafe
+public final class ByteBufferPool {
+    private static final int MIN_SIZE_CLASS_SHIFT = 10;
+    private static final int MIN_BUFFER_SIZE = 1 << MIN_SIZE_CLASS_SHIFT;
+    private static final int MAX_BUFFER_SIZE = 1 << 30;
+
+    private static final int DEFAULT_MAX_POOLED_BUFFER_SIZE = 1024 * 1024;
+    private static final int DEFAULT_MAX_BUFFERS_PER_SIZE_CLASS = 8;
+    private static final int DEFAULT_LOCAL_CACHE_SIZE = 2;
+
+    private static final ByteBufferPool DEFAULT_POOL = builder().build();
+
+    private final int maxPooledBufferSize;
+    private final int maxBuffersPerSizeClass;
+    private final int localCacheSize;
+    private final SizeClass[] sizeClasses;
+    private final LocalCaches localCaches;
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+
+    private ByteBufferPool(BuilderImpl builder) {
+        this.maxPooledBufferSize = roundUpToPowerOfTwo(Validate.isPositive(builder.maxPooledBufferSize, "maxPooledBufferSize"));
+        this.maxBuffersPerSizeClass = Validate.isNotNegative(builder.maxBuffersPerSizeClass, "maxBuffersPerSizeClass");
+        this.localCacheSize = Validate.isNotNegative(builder.localCacheSize, "localCacheSize");
+
+        this.sizeClasses = new SizeClass[sizeClassIndex(maxPooledBufferSize) + 1];
+        for (int i = 0; i < sizeClasses.length; i++) {
+            sizeClasses[i] = new SizeClass();
+        }
+
+        this.localCaches = localCacheSize > 0 ? new LocalCaches(sizeClasses.length, localCacheSize) : null;
+    }
+
+    /**
+     * @return The pool shared by all clients that have not been configured with a pool of their own.
+     */
+    public static ByteBufferPool defaultPool() {
+        return DEFAULT_POOL;
+    }
+
+    /**
+     * @return A builder for a new, independent pool.
+     */
+    public static Builder builder() {
+        return new BuilderImpl();
+    }
+
+    /**
+     * Acquire a heap buffer that can hold at least the requested number of bytes. The buffer has a position of zero and a
+     * limit of {@code minimumCapacity}; its capacity may be larger. Its contents are undefined.
+     *
+     * @param minimumCapacity The number of bytes the buffer must be able to hold.
+     * @return A buffer from the pool, or a newly allocated buffer if the pool had none of the right size. It is returned to the
+     * pool when it is closed.
+     */
+    public PooledBuffer acquire(int minimumCapacity) {
+        Validate.isNotNegative(minimumCapacity, "minimumCapacity");
+
+        if (minimumCapacity > maxPooledBufferSize) {
+            misses.increment();
+            return new PooledBuffer(null, ByteBuffer.allocate(minimumCapacity));
+        }
+
+        int index = sizeClassIndex(minimumCapacity);
+        PooledBuffer buffer = localCaches != null ? localCaches.poll(index) : null;
+        if (buffer == null) {
+            buffer = sizeClasses[index].poll();
+        }
+
+        if (buffer == null) {
+            misses.increment();
+            buffer = new PooledBuffer(this, ByteBuffer.allocate(MIN_BUFFER_SIZE << index));
+        } else {
+            hits.increment();
+            buffer.reacquire();
+        }
+
+        buffer.buffer.clear();
+        buffer.buffer.limit(minimumCapacity);
+        return buffer;
+    }
+
+    /**
+     * @return The number of {@link #acquire(int)} calls that were satisfied with a pooled buffer.
+     */
+    public long hitCount() {
+        return hits.sum();
+    }
+
+    /**
+     * @return The number of {@link #acquire(int)} calls that had to allocate a new buffer.
+     */
+    public long missCount() {
+        return misses.sum();
+    }
+
+    private void release(PooledBuffer buffer) {
+        int index = sizeClassIndex(buffer.buffer.capacity());
+        if (localCaches != null && localCaches.offer(index, buffer)) {
+            return;
+        }
+
+        sizeClasses[index].offer(buffer, maxBuffersPerSizeClass);
+    }
+
+    private static int sizeClassIndex(int capacity) {
+        int size = Math.max(capacity, MIN_BUFFER_SIZE);
+        return 32 - Integer.numberOfLeadingZeros(size - 1) - MIN_SIZE_CLASS_SHIFT;
+    }
+
+    private static int roundUpToPowerOfTwo(int value) {
+        Validate.isTrue(value <= MAX_BUFFER_SIZE, "maxPooledBufferSize must not exceed %s bytes.", MAX_BUFFER_SIZE);
+        return Math.max(MIN_BUFFER_SIZE, Integer.highestOneBit(value - 1) << 1);
+    }
+
+    @Override
+    public String toString() {
+        return ToString.builder("ByteBufferPool")
+                       .add("maxPooledBufferSize", maxPooledBufferSize)
+                       .add("maxBuffersPerSizeClass", maxBuffersPerSizeClass)
+                       .add("localCacheSize", localCacheSize)
+                       .add("hitCount", hitCount())
+                       .add("missCount", missCount())
+                       .build();
+    }
+
+    /**
+     * A buffer acquired from a {@link ByteBufferPool}. Closing it returns the buffer to the pool; closing it again has no
+     * effect until it has been acquired again.
+     *
+     * <p>A pooled buffer is created once, when its backing buffer is allocated, and is handed out again by every later
+     * {@link #acquire(int)} that reuses that buffer. Whether it is currently acquired is tracked by the pooled buffer itself,
+     * so acquiring and releasing a buffer allocates nothing.
+     */
+    @ThreadSafe
+    public static final class PooledBuffer implements SdkAutoCloseable {
+        private final ByteBufferPool pool;
+        private final ByteBuffer buffer;
+        private final AtomicBoolean released = new AtomicBoolean(false);
+        private volatile boolean reused;
+
+        private PooledBuffer(ByteBufferPool pool, ByteBuffer buffer) {
+            this.pool = pool;
+            this.buffer = buffer;
+        }
+
+        /**
+         * @return The buffer. It must not be used after this pooled buffer has been closed.
+         */
+        public ByteBuffer buffer() {
+            return buffer;
+        }
+
+        /**
+         * @return True if the buffer was taken from the pool, or false if it was newly allocated when it was acquired.
+         */
+        public boolean isReused() {
+            return reused;
+        }
+
+        /**
+         * Return the buffer to the pool it was acquired from, so that it can be reused by a later {@link #acquire(int)}.
+         * Buffers larger than the largest size class of the pool are not pooled.
+         */
+        @Override
+        public void close() {
+            if (pool != null && released.compareAndSet(false, true)) {
+                pool.release(this);
+            }
+        }
+
+        private void reacquire() {
+            reused = true;
+            released.set(false);
+        }
+    }
+
+    /**
+     * The buffers of one size class that are shared by all threads.
+     */
+    private static final class SizeClass {
+        private final Queue<PooledBuffer> buffers = new ConcurrentLinkedQueue<>();
+        private final AtomicInteger size = new AtomicInteger();
+
+        private PooledBuffer poll() {
+            PooledBuffer buffer = buffers.poll();
+            if (buffer != null) {
+                size.decrementAndGet();
+            }
+            return buffer;
+        }
+
+        private void offer(PooledBuffer buffer, int maxSize) {
+            if (size.incrementAndGet() > maxSize) {
+                size.decrementAndGet();
+                return;
+            }
+            buffers.add(buffer);
+        }
+    }
+
+    /**
+     * A fixed number of small caches, about one per CPU, that hold the most recently released buffers of every size class. A
+     * thread uses the cache picked by its ID, so threads running on different CPUs rarely contend for the same slots, and the
+     * number of cached buffers is bounded no matter how many threads use the pool. Slots are claimed with a compare-and-set,
+     * so a thread never blocks on another.
+     */
+    private static final class LocalCaches {
+        private final AtomicReferenceArray<PooledBuffer> slots;
+        private final int caches;
+        private final int sizeClasses;
+        private final int cacheSize;
+
+        private LocalCaches(int sizeClasses, int cacheSize) {
+            int processors = Runtime.getRuntime().availableProcessors();
+            this.caches = processors == 1 ? 1 : Integer.highestOneBit(processors - 1) << 1;
+            this.sizeClasses = sizeClasses;
+            this.cacheSize = cacheSize;
+            this.slots = new AtomicReferenceArray<>(caches * sizeClasses * cacheSize);
+        }
+
+        private PooledBuffer poll(int index) {
+            int first = firstSlot(index);
+            for (int slot = first; slot < first + cacheSize; slot++) {
+                PooledBuffer buffer = slots.get(slot);
+                if (buffer != null && slots.compareAndSet(slot, buffer, null)) {
+                    return buffer;
+                }
+            }
+            return null;
+        }
+
+        private boolean offer(int index, PooledBuffer buffer) {
+            int first = firstSlot(index);
+            for (int slot = first; slot < first + cacheSize; slot++) {
+                if (slots.get(slot) == null && slots.compareAndSet(slot, null, buffer)) {
+                    return true;
+                }
+            }
+            return false;
+        }
+
+        private int firstSlot(int index) {
+            int cache = (int) Thread.currentThread().getId() & (caches - 1);
+            return (cache * sizeClasses + index) * cacheSize;
+        }
+    }
+
+    public interface Builder extends SdkBuilder<Builder, ByteBufferPool> {
+        /**
+         * Configure the capacity of the largest buffers that are pooled, rounded up to a power of two. Larger buffers are
+         * always newly allocated. Defaults to 1 MiB.
+         */
+        Builder maxPooledBufferSize(Integer maxPooledBufferSize);
+
+        /**
+         * Configure the maximum number of buffers of each size class that are shared by all threads. Defaults to 8.
+         */
+        Builder maxBuffersPerSizeClass(Integer maxBuffersPerSizeClass);
+
+        /**
+         * Configure the maximum number of buffers of each size class that each of the local caches holds before buffers are
+         * released to the shared queues. There are about as many local caches as CPUs. Set this to 0 to disable the local
+         * caches. Defaults to 2.
+         */
+        Builder localCacheSize(Integer localCacheSize);
+    }
+
+    private static final class BuilderImpl implements Builder {
+        private Integer maxPooledBufferSize = DEFAULT_MAX_POOLED_BUFFER_SIZE;
+        private Integer maxBuffersPerSizeClass = DEFAULT_MAX_BUFFERS_PER_SIZE_CLASS;
+        private Integer localCacheSize = DEFAULT_LOCAL_CACHE_SIZE;
+
+        @Override
+        public Builder maxPooledBufferSize(Integer maxPooledBufferSize) {
+            this.maxPooledBufferSize = maxPooledBufferSize;
+            return this;
+        }
+
+        public void setMaxPooledBufferSize(Integer maxPooledBufferSize) {
+            maxPooledBufferSize(maxPooledBufferSize);
+        }
+
+        @Override
+        public Builder maxBuffersPerSizeClass(Integer maxBuffersPerSizeClass) {
+            this.maxBuffersPerSizeClass = maxBuffersPerSizeClass;
+            return this;
+        }
+
+        public void setMaxBuffersPerSizeClass(Integer maxBuffersPerSizeClass) {
+            maxBuffersPerSizeClass(maxBuffersPerSizeClass);
+        }
+
+        @Override
+        public Builder localCacheSize(Integer localCacheSize) {
+            this.localCacheSize = localCacheSize;
+            return this;
+        }
+
+        public void setLocalCacheSize(Integer localCacheSize) {
+            localCacheSize(localCacheSize);
+        }
+
+        @Override
+        public ByteBufferPool build() {
+            return new ByteBufferPool(this);
+        }
+    }
+}
@@ -0,0 +1,166 @@
+/*
+ * Copyright Amazon.com, Inc. or its affiliates. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License").
+ * You may not use this file except in compliance with the License.
+ * A copy of the License is located at
+ *
+ *  http://aws.amazon.com/apache2.0
+ *
+ * or in the "license" file accompanying this file. This file is distributed
+ * on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either
+ * express or implied. See the License for the specific language governing
+ * permissions and limitations under the License.
+ */
+
+
+package software.amazon.awssdk.core.waiters;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.function.BiFunction;
+import java.util.function.Consumer;
+import java.util.function.Function;
+import software.amazon.awssdk.annotations.SdkPublicApi;
+import software.amazon.awssdk.core.internal.waiters.DefaultBatchingAsyncWaiter;
+
+/**
+ * Waiter utility class that waits for many resources to transition to the desired state asynchronously, combining the polling
+ * requests of the waits that are pending at the same time into a single request.
+ *
+ * <p>This is intended for operations that can describe many resources in a single call, such as {@code DescribeInstances}
+ * with a list of instance IDs. Each call to {@link #runAsync(Object)} registers a wait for the resources identified by the
+ * batch member of its request (see {@link Builder#batchMember(Function, BiFunction)}). Pending waits with otherwise equal
+ * requests are polled together, with the union of their batch members, and the response of the combined request is narrowed
+ * down to each wait with the {@link Builder#responseFilter(BiFunction) response filter} before it is matched against the
+ * waiter acceptors. If a combined request fails, the requests of its waits are retried individually, so that an error caused
+ * by one of the resources doesn't transition the waits for the others.
+ *
+ * <p>All waits share the configured {@link ScheduledExecutorService}, and the delay between the attempts of each wait is
+ * jittered so that waits don't poll in lockstep.
+ *
+ * @param <RequestT> the type of the polling request
+ * @param <ResponseT> the type of the resource returned from the polling function
+ */
+@SdkPublicApi
+public interface BatchingAsyncWaiter<RequestT, ResponseT> {
+
+    /**
+     * Waits for the resources identified by the provided polling request. It completes successfully when the resources enter
+     * into a desired state or exceptionally when it is determined that they will never enter into the desired state.
+     *
+     * @param request the polling request
+     * @return A {@link CompletableFuture} containing the {@link WaiterResponse}
+     */
+    CompletableFuture<WaiterResponse<ResponseT>> runAsync(RequestT request);
+
+    /**
+     * Waits for the resources identified by the provided polling request. It completes successfully when the resources enter
+     * into a desired state or exceptionally when it is determined that they will never enter into the desired state.
+     *
+     * @param request the polling request
+     * @param overrideConfig per request override configuration
+     * @return A {@link CompletableFuture} containing the {@link WaiterResponse}
+     */
+    CompletableFuture<WaiterResponse<ResponseT>> runAsync(RequestT request, WaiterOverrideConfiguration overrideConfig);
+
+    /**
+     * Waits for the resources identified by the provided polling request. It completes successfully when the resources enter
+     * into a desired state or exceptionally when it is determined that they will never enter into the desired state.
+     *
+     * @param request the polling request
+     * @param overrideConfig The consumer that will configure the per request override configuration for waiters
+     * @return A {@link CompletableFuture} containing the {@link WaiterResponse}
+     */
+    default CompletableFuture<WaiterResponse<ResponseT>> runAsync(RequestT request,
+                                                                  Consumer<WaiterOverrideConfiguration.Builder> overrideConfig) {
+        return runAsync(request, WaiterOverrideConfiguration.builder().applyMutation(overrideConfig).build());
+    }
+
+    /**
+     * Creates a newly initialized builder for the waiter object.
+     *
+     * @param requestClass the request class
+     * @param responseClass the response class
+     * @param <RequestT> the type of the request
+     * @param <ResponseT> the type of the response
+     * @return a Waiter builder
+     */
+    static <RequestT, ResponseT> Builder<RequestT, ResponseT> builder(Class<? extends RequestT> requestClass,
+                                                                      Class<? extends ResponseT> responseClass) {
+        return DefaultBatchingAsyncWaiter.builder();
+    }
+
+    /**
+     * The Waiter Builder
+     * @param <RequestT> the type of the polling request
+     * @param <ResponseT> the type of the resource
+     */
+    interface Builder<RequestT, ResponseT> extends WaiterBuilder<ResponseT, Builder<RequestT, ResponseT>> {
+
+        /**
+         * Defines the {@link ScheduledExecutorService} used to schedule the polling attempts of all waits.
+         *
+         * @param scheduledExecutorService the schedule executor service
+         * @return a reference to this object so that method calls can be chained together.
+         */
+        Builder<RequestT, ResponseT> scheduledExecutorService(ScheduledExecutorService scheduledExecutorService);
+
+        /**
+         * Defines the function that sends a polling request, such as {@code client::describeInstances}.
+         *
+         * @param pollingFunction the polling function
+         * @return a reference to this object so that method calls can be chained together.
+         */
+        Builder<RequestT, ResponseT> pollingFunction(Function<RequestT, CompletableFuture<ResponseT>> pollingFunction);
+
+        /**
+         * Defines the list member of the polling request that identifies the resources to wait for, such as the instance IDs
+         * of a {@code DescribeInstances} request. Requests that are equal apart from this member are combined by setting it
+         * to the union of their values. Requests for which this member is empty are never combined.
+         *
+         * <p>If no batch member is configured, every wait is polled with its own request.
+         *
+         * @param getter returns the value of the batch member of a request
+         * @param setter returns a copy of a request with its batch member set to the provided value
+         * @return a reference to this object so that method calls can be chained together.
+         */
+        Builder<RequestT, ResponseT> batchMember(Function<RequestT, List<String>> getter,
+                                                 BiFunction<RequestT, List<String>, RequestT> setter);
+
+        /**
+         * Defines the function that narrows the response of a combined request down to the resources of one of the requests
+         * that were combined, before the waiter acceptors are matched against it. By default, the response is not narrowed
+         * down, which is only correct if the acceptors match each resource individually.
+         *
+         * @param responseFilter returns the response for the provided request, given the response of the combined request
+         * @return a reference to this object so that method calls can be chained together.
+         */
+        Builder<RequestT, ResponseT> responseFilter(BiFunction<RequestT, ResponseT, ResponseT> responseFilter);
+
+        /**
+         * Defines the maximum number of values of the batch member of a combined request. Defaults to 100.
+         *
+         * @param maxBatchSize the maximum batch size
+         * @return a reference to this object so that method calls can be chained together.
+         */
+        Builder<RequestT, ResponseT> maxBatchSize(Integer maxBatchSize);
+
+        /**
+         * Defines how long a wait that is ready to be polled is held back to be combined with other waits. Defaults to 100
+         * milliseconds.
+         *
+         * @param batchWindow the batch window
+         * @return a reference to this object so that method calls can be chained together.
+         */
+        Builder<RequestT, ResponseT> batchWindow(Duration batchWindow);
+
+        /**
+         * An immutable object that is created from the properties that have been set on the builder.
+         * @return a reference to this object so that method calls can be chained together.
+         */
+        BatchingAsyncWaiter<RequestT, ResponseT> build();
+    }
+}
@@ -33,6 +33,7 @@ import java.net.URI;
 import java.time.Duration;
 import java.util.Arrays;
 import java.util.Optional;
+import java.util.concurrent.ScheduledExecutorService;
 import org.assertj.core.api.Assertions;
 import org.junit.Before;
 import org.junit.Test;
@@ -160,6 +161,31 @@ public class DefaultClientBuilderTest {
         verify(defaultAsyncHttpClientFactory, never()).buildWithDefaults(any());
     }
 
+    @Test
+    public void syncClients_shareTimeoutSchedulerThatSurvivesClientClose() {
+        TestClient client = testClientBuilder().build();
+        TestClient otherClient = testClientBuilder().build();
+        ScheduledExecutorService scheduler = client.clientConfiguration.option(SdkClientOption.SCHEDULED_EXECUTOR_SERVICE);
+
+        assertThat(scheduler).isSameAs(otherClient.clientConfiguration.option(SdkClientOption.SCHEDULED_EXECUTOR_SERVICE));
+
+        client.clientConfiguration.close();
+        assertThat(scheduler.isShutdown()).isFalse();
+    }
+
+    @Test
+    public void asyncClients_haveOwnScheduler() {
+        TestAsyncClient client = testAsyncClientBuilder().build();
+        TestAsyncClient otherClient = testAsyncClientBuilder().build();
+        ScheduledExecutorService scheduler = client.clientConfiguration.option(SdkClientOption.SCHEDULED_EXECUTOR_SERVICE);
+
+        assertThat(scheduler).isNotSameAs(otherClient.clientConfiguration.option(SdkClientOption.SCHEDULED_EXECUTOR_SERVICE));
+
+        client.clientConfiguration.close();
+        otherClient.clientConfiguration.close();
+        assertThat(scheduler.isShutdown()).isTrue();
+    }
+
     @Test
     public void clientBuilderFieldsHaveBeanEquivalents() throws Exception {
         SdkClientBuilder<TestClientBuilder, TestClient> builder = testClientBuilder();
@@ -0,0 +1,85 @@
+/*
+ * Copyright Amazon.com, Inc. or its affiliates. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License").
+ * You may not use this file except in compliance with the License.
+ * A copy of the License is located at
+ *
+ *  http://aws.amazon.com/apache2.0
+ *
+ * or in the "license" file accompanying this file. This file is distributed
+ * on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either
+ * express or implied. See the License for the specific language governing
+ * permissions and limitations under the License.
+ */
+
+package software.amazon.awssdk.core.internal.async;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import io.reactivex.Flowable;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.CompletableFuture;
+import org.junit.Test;
+import software.amazon.awssdk.core.ResponseBytes;
+import software.amazon.awssdk.core.async.SdkPublisher;
+import software.amazon.awssdk.core.interceptor.ExecutionAttributes;
+import software.amazon.awssdk.core.interceptor.SdkExecutionAttribute;
+import software.amazon.awssdk.core.interceptor.SdkInternalExecutionAttribute;
+import software.amazon.awssdk.core.metrics.CoreMetric;
+import software.amazon.awssdk.core.util.ByteBufferPool;
+import software.amazon.awssdk.metrics.MetricCollection;
+import software.amazon.awssdk.metrics.MetricCollector;
+
+public class ByteArrayAsyncResponseTransformerTest {
+
+    @Test
+    public void heapSlicedAndDirectBuffers_allContentIsCollected() {
+        ByteBuffer sliced = ByteBuffer.wrap("xxbar".getBytes(StandardCharsets.UTF_8));
+        sliced.position(2);
+        ByteBuffer direct = ByteBuffer.allocateDirect(3);
+        direct.put("baz".getBytes(StandardCharsets.UTF_8));
+        direct.flip();
+
+        ByteArrayAsyncResponseTransformer<Object> transformer = new ByteArrayAsyncResponseTransformer<>();
+        CompletableFuture<ResponseBytes<Object>> result = transformer.prepare();
+        transformer.onResponse(new Object());
+        transformer.onStream(SdkPublisher.adapt(Flowable.just(ByteBuffer.wrap("foo".getBytes(StandardCharsets.UTF_8)),
+                                                              sliced.slice(),
+                                                              direct)));
+
+        assertThat(result.join().asUtf8String()).isEqualTo("foobarbaz");
+        assertThat(direct.remaining()).isEqualTo(3);
+    }
+
+    @Test
+    public void executionAttributesConfigured_clientPoolIsUsedAndReported() {
+        ByteBufferPool pool = ByteBufferPool.builder().build();
+        MetricCollector attemptCollector = MetricCollector.create("ApiCallAttempt");
+        ExecutionAttributes attributes = new ExecutionAttributes();
+        attributes.putAttribute(SdkInternalExecutionAttribute.BYTE_BUFFER_POOL, pool);
+        attributes.putAttribute(SdkExecutionAttribute.API_CALL_ATTEMPT_METRIC_COLLECTOR, attemptCollector);
+
+        ByteArrayAsyncResponseTransformer<Object> transformer = new ByteArrayAsyncResponseTransformer<>();
+        transformer.executionAttributes(attributes);
+        CompletableFuture<ResponseBytes<Object>> result = transformer.prepare();
+        transformer.onResponse(new Object());
+        transformer.onStream(SdkPublisher.adapt(Flowable.just(direct("foo"), direct("bar"))));
+
+        assertThat(result.join().asUtf8String()).isEqualTo("foobar");
+        assertThat(pool.missCount()).isEqualTo(1);
+        assertThat(pool.hitCount()).isEqualTo(1);
+        MetricCollection metrics = attemptCollector.collect();
+        assertThat(metrics.metricValues(CoreMetric.BYTE_BUFFER_POOL_HITS)).containsExactly(1);
+        assertThat(metrics.metricValues(CoreMetric.BYTE_BUFFER_POOL_MISSES)).containsExactly(1);
+    }
+
+    private static ByteBuffer direct(String content) {
+        byte[] bytes = content.getBytes(StandardCharsets.UTF_8);
+        ByteBuffer direct = ByteBuffer.allocateDirect(bytes.length);
+        direct.put(bytes);
+        direct.flip();
+        return direct;
+    }
+}
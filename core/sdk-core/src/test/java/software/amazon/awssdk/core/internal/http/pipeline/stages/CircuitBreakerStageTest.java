@@ -0,0 +1,262 @@
+/*
+ * Copyright Amazon.com, Inc. or its affiliates. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License").
+ * You may not use this file except in compliance with the License.
+ * A copy of the License is located at
+ *
+ *  http://aws.amazon.com/apache2.0
+ *
+ * or in the "license" file accompanying this file. This file is distributed
+ * on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either
+ * express or implied. See the License for the specific language governing
+ * permissions and limitations under the License.
+ */
+
+
+package software.amazon.awssdk.core.internal.http.pipeline.stages;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.Matchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.util.concurrent.CompletableFuture;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import software.amazon.awssdk.core.Response;
+import software.amazon.awssdk.core.client.config.SdkClientConfiguration;
+import software.amazon.awssdk.core.client.config.SdkClientOption;
+import software.amazon.awssdk.core.exception.AbortedException;
+import software.amazon.awssdk.core.exception.CircuitBreakerOpenException;
+import software.amazon.awssdk.core.exception.SdkServiceException;
+import software.amazon.awssdk.core.http.ExecutionContext;
+import software.amazon.awssdk.core.http.NoopTestRequest;
+import software.amazon.awssdk.core.interceptor.ExecutionAttributes;
+import software.amazon.awssdk.core.internal.http.HttpClientDependencies;
+import software.amazon.awssdk.core.internal.http.RequestExecutionContext;
+import software.amazon.awssdk.core.internal.http.pipeline.RequestPipeline;
+import software.amazon.awssdk.core.internal.retry.CircuitBreakerRegistry;
+import software.amazon.awssdk.core.metrics.CoreMetric;
+import software.amazon.awssdk.core.retry.CircuitBreakerPolicy;
+import software.amazon.awssdk.core.retry.RetryMode;
+import software.amazon.awssdk.core.retry.RetryPolicy;
+import software.amazon.awssdk.http.SdkHttpFullRequest;
+import software.amazon.awssdk.http.SdkHttpFullResponse;
+import software.amazon.awssdk.http.SdkHttpMethod;
+import software.amazon.awssdk.metrics.MetricCollection;
+import software.amazon.awssdk.metrics.MetricCollector;
+import software.amazon.awssdk.metrics.NoOpMetricCollector;
+
+public class CircuitBreakerStageTest {
+    private RequestPipeline<SdkHttpFullRequest, Response<Object>> mockChildPipeline;
+    private CircuitBreakerPolicy circuitBreakerPolicy;
+
+    @BeforeEach
+    public void setup() {
+        mockChildPipeline = mock(RequestPipeline.class);
+        circuitBreakerPolicy = CircuitBreakerPolicy.builder()
+                                                   .slidingWindowSize(4)
+                                                   .minimumNumberOfCalls(4)
+                                                   .openStateDuration(Duration.ofMinutes(1))
+                                                   .build();
+    }
+
+    @Test
+    public void noPolicy_passesThrough() throws Exception {
+        mockChildResponse(response(500));
+        CircuitBreakerStage<Object> stage = new CircuitBreakerStage<>(clientDependencies(null), mockChildPipeline);
+
+        for (int i = 0; i < 10; i++) {
+            stage.execute(createHttpRequest("amazon.com"), createExecutionContext());
+        }
+
+        verify(mockChildPipeline, times(10)).execute(any(), any());
+    }
+
+    @Test
+    public void serverErrors_openCircuit_andFailFast() throws Exception {
+        mockChildResponse(response(503));
+        CircuitBreakerStage<Object> stage = createStage();
+
+        for (int i = 0; i < 4; i++) {
+            stage.execute(createHttpRequest("amazon.com"), createExecutionContext());
+        }
+
+        assertThatThrownBy(() -> stage.execute(createHttpRequest("amazon.com"), createExecutionContext()))
+            .isInstanceOf(CircuitBreakerOpenException.class)
+            .hasMessageContaining("amazon.com");
+        verify(mockChildPipeline, times(4)).execute(any(), any());
+    }
+
+    @Test
+    public void exceptions_openCircuit() throws Exception {
+        when(mockChildPipeline.execute(any(), any())).thenThrow(new IOException("Connection refused"));
+        CircuitBreakerStage<Object> stage = createStage();
+
+        for (int i = 0; i < 4; i++) {
+            assertThatThrownBy(() -> stage.execute(createHttpRequest("amazon.com"), createExecutionContext()))
+                .isInstanceOf(IOException.class);
+        }
+
+        assertThatThrownBy(() -> stage.execute(createHttpRequest("amazon.com"), createExecutionContext()))
+            .isInstanceOf(CircuitBreakerOpenException.class);
+    }
+
+    @Test
+    public void abortedAttempts_doNotOpenCircuit() throws Exception {
+        when(mockChildPipeline.execute(any(), any())).thenThrow(AbortedException.create("Thread was interrupted"));
+        CircuitBreakerStage<Object> stage = createStage();
+
+        for (int i = 0; i < 10; i++) {
+            assertThatThrownBy(() -> stage.execute(createHttpRequest("amazon.com"), createExecutionContext()))
+                .isInstanceOf(AbortedException.class);
+        }
+
+        verify(mockChildPipeline, times(10)).execute(any(), any());
+    }
+
+    @Test
+    public void cancelledAsyncAttempts_doNotOpenCircuit() throws Exception {
+        RequestPipeline<SdkHttpFullRequest, CompletableFuture<Response<Object>>> mockAsyncChildPipeline =
+            mock(RequestPipeline.class);
+        when(mockAsyncChildPipeline.execute(any(), any())).thenAnswer(i -> new CompletableFuture<>());
+        AsyncCircuitBreakerStage<Object> stage =
+            new AsyncCircuitBreakerStage<>(clientDependencies(circuitBreakerPolicy), mockAsyncChildPipeline);
+
+        for (int i = 0; i < 10; i++) {
+            stage.execute(createHttpRequest("amazon.com"), createExecutionContext()).cancel(true);
+        }
+
+        verify(mockAsyncChildPipeline, times(10)).execute(any(), any());
+    }
+
+    @Test
+    public void clientErrors_doNotOpenCircuit() throws Exception {
+        mockChildResponse(response(404));
+        CircuitBreakerStage<Object> stage = createStage();
+
+        for (int i = 0; i < 10; i++) {
+            stage.execute(createHttpRequest("amazon.com"), createExecutionContext());
+        }
+
+        verify(mockChildPipeline, times(10)).execute(any(), any());
+    }
+
+    @Test
+    public void circuitsAreKeyedByHost() throws Exception {
+        mockChildResponse(response(500));
+        CircuitBreakerStage<Object> stage = createStage();
+
+        for (int i = 0; i < 4; i++) {
+            stage.execute(createHttpRequest("amazon.com"), createExecutionContext());
+        }
+
+        stage.execute(createHttpRequest("aws.amazon.com"), createExecutionContext());
+        assertThatThrownBy(() -> stage.execute(createHttpRequest("amazon.com"), createExecutionContext()))
+            .isInstanceOf(CircuitBreakerOpenException.class);
+    }
+
+    @Test
+    public void stateAndTransition_areReportedAsAttemptMetrics() throws Exception {
+        mockChildResponse(response(500));
+        CircuitBreakerStage<Object> stage = createStage();
+
+        for (int i = 0; i < 3; i++) {
+            stage.execute(createHttpRequest("amazon.com"), createExecutionContext());
+        }
+
+        MetricCollection openingAttempt = executeWithAttemptMetrics(stage);
+        assertThat(openingAttempt.metricValues(CoreMetric.CIRCUIT_BREAKER_STATE)).containsExactly("OPEN");
+        assertThat(openingAttempt.metricValues(CoreMetric.CIRCUIT_BREAKER_STATE_TRANSITION)).containsExactly("OPEN");
+
+        MetricCollection rejectedAttempt = executeWithAttemptMetrics(stage);
+        assertThat(rejectedAttempt.metricValues(CoreMetric.CIRCUIT_BREAKER_STATE)).containsExactly("OPEN");
+        assertThat(rejectedAttempt.metricValues(CoreMetric.CIRCUIT_BREAKER_STATE_TRANSITION)).isEmpty();
+    }
+
+    @Test
+    public void openCircuit_isNotRetried() throws Exception {
+        mockChildResponse(response(500));
+        HttpClientDependencies dependencies = clientDependencies(circuitBreakerPolicy);
+        RetryableStage<Object> stage = new RetryableStage<>(dependencies,
+                                                            new CircuitBreakerStage<>(dependencies, mockChildPipeline));
+
+        // The first API call is attempted 4 times, which opens the circuit.
+        assertThatThrownBy(() -> stage.execute(createHttpRequest("amazon.com"), createExecutionContext()))
+            .isInstanceOf(SdkServiceException.class);
+        assertThatThrownBy(() -> stage.execute(createHttpRequest("amazon.com"), createExecutionContext()))
+            .isInstanceOf(CircuitBreakerOpenException.class);
+
+        verify(mockChildPipeline, times(4)).execute(any(), any());
+    }
+
+    private MetricCollection executeWithAttemptMetrics(CircuitBreakerStage<Object> stage) throws Exception {
+        RequestExecutionContext context = createExecutionContext();
+        MetricCollector attemptMetrics = MetricCollector.create("ApiCallAttempt");
+        context.attemptMetricCollector(attemptMetrics);
+        try {
+            stage.execute(createHttpRequest("amazon.com"), context);
+        } catch (CircuitBreakerOpenException e) {
+            // Expected once the circuit is open.
+        }
+        return attemptMetrics.collect();
+    }
+
+    private CircuitBreakerStage<Object> createStage() {
+        return new CircuitBreakerStage<>(clientDependencies(circuitBreakerPolicy), mockChildPipeline);
+    }
+
+    private static Response<Object> response(int statusCode) {
+        return Response.builder()
+                       .isSuccess(false)
+                       .httpResponse(SdkHttpFullResponse.builder().statusCode(statusCode).build())
+                       .exception(SdkServiceException.builder().statusCode(statusCode).build())
+                       .build();
+    }
+
+    private static HttpClientDependencies clientDependencies(CircuitBreakerPolicy circuitBreakerPolicy) {
+        SdkClientConfiguration clientConfiguration =
+            SdkClientConfiguration.builder()
+                                  .option(SdkClientOption.RETRY_POLICY, RetryPolicy.builder(RetryMode.STANDARD)
+                                                                                   .numRetries(3)
+                                                                                   .backoffStrategy(c -> Duration.ZERO)
+                                                                                   .build())
+                                  .option(SdkClientOption.CIRCUIT_BREAKER_POLICY, circuitBreakerPolicy)
+                                  .option(SdkClientOption.CIRCUIT_BREAKER_REGISTRY,
+                                          circuitBreakerPolicy == null ? null
+                                                                       : CircuitBreakerRegistry.create(circuitBreakerPolicy))
+                                  .build();
+
+        return HttpClientDependencies.builder()
+                                     .clientConfiguration(clientConfiguration)
+                                     .build();
+    }
+
+    private static RequestExecutionContext createExecutionContext() {
+        return RequestExecutionContext.builder()
+                                      .originalRequest(NoopTestRequest.builder().build())
+                                      .executionContext(ExecutionContext.builder()
+                                                                        .executionAttributes(new ExecutionAttributes())
+                                                                        .metricCollector(NoOpMetricCollector.create())
+                                                                        .build())
+                                      .build();
+    }
+
+    private static SdkHttpFullRequest createHttpRequest(String host) {
+        return SdkHttpFullRequest.builder()
+                                 .method(SdkHttpMethod.GET)
+                                 .protocol("https")
+                                 .host(host)
+                                 .build();
+    }
+
+    private void mockChildResponse(Response<Object> response) throws Exception {
+        when(mockChildPipeline.execute(any(SdkHttpFullRequest.class), any(RequestExecutionContext.class))).thenReturn(response);
+    }
+}
@@ -0,0 +1,237 @@
+/*
+ * Copyright Amazon.com, Inc. or its affiliates. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License").
+ * You may not use this file except in compliance with the License.
+ * A copy of the License is located at
+ *
+ *  http://aws.amazon.com/apache2.0
+ *
+ * or in the "license" file accompanying this file. This file is distributed
+ * on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either
+ * express or implied. See the License for the specific language governing
+ * permissions and limitations under the License.
+ */
+
+package software.amazon.awssdk.core.internal.http.pipeline.stages.utils;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Matchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import software.amazon.awssdk.core.http.ExecutionContext;
+import software.amazon.awssdk.core.interceptor.ExecutionAttributes;
+import software.amazon.awssdk.core.interceptor.SdkExecutionAttribute;
+import software.amazon.awssdk.core.internal.InternalCoreExecutionAttribute;
+import software.amazon.awssdk.core.internal.http.RequestExecutionContext;
+import software.amazon.awssdk.core.internal.retry.HedgingLatencyTrackers;
+import software.amazon.awssdk.core.metrics.CoreMetric;
+import software.amazon.awssdk.core.retry.HedgingPolicy;
+import software.amazon.awssdk.core.retry.RetryPolicy;
+import software.amazon.awssdk.core.retry.conditions.TokenBucketRetryCondition;
+import software.amazon.awssdk.http.SdkHttpFullRequest;
+import software.amazon.awssdk.http.SdkHttpMethod;
+import software.amazon.awssdk.http.SdkHttpResponse;
+import software.amazon.awssdk.http.async.AsyncExecuteRequest;
+import software.amazon.awssdk.http.async.SdkAsyncHttpClient;
+import software.amazon.awssdk.http.async.SdkAsyncHttpResponseHandler;
+import software.amazon.awssdk.metrics.MetricCollection;
+import software.amazon.awssdk.metrics.MetricCollector;
+import utils.ValidSdkObjects;
+
+public class AsyncHedgedRequestExecutorTest {
+    private static final String OPERATION = "GetItem";
+
+    private ScheduledExecutorService scheduledExecutor;
+    private FakeHttpClient httpClient;
+    private TokenBucketRetryCondition tokenBucket;
+    private MetricCollector attemptCollector;
+
+    @Before
+    public void setup() {
+        scheduledExecutor = Executors.newSingleThreadScheduledExecutor();
+        httpClient = new FakeHttpClient();
+        tokenBucket = TokenBucketRetryCondition.builder().tokenBucketSize(10).exceptionCostFunction(e -> 5).build();
+        attemptCollector = MetricCollector.create("ApiCallAttempt");
+    }
+
+    @After
+    public void teardown() {
+        scheduledExecutor.shutdownNow();
+    }
+
+    @Test
+    public void shouldHedge_onlyFirstAttemptOfHedgeableOperation() {
+        HedgingLatencyTrackers trackers =
+            HedgingLatencyTrackers.create(HedgingPolicy.builder().addHedgeableOperation(OPERATION).build());
+        RequestExecutionContext context = context(OPERATION);
+
+        assertThat(AsyncHedgedRequestExecutor.shouldHedge(null, request(), context)).isFalse();
+        assertThat(AsyncHedgedRequestExecutor.shouldHedge(trackers, request(), context)).isTrue();
+        assertThat(AsyncHedgedRequestExecutor.shouldHedge(trackers, request(), context("PutItem"))).isFalse();
+
+        context.executionAttributes().putAttribute(InternalCoreExecutionAttribute.EXECUTION_ATTEMPT, 2);
+        assertThat(AsyncHedgedRequestExecutor.shouldHedge(trackers, request(), context)).isFalse();
+    }
+
+    @Test
+    public void initialRequestRespondsBeforeDelay_noHedgeSent() throws Exception {
+        SdkAsyncHttpResponseHandler handler = mock(SdkAsyncHttpResponseHandler.class);
+        CompletableFuture<Void> result = executor(Duration.ofSeconds(10)).execute(request(), handler, false, context(OPERATION));
+
+        httpClient.respond(0);
+
+        assertThat(result).isCompleted();
+        assertThat(httpClient.requests).hasSize(1);
+        MetricCollection metrics = attemptCollector.collect();
+        assertThat(metrics.metricValues(CoreMetric.HEDGE_COUNT)).containsExactly(0);
+        assertThat(metrics.metricValues(CoreMetric.HEDGE_WON)).containsExactly(false);
+    }
+
+    @Test
+    public void initialRequestSlow_hedgeWins_initialRequestCancelled() throws Exception {
+        SdkAsyncHttpResponseHandler handler = mock(SdkAsyncHttpResponseHandler.class);
+        CompletableFuture<Void> result = executor(Duration.ofMillis(10)).execute(request(), handler, false, context(OPERATION));
+
+        httpClient.awaitRequests(2);
+        httpClient.respond(1);
+
+        assertThat(result).isCompleted();
+        assertThat(httpClient.futures.get(0)).isCompletedExceptionally();
+        verify(handler).onHeaders(RESPONSE);
+        MetricCollection metrics = attemptCollector.collect();
+        assertThat(metrics.metricValues(CoreMetric.HEDGE_COUNT)).containsExactly(1);
+        assertThat(metrics.metricValues(CoreMetric.HEDGE_WON)).containsExactly(true);
+        assertThat(tokenBucket.tokensAvailable()).isEqualTo(10);
+    }
+
+    @Test
+    public void initialRequestRespondsAfterHedgeSent_hedgeCancelled_tokensReturned() throws Exception {
+        SdkAsyncHttpResponseHandler handler = mock(SdkAsyncHttpResponseHandler.class);
+        CompletableFuture<Void> result = executor(Duration.ofMillis(10)).execute(request(), handler, false, context(OPERATION));
+
+        httpClient.awaitRequests(2);
+        assertThat(tokenBucket.tokensAvailable()).isEqualTo(5);
+        httpClient.respond(0);
+
+        assertThat(result).isCompleted();
+        assertThat(httpClient.futures.get(1)).isCompletedExceptionally();
+        assertThat(attemptCollector.collect().metricValues(CoreMetric.HEDGE_WON)).containsExactly(false);
+        assertThat(tokenBucket.tokensAvailable()).isEqualTo(10);
+    }
+
+    @Test
+    public void initialRequestFailsAfterHedgeSent_hedgeResponseDelivered() throws Exception {
+        SdkAsyncHttpResponseHandler handler = mock(SdkAsyncHttpResponseHandler.class);
+        CompletableFuture<Void> result = executor(Duration.ofMillis(10)).execute(request(), handler, false, context(OPERATION));
+
+        httpClient.awaitRequests(2);
+        httpClient.fail(0, new IOException());
+
+        verify(handler, never()).onError(any());
+        assertThat(result).isNotDone();
+
+        httpClient.respond(1);
+        assertThat(result).isCompleted();
+    }
+
+    @Test
+    public void bothRequestsFail_lastFailureDelivered() throws Exception {
+        SdkAsyncHttpResponseHandler handler = mock(SdkAsyncHttpResponseHandler.class);
+        CompletableFuture<Void> result = executor(Duration.ofMillis(10)).execute(request(), handler, false, context(OPERATION));
+
+        httpClient.awaitRequests(2);
+        IOException lastFailure = new IOException();
+        httpClient.fail(0, new IOException());
+        httpClient.fail(1, lastFailure);
+
+        verify(handler).onError(lastFailure);
+        assertThat(result).isCompletedExceptionally();
+        assertThat(tokenBucket.tokensAvailable()).isEqualTo(5);
+    }
+
+    @Test
+    public void noTokenBucketCapacity_noHedgeSent() throws Exception {
+        tokenBucket.tryAcquireCapacity(10);
+        SdkAsyncHttpResponseHandler handler = mock(SdkAsyncHttpResponseHandler.class);
+        executor(Duration.ofMillis(10)).execute(request(), handler, false, context(OPERATION));
+
+        Thread.sleep(200);
+
+        assertThat(httpClient.requests).hasSize(1);
+    }
+
+    private AsyncHedgedRequestExecutor executor(Duration minimumDelay) {
+        HedgingPolicy policy = HedgingPolicy.builder().addHedgeableOperation(OPERATION).minimumDelay(minimumDelay).build();
+        RetryPolicy retryPolicy = RetryPolicy.builder().retryCapacityCondition(tokenBucket).build();
+        return new AsyncHedgedRequestExecutor(httpClient, scheduledExecutor, HedgingLatencyTrackers.create(policy),
+                                              retryPolicy);
+    }
+
+    private RequestExecutionContext context(String operationName) {
+        ExecutionAttributes attributes = new ExecutionAttributes();
+        attributes.putAttribute(SdkExecutionAttribute.OPERATION_NAME, operationName);
+        RequestExecutionContext context = RequestExecutionContext.builder()
+                                                                 .originalRequest(ValidSdkObjects.sdkRequest())
+                                                                 .executionContext(ExecutionContext.builder()
+                                                                                                   .executionAttributes(attributes)
+                                                                                                   .build())
+                                                                 .build();
+        context.attemptMetricCollector(attemptCollector);
+        return context;
+    }
+
+    private static SdkHttpFullRequest request() {
+        return ValidSdkObjects.sdkHttpFullRequest().method(SdkHttpMethod.POST).build();
+    }
+
+    private static final SdkHttpResponse RESPONSE = SdkHttpResponse.builder().statusCode(200).build();
+
+    private static final class FakeHttpClient implements SdkAsyncHttpClient {
+        private final List<AsyncExecuteRequest> requests = new CopyOnWriteArrayList<>();
+        private final List<CompletableFuture<Void>> futures = new CopyOnWriteArrayList<>();
+
+        @Override
+        public CompletableFuture<Void> execute(AsyncExecuteRequest request) {
+            CompletableFuture<Void> future = new CompletableFuture<>();
+            futures.add(future);
+            requests.add(request);
+            return future;
+        }
+
+        private void awaitRequests(int count) throws InterruptedException {
+            long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+            while (requests.size() < count && System.nanoTime() < deadline) {
+                Thread.sleep(5);
+            }
+            assertThat(requests).hasSize(count);
+        }
+
+        private void respond(int index) {
+            requests.get(index).responseHandler().onHeaders(RESPONSE);
+            futures.get(index).complete(null);
+        }
+
+        private void fail(int index, Throwable t) {
+            requests.get(index).responseHandler().onError(t);
+            futures.get(index).completeExceptionally(t);
+        }
+
+        @Override
+        public void close() {
+        }
+    }
+}
@@ -0,0 +1,191 @@
+/*
+ * Copyright Amazon.com, Inc. or its affiliates. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License").
+ * You may not use this file except in compliance with the License.
+ * A copy of the License is located at
+ *
+ *  http://aws.amazon.com/apache2.0
+ *
+ * or in the "license" file accompanying this file. This file is distributed
+ * on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either
+ * express or implied. See the License for the specific language governing
+ * permissions and limitations under the License.
+ */
+
+package software.amazon.awssdk.core.internal.http.timers;
+
+import static java.util.concurrent.TimeUnit.MILLISECONDS;
+import static java.util.concurrent.TimeUnit.SECONDS;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
+import org.junit.After;
+import org.junit.Test;
+import software.amazon.awssdk.utils.ThreadFactoryBuilder;
+
+public class HashedWheelTimerTest {
+    private HashedWheelTimer timer;
+
+    @After
+    public void teardown() {
+        if (timer != null) {
+            timer.shutdownNow();
+        }
+    }
+
+    @Test
+    public void scheduledTask_runsAfterItsDelay() throws Exception {
+        timer = newTimer(Duration.ofMillis(1), 8, null);
+
+        long start = System.nanoTime();
+        AtomicLong ranAfterNanos = new AtomicLong();
+        ScheduledFuture<?> future = timer.schedule(() -> ranAfterNanos.set(System.nanoTime() - start), 50, MILLISECONDS);
+
+        future.get(5, SECONDS);
+        assertThat(future.isDone()).isTrue();
+        assertThat(ranAfterNanos.get()).isGreaterThanOrEqualTo(MILLISECONDS.toNanos(50));
+    }
+
+    @Test
+    public void taskWithDelayLongerThanOneRevolution_runsAfterItsDelay() throws Exception {
+        timer = newTimer(Duration.ofMillis(1), 4, null);
+
+        long start = System.nanoTime();
+        ScheduledFuture<Long> future = timer.schedule(() -> System.nanoTime() - start, 30, MILLISECONDS);
+
+        assertThat(future.get(5, SECONDS)).isGreaterThanOrEqualTo(MILLISECONDS.toNanos(30));
+    }
+
+    @Test
+    public void cancelledTask_doesNotRun() throws Exception {
+        timer = newTimer(Duration.ofMillis(1), 8, null);
+
+        AtomicInteger runs = new AtomicInteger();
+        ScheduledFuture<?> cancelled = timer.schedule(runs::incrementAndGet, 20, MILLISECONDS);
+        assertThat(cancelled.cancel(false)).isTrue();
+
+        timer.schedule(() -> { }, 50, MILLISECONDS).get(5, SECONDS);
+        assertThat(runs.get()).isZero();
+        assertThat(cancelled.isCancelled()).isTrue();
+    }
+
+    @Test
+    public void fixedRateTask_runsUntilCancelled() throws Exception {
+        timer = newTimer(Duration.ofMillis(1), 8, null);
+
+        CountDownLatch threeRuns = new CountDownLatch(3);
+        ScheduledFuture<?> future = timer.scheduleAtFixedRate(threeRuns::countDown, 0, 5, MILLISECONDS);
+
+        assertThat(threeRuns.await(5, SECONDS)).isTrue();
+        assertThat(future.cancel(false)).isTrue();
+    }
+
+    @Test
+    public void taskExecutor_runsExpiredTasks() throws Exception {
+        ExecutorService taskExecutor = Executors.newSingleThreadExecutor(new ThreadFactoryBuilder().threadNamePrefix("task")
+                                                                                                   .build());
+        timer = newTimer(Duration.ofMillis(1), 8, taskExecutor);
+
+        AtomicReference<String> threadName = new AtomicReference<>();
+        timer.schedule(() -> threadName.set(Thread.currentThread().getName()), 1, MILLISECONDS).get(5, SECONDS);
+
+        assertThat(threadName.get()).startsWith("task");
+
+        timer.shutdown();
+        assertThat(timer.awaitTermination(5, SECONDS)).isTrue();
+        assertThat(taskExecutor.isShutdown()).isTrue();
+    }
+
+    @Test
+    public void shutdown_runsScheduledTasksAndRejectsNewTasks() throws Exception {
+        timer = newTimer(Duration.ofMillis(1), 8, null);
+
+        ScheduledFuture<?> scheduled = timer.schedule(() -> { }, 20, MILLISECONDS);
+        timer.shutdown();
+
+        assertThat(timer.isShutdown()).isTrue();
+        assertThatThrownBy(() -> timer.schedule(() -> { }, 1, MILLISECONDS)).isInstanceOf(RejectedExecutionException.class);
+        assertThat(timer.awaitTermination(5, SECONDS)).isTrue();
+        assertThat(scheduled.isDone()).isTrue();
+        assertThat(scheduled.isCancelled()).isFalse();
+    }
+
+    @Test
+    public void shutdownNow_cancelsScheduledTasks() throws Exception {
+        timer = newTimer(Duration.ofMillis(1), 8, null);
+
+        ScheduledFuture<?> scheduled = timer.schedule(() -> { }, 1, SECONDS);
+        timer.shutdownNow();
+
+        assertThat(timer.awaitTermination(5, SECONDS)).isTrue();
+        assertThat(scheduled.isCancelled()).isTrue();
+    }
+
+    @Test
+    public void shutdownBeforeAnyTaskIsScheduled_terminatesImmediately() throws Exception {
+        timer = newTimer(Duration.ofMillis(1), 8, null);
+
+        timer.shutdown();
+
+        assertThat(timer.isTerminated()).isTrue();
+    }
+
+    @Test
+    public void concurrentScheduleAndCancel_onlyUncancelledTasksRun() throws Exception {
+        timer = newTimer(Duration.ofMillis(1), 16, null);
+
+        int threads = 8;
+        int tasksPerThread = 1_000;
+        AtomicInteger runs = new AtomicInteger();
+        List<CompletableFuture<List<ScheduledFuture<?>>>> scheduling = new ArrayList<>();
+        ExecutorService schedulers = Executors.newFixedThreadPool(threads);
+        try {
+            for (int i = 0; i < threads; i++) {
+                scheduling.add(CompletableFuture.supplyAsync(() -> {
+                    List<ScheduledFuture<?>> kept = new ArrayList<>();
+                    for (int j = 0; j < tasksPerThread; j++) {
+                        ScheduledFuture<?> future = timer.schedule(runs::incrementAndGet, j % 20, MILLISECONDS);
+                        if (j % 2 == 0) {
+                            future.cancel(false);
+                        } else {
+                            kept.add(future);
+                        }
+                    }
+                    return kept;
+                }, schedulers));
+            }
+
+            for (CompletableFuture<List<ScheduledFuture<?>>> futures : scheduling) {
+                for (ScheduledFuture<?> future : futures.join()) {
+                    future.get(5, SECONDS);
+                }
+            }
+        } finally {
+            schedulers.shutdown();
+        }
+
+        timer.shutdown();
+        assertThat(timer.awaitTermination(5, SECONDS)).isTrue();
+        assertThat(runs.get()).isEqualTo(threads * tasksPerThread / 2);
+    }
+
+    private static HashedWheelTimer newTimer(Duration tickDuration, int ticksPerWheel, ExecutorService taskExecutor) {
+        return new HashedWheelTimer(tickDuration,
+                                    ticksPerWheel,
+                                    new ThreadFactoryBuilder().threadNamePrefix("timer-test").daemonThreads(true).build(),
+                                    taskExecutor);
+    }
+}
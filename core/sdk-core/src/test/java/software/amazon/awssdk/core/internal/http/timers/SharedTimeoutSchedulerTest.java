@@ -0,0 +1,67 @@
+/*
+ * Copyright Amazon.com, Inc. or its affiliates. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License").
+ * You may not use this file except in compliance with the License.
+ * A copy of the License is located at
+ *
+ *  http://aws.amazon.com/apache2.0
+ *
+ * or in the "license" file accompanying this file. This file is distributed
+ * on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either
+ * express or implied. See the License for the specific language governing
+ * permissions and limitations under the License.
+ */
+
+
+package software.amazon.awssdk.core.internal.http.timers;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import org.junit.jupiter.api.Test;
+
+public class SharedTimeoutSchedulerTest {
+
+    @Test
+    public void slowAbort_doesNotDelayOtherTimeouts() throws InterruptedException {
+        ScheduledExecutorService scheduler = SharedTimeoutScheduler.instance();
+        CountDownLatch slowAbortStarted = new CountDownLatch(1);
+        CountDownLatch releaseSlowAbort = new CountDownLatch(1);
+        CountDownLatch otherTimeoutFired = new CountDownLatch(1);
+
+        SyncTimeoutTask slowTask = new SyncTimeoutTask(new Thread(() -> { }));
+        slowTask.abortable(() -> {
+            slowAbortStarted.countDown();
+            try {
+                releaseSlowAbort.await(10, TimeUnit.SECONDS);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        });
+        SyncTimeoutTask otherTask = new SyncTimeoutTask(new Thread(() -> { }));
+        otherTask.abortable(otherTimeoutFired::countDown);
+
+        try {
+            scheduler.schedule(slowTask, 10, TimeUnit.MILLISECONDS);
+            assertThat(slowAbortStarted.await(5, TimeUnit.SECONDS)).isTrue();
+
+            scheduler.schedule(otherTask, 10, TimeUnit.MILLISECONDS);
+            assertThat(otherTimeoutFired.await(5, TimeUnit.SECONDS)).isTrue();
+        } finally {
+            releaseSlowAbort.countDown();
+        }
+    }
+
+    @Test
+    public void shutdown_isIgnored() {
+        ScheduledExecutorService scheduler = SharedTimeoutScheduler.instance();
+
+        scheduler.shutdown();
+        scheduler.shutdownNow();
+
+        assertThat(scheduler.isShutdown()).isFalse();
+    }
+}
@@ -0,0 +1,61 @@
+/*
+ * Copyright Amazon.com, Inc. or its affiliates. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License").
+ * You may not use this file except in compliance with the License.
+ * A copy of the License is located at
+ *
+ *  http://aws.amazon.com/apache2.0
+ *
+ * or in the "license" file accompanying this file. This file is distributed
+ * on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either
+ * express or implied. See the License for the specific language governing
+ * permissions and limitations under the License.
+ */
+
+
+package software.amazon.awssdk.core.internal.retry;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import org.junit.Test;
+import software.amazon.awssdk.core.retry.CircuitBreakerPolicy;
+
+public class CircuitBreakerRegistryTest {
+    private static final CircuitBreakerPolicy POLICY = CircuitBreakerPolicy.builder().build();
+
+    @Test
+    public void sameHost_returnsSameCircuitBreaker() {
+        CircuitBreakerRegistry registry = CircuitBreakerRegistry.create(POLICY);
+        assertThat(registry.circuitBreaker("amazon.com")).isSameAs(registry.circuitBreaker("amazon.com"));
+        assertThat(registry.circuitBreaker("aws.amazon.com")).isNotSameAs(registry.circuitBreaker("amazon.com"));
+    }
+
+    @Test
+    public void registriesCreatedFromSamePolicy_doNotShareCircuitBreakers() {
+        assertThat(CircuitBreakerRegistry.create(POLICY).circuitBreaker("amazon.com"))
+            .isNotSameAs(CircuitBreakerRegistry.create(POLICY).circuitBreaker("amazon.com"));
+    }
+
+    @Test
+    public void moreHostsThanMaximum_evictsLeastRecentlyUsed() {
+        CircuitBreakerRegistry registry = CircuitBreakerRegistry.create(POLICY, 2);
+        CircuitBreaker first = registry.circuitBreaker("bucket-1.s3.amazonaws.com");
+        CircuitBreaker second = registry.circuitBreaker("bucket-2.s3.amazonaws.com");
+        registry.circuitBreaker("bucket-1.s3.amazonaws.com");
+        registry.circuitBreaker("bucket-3.s3.amazonaws.com");
+
+        assertThat(registry.size()).isEqualTo(2);
+        assertThat(registry.circuitBreaker("bucket-1.s3.amazonaws.com")).isSameAs(first);
+        assertThat(registry.circuitBreaker("bucket-2.s3.amazonaws.com")).isNotSameAs(second);
+    }
+
+    @Test
+    public void manyHosts_areBounded() {
+        CircuitBreakerRegistry registry = CircuitBreakerRegistry.create(POLICY);
+        for (int i = 0; i < CircuitBreakerRegistry.DEFAULT_MAX_HOSTS * 2; i++) {
+            registry.circuitBreaker("bucket-" + i + ".s3.amazonaws.com");
+        }
+        assertThat(registry.size()).isEqualTo(CircuitBreakerRegistry.DEFAULT_MAX_HOSTS);
+    }
+}
@@ -0,0 +1,169 @@
+/*
+ * Copyright Amazon.com, Inc. or its affiliates. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License").
+ * You may not use this file except in compliance with the License.
+ * A copy of the License is located at
+ *
+ *  http://aws.amazon.com/apache2.0
+ *
+ * or in the "license" file accompanying this file. This file is distributed
+ * on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either
+ * express or implied. See the License for the specific language governing
+ * permissions and limitations under the License.
+ */
+
+
+package software.amazon.awssdk.core.internal.retry;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import org.junit.Before;
+import org.junit.Test;
+import software.amazon.awssdk.core.internal.retry.CircuitBreaker.State;
+import software.amazon.awssdk.core.retry.CircuitBreakerPolicy;
+
+public class CircuitBreakerTest {
+    private static final Instant START = Instant.parse("2021-01-01T00:00:00Z");
+
+    private final Clock clock = mock(Clock.class);
+    private CircuitBreaker circuitBreaker;
+
+    @Before
+    public void setup() {
+        when(clock.instant()).thenReturn(START);
+        CircuitBreakerPolicy policy = CircuitBreakerPolicy.builder()
+                                                          .failureRateThreshold(50.0)
+                                                          .slidingWindowSize(10)
+                                                          .minimumNumberOfCalls(4)
+                                                          .openStateDuration(Duration.ofSeconds(10))
+                                                          .permittedCallsInHalfOpenState(2)
+                                                          .build();
+        circuitBreaker = new CircuitBreaker(policy, clock);
+    }
+
+    @Test
+    public void failuresBelowMinimumNumberOfCalls_doNotOpen() {
+        failures(3);
+        assertThat(circuitBreaker.state()).isEqualTo(State.CLOSED);
+        assertThat(circuitBreaker.tryAcquirePermission()).isTrue();
+    }
+
+    @Test
+    public void failureRateBelowThreshold_doesNotOpen() {
+        successes(6);
+        failures(4);
+        assertThat(circuitBreaker.state()).isEqualTo(State.CLOSED);
+    }
+
+    @Test
+    public void failureRateAtThreshold_opens() {
+        successes(2);
+        failures(2);
+        assertThat(circuitBreaker.state()).isEqualTo(State.OPEN);
+        assertThat(circuitBreaker.tryAcquirePermission()).isFalse();
+    }
+
+    @Test
+    public void oldOutcomes_slideOutOfWindow() {
+        successes(6);
+        failures(4);
+        assertThat(circuitBreaker.state()).isEqualTo(State.CLOSED);
+
+        // The oldest success leaves the window of 10, so 5 of the last 10 calls failed.
+        failures(1);
+        assertThat(circuitBreaker.state()).isEqualTo(State.OPEN);
+    }
+
+    @Test
+    public void openBreaker_becomesHalfOpenAfterOpenStateDuration() {
+        failures(4);
+        when(clock.instant()).thenReturn(START.plusSeconds(9));
+        assertThat(circuitBreaker.tryAcquirePermission()).isFalse();
+
+        when(clock.instant()).thenReturn(START.plusSeconds(10));
+        assertThat(circuitBreaker.tryAcquirePermission()).isTrue();
+        assertThat(circuitBreaker.state()).isEqualTo(State.HALF_OPEN);
+        assertThat(circuitBreaker.tryAcquirePermission()).isTrue();
+        assertThat(circuitBreaker.tryAcquirePermission()).isFalse();
+    }
+
+    @Test
+    public void halfOpenBreaker_closesWhenAllTrialCallsSucceed() {
+        failures(4);
+        when(clock.instant()).thenReturn(START.plusSeconds(10));
+        assertThat(circuitBreaker.tryAcquirePermission()).isTrue();
+        assertThat(circuitBreaker.tryAcquirePermission()).isTrue();
+
+        circuitBreaker.onSuccess();
+        assertThat(circuitBreaker.state()).isEqualTo(State.HALF_OPEN);
+        circuitBreaker.onSuccess();
+        assertThat(circuitBreaker.state()).isEqualTo(State.CLOSED);
+
+        // The window starts over after closing.
+        failures(3);
+        assertThat(circuitBreaker.state()).isEqualTo(State.CLOSED);
+    }
+
+    @Test
+    public void halfOpenBreaker_reopensWhenTrialCallFails() {
+        failures(4);
+        when(clock.instant()).thenReturn(START.plusSeconds(10));
+        assertThat(circuitBreaker.tryAcquirePermission()).isTrue();
+
+        circuitBreaker.onFailure();
+        assertThat(circuitBreaker.state()).isEqualTo(State.OPEN);
+
+        when(clock.instant()).thenReturn(START.plusSeconds(19));
+        assertThat(circuitBreaker.tryAcquirePermission()).isFalse();
+        when(clock.instant()).thenReturn(START.plusSeconds(20));
+        assertThat(circuitBreaker.tryAcquirePermission()).isTrue();
+    }
+
+    @Test
+    public void releasedTrialPermission_canBeAcquiredAgain() {
+        failures(4);
+        when(clock.instant()).thenReturn(START.plusSeconds(10));
+        assertThat(circuitBreaker.tryAcquirePermission()).isTrue();
+        assertThat(circuitBreaker.tryAcquirePermission()).isTrue();
+        assertThat(circuitBreaker.tryAcquirePermission()).isFalse();
+
+        circuitBreaker.releasePermission();
+        assertThat(circuitBreaker.state()).isEqualTo(State.HALF_OPEN);
+        assertThat(circuitBreaker.tryAcquirePermission()).isTrue();
+    }
+
+    @Test
+    public void outcomesOfCallsPermittedBeforeOpening_areIgnored() {
+        failures(4);
+        circuitBreaker.onSuccess();
+        circuitBreaker.onFailure();
+        assertThat(circuitBreaker.state()).isEqualTo(State.OPEN);
+    }
+
+    @Test
+    public void minimumNumberOfCallsAboveWindowSize_isRejected() {
+        assertThatThrownBy(() -> CircuitBreakerPolicy.builder().slidingWindowSize(5).minimumNumberOfCalls(6).build())
+            .isInstanceOf(IllegalArgumentException.class);
+    }
+
+    private void failures(int count) {
+        for (int i = 0; i < count; i++) {
+            assertThat(circuitBreaker.tryAcquirePermission()).isTrue();
+            circuitBreaker.onFailure();
+        }
+    }
+
+    private void successes(int count) {
+        for (int i = 0; i < count; i++) {
+            assertThat(circuitBreaker.tryAcquirePermission()).isTrue();
+            circuitBreaker.onSuccess();
+        }
+    }
+}
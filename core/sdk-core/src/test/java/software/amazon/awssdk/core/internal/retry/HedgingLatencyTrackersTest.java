@@ -0,0 +1,75 @@
+/*
+ * Copyright Amazon.com, Inc. or its affiliates. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License").
+ * You may not use this file except in compliance with the License.
+ * A copy of the License is located at
+ *
+ *  http://aws.amazon.com/apache2.0
+ *
+ * or in the "license" file accompanying this file. This file is distributed
+ * on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either
+ * express or implied. See the License for the specific language governing
+ * permissions and limitations under the License.
+ */
+
+
+package software.amazon.awssdk.core.internal.retry;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.time.Duration;
+import org.junit.Test;
+import software.amazon.awssdk.core.retry.HedgingPolicy;
+import software.amazon.awssdk.http.SdkHttpMethod;
+
+public class HedgingLatencyTrackersTest {
+    private static final HedgingPolicy POLICY = HedgingPolicy.builder()
+                                                             .delayPercentile(50.0)
+                                                             .minimumDelay(Duration.ofMillis(10))
+                                                             .build();
+
+    @Test
+    public void noObservedLatencies_usesMinimumDelay() {
+        assertThat(HedgingLatencyTrackers.create(POLICY).hedgeDelay("GetItem")).isEqualTo(Duration.ofMillis(10));
+    }
+
+    @Test
+    public void observedLatencies_usePercentileAboveMinimumDelay() {
+        HedgingLatencyTrackers trackers = HedgingLatencyTrackers.create(POLICY);
+        record(trackers, "GetItem", Duration.ofMillis(100));
+        record(trackers, "Query", Duration.ofMillis(1));
+
+        assertThat(trackers.hedgeDelay("GetItem")).isEqualTo(Duration.ofMillis(100));
+        assertThat(trackers.hedgeDelay("Query")).isEqualTo(Duration.ofMillis(10));
+    }
+
+    @Test
+    public void trackersCreatedFromSamePolicy_doNotShareLatencies() {
+        HedgingLatencyTrackers first = HedgingLatencyTrackers.create(POLICY);
+        HedgingLatencyTrackers second = HedgingLatencyTrackers.create(POLICY);
+        record(first, "GetItem", Duration.ofMillis(100));
+
+        assertThat(first.hedgeDelay("GetItem")).isEqualTo(Duration.ofMillis(100));
+        assertThat(second.hedgeDelay("GetItem")).isEqualTo(Duration.ofMillis(10));
+    }
+
+    @Test
+    public void noHedgeableOperations_onlyHedgesGetAndHead() {
+        HedgingLatencyTrackers trackers = HedgingLatencyTrackers.create(POLICY);
+        assertThat(trackers.isHedgeable("GetObject", SdkHttpMethod.GET)).isTrue();
+        assertThat(trackers.isHedgeable("HeadObject", SdkHttpMethod.HEAD)).isTrue();
+        assertThat(trackers.isHedgeable("PutObject", SdkHttpMethod.PUT)).isFalse();
+
+        HedgingLatencyTrackers configured =
+            HedgingLatencyTrackers.create(POLICY.toBuilder().addHedgeableOperation("Query").build());
+        assertThat(configured.isHedgeable("Query", SdkHttpMethod.POST)).isTrue();
+        assertThat(configured.isHedgeable("GetObject", SdkHttpMethod.GET)).isFalse();
+    }
+
+    private static void record(HedgingLatencyTrackers trackers, String operationName, Duration latency) {
+        for (int i = 0; i < 64; i++) {
+            trackers.recordLatency(operationName, latency);
+        }
+    }
+}
@@ -0,0 +1,67 @@
+/*
+ * Copyright Amazon.com, Inc. or its affiliates. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License").
+ * You may not use this file except in compliance with the License.
+ * A copy of the License is located at
+ *
+ *  http://aws.amazon.com/apache2.0
+ *
+ * or in the "license" file accompanying this file. This file is distributed
+ * on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either
+ * express or implied. See the License for the specific language governing
+ * permissions and limitations under the License.
+ */
+
+package software.amazon.awssdk.core.internal.retry;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import java.time.Duration;
+import org.junit.Test;
+
+public class LatencyPercentileTrackerTest {
+
+    @Test
+    public void notEnoughSamples_returnsEmpty() {
+        LatencyPercentileTracker tracker = new LatencyPercentileTracker(95);
+        for (int i = 0; i < 63; i++) {
+            tracker.record(Duration.ofMillis(i));
+        }
+        assertThat(tracker.percentile()).isEmpty();
+    }
+
+    @Test
+    public void enoughSamples_returnsPercentile() {
+        LatencyPercentileTracker tracker = new LatencyPercentileTracker(95);
+        for (int i = 1; i <= 100; i++) {
+            tracker.record(Duration.ofMillis(i));
+        }
+        // Only the first 64 samples have been considered at this point
+        assertThat(tracker.percentile()).contains(Duration.ofMillis(61));
+
+        for (int i = 101; i <= 128; i++) {
+            tracker.record(Duration.ofMillis(i));
+        }
+        assertThat(tracker.percentile()).contains(Duration.ofMillis(122));
+    }
+
+    @Test
+    public void windowIsFull_oldSamplesAreOverwritten() {
+        LatencyPercentileTracker tracker = new LatencyPercentileTracker(50);
+        for (int i = 0; i < 1024; i++) {
+            tracker.record(Duration.ofSeconds(10));
+        }
+        for (int i = 0; i < 1024; i++) {
+            tracker.record(Duration.ofMillis(1));
+        }
+        assertThat(tracker.percentile()).contains(Duration.ofMillis(1));
+    }
+
+    @Test
+    public void invalidPercentile_throws() {
+        assertThatThrownBy(() -> new LatencyPercentileTracker(0)).isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> new LatencyPercentileTracker(101)).isInstanceOf(IllegalArgumentException.class);
+    }
+}
@@ -0,0 +1,89 @@
+/*
+ * Copyright Amazon.com, Inc. or its affiliates. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License").
+ * You may not use this file except in compliance with the License.
+ * A copy of the License is located at
+ *
+ *  http://aws.amazon.com/apache2.0
+ *
+ * or in the "license" file accompanying this file. This file is distributed
+ * on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either
+ * express or implied. See the License for the specific language governing
+ * permissions and limitations under the License.
+ */
+
+package software.amazon.awssdk.core.internal.retry;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.lang.ref.WeakReference;
+import org.junit.After;
+import org.junit.Test;
+import software.amazon.awssdk.core.client.config.SdkClientConfiguration;
+import software.amazon.awssdk.core.client.config.SdkClientOption;
+import software.amazon.awssdk.core.retry.RetryMode;
+import software.amazon.awssdk.core.retry.RetryPolicy;
+
+public class RateLimitingTokenBucketRegistryTest {
+
+    @After
+    public void teardown() {
+        RateLimitingTokenBucketRegistry.clear();
+    }
+
+    @Test
+    public void clientsWithSameServiceAndRateLimiterName_shareBucket() {
+        RateLimitingTokenBucket first = RateLimitingTokenBucketRegistry.resolve("DynamoDB", retryPolicy("table"));
+        RateLimitingTokenBucket second = RateLimitingTokenBucketRegistry.resolve("DynamoDB", retryPolicy("table"));
+
+        assertThat(first).isSameAs(second);
+    }
+
+    @Test
+    public void clientsWithDifferentServiceOrRateLimiterName_doNotShareBucket() {
+        RateLimitingTokenBucket bucket = RateLimitingTokenBucketRegistry.resolve("DynamoDB", retryPolicy("table"));
+
+        assertThat(RateLimitingTokenBucketRegistry.resolve("DynamoDB", retryPolicy("other-table")))
+            .isNotSameAs(bucket);
+        assertThat(RateLimitingTokenBucketRegistry.resolve("S3", retryPolicy("table"))).isNotSameAs(bucket);
+    }
+
+    @Test
+    public void clientsWithoutRateLimiterName_haveTheirOwnBucket() {
+        RateLimitingTokenBucket first = RateLimitingTokenBucketRegistry.resolve("DynamoDB", retryPolicy(null));
+        RateLimitingTokenBucket second = RateLimitingTokenBucketRegistry.resolve("DynamoDB", retryPolicy(null));
+
+        assertThat(first).isNotSameAs(second);
+    }
+
+    @Test
+    public void sharedBucket_isDiscardedOnceNoClientUsesIt() throws InterruptedException {
+        RateLimitingTokenBucket bucket = RateLimitingTokenBucketRegistry.resolve("DynamoDB", retryPolicy("table"));
+        assertThat(RateLimitingTokenBucketRegistry.size()).isEqualTo(1);
+
+        WeakReference<RateLimitingTokenBucket> reference = new WeakReference<>(bucket);
+        bucket = null;
+        for (int i = 0; i < 100 && reference.get() != null; i++) {
+            System.gc();
+            Thread.sleep(10);
+        }
+
+        assertThat(reference.get()).isNull();
+        assertThat(RateLimitingTokenBucketRegistry.size()).isZero();
+    }
+
+    @Test
+    public void forClient_returnsBucketResolvedByClientBuilder() {
+        RateLimitingTokenBucket bucket = new RateLimitingTokenBucket();
+        SdkClientConfiguration clientConfiguration =
+            SdkClientConfiguration.builder().option(SdkClientOption.RATE_LIMITING_TOKEN_BUCKET, bucket).build();
+
+        assertThat(RateLimitingTokenBucketRegistry.forClient(clientConfiguration)).isSameAs(bucket);
+        assertThat(RateLimitingTokenBucketRegistry.forClient(SdkClientConfiguration.builder().build())).isNotNull();
+    }
+
+    private static RetryPolicy retryPolicy(String rateLimiterName) {
+        return RetryPolicy.builder(RetryMode.ADAPTIVE).rateLimiterName(rateLimiterName).build();
+    }
+}
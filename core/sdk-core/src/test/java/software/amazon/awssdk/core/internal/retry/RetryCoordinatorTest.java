@@ -0,0 +1,135 @@
+/*
+ * Copyright Amazon.com, Inc. or its affiliates. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License").
+ * You may not use this file except in compliance with the License.
+ * A copy of the License is located at
+ *
+ *  http://aws.amazon.com/apache2.0
+ *
+ * or in the "license" file accompanying this file. This file is distributed
+ * on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either
+ * express or implied. See the License for the specific language governing
+ * permissions and limitations under the License.
+ */
+
+
+package software.amazon.awssdk.core.internal.retry;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import org.junit.Test;
+import software.amazon.awssdk.http.SdkHttpFullRequest;
+import software.amazon.awssdk.http.SdkHttpMethod;
+
+public class RetryCoordinatorTest {
+    private static final SdkHttpFullRequest REQUEST = request("https", "example.com", 443, "/");
+
+    @Test
+    public void requestsToSameEndpoint_shareLimit() {
+        RetryCoordinator coordinator = RetryCoordinator.create();
+
+        assertThat(coordinator.tryAcquireRetry(request("https", "example.com", 443, "/a"), 1)).isTrue();
+        assertThat(coordinator.tryAcquireRetry(request("https", "example.com", 443, "/b"), 1)).isFalse();
+    }
+
+    @Test
+    public void requestsToDifferentEndpoints_doNotShareLimit() {
+        RetryCoordinator coordinator = RetryCoordinator.create();
+        assertThat(coordinator.tryAcquireRetry(REQUEST, 1)).isTrue();
+
+        assertThat(coordinator.tryAcquireRetry(request("http", "example.com", 80, "/"), 1)).isTrue();
+        assertThat(coordinator.tryAcquireRetry(request("https", "example.com", 8443, "/"), 1)).isTrue();
+        assertThat(coordinator.tryAcquireRetry(request("https", "other.com", 443, "/"), 1)).isTrue();
+    }
+
+    @Test
+    public void differentCoordinators_doNotShareLimit() {
+        assertThat(RetryCoordinator.create().tryAcquireRetry(REQUEST, 1)).isTrue();
+        assertThat(RetryCoordinator.create().tryAcquireRetry(REQUEST, 1)).isTrue();
+    }
+
+    @Test
+    public void tryAcquireRetry_rejectsRetriesAboveLimit() {
+        RetryCoordinator coordinator = RetryCoordinator.create();
+
+        assertThat(coordinator.tryAcquireRetry(REQUEST, 2)).isTrue();
+        assertThat(coordinator.tryAcquireRetry(REQUEST, 2)).isTrue();
+        assertThat(coordinator.tryAcquireRetry(REQUEST, 2)).isFalse();
+        assertThat(coordinator.concurrentRetries(REQUEST)).isEqualTo(2);
+
+        coordinator.releaseRetry(REQUEST);
+        assertThat(coordinator.tryAcquireRetry(REQUEST, 2)).isTrue();
+        assertThat(coordinator.concurrentRetries(REQUEST)).isEqualTo(2);
+    }
+
+    @Test
+    public void zeroLimit_rejectsAllRetries() {
+        assertThat(RetryCoordinator.create().tryAcquireRetry(REQUEST, 0)).isFalse();
+    }
+
+    @Test
+    public void endpointsWithoutRetriesInFlight_areNotTracked() {
+        RetryCoordinator coordinator = RetryCoordinator.create();
+        for (int i = 0; i < 100; i++) {
+            SdkHttpFullRequest request = request("https", "bucket-" + i + ".s3.amazonaws.com", 443, "/");
+            assertThat(coordinator.tryAcquireRetry(request, 1)).isTrue();
+            coordinator.releaseRetry(request);
+        }
+
+        assertThat(coordinator.trackedEndpoints()).isZero();
+    }
+
+    @Test(timeout = 10_000)
+    public void concurrentAcquisitions_neverExceedLimit() throws Exception {
+        RetryCoordinator coordinator = RetryCoordinator.create();
+        int threads = 16;
+        ExecutorService executor = Executors.newFixedThreadPool(threads);
+        CountDownLatch start = new CountDownLatch(1);
+        try {
+            List<Future<Integer>> results = new ArrayList<>();
+            for (int i = 0; i < threads; i++) {
+                results.add(executor.submit(() -> {
+                    start.await();
+                    int acquired = 0;
+                    for (int j = 0; j < 1000; j++) {
+                        if (coordinator.tryAcquireRetry(REQUEST, 4)) {
+                            acquired++;
+                            assertThat(coordinator.concurrentRetries(REQUEST)).isLessThanOrEqualTo(4);
+                            coordinator.releaseRetry(REQUEST);
+                        }
+                    }
+                    return acquired;
+                }));
+            }
+            start.countDown();
+            int total = 0;
+            for (Future<Integer> result : results) {
+                total += result.get();
+            }
+            assertThat(total).isPositive();
+            assertThat(coordinator.concurrentRetries(REQUEST)).isZero();
+            assertThat(coordinator.trackedEndpoints()).isZero();
+        } finally {
+            executor.shutdownNow();
+            executor.awaitTermination(5, TimeUnit.SECONDS);
+        }
+    }
+
+    private static SdkHttpFullRequest request(String protocol, String host, int port, String path) {
+        return SdkHttpFullRequest.builder()
+                                 .protocol(protocol)
+                                 .host(host)
+                                 .port(port)
+                                 .encodedPath(path)
+                                 .method(SdkHttpMethod.GET)
+                                 .build();
+    }
+}
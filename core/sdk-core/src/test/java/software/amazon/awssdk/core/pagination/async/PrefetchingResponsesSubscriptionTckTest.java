@@ -0,0 +1,77 @@
+/*
+ * Copyright Amazon.com, Inc. or its affiliates. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License").
+ * You may not use this file except in compliance with the License.
+ * A copy of the License is located at
+ *
+ *  http://aws.amazon.com/apache2.0
+ *
+ * or in the "license" file accompanying this file. This file is distributed
+ * on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either
+ * express or implied. See the License for the specific language governing
+ * permissions and limitations under the License.
+ */
+
+
+package software.amazon.awssdk.core.pagination.async;
+
+import java.util.concurrent.CompletableFuture;
+import org.reactivestreams.Publisher;
+import org.reactivestreams.tck.PublisherVerification;
+import org.reactivestreams.tck.TestEnvironment;
+import software.amazon.awssdk.core.async.SdkPublisher;
+
+/**
+ * TCK verification test for {@link PrefetchingResponsesSubscription}.
+ */
+public class PrefetchingResponsesSubscriptionTckTest extends PublisherVerification<Long> {
+
+    public PrefetchingResponsesSubscriptionTckTest() {
+        super(new TestEnvironment());
+    }
+
+    @Override
+    public Publisher<Long> createPublisher(long l) {
+        SdkPublisher<Long> publisher = subscriber -> subscriber.onSubscribe(
+            PrefetchingResponsesSubscription.builder()
+                                            .subscriber(subscriber)
+                                            .nextPageFetcher(new PageFetcher(l))
+                                            .maxPrefetchedPages(2)
+                                            .build());
+        return publisher;
+    }
+
+    @Override
+    public Publisher<Long> createFailedPublisher() {
+        // return null to skip related tests
+        return null;
+    }
+
+    @Override
+    public void optional_spec105_emptyStreamMustTerminateBySignallingOnComplete() throws Throwable {
+        // A paginated operation always returns at least one page.
+        notVerified();
+    }
+
+    /**
+     * Simple {@link AsyncPageFetcher} that returns the page numbers as pages.
+     */
+    private static class PageFetcher implements AsyncPageFetcher<Long> {
+        private final long pageCount;
+
+        private PageFetcher(long pageCount) {
+            this.pageCount = pageCount;
+        }
+
+        @Override
+        public boolean hasNextPage(Long oldPage) {
+            return oldPage < pageCount - 1;
+        }
+
+        @Override
+        public CompletableFuture<Long> nextPage(Long oldPage) {
+            return CompletableFuture.completedFuture(oldPage == null ? 0 : oldPage + 1);
+        }
+    }
+}
@@ -0,0 +1,157 @@
+/*
+ * Copyright Amazon.com, Inc. or its affiliates. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License").
+ * You may not use this file except in compliance with the License.
+ * A copy of the License is located at
+ *
+ *  http://aws.amazon.com/apache2.0
+ *
+ * or in the "license" file accompanying this file. This file is distributed
+ * on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either
+ * express or implied. See the License for the specific language governing
+ * permissions and limitations under the License.
+ */
+
+
+package software.amazon.awssdk.core.pagination.async;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.junit.Test;
+import org.reactivestreams.Subscriber;
+import org.reactivestreams.Subscription;
+import software.amazon.awssdk.core.exception.SdkClientException;
+import software.amazon.awssdk.utils.CompletableFutureUtils;
+
+public class PrefetchingResponsesSubscriptionTest {
+
+    @Test
+    public void noPageIsFetchedBeforeFirstRequest() {
+        PageFetcher fetcher = new PageFetcher(10, -1);
+        subscribe(fetcher, 3);
+
+        assertThat(fetcher.fetchedPages.get()).isZero();
+    }
+
+    @Test
+    public void pagesAreFetchedAheadOfDemand_upToMaxPrefetchedPages() {
+        PageFetcher fetcher = new PageFetcher(10, -1);
+        RecordingSubscriber subscriber = subscribe(fetcher, 3);
+
+        subscriber.subscription.request(1);
+        assertThat(subscriber.pages).containsExactly(0);
+        assertThat(fetcher.fetchedPages.get()).isEqualTo(4);
+
+        subscriber.subscription.request(2);
+        assertThat(subscriber.pages).containsExactly(0, 1, 2);
+        assertThat(fetcher.fetchedPages.get()).isEqualTo(6);
+    }
+
+    @Test
+    public void allPagesAreDeliveredInOrder_thenCompleted() {
+        RecordingSubscriber subscriber = subscribe(new PageFetcher(10, -1), 2);
+
+        subscriber.subscription.request(Long.MAX_VALUE);
+
+        assertThat(subscriber.pages).containsExactly(0, 1, 2, 3, 4, 5, 6, 7, 8, 9);
+        assertThat(subscriber.completed).isTrue();
+    }
+
+    @Test
+    public void failedPage_isSignalledAfterPreviousPages() {
+        RecordingSubscriber subscriber = subscribe(new PageFetcher(10, 2), 3);
+
+        subscriber.subscription.request(1);
+        assertThat(subscriber.pages).containsExactly(0);
+        assertThat(subscriber.error).isNull();
+
+        subscriber.subscription.request(5);
+        assertThat(subscriber.pages).containsExactly(0, 1);
+        assertThat(subscriber.error).isInstanceOf(SdkClientException.class).hasMessageContaining("page 2");
+        assertThat(subscriber.completed).isFalse();
+    }
+
+    @Test
+    public void cancelledSubscription_stopsFetching() {
+        PageFetcher fetcher = new PageFetcher(10, -1);
+        RecordingSubscriber subscriber = subscribe(fetcher, 3);
+
+        subscriber.subscription.request(1);
+        subscriber.subscription.cancel();
+        subscriber.subscription.request(5);
+
+        assertThat(subscriber.pages).containsExactly(0);
+        assertThat(fetcher.fetchedPages.get()).isEqualTo(4);
+    }
+
+    private static RecordingSubscriber subscribe(PageFetcher fetcher, int maxPrefetchedPages) {
+        RecordingSubscriber subscriber = new RecordingSubscriber();
+        subscriber.onSubscribe(PrefetchingResponsesSubscription.builder()
+                                                               .subscriber(subscriber)
+                                                               .nextPageFetcher(fetcher)
+                                                               .maxPrefetchedPages(maxPrefetchedPages)
+                                                               .build());
+        return subscriber;
+    }
+
+    private static final class RecordingSubscriber implements Subscriber<Integer> {
+        private final List<Integer> pages = new ArrayList<>();
+        private Subscription subscription;
+        private Throwable error;
+        private boolean completed;
+
+        @Override
+        public void onSubscribe(Subscription subscription) {
+            this.subscription = subscription;
+        }
+
+        @Override
+        public void onNext(Integer page) {
+            pages.add(page);
+        }
+
+        @Override
+        public void onError(Throwable error) {
+            this.error = error;
+        }
+
+        @Override
+        public void onComplete() {
+            completed = true;
+        }
+    }
+
+    /**
+     * Returns the page numbers as pages, failing to fetch the given page.
+     */
+    private static final class PageFetcher implements AsyncPageFetcher<Integer> {
+        private final int pageCount;
+        private final int failingPage;
+        private final AtomicInteger fetchedPages = new AtomicInteger();
+
+        private PageFetcher(int pageCount, int failingPage) {
+            this.pageCount = pageCount;
+            this.failingPage = failingPage;
+        }
+
+        @Override
+        public boolean hasNextPage(Integer oldPage) {
+            return oldPage < pageCount - 1;
+        }
+
+        @Override
+        public CompletableFuture<Integer> nextPage(Integer oldPage) {
+            int page = oldPage == null ? 0 : oldPage + 1;
+            if (page == failingPage) {
+                return CompletableFutureUtils.failedFuture(SdkClientException.create("Failed to fetch page " + page));
+            }
+            fetchedPages.incrementAndGet();
+            return CompletableFuture.completedFuture(page);
+        }
+    }
+}
@@ -0,0 +1,119 @@
+/*
+ * Copyright Amazon.com, Inc. or its affiliates. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License").
+ * You may not use this file except in compliance with the License.
+ * A copy of the License is located at
+ *
+ *  http://aws.amazon.com/apache2.0
+ *
+ * or in the "license" file accompanying this file. This file is distributed
+ * on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either
+ * express or implied. See the License for the specific language governing
+ * permissions and limitations under the License.
+ */
+
+
+package software.amazon.awssdk.core.pagination.sync;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.junit.After;
+import org.junit.Test;
+import software.amazon.awssdk.core.exception.SdkClientException;
+
+public class PrefetchingResponsesIteratorTest {
+    private final ExecutorService executor = Executors.newSingleThreadExecutor();
+
+    @After
+    public void teardown() {
+        executor.shutdownNow();
+    }
+
+    @Test
+    public void allPagesAreReturnedInOrder() {
+        PrefetchingResponsesIterator<Integer> iterator = newIterator(new PageFetcher(10, -1), 3, executor);
+
+        List<Integer> pages = new ArrayList<>();
+        iterator.forEachRemaining(pages::add);
+
+        assertThat(pages).containsExactly(0, 1, 2, 3, 4, 5, 6, 7, 8, 9);
+        assertThat(iterator.hasNext()).isFalse();
+    }
+
+    @Test
+    public void noPageIsFetchedBeforeIterationStarts() {
+        PageFetcher fetcher = new PageFetcher(10, -1);
+        newIterator(fetcher, 3, Runnable::run);
+
+        assertThat(fetcher.fetchedPages.get()).isZero();
+    }
+
+    @Test
+    public void fetchedPagesAreBoundedByMaxPrefetchedPages() {
+        PageFetcher fetcher = new PageFetcher(10, -1);
+        PrefetchingResponsesIterator<Integer> iterator = newIterator(fetcher, 3, Runnable::run);
+
+        assertThat(iterator.hasNext()).isTrue();
+        assertThat(fetcher.fetchedPages.get()).isEqualTo(3);
+
+        assertThat(iterator.next()).isEqualTo(0);
+        assertThat(fetcher.fetchedPages.get()).isEqualTo(4);
+    }
+
+    @Test
+    public void failedPage_isThrownAfterPreviousPages() {
+        PrefetchingResponsesIterator<Integer> iterator = newIterator(new PageFetcher(10, 2), 3, executor);
+
+        assertThat(iterator.next()).isEqualTo(0);
+        assertThat(iterator.next()).isEqualTo(1);
+        assertThat(iterator.hasNext()).isTrue();
+        assertThatThrownBy(iterator::next).isInstanceOf(SdkClientException.class).hasMessageContaining("page 2");
+    }
+
+    private static PrefetchingResponsesIterator<Integer> newIterator(PageFetcher fetcher,
+                                                                     int maxPrefetchedPages,
+                                                                     Executor executor) {
+        return PrefetchingResponsesIterator.builder()
+                                           .nextPageFetcher(fetcher)
+                                           .maxPrefetchedPages(maxPrefetchedPages)
+                                           .executor(executor)
+                                           .build();
+    }
+
+    /**
+     * Returns the page numbers as pages, failing to fetch the given page.
+     */
+    private static final class PageFetcher implements SyncPageFetcher<Integer> {
+        private final int pageCount;
+        private final int failingPage;
+        private final AtomicInteger fetchedPages = new AtomicInteger();
+
+        private PageFetcher(int pageCount, int failingPage) {
+            this.pageCount = pageCount;
+            this.failingPage = failingPage;
+        }
+
+        @Override
+        public boolean hasNextPage(Integer oldPage) {
+            return oldPage < pageCount - 1;
+        }
+
+        @Override
+        public Integer nextPage(Integer oldPage) {
+            int page = oldPage == null ? 0 : oldPage + 1;
+            if (page == failingPage) {
+                throw SdkClientException.create("Failed to fetch page " + page);
+            }
+            fetchedPages.incrementAndGet();
+            return page;
+        }
+    }
+}
@@ -181,6 +181,22 @@ public class RetryPolicyTest {
         RetryPolicy.builder(RetryMode.ADAPTIVE).fastFailRateLimiting(true).build();
     }
 
+    @Test
+    public void rateLimiterNameConfigured_retryModeNotAdaptive_throws() {
+        assertThatThrownBy(() -> RetryPolicy.builder(RetryMode.STANDARD).rateLimiterName("my-table").build())
+            .isInstanceOf(IllegalArgumentException.class)
+            .hasMessageContaining("only valid for the ADAPTIVE retry mode");
+    }
+
+    @Test
+    public void rateLimiterNameConfigured_isPreservedByToBuilder() {
+        RetryPolicy policy = RetryPolicy.builder(RetryMode.ADAPTIVE).rateLimiterName("my-table").build();
+
+        assertThat(policy.toBuilder().build().rateLimiterName()).isEqualTo("my-table");
+        assertThat(policy.toBuilder().build()).isEqualTo(policy);
+        assertThat(policy).isNotEqualTo(RetryPolicy.builder(RetryMode.ADAPTIVE).build());
+    }
+
     @Test
     public void hashCodeDoesNotThrow() {
         RetryPolicy.defaultRetryPolicy().hashCode();
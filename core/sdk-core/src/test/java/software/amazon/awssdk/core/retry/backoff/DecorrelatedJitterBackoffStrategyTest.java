@@ -0,0 +1,102 @@
+/*
+ * Copyright Amazon.com, Inc. or its affiliates. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License").
+ * You may not use this file except in compliance with the License.
+ * A copy of the License is located at
+ *
+ *  http://aws.amazon.com/apache2.0
+ *
+ * or in the "license" file accompanying this file. This file is distributed
+ * on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either
+ * express or implied. See the License for the specific language governing
+ * permissions and limitations under the License.
+ */
+
+
+package software.amazon.awssdk.core.retry.backoff;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import java.time.Duration;
+import java.util.Random;
+import org.junit.Test;
+import software.amazon.awssdk.core.interceptor.ExecutionAttributes;
+import software.amazon.awssdk.core.interceptor.SdkInternalExecutionAttribute;
+import software.amazon.awssdk.core.retry.RetryPolicyContext;
+
+public class DecorrelatedJitterBackoffStrategyTest {
+    private static final Duration BASE_DELAY = Duration.ofMillis(100);
+    private static final Duration MAX_BACKOFF = Duration.ofMillis(1000);
+
+    private final Random mockRandom = mock(Random.class);
+    private final BackoffStrategy strategy = new DecorrelatedJitterBackoffStrategy(BASE_DELAY, MAX_BACKOFF, mockRandom);
+
+    @Test
+    public void firstRetry_isBetweenBaseDelayAndThreeTimesBaseDelay() {
+        when(mockRandom.nextDouble()).thenReturn(0.0);
+        assertThat(delay(0, null)).isEqualTo(Duration.ofMillis(100));
+
+        when(mockRandom.nextDouble()).thenReturn(0.5);
+        assertThat(delay(0, null)).isEqualTo(Duration.ofMillis(200));
+
+        when(mockRandom.nextDouble()).thenReturn(0.999);
+        assertThat(delay(0, null)).isEqualTo(Duration.ofMillis(299));
+    }
+
+    @Test
+    public void laterRetries_areBetweenBaseDelayAndThreeTimesPreviousDelay() {
+        when(mockRandom.nextDouble()).thenReturn(0.0);
+        assertThat(delay(1, Duration.ofMillis(250))).isEqualTo(Duration.ofMillis(100));
+
+        when(mockRandom.nextDouble()).thenReturn(0.5);
+        assertThat(delay(1, Duration.ofMillis(250))).isEqualTo(Duration.ofMillis(425));
+    }
+
+    @Test
+    public void previousDelayBelowBaseDelay_isTreatedAsBaseDelay() {
+        when(mockRandom.nextDouble()).thenReturn(0.5);
+        assertThat(delay(1, Duration.ZERO)).isEqualTo(Duration.ofMillis(200));
+        assertThat(delay(1, null)).isEqualTo(Duration.ofMillis(200));
+    }
+
+    @Test
+    public void delay_isCappedAtMaxBackoffTime() {
+        when(mockRandom.nextDouble()).thenReturn(0.999);
+        assertThat(delay(5, Duration.ofMillis(900))).isEqualTo(Duration.ofMillis(999));
+
+        when(mockRandom.nextDouble()).thenReturn(0.5);
+        assertThat(delay(5, Duration.ofMillis(900))).isEqualTo(Duration.ofMillis(550));
+    }
+
+    @Test
+    public void zeroDelays_returnOneMillisecond() {
+        BackoffStrategy zero = new DecorrelatedJitterBackoffStrategy(Duration.ZERO, Duration.ZERO, mockRandom);
+        assertThat(zero.computeDelayBeforeNextRetry(RetryPolicyContext.builder().retriesAttempted(3).build()))
+            .isEqualTo(Duration.ofMillis(1));
+    }
+
+    @Test
+    public void toBuilder_roundTrips() {
+        DecorrelatedJitterBackoffStrategy original = DecorrelatedJitterBackoffStrategy.builder()
+                                                                                      .baseDelay(BASE_DELAY)
+                                                                                      .maxBackoffTime(MAX_BACKOFF)
+                                                                                      .build();
+        assertThat(original.toBuilder().build()).isEqualTo(original);
+        assertThat(original.toBuilder().build().hashCode()).isEqualTo(original.hashCode());
+    }
+
+    private Duration delay(int retriesAttempted, Duration previousDelay) {
+        ExecutionAttributes attributes = new ExecutionAttributes();
+        if (previousDelay != null) {
+            attributes.putAttribute(SdkInternalExecutionAttribute.LAST_BACKOFF_DELAY_DURATION, previousDelay);
+        }
+        RetryPolicyContext context = RetryPolicyContext.builder()
+                                                       .retriesAttempted(retriesAttempted)
+                                                       .executionAttributes(attributes)
+                                                       .build();
+        return strategy.computeDelayBeforeNextRetry(context);
+    }
+}
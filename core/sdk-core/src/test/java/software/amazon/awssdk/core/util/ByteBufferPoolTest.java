@@ -0,0 +1,148 @@
+/*
+ * Copyright Amazon.com, Inc. or its affiliates. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License").
+ * You may not use this file except in compliance with the License.
+ * A copy of the License is located at
+ *
+ *  http://aws.amazon.com/apache2.0
+ *
+ * or in the "license" file accompanying this file. This file is distributed
+ * on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either
+ * express or implied. See the License for the specific language governing
+ * permissions and limitations under the License.
+ */
+
+package software.amazon.awssdk.core.util;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.nio.ByteBuffer;
+import java.util.concurrent.CompletableFuture;
+import org.junit.Test;
+import software.amazon.awssdk.core.util.ByteBufferPool.PooledBuffer;
+
+public class ByteBufferPoolTest {
+
+    @Test
+    public void acquire_roundsCapacityUpToSizeClass() {
+        ByteBufferPool pool = ByteBufferPool.builder().build();
+
+        ByteBuffer small = pool.acquire(10).buffer();
+        assertThat(small.capacity()).isEqualTo(1024);
+        assertThat(small.position()).isZero();
+        assertThat(small.limit()).isEqualTo(10);
+
+        assertThat(pool.acquire(1025).buffer().capacity()).isEqualTo(2048);
+        assertThat(pool.acquire(64 * 1024).buffer().capacity()).isEqualTo(64 * 1024);
+    }
+
+    @Test
+    public void releasedBuffer_isReused() {
+        ByteBufferPool pool = ByteBufferPool.builder().build();
+
+        PooledBuffer buffer = pool.acquire(3000);
+        assertThat(buffer.isReused()).isFalse();
+        buffer.buffer().put((byte) 1);
+        buffer.close();
+
+        PooledBuffer reused = pool.acquire(4000);
+        assertThat(reused).isSameAs(buffer);
+        assertThat(reused.isReused()).isTrue();
+        assertThat(reused.buffer().position()).isZero();
+        assertThat(reused.buffer().limit()).isEqualTo(4000);
+        assertThat(pool.hitCount()).isEqualTo(1);
+        assertThat(pool.missCount()).isEqualTo(1);
+    }
+
+    @Test
+    public void bufferReleasedByAnotherThread_isReusedThroughSharedQueue() {
+        ByteBufferPool pool = ByteBufferPool.builder().localCacheSize(0).build();
+
+        PooledBuffer buffer = pool.acquire(1024);
+        CompletableFuture.runAsync(buffer::close).join();
+
+        assertThat(pool.acquire(1024)).isSameAs(buffer);
+    }
+
+    @Test
+    public void bufferReleasedByManyThreads_cachedBuffersAreBounded() {
+        ByteBufferPool pool = ByteBufferPool.builder().maxBuffersPerSizeClass(0).localCacheSize(1).build();
+        int processors = Runtime.getRuntime().availableProcessors();
+
+        for (int i = 0; i < 4 * processors; i++) {
+            PooledBuffer buffer = pool.acquire(1024);
+            Thread thread = new Thread(buffer::close);
+            thread.start();
+            join(thread);
+        }
+
+        int reused = 0;
+        for (int i = 0; i < 4 * processors; i++) {
+            PooledBuffer buffer = pool.acquire(1024);
+            if (buffer.isReused()) {
+                reused++;
+            }
+        }
+        assertThat(reused).isLessThanOrEqualTo(2 * processors);
+    }
+
+    @Test
+    public void localCacheFull_bufferIsReleasedToSharedQueue() {
+        ByteBufferPool pool = ByteBufferPool.builder().localCacheSize(1).build();
+
+        PooledBuffer first = pool.acquire(1024);
+        PooledBuffer second = pool.acquire(1024);
+        first.close();
+        second.close();
+
+        assertThat(pool.acquire(1024)).isSameAs(first);
+        assertThat(pool.acquire(1024)).isSameAs(second);
+    }
+
+    @Test
+    public void bufferLargerThanMaxPooledSize_isNotPooled() {
+        ByteBufferPool pool = ByteBufferPool.builder().maxPooledBufferSize(4096).build();
+
+        PooledBuffer buffer = pool.acquire(5000);
+        assertThat(buffer.buffer().capacity()).isEqualTo(5000);
+        buffer.close();
+
+        assertThat(pool.acquire(5000).buffer()).isNotSameAs(buffer.buffer());
+        assertThat(pool.missCount()).isEqualTo(2);
+    }
+
+    @Test
+    public void bufferReleasedTwice_isPooledOnce() {
+        ByteBufferPool pool = ByteBufferPool.builder().build();
+
+        PooledBuffer buffer = pool.acquire(1024);
+        buffer.close();
+        buffer.close();
+
+        assertThat(pool.acquire(1024)).isSameAs(buffer);
+        assertThat(pool.acquire(1024)).isNotSameAs(buffer);
+    }
+
+    @Test
+    public void sharedQueue_isBounded() {
+        ByteBufferPool pool = ByteBufferPool.builder().maxBuffersPerSizeClass(1).localCacheSize(0).build();
+
+        PooledBuffer first = pool.acquire(1024);
+        PooledBuffer second = pool.acquire(1024);
+        first.close();
+        second.close();
+
+        assertThat(pool.acquire(1024)).isSameAs(first);
+        assertThat(pool.acquire(1024)).isNotSameAs(second);
+    }
+
+    private static void join(Thread thread) {
+        try {
+            thread.join();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new AssertionError(e);
+        }
+    }
+}
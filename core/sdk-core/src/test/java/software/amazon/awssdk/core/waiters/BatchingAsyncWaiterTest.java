@@ -0,0 +1,259 @@
+/*
+ * Copyright Amazon.com, Inc. or its affiliates. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License").
+ * You may not use this file except in compliance with the License.
+ * A copy of the License is located at
+ *
+ *  http://aws.amazon.com/apache2.0
+ *
+ * or in the "license" file accompanying this file. This file is distributed
+ * on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either
+ * express or implied. See the License for the specific language governing
+ * permissions and limitations under the License.
+ */
+
+
+package software.amazon.awssdk.core.waiters;
+
+import static java.util.stream.Collectors.toList;
+import static java.util.stream.Collectors.toMap;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.function.Function;
+import java.util.stream.IntStream;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import software.amazon.awssdk.core.retry.backoff.BackoffStrategy;
+import software.amazon.awssdk.utils.CompletableFutureUtils;
+
+public class BatchingAsyncWaiterTest {
+    private static final String READY = "ready";
+    private static final String PENDING = "pending";
+
+    private static ScheduledExecutorService executorService;
+
+    private final List<DescribeRequest> polledRequests = new CopyOnWriteArrayList<>();
+    private final Map<String, Integer> pollsUntilReady = new ConcurrentHashMap<>();
+
+    @BeforeAll
+    public static void setUp() {
+        executorService = Executors.newScheduledThreadPool(2);
+    }
+
+    @AfterAll
+    public static void tearDown() {
+        executorService.shutdown();
+    }
+
+    @Test
+    public void waitsForTheSameKind_arePolledTogether() {
+        BatchingAsyncWaiter<DescribeRequest, States> waiter = waiterBuilder().maxBatchSize(4).build();
+        IntStream.range(0, 10).forEach(i -> pollsUntilReady.put("id-" + i, 2));
+
+        List<CompletableFuture<WaiterResponse<States>>> waits =
+            IntStream.range(0, 10)
+                     .mapToObj(i -> waiter.runAsync(new DescribeRequest("kind", Collections.singletonList("id-" + i))))
+                     .collect(toList());
+
+        for (int i = 0; i < 10; i++) {
+            WaiterResponse<States> response = waits.get(i).join();
+            assertThat(response.matched().response().get()).isEqualTo(Collections.singletonMap("id-" + i, READY));
+            assertThat(response.attemptsExecuted()).isEqualTo(2);
+        }
+        assertThat(polledRequests).hasSize(6);
+        assertThat(polledRequests).allSatisfy(r -> assertThat(r.ids.size()).isLessThanOrEqualTo(4));
+    }
+
+    @Test
+    public void waitsForDifferentKinds_areNotPolledTogether() {
+        BatchingAsyncWaiter<DescribeRequest, States> waiter = waiterBuilder().build();
+        pollsUntilReady.put("id-0", 1);
+        pollsUntilReady.put("id-1", 1);
+
+        CompletableFuture<?> first = waiter.runAsync(new DescribeRequest("kind", Collections.singletonList("id-0")));
+        CompletableFuture<?> second = waiter.runAsync(new DescribeRequest("other-kind", Collections.singletonList("id-1")));
+        CompletableFuture.allOf(first, second).join();
+
+        assertThat(polledRequests).extracting(r -> r.ids).containsExactlyInAnyOrder(Collections.singletonList("id-0"),
+                                                                                     Collections.singletonList("id-1"));
+    }
+
+    @Test
+    public void combinedRequestFails_waitsArePolledIndividually() {
+        BatchingAsyncWaiter<DescribeRequest, States> waiter =
+            waiterBuilder().addAcceptor(WaiterAcceptor.errorOnExceptionAcceptor(e -> e instanceof IllegalStateException))
+                           .build();
+        pollsUntilReady.put("id-0", 1);
+
+        CompletableFuture<WaiterResponse<States>> existing =
+            waiter.runAsync(new DescribeRequest("kind", Collections.singletonList("id-0")));
+        CompletableFuture<WaiterResponse<States>> missing =
+            waiter.runAsync(new DescribeRequest("kind", Collections.singletonList("missing")));
+
+        assertThat(existing.join().matched().response().get()).isEqualTo(Collections.singletonMap("id-0", READY));
+        assertThatThrownBy(missing::join).hasMessageContaining("transitioned the waiter to failure state");
+        assertThat(polledRequests).extracting(r -> r.ids.size()).containsExactly(2, 1, 1);
+    }
+
+    @Test
+    public void waitFailingIndividually_isKeptOutOfLaterCombinedRequests() {
+        BatchingAsyncWaiter<DescribeRequest, States> waiter =
+            waiterBuilder().addAcceptor(WaiterAcceptor.retryOnExceptionAcceptor(e -> e instanceof IllegalStateException))
+                           .build();
+        IntStream.range(0, 3).forEach(i -> pollsUntilReady.put("id-" + i, 3));
+
+        List<CompletableFuture<WaiterResponse<States>>> existing =
+            IntStream.range(0, 3)
+                     .mapToObj(i -> waiter.runAsync(new DescribeRequest("kind", Collections.singletonList("id-" + i))))
+                     .collect(toList());
+        CompletableFuture<WaiterResponse<States>> missing =
+            waiter.runAsync(new DescribeRequest("kind", Collections.singletonList("missing")));
+
+        existing.forEach(wait -> assertThat(wait.join().attemptsExecuted()).isEqualTo(3));
+        assertThatThrownBy(missing::join).hasMessageContaining("exceeded the max retry attempts");
+        // Only the first combined request includes the missing resource and falls back to individual polls.
+        assertThat(polledRequests).filteredOn(r -> r.ids.size() > 1)
+                                  .extracting(r -> r.ids.size())
+                                  .containsExactly(4, 3, 3);
+        assertThat(polledRequests).filteredOn(r -> r.ids.size() == 1 && !r.ids.contains("missing")).hasSize(3);
+    }
+
+    @Test
+    public void waitWithoutBatchMember_isPolledIndividuallyAndNotFiltered() {
+        BatchingAsyncWaiter<DescribeRequest, States> waiter = waiterBuilder().build();
+        pollsUntilReady.put("id-0", 1);
+        pollsUntilReady.put("id-1", 1);
+
+        CompletableFuture<WaiterResponse<States>> all = waiter.runAsync(new DescribeRequest("kind", null));
+        CompletableFuture<?> one = waiter.runAsync(new DescribeRequest("kind", Collections.singletonList("id-1")));
+
+        assertThat(all.join().matched().response().get()).containsOnlyKeys("id-0", "id-1");
+        one.join();
+        assertThat(polledRequests).hasSize(2);
+    }
+
+    @Test
+    public void overrideConfiguration_appliesToItsWaitOnly() {
+        BatchingAsyncWaiter<DescribeRequest, States> waiter = waiterBuilder().build();
+        pollsUntilReady.put("id-0", 3);
+        pollsUntilReady.put("id-1", 3);
+
+        CompletableFuture<?> limited = waiter.runAsync(new DescribeRequest("kind", Collections.singletonList("id-0")),
+                                                       c -> c.maxAttempts(2));
+        CompletableFuture<WaiterResponse<States>> unlimited =
+            waiter.runAsync(new DescribeRequest("kind", Collections.singletonList("id-1")));
+
+        assertThatThrownBy(limited::join).hasMessageContaining("exceeded the max retry attempts");
+        assertThat(unlimited.join().attemptsExecuted()).isEqualTo(3);
+    }
+
+    @Test
+    public void cancelledWait_isNoLongerPolled() throws InterruptedException {
+        BatchingAsyncWaiter<DescribeRequest, States> waiter =
+            waiterBuilder().overrideConfiguration(c -> c.maxAttempts(100)
+                                                        .backoffStrategy(BackoffStrategy.none()))
+                           .build();
+        pollsUntilReady.put("id-0", 3);
+        pollsUntilReady.put("never", Integer.MAX_VALUE);
+
+        CompletableFuture<WaiterResponse<States>> ready =
+            waiter.runAsync(new DescribeRequest("kind", Collections.singletonList("id-0")));
+        CompletableFuture<WaiterResponse<States>> cancelled =
+            waiter.runAsync(new DescribeRequest("kind", Collections.singletonList("never")));
+        while (polledRequests.isEmpty()) {
+            Thread.sleep(1);
+        }
+        cancelled.cancel(false);
+
+        assertThat(ready.join().attemptsExecuted()).isEqualTo(3);
+        int polls = polledRequests.size();
+        Thread.sleep(100);
+        assertThat(polledRequests).hasSize(polls);
+        assertThat(polledRequests.get(polls - 1).ids).containsExactly("id-0");
+        assertThat(polledRequests).filteredOn(r -> r.ids.contains("never")).hasSizeLessThanOrEqualTo(2);
+    }
+
+    @Test
+    public void missingScheduledExecutor_shouldThrowException() {
+        assertThatThrownBy(() -> BatchingAsyncWaiter.builder(DescribeRequest.class, States.class)
+                                                    .pollingFunction(r -> null)
+                                                    .build())
+            .hasMessageContaining("executorService");
+    }
+
+    private BatchingAsyncWaiter.Builder<DescribeRequest, States> waiterBuilder() {
+        Function<States, Boolean> allReady = states -> states.values().stream().allMatch(READY::equals);
+        return BatchingAsyncWaiter.builder(DescribeRequest.class, States.class)
+                                  .scheduledExecutorService(executorService)
+                                  .overrideConfiguration(c -> c.maxAttempts(5).backoffStrategy(BackoffStrategy.none()))
+                                  .batchWindow(Duration.ofMillis(20))
+                                  .pollingFunction(this::describe)
+                                  .batchMember(r -> r.ids, (r, ids) -> new DescribeRequest(r.kind, ids))
+                                  .responseFilter((r, states) -> r.ids.stream()
+                                                                 .collect(toMap(id -> id, states::get, (a, b) -> a, States::new)))
+                                  .addAcceptor(WaiterAcceptor.successOnResponseAcceptor(allReady::apply))
+                                  .addAcceptor(WaiterAcceptor.retryOnResponseAcceptor(states -> true));
+    }
+
+    /**
+     * Describes the requested resources, which become ready after they have been polled a number of times. Fails if any of
+     * them doesn't exist.
+     */
+    private CompletableFuture<States> describe(DescribeRequest request) {
+        polledRequests.add(request);
+        List<String> ids = request.ids == null ? new ArrayList<>(pollsUntilReady.keySet()) : request.ids;
+        if (!pollsUntilReady.keySet().containsAll(ids)) {
+            return CompletableFutureUtils.failedFuture(new IllegalStateException("Resource does not exist"));
+        }
+        return CompletableFuture.completedFuture(
+            ids.stream().collect(toMap(id -> id,
+                                       id -> pollsUntilReady.merge(id, -1, Integer::sum) <= 0 ? READY : PENDING,
+                                       (a, b) -> a,
+                                       States::new)));
+    }
+
+    private static final class States extends HashMap<String, String> {
+    }
+
+    private static final class DescribeRequest {
+        private final String kind;
+        private final List<String> ids;
+
+        private DescribeRequest(String kind, List<String> ids) {
+            this.kind = kind;
+            this.ids = ids;
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) {
+                return true;
+            }
+            if (o == null || getClass() != o.getClass()) {
+                return false;
+            }
+            DescribeRequest that = (DescribeRequest) o;
+            return Objects.equals(kind, that.kind) && Objects.equals(ids, that.ids);
+        }
+
+        @Override
+        public int hashCode() {
+            return Objects.hash(kind, ids);
+        }
+    }
+}
@@ -51,7 +51,6 @@ import software.amazon.awssdk.metrics.MetricLevel;
 import software.amazon.awssdk.metrics.MetricPublisher;
 import software.amazon.awssdk.metrics.SdkMetric;
 import software.amazon.awssdk.metrics.publishers.cloudwatch.internal.MetricUploader;
-import software.amazon.awssdk.metrics.publishers.cloudwatch.internal.task.AggregateMetricsTask;
 import software.amazon.awssdk.metrics.publishers.cloudwatch.internal.task.UploadMetricsTasks;
 import software.amazon.awssdk.metrics.publishers.cloudwatch.internal.transform.MetricCollectionAggregator;
 import software.amazon.awssdk.services.cloudwatch.CloudWatchAsyncClient;
@@ -170,8 +169,8 @@ import software.amazon.awssdk.utils.ThreadFactoryBuilder;
 @SdkPublicApi
 public final class CloudWatchMetricPublisher implements MetricPublisher {
     /**
-     * The maximum queue size for the internal {@link #executor} that is used to aggregate metric data and upload it to
-     * CloudWatch. If this value is too high, memory is wasted. If this value is too low, metrics could be dropped.
+     * The maximum queue size for the internal {@link #executor} that is used to upload metric data to CloudWatch. If this value
+     * is too high, memory is wasted. If this value is too low, flushes are delayed.
      *
      * This value is not currently configurable, because it's unlikely that this is a value that customers should need to modify.
      * If customers really need control over this value, we might consider letting them instead configure the
@@ -198,8 +197,9 @@ public final class CloudWatchMetricPublisher implements MetricPublisher {
     private final boolean closeClientWithPublisher;
 
     /**
-     * The aggregator that takes {@link MetricCollection}s and converts them into {@link PutMetricDataRequest}s. This aggregator
-     * is *not* thread safe, so it should only ever be accessed from the {@link #executor}'s thread.
+     * The aggregator that takes {@link MetricCollection}s and converts them into {@link PutMetricDataRequest}s. Collections are
+     * added to it from the threads that publish them, but requests should only ever be retrieved from it on the
+     * {@link #executor}'s thread.
      */
     private final MetricCollectionAggregator metricAggregator;
 
@@ -209,14 +209,14 @@ public final class CloudWatchMetricPublisher implements MetricPublisher {
     private final MetricUploader metricUploader;
 
     /**
-     * The executor that executes {@link AggregateMetricsTask}s and {@link UploadMetricsTasks}s.
+     * The executor that executes {@link UploadMetricsTasks}s.
      */
     private final ExecutorService executor;
 
     /**
      * A scheduled executor that periodically schedules a {@link UploadMetricsTasks} on the {@link #executor} thread. Note: this
-     * executor should never execute the flush task itself, because that needs access to the {@link #metricAggregator}, and the
-     * {@code metricAggregator} should only ever be accessed from the {@link #executor} thread.
+     * executor should never execute the flush task itself, because requests should only ever be retrieved from the
+     * {@link #metricAggregator} on the {@link #executor} thread.
      */
     private final ScheduledExecutorService scheduledExecutor;
 
@@ -239,7 +239,7 @@ public final class CloudWatchMetricPublisher implements MetricPublisher {
         ThreadFactory threadFactory = new ThreadFactoryBuilder().threadNamePrefix("cloud-watch-metric-publisher").build();
         this.scheduledExecutor = Executors.newSingleThreadScheduledExecutor(threadFactory);
 
-        // Do not increase above 1 thread: access to MetricCollectionAggregator is not thread safe.
+        // Do not increase above 1 thread: MetricCollectionAggregator#getRequests must not be called concurrently.
         this.executor = new ThreadPoolExecutor(1, 1, 0L, TimeUnit.MILLISECONDS,
                                                new ArrayBlockingQueue<>(MAXIMUM_TASK_QUEUE_SIZE),
                                                threadFactory);
@@ -287,12 +287,17 @@ public final class CloudWatchMetricPublisher implements MetricPublisher {
 
     @Override
     public void publish(MetricCollection metricCollection) {
+        if (executor.isShutdown()) {
+            METRIC_LOGGER.warn(() -> "Some AWS SDK client-side metrics have been dropped because the publisher has been shut "
+                                     + "down.");
+            return;
+        }
+
         try {
-            executor.submit(new AggregateMetricsTask(metricAggregator, metricCollection));
-        } catch (RejectedExecutionException e) {
-            METRIC_LOGGER.warn(() -> "Some AWS SDK client-side metrics have been dropped because an internal executor did not "
-                                     + "accept them. This usually occurs because your publisher has been shut down or you have "
-                                     + "generated too many requests for the publisher to handle in a timely fashion.", e);
+            metricAggregator.addCollection(metricCollection);
+        } catch (RuntimeException e) {
+            METRIC_LOGGER.warn(() -> "Some AWS SDK client-side metrics have been dropped because they could not be aggregated.",
+                               e);
         }
     }
 
@@ -436,12 +441,13 @@ public final class CloudWatchMetricPublisher implements MetricPublisher {
          * {@code detailedMetrics} are enabled), (2) increase the time it takes for metric data to appear in
          * CloudWatch, (3) reduce the number of CloudWatch calls (and therefore decrease CloudWatch usage cost).
          *
-         * <p><b>Warning:</b> When {@code detailedMetrics} are enabled, all unique metric values are stored in memory until they
-         * can be published to CloudWatch. A high {@code uploadFrequency} with multiple {@code detailedMetrics} enabled can
-         * quickly consume heap memory while the values wait to be published to CloudWatch. In memory constrained environments, it
-         * is recommended to minimize the number of {@code detailedMetrics} configured on the publisher, or to upload metric data
-         * more frequently. As with all performance and resource concerns, profiling in a production-like environment is
-         * encouraged.
+         * <p><b>Warning:</b> When {@code detailedMetrics} are enabled, their values are stored in memory in a histogram per
+         * metric, dimension and minute until they can be published to CloudWatch. Each histogram uses a bounded amount of memory
+         * (up to a few kilobytes for each power of two that its values span), but a high {@code uploadFrequency} with multiple
+         * {@code detailedMetrics} and unique dimensions enabled can still consume a significant amount of heap memory. In memory
+         * constrained environments, it is recommended to minimize the number of {@code detailedMetrics} configured on the
+         * publisher, or to upload metric data more frequently. As with all performance and resource concerns, profiling in a
+         * production-like environment is encouraged.
          */
         public Builder uploadFrequency(Duration uploadFrequency) {
             this.uploadFrequency = uploadFrequency;
@@ -556,12 +562,13 @@ public final class CloudWatchMetricPublisher implements MetricPublisher {
          * {@link MetricDatum#values()} and {@link MetricDatum#counts()}, which enables other metrics like p90 and p99 to be
          * queried in CloudWatch.
          *
-         * <p><b>Warning:</b> When {@code detailedMetrics} are enabled, all unique metric values are stored in memory until they
-         * can be published to CloudWatch. A high {@code uploadFrequency} with multiple {@code detailedMetrics} enabled can
-         * quickly consume heap memory while the values wait to be published to CloudWatch. In memory constrained environments, it
-         * is recommended to minimize the number of {@code detailedMetrics} configured on the publisher, or to upload metric data
-         * more frequently. As with all performance and resource concerns, profiling in a production-like environment is
-         * encouraged.
+         * <p><b>Warning:</b> When {@code detailedMetrics} are enabled, their values are stored in memory in a histogram per
+         * metric, dimension and minute until they can be published to CloudWatch. Each histogram uses a bounded amount of memory
+         * (up to a few kilobytes for each power of two that its values span), but a high {@code uploadFrequency} with multiple
+         * {@code detailedMetrics} and unique dimensions enabled can still consume a significant amount of heap memory. In memory
+         * constrained environments, it is recommended to minimize the number of {@code detailedMetrics} configured on the
+         * publisher, or to upload metric data more frequently. As with all performance and resource concerns, profiling in a
+         * production-like environment is encouraged.
          *
          * <p>In addition to additional heap memory usage, detailed metrics can result in more requests being sent to CloudWatch,
          * which can also introduce additional usage cost. The {@link #maximumCallsPerUpload(Integer)} acts as a safeguard against
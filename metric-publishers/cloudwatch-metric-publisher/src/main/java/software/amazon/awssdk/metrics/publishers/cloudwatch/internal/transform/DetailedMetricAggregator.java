@@ -15,20 +15,19 @@
 
 package software.amazon.awssdk.metrics.publishers.cloudwatch.internal.transform;
 
+import java.util.ArrayList;
 import java.util.Collection;
-import java.util.Collections;
-import java.util.HashMap;
 import java.util.List;
-import java.util.Map;
 import software.amazon.awssdk.annotations.SdkInternalApi;
 import software.amazon.awssdk.metrics.SdkMetric;
 import software.amazon.awssdk.services.cloudwatch.model.Dimension;
 import software.amazon.awssdk.services.cloudwatch.model.MetricDatum;
 import software.amazon.awssdk.services.cloudwatch.model.StandardUnit;
+import software.amazon.awssdk.utils.Validate;
 
 /**
- * An implementation of {@link MetricAggregator} that stores all values and counts for a given metric/dimension pair
- * until they can be added to a {@link MetricDatum}.
+ * An implementation of {@link MetricAggregator} that stores the values and counts for a given metric/dimension pair in a
+ * {@link LogBucketedHistogram} until they can be added to a {@link MetricDatum}.
  */
 @SdkInternalApi
 class DetailedMetricAggregator implements MetricAggregator {
@@ -36,7 +35,7 @@ class DetailedMetricAggregator implements MetricAggregator {
     private final List<Dimension> dimensions;
     private final StandardUnit unit;
 
-    private final Map<Double, DetailedMetrics> metricDetails = new HashMap<>();
+    private final LogBucketedHistogram histogram = new LogBucketedHistogram();
 
     DetailedMetricAggregator(MetricAggregatorKey key, StandardUnit unit) {
         this.metric = key.metric();
@@ -56,7 +55,14 @@ class DetailedMetricAggregator implements MetricAggregator {
 
     @Override
     public void addMetricValue(double value) {
-        metricDetails.computeIfAbsent(value, v -> new DetailedMetrics(value)).metricCount++;
+        histogram.record(value);
+    }
+
+    @Override
+    public void merge(MetricAggregator other) {
+        DetailedMetricAggregator detailed = Validate.isInstanceOf(DetailedMetricAggregator.class, other,
+                                                                  "Cannot merge %s into a detailed aggregator.", other);
+        histogram.merge(detailed.histogram);
     }
 
     @Override
@@ -64,23 +70,29 @@ class DetailedMetricAggregator implements MetricAggregator {
         return unit;
     }
 
+    /**
+     * The buckets of the histogram in ascending order of value, each with the mean of its values and their count.
+     */
     public Collection<DetailedMetrics> detailedMetrics() {
-        return Collections.unmodifiableCollection(metricDetails.values());
+        List<DetailedMetrics> result = new ArrayList<>();
+        histogram.forEachBucket((value, count) -> result.add(new DetailedMetrics(value, count)));
+        return result;
     }
 
     public static class DetailedMetrics {
         private final double metricValue;
-        private int metricCount = 0;
+        private final long metricCount;
 
-        private DetailedMetrics(double metricValue) {
+        private DetailedMetrics(double metricValue, long metricCount) {
             this.metricValue = metricValue;
+            this.metricCount = metricCount;
         }
 
         public double metricValue() {
             return metricValue;
         }
 
-        public int metricCount() {
+        public long metricCount() {
             return metricCount;
         }
     }
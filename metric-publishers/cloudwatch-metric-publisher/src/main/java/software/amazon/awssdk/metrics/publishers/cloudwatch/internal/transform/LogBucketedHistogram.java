@@ -0,0 +1,147 @@
+/*
+ * Copyright Amazon.com, Inc. or its affiliates. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License").
+ * You may not use this file except in compliance with the License.
+ * A copy of the License is located at
+ *
+ *  http://aws.amazon.com/apache2.0
+ *
+ * or in the "license" file accompanying this file. This file is distributed
+ * on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either
+ * express or implied. See the License for the specific language governing
+ * permissions and limitations under the License.
+ */
+
+package software.amazon.awssdk.metrics.publishers.cloudwatch.internal.transform;
+
+import software.amazon.awssdk.annotations.NotThreadSafe;
+import software.amazon.awssdk.annotations.SdkInternalApi;
+import software.amazon.awssdk.metrics.internal.LogBuckets;
+
+/**
+ * A histogram of double values with logarithmically-sized buckets, in the style of an HDR histogram. The bucket layout is
+ * described by {@link LogBuckets}.
+ *
+ * <p>Each power of two is split into 32 linear sub-buckets, so a bucket is never wider than about 3% of the values it
+ * contains, and every integer below 64 gets a bucket of its own. Each bucket tracks the
+ * count and the sum of its values, so that the mean of a bucket, which is what {@link #forEachBucket} reports, is exact when all
+ * of its values are equal and the sum of all values is preserved.
+ *
+ * <p>The precision is kept low on purpose: a histogram exists per metric, dimension and minute, and every non-empty bucket
+ * becomes one value in a CloudWatch request. A power of two costs 512 bytes, and a typical latency distribution spanning seven
+ * powers of two fills fewer than 200 buckets, which fits in a single request.
+ *
+ * <p>The bucket arrays of a power of two are only allocated when a value in that range is first recorded, and the range of
+ * powers of two is bounded, so the memory used by a histogram is bounded regardless of how many values it records. Magnitudes
+ * below 2<sup>-16</sup> or above 2<sup>64</sup> are recorded in the lowest and highest
+ * buckets, respectively. Histograms can be merged with {@link #merge(LogBucketedHistogram)}.
+ */
+@SdkInternalApi
+@NotThreadSafe
+final class LogBucketedHistogram {
+    private static final LogBuckets BUCKETS = new LogBuckets(5, -16, 63);
+    private static final int SUB_BUCKETS = BUCKETS.subBuckets();
+    private static final int EXPONENTS = BUCKETS.exponents();
+
+    private final Buckets[] positive = new Buckets[EXPONENTS];
+    private final Buckets[] negative = new Buckets[EXPONENTS];
+    private long zeroCount;
+
+    /**
+     * Record a value. Non-finite values are ignored, because CloudWatch does not accept them.
+     */
+    public void record(double value) {
+        if (Double.isNaN(value) || Double.isInfinite(value)) {
+            return;
+        }
+
+        if (value == 0) {
+            zeroCount++;
+            return;
+        }
+
+        Buckets[] buckets = value > 0 ? positive : negative;
+        int bucket = BUCKETS.bucketIndex(Math.abs(value));
+        int index = bucket / SUB_BUCKETS;
+        int subBucket = bucket % SUB_BUCKETS;
+        Buckets exponentBuckets = buckets[index];
+        if (exponentBuckets == null) {
+            exponentBuckets = new Buckets();
+            buckets[index] = exponentBuckets;
+        }
+        exponentBuckets.counts[subBucket]++;
+        exponentBuckets.sums[subBucket] += value;
+    }
+
+    /**
+     * Add all values recorded in the provided histogram to this one.
+     */
+    public void merge(LogBucketedHistogram other) {
+        zeroCount += other.zeroCount;
+        merge(positive, other.positive);
+        merge(negative, other.negative);
+    }
+
+    /**
+     * Invoke the provided consumer with the mean value and count of every non-empty bucket, in ascending order of value.
+     */
+    public void forEachBucket(BucketConsumer consumer) {
+        for (int i = EXPONENTS - 1; i >= 0; i--) {
+            Buckets buckets = negative[i];
+            if (buckets != null) {
+                for (int j = SUB_BUCKETS - 1; j >= 0; j--) {
+                    buckets.accept(j, consumer);
+                }
+            }
+        }
+
+        if (zeroCount > 0) {
+            consumer.accept(0, zeroCount);
+        }
+
+        for (Buckets buckets : positive) {
+            if (buckets != null) {
+                for (int j = 0; j < SUB_BUCKETS; j++) {
+                    buckets.accept(j, consumer);
+                }
+            }
+        }
+    }
+
+    private static void merge(Buckets[] target, Buckets[] source) {
+        for (int i = 0; i < EXPONENTS; i++) {
+            Buckets sourceBuckets = source[i];
+            if (sourceBuckets == null) {
+                continue;
+            }
+            if (target[i] == null) {
+                target[i] = new Buckets();
+            }
+            for (int j = 0; j < SUB_BUCKETS; j++) {
+                target[i].counts[j] += sourceBuckets.counts[j];
+                target[i].sums[j] += sourceBuckets.sums[j];
+            }
+        }
+    }
+
+    /**
+     * The sub-buckets of one power of two.
+     */
+    private static final class Buckets {
+        private final long[] counts = new long[SUB_BUCKETS];
+        private final double[] sums = new double[SUB_BUCKETS];
+
+        private void accept(int subBucket, BucketConsumer consumer) {
+            long count = counts[subBucket];
+            if (count > 0) {
+                consumer.accept(sums[subBucket] / count, count);
+            }
+        }
+    }
+
+    @FunctionalInterface
+    interface BucketConsumer {
+        void accept(double value, long count);
+    }
+}
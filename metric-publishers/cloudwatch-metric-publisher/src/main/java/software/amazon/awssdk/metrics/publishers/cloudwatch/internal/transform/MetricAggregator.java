@@ -58,6 +58,12 @@ interface MetricAggregator {
      */
     void addMetricValue(double value);
 
+    /**
+     * Add all metric values from the provided aggregator, which must be of the same type and for the same
+     * {@link #metric()} and {@link #dimensions()}, to this aggregator.
+     */
+    void merge(MetricAggregator other);
+
     /**
      * Execute the provided consumer if this {@code MetricAggregator} is a {@link SummaryMetricAggregator}.
      */
@@ -21,9 +21,10 @@ import java.util.Collection;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
-import java.util.stream.Stream;
-import software.amazon.awssdk.annotations.NotThreadSafe;
+import java.util.concurrent.locks.Lock;
+import java.util.concurrent.locks.ReentrantLock;
 import software.amazon.awssdk.annotations.SdkInternalApi;
+import software.amazon.awssdk.annotations.ThreadSafe;
 import software.amazon.awssdk.core.ApiName;
 import software.amazon.awssdk.metrics.MetricCategory;
 import software.amazon.awssdk.metrics.MetricCollection;
@@ -41,10 +42,12 @@ import software.amazon.awssdk.services.cloudwatch.model.StatisticSet;
  * <p>It would be too expensive to upload every {@code MetricCollection} as a unique {@code PutMetricDataRequest}, so this
  * class aggregates the data so that multiple {@code MetricCollection}s can be placed in the same {@code PutMetricDataRequest}.
  *
- * <p><b>Warning:</b> This class is *not* thread-safe.
+ * <p>Collections can be added concurrently from any number of threads. To avoid contention, they are aggregated into one of
+ * several independently-locked stripes, preferring the stripe assigned to the calling thread. The stripes are merged when
+ * {@link #getRequests()} is called, which must only be done by one thread at a time.
  */
 @SdkInternalApi
-@NotThreadSafe
+@ThreadSafe
 public class MetricCollectionAggregator {
     /**
      * The maximum number of {@link MetricDatum}s allowed in {@link PutMetricDataRequest#metricData()}. This limit is imposed by
@@ -64,17 +67,27 @@ public class MetricCollectionAggregator {
      */
     private static final ApiName API_NAME = ApiName.builder().name("hll").version("cw-mp").build();
 
+    /**
+     * The maximum number of stripes that collections are aggregated into.
+     */
+    private static final int MAX_STRIPES = 64;
+
     /**
      * The {@link PutMetricDataRequest#namespace()} that should be used for all {@link PutMetricDataRequest}s returned from
      * {@link #getRequests()}.
      */
     private final String namespace;
 
+    private final Set<SdkMetric<String>> dimensions;
+    private final Set<MetricCategory> metricCategories;
+    private final MetricLevel metricLevel;
+    private final Set<SdkMetric<?>> detailedMetrics;
+
     /**
-     * The {@link TimeBucketedMetrics} that actually performs the data aggregation whenever
-     * {@link #addCollection(MetricCollection)} is called.
+     * The stripes whose {@link TimeBucketedMetrics} actually perform the data aggregation whenever
+     * {@link #addCollection(MetricCollection)} is called. The length is a power of two.
      */
-    private final TimeBucketedMetrics timeBucketedMetrics;
+    private final Stripe[] stripes;
 
     public MetricCollectionAggregator(String namespace,
                                       Set<SdkMetric<String>> dimensions,
@@ -82,14 +95,48 @@ public class MetricCollectionAggregator {
                                       MetricLevel metricLevel,
                                       Set<SdkMetric<?>> detailedMetrics) {
         this.namespace = namespace;
-        this.timeBucketedMetrics = new TimeBucketedMetrics(dimensions, metricCategories, metricLevel, detailedMetrics);
+        this.dimensions = dimensions;
+        this.metricCategories = metricCategories;
+        this.metricLevel = metricLevel;
+        this.detailedMetrics = detailedMetrics;
+
+        int stripeCount = 1;
+        int processors = Runtime.getRuntime().availableProcessors();
+        while (stripeCount < processors && stripeCount < MAX_STRIPES) {
+            stripeCount <<= 1;
+        }
+        this.stripes = new Stripe[stripeCount];
+        for (int i = 0; i < stripeCount; i++) {
+            stripes[i] = new Stripe(newTimeBucketedMetrics());
+        }
     }
 
     /**
-     * Add a collection to this aggregator.
+     * Add a collection to this aggregator. This is aggregated into the first stripe that is not currently in use, starting
+     * with the one assigned to the calling thread. If all stripes are in use, this waits for the calling thread's stripe.
      */
     public void addCollection(MetricCollection collection) {
-        timeBucketedMetrics.addMetrics(collection);
+        int mask = stripes.length - 1;
+        int home = stripeIndex() & mask;
+        for (int i = 0; i < stripes.length; i++) {
+            Stripe stripe = stripes[(home + i) & mask];
+            if (stripe.lock.tryLock()) {
+                try {
+                    stripe.metrics.addMetrics(collection);
+                } finally {
+                    stripe.lock.unlock();
+                }
+                return;
+            }
+        }
+
+        Stripe stripe = stripes[home];
+        stripe.lock.lock();
+        try {
+            stripe.metrics.addMetrics(collection);
+        } finally {
+            stripe.lock.unlock();
+        }
     }
 
     /**
@@ -102,6 +149,17 @@ public class MetricCollectionAggregator {
         List<MetricDatum> requestMetricDatums = new ArrayList<>();
         ValuesInRequestCounter valuesInRequestCounter = new ValuesInRequestCounter();
 
+        TimeBucketedMetrics timeBucketedMetrics = newTimeBucketedMetrics();
+        for (Stripe stripe : stripes) {
+            stripe.lock.lock();
+            try {
+                timeBucketedMetrics.merge(stripe.metrics);
+                stripe.metrics.reset();
+            } finally {
+                stripe.lock.unlock();
+            }
+        }
+
         Map<Instant, Collection<MetricAggregator>> metrics = timeBucketedMetrics.timeBucketedMetrics();
 
         for (Map.Entry<Instant, Collection<MetricAggregator>> entry : metrics.entrySet()) {
@@ -116,7 +174,7 @@ public class MetricCollectionAggregator {
 
                 metric.ifDetailed(detailedAggregator -> {
                     int startIndex = 0;
-                    Collection<DetailedMetrics> detailedMetrics = detailedAggregator.detailedMetrics();
+                    List<DetailedMetrics> detailedMetrics = new ArrayList<>(detailedAggregator.detailedMetrics());
 
                     while (startIndex < detailedMetrics.size()) {
                         if (valuesInRequestCounter.get() >= MAX_VALUES_PER_REQUEST) {
@@ -125,7 +183,7 @@ public class MetricCollectionAggregator {
                             valuesInRequestCounter.reset();
                         }
 
-                        MetricDatum data = detailedMetricDatum(timeBucket, detailedAggregator,
+                        MetricDatum data = detailedMetricDatum(timeBucket, detailedAggregator, detailedMetrics,
                                                                startIndex, MAX_VALUES_PER_REQUEST - valuesInRequestCounter.get());
                         int valuesAdded = data.values().size();
                         startIndex += valuesAdded;
@@ -140,26 +198,33 @@ public class MetricCollectionAggregator {
             requests.add(newPutRequest(requestMetricDatums));
         }
 
-        timeBucketedMetrics.reset();
-
         return requests;
     }
 
+    private TimeBucketedMetrics newTimeBucketedMetrics() {
+        return new TimeBucketedMetrics(dimensions, metricCategories, metricLevel, detailedMetrics);
+    }
+
+    /**
+     * Spread thread IDs, which are usually sequential, over the stripes.
+     */
+    private static int stripeIndex() {
+        long id = Thread.currentThread().getId() * 0x9E3779B97F4A7C15L;
+        return (int) (id >>> 32);
+    }
+
     private MetricDatum detailedMetricDatum(Instant timeBucket,
                                             DetailedMetricAggregator metric,
+                                            List<DetailedMetrics> detailedMetrics,
                                             int metricStartIndex,
                                             int maxElements) {
         List<Double> values = new ArrayList<>();
         List<Double> counts = new ArrayList<>();
 
-        Stream<DetailedMetrics> boundedMetrics = metric.detailedMetrics()
-                                                       .stream()
-                                                       .skip(metricStartIndex)
-                                                       .limit(maxElements);
-
-        boundedMetrics.forEach(detailedMetrics -> {
-            values.add(MetricValueNormalizer.normalize(detailedMetrics.metricValue()));
-            counts.add((double) detailedMetrics.metricCount());
+        int metricEndIndex = Math.min(detailedMetrics.size(), metricStartIndex + maxElements);
+        detailedMetrics.subList(metricStartIndex, metricEndIndex).forEach(detailedMetric -> {
+            values.add(MetricValueNormalizer.normalize(detailedMetric.metricValue()));
+            counts.add((double) detailedMetric.metricCount());
         });
 
         return MetricDatum.builder()
@@ -197,6 +262,15 @@ public class MetricCollectionAggregator {
                                    .build();
     }
 
+    private static final class Stripe {
+        private final Lock lock = new ReentrantLock();
+        private final TimeBucketedMetrics metrics;
+
+        private Stripe(TimeBucketedMetrics metrics) {
+            this.metrics = metrics;
+        }
+    }
+
     private static class ValuesInRequestCounter {
         private int valuesInRequest;
 
@@ -100,6 +100,22 @@ class TimeBucketedMetrics {
         addMetricsToBucket(metrics, bucket);
     }
 
+    /**
+     * Move all values from the provided metrics to this one, merging the aggregators of values that are in the same bucket
+     * and have the same dimensions. The provided metrics must be {@link #reset()} afterwards, because its aggregators may now
+     * be owned by this one.
+     */
+    public void merge(TimeBucketedMetrics other) {
+        other.timeBucketedMetrics.forEach((bucketId, aggregators) -> {
+            Map<MetricAggregatorKey, MetricAggregator> bucket =
+                timeBucketedMetrics.computeIfAbsent(bucketId, i -> new HashMap<>());
+            aggregators.forEach((key, aggregator) -> bucket.merge(key, aggregator, (existing, added) -> {
+                existing.merge(added);
+                return existing;
+            }));
+        });
+    }
+
     /**
      * Reset this bucket, clearing all stored values.
      */
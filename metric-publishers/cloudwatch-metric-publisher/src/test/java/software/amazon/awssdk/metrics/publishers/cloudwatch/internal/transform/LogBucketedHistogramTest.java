@@ -0,0 +1,116 @@
+/*
+ * Copyright Amazon.com, Inc. or its affiliates. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License").
+ * You may not use this file except in compliance with the License.
+ * A copy of the License is located at
+ *
+ *  http://aws.amazon.com/apache2.0
+ *
+ * or in the "license" file accompanying this file. This file is distributed
+ * on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either
+ * express or implied. See the License for the specific language governing
+ * permissions and limitations under the License.
+ */
+
+package software.amazon.awssdk.metrics.publishers.cloudwatch.internal.transform;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.ArrayList;
+import java.util.List;
+import org.junit.jupiter.api.Test;
+
+public class LogBucketedHistogramTest {
+    @Test
+    public void smallIntegersHaveTheirOwnBuckets() {
+        LogBucketedHistogram histogram = new LogBucketedHistogram();
+        for (int i = 0; i < 64; i++) {
+            histogram.record(i);
+        }
+
+        List<Double> values = new ArrayList<>();
+        histogram.forEachBucket((value, count) -> {
+            assertThat(count).isEqualTo(1);
+            values.add(value);
+        });
+        assertThat(values).hasSize(64);
+        for (int i = 0; i < 64; i++) {
+            assertThat(values.get(i)).isEqualTo(i);
+        }
+    }
+
+    @Test
+    public void bucketValuesAreWithinRelativeErrorOfRecordedValues() {
+        LogBucketedHistogram histogram = new LogBucketedHistogram();
+        histogram.record(123_456.0);
+        histogram.record(123_457.0);
+        histogram.record(0.00123);
+
+        List<Double> values = new ArrayList<>();
+        histogram.forEachBucket((value, count) -> values.add(value));
+        assertThat(values).hasSize(2);
+        assertThat(values.get(0)).isEqualTo(0.00123);
+        assertThat(values.get(1)).isEqualTo(123_456.5);
+    }
+
+    @Test
+    public void nearbyValuesShareABucket() {
+        LogBucketedHistogram histogram = new LogBucketedHistogram();
+        histogram.record(100.0);
+        histogram.record(101.0);
+        histogram.record(105.0);
+
+        List<Double> values = new ArrayList<>();
+        List<Long> counts = new ArrayList<>();
+        histogram.forEachBucket((value, count) -> {
+            values.add(value);
+            counts.add(count);
+        });
+        assertThat(values).containsExactly(100.5, 105.0);
+        assertThat(counts).containsExactly(2L, 1L);
+    }
+
+    @Test
+    public void bucketsAreReportedInAscendingOrder() {
+        LogBucketedHistogram histogram = new LogBucketedHistogram();
+        histogram.record(5);
+        histogram.record(-1000);
+        histogram.record(0);
+        histogram.record(-2);
+        histogram.record(1E30);
+
+        List<Double> values = new ArrayList<>();
+        histogram.forEachBucket((value, count) -> values.add(value));
+        assertThat(values).containsExactly(-1000.0, -2.0, 0.0, 5.0, 1E30);
+    }
+
+    @Test
+    public void nonFiniteValuesAreIgnored() {
+        LogBucketedHistogram histogram = new LogBucketedHistogram();
+        histogram.record(Double.NaN);
+        histogram.record(Double.POSITIVE_INFINITY);
+        histogram.record(Double.NEGATIVE_INFINITY);
+
+        List<Double> values = new ArrayList<>();
+        histogram.forEachBucket((value, count) -> values.add(value));
+        assertThat(values).isEmpty();
+    }
+
+    @Test
+    public void mergeAddsCountsOfBothHistograms() {
+        LogBucketedHistogram first = new LogBucketedHistogram();
+        first.record(1);
+        first.record(0);
+        LogBucketedHistogram second = new LogBucketedHistogram();
+        second.record(1);
+        second.record(-1);
+        second.record(0);
+
+        first.merge(second);
+
+        List<String> buckets = new ArrayList<>();
+        first.forEachBucket((value, count) -> buckets.add(value + "x" + count));
+        assertThat(buckets).containsExactly("-1.0x1", "0.0x2", "1.0x2");
+    }
+}
@@ -17,6 +17,7 @@ package software.amazon.awssdk.metrics.publishers.cloudwatch.internal.transform;
 
 import static java.time.temporal.ChronoUnit.HOURS;
 import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.within;
 import static org.junit.jupiter.api.Assertions.fail;
 
 import java.time.Duration;
@@ -25,7 +26,9 @@ import java.util.Collections;
 import java.util.List;
 import java.util.Set;
 import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
 import java.util.stream.Collectors;
+import java.util.stream.IntStream;
 import java.util.stream.Stream;
 import org.junit.jupiter.api.Test;
 import software.amazon.awssdk.core.metrics.CoreMetric;
@@ -36,6 +39,7 @@ import software.amazon.awssdk.metrics.MetricCollector;
 import software.amazon.awssdk.metrics.MetricLevel;
 import software.amazon.awssdk.metrics.SdkMetric;
 import software.amazon.awssdk.metrics.publishers.cloudwatch.FixedTimeMetricCollection;
+import software.amazon.awssdk.services.cloudwatch.model.MetricDatum;
 import software.amazon.awssdk.services.cloudwatch.model.PutMetricDataRequest;
 import software.amazon.awssdk.services.cloudwatch.model.StatisticSet;
 
@@ -336,6 +340,69 @@ public class MetricCollectionAggregatorTest {
         });
     }
 
+    @Test
+    public void detailedMetricsUseBoundedNumberOfValues() {
+        SdkMetric<Double> metric = someMetric(Double.class);
+        MetricCollectionAggregator aggregator = aggregatorWithCustomDetailedMetrics(metric);
+        MetricCollector collector = collector();
+        double expectedSum = 0;
+        for (int i = 0; i < 100_000; i++) {
+            double value = 1 + i * 0.37;
+            expectedSum += value;
+            collector.reportMetric(metric, value);
+        }
+        aggregator.addCollection(collectToFixedTime(collector));
+
+        List<MetricDatum> metricData = aggregator.getRequests().stream()
+                                                 .flatMap(r -> r.metricData().stream())
+                                                 .collect(Collectors.toList());
+        assertThat(metricData.stream().mapToInt(d -> d.values().size()).sum()).isLessThan(4_000);
+
+        double count = 0;
+        double sum = 0;
+        for (MetricDatum datum : metricData) {
+            for (int i = 0; i < datum.values().size(); i++) {
+                count += datum.counts().get(i);
+                sum += datum.values().get(i) * datum.counts().get(i);
+            }
+        }
+        assertThat(count).isEqualTo(100_000.0);
+        assertThat(sum).isCloseTo(expectedSum, within(expectedSum * 1e-9));
+    }
+
+    @Test
+    public void collectionsAddedConcurrentlyAreAllAggregated() {
+        MetricCollectionAggregator aggregator = aggregatorWithCustomDetailedMetrics(HttpMetric.MAX_CONCURRENCY);
+        int threads = 8;
+        int collectionsPerThread = 1_000;
+        CompletableFuture<?>[] publishers =
+            IntStream.range(0, threads)
+                     .mapToObj(t -> CompletableFuture.runAsync(() -> {
+                         for (int i = 0; i < collectionsPerThread; i++) {
+                             MetricCollector collector = collector();
+                             collector.reportMetric(CoreMetric.SERVICE_ID, "ServiceId");
+                             collector.reportMetric(HttpMetric.MAX_CONCURRENCY, t);
+                             collector.reportMetric(HttpMetric.AVAILABLE_CONCURRENCY, i);
+                             aggregator.addCollection(collectToFixedTime(collector));
+                         }
+                     }))
+                     .toArray(CompletableFuture[]::new);
+        CompletableFuture.allOf(publishers).join();
+
+        List<MetricDatum> metricData = aggregator.getRequests().stream()
+                                                 .flatMap(r -> r.metricData().stream())
+                                                 .collect(Collectors.toList());
+        assertThat(metricData).hasSize(2);
+        metricData.forEach(datum -> {
+            if (datum.metricName().equals(HttpMetric.MAX_CONCURRENCY.name())) {
+                assertThat(datum.values()).containsExactly(0.0, 1.0, 2.0, 3.0, 4.0, 5.0, 6.0, 7.0);
+                assertThat(datum.counts()).allSatisfy(c -> assertThat(c).isEqualTo((double) collectionsPerThread));
+            } else {
+                assertThat(datum.statisticValues().sampleCount()).isEqualTo((double) threads * collectionsPerThread);
+            }
+        });
+    }
+
     @Test
     public void metricsFromOtherCategoriesAreIgnored() {
         MetricCollectionAggregator aggregator = defaultAggregator();
@@ -394,8 +461,9 @@ public class MetricCollectionAggregatorTest {
     private MetricCollectionAggregator aggregatorWithUniqueValuesAdded(SdkMetric<Integer> metric, int numValues) {
         MetricCollectionAggregator aggregator = aggregatorWithCustomDetailedMetrics(metric);
         for (int i = 0; i < numValues; i++) {
+            // Step through every sub-bucket of successive powers of two, so that each value lands in its own histogram bucket.
             MetricCollector collector = collector();
-            collector.reportMetric(metric, i);
+            collector.reportMetric(metric, (32 + i % 32) << (i / 32));
             aggregator.addCollection(collectToFixedTime(collector));
         }
         return aggregator;
@@ -0,0 +1,313 @@
+/*
+ * Copyright Amazon.com, Inc. or its affiliates. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License").
+ * You may not use this file except in compliance with the License.
+ * A copy of the License is located at
+ *
+ *  http://aws.amazon.com/apache2.0
+ *
+ * or in the "license" file accompanying this file. This file is distributed
+ * on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either
+ * express or implied. See the License for the specific language governing
+ * permissions and limitations under the License.
+ */
+
+package software.amazon.awssdk.metrics.publishers.local;
+
+import java.net.InetSocketAddress;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.EnumSet;
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import software.amazon.awssdk.annotations.SdkPublicApi;
+import software.amazon.awssdk.annotations.ThreadSafe;
+import software.amazon.awssdk.core.metrics.CoreMetric;
+import software.amazon.awssdk.http.HttpMetric;
+import software.amazon.awssdk.metrics.MetricCategory;
+import software.amazon.awssdk.metrics.MetricCollection;
+import software.amazon.awssdk.metrics.MetricLevel;
+import software.amazon.awssdk.metrics.MetricPublisher;
+import software.amazon.awssdk.metrics.MetricRecord;
+import software.amazon.awssdk.metrics.SdkMetric;
+import software.amazon.awssdk.metrics.publishers.local.internal.ConcurrentHistogram;
+import software.amazon.awssdk.metrics.publishers.local.internal.DefaultMetricSnapshot;
+import software.amazon.awssdk.metrics.publishers.local.internal.OperationKey;
+import software.amazon.awssdk.metrics.publishers.local.internal.PrometheusTextFormatter;
+import software.amazon.awssdk.metrics.publishers.local.internal.ScrapeEndpoint;
+import software.amazon.awssdk.utils.Validate;
+
+/**
+ * An implementation of {@link MetricPublisher} that aggregates metrics in memory, for operational debugging without a round
+ * trip to a remote metrics service.
+ *
+ * <p>The numeric, {@link Duration} and {@link Boolean} values of every published {@link MetricCollection}, including its
+ * children, are recorded in a lock-free histogram per metric and per service operation, as identified by the collection's
+ * {@link CoreMetric#SERVICE_ID} and {@link CoreMetric#OPERATION_NAME}. By default, only {@link MetricCategory#CORE} (see
+ * {@link CoreMetric}) and {@link MetricCategory#HTTP_CLIENT} (see {@link HttpMetric}) metrics at the
+ * {@link MetricLevel#INFO} level are recorded. The memory used by each histogram is bounded.
+ *
+ * <p>Like a Prometheus summary, the count and sum of a metric cover every value published since the publisher was created,
+ * while its percentiles and maximum only cover the values published during a sliding window, configured with
+ * {@link Builder#percentileWindow(Duration)}, so that they reflect recent calls rather than the whole lifetime of the
+ * publisher.
+ *
+ * <p>The aggregated values can be read with {@link #snapshots()} and {@link #snapshot(String, String, SdkMetric)}, which
+ * include p50, p99 and p999 percentiles. They can also be scraped by Prometheus by configuring
+ * {@link Builder#scrapeEndpoint(InetSocketAddress)}, which serves them in the Prometheus text format on
+ * {@code GET /metrics}.
+ *
+ * <pre>
+ *     LocalMetricPublisher localMetricPublisher = LocalMetricPublisher.builder()
+ *                                                                     .scrapeEndpoint(new InetSocketAddress(9464))
+ *                                                                     .build();
+ *     S3Client s3 = S3Client.builder()
+ *                           .overrideConfiguration(o -> o.addMetricPublisher(localMetricPublisher))
+ *                           .build();
+ *     ...
+ *     localMetricPublisher.snapshot("S3", "GetObject", CoreMetric.API_CALL_DURATION)
+ *                         .ifPresent(s -> System.out.println("GetObject p99: " + s.p99() + "s"));
+ * </pre>
+ *
+ * <p><b>Warning:</b> Make sure to {@link #close()} this publisher when it is done being used, to stop the scrape endpoint.
+ */
+@ThreadSafe
+@SdkPublicApi
+public final class LocalMetricPublisher implements MetricPublisher {
+    private static final String UNKNOWN = "Unknown";
+    private static final Set<MetricCategory> DEFAULT_METRIC_CATEGORIES = EnumSet.of(MetricCategory.CORE,
+                                                                                     MetricCategory.HTTP_CLIENT);
+    private static final MetricLevel DEFAULT_METRIC_LEVEL = MetricLevel.INFO;
+    private static final Duration DEFAULT_PERCENTILE_WINDOW = Duration.ofMinutes(5);
+
+    private final ConcurrentMap<OperationKey, ConcurrentMap<SdkMetric<?>, ConcurrentHistogram>> histograms =
+        new ConcurrentHashMap<>();
+    private final Set<MetricCategory> metricCategories;
+    private final boolean metricCategoriesContainsAll;
+    private final MetricLevel metricLevel;
+    private final Duration percentileWindow;
+    private final ScrapeEndpoint scrapeEndpoint;
+
+    private LocalMetricPublisher(Builder builder) {
+        this.metricCategories = builder.metricCategories == null ? DEFAULT_METRIC_CATEGORIES
+                                                                 : toEnumSet(builder.metricCategories);
+        this.metricCategoriesContainsAll = metricCategories.contains(MetricCategory.ALL);
+        this.metricLevel = builder.metricLevel == null ? DEFAULT_METRIC_LEVEL : builder.metricLevel;
+        this.percentileWindow = builder.percentileWindow == null ? DEFAULT_PERCENTILE_WINDOW
+                                                                 : Validate.isPositive(builder.percentileWindow,
+                                                                                       "percentileWindow");
+        this.scrapeEndpoint = builder.scrapeEndpoint == null ? null
+                                                             : ScrapeEndpoint.start(builder.scrapeEndpoint, this::prometheusText);
+    }
+
+    private static Set<MetricCategory> toEnumSet(Collection<MetricCategory> metricCategories) {
+        // EnumSet.copyOf rejects an empty collection that is not an EnumSet
+        Set<MetricCategory> result = EnumSet.noneOf(MetricCategory.class);
+        result.addAll(metricCategories);
+        return result;
+    }
+
+    /**
+     * Create a new {@link Builder} that can be used to create {@link LocalMetricPublisher}s.
+     */
+    public static Builder builder() {
+        return new Builder();
+    }
+
+    /**
+     * Create a {@link LocalMetricPublisher} using all default values, without a scrape endpoint.
+     */
+    public static LocalMetricPublisher create() {
+        return builder().build();
+    }
+
+    @Override
+    public void publish(MetricCollection metricCollection) {
+        OperationKey operation = new OperationKey(firstValue(metricCollection, CoreMetric.SERVICE_ID),
+                                                  firstValue(metricCollection, CoreMetric.OPERATION_NAME));
+        ConcurrentMap<SdkMetric<?>, ConcurrentHistogram> operationHistograms = histograms.get(operation);
+        if (operationHistograms == null) {
+            operationHistograms = histograms.computeIfAbsent(operation, o -> new ConcurrentHashMap<>());
+        }
+        record(metricCollection, operationHistograms);
+    }
+
+    /**
+     * Retrieve a snapshot of the values of every metric for every service operation that has been published so far.
+     */
+    public List<MetricSnapshot> snapshots() {
+        List<MetricSnapshot> result = new ArrayList<>();
+        histograms.forEach((operation, operationHistograms) -> operationHistograms.forEach((metric, histogram) -> {
+            result.add(new DefaultMetricSnapshot(operation, metric, histogram.snapshot()));
+        }));
+        return result;
+    }
+
+    /**
+     * Retrieve a snapshot of the values of a metric for a service operation, if any have been published.
+     *
+     * @param serviceId The {@link CoreMetric#SERVICE_ID} of the service, for example {@code "S3"}.
+     * @param operationName The {@link CoreMetric#OPERATION_NAME} of the operation, for example {@code "GetObject"}.
+     * @param metric The metric.
+     */
+    public Optional<MetricSnapshot> snapshot(String serviceId, String operationName, SdkMetric<?> metric) {
+        Validate.paramNotNull(serviceId, "serviceId");
+        Validate.paramNotNull(operationName, "operationName");
+        Validate.paramNotNull(metric, "metric");
+        OperationKey operation = new OperationKey(serviceId, operationName);
+        return Optional.ofNullable(histograms.get(operation))
+                       .map(operationHistograms -> operationHistograms.get(metric))
+                       .map(histogram -> new DefaultMetricSnapshot(operation, metric, histogram.snapshot()));
+    }
+
+    /**
+     * Render the current {@link #snapshots()} in the Prometheus text exposition format, as served by the scrape endpoint.
+     */
+    public String prometheusText() {
+        return PrometheusTextFormatter.format(snapshots());
+    }
+
+    /**
+     * @return The address the scrape endpoint is bound to, if one was configured. This includes the actual port when the
+     * endpoint was configured with port 0.
+     */
+    public Optional<InetSocketAddress> scrapeEndpointAddress() {
+        return Optional.ofNullable(scrapeEndpoint).map(ScrapeEndpoint::address);
+    }
+
+    @Override
+    public void close() {
+        if (scrapeEndpoint != null) {
+            scrapeEndpoint.close();
+        }
+    }
+
+    private void record(MetricCollection collection, ConcurrentMap<SdkMetric<?>, ConcurrentHistogram> operationHistograms) {
+        for (MetricRecord<?> metricRecord : collection) {
+            SdkMetric<?> metric = metricRecord.metric();
+            if (!shouldRecord(metric)) {
+                continue;
+            }
+
+            Object value = metricRecord.value();
+            double doubleValue;
+            if (value instanceof Duration) {
+                doubleValue = ((Duration) value).toNanos() / 1_000_000_000.0;
+            } else if (value instanceof Number) {
+                doubleValue = ((Number) value).doubleValue();
+            } else if (value instanceof Boolean) {
+                doubleValue = (Boolean) value ? 1 : 0;
+            } else {
+                continue;
+            }
+
+            ConcurrentHistogram histogram = operationHistograms.get(metric);
+            if (histogram == null) {
+                histogram = operationHistograms.computeIfAbsent(metric, m -> new ConcurrentHistogram(percentileWindow));
+            }
+            histogram.record(doubleValue);
+        }
+
+        for (MetricCollection child : collection.children()) {
+            record(child, operationHistograms);
+        }
+    }
+
+    private boolean shouldRecord(SdkMetric<?> metric) {
+        if (!metricLevel.includesLevel(metric.level())) {
+            return false;
+        }
+        if (metricCategoriesContainsAll) {
+            return true;
+        }
+        for (MetricCategory category : metric.categories()) {
+            if (metricCategories.contains(category)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private static String firstValue(MetricCollection collection, SdkMetric<String> metric) {
+        List<String> values = collection.metricValues(metric);
+        return values.isEmpty() || values.get(0) == null ? UNKNOWN : values.get(0);
+    }
+
+    /**
+     * Builder class to construct {@link LocalMetricPublisher} instances. See the individual properties for which
+     * configuration settings are available.
+     */
+    public static final class Builder {
+        private Collection<MetricCategory> metricCategories;
+        private MetricLevel metricLevel;
+        private Duration percentileWindow;
+        private InetSocketAddress scrapeEndpoint;
+
+        private Builder() {
+        }
+
+        /**
+         * Configure the {@link MetricCategory}s whose metrics should be recorded. Metrics in other categories are ignored.
+         *
+         * <p>If this is not specified, {@link MetricCategory#CORE} and {@link MetricCategory#HTTP_CLIENT} metrics are recorded.
+         * If it is empty, no metrics are recorded.
+         */
+        public Builder metricCategories(Collection<MetricCategory> metricCategories) {
+            this.metricCategories = new ArrayList<>(metricCategories);
+            return this;
+        }
+
+        /**
+         * @see #metricCategories(Collection)
+         */
+        public Builder metricCategories(MetricCategory... metricCategories) {
+            return metricCategories(Arrays.asList(metricCategories));
+        }
+
+        /**
+         * Configure the {@link MetricLevel} that should be recorded. Metrics at a more verbose level are ignored.
+         *
+         * <p>If this is not specified, {@link MetricLevel#INFO} is used.
+         */
+        public Builder metricLevel(MetricLevel metricLevel) {
+            this.metricLevel = metricLevel;
+            return this;
+        }
+
+        /**
+         * Configure the sliding window covered by the percentiles and maximum of each metric. Values published before the
+         * window are no longer included in them, but are still included in the count and sum.
+         *
+         * <p>If this is not specified, 5 minutes is used.
+         */
+        public Builder percentileWindow(Duration percentileWindow) {
+            this.percentileWindow = percentileWindow;
+            return this;
+        }
+
+        /**
+         * Serve the aggregated metrics in the Prometheus text format on {@code GET /metrics} at the given address. Use port 0
+         * to bind to an ephemeral port, which can be retrieved with {@link LocalMetricPublisher#scrapeEndpointAddress()}.
+         *
+         * <p>If this is not specified, no endpoint is started. The endpoint does not support TLS or authentication, so it
+         * should only be bound to an address that is not reachable by untrusted clients.
+         */
+        public Builder scrapeEndpoint(InetSocketAddress scrapeEndpoint) {
+            this.scrapeEndpoint = scrapeEndpoint;
+            return this;
+        }
+
+        /**
+         * Build a {@link LocalMetricPublisher} using the configuration currently configured on this builder.
+         */
+        public LocalMetricPublisher build() {
+            return new LocalMetricPublisher(this);
+        }
+    }
+}
@@ -0,0 +1,95 @@
+/*
+ * Copyright Amazon.com, Inc. or its affiliates. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License").
+ * You may not use this file except in compliance with the License.
+ * A copy of the License is located at
+ *
+ *  http://aws.amazon.com/apache2.0
+ *
+ * or in the "license" file accompanying this file. This file is distributed
+ * on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either
+ * express or implied. See the License for the specific language governing
+ * permissions and limitations under the License.
+ */
+
+package software.amazon.awssdk.metrics.publishers.local;
+
+import java.time.Duration;
+import software.amazon.awssdk.annotations.Immutable;
+import software.amazon.awssdk.annotations.SdkPublicApi;
+import software.amazon.awssdk.annotations.ThreadSafe;
+import software.amazon.awssdk.metrics.SdkMetric;
+
+/**
+ * A point-in-time view of the values of one metric that a {@link LocalMetricPublisher} has aggregated for one service
+ * operation. The count and sum cover the values published since the publisher was created, and the percentiles and maximum
+ * cover the values published during the publisher's {@link LocalMetricPublisher.Builder#percentileWindow(Duration)}.
+ *
+ * <p>Values are in the unit of the metric, except for {@link Duration} metrics, whose values are in seconds. {@link Boolean}
+ * metrics have the value 1 for true and 0 for false. Percentiles are accurate to within about 1% of the value.
+ */
+@SdkPublicApi
+@Immutable
+@ThreadSafe
+public interface MetricSnapshot {
+    /**
+     * @return The service ID of the calls that reported the values, or {@code "Unknown"} if they didn't report one.
+     */
+    String serviceId();
+
+    /**
+     * @return The operation name of the calls that reported the values, or {@code "Unknown"} if they didn't report one.
+     */
+    String operationName();
+
+    /**
+     * @return The metric whose values are in this snapshot.
+     */
+    SdkMetric<?> metric();
+
+    /**
+     * @return The number of values published since the publisher was created.
+     */
+    long count();
+
+    /**
+     * @return The sum of the values published since the publisher was created.
+     */
+    double sum();
+
+    /**
+     * @return The largest value published during the window, or 0 if there are none.
+     */
+    double max();
+
+    /**
+     * Return the value at the given percentile.
+     *
+     * @param percentile The percentile, between 0 and 100.
+     * @return The value below which the given percentage of the values published during the window fall, or 0 if there are
+     * none.
+     */
+    double percentile(double percentile);
+
+    /**
+     * @return The median value.
+     */
+    default double p50() {
+        return percentile(50);
+    }
+
+    /**
+     * @return The 99th percentile value.
+     */
+    default double p99() {
+        return percentile(99);
+    }
+
+    /**
+     * @return The 99.9th percentile value.
+     */
+    default double p999() {
+        return percentile(99.9);
+    }
+}
@@ -0,0 +1,226 @@
+/*
+ * Copyright Amazon.com, Inc. or its affiliates. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License").
+ * You may not use this file except in compliance with the License.
+ * A copy of the License is located at
+ *
+ *  http://aws.amazon.com/apache2.0
+ *
+ * or in the "license" file accompanying this file. This file is distributed
+ * on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either
+ * express or implied. See the License for the specific language governing
+ * permissions and limitations under the License.
+ */
+
+package software.amazon.awssdk.metrics.publishers.local.internal;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+import java.util.concurrent.atomic.DoubleAccumulator;
+import java.util.concurrent.atomic.DoubleAdder;
+import java.util.concurrent.atomic.LongAdder;
+import software.amazon.awssdk.annotations.SdkInternalApi;
+import software.amazon.awssdk.annotations.ThreadSafe;
+import software.amazon.awssdk.metrics.internal.LogBuckets;
+import software.amazon.awssdk.utils.Validate;
+
+/**
+ * A lock-free histogram of non-negative double values with logarithmically-sized buckets, as described by {@link LogBuckets}.
+ *
+ * <p>Each power of two is split into 64 linear sub-buckets, so percentiles are accurate to within about 1% of the value.
+ * Magnitudes below 2<sup>-30</sup> (about one nanosecond, when recording seconds) are counted as zero, and magnitudes above
+ * 2<sup>41</sup> are counted in the highest bucket. Negative values are counted as zero.
+ *
+ * <p>The count and the sum cover every value recorded since the histogram was created, like a Prometheus summary. The
+ * percentiles and the maximum only cover the values recorded during a sliding window, so that they reflect recent calls. The
+ * window is made of {@value #WINDOW_SLICES} slices, each with its own bucket counts: values are recorded in the slice of the
+ * current time, and a slice is cleared when it is reused, once it is older than the window. A snapshot therefore covers
+ * between four fifths of the window and the whole window. The sub-bucket counters of a power of two are allocated when a
+ * value in that range is first recorded in a slice.
+ */
+@SdkInternalApi
+@ThreadSafe
+public final class ConcurrentHistogram {
+    private static final LogBuckets BUCKETS = new LogBuckets(6, -30, 40);
+    private static final int SUB_BUCKETS = BUCKETS.subBuckets();
+    private static final int WINDOW_SLICES = 5;
+
+    private final Clock clock;
+    private final long sliceMillis;
+    private final AtomicReferenceArray<Slice> slices = new AtomicReferenceArray<>(WINDOW_SLICES);
+    private final LongAdder count = new LongAdder();
+    private final DoubleAdder sum = new DoubleAdder();
+
+    /**
+     * @param window The duration covered by the percentiles and maximum of a {@link #snapshot()}.
+     */
+    public ConcurrentHistogram(Duration window) {
+        this(window, Clock.systemUTC());
+    }
+
+    ConcurrentHistogram(Duration window, Clock clock) {
+        Validate.isPositive(window, "window");
+        this.clock = clock;
+        this.sliceMillis = Math.max(1, window.toMillis() / WINDOW_SLICES);
+    }
+
+    /**
+     * Record a value. NaN values are ignored.
+     */
+    public void record(double value) {
+        if (Double.isNaN(value)) {
+            return;
+        }
+
+        count.increment();
+        sum.add(value);
+        currentSlice().record(value);
+    }
+
+    /**
+     * Take a snapshot of the values recorded so far. Values that are recorded concurrently with the snapshot may or may not
+     * be included in it.
+     */
+    public Snapshot snapshot() {
+        long oldestSliceId = clock.millis() / sliceMillis - WINDOW_SLICES + 1;
+        long[] counts = new long[1 + BUCKETS.bucketCount()];
+        double max = 0;
+        for (int i = 0; i < WINDOW_SLICES; i++) {
+            Slice slice = slices.get(i);
+            if (slice != null && slice.id >= oldestSliceId) {
+                slice.addTo(counts);
+                max = Math.max(max, slice.max.get());
+            }
+        }
+
+        long windowCount = 0;
+        for (long bucketCount : counts) {
+            windowCount += bucketCount;
+        }
+        return new Snapshot(counts, windowCount, count.sum(), sum.sum(), max);
+    }
+
+    private Slice currentSlice() {
+        long sliceId = clock.millis() / sliceMillis;
+        int index = (int) (sliceId % WINDOW_SLICES);
+        Slice slice = slices.get(index);
+        while (slice == null || slice.id < sliceId) {
+            Slice newSlice = new Slice(sliceId);
+            if (slices.compareAndSet(index, slice, newSlice)) {
+                return newSlice;
+            }
+            slice = slices.get(index);
+        }
+        return slice;
+    }
+
+    /**
+     * The bucket counts of the values recorded during one slice of the window.
+     */
+    private static final class Slice {
+        private final long id;
+        private final AtomicReferenceArray<AtomicLongArray> buckets = new AtomicReferenceArray<>(BUCKETS.exponents());
+        private final LongAdder zeroCount = new LongAdder();
+        private final DoubleAccumulator max = new DoubleAccumulator(Math::max, 0);
+
+        private Slice(long id) {
+            this.id = id;
+        }
+
+        private void record(double value) {
+            max.accumulate(value);
+
+            if (value < BUCKETS.minMagnitude()) {
+                zeroCount.increment();
+                return;
+            }
+
+            int bucket = BUCKETS.bucketIndex(value);
+            int index = bucket / SUB_BUCKETS;
+            AtomicLongArray counts = buckets.get(index);
+            if (counts == null) {
+                buckets.compareAndSet(index, null, new AtomicLongArray(SUB_BUCKETS));
+                counts = buckets.get(index);
+            }
+            counts.incrementAndGet(bucket % SUB_BUCKETS);
+        }
+
+        private void addTo(long[] counts) {
+            counts[0] += zeroCount.sum();
+            for (int i = 0; i < buckets.length(); i++) {
+                AtomicLongArray exponentCounts = buckets.get(i);
+                if (exponentCounts != null) {
+                    for (int j = 0; j < SUB_BUCKETS; j++) {
+                        counts[1 + i * SUB_BUCKETS + j] += exponentCounts.get(j);
+                    }
+                }
+            }
+        }
+    }
+
+    /**
+     * An immutable copy of the counts of a {@link ConcurrentHistogram}.
+     */
+    public static final class Snapshot {
+        private final long[] counts;
+        private final long windowCount;
+        private final long count;
+        private final double sum;
+        private final double max;
+
+        private Snapshot(long[] counts, long windowCount, long count, double sum, double max) {
+            this.counts = counts;
+            this.windowCount = windowCount;
+            this.count = count;
+            this.sum = sum;
+            this.max = max;
+        }
+
+        /**
+         * @return The number of values recorded since the histogram was created.
+         */
+        public long count() {
+            return count;
+        }
+
+        /**
+         * @return The sum of the values recorded since the histogram was created.
+         */
+        public double sum() {
+            return sum;
+        }
+
+        /**
+         * @return The largest value recorded during the window, or 0 if there are none.
+         */
+        public double max() {
+            return max;
+        }
+
+        /**
+         * Return the value below which the given fraction of the values recorded during the window fall. This is the midpoint
+         * of the bucket that contains that value, capped at the largest value recorded during the window.
+         *
+         * @param quantile The fraction of values, between 0 and 1.
+         * @return The value at the quantile, or 0 if no values were recorded during the window.
+         */
+        public double valueAtQuantile(double quantile) {
+            if (windowCount == 0) {
+                return 0;
+            }
+
+            long rank = Math.max(1, (long) Math.ceil(quantile * windowCount));
+            long seen = 0;
+            for (int i = 0; i < counts.length; i++) {
+                seen += counts[i];
+                if (seen >= rank) {
+                    return i == 0 ? 0 : Math.min(BUCKETS.bucketMidpoint(i - 1), max);
+                }
+            }
+            return max;
+        }
+    }
+}
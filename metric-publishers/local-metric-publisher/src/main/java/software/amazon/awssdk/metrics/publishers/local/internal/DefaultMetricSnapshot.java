@@ -0,0 +1,85 @@
+/*
+ * Copyright Amazon.com, Inc. or its affiliates. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License").
+ * You may not use this file except in compliance with the License.
+ * A copy of the License is located at
+ *
+ *  http://aws.amazon.com/apache2.0
+ *
+ * or in the "license" file accompanying this file. This file is distributed
+ * on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either
+ * express or implied. See the License for the specific language governing
+ * permissions and limitations under the License.
+ */
+
+package software.amazon.awssdk.metrics.publishers.local.internal;
+
+import software.amazon.awssdk.annotations.SdkInternalApi;
+import software.amazon.awssdk.metrics.SdkMetric;
+import software.amazon.awssdk.metrics.publishers.local.MetricSnapshot;
+import software.amazon.awssdk.utils.ToString;
+import software.amazon.awssdk.utils.Validate;
+
+@SdkInternalApi
+public final class DefaultMetricSnapshot implements MetricSnapshot {
+    private final OperationKey operation;
+    private final SdkMetric<?> metric;
+    private final ConcurrentHistogram.Snapshot histogram;
+
+    public DefaultMetricSnapshot(OperationKey operation, SdkMetric<?> metric, ConcurrentHistogram.Snapshot histogram) {
+        this.operation = operation;
+        this.metric = metric;
+        this.histogram = histogram;
+    }
+
+    @Override
+    public String serviceId() {
+        return operation.serviceId();
+    }
+
+    @Override
+    public String operationName() {
+        return operation.operationName();
+    }
+
+    @Override
+    public SdkMetric<?> metric() {
+        return metric;
+    }
+
+    @Override
+    public long count() {
+        return histogram.count();
+    }
+
+    @Override
+    public double sum() {
+        return histogram.sum();
+    }
+
+    @Override
+    public double max() {
+        return histogram.max();
+    }
+
+    @Override
+    public double percentile(double percentile) {
+        Validate.isTrue(percentile >= 0 && percentile <= 100, "percentile must be between 0 and 100, but was %s", percentile);
+        return histogram.valueAtQuantile(percentile / 100);
+    }
+
+    @Override
+    public String toString() {
+        return ToString.builder("MetricSnapshot")
+                       .add("serviceId", serviceId())
+                       .add("operationName", operationName())
+                       .add("metric", metric.name())
+                       .add("count", count())
+                       .add("p50", p50())
+                       .add("p99", p99())
+                       .add("p999", p999())
+                       .add("max", max())
+                       .build();
+    }
+}
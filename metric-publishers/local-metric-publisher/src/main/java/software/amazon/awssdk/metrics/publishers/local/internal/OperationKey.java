@@ -0,0 +1,68 @@
+/*
+ * Copyright Amazon.com, Inc. or its affiliates. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License").
+ * You may not use this file except in compliance with the License.
+ * A copy of the License is located at
+ *
+ *  http://aws.amazon.com/apache2.0
+ *
+ * or in the "license" file accompanying this file. This file is distributed
+ * on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either
+ * express or implied. See the License for the specific language governing
+ * permissions and limitations under the License.
+ */
+
+package software.amazon.awssdk.metrics.publishers.local.internal;
+
+import software.amazon.awssdk.annotations.SdkInternalApi;
+import software.amazon.awssdk.utils.ToString;
+
+/**
+ * The service and operation under which a {@link software.amazon.awssdk.metrics.publishers.local.LocalMetricPublisher}
+ * aggregates the metrics of a call.
+ */
+@SdkInternalApi
+public final class OperationKey {
+    private final String serviceId;
+    private final String operationName;
+
+    public OperationKey(String serviceId, String operationName) {
+        this.serviceId = serviceId;
+        this.operationName = operationName;
+    }
+
+    public String serviceId() {
+        return serviceId;
+    }
+
+    public String operationName() {
+        return operationName;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) {
+            return true;
+        }
+        if (o == null || getClass() != o.getClass()) {
+            return false;
+        }
+
+        OperationKey that = (OperationKey) o;
+        return serviceId.equals(that.serviceId) && operationName.equals(that.operationName);
+    }
+
+    @Override
+    public int hashCode() {
+        return 31 * serviceId.hashCode() + operationName.hashCode();
+    }
+
+    @Override
+    public String toString() {
+        return ToString.builder("OperationKey")
+                       .add("serviceId", serviceId)
+                       .add("operationName", operationName)
+                       .build();
+    }
+}
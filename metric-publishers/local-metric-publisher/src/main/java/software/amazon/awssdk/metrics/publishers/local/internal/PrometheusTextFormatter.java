@@ -0,0 +1,98 @@
+/*
+ * Copyright Amazon.com, Inc. or its affiliates. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License").
+ * You may not use this file except in compliance with the License.
+ * A copy of the License is located at
+ *
+ *  http://aws.amazon.com/apache2.0
+ *
+ * or in the "license" file accompanying this file. This file is distributed
+ * on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either
+ * express or implied. See the License for the specific language governing
+ * permissions and limitations under the License.
+ */
+
+package software.amazon.awssdk.metrics.publishers.local.internal;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import software.amazon.awssdk.annotations.SdkInternalApi;
+import software.amazon.awssdk.metrics.publishers.local.MetricSnapshot;
+
+/**
+ * Formats {@link MetricSnapshot}s as summaries in the Prometheus text exposition format (version 0.0.4).
+ *
+ * <p>Each metric is named after its {@link software.amazon.awssdk.metrics.SdkMetric#name()} in snake case, prefixed with
+ * {@code aws_sdk_} and, for {@link Duration} metrics, suffixed with {@code _seconds}. For example, {@code ApiCallDuration}
+ * becomes {@code aws_sdk_api_call_duration_seconds}. Each series is labelled with the {@code service} and {@code operation}.
+ */
+@SdkInternalApi
+public final class PrometheusTextFormatter {
+    public static final String CONTENT_TYPE = "text/plain; version=0.0.4; charset=utf-8";
+
+    private static final double[] QUANTILES = {0.5, 0.99, 0.999};
+
+    private PrometheusTextFormatter() {
+    }
+
+    public static String format(List<MetricSnapshot> snapshots) {
+        List<MetricSnapshot> sorted = new ArrayList<>(snapshots);
+        sorted.sort(Comparator.comparing((MetricSnapshot s) -> s.metric().name())
+                              .thenComparing(MetricSnapshot::serviceId)
+                              .thenComparing(MetricSnapshot::operationName));
+
+        StringBuilder result = new StringBuilder();
+        String previousName = null;
+        for (MetricSnapshot snapshot : sorted) {
+            String name = metricName(snapshot);
+            if (!name.equals(previousName)) {
+                result.append("# TYPE ").append(name).append(" summary\n");
+                previousName = name;
+            }
+
+            String labels = "service=\"" + escape(snapshot.serviceId()) + "\",operation=\"" +
+                            escape(snapshot.operationName()) + "\"";
+            for (double quantile : QUANTILES) {
+                result.append(name).append('{').append(labels).append(",quantile=\"").append(quantile).append("\"} ")
+                      .append(snapshot.percentile(quantile * 100)).append('\n');
+            }
+            result.append(name).append("_sum{").append(labels).append("} ").append(snapshot.sum()).append('\n');
+            result.append(name).append("_count{").append(labels).append("} ").append(snapshot.count()).append('\n');
+        }
+        return result.toString();
+    }
+
+    static String metricName(MetricSnapshot snapshot) {
+        StringBuilder name = new StringBuilder("aws_sdk_");
+        String metricName = snapshot.metric().name();
+        for (int i = 0; i < metricName.length(); i++) {
+            char c = metricName.charAt(i);
+            if (isUpperCase(c)) {
+                if (i > 0 && !isUpperCase(metricName.charAt(i - 1))) {
+                    name.append('_');
+                }
+                name.append(Character.toLowerCase(c));
+            } else if ((c >= 'a' && c <= 'z') || (c >= '0' && c <= '9')) {
+                name.append(c);
+            } else {
+                name.append('_');
+            }
+        }
+
+        if (Duration.class.isAssignableFrom(snapshot.metric().valueClass())) {
+            name.append("_seconds");
+        }
+        return name.toString();
+    }
+
+    private static boolean isUpperCase(char c) {
+        return c >= 'A' && c <= 'Z';
+    }
+
+    private static String escape(String labelValue) {
+        return labelValue.replace("\\", "\\\\").replace("\"", "\\\"").replace("\n", "\\n");
+    }
+}
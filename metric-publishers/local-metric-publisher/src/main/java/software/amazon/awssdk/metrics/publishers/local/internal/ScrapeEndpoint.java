@@ -0,0 +1,100 @@
+/*
+ * Copyright Amazon.com, Inc. or its affiliates. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License").
+ * You may not use this file except in compliance with the License.
+ * A copy of the License is located at
+ *
+ *  http://aws.amazon.com/apache2.0
+ *
+ * or in the "license" file accompanying this file. This file is distributed
+ * on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either
+ * express or implied. See the License for the specific language governing
+ * permissions and limitations under the License.
+ */
+
+package software.amazon.awssdk.metrics.publishers.local.internal;
+
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadFactory;
+import java.util.function.Supplier;
+import software.amazon.awssdk.annotations.SdkInternalApi;
+import software.amazon.awssdk.utils.SdkAutoCloseable;
+import software.amazon.awssdk.utils.ThreadFactoryBuilder;
+
+/**
+ * A minimal HTTP endpoint, based on the JDK's built-in HTTP server, that serves the text returned by a supplier on
+ * {@code GET /metrics}. Requests are handled on a single daemon thread.
+ */
+@SdkInternalApi
+public final class ScrapeEndpoint implements SdkAutoCloseable {
+    public static final String PATH = "/metrics";
+
+    private final HttpServer server;
+    private final ExecutorService executor;
+
+    private ScrapeEndpoint(HttpServer server, ExecutorService executor) {
+        this.server = server;
+        this.executor = executor;
+    }
+
+    /**
+     * Bind an endpoint to the given address and start serving scrapes.
+     */
+    public static ScrapeEndpoint start(InetSocketAddress address, Supplier<String> scrapeText) {
+        HttpServer server;
+        try {
+            server = HttpServer.create(address, 0);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Unable to bind the metrics scrape endpoint to " + address, e);
+        }
+
+        ThreadFactory threadFactory = new ThreadFactoryBuilder().threadNamePrefix("sdk-metrics-scrape")
+                                                                .daemonThreads(true)
+                                                                .build();
+        ExecutorService executor = Executors.newSingleThreadExecutor(threadFactory);
+        server.setExecutor(executor);
+        server.createContext(PATH, exchange -> handle(exchange, scrapeText));
+        server.start();
+        return new ScrapeEndpoint(server, executor);
+    }
+
+    /**
+     * @return The address the endpoint is bound to. This includes the actual port when the endpoint was bound to port 0.
+     */
+    public InetSocketAddress address() {
+        return server.getAddress();
+    }
+
+    private static void handle(HttpExchange exchange, Supplier<String> scrapeText) throws IOException {
+        try {
+            if (!"GET".equals(exchange.getRequestMethod())) {
+                exchange.sendResponseHeaders(405, -1);
+                return;
+            }
+
+            byte[] body = scrapeText.get().getBytes(StandardCharsets.UTF_8);
+            exchange.getResponseHeaders().set("Content-Type", PrometheusTextFormatter.CONTENT_TYPE);
+            exchange.sendResponseHeaders(200, body.length);
+            try (OutputStream responseBody = exchange.getResponseBody()) {
+                responseBody.write(body);
+            }
+        } finally {
+            exchange.close();
+        }
+    }
+
+    @Override
+    public void close() {
+        server.stop(0);
+        executor.shutdownNow();
+    }
+}
@@ -0,0 +1,174 @@
+/*
+ * Copyright Amazon.com, Inc. or its affiliates. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License").
+ * You may not use this file except in compliance with the License.
+ * A copy of the License is located at
+ *
+ *  http://aws.amazon.com/apache2.0
+ *
+ * or in the "license" file accompanying this file. This file is distributed
+ * on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either
+ * express or implied. See the License for the specific language governing
+ * permissions and limitations under the License.
+ */
+
+package software.amazon.awssdk.metrics.publishers.local;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.assertj.core.api.Assertions.within;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.net.HttpURLConnection;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.net.URL;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.Collections;
+import org.junit.Test;
+import software.amazon.awssdk.core.metrics.CoreMetric;
+import software.amazon.awssdk.http.HttpMetric;
+import software.amazon.awssdk.metrics.MetricCategory;
+import software.amazon.awssdk.metrics.MetricCollection;
+import software.amazon.awssdk.metrics.MetricCollector;
+import software.amazon.awssdk.metrics.MetricLevel;
+import software.amazon.awssdk.utils.IoUtils;
+
+public class LocalMetricPublisherTest {
+    @Test
+    public void metricsAreAggregatedPerOperation() {
+        try (LocalMetricPublisher publisher = LocalMetricPublisher.create()) {
+            for (int i = 1; i <= 100; i++) {
+                publisher.publish(apiCall("DynamoDB", "GetItem", Duration.ofMillis(i)));
+            }
+            publisher.publish(apiCall("DynamoDB", "PutItem", Duration.ofSeconds(2)));
+
+            MetricSnapshot getItem = publisher.snapshot("DynamoDB", "GetItem", CoreMetric.API_CALL_DURATION).get();
+            assertThat(getItem.count()).isEqualTo(100);
+            assertThat(getItem.p50()).isCloseTo(0.050, within(0.0005));
+            assertThat(getItem.p99()).isCloseTo(0.099, within(0.001));
+            assertThat(getItem.p999()).isCloseTo(0.100, within(0.001));
+            assertThat(getItem.max()).isEqualTo(0.1);
+
+            MetricSnapshot putItem = publisher.snapshot("DynamoDB", "PutItem", CoreMetric.API_CALL_DURATION).get();
+            assertThat(putItem.count()).isEqualTo(1);
+            assertThat(putItem.p50()).isEqualTo(2.0);
+
+            assertThat(publisher.snapshot("DynamoDB", "Query", CoreMetric.API_CALL_DURATION)).isEmpty();
+        }
+    }
+
+    @Test
+    public void percentileWindow_isValidated() {
+        assertThatThrownBy(() -> LocalMetricPublisher.builder().percentileWindow(Duration.ZERO).build())
+            .isInstanceOf(IllegalArgumentException.class);
+    }
+
+    @Test
+    public void childMetricsAndBooleansAreRecorded_stringsAreNot() {
+        try (LocalMetricPublisher publisher = LocalMetricPublisher.create()) {
+            publisher.publish(apiCall("S3", "GetObject", Duration.ofMillis(10)));
+
+            assertThat(publisher.snapshot("S3", "GetObject", HttpMetric.MAX_CONCURRENCY).get().p50()).isEqualTo(50.0);
+            assertThat(publisher.snapshot("S3", "GetObject", CoreMetric.API_CALL_SUCCESSFUL).get().sum()).isEqualTo(1.0);
+            assertThat(publisher.snapshot("S3", "GetObject", CoreMetric.SERVICE_ID)).isEmpty();
+        }
+    }
+
+    @Test
+    public void metricsOutsideConfiguredCategoriesAreIgnored() {
+        try (LocalMetricPublisher publisher = LocalMetricPublisher.builder()
+                                                                  .metricCategories(MetricCategory.HTTP_CLIENT)
+                                                                  .build()) {
+            publisher.publish(apiCall("S3", "GetObject", Duration.ofMillis(10)));
+
+            assertThat(publisher.snapshot("S3", "GetObject", CoreMetric.API_CALL_DURATION)).isEmpty();
+            assertThat(publisher.snapshot("S3", "GetObject", HttpMetric.MAX_CONCURRENCY)).isPresent();
+        }
+    }
+
+    @Test
+    public void emptyMetricCategories_recordNothing() {
+        try (LocalMetricPublisher publisher = LocalMetricPublisher.builder()
+                                                                  .metricCategories(Collections.emptyList())
+                                                                  .build()) {
+            publisher.publish(apiCall("S3", "GetObject", Duration.ofMillis(10)));
+
+            assertThat(publisher.snapshots()).isEmpty();
+        }
+    }
+
+    @Test
+    public void metricsAboveConfiguredLevelAreIgnored() {
+        try (LocalMetricPublisher defaultLevel = LocalMetricPublisher.create();
+             LocalMetricPublisher traceLevel = LocalMetricPublisher.builder().metricLevel(MetricLevel.TRACE).build()) {
+            defaultLevel.publish(apiCall("S3", "GetObject", Duration.ofMillis(10)));
+            traceLevel.publish(apiCall("S3", "GetObject", Duration.ofMillis(10)));
+
+            assertThat(defaultLevel.snapshot("S3", "GetObject", HttpMetric.HTTP_STATUS_CODE)).isEmpty();
+            assertThat(traceLevel.snapshot("S3", "GetObject", HttpMetric.HTTP_STATUS_CODE)).isPresent();
+        }
+    }
+
+    @Test
+    public void collectionWithoutServiceOrOperation_isRecordedAsUnknown() {
+        try (LocalMetricPublisher publisher = LocalMetricPublisher.create()) {
+            MetricCollector collector = MetricCollector.create("ApiCall");
+            collector.reportMetric(CoreMetric.RETRY_COUNT, 1);
+            publisher.publish(collector.collect());
+
+            assertThat(publisher.snapshot("Unknown", "Unknown", CoreMetric.RETRY_COUNT)).isPresent();
+        }
+    }
+
+    @Test
+    public void prometheusText_containsSummaryPerOperation() {
+        try (LocalMetricPublisher publisher = LocalMetricPublisher.create()) {
+            publisher.publish(apiCall("S3", "GetObject", Duration.ofMillis(250)));
+            publisher.publish(apiCall("S3", "Get\"Object", Duration.ofMillis(250)));
+
+            String text = publisher.prometheusText();
+            assertThat(text).contains("# TYPE aws_sdk_api_call_duration_seconds summary\n");
+            assertThat(text).contains("aws_sdk_api_call_duration_seconds{service=\"S3\",operation=\"GetObject\",quantile=\"0.99\"} "
+                                      + "0.25\n");
+            assertThat(text).contains("aws_sdk_api_call_duration_seconds_count{service=\"S3\",operation=\"GetObject\"} 1\n");
+            assertThat(text).contains("aws_sdk_max_concurrency_sum{service=\"S3\",operation=\"GetObject\"} 50.0\n");
+            assertThat(text).contains("operation=\"Get\\\"Object\"");
+        }
+    }
+
+    @Test
+    public void scrapeEndpoint_servesPrometheusText() throws IOException {
+        InetSocketAddress address = new InetSocketAddress(InetAddress.getLoopbackAddress(), 0);
+        try (LocalMetricPublisher publisher = LocalMetricPublisher.builder().scrapeEndpoint(address).build()) {
+            publisher.publish(apiCall("S3", "GetObject", Duration.ofMillis(250)));
+
+            int port = publisher.scrapeEndpointAddress().get().getPort();
+            HttpURLConnection connection =
+                (HttpURLConnection) new URL("http://localhost:" + port + "/metrics").openConnection();
+            try (InputStream body = connection.getInputStream()) {
+                assertThat(connection.getResponseCode()).isEqualTo(200);
+                assertThat(connection.getContentType()).startsWith("text/plain; version=0.0.4");
+                assertThat(new String(IoUtils.toByteArray(body), StandardCharsets.UTF_8))
+                    .isEqualTo(publisher.prometheusText());
+            } finally {
+                connection.disconnect();
+            }
+        }
+    }
+
+    private static MetricCollection apiCall(String serviceId, String operationName, Duration duration) {
+        MetricCollector apiCall = MetricCollector.create("ApiCall");
+        apiCall.reportMetric(CoreMetric.SERVICE_ID, serviceId);
+        apiCall.reportMetric(CoreMetric.OPERATION_NAME, operationName);
+        apiCall.reportMetric(CoreMetric.API_CALL_DURATION, duration);
+        apiCall.reportMetric(CoreMetric.API_CALL_SUCCESSFUL, true);
+        MetricCollector attempt = apiCall.createChild("ApiCallAttempt");
+        attempt.reportMetric(HttpMetric.MAX_CONCURRENCY, 50);
+        attempt.reportMetric(HttpMetric.HTTP_STATUS_CODE, 200);
+        return apiCall.collect();
+    }
+}
@@ -0,0 +1,123 @@
+/*
+ * Copyright Amazon.com, Inc. or its affiliates. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License").
+ * You may not use this file except in compliance with the License.
+ * A copy of the License is located at
+ *
+ *  http://aws.amazon.com/apache2.0
+ *
+ * or in the "license" file accompanying this file. This file is distributed
+ * on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either
+ * express or implied. See the License for the specific language governing
+ * permissions and limitations under the License.
+ */
+
+package software.amazon.awssdk.metrics.publishers.local.internal;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.within;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.util.concurrent.CompletableFuture;
+import java.util.stream.IntStream;
+import org.junit.Test;
+
+public class ConcurrentHistogramTest {
+    private static final Duration WINDOW = Duration.ofMinutes(5);
+
+    @Test
+    public void emptyHistogram_hasZeroValues() {
+        ConcurrentHistogram.Snapshot snapshot = new ConcurrentHistogram(WINDOW).snapshot();
+        assertThat(snapshot.count()).isZero();
+        assertThat(snapshot.valueAtQuantile(0.99)).isZero();
+    }
+
+    @Test
+    public void quantiles_areWithinOnePercent() {
+        ConcurrentHistogram histogram = new ConcurrentHistogram(WINDOW);
+        for (int i = 1; i <= 10_000; i++) {
+            histogram.record(i / 1000.0);
+        }
+
+        ConcurrentHistogram.Snapshot snapshot = histogram.snapshot();
+        assertThat(snapshot.count()).isEqualTo(10_000);
+        assertThat(snapshot.sum()).isCloseTo(50_005.0, within(1e-6));
+        assertThat(snapshot.max()).isEqualTo(10.0);
+        assertThat(snapshot.valueAtQuantile(0.5)).isCloseTo(5.0, within(0.05));
+        assertThat(snapshot.valueAtQuantile(0.99)).isCloseTo(9.9, within(0.099));
+        assertThat(snapshot.valueAtQuantile(0.999)).isCloseTo(9.99, within(0.0999));
+        assertThat(snapshot.valueAtQuantile(1)).isEqualTo(10.0);
+    }
+
+    @Test
+    public void zeroNegativeAndTinyValues_areCountedAsZero() {
+        ConcurrentHistogram histogram = new ConcurrentHistogram(WINDOW);
+        histogram.record(0);
+        histogram.record(-5);
+        histogram.record(1e-12);
+        histogram.record(Double.NaN);
+        histogram.record(1);
+
+        ConcurrentHistogram.Snapshot snapshot = histogram.snapshot();
+        assertThat(snapshot.count()).isEqualTo(4);
+        assertThat(snapshot.valueAtQuantile(0.75)).isZero();
+        assertThat(snapshot.valueAtQuantile(1)).isEqualTo(1.0);
+    }
+
+    @Test
+    public void hugeValues_areCountedInHighestBucket() {
+        ConcurrentHistogram histogram = new ConcurrentHistogram(WINDOW);
+        histogram.record(1e300);
+
+        assertThat(histogram.snapshot().valueAtQuantile(0.5)).isGreaterThan(1e12);
+    }
+
+    @Test
+    public void concurrentRecords_areAllCounted() {
+        ConcurrentHistogram histogram = new ConcurrentHistogram(WINDOW);
+        CompletableFuture<?>[] recorders =
+            IntStream.range(0, 8)
+                     .mapToObj(t -> CompletableFuture.runAsync(() -> {
+                         for (int i = 0; i < 10_000; i++) {
+                             histogram.record(i % 100);
+                         }
+                     }))
+                     .toArray(CompletableFuture[]::new);
+        CompletableFuture.allOf(recorders).join();
+
+        assertThat(histogram.snapshot().count()).isEqualTo(80_000);
+    }
+
+    @Test
+    public void percentilesAndMax_onlyCoverTheWindow_countAndSumAreCumulative() {
+        Clock clock = mock(Clock.class);
+        when(clock.millis()).thenReturn(0L);
+        ConcurrentHistogram histogram = new ConcurrentHistogram(WINDOW, clock);
+        histogram.record(10);
+
+        when(clock.millis()).thenReturn(Duration.ofMinutes(3).toMillis());
+        histogram.record(1);
+
+        ConcurrentHistogram.Snapshot snapshot = histogram.snapshot();
+        assertThat(snapshot.max()).isEqualTo(10.0);
+        assertThat(snapshot.valueAtQuantile(1)).isEqualTo(10.0);
+
+        when(clock.millis()).thenReturn(Duration.ofMinutes(6).toMillis());
+        snapshot = histogram.snapshot();
+        assertThat(snapshot.count()).isEqualTo(2);
+        assertThat(snapshot.sum()).isEqualTo(11.0);
+        assertThat(snapshot.max()).isEqualTo(1.0);
+        assertThat(snapshot.valueAtQuantile(1)).isEqualTo(1.0);
+
+        when(clock.millis()).thenReturn(Duration.ofMinutes(10).toMillis());
+        histogram.record(2);
+        snapshot = histogram.snapshot();
+        assertThat(snapshot.count()).isEqualTo(3);
+        assertThat(snapshot.max()).isEqualTo(2.0);
+        assertThat(snapshot.valueAtQuantile(0.5)).isEqualTo(2.0);
+    }
+}
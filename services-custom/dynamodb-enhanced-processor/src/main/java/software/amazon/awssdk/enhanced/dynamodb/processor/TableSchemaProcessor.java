@@ -0,0 +1,126 @@
+/*
+ * Copyright Amazon.com, Inc. or its affiliates. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License").
+ * You may not use this file except in compliance with the License.
+ * A copy of the License is located at
+ *
+ *  http://aws.amazon.com/apache2.0
+ *
+ * or in the "license" file accompanying this file. This file is distributed
+ * on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either
+ * express or implied. See the License for the specific language governing
+ * permissions and limitations under the License.
+ */
+
+
+package software.amazon.awssdk.enhanced.dynamodb.processor;
+
+import java.io.IOException;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
+import java.util.Set;
+import javax.annotation.processing.AbstractProcessor;
+import javax.annotation.processing.ProcessingEnvironment;
+import javax.annotation.processing.RoundEnvironment;
+import javax.lang.model.SourceVersion;
+import javax.lang.model.element.Element;
+import javax.lang.model.element.TypeElement;
+import javax.tools.Diagnostic;
+import software.amazon.awssdk.annotations.SdkPublicApi;
+import software.amazon.awssdk.enhanced.dynamodb.processor.internal.EnhancedClientApi;
+import software.amazon.awssdk.enhanced.dynamodb.processor.internal.ItemIntrospector;
+import software.amazon.awssdk.enhanced.dynamodb.processor.internal.ItemModel;
+import software.amazon.awssdk.enhanced.dynamodb.processor.internal.TableSchemaGenerator;
+import software.amazon.awssdk.enhanced.dynamodb.processor.internal.UnsupportedItemException;
+
+/**
+ * An annotation processor that generates the table schemas of the classes annotated with {@code @DynamoDbBean} or
+ * {@code @DynamoDbImmutable} at build time, so that {@code TableSchema.fromBean}, {@code TableSchema.fromImmutableClass} and
+ * {@code TableSchema.fromClass} do not have to create them by scanning the classes with reflection at runtime. This makes
+ * creating the table schemas faster, which matters for applications with many of them that need to start quickly, and lets
+ * them be created in environments that restrict reflection.
+ * <p>
+ * The generated table schemas map the classes exactly like the table schemas created at runtime. Classes that use features
+ * which cannot be resolved at build time, such as custom attribute tag annotations, or documents that refer back to the
+ * class, are reported with a note and keep being scanned at runtime.
+ * <p>
+ * The processor is enabled by adding this module to the annotation processor path of the compiler, for example with Maven:
+ * <pre>
+ * {@code
+ * <plugin>
+ *     <artifactId>maven-compiler-plugin</artifactId>
+ *     <configuration>
+ *         <annotationProcessorPaths>
+ *             <path>
+ *                 <groupId>software.amazon.awssdk</groupId>
+ *                 <artifactId>dynamodb-enhanced-processor</artifactId>
+ *                 <version>${awsjavasdk.version}</version>
+ *             </path>
+ *         </annotationProcessorPaths>
+ *     </configuration>
+ * </plugin>
+ * }
+ * </pre>
+ */
+@SdkPublicApi
+public final class TableSchemaProcessor extends AbstractProcessor {
+    private ItemIntrospector itemIntrospector;
+    private TableSchemaGenerator tableSchemaGenerator;
+
+    @Override
+    public synchronized void init(ProcessingEnvironment processingEnvironment) {
+        super.init(processingEnvironment);
+        this.itemIntrospector = new ItemIntrospector(processingEnvironment);
+        this.tableSchemaGenerator = new TableSchemaGenerator();
+    }
+
+    @Override
+    public Set<String> getSupportedAnnotationTypes() {
+        return new HashSet<>(Arrays.asList(EnhancedClientApi.DYNAMO_DB_BEAN, EnhancedClientApi.DYNAMO_DB_IMMUTABLE));
+    }
+
+    @Override
+    public SourceVersion getSupportedSourceVersion() {
+        return SourceVersion.latestSupported();
+    }
+
+    @Override
+    public boolean process(Set<? extends TypeElement> annotations, RoundEnvironment roundEnvironment) {
+        Set<TypeElement> items = new LinkedHashSet<>();
+        for (TypeElement annotation : annotations) {
+            for (Element element : roundEnvironment.getElementsAnnotatedWith(annotation)) {
+                if (element.getKind().isClass() || element.getKind().isInterface()) {
+                    items.add((TypeElement) element);
+                }
+            }
+        }
+        items.forEach(this::generateTableSchema);
+
+        // The annotations are left for other processors to process as well
+        return false;
+    }
+
+    private void generateTableSchema(TypeElement itemElement) {
+        try {
+            ItemModel item = itemIntrospector.introspect(itemElement);
+            if (itemIntrospector.refersToItself(item)) {
+                throw new UnsupportedItemException("it refers to itself through the documents and flattened classes that it "
+                                                   + "refers to");
+            }
+            tableSchemaGenerator.generate(item).writeTo(processingEnv.getFiler());
+        } catch (UnsupportedItemException e) {
+            processingEnv.getMessager().printMessage(Diagnostic.Kind.NOTE,
+                                                     String.format("No table schema was generated for %s, so it will be "
+                                                                   + "created by scanning the class at runtime, because %s.",
+                                                                   itemElement.getQualifiedName(), e.getMessage()),
+                                                     itemElement);
+        } catch (IOException e) {
+            processingEnv.getMessager().printMessage(Diagnostic.Kind.ERROR,
+                                                     String.format("Failed to write the table schema generated for %s: %s",
+                                                                   itemElement.getQualifiedName(), e.getMessage()),
+                                                     itemElement);
+        }
+    }
+}
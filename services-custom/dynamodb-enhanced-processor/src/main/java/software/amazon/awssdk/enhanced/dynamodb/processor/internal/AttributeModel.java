@@ -0,0 +1,106 @@
+/*
+ * Copyright Amazon.com, Inc. or its affiliates. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License").
+ * You may not use this file except in compliance with the License.
+ * A copy of the License is located at
+ *
+ *  http://aws.amazon.com/apache2.0
+ *
+ * or in the "license" file accompanying this file. This file is distributed
+ * on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either
+ * express or implied. See the License for the specific language governing
+ * permissions and limitations under the License.
+ */
+
+
+package software.amazon.awssdk.enhanced.dynamodb.processor.internal;
+
+import com.squareup.javapoet.CodeBlock;
+import com.squareup.javapoet.TypeName;
+import java.util.Collections;
+import java.util.List;
+import software.amazon.awssdk.annotations.SdkInternalApi;
+
+/**
+ * An attribute of a generated table schema, or a table schema that is flattened into it.
+ */
+@SdkInternalApi
+final class AttributeModel {
+    private final String name;
+    private final CodeBlock type;
+    private final String getterName;
+    private final String setterName;
+    private final TypeName valueType;
+    private final TypeName converter;
+    private final List<CodeBlock> tags;
+    private final CodeBlock flattenedTableSchema;
+
+    private AttributeModel(String name, CodeBlock type, String getterName, String setterName, TypeName valueType,
+                           TypeName converter, List<CodeBlock> tags, CodeBlock flattenedTableSchema) {
+        this.name = name;
+        this.type = type;
+        this.getterName = getterName;
+        this.setterName = setterName;
+        this.valueType = valueType;
+        this.converter = converter;
+        this.tags = Collections.unmodifiableList(tags);
+        this.flattenedTableSchema = flattenedTableSchema;
+    }
+
+    /**
+     * @param type The code that creates the {@code EnhancedType} of the attribute.
+     * @param valueType The erased and boxed type of the values that the setter takes.
+     * @param converter The attribute converter class that the attribute is converted by, or null to use the converter
+     * providers of the table schema.
+     * @param tags The code that creates each of the {@code StaticAttributeTag}s of the attribute.
+     */
+    static AttributeModel attribute(String name, CodeBlock type, String getterName, String setterName, TypeName valueType,
+                                    TypeName converter, List<CodeBlock> tags) {
+        return new AttributeModel(name, type, getterName, setterName, valueType, converter, tags, null);
+    }
+
+    /**
+     * @param tableSchema The code that creates the table schema that is flattened into the generated one.
+     * @param valueType The erased type of the values that the setter takes.
+     */
+    static AttributeModel flattened(CodeBlock tableSchema, String getterName, String setterName, TypeName valueType) {
+        return new AttributeModel(null, null, getterName, setterName, valueType, null, Collections.emptyList(), tableSchema);
+    }
+
+    String name() {
+        return name;
+    }
+
+    CodeBlock type() {
+        return type;
+    }
+
+    String getterName() {
+        return getterName;
+    }
+
+    String setterName() {
+        return setterName;
+    }
+
+    TypeName valueType() {
+        return valueType;
+    }
+
+    TypeName converter() {
+        return converter;
+    }
+
+    List<CodeBlock> tags() {
+        return tags;
+    }
+
+    boolean isFlattened() {
+        return flattenedTableSchema != null;
+    }
+
+    CodeBlock flattenedTableSchema() {
+        return flattenedTableSchema;
+    }
+}
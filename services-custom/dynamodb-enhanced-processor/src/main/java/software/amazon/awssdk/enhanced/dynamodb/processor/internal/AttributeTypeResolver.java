@@ -0,0 +1,189 @@
+/*
+ * Copyright Amazon.com, Inc. or its affiliates. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License").
+ * You may not use this file except in compliance with the License.
+ * A copy of the License is located at
+ *
+ *  http://aws.amazon.com/apache2.0
+ *
+ * or in the "license" file accompanying this file. This file is distributed
+ * on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either
+ * express or implied. See the License for the specific language governing
+ * permissions and limitations under the License.
+ */
+
+
+package software.amazon.awssdk.enhanced.dynamodb.processor.internal;
+
+import static software.amazon.awssdk.enhanced.dynamodb.processor.internal.EnhancedClientApi.ENHANCED_TYPE;
+import static software.amazon.awssdk.enhanced.dynamodb.processor.internal.EnhancedClientApi.TABLE_SCHEMA;
+
+import com.squareup.javapoet.ClassName;
+import com.squareup.javapoet.CodeBlock;
+import com.squareup.javapoet.ParameterizedTypeName;
+import com.squareup.javapoet.TypeName;
+import com.squareup.javapoet.TypeSpec;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.NavigableSet;
+import java.util.Set;
+import java.util.SortedMap;
+import java.util.SortedSet;
+import java.util.concurrent.ConcurrentMap;
+import javax.lang.model.element.PackageElement;
+import javax.lang.model.element.TypeElement;
+import javax.lang.model.type.ArrayType;
+import javax.lang.model.type.DeclaredType;
+import javax.lang.model.type.TypeKind;
+import javax.lang.model.type.TypeMirror;
+import software.amazon.awssdk.annotations.SdkInternalApi;
+
+/**
+ * Creates the code that builds the {@code EnhancedType} of an attribute, which is the same {@code EnhancedType} that
+ * {@code BeanTableSchema} and {@code ImmutableTableSchema} create from the type of its getter at runtime: a list or map of, or
+ * a class annotated with {@code @DynamoDbBean} or {@code @DynamoDbImmutable} is mapped to a document with the table schema
+ * of the class, and any other type is mapped with the attribute converters.
+ */
+@SdkInternalApi
+final class AttributeTypeResolver {
+    private static final String LIST = List.class.getName();
+    private static final String MAP = Map.class.getName();
+
+    /**
+     * The factory methods of {@code EnhancedType} for parameterized types, which create the same {@code EnhancedType} as
+     * {@code EnhancedType.of(Type)} does for them. Other parameterized types are created with an anonymous subclass.
+     */
+    private static final Map<String, String> FACTORY_METHODS = new HashMap<>();
+
+    static {
+        FACTORY_METHODS.put(LIST, "listOf");
+        FACTORY_METHODS.put(Set.class.getName(), "setOf");
+        FACTORY_METHODS.put(SortedSet.class.getName(), "sortedSetOf");
+        FACTORY_METHODS.put(NavigableSet.class.getName(), "navigableSetOf");
+        FACTORY_METHODS.put(Deque.class.getName(), "dequeOf");
+        FACTORY_METHODS.put(Collection.class.getName(), "collectionOf");
+        FACTORY_METHODS.put(MAP, "mapOf");
+        FACTORY_METHODS.put(SortedMap.class.getName(), "sortedMapOf");
+        FACTORY_METHODS.put(NavigableMap.class.getName(), "navigableMapOf");
+        FACTORY_METHODS.put(ConcurrentMap.class.getName(), "concurrentMapOf");
+    }
+
+    private final ProcessorElements elements;
+    private final PackageElement generatedPackage;
+    private final Set<TypeElement> referencedItems;
+
+    /**
+     * @param referencedItems The set that the annotated classes that attributes are mapped to as documents are added to.
+     */
+    AttributeTypeResolver(ProcessorElements elements, PackageElement generatedPackage, Set<TypeElement> referencedItems) {
+        this.elements = elements;
+        this.generatedPackage = generatedPackage;
+        this.referencedItems = referencedItems;
+    }
+
+    /**
+     * The {@code EnhancedType} of an attribute of the given type.
+     */
+    CodeBlock attributeType(TypeMirror type, boolean preserveEmptyObject, boolean ignoreNulls) throws UnsupportedItemException {
+        if (type.getKind() == TypeKind.DECLARED) {
+            DeclaredType declaredType = (DeclaredType) type;
+            TypeElement typeElement = (TypeElement) declaredType.asElement();
+            String name = typeElement.getQualifiedName().toString();
+            List<? extends TypeMirror> typeArguments = declaredType.getTypeArguments();
+
+            if (name.equals(LIST) && typeArguments.size() == 1) {
+                return CodeBlock.of("$T.listOf($L)", ENHANCED_TYPE,
+                                    attributeType(typeArguments.get(0), preserveEmptyObject, ignoreNulls));
+            }
+            if (name.equals(MAP) && typeArguments.size() == 2) {
+                return CodeBlock.of("$T.mapOf($L, $L)", ENHANCED_TYPE, plainType(typeArguments.get(0)),
+                                    attributeType(typeArguments.get(1), preserveEmptyObject, ignoreNulls));
+            }
+
+            String tableSchemaFactory = elements.hasAnnotation(typeElement, EnhancedClientApi.DYNAMO_DB_IMMUTABLE)
+                                        ? "fromImmutableClass"
+                                        : elements.hasAnnotation(typeElement, EnhancedClientApi.DYNAMO_DB_BEAN)
+                                          ? "fromBean" : null;
+            if (tableSchemaFactory != null) {
+                if (!typeArguments.isEmpty() || !typeElement.getTypeParameters().isEmpty()) {
+                    throw new UnsupportedItemException("it has an attribute of the parameterized document type " + type);
+                }
+                checkAccessible(type);
+                referencedItems.add(typeElement);
+                ClassName documentClass = ClassName.get(typeElement);
+                return CodeBlock.of("$T.documentOf($T.class, $T.$L($T.class), b -> b.preserveEmptyObject($L).ignoreNulls($L))",
+                                    ENHANCED_TYPE, documentClass, TABLE_SCHEMA, tableSchemaFactory, documentClass,
+                                    preserveEmptyObject, ignoreNulls);
+            }
+        }
+        return plainType(type);
+    }
+
+    /**
+     * The {@code EnhancedType} of a type that is mapped with the attribute converters, like {@code EnhancedType.of(Type)}.
+     */
+    private CodeBlock plainType(TypeMirror type) throws UnsupportedItemException {
+        checkSupported(type);
+        checkAccessible(type);
+
+        if (type.getKind() != TypeKind.DECLARED || ((DeclaredType) type).getTypeArguments().isEmpty()) {
+            return CodeBlock.of("$T.of($T.class)", ENHANCED_TYPE, TypeName.get(elements.types().erasure(type)));
+        }
+
+        DeclaredType declaredType = (DeclaredType) type;
+        String factoryMethod = FACTORY_METHODS.get(((TypeElement) declaredType.asElement()).getQualifiedName().toString());
+        if (factoryMethod != null) {
+            List<CodeBlock> arguments = new ArrayList<>();
+            for (TypeMirror typeArgument : declaredType.getTypeArguments()) {
+                arguments.add(plainType(typeArgument));
+            }
+            return CodeBlock.of("$T.$L($L)", ENHANCED_TYPE, factoryMethod, CodeBlock.join(arguments, ", "));
+        }
+
+        TypeSpec typeToken = TypeSpec.anonymousClassBuilder("")
+                                     .superclass(ParameterizedTypeName.get(ENHANCED_TYPE, TypeName.get(type)))
+                                     .build();
+        return CodeBlock.of("$L", typeToken);
+    }
+
+    /**
+     * Type variables and wildcards are not supported, as they cannot be resolved to classes, and neither are arrays of
+     * parameterized types.
+     */
+    private void checkSupported(TypeMirror type) throws UnsupportedItemException {
+        switch (type.getKind()) {
+            case DECLARED:
+                for (TypeMirror typeArgument : ((DeclaredType) type).getTypeArguments()) {
+                    checkSupported(typeArgument);
+                }
+                return;
+            case ARRAY:
+                TypeMirror componentType = ((ArrayType) type).getComponentType();
+                if (componentType.getKind() == TypeKind.DECLARED
+                    && !((DeclaredType) componentType).getTypeArguments().isEmpty()) {
+                    break;
+                }
+                checkSupported(componentType);
+                return;
+            default:
+                if (type.getKind().isPrimitive()) {
+                    return;
+                }
+        }
+        throw new UnsupportedItemException("it has an attribute of the type " + type + ", which cannot be resolved to classes "
+                                           + "at build time");
+    }
+
+    private void checkAccessible(TypeMirror type) throws UnsupportedItemException {
+        if (!elements.isAccessibleFrom(type, generatedPackage)) {
+            throw new UnsupportedItemException("it has an attribute of the type " + type + ", which is not accessible from "
+                                               + "the package " + generatedPackage);
+        }
+    }
+}
@@ -0,0 +1,119 @@
+/*
+ * Copyright Amazon.com, Inc. or its affiliates. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License").
+ * You may not use this file except in compliance with the License.
+ * A copy of the License is located at
+ *
+ *  http://aws.amazon.com/apache2.0
+ *
+ * or in the "license" file accompanying this file. This file is distributed
+ * on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either
+ * express or implied. See the License for the specific language governing
+ * permissions and limitations under the License.
+ */
+
+
+package software.amazon.awssdk.enhanced.dynamodb.processor.internal;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import javax.lang.model.element.ExecutableElement;
+import javax.lang.model.element.Modifier;
+import javax.lang.model.element.TypeElement;
+import javax.lang.model.type.TypeKind;
+import software.amazon.awssdk.annotations.SdkInternalApi;
+
+/**
+ * Finds the properties of a bean class the same way as {@link java.beans.Introspector}, which {@code BeanTableSchema} uses:
+ * public {@code getX()} methods, or {@code isX()} methods returning {@code boolean}, paired with a public {@code void setX(..)}
+ * method of the same type, sorted by their names.
+ */
+@SdkInternalApi
+final class BeanPropertyFinder {
+    private static final String GET_PREFIX = "get";
+    private static final String IS_PREFIX = "is";
+    private static final String SET_PREFIX = "set";
+
+    private final ProcessorElements elements;
+
+    BeanPropertyFinder(ProcessorElements elements) {
+        this.elements = elements;
+    }
+
+    List<Property> findProperties(TypeElement beanElement) throws UnsupportedItemException {
+        rejectDefaultPropertyMethods(beanElement);
+
+        Map<String, ExecutableElement> getters = new HashMap<>();
+        Map<String, ExecutableElement> isGetters = new HashMap<>();
+        Map<String, List<ExecutableElement>> setters = new HashMap<>();
+
+        for (ExecutableElement method : elements.publicInstanceMethods(beanElement, false)) {
+            String name = method.getSimpleName().toString();
+            TypeKind returnType = method.getReturnType().getKind();
+            int parameterCount = method.getParameters().size();
+
+            if (parameterCount == 0 && isPrefixed(name, IS_PREFIX) && returnType == TypeKind.BOOLEAN) {
+                isGetters.put(propertyName(name, IS_PREFIX), method);
+            } else if (parameterCount == 0 && isPrefixed(name, GET_PREFIX) && returnType != TypeKind.VOID) {
+                getters.put(propertyName(name, GET_PREFIX), method);
+            } else if (parameterCount == 1 && isPrefixed(name, SET_PREFIX) && returnType == TypeKind.VOID) {
+                setters.computeIfAbsent(propertyName(name, SET_PREFIX), n -> new ArrayList<>()).add(method);
+            }
+        }
+
+        // An isX() method takes precedence over a getX() method
+        getters.putAll(isGetters);
+
+        Map<String, Property> properties = new TreeMap<>();
+        for (Map.Entry<String, ExecutableElement> getter : getters.entrySet()) {
+            List<ExecutableElement> propertySetters = setters.getOrDefault(getter.getKey(), new ArrayList<>());
+            if (propertySetters.size() > 1) {
+                throw new UnsupportedItemException("it has more than one setter for the property '" + getter.getKey() + "'");
+            }
+
+            // A property without a setter of the same type is read-only, and not mapped
+            propertySetters.stream()
+                           .filter(setter -> elements.isSameErasure(setter.getParameters().get(0).asType(),
+                                                                    getter.getValue().getReturnType()))
+                           .findFirst()
+                           .ifPresent(setter -> properties.put(getter.getKey(),
+                                                               new Property(getter.getKey(), getter.getValue(), setter)));
+        }
+        return new ArrayList<>(properties.values());
+    }
+
+    /**
+     * Default methods of interfaces are only recognized as properties by the {@link java.beans.Introspector} of some versions
+     * of Java, so the classes that have them are left to be scanned at runtime.
+     */
+    private void rejectDefaultPropertyMethods(TypeElement beanElement) throws UnsupportedItemException {
+        for (ExecutableElement method : elements.publicInstanceMethods(beanElement, true)) {
+            String name = method.getSimpleName().toString();
+            if (method.getModifiers().contains(Modifier.DEFAULT)
+                && (isPrefixed(name, GET_PREFIX) || isPrefixed(name, IS_PREFIX) || isPrefixed(name, SET_PREFIX))) {
+                throw new UnsupportedItemException("it inherits the interface default method " + method.getSimpleName()
+                                                   + "(), which may or may not be a property depending on the version of "
+                                                   + "Java");
+            }
+        }
+    }
+
+    private static boolean isPrefixed(String name, String prefix) {
+        return name.length() > prefix.length() && name.startsWith(prefix);
+    }
+
+    /**
+     * Decapitalizes the rest of the name of a method like {@link java.beans.Introspector#decapitalize(String)}.
+     */
+    private static String propertyName(String methodName, String prefix) {
+        String name = methodName.substring(prefix.length());
+        if (name.length() > 1 && Character.isUpperCase(name.charAt(1)) && Character.isUpperCase(name.charAt(0))) {
+            return name;
+        }
+        return Character.toLowerCase(name.charAt(0)) + name.substring(1);
+    }
+}
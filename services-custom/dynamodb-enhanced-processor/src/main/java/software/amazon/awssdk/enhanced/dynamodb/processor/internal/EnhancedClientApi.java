@@ -0,0 +1,85 @@
+/*
+ * Copyright Amazon.com, Inc. or its affiliates. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License").
+ * You may not use this file except in compliance with the License.
+ * A copy of the License is located at
+ *
+ *  http://aws.amazon.com/apache2.0
+ *
+ * or in the "license" file accompanying this file. This file is distributed
+ * on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either
+ * express or implied. See the License for the specific language governing
+ * permissions and limitations under the License.
+ */
+
+
+package software.amazon.awssdk.enhanced.dynamodb.processor.internal;
+
+import com.squareup.javapoet.ClassName;
+import software.amazon.awssdk.annotations.SdkInternalApi;
+
+/**
+ * The names of the annotations and classes of the DynamoDB Enhanced Client that the annotation processor reads and generates
+ * code for. The processor does not depend on the enhanced client, so they are referred to by name.
+ */
+@SdkInternalApi
+public final class EnhancedClientApi {
+    public static final String DYNAMO_DB_BEAN = annotation("DynamoDbBean");
+    public static final String DYNAMO_DB_IMMUTABLE = annotation("DynamoDbImmutable");
+
+    static final String DYNAMO_DB_ATTRIBUTE = annotation("DynamoDbAttribute");
+    static final String DYNAMO_DB_CONVERTED_BY = annotation("DynamoDbConvertedBy");
+    static final String DYNAMO_DB_FLATTEN = annotation("DynamoDbFlatten");
+    static final String DYNAMO_DB_IGNORE = annotation("DynamoDbIgnore");
+    static final String DYNAMO_DB_IGNORE_NULLS = annotation("DynamoDbIgnoreNulls");
+    static final String DYNAMO_DB_PRESERVE_EMPTY_OBJECT = annotation("DynamoDbPreserveEmptyObject");
+    static final String DYNAMO_DB_PARTITION_KEY = annotation("DynamoDbPartitionKey");
+    static final String DYNAMO_DB_SORT_KEY = annotation("DynamoDbSortKey");
+    static final String DYNAMO_DB_SECONDARY_PARTITION_KEY = annotation("DynamoDbSecondaryPartitionKey");
+    static final String DYNAMO_DB_SECONDARY_SORT_KEY = annotation("DynamoDbSecondarySortKey");
+    static final String DYNAMO_DB_UPDATE_BEHAVIOR = annotation("DynamoDbUpdateBehavior");
+    static final String BEAN_TABLE_SCHEMA_ATTRIBUTE_TAG = annotation("BeanTableSchemaAttributeTag");
+    static final String DYNAMO_DB_VERSION_ATTRIBUTE =
+        "software.amazon.awssdk.enhanced.dynamodb.extensions.annotations.DynamoDbVersionAttribute";
+    static final String DYNAMO_DB_AUTO_GENERATED_TIMESTAMP_ATTRIBUTE =
+        "software.amazon.awssdk.enhanced.dynamodb.extensions.annotations.DynamoDbAutoGeneratedTimestampAttribute";
+
+    static final ClassName TABLE_SCHEMA = enhancedClientClass("TableSchema");
+    static final ClassName ENHANCED_TYPE = enhancedClientClass("EnhancedType");
+    static final ClassName ATTRIBUTE_CONVERTER = enhancedClientClass("AttributeConverter");
+    static final ClassName STATIC_TABLE_SCHEMA = mapperClass("StaticTableSchema");
+    static final ClassName STATIC_IMMUTABLE_TABLE_SCHEMA = mapperClass("StaticImmutableTableSchema");
+    static final ClassName STATIC_ATTRIBUTE = mapperClass("StaticAttribute");
+    static final ClassName IMMUTABLE_ATTRIBUTE = mapperClass("ImmutableAttribute");
+    static final ClassName STATIC_ATTRIBUTE_TAGS = mapperClass("StaticAttributeTags");
+    static final ClassName UPDATE_BEHAVIOR = mapperClass("UpdateBehavior");
+    static final ClassName VERSION_ATTRIBUTE_TAGS =
+        ClassName.get("software.amazon.awssdk.enhanced.dynamodb.extensions", "VersionedRecordExtension", "AttributeTags");
+    static final ClassName AUTO_GENERATED_TIMESTAMP_ATTRIBUTE_TAGS =
+        ClassName.get("software.amazon.awssdk.enhanced.dynamodb.extensions", "AutoGeneratedTimestampRecordExtension",
+                      "AttributeTags");
+
+    /**
+     * The suffix of the names of generated table schema classes, which has to match the one that the enhanced client looks
+     * them up with.
+     */
+    static final String CLASS_NAME_SUFFIX = "_TableSchema";
+
+    private static final String ENHANCED_CLIENT_PACKAGE = "software.amazon.awssdk.enhanced.dynamodb";
+
+    private EnhancedClientApi() {
+    }
+
+    private static String annotation(String simpleName) {
+        return ENHANCED_CLIENT_PACKAGE + ".mapper.annotations." + simpleName;
+    }
+
+    private static ClassName enhancedClientClass(String simpleName) {
+        return ClassName.get(ENHANCED_CLIENT_PACKAGE, simpleName);
+    }
+
+    private static ClassName mapperClass(String simpleName) {
+        return ClassName.get(ENHANCED_CLIENT_PACKAGE + ".mapper", simpleName);
+    }
+}
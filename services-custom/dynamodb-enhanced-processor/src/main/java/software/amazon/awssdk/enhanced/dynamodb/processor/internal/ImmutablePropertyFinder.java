@@ -0,0 +1,151 @@
+/*
+ * Copyright Amazon.com, Inc. or its affiliates. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License").
+ * You may not use this file except in compliance with the License.
+ * A copy of the License is located at
+ *
+ *  http://aws.amazon.com/apache2.0
+ *
+ * or in the "license" file accompanying this file. This file is distributed
+ * on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either
+ * express or implied. See the License for the specific language governing
+ * permissions and limitations under the License.
+ */
+
+
+package software.amazon.awssdk.enhanced.dynamodb.processor.internal;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+import javax.lang.model.element.ExecutableElement;
+import javax.lang.model.element.TypeElement;
+import javax.lang.model.type.TypeKind;
+import javax.lang.model.type.TypeMirror;
+import javax.lang.model.util.ElementFilter;
+import software.amazon.awssdk.annotations.SdkInternalApi;
+
+/**
+ * Finds the properties of an immutable class and the build method of its builder the same way as the
+ * {@code ImmutableIntrospector} that {@code ImmutableTableSchema} uses: every public method of the immutable class is a
+ * getter, which must be paired with a method of the builder that sets the same property.
+ */
+@SdkInternalApi
+final class ImmutablePropertyFinder {
+    private static final String BUILD_METHOD = "build";
+    private static final String TO_BUILDER_METHOD = "toBuilder";
+    private static final String GET_PREFIX = "get";
+    private static final String IS_PREFIX = "is";
+    private static final String SET_PREFIX = "set";
+
+    private final ProcessorElements elements;
+
+    // Methods that have the same name as a method of Object are not mapped, even if they have different parameters
+    private final Set<String> namesToExclude;
+
+    ImmutablePropertyFinder(ProcessorElements elements) {
+        this.elements = elements;
+        TypeElement object = elements.elements().getTypeElement(Object.class.getName());
+        this.namesToExclude = Stream.concat(ElementFilter.methodsIn(object.getEnclosedElements())
+                                                         .stream()
+                                                         .map(m -> m.getSimpleName().toString()),
+                                            Stream.of(TO_BUILDER_METHOD))
+                                    .collect(Collectors.toSet());
+    }
+
+    List<Property> findProperties(TypeElement immutableElement, TypeElement builderElement) throws UnsupportedItemException {
+        Map<String, ExecutableElement> builderMethods = new HashMap<>();
+        for (ExecutableElement method : mappableMethods(builderElement)) {
+            if (builderMethods.put(setterPropertyName(method), method) != null) {
+                throw new UnsupportedItemException("its builder has more than one method that sets the property '"
+                                                   + setterPropertyName(method) + "'");
+            }
+        }
+
+        ExecutableElement buildMethod = builderMethods.remove(BUILD_METHOD);
+        if (buildMethod == null
+            || !buildMethod.getParameters().isEmpty()
+            || !elements.types().isSameType(buildMethod.getReturnType(), immutableElement.asType())) {
+            throw new UnsupportedItemException("its builder does not have a build() method that returns it");
+        }
+
+        Map<String, Property> properties = new TreeMap<>();
+        for (ExecutableElement getter : mappableMethods(immutableElement)) {
+            TypeKind returnType = getter.getReturnType().getKind();
+            if (!getter.getParameters().isEmpty() || returnType == TypeKind.VOID || isVoid(getter.getReturnType())) {
+                throw new UnsupportedItemException("its method " + getter.getSimpleName() + "() is not a getter");
+            }
+
+            String propertyName = getterPropertyName(getter);
+            ExecutableElement setter = builderMethods.remove(propertyName);
+            if (setter == null || !isSetterFor(setter, getter, builderElement)) {
+                throw new UnsupportedItemException("its builder does not have a setter for the property '" + propertyName + "'");
+            }
+            properties.put(propertyName, new Property(propertyName, getter, setter));
+        }
+
+        if (!builderMethods.isEmpty()) {
+            throw new UnsupportedItemException("its builder method " + builderMethods.values().iterator().next().getSimpleName()
+                                               + "() does not set a property");
+        }
+        return new ArrayList<>(properties.values());
+    }
+
+    private List<ExecutableElement> mappableMethods(TypeElement type) {
+        return elements.publicInstanceMethods(type, true)
+                       .stream()
+                       .filter(m -> !namesToExclude.contains(m.getSimpleName().toString()))
+                       .filter(m -> !elements.hasAnnotation(m, EnhancedClientApi.DYNAMO_DB_IGNORE))
+                       .collect(Collectors.toList());
+    }
+
+    private boolean isSetterFor(ExecutableElement setter, ExecutableElement getter, TypeElement builderElement) {
+        if (setter.getParameters().size() != 1
+            || !elements.isSameErasure(setter.getParameters().get(0).asType(), getter.getReturnType())) {
+            return false;
+        }
+        TypeMirror returnType = setter.getReturnType();
+        return returnType.getKind() == TypeKind.VOID
+               || isVoid(returnType)
+               || elements.types().isAssignable(elements.types().erasure(builderElement.asType()),
+                                                elements.types().erasure(returnType));
+    }
+
+    private boolean isVoid(TypeMirror type) {
+        return type.getKind() == TypeKind.DECLARED
+               && ((TypeElement) elements.types().asElement(type)).getQualifiedName().contentEquals(Void.class.getName());
+    }
+
+    private String setterPropertyName(ExecutableElement setter) {
+        String name = setter.getSimpleName().toString();
+        if (name.length() > 3 && Character.isUpperCase(name.charAt(3)) && name.startsWith(SET_PREFIX)) {
+            return Character.toLowerCase(name.charAt(3)) + name.substring(4);
+        }
+        return name;
+    }
+
+    private String getterPropertyName(ExecutableElement getter) {
+        String name = getter.getSimpleName().toString();
+        if (name.length() > 2 && Character.isUpperCase(name.charAt(2)) && name.startsWith(IS_PREFIX) && isBoolean(getter)) {
+            return Character.toLowerCase(name.charAt(2)) + name.substring(3);
+        }
+        if (name.length() > 3 && Character.isUpperCase(name.charAt(3)) && name.startsWith(GET_PREFIX)) {
+            return Character.toLowerCase(name.charAt(3)) + name.substring(4);
+        }
+        return name;
+    }
+
+    private boolean isBoolean(ExecutableElement getter) {
+        TypeMirror type = getter.getReturnType();
+        return type.getKind() == TypeKind.BOOLEAN
+               || (type.getKind() == TypeKind.DECLARED
+                   && ((TypeElement) elements.types().asElement(type)).getQualifiedName()
+                                                                      .contentEquals(Boolean.class.getName()));
+    }
+}
@@ -0,0 +1,398 @@
+/*
+ * Copyright Amazon.com, Inc. or its affiliates. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License").
+ * You may not use this file except in compliance with the License.
+ * A copy of the License is located at
+ *
+ *  http://aws.amazon.com/apache2.0
+ *
+ * or in the "license" file accompanying this file. This file is distributed
+ * on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either
+ * express or implied. See the License for the specific language governing
+ * permissions and limitations under the License.
+ */
+
+
+package software.amazon.awssdk.enhanced.dynamodb.processor.internal;
+
+import static software.amazon.awssdk.enhanced.dynamodb.processor.internal.EnhancedClientApi.AUTO_GENERATED_TIMESTAMP_ATTRIBUTE_TAGS;
+import static software.amazon.awssdk.enhanced.dynamodb.processor.internal.EnhancedClientApi.STATIC_ATTRIBUTE_TAGS;
+import static software.amazon.awssdk.enhanced.dynamodb.processor.internal.EnhancedClientApi.TABLE_SCHEMA;
+import static software.amazon.awssdk.enhanced.dynamodb.processor.internal.EnhancedClientApi.UPDATE_BEHAVIOR;
+import static software.amazon.awssdk.enhanced.dynamodb.processor.internal.EnhancedClientApi.VERSION_ATTRIBUTE_TAGS;
+
+import com.squareup.javapoet.ClassName;
+import com.squareup.javapoet.CodeBlock;
+import com.squareup.javapoet.TypeName;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.stream.Collectors;
+import javax.annotation.processing.ProcessingEnvironment;
+import javax.lang.model.element.AnnotationMirror;
+import javax.lang.model.element.ElementKind;
+import javax.lang.model.element.ExecutableElement;
+import javax.lang.model.element.Modifier;
+import javax.lang.model.element.Name;
+import javax.lang.model.element.PackageElement;
+import javax.lang.model.element.TypeElement;
+import javax.lang.model.element.VariableElement;
+import javax.lang.model.type.DeclaredType;
+import javax.lang.model.type.TypeKind;
+import javax.lang.model.type.TypeMirror;
+import software.amazon.awssdk.annotations.SdkInternalApi;
+
+/**
+ * Reads a class annotated with {@code @DynamoDbBean} or {@code @DynamoDbImmutable} into the {@link ItemModel} of the table
+ * schema generated for it, which maps it the same way as the {@code BeanTableSchema} or {@code ImmutableTableSchema} that
+ * would otherwise be created for it at runtime. Classes that use features which cannot be resolved at build time are
+ * rejected with an {@link UnsupportedItemException}, so that they keep being scanned at runtime.
+ */
+@SdkInternalApi
+public final class ItemIntrospector {
+    private static final String BUILDER_METHOD = "builder";
+
+    private final ProcessorElements elements;
+    private final BeanPropertyFinder beanPropertyFinder;
+    private final ImmutablePropertyFinder immutablePropertyFinder;
+    private final Map<String, ItemModel> models = new HashMap<>();
+    private final Map<String, UnsupportedItemException> unsupportedItems = new HashMap<>();
+
+    public ItemIntrospector(ProcessingEnvironment processingEnvironment) {
+        this.elements = new ProcessorElements(processingEnvironment);
+        this.beanPropertyFinder = new BeanPropertyFinder(elements);
+        this.immutablePropertyFinder = new ImmutablePropertyFinder(elements);
+    }
+
+    /**
+     * Read an annotated class, or return the model that it was read into before.
+     *
+     * @throws UnsupportedItemException If a table schema cannot be generated for the class.
+     */
+    public ItemModel introspect(TypeElement itemElement) throws UnsupportedItemException {
+        String name = itemElement.getQualifiedName().toString();
+        ItemModel model = models.get(name);
+        if (model != null) {
+            return model;
+        }
+        UnsupportedItemException unsupported = unsupportedItems.get(name);
+        if (unsupported != null) {
+            throw unsupported;
+        }
+
+        try {
+            model = read(itemElement);
+            models.put(name, model);
+            return model;
+        } catch (UnsupportedItemException e) {
+            unsupportedItems.put(name, e);
+            throw e;
+        }
+    }
+
+    /**
+     * Whether the table schema generated for a class would end up creating the table schema of the class again, through
+     * the table schemas of the documents and flattened classes that it refers to. The table schemas created at runtime
+     * handle such recursive references, but generated ones cannot, as each of them creates the table schemas that it refers
+     * to.
+     */
+    public boolean refersToItself(ItemModel item) {
+        Name itemName = item.element().getQualifiedName();
+        Set<String> visited = new HashSet<>();
+        Deque<TypeElement> toVisit = new ArrayDeque<>(item.referencedItems());
+        while (!toVisit.isEmpty()) {
+            TypeElement next = toVisit.poll();
+            if (next.getQualifiedName().contentEquals(itemName)) {
+                return true;
+            }
+            if (visited.add(next.getQualifiedName().toString())) {
+                toVisit.addAll(referencedItems(next));
+            }
+        }
+        return false;
+    }
+
+    private ItemModel read(TypeElement itemElement) throws UnsupportedItemException {
+        PackageElement itemPackage = elements.packageOf(itemElement);
+        if (!itemElement.getTypeParameters().isEmpty()) {
+            throw new UnsupportedItemException("it is a generic class");
+        }
+        if (!elements.isAccessibleFrom(itemElement, itemPackage)) {
+            throw new UnsupportedItemException("it is not accessible from other classes in its package");
+        }
+
+        Optional<AnnotationMirror> immutable = elements.annotation(itemElement, EnhancedClientApi.DYNAMO_DB_IMMUTABLE);
+        Optional<AnnotationMirror> bean = elements.annotation(itemElement, EnhancedClientApi.DYNAMO_DB_BEAN);
+        if (immutable.isPresent()) {
+            return readImmutable(itemElement, itemPackage, immutable.get());
+        }
+        if (bean.isPresent()) {
+            return readBean(itemElement, itemPackage, bean.get());
+        }
+        throw new UnsupportedItemException("it is not annotated with @DynamoDbBean or @DynamoDbImmutable");
+    }
+
+    private ItemModel readBean(TypeElement beanElement, PackageElement beanPackage, AnnotationMirror dynamoDbBean)
+            throws UnsupportedItemException {
+
+        if (beanElement.getKind() != ElementKind.CLASS || beanElement.getModifiers().contains(Modifier.ABSTRACT)) {
+            throw new UnsupportedItemException("it is not a concrete class");
+        }
+        if (elements.isInnerClass(beanElement) || !elements.hasPublicNoArgConstructor(beanElement)) {
+            throw new UnsupportedItemException("it does not have a public constructor that takes no arguments");
+        }
+
+        ClassName beanClass = ClassName.get(beanElement);
+        List<TypeName> converterProviders = converterProviders(dynamoDbBean, beanPackage);
+        List<Property> properties = beanPropertyFinder.findProperties(beanElement);
+
+        Set<TypeElement> referencedItems = new LinkedHashSet<>();
+        List<AttributeModel> attributes = attributes(properties, beanPackage, referencedItems);
+        return new ItemModel(beanElement, generatedClass(beanElement, beanPackage), null, CodeBlock.of("$T::new", beanClass),
+                             converterProviders, attributes, referencedItems);
+    }
+
+    private ItemModel readImmutable(TypeElement immutableElement, PackageElement immutablePackage,
+                                    AnnotationMirror dynamoDbImmutable) throws UnsupportedItemException {
+        TypeMirror builderType = (TypeMirror) elements.value(dynamoDbImmutable, "builder");
+        if (builderType.getKind() != TypeKind.DECLARED) {
+            throw new UnsupportedItemException("its builder " + builderType + " is not a class");
+        }
+        TypeElement builderElement = (TypeElement) ((DeclaredType) builderType).asElement();
+        if (!builderElement.getTypeParameters().isEmpty()) {
+            throw new UnsupportedItemException("its builder is a generic class");
+        }
+        if (!elements.isAccessibleFrom(builderElement, immutablePackage)) {
+            throw new UnsupportedItemException("its builder is not accessible from other classes in its package");
+        }
+
+        List<TypeName> converterProviders = converterProviders(dynamoDbImmutable, immutablePackage);
+        List<Property> properties = immutablePropertyFinder.findProperties(immutableElement, builderElement);
+        ClassName builderClass = ClassName.get(builderElement);
+
+        Set<TypeElement> referencedItems = new LinkedHashSet<>();
+        List<AttributeModel> attributes = attributes(properties, immutablePackage, referencedItems);
+        return new ItemModel(immutableElement, generatedClass(immutableElement, immutablePackage), builderClass,
+                             newBuilder(immutableElement, builderElement, immutablePackage), converterProviders, attributes,
+                             referencedItems);
+    }
+
+    /**
+     * The supplier of new builders, which is the static {@code builder()} method of the immutable class if it has one that
+     * returns the builder class or a superclass of it, and otherwise the public constructor of the builder class.
+     */
+    private CodeBlock newBuilder(TypeElement immutableElement, TypeElement builderElement, PackageElement immutablePackage)
+            throws UnsupportedItemException {
+
+        ClassName immutableClass = ClassName.get(immutableElement);
+        ClassName builderClass = ClassName.get(builderElement);
+        Optional<ExecutableElement> builderMethod = elements.publicMethodsNamed(immutableElement, BUILDER_METHOD)
+                                                            .stream()
+                                                            .filter(m -> m.getParameters().isEmpty())
+                                                            .findFirst();
+
+        if (builderMethod.isPresent()
+            && builderMethod.get().getModifiers().contains(Modifier.STATIC)
+            && elements.types().isAssignable(elements.types().erasure(builderElement.asType()),
+                                             elements.types().erasure(builderMethod.get().getReturnType()))) {
+            checkAccessible(builderMethod.get(), immutablePackage);
+            if (elements.isSameErasure(builderMethod.get().getReturnType(), builderElement.asType())) {
+                return CodeBlock.of("$T::$L", immutableClass, BUILDER_METHOD);
+            }
+            return CodeBlock.of("() -> ($T) $T.$L()", builderClass, immutableClass, BUILDER_METHOD);
+        }
+
+        checkInstantiable(builderElement.asType(), "builder", immutablePackage);
+        return CodeBlock.of("$T::new", builderClass);
+    }
+
+    private List<AttributeModel> attributes(List<Property> properties, PackageElement itemPackage,
+                                            Set<TypeElement> referencedItems) throws UnsupportedItemException {
+        AttributeTypeResolver attributeTypeResolver = new AttributeTypeResolver(elements, itemPackage, referencedItems);
+        List<AttributeModel> attributes = new ArrayList<>();
+
+        for (Property property : properties) {
+            if (annotation(property, EnhancedClientApi.DYNAMO_DB_IGNORE).isPresent()) {
+                continue;
+            }
+            checkAccessible(property.getter(), itemPackage);
+            checkAccessible(property.setter(), itemPackage);
+            String getterName = property.getter().getSimpleName().toString();
+            String setterName = property.setter().getSimpleName().toString();
+            TypeName valueType = TypeName.get(elements.types().erasure(property.type())).box();
+
+            if (annotation(property, EnhancedClientApi.DYNAMO_DB_FLATTEN).isPresent()) {
+                TypeMirror flattenedType = elements.types().erasure(property.type());
+                if (flattenedType.getKind() != TypeKind.DECLARED || !elements.isAccessibleFrom(flattenedType, itemPackage)) {
+                    throw new UnsupportedItemException("the flattened property '" + property.name() + "' is not of an "
+                                                       + "accessible class");
+                }
+                TypeElement flattenedElement = (TypeElement) ((DeclaredType) flattenedType).asElement();
+                referencedItems.add(flattenedElement);
+                attributes.add(AttributeModel.flattened(CodeBlock.of("$T.fromClass($T.class)", TABLE_SCHEMA,
+                                                                     ClassName.get(flattenedElement)),
+                                                        getterName, setterName, valueType));
+                continue;
+            }
+
+            boolean preserveEmptyObject = annotation(property, EnhancedClientApi.DYNAMO_DB_PRESERVE_EMPTY_OBJECT).isPresent();
+            boolean ignoreNulls = annotation(property, EnhancedClientApi.DYNAMO_DB_IGNORE_NULLS).isPresent();
+            CodeBlock type = attributeTypeResolver.attributeType(property.type(), preserveEmptyObject, ignoreNulls);
+
+            String attributeName = annotation(property, EnhancedClientApi.DYNAMO_DB_ATTRIBUTE)
+                .map(a -> (String) elements.value(a, "value"))
+                .orElse(property.name());
+
+            Optional<AnnotationMirror> convertedBy = annotation(property, EnhancedClientApi.DYNAMO_DB_CONVERTED_BY);
+            TypeName converter = null;
+            if (convertedBy.isPresent()) {
+                TypeMirror converterType = (TypeMirror) elements.value(convertedBy.get(), "value");
+                checkInstantiable(converterType, "attribute converter", itemPackage);
+                converter = ClassName.get((TypeElement) ((DeclaredType) converterType).asElement());
+            }
+
+            attributes.add(AttributeModel.attribute(attributeName, type, getterName, setterName, valueType, converter,
+                                                    tags(property)));
+        }
+        return attributes;
+    }
+
+    /**
+     * The code that creates the attribute tags of the annotations of a property that are meta-annotated with
+     * {@code @BeanTableSchemaAttributeTag}, which is the same code that the static methods named in the meta-annotations run.
+     * Custom attribute tag annotations cannot be resolved at build time.
+     */
+    private List<CodeBlock> tags(Property property) throws UnsupportedItemException {
+        List<CodeBlock> tags = new ArrayList<>();
+        for (AnnotationMirror annotation : property.annotations()) {
+            TypeElement annotationElement = (TypeElement) annotation.getAnnotationType().asElement();
+            if (!elements.hasAnnotation(annotationElement, EnhancedClientApi.BEAN_TABLE_SCHEMA_ATTRIBUTE_TAG)) {
+                continue;
+            }
+
+            String annotationName = annotationElement.getQualifiedName().toString();
+            if (annotationName.equals(EnhancedClientApi.DYNAMO_DB_PARTITION_KEY)) {
+                tags.add(CodeBlock.of("$T.primaryPartitionKey()", STATIC_ATTRIBUTE_TAGS));
+            } else if (annotationName.equals(EnhancedClientApi.DYNAMO_DB_SORT_KEY)) {
+                tags.add(CodeBlock.of("$T.primarySortKey()", STATIC_ATTRIBUTE_TAGS));
+            } else if (annotationName.equals(EnhancedClientApi.DYNAMO_DB_SECONDARY_PARTITION_KEY)) {
+                tags.add(CodeBlock.of("$T.secondaryPartitionKey($L)", STATIC_ATTRIBUTE_TAGS, indexNames(annotation)));
+            } else if (annotationName.equals(EnhancedClientApi.DYNAMO_DB_SECONDARY_SORT_KEY)) {
+                tags.add(CodeBlock.of("$T.secondarySortKey($L)", STATIC_ATTRIBUTE_TAGS, indexNames(annotation)));
+            } else if (annotationName.equals(EnhancedClientApi.DYNAMO_DB_UPDATE_BEHAVIOR)) {
+                VariableElement updateBehavior = (VariableElement) elements.value(annotation, "value");
+                tags.add(CodeBlock.of("$T.updateBehavior($T.$L)", STATIC_ATTRIBUTE_TAGS, UPDATE_BEHAVIOR,
+                                      updateBehavior.getSimpleName()));
+            } else if (annotationName.equals(EnhancedClientApi.DYNAMO_DB_VERSION_ATTRIBUTE)) {
+                tags.add(CodeBlock.of("$T.versionAttribute()", VERSION_ATTRIBUTE_TAGS));
+            } else if (annotationName.equals(EnhancedClientApi.DYNAMO_DB_AUTO_GENERATED_TIMESTAMP_ATTRIBUTE)) {
+                tags.add(CodeBlock.of("$T.autoGeneratedTimestampAttribute()", AUTO_GENERATED_TIMESTAMP_ATTRIBUTE_TAGS));
+            } else {
+                throw new UnsupportedItemException("the property '" + property.name() + "' has the custom attribute tag "
+                                                   + "annotation @" + annotationName);
+            }
+        }
+        return tags;
+    }
+
+    private CodeBlock indexNames(AnnotationMirror annotation) {
+        List<CodeBlock> indexNames = elements.arrayValue(annotation, "indexNames")
+                                             .stream()
+                                             .map(indexName -> CodeBlock.of("$S", indexName))
+                                             .collect(Collectors.toList());
+        return CodeBlock.of("$T.asList($L)", Arrays.class, CodeBlock.join(indexNames, ", "));
+    }
+
+    private List<TypeName> converterProviders(AnnotationMirror itemAnnotation, PackageElement itemPackage)
+            throws UnsupportedItemException {
+
+        List<TypeName> converterProviders = new ArrayList<>();
+        for (Object providerType : elements.arrayValue(itemAnnotation, "converterProviders")) {
+            checkInstantiable((TypeMirror) providerType, "attribute converter provider", itemPackage);
+            converterProviders.add(ClassName.get((TypeElement) ((DeclaredType) providerType).asElement()));
+        }
+        return converterProviders;
+    }
+
+    /**
+     * The annotations of a property are looked up on its getter first, and then on its setter.
+     */
+    private Optional<AnnotationMirror> annotation(Property property, String annotationType) {
+        Optional<AnnotationMirror> getterAnnotation = elements.annotation(property.getter(), annotationType);
+        return getterAnnotation.isPresent() ? getterAnnotation : elements.annotation(property.setter(), annotationType);
+    }
+
+    /**
+     * The annotated classes that the table schema of a class may create the table schemas of. For classes that a table
+     * schema cannot be generated for, these are the annotated classes that any of their getters refer to.
+     */
+    private Set<TypeElement> referencedItems(TypeElement itemElement) {
+        try {
+            return introspect(itemElement).referencedItems();
+        } catch (UnsupportedItemException e) {
+            Set<TypeElement> referencedItems = new LinkedHashSet<>();
+            elements.publicInstanceMethods(itemElement, true)
+                    .stream()
+                    .filter(m -> m.getParameters().isEmpty())
+                    .forEach(m -> addReferencedItems(m.getReturnType(), referencedItems));
+            return referencedItems;
+        }
+    }
+
+    private void addReferencedItems(TypeMirror type, Set<TypeElement> referencedItems) {
+        if (type.getKind() != TypeKind.DECLARED) {
+            return;
+        }
+        TypeElement typeElement = (TypeElement) ((DeclaredType) type).asElement();
+        if (elements.hasAnnotation(typeElement, EnhancedClientApi.DYNAMO_DB_BEAN)
+            || elements.hasAnnotation(typeElement, EnhancedClientApi.DYNAMO_DB_IMMUTABLE)) {
+            referencedItems.add(typeElement);
+        }
+        ((DeclaredType) type).getTypeArguments().forEach(t -> addReferencedItems(t, referencedItems));
+    }
+
+    private void checkInstantiable(TypeMirror type, String description, PackageElement fromPackage)
+            throws UnsupportedItemException {
+
+        if (type.getKind() == TypeKind.DECLARED) {
+            TypeElement typeElement = (TypeElement) ((DeclaredType) type).asElement();
+            if (typeElement.getKind() == ElementKind.CLASS
+                && !typeElement.getModifiers().contains(Modifier.ABSTRACT)
+                && elements.isAccessibleFrom(typeElement, fromPackage)
+                && !elements.isInnerClass(typeElement)
+                && elements.hasPublicNoArgConstructor(typeElement)) {
+                return;
+            }
+        }
+        throw new UnsupportedItemException("its " + description + " " + type + " does not have a public constructor that "
+                                           + "takes no arguments");
+    }
+
+    private void checkAccessible(ExecutableElement method, PackageElement fromPackage) throws UnsupportedItemException {
+        if (!elements.isAccessibleFrom((TypeElement) method.getEnclosingElement(), fromPackage)) {
+            throw new UnsupportedItemException("its method " + method.getSimpleName() + "() is declared by "
+                                               + method.getEnclosingElement() + ", which is not accessible from the package "
+                                               + fromPackage);
+        }
+    }
+
+    /**
+     * The generated class is named after the binary name of the annotated class, with the {@code $} of nested classes
+     * replaced, so that the enhanced client can find it from the {@link Class} of the annotated class.
+     */
+    private ClassName generatedClass(TypeElement itemElement, PackageElement itemPackage) {
+        String binaryName = elements.elements().getBinaryName(itemElement).toString();
+        String packageName = itemPackage.getQualifiedName().toString();
+        String simpleName = packageName.isEmpty() ? binaryName : binaryName.substring(packageName.length() + 1);
+        return ClassName.get(packageName, simpleName.replace('$', '_') + EnhancedClientApi.CLASS_NAME_SUFFIX);
+    }
+}
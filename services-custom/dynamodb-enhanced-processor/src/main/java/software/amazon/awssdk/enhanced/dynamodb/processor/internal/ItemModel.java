@@ -0,0 +1,100 @@
+/*
+ * Copyright Amazon.com, Inc. or its affiliates. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License").
+ * You may not use this file except in compliance with the License.
+ * A copy of the License is located at
+ *
+ *  http://aws.amazon.com/apache2.0
+ *
+ * or in the "license" file accompanying this file. This file is distributed
+ * on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either
+ * express or implied. See the License for the specific language governing
+ * permissions and limitations under the License.
+ */
+
+
+package software.amazon.awssdk.enhanced.dynamodb.processor.internal;
+
+import com.squareup.javapoet.ClassName;
+import com.squareup.javapoet.CodeBlock;
+import com.squareup.javapoet.TypeName;
+import java.util.Collections;
+import java.util.List;
+import java.util.Set;
+import javax.lang.model.element.TypeElement;
+import software.amazon.awssdk.annotations.SdkInternalApi;
+
+/**
+ * A class annotated with {@code @DynamoDbBean} or {@code @DynamoDbImmutable} that a table schema can be generated for.
+ */
+@SdkInternalApi
+public final class ItemModel {
+    private final TypeElement element;
+    private final ClassName generatedClass;
+    private final ClassName builderClass;
+    private final CodeBlock newItem;
+    private final List<TypeName> converterProviders;
+    private final List<AttributeModel> attributes;
+    private final Set<TypeElement> referencedItems;
+
+    ItemModel(TypeElement element, ClassName generatedClass, ClassName builderClass, CodeBlock newItem,
+              List<TypeName> converterProviders, List<AttributeModel> attributes, Set<TypeElement> referencedItems) {
+        this.element = element;
+        this.generatedClass = generatedClass;
+        this.builderClass = builderClass;
+        this.newItem = newItem;
+        this.converterProviders = Collections.unmodifiableList(converterProviders);
+        this.attributes = Collections.unmodifiableList(attributes);
+        this.referencedItems = Collections.unmodifiableSet(referencedItems);
+    }
+
+    public TypeElement element() {
+        return element;
+    }
+
+    ClassName itemClass() {
+        return ClassName.get(element);
+    }
+
+    /**
+     * The class that the table schema is generated into.
+     */
+    ClassName generatedClass() {
+        return generatedClass;
+    }
+
+    boolean isImmutable() {
+        return builderClass != null;
+    }
+
+    /**
+     * The builder class of an immutable class, or null for a bean class.
+     */
+    ClassName builderClass() {
+        return builderClass;
+    }
+
+    /**
+     * The code that creates the {@code Supplier} of new instances of a bean class, or of new builders of an immutable class.
+     */
+    CodeBlock newItem() {
+        return newItem;
+    }
+
+    List<TypeName> converterProviders() {
+        return converterProviders;
+    }
+
+    List<AttributeModel> attributes() {
+        return attributes;
+    }
+
+    /**
+     * The annotated classes whose table schemas the generated table schema creates, for the attributes that are mapped to
+     * documents or flattened.
+     */
+    Set<TypeElement> referencedItems() {
+        return referencedItems;
+    }
+}
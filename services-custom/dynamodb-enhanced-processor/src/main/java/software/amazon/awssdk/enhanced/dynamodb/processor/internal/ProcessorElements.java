@@ -0,0 +1,250 @@
+/*
+ * Copyright Amazon.com, Inc. or its affiliates. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License").
+ * You may not use this file except in compliance with the License.
+ * A copy of the License is located at
+ *
+ *  http://aws.amazon.com/apache2.0
+ *
+ * or in the "license" file accompanying this file. This file is distributed
+ * on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either
+ * express or implied. See the License for the specific language governing
+ * permissions and limitations under the License.
+ */
+
+
+package software.amazon.awssdk.enhanced.dynamodb.processor.internal;
+
+import static java.util.stream.Collectors.joining;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import javax.annotation.processing.ProcessingEnvironment;
+import javax.lang.model.element.AnnotationMirror;
+import javax.lang.model.element.AnnotationValue;
+import javax.lang.model.element.Element;
+import javax.lang.model.element.ElementKind;
+import javax.lang.model.element.ExecutableElement;
+import javax.lang.model.element.Modifier;
+import javax.lang.model.element.PackageElement;
+import javax.lang.model.element.TypeElement;
+import javax.lang.model.type.ArrayType;
+import javax.lang.model.type.DeclaredType;
+import javax.lang.model.type.TypeKind;
+import javax.lang.model.type.TypeMirror;
+import javax.lang.model.util.ElementFilter;
+import javax.lang.model.util.Elements;
+import javax.lang.model.util.Types;
+import software.amazon.awssdk.annotations.SdkInternalApi;
+
+/**
+ * Helpers on top of {@link Elements} and {@link Types} for reading the annotated classes.
+ */
+@SdkInternalApi
+final class ProcessorElements {
+    private static final String OBJECT = Object.class.getName();
+
+    private final Elements elements;
+    private final Types types;
+
+    ProcessorElements(ProcessingEnvironment processingEnvironment) {
+        this.elements = processingEnvironment.getElementUtils();
+        this.types = processingEnvironment.getTypeUtils();
+    }
+
+    Elements elements() {
+        return elements;
+    }
+
+    Types types() {
+        return types;
+    }
+
+    /**
+     * The annotation of the given type that is present on an element, not counting annotations inherited from superclasses.
+     */
+    Optional<AnnotationMirror> annotation(Element element, String annotationType) {
+        return element.getAnnotationMirrors()
+                      .stream()
+                      .filter(annotation -> qualifiedName(annotation.getAnnotationType()).equals(annotationType))
+                      .map(annotation -> (AnnotationMirror) annotation)
+                      .findFirst();
+    }
+
+    boolean hasAnnotation(Element element, String annotationType) {
+        return annotation(element, annotationType).isPresent();
+    }
+
+    /**
+     * The value of an element of an annotation, which is its default value if it was not set.
+     */
+    Object value(AnnotationMirror annotation, String name) {
+        return elements.getElementValuesWithDefaults(annotation)
+                       .entrySet()
+                       .stream()
+                       .filter(e -> e.getKey().getSimpleName().contentEquals(name))
+                       .map(e -> e.getValue().getValue())
+                       .findFirst()
+                       .orElseThrow(() -> new IllegalStateException(annotation + " has no element named " + name));
+    }
+
+    /**
+     * The values of an array element of an annotation.
+     */
+    List<Object> arrayValue(AnnotationMirror annotation, String name) {
+        Object value = value(annotation, name);
+        List<Object> values = new ArrayList<>();
+        if (value instanceof List) {
+            ((List<?>) value).forEach(v -> values.add(((AnnotationValue) v).getValue()));
+        } else {
+            values.add(value);
+        }
+        return values;
+    }
+
+    String qualifiedName(DeclaredType type) {
+        return ((TypeElement) type.asElement()).getQualifiedName().toString();
+    }
+
+    PackageElement packageOf(Element element) {
+        return elements.getPackageOf(element);
+    }
+
+    boolean isSameErasure(TypeMirror first, TypeMirror second) {
+        return types.isSameType(types.erasure(first), types.erasure(second));
+    }
+
+    /**
+     * Whether generated code in the given package can refer to a class, taking the classes it is nested in into account.
+     */
+    boolean isAccessibleFrom(TypeElement type, PackageElement fromPackage) {
+        boolean samePackage = packageOf(type).equals(fromPackage);
+        for (Element e = type; e.getKind() != ElementKind.PACKAGE; e = e.getEnclosingElement()) {
+            if (!e.getKind().isClass() && !e.getKind().isInterface()) {
+                // A local or anonymous class
+                return false;
+            }
+            Set<Modifier> modifiers = e.getModifiers();
+            if (modifiers.contains(Modifier.PRIVATE) || (!modifiers.contains(Modifier.PUBLIC) && !samePackage)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Whether a class is an inner class, whose instances cannot be created without an instance of the class it is nested in.
+     */
+    boolean isInnerClass(TypeElement type) {
+        return type.getKind() == ElementKind.CLASS
+               && type.getEnclosingElement().getKind() != ElementKind.PACKAGE
+               && !type.getModifiers().contains(Modifier.STATIC);
+    }
+
+    /**
+     * Whether the type, including the arguments of a parameterized type, can be referred to from generated code in the given
+     * package.
+     */
+    boolean isAccessibleFrom(TypeMirror type, PackageElement fromPackage) {
+        switch (type.getKind()) {
+            case DECLARED:
+                DeclaredType declaredType = (DeclaredType) type;
+                return isAccessibleFrom((TypeElement) declaredType.asElement(), fromPackage)
+                       && declaredType.getTypeArguments().stream().allMatch(t -> isAccessibleFrom(t, fromPackage));
+            case ARRAY:
+                return isAccessibleFrom(((ArrayType) type).getComponentType(), fromPackage);
+            default:
+                return type.getKind().isPrimitive();
+        }
+    }
+
+    /**
+     * The public instance methods of a type that are declared by it or inherited from its superclasses, and optionally its
+     * superinterfaces, like the ones that {@link Class#getMethods()} returns, but without the ones declared by {@link Object}.
+     * A method that is overridden is only included once, as the most specific declaration of it.
+     */
+    List<ExecutableElement> publicInstanceMethods(TypeElement type, boolean includeInterfaces) {
+        Map<String, ExecutableElement> methods = new LinkedHashMap<>();
+        Set<TypeElement> visited = new HashSet<>();
+        Deque<TypeElement> toVisit = new ArrayDeque<>();
+        toVisit.add(type);
+
+        // Superclasses are visited before interfaces, so that the implementation of an interface method is the one found
+        for (TypeElement c = type; c != null; c = superclass(c)) {
+            visit(c, methods);
+            visited.add(c);
+        }
+
+        if (includeInterfaces) {
+            while (!toVisit.isEmpty()) {
+                TypeElement next = toVisit.poll();
+                if (next.getKind().isInterface() && visited.add(next)) {
+                    visit(next, methods);
+                }
+                next.getInterfaces().forEach(i -> toVisit.add((TypeElement) ((DeclaredType) i).asElement()));
+                TypeElement superclass = superclass(next);
+                if (superclass != null) {
+                    toVisit.add(superclass);
+                }
+            }
+        }
+
+        return new ArrayList<>(methods.values());
+    }
+
+    /**
+     * The public methods with the given name that are declared by a type or inherited from its superclasses.
+     */
+    List<ExecutableElement> publicMethodsNamed(TypeElement type, String name) {
+        List<ExecutableElement> methods = new ArrayList<>();
+        for (TypeElement c = type; c != null; c = superclass(c)) {
+            ElementFilter.methodsIn(c.getEnclosedElements())
+                         .stream()
+                         .filter(m -> m.getSimpleName().contentEquals(name) && m.getModifiers().contains(Modifier.PUBLIC))
+                         .forEach(methods::add);
+        }
+        return methods;
+    }
+
+    /**
+     * Whether a class has a public constructor that takes no arguments.
+     */
+    boolean hasPublicNoArgConstructor(TypeElement type) {
+        return ElementFilter.constructorsIn(type.getEnclosedElements())
+                            .stream()
+                            .anyMatch(c -> c.getParameters().isEmpty() && c.getModifiers().contains(Modifier.PUBLIC));
+    }
+
+    private void visit(TypeElement type, Map<String, ExecutableElement> methods) {
+        if (type.getQualifiedName().contentEquals(OBJECT)) {
+            return;
+        }
+        ElementFilter.methodsIn(type.getEnclosedElements())
+                     .stream()
+                     .filter(m -> m.getModifiers().contains(Modifier.PUBLIC) && !m.getModifiers().contains(Modifier.STATIC))
+                     .forEach(m -> methods.putIfAbsent(signature(m), m));
+    }
+
+    private String signature(ExecutableElement method) {
+        return method.getSimpleName() + method.getParameters()
+                                               .stream()
+                                               .map(p -> types.erasure(p.asType()).toString())
+                                               .collect(joining(",", "(", ")"));
+    }
+
+    private TypeElement superclass(TypeElement type) {
+        TypeMirror superclass = type.getSuperclass();
+        if (superclass.getKind() != TypeKind.DECLARED) {
+            return null;
+        }
+        return (TypeElement) ((DeclaredType) superclass).asElement();
+    }
+}
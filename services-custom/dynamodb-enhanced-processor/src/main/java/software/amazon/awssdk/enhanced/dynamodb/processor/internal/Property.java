@@ -0,0 +1,68 @@
+/*
+ * Copyright Amazon.com, Inc. or its affiliates. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License").
+ * You may not use this file except in compliance with the License.
+ * A copy of the License is located at
+ *
+ *  http://aws.amazon.com/apache2.0
+ *
+ * or in the "license" file accompanying this file. This file is distributed
+ * on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either
+ * express or implied. See the License for the specific language governing
+ * permissions and limitations under the License.
+ */
+
+
+package software.amazon.awssdk.enhanced.dynamodb.processor.internal;
+
+import java.util.List;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+import javax.lang.model.element.AnnotationMirror;
+import javax.lang.model.element.ExecutableElement;
+import javax.lang.model.type.TypeMirror;
+import software.amazon.awssdk.annotations.SdkInternalApi;
+
+/**
+ * A property of an annotated class, which is mapped to an attribute unless it is ignored.
+ */
+@SdkInternalApi
+final class Property {
+    private final String name;
+    private final ExecutableElement getter;
+    private final ExecutableElement setter;
+
+    Property(String name, ExecutableElement getter, ExecutableElement setter) {
+        this.name = name;
+        this.getter = getter;
+        this.setter = setter;
+    }
+
+    String name() {
+        return name;
+    }
+
+    ExecutableElement getter() {
+        return getter;
+    }
+
+    /**
+     * The setter of the property, which is a method of the builder class for immutable classes.
+     */
+    ExecutableElement setter() {
+        return setter;
+    }
+
+    TypeMirror type() {
+        return getter.getReturnType();
+    }
+
+    /**
+     * The annotations of the getter followed by the annotations of the setter.
+     */
+    List<AnnotationMirror> annotations() {
+        return Stream.concat(getter.getAnnotationMirrors().stream(), setter.getAnnotationMirrors().stream())
+                     .collect(Collectors.toList());
+    }
+}
@@ -0,0 +1,226 @@
+/*
+ * Copyright Amazon.com, Inc. or its affiliates. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License").
+ * You may not use this file except in compliance with the License.
+ * A copy of the License is located at
+ *
+ *  http://aws.amazon.com/apache2.0
+ *
+ * or in the "license" file accompanying this file. This file is distributed
+ * on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either
+ * express or implied. See the License for the specific language governing
+ * permissions and limitations under the License.
+ */
+
+package software.amazon.awssdk.enhanced.dynamodb.processor.internal;
+
+import static javax.lang.model.element.Modifier.FINAL;
+import static javax.lang.model.element.Modifier.PRIVATE;
+import static javax.lang.model.element.Modifier.PUBLIC;
+import static javax.lang.model.element.Modifier.STATIC;
+import static software.amazon.awssdk.enhanced.dynamodb.processor.internal.EnhancedClientApi.ATTRIBUTE_CONVERTER;
+import static software.amazon.awssdk.enhanced.dynamodb.processor.internal.EnhancedClientApi.IMMUTABLE_ATTRIBUTE;
+import static software.amazon.awssdk.enhanced.dynamodb.processor.internal.EnhancedClientApi.STATIC_ATTRIBUTE;
+import static software.amazon.awssdk.enhanced.dynamodb.processor.internal.EnhancedClientApi.STATIC_IMMUTABLE_TABLE_SCHEMA;
+import static software.amazon.awssdk.enhanced.dynamodb.processor.internal.EnhancedClientApi.STATIC_TABLE_SCHEMA;
+
+import com.squareup.javapoet.AnnotationSpec;
+import com.squareup.javapoet.ClassName;
+import com.squareup.javapoet.CodeBlock;
+import com.squareup.javapoet.JavaFile;
+import com.squareup.javapoet.MethodSpec;
+import com.squareup.javapoet.ParameterizedTypeName;
+import com.squareup.javapoet.TypeName;
+import com.squareup.javapoet.TypeSpec;
+import com.squareup.javapoet.TypeVariableName;
+import java.util.List;
+import java.util.function.BiConsumer;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+import software.amazon.awssdk.annotations.Generated;
+import software.amazon.awssdk.annotations.SdkInternalApi;
+
+/**
+ * Generates the source of the class that creates the table schema of an {@link ItemModel}. The table schema is built with
+ * {@code StaticTableSchema} or {@code StaticImmutableTableSchema}.
+ * <p>
+ * The getters and setters of the attributes are instances of a single nested class that calls the getter or setter of an
+ * attribute by its index in a switch statement, rather than a method reference to each of them. The JVM creates a class for
+ * each method reference the first time it is evaluated, and for items with many attributes that is a large part of the
+ * time it takes to create their table schemas.
+ */
+@SdkInternalApi
+public final class TableSchemaGenerator {
+    private static final String PROCESSOR_NAME = "software.amazon.awssdk.enhanced.dynamodb.processor.TableSchemaProcessor";
+    private static final String FACTORY_METHOD_NAME = "create";
+    private static final String ACCESSOR_CLASS_NAME = "Accessor";
+
+    public JavaFile generate(ItemModel item) {
+        ClassName itemClass = item.itemClass();
+        TypeSpec generatedClass =
+            TypeSpec.classBuilder(item.generatedClass())
+                    .addModifiers(PUBLIC, FINAL)
+                    .addJavadoc("The table schema of {@link $T}, generated at build time so that it does not have to be created "
+                                + "by scanning the class at runtime.\n", itemClass)
+                    .addAnnotation(AnnotationSpec.builder(Generated.class)
+                                                 .addMember("value", "$S", PROCESSOR_NAME)
+                                                 .build())
+                    .addOriginatingElement(item.element())
+                    .addMethod(MethodSpec.constructorBuilder().addModifiers(PRIVATE).build())
+                    .addMethod(factoryMethod(item))
+                    .addType(accessorClass(item))
+                    .build();
+
+        return JavaFile.builder(item.generatedClass().packageName(), generatedClass)
+                       .skipJavaLangImports(true)
+                       .indent("    ")
+                       .build();
+    }
+
+    private MethodSpec factoryMethod(ItemModel item) {
+        ClassName itemClass = item.itemClass();
+        TypeName returnType = item.isImmutable()
+                              ? ParameterizedTypeName.get(STATIC_IMMUTABLE_TABLE_SCHEMA, itemClass, item.builderClass())
+                              : ParameterizedTypeName.get(STATIC_TABLE_SCHEMA, itemClass);
+
+        CodeBlock.Builder tableSchema = CodeBlock.builder();
+        if (item.isImmutable()) {
+            tableSchema.add("return $T.builder($T.class, $T.class)",
+                            STATIC_IMMUTABLE_TABLE_SCHEMA, itemClass, item.builderClass())
+                       .indent()
+                       .add("\n.newItemBuilder($L, $T::build)", item.newItem(), item.builderClass());
+        } else {
+            tableSchema.add("return $T.builder($T.class)", STATIC_TABLE_SCHEMA, itemClass)
+                       .indent()
+                       .add("\n.newItemSupplier($L)", item.newItem());
+        }
+
+        tableSchema.add("\n.attributeConverterProviders($L)",
+                        CodeBlock.join(item.converterProviders()
+                                           .stream()
+                                           .map(converterProvider -> CodeBlock.of("new $T()", converterProvider))
+                                           .collect(Collectors.toList()), ", "));
+
+        List<AttributeModel> attributes = item.attributes();
+        for (int index = 0; index < attributes.size(); index++) {
+            AttributeModel attribute = attributes.get(index);
+            CodeBlock accessor = CodeBlock.of("new $L<>($L)", ACCESSOR_CLASS_NAME, index);
+            if (attribute.isFlattened()) {
+                tableSchema.add("\n.flatten($L, $L, $L)", attribute.flattenedTableSchema(), accessor, accessor);
+            } else {
+                tableSchema.add("\n.addAttribute($L)", attribute(item, attribute, accessor));
+            }
+        }
+
+        tableSchema.add("\n.build();\n")
+                   .unindent();
+
+        return MethodSpec.methodBuilder(FACTORY_METHOD_NAME)
+                         .addModifiers(PUBLIC, STATIC)
+                         .addAnnotation(suppressUncheckedWarnings())
+                         .returns(returnType)
+                         .addJavadoc("Create the table schema of {@link $T}.\n", itemClass)
+                         .addCode(tableSchema.build())
+                         .build();
+    }
+
+    private CodeBlock attribute(ItemModel item, AttributeModel attribute, CodeBlock accessor) {
+        ClassName itemClass = item.itemClass();
+        CodeBlock.Builder code = CodeBlock.builder();
+        if (item.isImmutable()) {
+            code.add("$T.builder($T.class, $T.class, $L)", IMMUTABLE_ATTRIBUTE, itemClass, item.builderClass(), attribute.type());
+        } else {
+            code.add("$T.builder($T.class, $L)", STATIC_ATTRIBUTE, itemClass, attribute.type());
+        }
+
+        code.indent()
+            .add("\n.name($S)", attribute.name())
+            .add("\n.getter($L)", accessor)
+            .add("\n.setter($L)", accessor);
+        if (attribute.converter() != null) {
+            code.add("\n.attributeConverter(($T) new $T())", ATTRIBUTE_CONVERTER, attribute.converter());
+        }
+        attribute.tags().forEach(tag -> code.add("\n.addTag($L)", tag));
+        return code.add("\n.build()")
+                   .unindent()
+                   .build();
+    }
+
+    /**
+     * The class of the getters and setters of the attributes, which is a {@code Function} of the item and a
+     * {@code BiConsumer} of the item (or its builder) and the attribute value.
+     */
+    private TypeSpec accessorClass(ItemModel item) {
+        ClassName itemClass = item.itemClass();
+        ClassName setterClass = item.isImmutable() ? item.builderClass() : itemClass;
+        String setterTarget = item.isImmutable() ? "builder" : "item";
+        TypeVariableName valueType = TypeVariableName.get("R");
+        List<AttributeModel> attributes = item.attributes();
+
+        CodeBlock.Builder get = CodeBlock.builder().beginControlFlow("switch (index)");
+        CodeBlock.Builder set = CodeBlock.builder().beginControlFlow("switch (index)");
+        for (int index = 0; index < attributes.size(); index++) {
+            AttributeModel attribute = attributes.get(index);
+            // Primitive values are boxed before they are cast to the type variable
+            CodeBlock value = attribute.valueType().isBoxedPrimitive()
+                              ? CodeBlock.of("($T) item.$L()", attribute.valueType(), attribute.getterName())
+                              : CodeBlock.of("item.$L()", attribute.getterName());
+            get.add("case $L:\n", index)
+                .indent()
+                .addStatement("return (R) $L", value)
+                .unindent();
+            set.add("case $L:\n", index)
+                .indent()
+                .addStatement("$L.$L(($T) value)", setterTarget, attribute.setterName(), attribute.valueType())
+                .addStatement("break")
+                .unindent();
+        }
+        get.add("default:\n")
+            .indent()
+            .addStatement("throw new $T($S + index)", IllegalStateException.class, "Unknown attribute index ")
+            .unindent()
+            .endControlFlow();
+        set.add("default:\n")
+            .indent()
+            .addStatement("throw new $T($S + index)", IllegalStateException.class, "Unknown attribute index ")
+            .unindent()
+            .endControlFlow();
+
+        return TypeSpec.classBuilder(ACCESSOR_CLASS_NAME)
+                       .addModifiers(PRIVATE, STATIC, FINAL)
+                       .addTypeVariable(valueType)
+                       .addSuperinterface(ParameterizedTypeName.get(ClassName.get(Function.class), itemClass, valueType))
+                       .addSuperinterface(ParameterizedTypeName.get(ClassName.get(BiConsumer.class), setterClass, valueType))
+                       .addJavadoc("Gets or sets the attribute with the given index.\n")
+                       .addField(int.class, "index", PRIVATE, FINAL)
+                       .addMethod(MethodSpec.constructorBuilder()
+                                            .addModifiers(PRIVATE)
+                                            .addParameter(int.class, "index")
+                                            .addStatement("this.index = index")
+                                            .build())
+                       .addMethod(MethodSpec.methodBuilder("apply")
+                                            .addAnnotation(Override.class)
+                                            .addAnnotation(suppressUncheckedWarnings())
+                                            .addModifiers(PUBLIC)
+                                            .returns(valueType)
+                                            .addParameter(itemClass, "item")
+                                            .addCode(get.build())
+                                            .build())
+                       .addMethod(MethodSpec.methodBuilder("accept")
+                                            .addAnnotation(Override.class)
+                                            .addAnnotation(suppressUncheckedWarnings())
+                                            .addModifiers(PUBLIC)
+                                            .addParameter(setterClass, setterTarget)
+                                            .addParameter(valueType, "value")
+                                            .addCode(set.build())
+                                            .build())
+                       .build();
+    }
+
+    private static AnnotationSpec suppressUncheckedWarnings() {
+        return AnnotationSpec.builder(SuppressWarnings.class)
+                             .addMember("value", "{$S, $S}", "unchecked", "rawtypes")
+                             .build();
+    }
+}
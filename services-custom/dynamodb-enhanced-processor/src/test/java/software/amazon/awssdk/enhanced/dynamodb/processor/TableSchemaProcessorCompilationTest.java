@@ -0,0 +1,227 @@
+/*
+ * Copyright Amazon.com, Inc. or its affiliates. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License").
+ * You may not use this file except in compliance with the License.
+ * A copy of the License is located at
+ *
+ *  http://aws.amazon.com/apache2.0
+ *
+ * or in the "license" file accompanying this file. This file is distributed
+ * on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either
+ * express or implied. See the License for the specific language governing
+ * permissions and limitations under the License.
+ */
+
+package software.amazon.awssdk.enhanced.dynamodb.processor;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.io.File;
+import java.io.IOException;
+import java.net.URI;
+import java.net.URISyntaxException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.stream.Collectors;
+import javax.tools.Diagnostic;
+import javax.tools.DiagnosticCollector;
+import javax.tools.JavaCompiler;
+import javax.tools.JavaFileObject;
+import javax.tools.SimpleJavaFileObject;
+import javax.tools.ToolProvider;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import software.amazon.awssdk.annotations.SdkPublicApi;
+import software.amazon.awssdk.core.SdkBytes;
+import software.amazon.awssdk.enhanced.dynamodb.mapper.annotations.DynamoDbBean;
+import software.amazon.awssdk.services.dynamodb.model.AttributeValue;
+
+/**
+ * Compiles classes with {@link TableSchemaProcessor} to check which of them it generates table schemas for, that the
+ * generated table schemas compile, and what it reports about the classes it does not generate table schemas for.
+ */
+public class TableSchemaProcessorCompilationTest {
+    @TempDir
+    Path outputDirectory;
+
+    @Test
+    public void supportedBean_shouldGenerateTableSchema_withoutDiagnostics() throws IOException {
+        List<Diagnostic<? extends JavaFileObject>> diagnostics = compile(
+            "Item",
+            "@DynamoDbBean public class Item {",
+            "    private String id;",
+            "    @DynamoDbPartitionKey public String getId() { return id; }",
+            "    public void setId(String id) { this.id = id; }",
+            "}");
+
+        assertThat(diagnostics).isEmpty();
+        String generated = new String(Files.readAllBytes(outputDirectory.resolve("com/example/Item_TableSchema.java")),
+                                      "UTF-8");
+        assertThat(generated).contains("public final class Item_TableSchema",
+                                       "public static StaticTableSchema<Item> create()",
+                                       ".newItemSupplier(Item::new)",
+                                       ".getter(new Accessor<>(0))",
+                                       ".addTag(StaticAttributeTags.primaryPartitionKey())");
+        assertThat(outputDirectory.resolve("com/example/Item_TableSchema.class")).exists();
+    }
+
+    @Test
+    public void beanNamedLikeGeneratedNestedClass_shouldGenerateTableSchemaThatCompiles() throws IOException {
+        List<Diagnostic<? extends JavaFileObject>> diagnostics = compile(
+            "Accessor",
+            "@DynamoDbBean public class Accessor {",
+            "    private String id;",
+            "    @DynamoDbPartitionKey public String getId() { return id; }",
+            "    public void setId(String id) { this.id = id; }",
+            "}");
+
+        assertThat(diagnostics).isEmpty();
+        assertThat(outputDirectory.resolve("com/example/Accessor_TableSchema.class")).exists();
+    }
+
+    @Test
+    public void customAttributeTag_shouldNotGenerateTableSchema() throws IOException {
+        assertNotGenerated("the property 'id' has the custom attribute tag annotation @com.example.Item.Key",
+                           "Item",
+                           "@DynamoDbBean public class Item {",
+                           "    private String id;",
+                           "    @Key public String getId() { return id; }",
+                           "    public void setId(String id) { this.id = id; }",
+                           "    @java.lang.annotation.Retention(java.lang.annotation.RetentionPolicy.RUNTIME)",
+                           "    @BeanTableSchemaAttributeTag(Key.Tags.class) public @interface Key {",
+                           "        class Tags {",
+                           "            public static StaticAttributeTag attributeTagFor(Key key) {",
+                           "                return StaticAttributeTags.primaryPartitionKey();",
+                           "            }",
+                           "        }",
+                           "    }",
+                           "}");
+    }
+
+    @Test
+    public void recursiveBean_shouldNotGenerateTableSchema() throws IOException {
+        assertNotGenerated("it refers to itself through the documents and flattened classes that it refers to",
+                           "Item",
+                           "@DynamoDbBean public class Item {",
+                           "    private java.util.Map<String, Item> children;",
+                           "    public java.util.Map<String, Item> getChildren() { return children; }",
+                           "    public void setChildren(java.util.Map<String, Item> children) { this.children = children; }",
+                           "}");
+    }
+
+    @Test
+    public void beanWithOverloadedSetters_shouldNotGenerateTableSchema() throws IOException {
+        assertNotGenerated("it has more than one setter for the property 'id'",
+                           "Item",
+                           "@DynamoDbBean public class Item {",
+                           "    private String id;",
+                           "    public String getId() { return id; }",
+                           "    public void setId(String id) { this.id = id; }",
+                           "    public void setId(Integer id) { this.id = String.valueOf(id); }",
+                           "}");
+    }
+
+    @Test
+    public void beanWithoutNoArgConstructor_shouldNotGenerateTableSchema() throws IOException {
+        assertNotGenerated("it does not have a public constructor that takes no arguments",
+                           "Item",
+                           "@DynamoDbBean public class Item {",
+                           "    private String id;",
+                           "    public Item(String id) { this.id = id; }",
+                           "    public String getId() { return id; }",
+                           "    public void setId(String id) { this.id = id; }",
+                           "}");
+    }
+
+    @Test
+    public void genericBean_shouldNotGenerateTableSchema() throws IOException {
+        assertNotGenerated("it is a generic class",
+                           "Item",
+                           "@DynamoDbBean public class Item<T> {",
+                           "    private T id;",
+                           "    public T getId() { return id; }",
+                           "    public void setId(T id) { this.id = id; }",
+                           "}");
+    }
+
+    @Test
+    public void immutableWithoutSetter_shouldNotGenerateTableSchema() throws IOException {
+        assertNotGenerated("its builder does not have a setter for the property 'name'",
+                           "Item",
+                           "@DynamoDbImmutable(builder = Item.Builder.class) public class Item {",
+                           "    public String id() { return null; }",
+                           "    public String name() { return null; }",
+                           "    public static class Builder {",
+                           "        public Builder id(String id) { return this; }",
+                           "        public Item build() { return new Item(); }",
+                           "    }",
+                           "}");
+    }
+
+    private void assertNotGenerated(String reason, String className, String... source) throws IOException {
+        List<Diagnostic<? extends JavaFileObject>> diagnostics = compile(className, source);
+
+        assertThat(diagnostics).hasSize(1);
+        assertThat(diagnostics.get(0).getKind()).isEqualTo(Diagnostic.Kind.NOTE);
+        assertThat(diagnostics.get(0).getMessage(null))
+            .isEqualTo("No table schema was generated for com.example." + className + ", so it will be created by scanning "
+                       + "the class at runtime, because " + reason + ".");
+        assertThat(outputDirectory.resolve("com/example/" + className + "_TableSchema.java")).doesNotExist();
+    }
+
+    private List<Diagnostic<? extends JavaFileObject>> compile(String className, String... source) throws IOException {
+        String header = String.join("\n",
+                                    "package com.example;",
+                                    "import software.amazon.awssdk.enhanced.dynamodb.mapper.*;",
+                                    "import software.amazon.awssdk.enhanced.dynamodb.mapper.annotations.*;");
+        JavaFileObject sourceFile = new StringSource(className, header + "\n" + String.join("\n", source));
+
+        JavaCompiler compiler = ToolProvider.getSystemJavaCompiler();
+        DiagnosticCollector<JavaFileObject> diagnostics = new DiagnosticCollector<>();
+        List<String> options = Arrays.asList("-classpath", classpathOf(DynamoDbBean.class, SdkPublicApi.class, SdkBytes.class,
+                                                                       AttributeValue.class),
+                                             "-s", outputDirectory.toString(),
+                                             "-d", outputDirectory.toString());
+        JavaCompiler.CompilationTask task = compiler.getTask(null, null, diagnostics, options, null,
+                                                             Collections.singletonList(sourceFile));
+        task.setProcessors(Collections.singletonList(new TableSchemaProcessor()));
+        assertThat(task.call()).as("compilation of %s: %s", className, diagnostics.getDiagnostics()).isTrue();
+
+        // Notes about the compilation itself, such as unchecked operations, are not reported by the processor
+        return diagnostics.getDiagnostics()
+                          .stream()
+                          .filter(d -> d.getKind() != Diagnostic.Kind.NOTE || d.getSource() != null)
+                          .collect(Collectors.toList());
+    }
+
+    private static String classpathOf(Class<?>... classes) {
+        return Arrays.stream(classes)
+                     .map(c -> {
+                         try {
+                             return Paths.get(c.getProtectionDomain().getCodeSource().getLocation().toURI()).toString();
+                         } catch (URISyntaxException e) {
+                             throw new IllegalStateException(e);
+                         }
+                     })
+                     .collect(Collectors.joining(File.pathSeparator));
+    }
+
+    private static final class StringSource extends SimpleJavaFileObject {
+        private final String source;
+
+        private StringSource(String className, String source) {
+            super(URI.create("string:///com/example/" + className + Kind.SOURCE.extension), Kind.SOURCE);
+            this.source = source;
+        }
+
+        @Override
+        public CharSequence getCharContent(boolean ignoreEncodingErrors) {
+            return source;
+        }
+    }
+}
@@ -0,0 +1,172 @@
+/*
+ * Copyright Amazon.com, Inc. or its affiliates. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License").
+ * You may not use this file except in compliance with the License.
+ * A copy of the License is located at
+ *
+ *  http://aws.amazon.com/apache2.0
+ *
+ * or in the "license" file accompanying this file. This file is distributed
+ * on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either
+ * express or implied. See the License for the specific language governing
+ * permissions and limitations under the License.
+ */
+
+package software.amazon.awssdk.enhanced.dynamodb.processor;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.time.Instant;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Map;
+import org.junit.jupiter.api.Test;
+import software.amazon.awssdk.core.SdkBytes;
+import software.amazon.awssdk.enhanced.dynamodb.TableSchema;
+import software.amazon.awssdk.enhanced.dynamodb.internal.mapper.GeneratedTableSchemaLoader;
+import software.amazon.awssdk.enhanced.dynamodb.mapper.BeanTableSchema;
+import software.amazon.awssdk.enhanced.dynamodb.mapper.ImmutableTableSchema;
+import software.amazon.awssdk.enhanced.dynamodb.processor.testbeans.CustomTagBean;
+import software.amazon.awssdk.enhanced.dynamodb.processor.testbeans.DocumentBean;
+import software.amazon.awssdk.enhanced.dynamodb.processor.testbeans.FlattenedBean;
+import software.amazon.awssdk.enhanced.dynamodb.processor.testbeans.ImmutableDocument;
+import software.amazon.awssdk.enhanced.dynamodb.processor.testbeans.ImmutableItem;
+import software.amazon.awssdk.enhanced.dynamodb.processor.testbeans.ImmutableItem_TableSchema;
+import software.amazon.awssdk.enhanced.dynamodb.processor.testbeans.ItemBean;
+import software.amazon.awssdk.enhanced.dynamodb.processor.testbeans.ItemBean_TableSchema;
+import software.amazon.awssdk.enhanced.dynamodb.processor.testbeans.NestedItems;
+import software.amazon.awssdk.enhanced.dynamodb.processor.testbeans.NestedItems_NestedBean_TableSchema;
+import software.amazon.awssdk.enhanced.dynamodb.processor.testbeans.NestedItems_NestedImmutable_TableSchema;
+import software.amazon.awssdk.enhanced.dynamodb.processor.testbeans.RecursiveBean;
+import software.amazon.awssdk.services.dynamodb.model.AttributeValue;
+
+/**
+ * Checks that the table schemas generated for the classes in the testbeans package, which are processed by
+ * {@link TableSchemaProcessor} when the tests are compiled, behave like the table schemas created by scanning the classes.
+ */
+public class TableSchemaProcessorTest {
+    @Test
+    public void itemBean_shouldMatchBeanTableSchema() {
+        assertMatchesReflectiveTableSchema(ItemBean_TableSchema.create(), BeanTableSchema.create(ItemBean.class), itemBean());
+    }
+
+    @Test
+    public void itemBeanWithNullAttributes_shouldMatchBeanTableSchema() {
+        ItemBean item = new ItemBean();
+        item.setId("id");
+        item.setDocument(new DocumentBean());
+
+        assertMatchesReflectiveTableSchema(ItemBean_TableSchema.create(), BeanTableSchema.create(ItemBean.class), item);
+    }
+
+    @Test
+    public void immutableItem_shouldMatchImmutableTableSchema() {
+        ImmutableItem item = ImmutableItem.builder()
+                                          .id("id")
+                                          .sort(7)
+                                          .setEnabled(true)
+                                          .converted("converted")
+                                          .documents(Collections.singletonList(documentBean("first")))
+                                          .document(new ImmutableDocument.Builder().name("document")
+                                                                                   .counts(Collections.singletonMap("a", 1))
+                                                                                   .build())
+                                          .build();
+
+        assertMatchesReflectiveTableSchema(ImmutableItem_TableSchema.create(), ImmutableTableSchema.create(ImmutableItem.class),
+                                           item);
+    }
+
+    @Test
+    public void nestedClasses_shouldBeGeneratedIntoClassesNamedAfterTheirBinaryNames() {
+        NestedItems.NestedBean bean = new NestedItems.NestedBean();
+        bean.setId("id");
+        NestedItems.NestedImmutable immutable = new NestedItems.NestedImmutable.Builder().id("id").build();
+
+        assertMatchesReflectiveTableSchema(NestedItems_NestedBean_TableSchema.create(),
+                                           BeanTableSchema.create(NestedItems.NestedBean.class), bean);
+        assertMatchesReflectiveTableSchema(NestedItems_NestedImmutable_TableSchema.create(),
+                                           ImmutableTableSchema.create(NestedItems.NestedImmutable.class), immutable);
+    }
+
+    @Test
+    public void generatedTableSchemas_shouldBeFoundByTheEnhancedClient() {
+        assertThat(GeneratedTableSchemaLoader.beanTableSchema(ItemBean.class)).isPresent();
+        assertThat(GeneratedTableSchemaLoader.beanTableSchema(NestedItems.NestedBean.class)).isPresent();
+        assertThat(GeneratedTableSchemaLoader.immutableTableSchema(ImmutableItem.class)).isPresent();
+        assertThat(GeneratedTableSchemaLoader.immutableTableSchema(NestedItems.NestedImmutable.class)).isPresent();
+
+        ItemBean item = itemBean();
+        assertThat(TableSchema.fromBean(ItemBean.class).itemToMap(item, false))
+            .isEqualTo(BeanTableSchema.create(ItemBean.class).itemToMap(item, false));
+    }
+
+    @Test
+    public void unsupportedClasses_shouldNotBeGenerated_andShouldStillBeScannedAtRuntime() {
+        assertThat(GeneratedTableSchemaLoader.beanTableSchema(RecursiveBean.class)).isEmpty();
+        assertThat(GeneratedTableSchemaLoader.beanTableSchema(CustomTagBean.class)).isEmpty();
+
+        RecursiveBean recursiveBean = new RecursiveBean();
+        recursiveBean.setId("parent");
+        RecursiveBean child = new RecursiveBean();
+        child.setId("child");
+        recursiveBean.setChildren(Collections.singletonList(child));
+        assertThat(TableSchema.fromBean(RecursiveBean.class).itemToMap(recursiveBean, true)).containsKeys("id", "children");
+        assertThat(TableSchema.fromBean(CustomTagBean.class).tableMetadata().primaryPartitionKey()).isEqualTo("id");
+    }
+
+    private static <T> void assertMatchesReflectiveTableSchema(TableSchema<T> generated, TableSchema<T> reflective, T item) {
+        assertThat(generated.itemType()).isEqualTo(reflective.itemType());
+        assertThat(generated.attributeNames()).containsExactlyInAnyOrderElementsOf(reflective.attributeNames());
+        assertThat(generated.tableMetadata()).isEqualTo(reflective.tableMetadata());
+
+        Map<String, AttributeValue> itemMap = reflective.itemToMap(item, false);
+        assertThat(generated.itemToMap(item, false)).isEqualTo(itemMap);
+        assertThat(generated.itemToMap(item, true)).isEqualTo(reflective.itemToMap(item, true));
+        assertThat(reflective.itemToMap(generated.mapToItem(itemMap), false)).isEqualTo(itemMap);
+        assertThat(generated.itemToMap(reflective.mapToItem(itemMap), false)).isEqualTo(itemMap);
+    }
+
+    private static ItemBean itemBean() {
+        ItemBean item = new ItemBean();
+        item.setId("id");
+        item.setSort(3);
+        item.setActive(true);
+        item.setArchived(false);
+        item.setVersion(5L);
+        item.setUpdated(Instant.parse("2021-01-01T00:00:00Z"));
+        item.setCreated(Instant.parse("2020-01-01T00:00:00Z"));
+        item.setGsiKey("gsi");
+        item.setRenamed("renamed");
+        item.setIgnored("ignored");
+        item.setConverted("converted");
+        item.setStatus(ItemBean.Status.ACTIVE);
+        item.setBytes(new byte[] {1, 2, 3});
+        item.setSdkBytes(SdkBytes.fromUtf8String("bytes"));
+        item.setTags(Arrays.asList("a", "b"));
+        item.setNumbers(new HashSet<>(Arrays.asList(1, 2)));
+        item.setScores(Collections.singletonMap("score", Arrays.asList(1.5, 2.5)));
+        item.setDocument(documentBean("document"));
+        item.setDocuments(Arrays.asList(documentBean("first"), documentBean("second")));
+        Map<String, DocumentBean> documentsByName = new HashMap<>();
+        documentsByName.put("third", documentBean("third"));
+        item.setDocumentsByName(documentsByName);
+        item.setImmutableDocument(new ImmutableDocument.Builder().name("immutable").build());
+        FlattenedBean address = new FlattenedBean();
+        address.setStreet("street");
+        address.setCity("city");
+        item.setAddress(address);
+        return item;
+    }
+
+    private static DocumentBean documentBean(String name) {
+        DocumentBean document = new DocumentBean();
+        document.setName(name);
+        document.setValue(name.length());
+        document.setValues(Arrays.asList(1L, 2L));
+        document.setChild(new FlattenedBean());
+        return document;
+    }
+}
@@ -0,0 +1,57 @@
+/*
+ * Copyright Amazon.com, Inc. or its affiliates. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License").
+ * You may not use this file except in compliance with the License.
+ * A copy of the License is located at
+ *
+ *  http://aws.amazon.com/apache2.0
+ *
+ * or in the "license" file accompanying this file. This file is distributed
+ * on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either
+ * express or implied. See the License for the specific language governing
+ * permissions and limitations under the License.
+ */
+
+package software.amazon.awssdk.enhanced.dynamodb.processor.testbeans;
+
+import java.util.Map;
+import software.amazon.awssdk.enhanced.dynamodb.mapper.annotations.DynamoDbImmutable;
+
+@DynamoDbImmutable(builder = ImmutableDocument.Builder.class)
+public final class ImmutableDocument {
+    private final String name;
+    private final Map<String, Integer> counts;
+
+    private ImmutableDocument(Builder builder) {
+        this.name = builder.name;
+        this.counts = builder.counts;
+    }
+
+    public String name() {
+        return name;
+    }
+
+    public Map<String, Integer> counts() {
+        return counts;
+    }
+
+    public static final class Builder {
+        private String name;
+        private Map<String, Integer> counts;
+
+        public Builder name(String name) {
+            this.name = name;
+            return this;
+        }
+
+        public Builder counts(Map<String, Integer> counts) {
+            this.counts = counts;
+            return this;
+        }
+
+        public ImmutableDocument build() {
+            return new ImmutableDocument(this);
+        }
+    }
+}
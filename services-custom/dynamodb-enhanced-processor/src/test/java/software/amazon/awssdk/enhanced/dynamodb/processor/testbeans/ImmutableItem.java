@@ -0,0 +1,129 @@
+/*
+ * Copyright Amazon.com, Inc. or its affiliates. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License").
+ * You may not use this file except in compliance with the License.
+ * A copy of the License is located at
+ *
+ *  http://aws.amazon.com/apache2.0
+ *
+ * or in the "license" file accompanying this file. This file is distributed
+ * on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either
+ * express or implied. See the License for the specific language governing
+ * permissions and limitations under the License.
+ */
+
+package software.amazon.awssdk.enhanced.dynamodb.processor.testbeans;
+
+import java.util.List;
+import software.amazon.awssdk.enhanced.dynamodb.DefaultAttributeConverterProvider;
+import software.amazon.awssdk.enhanced.dynamodb.mapper.annotations.DynamoDbConvertedBy;
+import software.amazon.awssdk.enhanced.dynamodb.mapper.annotations.DynamoDbIgnore;
+import software.amazon.awssdk.enhanced.dynamodb.mapper.annotations.DynamoDbImmutable;
+import software.amazon.awssdk.enhanced.dynamodb.mapper.annotations.DynamoDbPartitionKey;
+import software.amazon.awssdk.enhanced.dynamodb.mapper.annotations.DynamoDbSortKey;
+
+@DynamoDbImmutable(builder = ImmutableItem.Builder.class, converterProviders = DefaultAttributeConverterProvider.class)
+public final class ImmutableItem {
+    private final String id;
+    private final Integer sort;
+    private final boolean enabled;
+    private final String converted;
+    private final List<DocumentBean> documents;
+    private final ImmutableDocument document;
+
+    private ImmutableItem(Builder builder) {
+        this.id = builder.id;
+        this.sort = builder.sort;
+        this.enabled = builder.enabled;
+        this.converted = builder.converted;
+        this.documents = builder.documents;
+        this.document = builder.document;
+    }
+
+    public static Builder builder() {
+        return new Builder();
+    }
+
+    public Builder toBuilder() {
+        return builder().id(id).sort(sort).setEnabled(enabled).converted(converted).documents(documents).document(document);
+    }
+
+    @DynamoDbPartitionKey
+    public String id() {
+        return id;
+    }
+
+    @DynamoDbSortKey
+    public Integer sort() {
+        return sort;
+    }
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    @DynamoDbConvertedBy(UpperCaseConverter.class)
+    public String converted() {
+        return converted;
+    }
+
+    public List<DocumentBean> documents() {
+        return documents;
+    }
+
+    public ImmutableDocument document() {
+        return document;
+    }
+
+    @DynamoDbIgnore
+    public String description() {
+        return id + "/" + sort;
+    }
+
+    public static final class Builder {
+        private String id;
+        private Integer sort;
+        private boolean enabled;
+        private String converted;
+        private List<DocumentBean> documents;
+        private ImmutableDocument document;
+
+        private Builder() {
+        }
+
+        public Builder id(String id) {
+            this.id = id;
+            return this;
+        }
+
+        public Builder sort(Integer sort) {
+            this.sort = sort;
+            return this;
+        }
+
+        public Builder setEnabled(boolean enabled) {
+            this.enabled = enabled;
+            return this;
+        }
+
+        public Builder converted(String converted) {
+            this.converted = converted;
+            return this;
+        }
+
+        public Builder documents(List<DocumentBean> documents) {
+            this.documents = documents;
+            return this;
+        }
+
+        public Builder document(ImmutableDocument document) {
+            this.document = document;
+            return this;
+        }
+
+        public ImmutableItem build() {
+            return new ImmutableItem(this);
+        }
+    }
+}
@@ -0,0 +1,248 @@
+/*
+ * Copyright Amazon.com, Inc. or its affiliates. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License").
+ * You may not use this file except in compliance with the License.
+ * A copy of the License is located at
+ *
+ *  http://aws.amazon.com/apache2.0
+ *
+ * or in the "license" file accompanying this file. This file is distributed
+ * on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either
+ * express or implied. See the License for the specific language governing
+ * permissions and limitations under the License.
+ */
+
+package software.amazon.awssdk.enhanced.dynamodb.processor.testbeans;
+
+import java.time.Instant;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import software.amazon.awssdk.core.SdkBytes;
+import software.amazon.awssdk.enhanced.dynamodb.extensions.annotations.DynamoDbAutoGeneratedTimestampAttribute;
+import software.amazon.awssdk.enhanced.dynamodb.extensions.annotations.DynamoDbVersionAttribute;
+import software.amazon.awssdk.enhanced.dynamodb.mapper.UpdateBehavior;
+import software.amazon.awssdk.enhanced.dynamodb.mapper.annotations.DynamoDbAttribute;
+import software.amazon.awssdk.enhanced.dynamodb.mapper.annotations.DynamoDbBean;
+import software.amazon.awssdk.enhanced.dynamodb.mapper.annotations.DynamoDbConvertedBy;
+import software.amazon.awssdk.enhanced.dynamodb.mapper.annotations.DynamoDbFlatten;
+import software.amazon.awssdk.enhanced.dynamodb.mapper.annotations.DynamoDbIgnore;
+import software.amazon.awssdk.enhanced.dynamodb.mapper.annotations.DynamoDbIgnoreNulls;
+import software.amazon.awssdk.enhanced.dynamodb.mapper.annotations.DynamoDbSecondaryPartitionKey;
+import software.amazon.awssdk.enhanced.dynamodb.mapper.annotations.DynamoDbSecondarySortKey;
+import software.amazon.awssdk.enhanced.dynamodb.mapper.annotations.DynamoDbSortKey;
+import software.amazon.awssdk.enhanced.dynamodb.mapper.annotations.DynamoDbUpdateBehavior;
+
+@DynamoDbBean
+public class ItemBean extends ParentBean {
+    private int sort;
+    private boolean active;
+    private Boolean archived;
+    private Long version;
+    private Instant updated;
+    private Instant created;
+    private String gsiKey;
+    private String renamed;
+    private String ignored;
+    private String converted;
+    private Status status;
+    private byte[] bytes;
+    private SdkBytes sdkBytes;
+    private List<String> tags;
+    private Set<Integer> numbers;
+    private Map<String, List<Double>> scores;
+    private DocumentBean document;
+    private List<DocumentBean> documents;
+    private Map<String, DocumentBean> documentsByName;
+    private ImmutableDocument immutableDocument;
+    private FlattenedBean address;
+
+    @DynamoDbSortKey
+    public int getSort() {
+        return sort;
+    }
+
+    public void setSort(int sort) {
+        this.sort = sort;
+    }
+
+    public boolean isActive() {
+        return active;
+    }
+
+    public void setActive(boolean active) {
+        this.active = active;
+    }
+
+    public Boolean getArchived() {
+        return archived;
+    }
+
+    public void setArchived(Boolean archived) {
+        this.archived = archived;
+    }
+
+    @DynamoDbVersionAttribute
+    public Long getVersion() {
+        return version;
+    }
+
+    public void setVersion(Long version) {
+        this.version = version;
+    }
+
+    @DynamoDbAutoGeneratedTimestampAttribute
+    public Instant getUpdated() {
+        return updated;
+    }
+
+    public void setUpdated(Instant updated) {
+        this.updated = updated;
+    }
+
+    @DynamoDbUpdateBehavior(UpdateBehavior.WRITE_IF_NOT_EXISTS)
+    @DynamoDbSecondarySortKey(indexNames = {"gsi_1", "lsi_1"})
+    public Instant getCreated() {
+        return created;
+    }
+
+    public void setCreated(Instant created) {
+        this.created = created;
+    }
+
+    @DynamoDbSecondaryPartitionKey(indexNames = "gsi_1")
+    public String getGsiKey() {
+        return gsiKey;
+    }
+
+    public void setGsiKey(String gsiKey) {
+        this.gsiKey = gsiKey;
+    }
+
+    @DynamoDbAttribute("renamed_attribute")
+    public String getRenamed() {
+        return renamed;
+    }
+
+    public void setRenamed(String renamed) {
+        this.renamed = renamed;
+    }
+
+    @DynamoDbIgnore
+    public String getIgnored() {
+        return ignored;
+    }
+
+    public void setIgnored(String ignored) {
+        this.ignored = ignored;
+    }
+
+    @DynamoDbConvertedBy(UpperCaseConverter.class)
+    public String getConverted() {
+        return converted;
+    }
+
+    public void setConverted(String converted) {
+        this.converted = converted;
+    }
+
+    public Status getStatus() {
+        return status;
+    }
+
+    public void setStatus(Status status) {
+        this.status = status;
+    }
+
+    public byte[] getBytes() {
+        return bytes;
+    }
+
+    public void setBytes(byte[] bytes) {
+        this.bytes = bytes;
+    }
+
+    public SdkBytes getSdkBytes() {
+        return sdkBytes;
+    }
+
+    public void setSdkBytes(SdkBytes sdkBytes) {
+        this.sdkBytes = sdkBytes;
+    }
+
+    public List<String> getTags() {
+        return tags;
+    }
+
+    public void setTags(List<String> tags) {
+        this.tags = tags;
+    }
+
+    public Set<Integer> getNumbers() {
+        return numbers;
+    }
+
+    public void setNumbers(Set<Integer> numbers) {
+        this.numbers = numbers;
+    }
+
+    public Map<String, List<Double>> getScores() {
+        return scores;
+    }
+
+    public void setScores(Map<String, List<Double>> scores) {
+        this.scores = scores;
+    }
+
+    @DynamoDbIgnoreNulls
+    public DocumentBean getDocument() {
+        return document;
+    }
+
+    public void setDocument(DocumentBean document) {
+        this.document = document;
+    }
+
+    public List<DocumentBean> getDocuments() {
+        return documents;
+    }
+
+    public void setDocuments(List<DocumentBean> documents) {
+        this.documents = documents;
+    }
+
+    public Map<String, DocumentBean> getDocumentsByName() {
+        return documentsByName;
+    }
+
+    public void setDocumentsByName(Map<String, DocumentBean> documentsByName) {
+        this.documentsByName = documentsByName;
+    }
+
+    public ImmutableDocument getImmutableDocument() {
+        return immutableDocument;
+    }
+
+    public void setImmutableDocument(ImmutableDocument immutableDocument) {
+        this.immutableDocument = immutableDocument;
+    }
+
+    @DynamoDbFlatten
+    public FlattenedBean getAddress() {
+        return address;
+    }
+
+    public void setAddress(FlattenedBean address) {
+        this.address = address;
+    }
+
+    public String getReadOnly() {
+        return "read-only";
+    }
+
+    public enum Status {
+        ACTIVE,
+        DELETED
+    }
+}
@@ -0,0 +1,66 @@
+/*
+ * Copyright Amazon.com, Inc. or its affiliates. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License").
+ * You may not use this file except in compliance with the License.
+ * A copy of the License is located at
+ *
+ *  http://aws.amazon.com/apache2.0
+ *
+ * or in the "license" file accompanying this file. This file is distributed
+ * on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either
+ * express or implied. See the License for the specific language governing
+ * permissions and limitations under the License.
+ */
+
+package software.amazon.awssdk.enhanced.dynamodb.processor.testbeans;
+
+import software.amazon.awssdk.enhanced.dynamodb.mapper.annotations.DynamoDbBean;
+import software.amazon.awssdk.enhanced.dynamodb.mapper.annotations.DynamoDbImmutable;
+import software.amazon.awssdk.enhanced.dynamodb.mapper.annotations.DynamoDbPartitionKey;
+
+public final class NestedItems {
+    private NestedItems() {
+    }
+
+    @DynamoDbBean
+    public static class NestedBean {
+        private String id;
+
+        @DynamoDbPartitionKey
+        public String getId() {
+            return id;
+        }
+
+        public void setId(String id) {
+            this.id = id;
+        }
+    }
+
+    @DynamoDbImmutable(builder = NestedImmutable.Builder.class)
+    public static final class NestedImmutable {
+        private final String id;
+
+        private NestedImmutable(Builder builder) {
+            this.id = builder.id;
+        }
+
+        @DynamoDbPartitionKey
+        public String id() {
+            return id;
+        }
+
+        public static final class Builder {
+            private String id;
+
+            public Builder id(String id) {
+                this.id = id;
+                return this;
+            }
+
+            public NestedImmutable build() {
+                return new NestedImmutable(this);
+            }
+        }
+    }
+}
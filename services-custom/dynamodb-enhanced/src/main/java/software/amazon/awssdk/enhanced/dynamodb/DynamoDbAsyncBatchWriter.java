@@ -0,0 +1,126 @@
+/*
+ * Copyright Amazon.com, Inc. or its affiliates. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License").
+ * You may not use this file except in compliance with the License.
+ * A copy of the License is located at
+ *
+ *  http://aws.amazon.com/apache2.0
+ *
+ * or in the "license" file accompanying this file. This file is distributed
+ * on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either
+ * express or implied. See the License for the specific language governing
+ * permissions and limitations under the License.
+ */
+
+
+package software.amazon.awssdk.enhanced.dynamodb;
+
+import java.util.concurrent.CompletableFuture;
+import software.amazon.awssdk.annotations.SdkPublicApi;
+import software.amazon.awssdk.annotations.ThreadSafe;
+import software.amazon.awssdk.core.exception.SdkClientException;
+import software.amazon.awssdk.enhanced.dynamodb.model.BatchWriterConfiguration;
+import software.amazon.awssdk.enhanced.dynamodb.model.DeleteItemEnhancedRequest;
+import software.amazon.awssdk.enhanced.dynamodb.model.PutItemEnhancedRequest;
+import software.amazon.awssdk.utils.SdkAutoCloseable;
+
+/**
+ * Writes a stream of puts and deletes to one or more tables with BatchWriteItem requests, and reports the outcome of each write
+ * separately. Create one with {@link DynamoDbEnhancedAsyncClient#batchWriter(BatchWriterConfiguration)}.
+ * <p>
+ * Writes are queued in the order in which they are added. Whenever fewer than
+ * {@link BatchWriterConfiguration#maxConcurrentRequests()} requests are in flight, the queued writes are packed into a request of
+ * up to 25 writes and sent. While the writer keeps up with the writes, a request carries whatever writes are queued;
+ * once all the requests are in flight, writes accumulate and are sent in full requests.
+ * <p>
+ * Writes that DynamoDb returns as unprocessed are sent again after a backoff computed by
+ * {@link BatchWriterConfiguration#unprocessedBackoffStrategy()}, up to {@link BatchWriterConfiguration#maxUnprocessedRetries()}
+ * times. Writes to the same item are never sent in the same request, nor while an earlier write to that item is in flight or
+ * waiting to be retried, so they are applied in the order in which they were added.
+ * <p>
+ * If a request fails, after the retries of the underlying client, all the writes it carried fail with the same exception. Note
+ * that DynamoDb rejects the whole request if any of its writes is invalid. An item that is larger than the 400 KB that DynamoDb
+ * allows is rejected when it is added, with an {@link IllegalArgumentException}.
+ * <p>
+ * At most {@link BatchWriterConfiguration#maxQueuedWrites()} writes wait to be sent. A write that is added while that many
+ * are waiting fails with an {@link SdkClientException}; wait for the futures of earlier writes before adding more.
+ * <p>
+ * Example:
+ * <pre>
+ * {@code
+ *
+ * try (DynamoDbAsyncBatchWriter writer = enhancedClient.batchWriter(r -> r.maxConcurrentRequests(16))) {
+ *     items.forEach(item -> writer.putItem(mappedTable, item));
+ *     writer.deleteItem(mappedTable, Key.builder().partitionValue("id-1").build());
+ *     writer.flush().join();
+ * }
+ * }
+ * </pre>
+ */
+@SdkPublicApi
+@ThreadSafe
+public interface DynamoDbAsyncBatchWriter extends SdkAutoCloseable {
+
+    /**
+     * Adds a put of the given item to the writer.
+     *
+     * @param mappedTable the table to put the item into
+     * @param item the item to insert or overwrite in the database
+     * @param <T> the type of the items of the table
+     * @return a {@link CompletableFuture} that completes once DynamoDb has processed the put
+     */
+    <T> CompletableFuture<Void> putItem(MappedTableResource<T> mappedTable, T item);
+
+    /**
+     * Adds a put of the item of the given request to the writer. The request must not define a condition expression.
+     *
+     * @param mappedTable the table to put the item into
+     * @param request a {@link PutItemEnhancedRequest} containing the item to write
+     * @param <T> the type of the items of the table
+     * @return a {@link CompletableFuture} that completes once DynamoDb has processed the put
+     */
+    <T> CompletableFuture<Void> putItem(MappedTableResource<T> mappedTable, PutItemEnhancedRequest<T> request);
+
+    /**
+     * Adds a delete of the item with the given key to the writer.
+     *
+     * @param mappedTable the table to delete the item from
+     * @param key a {@link Key} to match the item to be deleted from the database
+     * @return a {@link CompletableFuture} that completes once DynamoDb has processed the delete
+     */
+    CompletableFuture<Void> deleteItem(MappedTableResource<?> mappedTable, Key key);
+
+    /**
+     * Adds a delete of the item with the same key as the given item to the writer.
+     *
+     * @param mappedTable the table to delete the item from
+     * @param keyItem an item that will have its key fields used to match a record to delete from the database
+     * @param <T> the type of the items of the table
+     * @return a {@link CompletableFuture} that completes once DynamoDb has processed the delete
+     */
+    <T> CompletableFuture<Void> deleteItem(MappedTableResource<T> mappedTable, T keyItem);
+
+    /**
+     * Adds a delete of the item with the key of the given request to the writer. The request must not define a condition
+     * expression.
+     *
+     * @param mappedTable the table to delete the item from
+     * @param request a {@link DeleteItemEnhancedRequest} containing the key of the item to delete
+     * @return a {@link CompletableFuture} that completes once DynamoDb has processed the delete
+     */
+    CompletableFuture<Void> deleteItem(MappedTableResource<?> mappedTable, DeleteItemEnhancedRequest request);
+
+    /**
+     * Returns a future that completes once all the writes added before this call have completed, whether they succeeded or
+     * failed. Failures are only reported by the futures of the individual writes.
+     */
+    CompletableFuture<Void> flush();
+
+    /**
+     * Stops accepting writes. Writes that were already added are still sent; use {@link #flush()} before closing the writer to
+     * wait for them. Closing the writer does not close the underlying client.
+     */
+    @Override
+    void close();
+}
@@ -18,6 +18,7 @@ package software.amazon.awssdk.enhanced.dynamodb;
 import java.util.concurrent.CompletableFuture;
 import java.util.function.Consumer;
 import software.amazon.awssdk.annotations.SdkPublicApi;
+import software.amazon.awssdk.enhanced.dynamodb.model.BatchWriterConfiguration;
 import software.amazon.awssdk.enhanced.dynamodb.model.CreateTableEnhancedRequest;
 import software.amazon.awssdk.enhanced.dynamodb.model.DeleteItemEnhancedRequest;
 import software.amazon.awssdk.enhanced.dynamodb.model.DeleteItemEnhancedResponse;
@@ -639,6 +640,63 @@ public interface DynamoDbAsyncTable<T> extends MappedTableResource<T> {
         throw new UnsupportedOperationException();
     }
 
+    /**
+     * Creates a writer that puts items into and deletes items from the mapped table with BatchWriteItem requests. The writer
+     * queues up to a bounded number of writes, packs them into requests of up to 25 writes, keeps a bounded number of requests
+     * in flight, retries the writes that DynamoDb returns as unprocessed, and completes a future for each write. See
+     * {@link DynamoDbAsyncTableBatchWriter} for the details.
+     * <p>
+     * The writes are sent with the client of this table. Each call creates a new writer, which should be closed once all of its
+     * writes have been added.
+     * <p>
+     * Example:
+     * <pre>
+     * {@code
+     *
+     * try (DynamoDbAsyncTableBatchWriter<MyItem> writer = mappedTable.batchWriter(BatchWriterConfiguration.create())) {
+     *     items.forEach(writer::putItem);
+     *     writer.flush().join();
+     * }
+     * }
+     * </pre>
+     *
+     * @param configuration A {@link BatchWriterConfiguration} defining how the writes are sent.
+     * @return a {@link DynamoDbAsyncTableBatchWriter} for the mapped table.
+     */
+    default DynamoDbAsyncTableBatchWriter<T> batchWriter(BatchWriterConfiguration configuration) {
+        throw new UnsupportedOperationException();
+    }
+
+    /**
+     * Creates a writer that puts items into and deletes items from the mapped table with BatchWriteItem requests.
+     * <p>
+     * Example:
+     * <pre>
+     * {@code
+     *
+     * DynamoDbAsyncTableBatchWriter<MyItem> writer = mappedTable.batchWriter(r -> r.maxConcurrentRequests(16));
+     * }
+     * </pre>
+     *
+     * @see #batchWriter(BatchWriterConfiguration)
+     * @param configurationConsumer A {@link Consumer} of {@link BatchWriterConfiguration} defining how the writes are sent.
+     * @return a {@link DynamoDbAsyncTableBatchWriter} for the mapped table.
+     */
+    default DynamoDbAsyncTableBatchWriter<T> batchWriter(Consumer<BatchWriterConfiguration.Builder> configurationConsumer) {
+        throw new UnsupportedOperationException();
+    }
+
+    /**
+     * Creates a writer that puts items into and deletes items from the mapped table with BatchWriteItem requests, using the
+     * default {@link BatchWriterConfiguration}.
+     *
+     * @see #batchWriter(BatchWriterConfiguration)
+     * @return a {@link DynamoDbAsyncTableBatchWriter} for the mapped table.
+     */
+    default DynamoDbAsyncTableBatchWriter<T> batchWriter() {
+        throw new UnsupportedOperationException();
+    }
+
     /**
      * Scans the table and retrieves all items.
      * <p>
@@ -722,6 +780,59 @@ public interface DynamoDbAsyncTable<T> extends MappedTableResource<T> {
         throw new UnsupportedOperationException();
     }
 
+    /**
+     * Scans the table and retrieves all items, using a parallel scan of the given number of segments.
+     * <p>
+     * Each segment is scanned with a separate sequence of scan calls to DynamoDb, all of which run at the same time, and the
+     * pages of all the segments are published by the returned publisher in the order in which they are retrieved. Each
+     * segment retrieves its next page as soon as its previous page is delivered to the subscriber, so at most one page per
+     * segment is held waiting for the subscriber's demand. The scan calls of all the segments are made with the same client,
+     * and so are subject to the same retry policy and, in the {@code ADAPTIVE} retry mode, to the same client-side rate
+     * limiting. If the scan of any segment fails, the scans of the other segments are cancelled.
+     * <p>
+     * The request must not set a segment, a total number of segments or an exclusive start key, as they are set for each
+     * segment.
+     * <p>
+     * Example:
+     * <pre>
+     * {@code
+     *
+     * PagePublisher<MyItem> publisher = mappedTable.scanParallel(ScanEnhancedRequest.builder().build(), 4);
+     * publisher.items().subscribe(item -> System.out.println(item));
+     * }
+     * </pre>
+     *
+     * @see #scan(ScanEnhancedRequest)
+     * @see #scanParallel(Consumer, int)
+     * @param request A {@link ScanEnhancedRequest} defining how to handle the results.
+     * @param segments The number of segments to scan in parallel.
+     * @return a publisher {@link PagePublisher} with paginated results of all the segments (see {@link Page}).
+     */
+    default PagePublisher<T> scanParallel(ScanEnhancedRequest request, int segments) {
+        throw new UnsupportedOperationException();
+    }
+
+    /**
+     * Scans the table and retrieves all items, using a parallel scan of the given number of segments.
+     * <p>
+     * Example:
+     * <pre>
+     * {@code
+     *
+     * PagePublisher<MyItem> publisher = mappedTable.scanParallel(r -> r.consistentRead(true), 4);
+     * }
+     * </pre>
+     *
+     * @see #scanParallel(ScanEnhancedRequest, int)
+     * @param requestConsumer A {@link Consumer} of {@link ScanEnhancedRequest} defining the query conditions and how to
+     * handle the results.
+     * @param segments The number of segments to scan in parallel.
+     * @return a publisher {@link PagePublisher} with paginated results of all the segments (see {@link Page}).
+     */
+    default PagePublisher<T> scanParallel(Consumer<ScanEnhancedRequest.Builder> requestConsumer, int segments) {
+        throw new UnsupportedOperationException();
+    }
+
     /**
      * Updates an item in the mapped table, or adds it if it doesn't exist.
      * <p>
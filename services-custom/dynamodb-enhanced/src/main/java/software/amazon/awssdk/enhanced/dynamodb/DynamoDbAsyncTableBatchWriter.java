@@ -0,0 +1,104 @@
+/*
+ * Copyright Amazon.com, Inc. or its affiliates. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License").
+ * You may not use this file except in compliance with the License.
+ * A copy of the License is located at
+ *
+ *  http://aws.amazon.com/apache2.0
+ *
+ * or in the "license" file accompanying this file. This file is distributed
+ * on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either
+ * express or implied. See the License for the specific language governing
+ * permissions and limitations under the License.
+ */
+
+
+package software.amazon.awssdk.enhanced.dynamodb;
+
+import java.util.concurrent.CompletableFuture;
+import software.amazon.awssdk.annotations.SdkPublicApi;
+import software.amazon.awssdk.annotations.ThreadSafe;
+import software.amazon.awssdk.enhanced.dynamodb.model.BatchWriterConfiguration;
+import software.amazon.awssdk.enhanced.dynamodb.model.DeleteItemEnhancedRequest;
+import software.amazon.awssdk.enhanced.dynamodb.model.PutItemEnhancedRequest;
+import software.amazon.awssdk.utils.SdkAutoCloseable;
+
+/**
+ * Writes a stream of puts and deletes to a single table with BatchWriteItem requests, and reports the outcome of each write
+ * separately. Create one with {@link DynamoDbAsyncTable#batchWriter(BatchWriterConfiguration)}.
+ * <p>
+ * This writer packs, sends and retries writes in the same way as a {@link DynamoDbAsyncBatchWriter}; see that interface for the
+ * details.
+ * <p>
+ * Example:
+ * <pre>
+ * {@code
+ *
+ * try (DynamoDbAsyncTableBatchWriter<MyItem> writer = mappedTable.batchWriter()) {
+ *     List<CompletableFuture<Void>> puts = items.stream().map(writer::putItem).collect(Collectors.toList());
+ *     CompletableFuture.allOf(puts.toArray(new CompletableFuture[0])).join();
+ * }
+ * }
+ * </pre>
+ *
+ * @param <T> The type of the modelled object.
+ */
+@SdkPublicApi
+@ThreadSafe
+public interface DynamoDbAsyncTableBatchWriter<T> extends SdkAutoCloseable {
+
+    /**
+     * Adds a put of the given item to the writer.
+     *
+     * @param item the item to insert or overwrite in the database
+     * @return a {@link CompletableFuture} that completes once DynamoDb has processed the put
+     */
+    CompletableFuture<Void> putItem(T item);
+
+    /**
+     * Adds a put of the item of the given request to the writer. The request must not define a condition expression.
+     *
+     * @param request a {@link PutItemEnhancedRequest} containing the item to write
+     * @return a {@link CompletableFuture} that completes once DynamoDb has processed the put
+     */
+    CompletableFuture<Void> putItem(PutItemEnhancedRequest<T> request);
+
+    /**
+     * Adds a delete of the item with the given key to the writer.
+     *
+     * @param key a {@link Key} to match the item to be deleted from the database
+     * @return a {@link CompletableFuture} that completes once DynamoDb has processed the delete
+     */
+    CompletableFuture<Void> deleteItem(Key key);
+
+    /**
+     * Adds a delete of the item with the same key as the given item to the writer.
+     *
+     * @param keyItem an item that will have its key fields used to match a record to delete from the database
+     * @return a {@link CompletableFuture} that completes once DynamoDb has processed the delete
+     */
+    CompletableFuture<Void> deleteItem(T keyItem);
+
+    /**
+     * Adds a delete of the item with the key of the given request to the writer. The request must not define a condition
+     * expression.
+     *
+     * @param request a {@link DeleteItemEnhancedRequest} containing the key of the item to delete
+     * @return a {@link CompletableFuture} that completes once DynamoDb has processed the delete
+     */
+    CompletableFuture<Void> deleteItem(DeleteItemEnhancedRequest request);
+
+    /**
+     * Returns a future that completes once all the writes added before this call have completed, whether they succeeded or
+     * failed. Failures are only reported by the futures of the individual writes.
+     */
+    CompletableFuture<Void> flush();
+
+    /**
+     * Stops accepting writes. Writes that were already added are still sent; use {@link #flush()} before closing the writer to
+     * wait for them. Closing the writer does not close the underlying client.
+     */
+    @Override
+    void close();
+}
@@ -26,6 +26,7 @@ import software.amazon.awssdk.enhanced.dynamodb.model.BatchGetResultPage;
 import software.amazon.awssdk.enhanced.dynamodb.model.BatchGetResultPagePublisher;
 import software.amazon.awssdk.enhanced.dynamodb.model.BatchWriteItemEnhancedRequest;
 import software.amazon.awssdk.enhanced.dynamodb.model.BatchWriteResult;
+import software.amazon.awssdk.enhanced.dynamodb.model.BatchWriterConfiguration;
 import software.amazon.awssdk.enhanced.dynamodb.model.ConditionCheck;
 import software.amazon.awssdk.enhanced.dynamodb.model.DeleteItemEnhancedRequest;
 import software.amazon.awssdk.enhanced.dynamodb.model.GetItemEnhancedRequest;
@@ -257,6 +258,70 @@ public interface DynamoDbEnhancedAsyncClient extends DynamoDbEnhancedResource {
         throw new UnsupportedOperationException();
     }
 
+    /**
+     * Creates a writer that puts and deletes items in one or more tables with BatchWriteItem requests. Unlike
+     * {@link #batchWriteItem(BatchWriteItemEnhancedRequest)}, which sends a single request with the writes it is given, the
+     * writer accepts a stream of writes and:
+     * <ul>
+     *     <li>queues up to {@link BatchWriterConfiguration#maxQueuedWrites()} of them, and fails the writes beyond that,</li>
+     *     <li>packs them into requests of up to 25 writes,</li>
+     *     <li>keeps at most {@link BatchWriterConfiguration#maxConcurrentRequests()} requests in flight,</li>
+     *     <li>sends the writes that DynamoDb returns as unprocessed again after a jittered exponential backoff, and</li>
+     *     <li>completes a future for each write once DynamoDb has processed it.</li>
+     * </ul>
+     * See {@link DynamoDbAsyncBatchWriter} for the details.
+     * <p>
+     * Each call creates a new writer, which should be closed once all of its writes have been added.
+     * <p>
+     * Example:
+     * <pre>
+     * {@code
+     *
+     * try (DynamoDbAsyncBatchWriter writer = enhancedClient.batchWriter(BatchWriterConfiguration.create())) {
+     *     firstItems.forEach(item -> writer.putItem(firstItemTable, item));
+     *     writer.deleteItem(secondItemTable, key);
+     *     writer.flush().join();
+     * }
+     * }
+     * </pre>
+     *
+     * @param configuration A {@link BatchWriterConfiguration} defining how the writes are sent.
+     * @return a {@link DynamoDbAsyncBatchWriter}.
+     */
+    default DynamoDbAsyncBatchWriter batchWriter(BatchWriterConfiguration configuration) {
+        throw new UnsupportedOperationException();
+    }
+
+    /**
+     * Creates a writer that puts and deletes items in one or more tables with BatchWriteItem requests.
+     * <p>
+     * Example:
+     * <pre>
+     * {@code
+     *
+     * DynamoDbAsyncBatchWriter writer = enhancedClient.batchWriter(r -> r.maxConcurrentRequests(16));
+     * }
+     * </pre>
+     *
+     * @see #batchWriter(BatchWriterConfiguration)
+     * @param configurationConsumer A {@link Consumer} of {@link BatchWriterConfiguration} defining how the writes are sent.
+     * @return a {@link DynamoDbAsyncBatchWriter}.
+     */
+    default DynamoDbAsyncBatchWriter batchWriter(Consumer<BatchWriterConfiguration.Builder> configurationConsumer) {
+        throw new UnsupportedOperationException();
+    }
+
+    /**
+     * Creates a writer that puts and deletes items in one or more tables with BatchWriteItem requests, using the default
+     * {@link BatchWriterConfiguration}.
+     *
+     * @see #batchWriter(BatchWriterConfiguration)
+     * @return a {@link DynamoDbAsyncBatchWriter}.
+     */
+    default DynamoDbAsyncBatchWriter batchWriter() {
+        throw new UnsupportedOperationException();
+    }
+
     /**
      * Retrieves multiple items from one or more tables in a single atomic transaction. TransactGetItem is a composite operation
      * where the request contains a set of up to 25 get requests, each containing a table reference and a
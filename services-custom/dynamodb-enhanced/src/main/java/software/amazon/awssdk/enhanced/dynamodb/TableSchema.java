@@ -19,6 +19,7 @@ import java.util.Collection;
 import java.util.List;
 import java.util.Map;
 import software.amazon.awssdk.annotations.SdkPublicApi;
+import software.amazon.awssdk.enhanced.dynamodb.internal.mapper.GeneratedTableSchemaLoader;
 import software.amazon.awssdk.enhanced.dynamodb.mapper.BeanTableSchema;
 import software.amazon.awssdk.enhanced.dynamodb.mapper.ImmutableTableSchema;
 import software.amazon.awssdk.enhanced.dynamodb.mapper.StaticImmutableTableSchema;
@@ -72,13 +73,16 @@ public interface TableSchema<T> {
      *
      * Creating a {@link BeanTableSchema} is a moderately expensive operation, and should be performed sparingly. This is
      * usually done once at application startup.
+     * <p>
+     * If the table schema of the bean class was generated at build time by the {@code dynamodb-enhanced-processor}
+     * annotation processor, that table schema is used instead of scanning the class, which is considerably cheaper.
      *
      * @param beanClass The bean class this {@link TableSchema} will map records to.
      * @param <T> The type of the item this {@link TableSchema} will map records to.
      * @return An initialized {@link BeanTableSchema}.
      */
     static <T> BeanTableSchema<T> fromBean(Class<T> beanClass) {
-        return BeanTableSchema.create(beanClass);
+        return GeneratedTableSchemaLoader.beanTableSchema(beanClass).orElseGet(() -> BeanTableSchema.create(beanClass));
     }
 
     /**
@@ -88,13 +92,17 @@ public interface TableSchema<T> {
      *
      * Creating a {@link ImmutableTableSchema} is a moderately expensive operation, and should be performed sparingly. This is
      * usually done once at application startup.
+     * <p>
+     * If the table schema of the immutable class was generated at build time by the {@code dynamodb-enhanced-processor}
+     * annotation processor, that table schema is used instead of scanning the class, which is considerably cheaper.
      *
      * @param immutableClass The immutable class this {@link TableSchema} will map records to.
      * @param <T> The type of the item this {@link TableSchema} will map records to.
      * @return An initialized {@link ImmutableTableSchema}.
      */
     static <T> ImmutableTableSchema<T> fromImmutableClass(Class<T> immutableClass) {
-        return ImmutableTableSchema.create(immutableClass);
+        return GeneratedTableSchemaLoader.immutableTableSchema(immutableClass)
+                                         .orElseGet(() -> ImmutableTableSchema.create(immutableClass));
     }
 
     /**
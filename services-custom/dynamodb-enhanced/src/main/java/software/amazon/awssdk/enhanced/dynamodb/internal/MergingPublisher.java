@@ -0,0 +1,218 @@
+/*
+ * Copyright Amazon.com, Inc. or its affiliates. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License").
+ * You may not use this file except in compliance with the License.
+ * A copy of the License is located at
+ *
+ *  http://aws.amazon.com/apache2.0
+ *
+ * or in the "license" file accompanying this file. This file is distributed
+ * on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either
+ * express or implied. See the License for the specific language governing
+ * permissions and limitations under the License.
+ */
+
+
+package software.amazon.awssdk.enhanced.dynamodb.internal;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
+import org.reactivestreams.Publisher;
+import org.reactivestreams.Subscriber;
+import org.reactivestreams.Subscription;
+import software.amazon.awssdk.annotations.SdkInternalApi;
+import software.amazon.awssdk.core.async.SdkPublisher;
+
+/**
+ * A publisher that merges the elements of several publishers, in the order in which they are published.
+ * <p>
+ * The sources are subscribed to when the first element is requested. Each source is asked for one element at a time, and for
+ * its next element as soon as the previous one is delivered downstream, so that all the sources make progress in parallel
+ * while at most one element per source is held waiting for downstream demand. If any source fails, the other sources are
+ * cancelled and the error is signalled downstream.
+ */
+@SdkInternalApi
+public final class MergingPublisher<T> implements SdkPublisher<T> {
+    private final List<? extends Publisher<? extends T>> sources;
+
+    private MergingPublisher(List<? extends Publisher<? extends T>> sources) {
+        this.sources = new ArrayList<>(sources);
+    }
+
+    public static <T> MergingPublisher<T> create(List<? extends Publisher<? extends T>> sources) {
+        return new MergingPublisher<>(sources);
+    }
+
+    @Override
+    public void subscribe(Subscriber<? super T> subscriber) {
+        subscriber.onSubscribe(new MergingSubscription<>(subscriber, sources));
+    }
+
+    private static final class MergingSubscription<T> implements Subscription {
+        private final Subscriber<? super T> downstream;
+        private final List<? extends Publisher<? extends T>> sources;
+        private final List<SourceSubscriber<T>> sourceSubscribers;
+        private final Queue<Element<T>> elements = new ConcurrentLinkedQueue<>();
+        private final AtomicLong demand = new AtomicLong();
+        private final AtomicInteger completedSources = new AtomicInteger();
+        private final AtomicReference<Throwable> error = new AtomicReference<>();
+        private final AtomicBoolean started = new AtomicBoolean();
+        private final AtomicInteger drainRequests = new AtomicInteger();
+        private volatile boolean cancelled;
+        private boolean terminated;
+
+        private MergingSubscription(Subscriber<? super T> downstream, List<? extends Publisher<? extends T>> sources) {
+            this.downstream = downstream;
+            this.sources = sources;
+            this.sourceSubscribers = new ArrayList<>(sources.size());
+            for (int i = 0; i < sources.size(); i++) {
+                sourceSubscribers.add(new SourceSubscriber<>(this));
+            }
+        }
+
+        @Override
+        public void request(long n) {
+            if (n <= 0) {
+                error.compareAndSet(null, new IllegalArgumentException("Non-positive request signals are illegal"));
+            } else {
+                demand.accumulateAndGet(n, (current, added) -> current + added < 0 ? Long.MAX_VALUE : current + added);
+            }
+
+            if (started.compareAndSet(false, true)) {
+                for (int i = 0; i < sources.size(); i++) {
+                    sources.get(i).subscribe(sourceSubscribers.get(i));
+                }
+            }
+
+            drain();
+        }
+
+        @Override
+        public void cancel() {
+            cancelled = true;
+            cancelSources();
+            drain();
+        }
+
+        private void cancelSources() {
+            sourceSubscribers.forEach(SourceSubscriber::cancel);
+        }
+
+        /**
+         * Deliver the elements that downstream requested, and terminate once all the sources are complete or any source failed.
+         * Only one thread at a time drains the elements.
+         */
+        private void drain() {
+            if (drainRequests.getAndIncrement() != 0) {
+                return;
+            }
+
+            int missed = 1;
+            do {
+                deliverElements();
+                missed = drainRequests.addAndGet(-missed);
+            } while (missed != 0);
+        }
+
+        private void deliverElements() {
+            while (true) {
+                if (cancelled || terminated) {
+                    elements.clear();
+                    return;
+                }
+
+                Throwable failure = error.get();
+                if (failure != null) {
+                    terminated = true;
+                    cancelSources();
+                    elements.clear();
+                    downstream.onError(failure);
+                    return;
+                }
+
+                // Read before polling: a source publishes its last element before it completes.
+                boolean allSourcesCompleted = completedSources.get() == sources.size();
+                Element<T> element = demand.get() > 0 ? elements.poll() : null;
+                if (element == null) {
+                    if (allSourcesCompleted && elements.isEmpty()) {
+                        terminated = true;
+                        downstream.onComplete();
+                    }
+                    return;
+                }
+
+                demand.decrementAndGet();
+                // Let the source fetch its next element while downstream processes this one.
+                element.source.requestNext();
+                downstream.onNext(element.value);
+            }
+        }
+    }
+
+    private static final class SourceSubscriber<T> implements Subscriber<T> {
+        private final MergingSubscription<T> parent;
+        private volatile Subscription subscription;
+        private volatile boolean cancelled;
+
+        private SourceSubscriber(MergingSubscription<T> parent) {
+            this.parent = parent;
+        }
+
+        @Override
+        public void onSubscribe(Subscription subscription) {
+            this.subscription = subscription;
+            if (cancelled) {
+                subscription.cancel();
+            } else {
+                subscription.request(1);
+            }
+        }
+
+        @Override
+        public void onNext(T value) {
+            parent.elements.add(new Element<>(this, value));
+            parent.drain();
+        }
+
+        @Override
+        public void onError(Throwable t) {
+            parent.error.compareAndSet(null, t);
+            parent.drain();
+        }
+
+        @Override
+        public void onComplete() {
+            parent.completedSources.incrementAndGet();
+            parent.drain();
+        }
+
+        private void requestNext() {
+            subscription.request(1);
+        }
+
+        private void cancel() {
+            cancelled = true;
+            Subscription s = subscription;
+            if (s != null) {
+                s.cancel();
+            }
+        }
+    }
+
+    private static final class Element<T> {
+        private final SourceSubscriber<T> source;
+        private final T value;
+
+        private Element(SourceSubscriber<T> source, T value) {
+            this.source = source;
+            this.value = value;
+        }
+    }
+}
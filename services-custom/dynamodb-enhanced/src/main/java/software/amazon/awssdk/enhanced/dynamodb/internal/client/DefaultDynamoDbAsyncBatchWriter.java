@@ -0,0 +1,470 @@
+/*
+ * Copyright Amazon.com, Inc. or its affiliates. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License").
+ * You may not use this file except in compliance with the License.
+ * A copy of the License is located at
+ *
+ *  http://aws.amazon.com/apache2.0
+ *
+ * or in the "license" file accompanying this file. This file is distributed
+ * on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either
+ * express or implied. See the License for the specific language governing
+ * permissions and limitations under the License.
+ */
+
+
+package software.amazon.awssdk.enhanced.dynamodb.internal.client;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
+import software.amazon.awssdk.annotations.SdkInternalApi;
+import software.amazon.awssdk.core.SdkBytes;
+import software.amazon.awssdk.core.exception.SdkClientException;
+import software.amazon.awssdk.core.retry.RetryPolicyContext;
+import software.amazon.awssdk.core.retry.backoff.BackoffStrategy;
+import software.amazon.awssdk.enhanced.dynamodb.DynamoDbAsyncBatchWriter;
+import software.amazon.awssdk.enhanced.dynamodb.Key;
+import software.amazon.awssdk.enhanced.dynamodb.MappedTableResource;
+import software.amazon.awssdk.enhanced.dynamodb.internal.operations.BatchableWriteOperation;
+import software.amazon.awssdk.enhanced.dynamodb.internal.operations.DefaultOperationContext;
+import software.amazon.awssdk.enhanced.dynamodb.internal.operations.DeleteItemOperation;
+import software.amazon.awssdk.enhanced.dynamodb.internal.operations.PutItemOperation;
+import software.amazon.awssdk.enhanced.dynamodb.model.BatchWriterConfiguration;
+import software.amazon.awssdk.enhanced.dynamodb.model.DeleteItemEnhancedRequest;
+import software.amazon.awssdk.enhanced.dynamodb.model.PutItemEnhancedRequest;
+import software.amazon.awssdk.services.dynamodb.DynamoDbAsyncClient;
+import software.amazon.awssdk.services.dynamodb.model.AttributeValue;
+import software.amazon.awssdk.services.dynamodb.model.BatchWriteItemRequest;
+import software.amazon.awssdk.services.dynamodb.model.BatchWriteItemResponse;
+import software.amazon.awssdk.services.dynamodb.model.WriteRequest;
+import software.amazon.awssdk.utils.ThreadFactoryBuilder;
+import software.amazon.awssdk.utils.Validate;
+
+/**
+ * Queues writes and sends them in BatchWriteItem requests, keeping at most {@code maxConcurrentRequests} requests in flight.
+ * <p>
+ * An item is busy from the time one of its writes is queued until that write completes, including while it waits to be retried.
+ * Later writes to a busy item wait in a queue of their own, and the next of them is queued once the item is no longer busy, so
+ * the writes in {@link #queuedWrites} are to different items and requests are taken from its head without skipping any.
+ * <p>
+ * All the state is guarded by {@link #lock}. Requests are sent, and the futures of writes are completed, outside of the lock, so
+ * that neither the client nor the callbacks of the futures run while it is held.
+ */
+@SdkInternalApi
+public final class DefaultDynamoDbAsyncBatchWriter implements DynamoDbAsyncBatchWriter {
+    private static final int MAX_WRITES_PER_REQUEST = 25;
+    private static final long MAX_ITEM_SIZE_IN_BYTES = 400L * 1024;
+
+    private final DynamoDbAsyncClient dynamoDbClient;
+    private final int maxConcurrentRequests;
+    private final int maxUnprocessedRetries;
+    private final int maxQueuedWrites;
+    private final BackoffStrategy unprocessedBackoffStrategy;
+    private final ScheduledThreadPoolExecutor retryScheduler;
+
+    private final Object lock = new Object();
+    private final Deque<PendingWrite> queuedWrites = new ArrayDeque<>();
+    private final Set<PendingWrite> outstandingWrites = new HashSet<>();
+    private final Set<ItemKey> busyItems = new HashSet<>();
+    private final Map<ItemKey, Deque<PendingWrite>> waitingWrites = new HashMap<>();
+    private int waitingWriteCount;
+    private int requestsInFlight;
+    private boolean closed;
+
+    private DefaultDynamoDbAsyncBatchWriter(DynamoDbAsyncClient dynamoDbClient, BatchWriterConfiguration configuration) {
+        this.dynamoDbClient = dynamoDbClient;
+        this.maxConcurrentRequests = configuration.maxConcurrentRequests();
+        this.maxUnprocessedRetries = configuration.maxUnprocessedRetries();
+        this.maxQueuedWrites = configuration.maxQueuedWrites();
+        this.unprocessedBackoffStrategy = configuration.unprocessedBackoffStrategy();
+        this.retryScheduler = new ScheduledThreadPoolExecutor(1, new ThreadFactoryBuilder()
+            .threadNamePrefix("dynamodb-enhanced-batch-writer").build());
+        // The thread is only started by the first retry, and stops once no retries are waiting
+        this.retryScheduler.setKeepAliveTime(60, TimeUnit.SECONDS);
+        this.retryScheduler.allowCoreThreadTimeOut(true);
+    }
+
+    public static DefaultDynamoDbAsyncBatchWriter create(DynamoDbAsyncClient dynamoDbClient,
+                                                         BatchWriterConfiguration configuration) {
+        return new DefaultDynamoDbAsyncBatchWriter(dynamoDbClient, configuration);
+    }
+
+    @Override
+    public <T> CompletableFuture<Void> putItem(MappedTableResource<T> mappedTable, T item) {
+        return putItem(mappedTable, PutItemEnhancedRequest.builder(mappedTable.tableSchema().itemType().rawClass())
+                                                          .item(item)
+                                                          .build());
+    }
+
+    @Override
+    public <T> CompletableFuture<Void> putItem(MappedTableResource<T> mappedTable, PutItemEnhancedRequest<T> request) {
+        WriteRequest writeRequest = generateWriteRequest(mappedTable, PutItemOperation.create(request));
+        Map<String, AttributeValue> item = writeRequest.putRequest().item();
+        Map<String, AttributeValue> key = new HashMap<>();
+        mappedTable.tableSchema().tableMetadata().primaryKeys().forEach(keyName -> key.put(keyName, item.get(keyName)));
+        return add(new PendingWrite(mappedTable.tableName(), writeRequest, key, itemSize(item)));
+    }
+
+    @Override
+    public CompletableFuture<Void> deleteItem(MappedTableResource<?> mappedTable, Key key) {
+        return deleteItem(mappedTable, DeleteItemEnhancedRequest.builder().key(key).build());
+    }
+
+    @Override
+    public <T> CompletableFuture<Void> deleteItem(MappedTableResource<T> mappedTable, T keyItem) {
+        return deleteItem(mappedTable, mappedTable.keyFrom(keyItem));
+    }
+
+    @Override
+    public CompletableFuture<Void> deleteItem(MappedTableResource<?> mappedTable, DeleteItemEnhancedRequest request) {
+        Validate.isTrue(request.conditionExpression() == null,
+                        "A condition expression is not supported by a delete in a BatchWriteItem request.");
+        WriteRequest writeRequest = generateWriteRequest(mappedTable, DeleteItemOperation.create(request));
+        Map<String, AttributeValue> key = writeRequest.deleteRequest().key();
+        return add(new PendingWrite(mappedTable.tableName(), writeRequest, key, itemSize(key)));
+    }
+
+    @Override
+    public CompletableFuture<Void> flush() {
+        List<CompletableFuture<Void>> writeFutures = new ArrayList<>();
+        synchronized (lock) {
+            // The future returned for a write may be completed or cancelled by the caller, so it is not waited on
+            outstandingWrites.forEach(write -> writeFutures.add(write.done));
+        }
+        return CompletableFuture.allOf(writeFutures.toArray(new CompletableFuture[0]));
+    }
+
+    @Override
+    public void close() {
+        synchronized (lock) {
+            closed = true;
+            if (!outstandingWrites.isEmpty()) {
+                // The retry scheduler is shut down once the outstanding writes complete
+                return;
+            }
+        }
+        retryScheduler.shutdown();
+    }
+
+    private static <T> WriteRequest generateWriteRequest(MappedTableResource<T> mappedTable,
+                                                         BatchableWriteOperation<T> operation) {
+        return operation.generateWriteRequest(mappedTable.tableSchema(),
+                                              DefaultOperationContext.create(mappedTable.tableName()),
+                                              mappedTable.mapperExtension());
+    }
+
+    private CompletableFuture<Void> add(PendingWrite write) {
+        Validate.isTrue(write.size <= MAX_ITEM_SIZE_IN_BYTES, "The item is larger than the 400 KB that DynamoDb allows.");
+        synchronized (lock) {
+            if (closed) {
+                throw new IllegalStateException("The batch writer has been closed.");
+            }
+            if (queuedWrites.size() + waitingWriteCount >= maxQueuedWrites) {
+                write.future.completeExceptionally(SdkClientException.create(
+                    "The batch writer already has " + maxQueuedWrites + " writes waiting to be sent."));
+                return write.future;
+            }
+            outstandingWrites.add(write);
+            if (busyItems.add(write.item)) {
+                queuedWrites.addLast(write);
+            } else {
+                waitingWrites.computeIfAbsent(write.item, ignored -> new ArrayDeque<>()).addLast(write);
+                waitingWriteCount++;
+            }
+        }
+        sendRequests();
+        return write.future;
+    }
+
+    /**
+     * Sends the queued writes in as many requests as can be put in flight.
+     */
+    private void sendRequests() {
+        List<List<PendingWrite>> requests = new ArrayList<>();
+        synchronized (lock) {
+            while (requestsInFlight < maxConcurrentRequests) {
+                List<PendingWrite> request = nextRequest();
+                if (request.isEmpty()) {
+                    break;
+                }
+                requestsInFlight++;
+                requests.add(request);
+            }
+        }
+        requests.forEach(this::send);
+    }
+
+    /**
+     * Takes the writes of the next request from the head of the queue, up to 25 writes. Since no item is larger than 400 KB,
+     * the request stays within the 16 MB that DynamoDb allows.
+     */
+    private List<PendingWrite> nextRequest() {
+        List<PendingWrite> request = new ArrayList<>(Math.min(MAX_WRITES_PER_REQUEST, queuedWrites.size()));
+        while (!queuedWrites.isEmpty() && request.size() < MAX_WRITES_PER_REQUEST) {
+            request.add(queuedWrites.pollFirst());
+        }
+        return request;
+    }
+
+    private void send(List<PendingWrite> request) {
+        Map<String, List<WriteRequest>> requestItems = new HashMap<>();
+        request.forEach(write -> requestItems.computeIfAbsent(write.tableName, ignored -> new ArrayList<>())
+                                             .add(write.writeRequest));
+
+        CompletableFuture<BatchWriteItemResponse> responseFuture;
+        try {
+            responseFuture = dynamoDbClient.batchWriteItem(BatchWriteItemRequest.builder().requestItems(requestItems).build());
+        } catch (Throwable t) {
+            responseFuture = new CompletableFuture<>();
+            responseFuture.completeExceptionally(t);
+        }
+        responseFuture.whenComplete((response, error) -> onResponse(request, response, error));
+    }
+
+    private void onResponse(List<PendingWrite> request, BatchWriteItemResponse response, Throwable error) {
+        List<PendingWrite> unprocessed = error == null ? unprocessedWrites(request, response) : Collections.emptyList();
+        List<PendingWrite> retries = new ArrayList<>();
+        List<PendingWrite> exhausted = new ArrayList<>();
+        for (PendingWrite write : unprocessed) {
+            if (write.retries < maxUnprocessedRetries) {
+                retries.add(write);
+            } else {
+                exhausted.add(write);
+            }
+        }
+
+        List<PendingWrite> completed = new ArrayList<>(request);
+        completed.removeAll(retries);
+        synchronized (lock) {
+            requestsInFlight--;
+        }
+        complete(completed, write -> {
+            if (error != null) {
+                return error;
+            }
+            if (exhausted.contains(write)) {
+                return SdkClientException.create("The write was still unprocessed after " + maxUnprocessedRetries
+                                                 + " retries.");
+            }
+            return null;
+        });
+
+        if (!retries.isEmpty()) {
+            scheduleRetry(retries);
+        }
+        sendRequests();
+    }
+
+    /**
+     * Finds the writes of the request that DynamoDb returned as unprocessed. The writes of a request are all to different items,
+     * so each unprocessed write request matches a single write.
+     */
+    private static List<PendingWrite> unprocessedWrites(List<PendingWrite> request, BatchWriteItemResponse response) {
+        if (!response.hasUnprocessedItems() || response.unprocessedItems().isEmpty()) {
+            return Collections.emptyList();
+        }
+
+        Map<String, Map<WriteRequest, PendingWrite>> writesByTable = new HashMap<>();
+        request.forEach(write -> writesByTable.computeIfAbsent(write.tableName, ignored -> new HashMap<>())
+                                              .put(write.writeRequest, write));
+
+        List<PendingWrite> unprocessed = new ArrayList<>();
+        response.unprocessedItems().forEach((tableName, writeRequests) -> {
+            Map<WriteRequest, PendingWrite> writes = writesByTable.getOrDefault(tableName, Collections.emptyMap());
+            writeRequests.forEach(writeRequest -> {
+                PendingWrite write = writes.get(writeRequest);
+                if (write != null) {
+                    unprocessed.add(write);
+                }
+            });
+        });
+        return unprocessed;
+    }
+
+    /**
+     * Queues the given writes again after a backoff. The writes keep their items busy while they wait, so later writes to the
+     * same items are not queued before them.
+     */
+    private void scheduleRetry(List<PendingWrite> writes) {
+        int retriesAttempted = 0;
+        for (PendingWrite write : writes) {
+            write.retries++;
+            retriesAttempted = Math.max(retriesAttempted, write.retries - 1);
+        }
+        Duration delay = unprocessedBackoffStrategy.computeDelayBeforeNextRetry(
+            RetryPolicyContext.builder().retriesAttempted(retriesAttempted).build());
+
+        try {
+            retryScheduler.schedule(() -> requeue(writes), delay.toMillis(), TimeUnit.MILLISECONDS);
+        } catch (RejectedExecutionException e) {
+            complete(writes, write -> SdkClientException.create("The unprocessed write could not be retried.", e));
+        }
+    }
+
+    private void requeue(List<PendingWrite> writes) {
+        synchronized (lock) {
+            for (int i = writes.size() - 1; i >= 0; i--) {
+                queuedWrites.addFirst(writes.get(i));
+            }
+        }
+        sendRequests();
+    }
+
+    /**
+     * Completes the given writes, each with the failure returned by the given function, or successfully if it returns null.
+     */
+    private void complete(List<PendingWrite> writes, Function<PendingWrite, Throwable> failure) {
+        boolean shutDown;
+        synchronized (lock) {
+            writes.forEach(write -> {
+                release(write.item);
+                outstandingWrites.remove(write);
+            });
+            shutDown = closed && outstandingWrites.isEmpty();
+        }
+
+        for (PendingWrite write : writes) {
+            Throwable t = failure.apply(write);
+            if (t == null) {
+                write.future.complete(null);
+            } else {
+                write.future.completeExceptionally(t);
+            }
+            write.done.complete(null);
+        }
+
+        if (shutDown) {
+            retryScheduler.shutdown();
+        }
+    }
+
+    /**
+     * Queues the next write that waits for the given item, or marks the item as no longer busy if there is none.
+     */
+    private void release(ItemKey item) {
+        Deque<PendingWrite> writes = waitingWrites.get(item);
+        if (writes == null) {
+            busyItems.remove(item);
+            return;
+        }
+        queuedWrites.addLast(writes.pollFirst());
+        waitingWriteCount--;
+        if (writes.isEmpty()) {
+            waitingWrites.remove(item);
+        }
+    }
+
+    /**
+     * Estimates the size that DynamoDb counts for an item, the sum of the lengths of its attribute names and values.
+     */
+    private static long itemSize(Map<String, AttributeValue> item) {
+        long size = 0;
+        for (Map.Entry<String, AttributeValue> attribute : item.entrySet()) {
+            size += utf8Length(attribute.getKey()) + attributeValueSize(attribute.getValue());
+        }
+        return size;
+    }
+
+    private static long attributeValueSize(AttributeValue value) {
+        if (value == null) {
+            return 0;
+        }
+        if (value.s() != null) {
+            return utf8Length(value.s());
+        }
+        if (value.n() != null) {
+            return value.n().length();
+        }
+        if (value.b() != null) {
+            return value.b().asByteArrayUnsafe().length;
+        }
+        if (value.hasSs()) {
+            return value.ss().stream().mapToLong(DefaultDynamoDbAsyncBatchWriter::utf8Length).sum();
+        }
+        if (value.hasNs()) {
+            return value.ns().stream().mapToLong(String::length).sum();
+        }
+        if (value.hasBs()) {
+            return value.bs().stream().map(SdkBytes::asByteArrayUnsafe).mapToLong(bytes -> bytes.length).sum();
+        }
+        if (value.hasM()) {
+            // A map or a list takes 3 bytes, and 1 byte per element
+            return 3 + value.m().size() + itemSize(value.m());
+        }
+        if (value.hasL()) {
+            return 3 + value.l().size() + value.l().stream().mapToLong(DefaultDynamoDbAsyncBatchWriter::attributeValueSize).sum();
+        }
+        return 1;
+    }
+
+    private static long utf8Length(String string) {
+        return string.getBytes(StandardCharsets.UTF_8).length;
+    }
+
+    /**
+     * Identifies an item by its table and primary key.
+     */
+    private static final class ItemKey {
+        private final String tableName;
+        private final Map<String, AttributeValue> key;
+
+        private ItemKey(String tableName, Map<String, AttributeValue> key) {
+            this.tableName = tableName;
+            this.key = key;
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) {
+                return true;
+            }
+            if (o == null || getClass() != o.getClass()) {
+                return false;
+            }
+
+            ItemKey that = (ItemKey) o;
+
+            return tableName.equals(that.tableName) && key.equals(that.key);
+        }
+
+        @Override
+        public int hashCode() {
+            return 31 * tableName.hashCode() + key.hashCode();
+        }
+    }
+
+    /**
+     * A write that has been added to the writer and has not completed yet.
+     */
+    private static final class PendingWrite {
+        private final String tableName;
+        private final WriteRequest writeRequest;
+        private final ItemKey item;
+        private final long size;
+        private final CompletableFuture<Void> future = new CompletableFuture<>();
+        private final CompletableFuture<Void> done = new CompletableFuture<>();
+        private int retries;
+
+        private PendingWrite(String tableName, WriteRequest writeRequest, Map<String, AttributeValue> key, long size) {
+            this.tableName = tableName;
+            this.writeRequest = writeRequest;
+            this.item = new ItemKey(tableName, key);
+            this.size = size;
+        }
+    }
+}
@@ -17,14 +17,19 @@ package software.amazon.awssdk.enhanced.dynamodb.internal.client;
 
 import static software.amazon.awssdk.enhanced.dynamodb.internal.EnhancedClientUtils.createKeyFromItem;
 
+import java.util.List;
 import java.util.concurrent.CompletableFuture;
 import java.util.function.Consumer;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
 import software.amazon.awssdk.annotations.SdkInternalApi;
 import software.amazon.awssdk.enhanced.dynamodb.DynamoDbAsyncTable;
+import software.amazon.awssdk.enhanced.dynamodb.DynamoDbAsyncTableBatchWriter;
 import software.amazon.awssdk.enhanced.dynamodb.DynamoDbEnhancedClientExtension;
 import software.amazon.awssdk.enhanced.dynamodb.Key;
 import software.amazon.awssdk.enhanced.dynamodb.TableMetadata;
 import software.amazon.awssdk.enhanced.dynamodb.TableSchema;
+import software.amazon.awssdk.enhanced.dynamodb.internal.MergingPublisher;
 import software.amazon.awssdk.enhanced.dynamodb.internal.operations.CreateTableOperation;
 import software.amazon.awssdk.enhanced.dynamodb.internal.operations.DeleteItemOperation;
 import software.amazon.awssdk.enhanced.dynamodb.internal.operations.DeleteTableOperation;
@@ -36,6 +41,7 @@ import software.amazon.awssdk.enhanced.dynamodb.internal.operations.QueryOperati
 import software.amazon.awssdk.enhanced.dynamodb.internal.operations.ScanOperation;
 import software.amazon.awssdk.enhanced.dynamodb.internal.operations.TableOperation;
 import software.amazon.awssdk.enhanced.dynamodb.internal.operations.UpdateItemOperation;
+import software.amazon.awssdk.enhanced.dynamodb.model.BatchWriterConfiguration;
 import software.amazon.awssdk.enhanced.dynamodb.model.CreateTableEnhancedRequest;
 import software.amazon.awssdk.enhanced.dynamodb.model.DeleteItemEnhancedRequest;
 import software.amazon.awssdk.enhanced.dynamodb.model.DeleteItemEnhancedResponse;
@@ -52,6 +58,7 @@ import software.amazon.awssdk.enhanced.dynamodb.model.UpdateItemEnhancedResponse
 import software.amazon.awssdk.services.dynamodb.DynamoDbAsyncClient;
 import software.amazon.awssdk.services.dynamodb.model.DescribeTableRequest;
 import software.amazon.awssdk.services.dynamodb.model.DescribeTableResponse;
+import software.amazon.awssdk.utils.Validate;
 
 @SdkInternalApi
 public final class DefaultDynamoDbAsyncTable<T> implements DynamoDbAsyncTable<T> {
@@ -229,6 +236,24 @@ public final class DefaultDynamoDbAsyncTable<T> implements DynamoDbAsyncTable<T>
         return putItemWithResponse(builder.build());
     }
 
+    @Override
+    public DynamoDbAsyncTableBatchWriter<T> batchWriter(BatchWriterConfiguration configuration) {
+        return new DefaultDynamoDbAsyncTableBatchWriter<>(this, DefaultDynamoDbAsyncBatchWriter.create(dynamoDbClient,
+                                                                                                      configuration));
+    }
+
+    @Override
+    public DynamoDbAsyncTableBatchWriter<T> batchWriter(Consumer<BatchWriterConfiguration.Builder> configurationConsumer) {
+        BatchWriterConfiguration.Builder builder = BatchWriterConfiguration.builder();
+        configurationConsumer.accept(builder);
+        return batchWriter(builder.build());
+    }
+
+    @Override
+    public DynamoDbAsyncTableBatchWriter<T> batchWriter() {
+        return batchWriter(BatchWriterConfiguration.create());
+    }
+
     @Override
     public PagePublisher<T> scan(ScanEnhancedRequest request) {
         PaginatedTableOperation<T, ?, ?> operation = ScanOperation.create(request);
@@ -247,6 +272,26 @@ public final class DefaultDynamoDbAsyncTable<T> implements DynamoDbAsyncTable<T>
         return scan(ScanEnhancedRequest.builder().build());
     }
 
+    @Override
+    public PagePublisher<T> scanParallel(ScanEnhancedRequest request, int segments) {
+        Validate.isPositive(segments, "segments");
+        Validate.isTrue(request.segment() == null && request.totalSegments() == null && request.exclusiveStartKey() == null,
+                        "The segment, total segments and exclusive start key of a parallel scan request must not be set.");
+
+        List<PagePublisher<T>> segmentPublishers =
+            IntStream.range(0, segments)
+                     .mapToObj(segment -> scan(request.toBuilder().segment(segment).totalSegments(segments).build()))
+                     .collect(Collectors.toList());
+        return PagePublisher.create(MergingPublisher.create(segmentPublishers));
+    }
+
+    @Override
+    public PagePublisher<T> scanParallel(Consumer<ScanEnhancedRequest.Builder> requestConsumer, int segments) {
+        ScanEnhancedRequest.Builder builder = ScanEnhancedRequest.builder();
+        requestConsumer.accept(builder);
+        return scanParallel(builder.build(), segments);
+    }
+
     @Override
     public CompletableFuture<T> updateItem(UpdateItemEnhancedRequest<T> request) {
         TableOperation<T, ?, ?, UpdateItemEnhancedResponse<T>> operation = UpdateItemOperation.create(request);
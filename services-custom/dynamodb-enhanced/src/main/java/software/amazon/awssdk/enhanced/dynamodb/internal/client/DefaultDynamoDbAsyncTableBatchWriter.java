@@ -0,0 +1,72 @@
+/*
+ * Copyright Amazon.com, Inc. or its affiliates. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License").
+ * You may not use this file except in compliance with the License.
+ * A copy of the License is located at
+ *
+ *  http://aws.amazon.com/apache2.0
+ *
+ * or in the "license" file accompanying this file. This file is distributed
+ * on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either
+ * express or implied. See the License for the specific language governing
+ * permissions and limitations under the License.
+ */
+
+
+package software.amazon.awssdk.enhanced.dynamodb.internal.client;
+
+import java.util.concurrent.CompletableFuture;
+import software.amazon.awssdk.annotations.SdkInternalApi;
+import software.amazon.awssdk.enhanced.dynamodb.DynamoDbAsyncBatchWriter;
+import software.amazon.awssdk.enhanced.dynamodb.DynamoDbAsyncTableBatchWriter;
+import software.amazon.awssdk.enhanced.dynamodb.Key;
+import software.amazon.awssdk.enhanced.dynamodb.MappedTableResource;
+import software.amazon.awssdk.enhanced.dynamodb.model.DeleteItemEnhancedRequest;
+import software.amazon.awssdk.enhanced.dynamodb.model.PutItemEnhancedRequest;
+
+@SdkInternalApi
+public final class DefaultDynamoDbAsyncTableBatchWriter<T> implements DynamoDbAsyncTableBatchWriter<T> {
+    private final MappedTableResource<T> mappedTable;
+    private final DynamoDbAsyncBatchWriter batchWriter;
+
+    DefaultDynamoDbAsyncTableBatchWriter(MappedTableResource<T> mappedTable, DynamoDbAsyncBatchWriter batchWriter) {
+        this.mappedTable = mappedTable;
+        this.batchWriter = batchWriter;
+    }
+
+    @Override
+    public CompletableFuture<Void> putItem(T item) {
+        return batchWriter.putItem(mappedTable, item);
+    }
+
+    @Override
+    public CompletableFuture<Void> putItem(PutItemEnhancedRequest<T> request) {
+        return batchWriter.putItem(mappedTable, request);
+    }
+
+    @Override
+    public CompletableFuture<Void> deleteItem(Key key) {
+        return batchWriter.deleteItem(mappedTable, key);
+    }
+
+    @Override
+    public CompletableFuture<Void> deleteItem(T keyItem) {
+        return batchWriter.deleteItem(mappedTable, keyItem);
+    }
+
+    @Override
+    public CompletableFuture<Void> deleteItem(DeleteItemEnhancedRequest request) {
+        return batchWriter.deleteItem(mappedTable, request);
+    }
+
+    @Override
+    public CompletableFuture<Void> flush() {
+        return batchWriter.flush();
+    }
+
+    @Override
+    public void close() {
+        batchWriter.close();
+    }
+}
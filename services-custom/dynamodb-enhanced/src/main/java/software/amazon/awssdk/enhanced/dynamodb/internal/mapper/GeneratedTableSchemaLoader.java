@@ -0,0 +1,155 @@
+/*
+ * Copyright Amazon.com, Inc. or its affiliates. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License").
+ * You may not use this file except in compliance with the License.
+ * A copy of the License is located at
+ *
+ *  http://aws.amazon.com/apache2.0
+ *
+ * or in the "license" file accompanying this file. This file is distributed
+ * on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either
+ * express or implied. See the License for the specific language governing
+ * permissions and limitations under the License.
+ */
+
+
+package software.amazon.awssdk.enhanced.dynamodb.internal.mapper;
+
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Modifier;
+import java.util.Optional;
+import java.util.function.Function;
+import software.amazon.awssdk.annotations.SdkInternalApi;
+import software.amazon.awssdk.enhanced.dynamodb.TableSchema;
+import software.amazon.awssdk.enhanced.dynamodb.mapper.BeanTableSchema;
+import software.amazon.awssdk.enhanced.dynamodb.mapper.ImmutableTableSchema;
+import software.amazon.awssdk.enhanced.dynamodb.mapper.StaticImmutableTableSchema;
+import software.amazon.awssdk.enhanced.dynamodb.mapper.StaticTableSchema;
+
+/**
+ * Loads the table schemas that the {@code dynamodb-enhanced-processor} annotation processor generates at build time for
+ * classes annotated with {@code @DynamoDbBean} or {@code @DynamoDbImmutable}, so that they do not have to be created by
+ * scanning the class at runtime.
+ * <p>
+ * The schema of a class is generated into a class in the same package, named after the binary name of the class with the
+ * {@code $} separators of nested classes replaced by {@code _}, followed by {@value #CLASS_NAME_SUFFIX}. For example, the
+ * schema of {@code com.example.Order.LineItem} is generated into {@code com.example.Order_LineItem_TableSchema}, which has
+ * a public static {@code create()} method that builds it.
+ * <p>
+ * The generated table schemas are wrapped in a {@link BeanTableSchema} or an {@link ImmutableTableSchema}, like the table
+ * schemas created by scanning the class. Their constructors are private, so each class hands the loader a reference to its
+ * constructor when it is initialized.
+ */
+@SdkInternalApi
+public final class GeneratedTableSchemaLoader {
+    /**
+     * The suffix of the names of generated table schema classes, which the annotation processor must use as well.
+     */
+    public static final String CLASS_NAME_SUFFIX = "_TableSchema";
+
+    private static final String FACTORY_METHOD_NAME = "create";
+
+    private static volatile Function<StaticTableSchema<?>, BeanTableSchema<?>> beanTableSchemaWrapper;
+    private static volatile Function<StaticImmutableTableSchema<?, ?>, ImmutableTableSchema<?>> immutableTableSchemaWrapper;
+
+    private GeneratedTableSchemaLoader() {
+    }
+
+    /**
+     * The name of the class that the schema of the given class is generated into.
+     */
+    public static String generatedClassName(Class<?> itemClass) {
+        return itemClass.getName().replace('$', '_') + CLASS_NAME_SUFFIX;
+    }
+
+    /**
+     * Set the constructor that wraps generated table schemas in a {@link BeanTableSchema}. Called by {@link BeanTableSchema}
+     * when it is initialized.
+     */
+    public static void beanTableSchemaWrapper(Function<StaticTableSchema<?>, BeanTableSchema<?>> wrapper) {
+        beanTableSchemaWrapper = wrapper;
+    }
+
+    /**
+     * Set the constructor that wraps generated table schemas in an {@link ImmutableTableSchema}. Called by
+     * {@link ImmutableTableSchema} when it is initialized.
+     */
+    public static void immutableTableSchemaWrapper(Function<StaticImmutableTableSchema<?, ?>, ImmutableTableSchema<?>> wrapper) {
+        immutableTableSchemaWrapper = wrapper;
+    }
+
+    /**
+     * Create the table schema that was generated for a bean class, if there is one.
+     */
+    @SuppressWarnings("unchecked")
+    public static <T> Optional<BeanTableSchema<T>> beanTableSchema(Class<T> beanClass) {
+        return create(beanClass).filter(StaticTableSchema.class::isInstance)
+                                .map(tableSchema -> {
+                                    initialize(BeanTableSchema.class);
+                                    return (BeanTableSchema<T>) beanTableSchemaWrapper.apply((StaticTableSchema<?>) tableSchema);
+                                });
+    }
+
+    /**
+     * Create the table schema that was generated for an immutable class, if there is one.
+     */
+    @SuppressWarnings("unchecked")
+    public static <T> Optional<ImmutableTableSchema<T>> immutableTableSchema(Class<T> immutableClass) {
+        return create(immutableClass).filter(StaticImmutableTableSchema.class::isInstance)
+                                     .map(tableSchema -> {
+                                         initialize(ImmutableTableSchema.class);
+                                         return (ImmutableTableSchema<T>) immutableTableSchemaWrapper.apply(
+                                             (StaticImmutableTableSchema<?, ?>) tableSchema);
+                                     });
+    }
+
+    /**
+     * Make sure that the given class has been initialized, and so has set its wrapper.
+     */
+    private static void initialize(Class<?> wrapperClass) {
+        try {
+            Class.forName(wrapperClass.getName(), true, wrapperClass.getClassLoader());
+        } catch (ClassNotFoundException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private static Optional<TableSchema<?>> create(Class<?> itemClass) {
+        Class<?> generatedClass;
+        try {
+            ClassLoader classLoader = itemClass.getClassLoader() != null ? itemClass.getClassLoader()
+                                                                         : ClassLoader.getSystemClassLoader();
+            generatedClass = Class.forName(generatedClassName(itemClass), true, classLoader);
+        } catch (ClassNotFoundException | LinkageError e) {
+            return Optional.empty();
+        }
+
+        Object tableSchema;
+        try {
+            Method factoryMethod = generatedClass.getMethod(FACTORY_METHOD_NAME);
+            if (!Modifier.isStatic(factoryMethod.getModifiers())) {
+                // Not a generated table schema, but a class that happens to have the same name
+                return Optional.empty();
+            }
+            tableSchema = factoryMethod.invoke(null);
+        } catch (NoSuchMethodException | IllegalAccessException e) {
+            return Optional.empty();
+        } catch (InvocationTargetException e) {
+            Throwable cause = e.getCause();
+            if (cause instanceof RuntimeException) {
+                throw (RuntimeException) cause;
+            }
+            if (cause instanceof Error) {
+                throw (Error) cause;
+            }
+            throw new IllegalStateException("Failed to create the table schema generated for " + itemClass, cause);
+        }
+
+        if (!(tableSchema instanceof TableSchema) || ((TableSchema<?>) tableSchema).itemType().rawClass() != itemClass) {
+            return Optional.empty();
+        }
+        return Optional.of((TableSchema<?>) tableSchema);
+    }
+}
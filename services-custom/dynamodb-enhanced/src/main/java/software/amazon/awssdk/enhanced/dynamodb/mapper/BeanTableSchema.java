@@ -46,6 +46,7 @@ import software.amazon.awssdk.enhanced.dynamodb.TableSchema;
 import software.amazon.awssdk.enhanced.dynamodb.internal.AttributeConfiguration;
 import software.amazon.awssdk.enhanced.dynamodb.internal.mapper.BeanAttributeGetter;
 import software.amazon.awssdk.enhanced.dynamodb.internal.mapper.BeanAttributeSetter;
+import software.amazon.awssdk.enhanced.dynamodb.internal.mapper.GeneratedTableSchemaLoader;
 import software.amazon.awssdk.enhanced.dynamodb.internal.mapper.MetaTableSchema;
 import software.amazon.awssdk.enhanced.dynamodb.internal.mapper.MetaTableSchemaCache;
 import software.amazon.awssdk.enhanced.dynamodb.internal.mapper.ObjectConstructor;
@@ -102,6 +103,11 @@ import software.amazon.awssdk.enhanced.dynamodb.mapper.annotations.DynamoDbPrese
 public final class BeanTableSchema<T> extends WrappedTableSchema<T, StaticTableSchema<T>> {
     private static final String ATTRIBUTE_TAG_STATIC_SUPPLIER_NAME = "attributeTagFor";
 
+    static {
+        // TableSchema.fromBean wraps the table schemas generated at build time through the loader
+        GeneratedTableSchemaLoader.beanTableSchemaWrapper(BeanTableSchema::new);
+    }
+
     private BeanTableSchema(StaticTableSchema<T> staticTableSchema) {
         super(staticTableSchema);
     }
@@ -45,6 +45,7 @@ import software.amazon.awssdk.enhanced.dynamodb.internal.immutable.ImmutableIntr
 import software.amazon.awssdk.enhanced.dynamodb.internal.immutable.ImmutablePropertyDescriptor;
 import software.amazon.awssdk.enhanced.dynamodb.internal.mapper.BeanAttributeGetter;
 import software.amazon.awssdk.enhanced.dynamodb.internal.mapper.BeanAttributeSetter;
+import software.amazon.awssdk.enhanced.dynamodb.internal.mapper.GeneratedTableSchemaLoader;
 import software.amazon.awssdk.enhanced.dynamodb.internal.mapper.MetaTableSchema;
 import software.amazon.awssdk.enhanced.dynamodb.internal.mapper.MetaTableSchemaCache;
 import software.amazon.awssdk.enhanced.dynamodb.internal.mapper.ObjectConstructor;
@@ -102,6 +103,11 @@ import software.amazon.awssdk.enhanced.dynamodb.mapper.annotations.DynamoDbPrese
 public final class ImmutableTableSchema<T> extends WrappedTableSchema<T, StaticImmutableTableSchema<T, ?>> {
     private static final String ATTRIBUTE_TAG_STATIC_SUPPLIER_NAME = "attributeTagFor";
 
+    static {
+        // TableSchema.fromImmutableClass wraps the table schemas generated at build time through the loader
+        GeneratedTableSchemaLoader.immutableTableSchemaWrapper(ImmutableTableSchema::new);
+    }
+
     private ImmutableTableSchema(StaticImmutableTableSchema<T, ?> wrappedTableSchema) {
         super(wrappedTableSchema);
     }
@@ -0,0 +1,212 @@
+/*
+ * Copyright Amazon.com, Inc. or its affiliates. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License").
+ * You may not use this file except in compliance with the License.
+ * A copy of the License is located at
+ *
+ *  http://aws.amazon.com/apache2.0
+ *
+ * or in the "license" file accompanying this file. This file is distributed
+ * on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either
+ * express or implied. See the License for the specific language governing
+ * permissions and limitations under the License.
+ */
+
+
+package software.amazon.awssdk.enhanced.dynamodb.model;
+
+import software.amazon.awssdk.annotations.SdkPublicApi;
+import software.amazon.awssdk.core.retry.backoff.BackoffStrategy;
+import software.amazon.awssdk.enhanced.dynamodb.DynamoDbAsyncBatchWriter;
+import software.amazon.awssdk.utils.Validate;
+
+/**
+ * Defines how a batch writer, such as {@link DynamoDbAsyncBatchWriter}, sends its writes to DynamoDb.
+ * <p>
+ * All settings are optional:
+ * <ul>
+ *     <li>{@link #maxConcurrentRequests()} defaults to {@value #DEFAULT_MAX_CONCURRENT_REQUESTS}.</li>
+ *     <li>{@link #maxUnprocessedRetries()} defaults to {@value #DEFAULT_MAX_UNPROCESSED_RETRIES}.</li>
+ *     <li>{@link #maxQueuedWrites()} defaults to {@value #DEFAULT_MAX_QUEUED_WRITES}.</li>
+ *     <li>{@link #unprocessedBackoffStrategy()} defaults to {@link BackoffStrategy#defaultThrottlingStrategy()}, an exponential
+ *     backoff with jitter.</li>
+ * </ul>
+ */
+@SdkPublicApi
+public final class BatchWriterConfiguration {
+    public static final int DEFAULT_MAX_CONCURRENT_REQUESTS = 8;
+    public static final int DEFAULT_MAX_UNPROCESSED_RETRIES = 10;
+    public static final int DEFAULT_MAX_QUEUED_WRITES = 10_000;
+
+    private final int maxConcurrentRequests;
+    private final int maxUnprocessedRetries;
+    private final int maxQueuedWrites;
+    private final BackoffStrategy unprocessedBackoffStrategy;
+
+    private BatchWriterConfiguration(Builder builder) {
+        this.maxConcurrentRequests = builder.maxConcurrentRequests == null
+                                     ? DEFAULT_MAX_CONCURRENT_REQUESTS
+                                     : Validate.isPositive(builder.maxConcurrentRequests, "maxConcurrentRequests");
+        this.maxUnprocessedRetries = builder.maxUnprocessedRetries == null
+                                     ? DEFAULT_MAX_UNPROCESSED_RETRIES
+                                     : Validate.isNotNegative(builder.maxUnprocessedRetries, "maxUnprocessedRetries");
+        this.maxQueuedWrites = builder.maxQueuedWrites == null
+                               ? DEFAULT_MAX_QUEUED_WRITES
+                               : Validate.isPositive(builder.maxQueuedWrites, "maxQueuedWrites");
+        this.unprocessedBackoffStrategy = builder.unprocessedBackoffStrategy == null
+                                          ? BackoffStrategy.defaultThrottlingStrategy()
+                                          : builder.unprocessedBackoffStrategy;
+    }
+
+    /**
+     * Creates a newly initialized builder for a batch writer configuration.
+     */
+    public static Builder builder() {
+        return new Builder();
+    }
+
+    /**
+     * Creates a batch writer configuration with the default settings.
+     */
+    public static BatchWriterConfiguration create() {
+        return builder().build();
+    }
+
+    /**
+     * Returns a builder initialized with all existing values on the configuration object.
+     */
+    public Builder toBuilder() {
+        return new Builder().maxConcurrentRequests(maxConcurrentRequests)
+                            .maxUnprocessedRetries(maxUnprocessedRetries)
+                            .maxQueuedWrites(maxQueuedWrites)
+                            .unprocessedBackoffStrategy(unprocessedBackoffStrategy);
+    }
+
+    /**
+     * The maximum number of BatchWriteItem requests that are in flight at the same time.
+     */
+    public int maxConcurrentRequests() {
+        return maxConcurrentRequests;
+    }
+
+    /**
+     * The maximum number of times a write that DynamoDb returned as unprocessed is sent again, before it is failed.
+     */
+    public int maxUnprocessedRetries() {
+        return maxUnprocessedRetries;
+    }
+
+    /**
+     * The maximum number of writes that wait to be sent, after which further writes fail.
+     */
+    public int maxQueuedWrites() {
+        return maxQueuedWrites;
+    }
+
+    /**
+     * The backoff strategy that computes how long to wait before a write that DynamoDb returned as unprocessed is sent again.
+     */
+    public BackoffStrategy unprocessedBackoffStrategy() {
+        return unprocessedBackoffStrategy;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) {
+            return true;
+        }
+        if (o == null || getClass() != o.getClass()) {
+            return false;
+        }
+
+        BatchWriterConfiguration that = (BatchWriterConfiguration) o;
+
+        if (maxConcurrentRequests != that.maxConcurrentRequests) {
+            return false;
+        }
+        if (maxUnprocessedRetries != that.maxUnprocessedRetries) {
+            return false;
+        }
+        if (maxQueuedWrites != that.maxQueuedWrites) {
+            return false;
+        }
+        return unprocessedBackoffStrategy.equals(that.unprocessedBackoffStrategy);
+    }
+
+    @Override
+    public int hashCode() {
+        int result = maxConcurrentRequests;
+        result = 31 * result + maxUnprocessedRetries;
+        result = 31 * result + maxQueuedWrites;
+        result = 31 * result + unprocessedBackoffStrategy.hashCode();
+        return result;
+    }
+
+    /**
+     * A builder that is used to create a batch writer configuration with the desired settings.
+     */
+    public static final class Builder {
+        private Integer maxConcurrentRequests;
+        private Integer maxUnprocessedRetries;
+        private Integer maxQueuedWrites;
+        private BackoffStrategy unprocessedBackoffStrategy;
+
+        private Builder() {
+        }
+
+        /**
+         * Sets the maximum number of BatchWriteItem requests that are in flight at the same time. Writes that are added while
+         * this many requests are in flight wait for one of them to complete.
+         *
+         * @param maxConcurrentRequests the maximum number of requests in flight, which must be positive
+         * @return a builder of this type
+         */
+        public Builder maxConcurrentRequests(Integer maxConcurrentRequests) {
+            this.maxConcurrentRequests = maxConcurrentRequests;
+            return this;
+        }
+
+        /**
+         * Sets the maximum number of times a write that DynamoDb returned as unprocessed is sent again. A write that is still
+         * unprocessed after that many retries is failed.
+         *
+         * @param maxUnprocessedRetries the maximum number of retries of an unprocessed write, which must not be negative
+         * @return a builder of this type
+         */
+        public Builder maxUnprocessedRetries(Integer maxUnprocessedRetries) {
+            this.maxUnprocessedRetries = maxUnprocessedRetries;
+            return this;
+        }
+
+        /**
+         * Sets the maximum number of writes that wait to be sent, whether because all the requests are in flight or because an
+         * earlier write to the same item has not completed. A write that is added while this many writes are waiting fails with
+         * an {@link software.amazon.awssdk.core.exception.SdkClientException}, so that a writer that is fed faster than
+         * DynamoDb accepts the writes does not hold them all in memory. Wait for earlier writes to complete before adding more.
+         *
+         * @param maxQueuedWrites the maximum number of writes waiting to be sent, which must be positive
+         * @return a builder of this type
+         */
+        public Builder maxQueuedWrites(Integer maxQueuedWrites) {
+            this.maxQueuedWrites = maxQueuedWrites;
+            return this;
+        }
+
+        /**
+         * Sets the backoff strategy that computes how long to wait before a write that DynamoDb returned as unprocessed is sent
+         * again. The strategy is given the number of times the write has already been retried.
+         *
+         * @param unprocessedBackoffStrategy the backoff strategy for unprocessed writes
+         * @return a builder of this type
+         */
+        public Builder unprocessedBackoffStrategy(BackoffStrategy unprocessedBackoffStrategy) {
+            this.unprocessedBackoffStrategy = unprocessedBackoffStrategy;
+            return this;
+        }
+
+        public BatchWriterConfiguration build() {
+            return new BatchWriterConfiguration(this);
+        }
+    }
+}
@@ -24,6 +24,8 @@ import software.amazon.awssdk.enhanced.dynamodb.functionaltests.models.FakeItem;
 import software.amazon.awssdk.enhanced.dynamodb.mapper.BeanTableSchema;
 import software.amazon.awssdk.enhanced.dynamodb.mapper.ImmutableTableSchema;
 import software.amazon.awssdk.enhanced.dynamodb.mapper.StaticTableSchema;
+import software.amazon.awssdk.enhanced.dynamodb.mapper.testbeans.GeneratedSchemaBean;
+import software.amazon.awssdk.enhanced.dynamodb.mapper.testbeans.GeneratedSchemaImmutable;
 import software.amazon.awssdk.enhanced.dynamodb.mapper.testbeans.InvalidBean;
 import software.amazon.awssdk.enhanced.dynamodb.mapper.testbeans.SimpleBean;
 import software.amazon.awssdk.enhanced.dynamodb.mapper.testbeans.SimpleImmutable;
@@ -52,6 +54,21 @@ public class TableSchemaTest {
         assertThat(immutableTableSchema).isNotNull();
     }
 
+    @Test
+    public void fromBean_usesTableSchemaGeneratedAtBuildTime() {
+        assertThat(TableSchema.fromBean(GeneratedSchemaBean.class).attributeNames()).containsExactly("generated_id");
+        assertThat(TableSchema.fromClass(GeneratedSchemaBean.class).attributeNames()).containsExactly("generated_id");
+        assertThat(BeanTableSchema.create(GeneratedSchemaBean.class).attributeNames()).containsExactly("id");
+    }
+
+    @Test
+    public void fromImmutable_usesTableSchemaGeneratedAtBuildTime() {
+        assertThat(TableSchema.fromImmutableClass(GeneratedSchemaImmutable.class).attributeNames())
+            .containsExactly("generated_id");
+        assertThat(TableSchema.fromClass(GeneratedSchemaImmutable.class).attributeNames()).containsExactly("generated_id");
+        assertThat(ImmutableTableSchema.create(GeneratedSchemaImmutable.class).attributeNames()).containsExactly("id");
+    }
+
     @Test
     public void fromClass_constructsBeanTableSchema() {
         TableSchema<SimpleBean> tableSchema = TableSchema.fromClass(SimpleBean.class);
@@ -16,6 +16,7 @@
 package software.amazon.awssdk.enhanced.dynamodb.functionaltests;
 
 import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.containsInAnyOrder;
 import static org.hamcrest.Matchers.empty;
 import static org.hamcrest.Matchers.is;
 import static org.hamcrest.Matchers.nullValue;
@@ -147,6 +148,16 @@ public class AsyncBasicScanTest extends LocalDynamoDbAsyncTestBase {
         assertThat(results, is(RECORDS));
     }
 
+    @Test
+    public void scanParallelAllRecordsDefaultSettings_viaItems() {
+        insertRecords();
+
+        SdkPublisher<Record> publisher = mappedTable.scanParallel(ScanEnhancedRequest.builder().build(), 4).items();
+        List<Record> results = drainPublisher(publisher, 10);
+
+        assertThat(results, containsInAnyOrder(RECORDS.toArray()));
+    }
+
     @Test
     public void scanAllRecordsWithFilter() {
         insertRecords();
@@ -0,0 +1,57 @@
+/*
+ * Copyright Amazon.com, Inc. or its affiliates. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License").
+ * You may not use this file except in compliance with the License.
+ * A copy of the License is located at
+ *
+ *  http://aws.amazon.com/apache2.0
+ *
+ * or in the "license" file accompanying this file. This file is distributed
+ * on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either
+ * express or implied. See the License for the specific language governing
+ * permissions and limitations under the License.
+ */
+
+package software.amazon.awssdk.enhanced.dynamodb.mapper.testbeans;
+
+import software.amazon.awssdk.enhanced.dynamodb.mapper.annotations.DynamoDbImmutable;
+import software.amazon.awssdk.enhanced.dynamodb.mapper.annotations.DynamoDbPartitionKey;
+
+/**
+ * An immutable class with a hand-written table schema in {@link GeneratedSchemaImmutable_TableSchema}, in the place that
+ * the dynamodb-enhanced-processor annotation processor would generate it.
+ */
+@DynamoDbImmutable(builder = GeneratedSchemaImmutable.Builder.class)
+public class GeneratedSchemaImmutable {
+    private final String id;
+
+    private GeneratedSchemaImmutable(Builder b) {
+        this.id = b.id;
+    }
+
+    @DynamoDbPartitionKey
+    public String id() {
+        return this.id;
+    }
+
+    public static Builder builder() {
+        return new Builder();
+    }
+
+    public static final class Builder {
+        private String id;
+
+        private Builder() {
+        }
+
+        public Builder id(String id) {
+            this.id = id;
+            return this;
+        }
+
+        public GeneratedSchemaImmutable build() {
+            return new GeneratedSchemaImmutable(this);
+        }
+    }
+}
@@ -0,0 +1,40 @@
+/*
+ * Copyright Amazon.com, Inc. or its affiliates. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License").
+ * You may not use this file except in compliance with the License.
+ * A copy of the License is located at
+ *
+ *  http://aws.amazon.com/apache2.0
+ *
+ * or in the "license" file accompanying this file. This file is distributed
+ * on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either
+ * express or implied. See the License for the specific language governing
+ * permissions and limitations under the License.
+ */
+
+package software.amazon.awssdk.enhanced.dynamodb.mapper.testbeans;
+
+import static software.amazon.awssdk.enhanced.dynamodb.mapper.StaticAttributeTags.primaryPartitionKey;
+
+import software.amazon.awssdk.enhanced.dynamodb.mapper.StaticImmutableTableSchema;
+
+/**
+ * Stands in for the table schema that the dynamodb-enhanced-processor annotation processor would generate for
+ * {@link GeneratedSchemaImmutable}, but uses a different attribute name so that tests can tell the two apart.
+ */
+public final class GeneratedSchemaImmutable_TableSchema {
+    private GeneratedSchemaImmutable_TableSchema() {
+    }
+
+    public static StaticImmutableTableSchema<GeneratedSchemaImmutable, GeneratedSchemaImmutable.Builder> create() {
+        return StaticImmutableTableSchema.builder(GeneratedSchemaImmutable.class, GeneratedSchemaImmutable.Builder.class)
+                                         .newItemBuilder(GeneratedSchemaImmutable::builder,
+                                                         GeneratedSchemaImmutable.Builder::build)
+                                         .addAttribute(String.class, a -> a.name("generated_id")
+                                                                           .getter(GeneratedSchemaImmutable::id)
+                                                                           .setter(GeneratedSchemaImmutable.Builder::id)
+                                                                           .tags(primaryPartitionKey()))
+                                         .build();
+    }
+}
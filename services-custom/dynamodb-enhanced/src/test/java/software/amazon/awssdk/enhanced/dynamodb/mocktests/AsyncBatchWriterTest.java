@@ -0,0 +1,407 @@
+/*
+ * Copyright Amazon.com, Inc. or its affiliates. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License").
+ * You may not use this file except in compliance with the License.
+ * A copy of the License is located at
+ *
+ *  http://aws.amazon.com/apache2.0
+ *
+ * or in the "license" file accompanying this file. This file is distributed
+ * on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either
+ * express or implied. See the License for the specific language governing
+ * permissions and limitations under the License.
+ */
+
+
+package software.amazon.awssdk.enhanced.dynamodb.mocktests;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static software.amazon.awssdk.enhanced.dynamodb.mapper.StaticAttributeTags.primaryPartitionKey;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import software.amazon.awssdk.core.exception.SdkClientException;
+import software.amazon.awssdk.core.retry.backoff.FixedDelayBackoffStrategy;
+import software.amazon.awssdk.enhanced.dynamodb.DynamoDbAsyncBatchWriter;
+import software.amazon.awssdk.enhanced.dynamodb.DynamoDbAsyncTable;
+import software.amazon.awssdk.enhanced.dynamodb.DynamoDbAsyncTableBatchWriter;
+import software.amazon.awssdk.enhanced.dynamodb.DynamoDbEnhancedAsyncClient;
+import software.amazon.awssdk.enhanced.dynamodb.Key;
+import software.amazon.awssdk.enhanced.dynamodb.TableSchema;
+import software.amazon.awssdk.enhanced.dynamodb.mapper.StaticTableSchema;
+import software.amazon.awssdk.enhanced.dynamodb.model.BatchWriterConfiguration;
+import software.amazon.awssdk.services.dynamodb.DynamoDbAsyncClient;
+import software.amazon.awssdk.services.dynamodb.model.BatchWriteItemRequest;
+import software.amazon.awssdk.services.dynamodb.model.BatchWriteItemResponse;
+import software.amazon.awssdk.services.dynamodb.model.DynamoDbException;
+import software.amazon.awssdk.services.dynamodb.model.WriteRequest;
+
+public class AsyncBatchWriterTest {
+    private static final TableSchema<Record> TABLE_SCHEMA =
+        StaticTableSchema.builder(Record.class)
+                         .newItemSupplier(Record::new)
+                         .addAttribute(String.class, a -> a.name("id")
+                                                           .getter(Record::getId)
+                                                           .setter(Record::setId)
+                                                           .tags(primaryPartitionKey()))
+                         .addAttribute(String.class, a -> a.name("value")
+                                                           .getter(Record::getValue)
+                                                           .setter(Record::setValue))
+                         .build();
+
+    private static final Function<List<WriteRequest>, List<WriteRequest>> NONE_UNPROCESSED = writes -> Collections.emptyList();
+
+    private static final BatchWriterConfiguration FAST_RETRIES =
+        BatchWriterConfiguration.builder()
+                                .unprocessedBackoffStrategy(FixedDelayBackoffStrategy.create(Duration.ofMillis(5)))
+                                .build();
+
+    private final ScheduledExecutorService scheduler = Executors.newScheduledThreadPool(8);
+
+    @AfterEach
+    public void teardown() {
+        scheduler.shutdownNow();
+    }
+
+    @Test
+    public void batchWriter_writesQueuedWhileRequestsAreInFlight_arePackedInto25ItemRequests() {
+        FakeBatchWriteClient client = new FakeBatchWriteClient(Duration.ofMillis(100), NONE_UNPROCESSED);
+
+        try (DynamoDbAsyncTableBatchWriter<Record> writer = table(client).batchWriter(r -> r.maxConcurrentRequests(1))) {
+            joinAll(IntStream.range(0, 60).mapToObj(i -> writer.putItem(record(i))).collect(Collectors.toList()));
+        }
+
+        // The first write is sent on its own, as the writer is idle when it is added
+        assertThat(client.requestSizes()).containsExactly(1, 25, 25, 9);
+        assertThat(client.writtenIds()).containsExactlyElementsOf(ids(0, 60));
+    }
+
+    @Test
+    public void batchWriter_itemsLargerThan400Kilobytes_areRejected() {
+        FakeBatchWriteClient client = new FakeBatchWriteClient(Duration.ofMillis(5), NONE_UNPROCESSED);
+        String largestValue = String.join("", Collections.nCopies(400 * 1024 - "id0value".length(), "x"));
+
+        try (DynamoDbAsyncTableBatchWriter<Record> writer = table(client).batchWriter()) {
+            writer.putItem(record(0, largestValue)).join();
+            assertThatThrownBy(() -> writer.putItem(record(1, largestValue + "x")))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessageContaining("400 KB");
+        }
+
+        assertThat(client.writtenIds()).containsExactly("0");
+    }
+
+    @Test
+    public void batchWriter_writesBeyondMaxQueuedWrites_fail() {
+        FakeBatchWriteClient client = new FakeBatchWriteClient(Duration.ofMillis(100), NONE_UNPROCESSED);
+
+        try (DynamoDbAsyncTableBatchWriter<Record> writer =
+                 table(client).batchWriter(r -> r.maxConcurrentRequests(1).maxQueuedWrites(10))) {
+            // The first write is sent at once, so it does not count towards the queued writes
+            List<CompletableFuture<Void>> accepted =
+                IntStream.range(0, 11).mapToObj(i -> writer.putItem(record(i))).collect(Collectors.toList());
+            CompletableFuture<Void> rejected = writer.putItem(record(11));
+
+            assertThatThrownBy(rejected::join).hasCauseInstanceOf(SdkClientException.class)
+                                              .hasMessageContaining("10 writes waiting");
+            joinAll(accepted);
+            writer.putItem(record(12)).join();
+        }
+
+        List<String> expectedIds = ids(0, 11);
+        expectedIds.add("12");
+        assertThat(client.writtenIds()).containsExactlyInAnyOrderElementsOf(expectedIds);
+    }
+
+    @Test
+    public void batchWriter_manyWritesToOneItem_doNotHoldBackWritesToOtherItems() {
+        FakeBatchWriteClient client = new FakeBatchWriteClient(Duration.ofMillis(50), NONE_UNPROCESSED);
+
+        try (DynamoDbAsyncTableBatchWriter<Record> writer = table(client).batchWriter(r -> r.maxConcurrentRequests(1))) {
+            List<CompletableFuture<Void>> writes = new ArrayList<>();
+            for (int i = 0; i < 20; i++) {
+                writes.add(writer.putItem(record(0, "v" + i)));
+            }
+            for (int i = 1; i <= 50; i++) {
+                writes.add(writer.putItem(record(i)));
+            }
+            joinAll(writes);
+        }
+
+        // The writes to the other items are sent as soon as the first request completes, and those to item 0 one at a time
+        assertThat(client.requestSizes()).containsExactlyElementsOf(
+            IntStream.range(0, 22).mapToObj(i -> i == 1 || i == 2 ? 25 : 1).collect(Collectors.toList()));
+    }
+
+    @Test
+    public void batchWriter_keepsAtMostMaxConcurrentRequestsInFlight() {
+        FakeBatchWriteClient client = new FakeBatchWriteClient(Duration.ofMillis(20), NONE_UNPROCESSED);
+
+        try (DynamoDbAsyncTableBatchWriter<Record> writer = table(client).batchWriter(r -> r.maxConcurrentRequests(3))) {
+            joinAll(IntStream.range(0, 500).mapToObj(i -> writer.putItem(record(i))).collect(Collectors.toList()));
+        }
+
+        assertThat(client.maxConcurrentRequests.get()).isEqualTo(3);
+        assertThat(client.requestSizes()).allSatisfy(size -> assertThat(size).isLessThanOrEqualTo(25));
+        assertThat(client.writtenIds()).containsExactlyInAnyOrderElementsOf(ids(0, 500));
+    }
+
+    @Test
+    public void batchWriter_unprocessedWrites_areRetriedUntilProcessed() {
+        // Every other write of each request is returned unprocessed, so each write is processed after one or more retries
+        FakeBatchWriteClient client = new FakeBatchWriteClient(Duration.ofMillis(5), writes -> everyOther(writes));
+
+        try (DynamoDbAsyncTableBatchWriter<Record> writer = table(client).batchWriter(FAST_RETRIES)) {
+            joinAll(IntStream.range(0, 100).mapToObj(i -> writer.putItem(record(i))).collect(Collectors.toList()));
+        }
+
+        assertThat(client.writtenIds()).containsExactlyInAnyOrderElementsOf(ids(0, 100));
+        assertThat(client.sentWrites.get()).isGreaterThan(100);
+    }
+
+    @Test
+    public void batchWriter_writesUnprocessedAfterMaxRetries_fail() {
+        FakeBatchWriteClient client = new FakeBatchWriteClient(Duration.ofMillis(5), writes -> writes);
+        BatchWriterConfiguration configuration = FAST_RETRIES.toBuilder().maxUnprocessedRetries(2).build();
+
+        CompletableFuture<Void> put;
+        try (DynamoDbAsyncTableBatchWriter<Record> writer = table(client).batchWriter(configuration)) {
+            put = writer.putItem(record(1));
+            writer.flush().join();
+        }
+
+        assertThatThrownBy(put::join).hasCauseInstanceOf(SdkClientException.class)
+                                     .hasMessageContaining("unprocessed after 2 retries");
+        assertThat(client.sentWrites.get()).isEqualTo(3);
+    }
+
+    @Test
+    public void batchWriter_failedRequest_failsItsWrites() {
+        FakeBatchWriteClient client = new FakeBatchWriteClient(Duration.ofMillis(5), NONE_UNPROCESSED);
+        client.failure = DynamoDbException.builder().message("Request failed").build();
+
+        try (DynamoDbAsyncTableBatchWriter<Record> writer = table(client).batchWriter()) {
+            List<CompletableFuture<Void>> writes =
+                IntStream.range(0, 30).mapToObj(i -> writer.putItem(record(i))).collect(Collectors.toList());
+            writer.flush().join();
+
+            assertThat(writes).allSatisfy(write -> assertThatThrownBy(write::join).hasCauseInstanceOf(DynamoDbException.class));
+        }
+    }
+
+    @Test
+    public void batchWriter_writesToTheSameItem_areSentInOrderAndNeverTogether() {
+        FakeBatchWriteClient client = new FakeBatchWriteClient(Duration.ofMillis(20), writes -> everyOther(writes));
+        DynamoDbAsyncTable<Record> table = table(client);
+
+        try (DynamoDbAsyncTableBatchWriter<Record> writer = table.batchWriter(FAST_RETRIES)) {
+            List<CompletableFuture<Void>> writes = new ArrayList<>();
+            for (int i = 0; i < 20; i++) {
+                writes.add(writer.putItem(record(i % 5, "v" + i)));
+                if (i % 7 == 0) {
+                    writes.add(writer.deleteItem(Key.builder().partitionValue(Integer.toString(i % 5)).build()));
+                }
+            }
+            joinAll(writes);
+        }
+
+        assertThat(client.requests).allSatisfy(request -> {
+            List<String> ids = request.requestItems().get("table").stream()
+                                      .map(AsyncBatchWriterTest::id)
+                                      .collect(Collectors.toList());
+            assertThat(ids).doesNotHaveDuplicates();
+        });
+        // The last write to each item was a put of the highest value
+        Map<String, String> lastWrites = new ConcurrentHashMap<>();
+        client.processedWrites.forEach(write -> lastWrites.put(id(write), write.putRequest() == null
+                                                                          ? "deleted"
+                                                                          : write.putRequest().item().get("value").s()));
+        assertThat(lastWrites).containsOnlyKeys("0", "1", "2", "3", "4")
+                              .containsEntry("0", "v15")
+                              .containsEntry("4", "v19");
+    }
+
+    @Test
+    public void batchWriter_writesToSeveralTables_areSentInTheSameRequest() {
+        FakeBatchWriteClient client = new FakeBatchWriteClient(Duration.ofMillis(50), NONE_UNPROCESSED);
+        DynamoDbEnhancedAsyncClient enhancedClient = DynamoDbEnhancedAsyncClient.builder().dynamoDbClient(client).build();
+        DynamoDbAsyncTable<Record> firstTable = enhancedClient.table("first", TABLE_SCHEMA);
+        DynamoDbAsyncTable<Record> secondTable = enhancedClient.table("second", TABLE_SCHEMA);
+
+        try (DynamoDbAsyncBatchWriter writer = enhancedClient.batchWriter(r -> r.maxConcurrentRequests(1))) {
+            writer.putItem(firstTable, record(0));
+            writer.putItem(firstTable, record(1));
+            writer.deleteItem(secondTable, record(1));
+            writer.putItem(secondTable, record(2));
+            writer.flush().join();
+        }
+
+        assertThat(client.requests).hasSize(2);
+        BatchWriteItemRequest secondRequest = client.requests.get(1);
+        assertThat(secondRequest.requestItems().get("first")).hasSize(1);
+        assertThat(secondRequest.requestItems().get("second")).hasSize(2);
+    }
+
+    @Test
+    public void batchWriter_closed_rejectsWritesButCompletesEarlierOnes() {
+        FakeBatchWriteClient client = new FakeBatchWriteClient(Duration.ofMillis(50), NONE_UNPROCESSED);
+        DynamoDbAsyncTableBatchWriter<Record> writer = table(client).batchWriter();
+
+        CompletableFuture<Void> put = writer.putItem(record(0));
+        writer.close();
+
+        assertThatThrownBy(() -> writer.putItem(record(1))).isInstanceOf(IllegalStateException.class);
+        put.join();
+        assertThat(client.writtenIds()).containsExactly("0");
+    }
+
+    @Test
+    public void batchWriter_invalidConfiguration_isRejected() {
+        assertThatThrownBy(() -> BatchWriterConfiguration.builder().maxConcurrentRequests(0).build())
+            .isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> BatchWriterConfiguration.builder().maxUnprocessedRetries(-1).build())
+            .isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> BatchWriterConfiguration.builder().maxQueuedWrites(0).build())
+            .isInstanceOf(IllegalArgumentException.class);
+    }
+
+    private static DynamoDbAsyncTable<Record> table(DynamoDbAsyncClient client) {
+        return DynamoDbEnhancedAsyncClient.builder()
+                                          .dynamoDbClient(client)
+                                          .build()
+                                          .table("table", TABLE_SCHEMA);
+    }
+
+    private static Record record(int id) {
+        return record(id, "value");
+    }
+
+    private static Record record(int id, String value) {
+        Record record = new Record();
+        record.setId(Integer.toString(id));
+        record.setValue(value);
+        return record;
+    }
+
+    private static List<String> ids(int from, int to) {
+        return IntStream.range(from, to).mapToObj(Integer::toString).collect(Collectors.toList());
+    }
+
+    private static String id(WriteRequest write) {
+        return write.putRequest() != null ? write.putRequest().item().get("id").s() : write.deleteRequest().key().get("id").s();
+    }
+
+    private static List<WriteRequest> everyOther(List<WriteRequest> writes) {
+        return IntStream.range(0, writes.size()).filter(i -> i % 2 == 1).mapToObj(writes::get).collect(Collectors.toList());
+    }
+
+    private static void joinAll(List<CompletableFuture<Void>> futures) {
+        CompletableFuture.allOf(futures.toArray(new CompletableFuture[0])).join();
+    }
+
+    /**
+     * Completes every BatchWriteItem request after the given latency, returning the writes chosen by the given function as
+     * unprocessed, or fails it if a failure is set.
+     */
+    private final class FakeBatchWriteClient implements DynamoDbAsyncClient {
+        private final Duration latency;
+        private final Function<List<WriteRequest>, List<WriteRequest>> unprocessedWrites;
+        private final List<BatchWriteItemRequest> requests = new CopyOnWriteArrayList<>();
+        private final List<WriteRequest> processedWrites = new CopyOnWriteArrayList<>();
+        private final AtomicInteger sentWrites = new AtomicInteger();
+        private final AtomicInteger concurrentRequests = new AtomicInteger();
+        private final AtomicInteger maxConcurrentRequests = new AtomicInteger();
+        private volatile RuntimeException failure;
+
+        private FakeBatchWriteClient(Duration latency, Function<List<WriteRequest>, List<WriteRequest>> unprocessedWrites) {
+            this.latency = latency;
+            this.unprocessedWrites = unprocessedWrites;
+        }
+
+        @Override
+        public CompletableFuture<BatchWriteItemResponse> batchWriteItem(BatchWriteItemRequest request) {
+            requests.add(request);
+            int concurrent = concurrentRequests.incrementAndGet();
+            maxConcurrentRequests.accumulateAndGet(concurrent, Math::max);
+
+            CompletableFuture<BatchWriteItemResponse> response = new CompletableFuture<>();
+            scheduler.schedule(() -> {
+                concurrentRequests.decrementAndGet();
+                if (failure != null) {
+                    response.completeExceptionally(failure);
+                    return;
+                }
+
+                Map<String, List<WriteRequest>> unprocessedItems = new ConcurrentHashMap<>();
+                request.requestItems().forEach((tableName, writes) -> {
+                    sentWrites.addAndGet(writes.size());
+                    List<WriteRequest> unprocessed = unprocessedWrites.apply(writes);
+                    writes.stream().filter(write -> !unprocessed.contains(write)).forEach(processedWrites::add);
+                    if (!unprocessed.isEmpty()) {
+                        unprocessedItems.put(tableName, unprocessed);
+                    }
+                });
+                response.complete(BatchWriteItemResponse.builder().unprocessedItems(unprocessedItems).build());
+            }, latency.toMillis(), TimeUnit.MILLISECONDS);
+            return response;
+        }
+
+        private List<Integer> requestSizes() {
+            return requests.stream()
+                           .map(request -> request.requestItems().values().stream().mapToInt(List::size).sum())
+                           .collect(Collectors.toList());
+        }
+
+        private List<String> writtenIds() {
+            return processedWrites.stream().map(AsyncBatchWriterTest::id).collect(Collectors.toList());
+        }
+
+        @Override
+        public String serviceName() {
+            return "dynamodb";
+        }
+
+        @Override
+        public void close() {
+        }
+    }
+
+    private static final class Record {
+        private String id;
+        private String value;
+
+        private String getId() {
+            return id;
+        }
+
+        private void setId(String id) {
+            this.id = id;
+        }
+
+        private String getValue() {
+            return value;
+        }
+
+        private void setValue(String value) {
+            this.value = value;
+        }
+    }
+}
@@ -0,0 +1,254 @@
+/*
+ * Copyright Amazon.com, Inc. or its affiliates. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License").
+ * You may not use this file except in compliance with the License.
+ * A copy of the License is located at
+ *
+ *  http://aws.amazon.com/apache2.0
+ *
+ * or in the "license" file accompanying this file. This file is distributed
+ * on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either
+ * express or implied. See the License for the specific language governing
+ * permissions and limitations under the License.
+ */
+
+
+package software.amazon.awssdk.enhanced.dynamodb.mocktests;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static software.amazon.awssdk.enhanced.dynamodb.mapper.StaticAttributeTags.primaryPartitionKey;
+
+import java.time.Duration;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.reactivestreams.Subscriber;
+import org.reactivestreams.Subscription;
+import software.amazon.awssdk.core.async.SdkPublisher;
+import software.amazon.awssdk.enhanced.dynamodb.DynamoDbAsyncTable;
+import software.amazon.awssdk.enhanced.dynamodb.DynamoDbEnhancedAsyncClient;
+import software.amazon.awssdk.enhanced.dynamodb.TableSchema;
+import software.amazon.awssdk.enhanced.dynamodb.functionaltests.BufferingSubscriber;
+import software.amazon.awssdk.enhanced.dynamodb.mapper.StaticTableSchema;
+import software.amazon.awssdk.enhanced.dynamodb.model.Page;
+import software.amazon.awssdk.enhanced.dynamodb.model.ScanEnhancedRequest;
+import software.amazon.awssdk.services.dynamodb.DynamoDbAsyncClient;
+import software.amazon.awssdk.services.dynamodb.model.AttributeValue;
+import software.amazon.awssdk.services.dynamodb.model.DynamoDbException;
+import software.amazon.awssdk.services.dynamodb.model.ScanRequest;
+import software.amazon.awssdk.services.dynamodb.model.ScanResponse;
+import software.amazon.awssdk.services.dynamodb.paginators.ScanPublisher;
+
+public class AsyncParallelScanTest {
+    private static final TableSchema<Record> TABLE_SCHEMA =
+        StaticTableSchema.builder(Record.class)
+                         .newItemSupplier(Record::new)
+                         .addAttribute(String.class, a -> a.name("id")
+                                                           .getter(Record::getId)
+                                                           .setter(Record::setId)
+                                                           .tags(primaryPartitionKey()))
+                         .build();
+
+    private final ScheduledExecutorService scheduler = Executors.newScheduledThreadPool(8);
+
+    @AfterEach
+    public void teardown() {
+        scheduler.shutdownNow();
+    }
+
+    @Test
+    public void scanParallel_returnsThePagesOfAllSegments() {
+        FakeScanClient client = new FakeScanClient(3, Duration.ofMillis(5), -1);
+
+        List<Page<Record>> pages = drainPublisher(table(client).scanParallel(ScanEnhancedRequest.builder().build(), 4), 12);
+
+        List<String> ids = pages.stream().flatMap(p -> p.items().stream()).map(Record::getId).collect(Collectors.toList());
+        List<String> expectedIds = IntStream.range(0, 4)
+                                            .boxed()
+                                            .flatMap(s -> IntStream.range(0, 3).mapToObj(p -> s + "-" + p))
+                                            .collect(Collectors.toList());
+        assertThat(ids).containsExactlyInAnyOrderElementsOf(expectedIds);
+    }
+
+    @Test
+    public void scanParallel_scansAllSegmentsConcurrently() {
+        FakeScanClient client = new FakeScanClient(3, Duration.ofMillis(20), -1);
+
+        drainPublisher(table(client).scanParallel(ScanEnhancedRequest.builder().build(), 4), 12);
+
+        assertThat(client.maxConcurrentScans.get()).isEqualTo(4);
+    }
+
+    @Test
+    public void scanParallel_throughputScalesWithSegments() {
+        int totalPages = 16;
+        Duration latency = Duration.ofMillis(25);
+
+        long oneSegmentNanos = timeScan(new FakeScanClient(totalPages, latency, -1), 1, totalPages);
+        long fourSegmentsNanos = timeScan(new FakeScanClient(totalPages / 4, latency, -1), 4, totalPages);
+
+        assertThat(fourSegmentsNanos).isLessThan(oneSegmentNanos / 2);
+    }
+
+    @Test
+    public void scanParallel_fetchesAtMostOnePageAheadPerSegment() throws InterruptedException {
+        FakeScanClient client = new FakeScanClient(10, Duration.ofMillis(1), -1);
+        AtomicInteger receivedPages = new AtomicInteger();
+
+        table(client).scanParallel(ScanEnhancedRequest.builder().build(), 4).subscribe(new Subscriber<Page<Record>>() {
+            @Override
+            public void onSubscribe(Subscription subscription) {
+                subscription.request(1);
+            }
+
+            @Override
+            public void onNext(Page<Record> page) {
+                receivedPages.incrementAndGet();
+            }
+
+            @Override
+            public void onError(Throwable t) {
+            }
+
+            @Override
+            public void onComplete() {
+            }
+        });
+
+        Thread.sleep(200);
+        assertThat(receivedPages.get()).isEqualTo(1);
+        // The first page of every segment, and the page replacing the one that was delivered.
+        assertThat(client.scans.get()).isEqualTo(5);
+    }
+
+    @Test
+    public void scanParallel_failedSegment_failsTheScan() {
+        FakeScanClient client = new FakeScanClient(10, Duration.ofMillis(5), 2);
+        BufferingSubscriber<Page<Record>> subscriber = new BufferingSubscriber<>();
+
+        table(client).scanParallel(ScanEnhancedRequest.builder().build(), 4).subscribe(subscriber);
+        subscriber.waitForCompletion(5000L);
+
+        assertThat(subscriber.bufferedError()).isInstanceOf(DynamoDbException.class);
+        assertThat(subscriber.isCompleted()).isFalse();
+    }
+
+    @Test
+    public void scanParallel_requestWithSegment_isRejected() {
+        DynamoDbAsyncTable<Record> table = table(new FakeScanClient(1, Duration.ZERO, -1));
+
+        assertThatThrownBy(() -> table.scanParallel(r -> r.segment(0).totalSegments(4), 4))
+            .isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> table.scanParallel(ScanEnhancedRequest.builder().build(), 0))
+            .isInstanceOf(IllegalArgumentException.class);
+    }
+
+    private static List<Page<Record>> drainPublisher(SdkPublisher<Page<Record>> publisher, int expectedPages) {
+        BufferingSubscriber<Page<Record>> subscriber = new BufferingSubscriber<>();
+        publisher.subscribe(subscriber);
+        subscriber.waitForCompletion(5000L);
+
+        assertThat(subscriber.bufferedError()).isNull();
+        assertThat(subscriber.isCompleted()).isTrue();
+        assertThat(subscriber.bufferedItems()).hasSize(expectedPages);
+        return subscriber.bufferedItems();
+    }
+
+    private long timeScan(FakeScanClient client, int segments, int expectedPages) {
+        long start = System.nanoTime();
+        drainPublisher(table(client).scanParallel(ScanEnhancedRequest.builder().build(), segments), expectedPages);
+        return System.nanoTime() - start;
+    }
+
+    private static DynamoDbAsyncTable<Record> table(DynamoDbAsyncClient client) {
+        return DynamoDbEnhancedAsyncClient.builder()
+                                          .dynamoDbClient(client)
+                                          .build()
+                                          .table("table", TABLE_SCHEMA);
+    }
+
+    /**
+     * Returns the pages of every segment after the given latency. Each page holds one item, whose ID is the segment and
+     * page numbers. Scans of the given segment fail.
+     */
+    private final class FakeScanClient implements DynamoDbAsyncClient {
+        private final int pagesPerSegment;
+        private final Duration latency;
+        private final int failingSegment;
+        private final AtomicInteger scans = new AtomicInteger();
+        private final AtomicInteger concurrentScans = new AtomicInteger();
+        private final AtomicInteger maxConcurrentScans = new AtomicInteger();
+
+        private FakeScanClient(int pagesPerSegment, Duration latency, int failingSegment) {
+            this.pagesPerSegment = pagesPerSegment;
+            this.latency = latency;
+            this.failingSegment = failingSegment;
+        }
+
+        @Override
+        public CompletableFuture<ScanResponse> scan(ScanRequest request) {
+            scans.incrementAndGet();
+            int concurrent = concurrentScans.incrementAndGet();
+            maxConcurrentScans.accumulateAndGet(concurrent, Math::max);
+
+            int segment = request.segment();
+            int page = request.hasExclusiveStartKey() ? Integer.parseInt(request.exclusiveStartKey().get("page").n()) : 0;
+
+            CompletableFuture<ScanResponse> response = new CompletableFuture<>();
+            scheduler.schedule(() -> {
+                concurrentScans.decrementAndGet();
+                if (segment == failingSegment) {
+                    response.completeExceptionally(DynamoDbException.builder().message("Segment failed").build());
+                    return;
+                }
+
+                Map<String, AttributeValue> item =
+                    Collections.singletonMap("id", AttributeValue.builder().s(segment + "-" + page).build());
+                ScanResponse.Builder scanResponse = ScanResponse.builder().items(Collections.singletonList(item));
+                if (page + 1 < pagesPerSegment) {
+                    scanResponse.lastEvaluatedKey(
+                        Collections.singletonMap("page", AttributeValue.builder().n(Integer.toString(page + 1)).build()));
+                }
+                response.complete(scanResponse.build());
+            }, latency.toMillis(), TimeUnit.MILLISECONDS);
+            return response;
+        }
+
+        @Override
+        public ScanPublisher scanPaginator(ScanRequest request) {
+            return new ScanPublisher(this, request);
+        }
+
+        @Override
+        public String serviceName() {
+            return "dynamodb";
+        }
+
+        @Override
+        public void close() {
+        }
+    }
+
+    private static final class Record {
+        private String id;
+
+        private String getId() {
+            return id;
+        }
+
+        private void setId(String id) {
+            this.id = id;
+        }
+    }
+}
@@ -0,0 +1,43 @@
+/*
+ * Copyright Amazon.com, Inc. or its affiliates. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License").
+ * You may not use this file except in compliance with the License.
+ * A copy of the License is located at
+ *
+ *  http://aws.amazon.com/apache2.0
+ *
+ * or in the "license" file accompanying this file. This file is distributed
+ * on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either
+ * express or implied. See the License for the specific language governing
+ * permissions and limitations under the License.
+ */
+
+
+package software.amazon.awssdk.transfer.s3;
+
+import java.util.concurrent.CompletableFuture;
+import software.amazon.awssdk.annotations.SdkPreviewApi;
+import software.amazon.awssdk.annotations.SdkPublicApi;
+
+/**
+ * The deletion of many objects in a bucket.
+ *
+ * @see S3TransferManager#deleteObjects(BulkDeleteRequest)
+ */
+@SdkPublicApi
+@SdkPreviewApi
+public interface BulkDelete extends Transfer {
+    @Override
+    CompletableFuture<CompletedBulkDelete> completionFuture();
+
+    /**
+     * @return The number of objects deleted so far.
+     */
+    long objectsDeleted();
+
+    /**
+     * @return The number of objects that could not be deleted so far, after retries.
+     */
+    long objectsFailed();
+}
@@ -0,0 +1,284 @@
+/*
+ * Copyright Amazon.com, Inc. or its affiliates. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License").
+ * You may not use this file except in compliance with the License.
+ * A copy of the License is located at
+ *
+ *  http://aws.amazon.com/apache2.0
+ *
+ * or in the "license" file accompanying this file. This file is distributed
+ * on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either
+ * express or implied. See the License for the specific language governing
+ * permissions and limitations under the License.
+ */
+
+
+package software.amazon.awssdk.transfer.s3;
+
+import java.util.Objects;
+import java.util.Optional;
+import org.reactivestreams.Publisher;
+import software.amazon.awssdk.annotations.NotThreadSafe;
+import software.amazon.awssdk.annotations.SdkPreviewApi;
+import software.amazon.awssdk.annotations.SdkPublicApi;
+import software.amazon.awssdk.utils.ToString;
+import software.amazon.awssdk.utils.Validate;
+import software.amazon.awssdk.utils.builder.CopyableBuilder;
+import software.amazon.awssdk.utils.builder.ToCopyableBuilder;
+
+/**
+ * Delete many objects in a bucket using {@link S3TransferManager}, either every object under a prefix or the objects whose keys
+ * are published by a {@link Publisher}. Exactly one of {@link #prefix()} and {@link #keys()} must be set.
+ *
+ * @see S3TransferManager#deleteObjects(BulkDeleteRequest)
+ */
+@SdkPublicApi
+@SdkPreviewApi
+public final class BulkDeleteRequest
+    implements TransferRequest,
+               ToCopyableBuilder<BulkDeleteRequest.Builder, BulkDeleteRequest> {
+
+    private final String bucket;
+    private final String prefix;
+    private final Publisher<String> keys;
+    private final Integer maxConcurrentRequests;
+
+    private BulkDeleteRequest(DefaultBuilder builder) {
+        this.bucket = Validate.paramNotNull(builder.bucket, "bucket");
+        this.prefix = builder.prefix;
+        this.keys = builder.keys;
+        Validate.isTrue(prefix == null ^ keys == null, "Exactly one of prefix and keys must be set");
+        this.maxConcurrentRequests = builder.maxConcurrentRequests == null
+                                     ? null
+                                     : Validate.isPositive(builder.maxConcurrentRequests, "maxConcurrentRequests");
+    }
+
+    /**
+     * The name of the bucket to delete objects from
+     *
+     * @return bucket name
+     */
+    public String bucket() {
+        return bucket;
+    }
+
+    /**
+     * The key prefix of the objects to delete
+     *
+     * @return the optional prefix
+     * @see Builder#prefix(String)
+     */
+    public Optional<String> prefix() {
+        return Optional.ofNullable(prefix);
+    }
+
+    /**
+     * The keys of the objects to delete
+     *
+     * @return the optional publisher of keys
+     * @see Builder#keys(Publisher)
+     */
+    public Optional<Publisher<String>> keys() {
+        return Optional.ofNullable(keys);
+    }
+
+    /**
+     * The maximum number of {@code DeleteObjects} requests in flight at the same time
+     *
+     * @return the optional maximum number of concurrent requests
+     * @see Builder#maxConcurrentRequests(Integer)
+     */
+    public Optional<Integer> maxConcurrentRequests() {
+        return Optional.ofNullable(maxConcurrentRequests);
+    }
+
+    /**
+     * Create a builder that can be used to create a {@link BulkDeleteRequest}.
+     *
+     * @see S3TransferManager#deleteObjects(BulkDeleteRequest)
+     */
+    public static Builder builder() {
+        return new DefaultBuilder();
+    }
+
+    public static Class<? extends Builder> serializableBuilderClass() {
+        return DefaultBuilder.class;
+    }
+
+    @Override
+    public Builder toBuilder() {
+        return new DefaultBuilder(this);
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) {
+            return true;
+        }
+        if (o == null || getClass() != o.getClass()) {
+            return false;
+        }
+
+        BulkDeleteRequest that = (BulkDeleteRequest) o;
+
+        if (!Objects.equals(bucket, that.bucket)) {
+            return false;
+        }
+        if (!Objects.equals(prefix, that.prefix)) {
+            return false;
+        }
+        if (!Objects.equals(keys, that.keys)) {
+            return false;
+        }
+        return Objects.equals(maxConcurrentRequests, that.maxConcurrentRequests);
+    }
+
+    @Override
+    public int hashCode() {
+        int result = bucket != null ? bucket.hashCode() : 0;
+        result = 31 * result + (prefix != null ? prefix.hashCode() : 0);
+        result = 31 * result + (keys != null ? keys.hashCode() : 0);
+        result = 31 * result + (maxConcurrentRequests != null ? maxConcurrentRequests.hashCode() : 0);
+        return result;
+    }
+
+    @Override
+    public String toString() {
+        return ToString.builder("BulkDeleteRequest")
+                       .add("bucket", bucket)
+                       .add("prefix", prefix)
+                       .add("keys", keys)
+                       .add("maxConcurrentRequests", maxConcurrentRequests)
+                       .build();
+    }
+
+    /**
+     * A builder for a {@link BulkDeleteRequest}, created with {@link #builder()}
+     */
+    @SdkPublicApi
+    @NotThreadSafe
+    public interface Builder extends CopyableBuilder<Builder, BulkDeleteRequest> {
+
+        /**
+         * The name of the bucket to delete objects from.
+         *
+         * @param bucket the bucket name
+         * @return This builder for method chaining.
+         */
+        Builder bucket(String bucket);
+
+        /**
+         * Delete every object whose key starts with the given prefix. The objects are listed with {@code ListObjectsV2}, and
+         * each page of the listing is deleted while the next one is listed. An empty prefix deletes every object in the bucket.
+         * Cannot be combined with {@link #keys(Publisher)}.
+         *
+         * @param prefix the key prefix
+         * @return This builder for method chaining.
+         */
+        Builder prefix(String prefix);
+
+        /**
+         * Delete the objects whose keys are published by the given publisher. Keys are requested from the publisher as
+         * requests to delete them can be sent, so the publisher is not read further ahead than the concurrency allows. Cannot
+         * be combined with {@link #prefix(String)}.
+         *
+         * @param keys the publisher of keys to delete
+         * @return This builder for method chaining.
+         */
+        Builder keys(Publisher<String> keys);
+
+        /**
+         * The maximum number of {@code DeleteObjects} requests, each deleting up to 1000 objects, that are in flight at the same
+         * time, including requests waiting to be retried. Defaults to 16.
+         *
+         * @param maxConcurrentRequests the maximum number of concurrent requests
+         * @return This builder for method chaining.
+         */
+        Builder maxConcurrentRequests(Integer maxConcurrentRequests);
+
+        /**
+         * @return The built request.
+         */
+        @Override
+        BulkDeleteRequest build();
+    }
+
+    private static final class DefaultBuilder implements Builder {
+        private String bucket;
+        private String prefix;
+        private Publisher<String> keys;
+        private Integer maxConcurrentRequests;
+
+        private DefaultBuilder() {
+        }
+
+        private DefaultBuilder(BulkDeleteRequest request) {
+            this.bucket = request.bucket;
+            this.prefix = request.prefix;
+            this.keys = request.keys;
+            this.maxConcurrentRequests = request.maxConcurrentRequests;
+        }
+
+        @Override
+        public Builder bucket(String bucket) {
+            this.bucket = bucket;
+            return this;
+        }
+
+        public void setBucket(String bucket) {
+            bucket(bucket);
+        }
+
+        public String getBucket() {
+            return bucket;
+        }
+
+        @Override
+        public Builder prefix(String prefix) {
+            this.prefix = prefix;
+            return this;
+        }
+
+        public void setPrefix(String prefix) {
+            prefix(prefix);
+        }
+
+        public String getPrefix() {
+            return prefix;
+        }
+
+        @Override
+        public Builder keys(Publisher<String> keys) {
+            this.keys = keys;
+            return this;
+        }
+
+        public void setKeys(Publisher<String> keys) {
+            keys(keys);
+        }
+
+        public Publisher<String> getKeys() {
+            return keys;
+        }
+
+        @Override
+        public Builder maxConcurrentRequests(Integer maxConcurrentRequests) {
+            this.maxConcurrentRequests = maxConcurrentRequests;
+            return this;
+        }
+
+        public void setMaxConcurrentRequests(Integer maxConcurrentRequests) {
+            maxConcurrentRequests(maxConcurrentRequests);
+        }
+
+        public Integer getMaxConcurrentRequests() {
+            return maxConcurrentRequests;
+        }
+
+        @Override
+        public BulkDeleteRequest build() {
+            return new BulkDeleteRequest(this);
+        }
+    }
+}
@@ -0,0 +1,187 @@
+/*
+ * Copyright Amazon.com, Inc. or its affiliates. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License").
+ * You may not use this file except in compliance with the License.
+ * A copy of the License is located at
+ *
+ *  http://aws.amazon.com/apache2.0
+ *
+ * or in the "license" file accompanying this file. This file is distributed
+ * on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either
+ * express or implied. See the License for the specific language governing
+ * permissions and limitations under the License.
+ */
+
+
+package software.amazon.awssdk.transfer.s3;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Objects;
+import software.amazon.awssdk.annotations.SdkPreviewApi;
+import software.amazon.awssdk.annotations.SdkPublicApi;
+import software.amazon.awssdk.services.s3.model.S3Error;
+import software.amazon.awssdk.utils.ToString;
+import software.amazon.awssdk.utils.Validate;
+
+/**
+ * Represents a completed bulk delete. It can be used to track the objects that could not be deleted.
+ *
+ * @see S3TransferManager#deleteObjects(BulkDeleteRequest)
+ */
+@SdkPublicApi
+@SdkPreviewApi
+public final class CompletedBulkDelete implements CompletedTransfer {
+
+    private final long objectsDeleted;
+    private final Collection<S3Error> failedDeletes;
+
+    private CompletedBulkDelete(DefaultBuilder builder) {
+        this.objectsDeleted = builder.objectsDeleted;
+        this.failedDeletes = Collections.unmodifiableCollection(
+            Validate.paramNotNull(builder.failedDeletes, "failedDeletes"));
+    }
+
+    /**
+     * @return The number of objects that were deleted.
+     */
+    public long objectsDeleted() {
+        return objectsDeleted;
+    }
+
+    /**
+     * An error for each object that could not be deleted, with the code and message returned by {@code DeleteObjects}. For an
+     * object whose {@code DeleteObjects} request failed as a whole, the code is the error code of the service, or the name of the
+     * exception if the request did not reach the service.
+     *
+     * @return the errors of the objects that could not be deleted
+     */
+    public Collection<S3Error> failedDeletes() {
+        return failedDeletes;
+    }
+
+    /**
+     * Creates a default builder for {@link CompletedBulkDelete}.
+     */
+    public static Builder builder() {
+        return new DefaultBuilder();
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) {
+            return true;
+        }
+        if (o == null || getClass() != o.getClass()) {
+            return false;
+        }
+
+        CompletedBulkDelete that = (CompletedBulkDelete) o;
+
+        if (objectsDeleted != that.objectsDeleted) {
+            return false;
+        }
+        return Objects.equals(failedDeletes, that.failedDeletes);
+    }
+
+    @Override
+    public int hashCode() {
+        int result = (int) (objectsDeleted ^ (objectsDeleted >>> 32));
+        result = 31 * result + (failedDeletes != null ? failedDeletes.hashCode() : 0);
+        return result;
+    }
+
+    @Override
+    public String toString() {
+        return ToString.builder("CompletedBulkDelete")
+                       .add("objectsDeleted", objectsDeleted)
+                       .add("failedDeletes", failedDeletes)
+                       .build();
+    }
+
+    public static Class<? extends Builder> serializableBuilderClass() {
+        return DefaultBuilder.class;
+    }
+
+    public interface Builder {
+
+        /**
+         * Sets the number of objects that were deleted
+         *
+         * @param objectsDeleted the number of objects deleted
+         * @return This builder for method chaining.
+         */
+        Builder objectsDeleted(long objectsDeleted);
+
+        /**
+         * Sets a collection of errors for the objects that could not be deleted
+         *
+         * @param failedDeletes the errors
+         * @return This builder for method chaining.
+         */
+        Builder failedDeletes(Collection<S3Error> failedDeletes);
+
+        /**
+         * Add an error for an object that could not be deleted
+         *
+         * @param failedDelete the error
+         * @return This builder for method chaining.
+         */
+        Builder addFailedDelete(S3Error failedDelete);
+
+        /**
+         * Builds a {@link CompletedBulkDelete} based on the properties supplied to this builder
+         * @return An initialized {@link CompletedBulkDelete}
+         */
+        CompletedBulkDelete build();
+    }
+
+    private static final class DefaultBuilder implements Builder {
+        private long objectsDeleted;
+        private Collection<S3Error> failedDeletes = new ArrayList<>();
+
+        private DefaultBuilder() {
+        }
+
+        @Override
+        public Builder objectsDeleted(long objectsDeleted) {
+            this.objectsDeleted = objectsDeleted;
+            return this;
+        }
+
+        public long getObjectsDeleted() {
+            return objectsDeleted;
+        }
+
+        public void setObjectsDeleted(long objectsDeleted) {
+            objectsDeleted(objectsDeleted);
+        }
+
+        @Override
+        public Builder failedDeletes(Collection<S3Error> failedDeletes) {
+            this.failedDeletes = new ArrayList<>(failedDeletes);
+            return this;
+        }
+
+        @Override
+        public Builder addFailedDelete(S3Error failedDelete) {
+            failedDeletes.add(failedDelete);
+            return this;
+        }
+
+        public Collection<S3Error> getFailedDeletes() {
+            return Collections.unmodifiableCollection(failedDeletes);
+        }
+
+        public void setFailedDeletes(Collection<S3Error> failedDeletes) {
+            failedDeletes(failedDeletes);
+        }
+
+        @Override
+        public CompletedBulkDelete build() {
+            return new CompletedBulkDelete(this);
+        }
+    }
+}
@@ -23,6 +23,7 @@ import software.amazon.awssdk.annotations.SdkPublicApi;
  * A completed directory-based transfer.
  *
  * @see CompletedDirectoryUpload
+ * @see CompletedDirectoryDownload
  */
 @SdkPublicApi
 @SdkPreviewApi
@@ -17,13 +17,22 @@ package software.amazon.awssdk.transfer.s3;
 
 import software.amazon.awssdk.annotations.SdkPreviewApi;
 import software.amazon.awssdk.annotations.SdkPublicApi;
+import software.amazon.awssdk.transfer.s3.progress.TransferProgress;
 
 /**
  * Represents the upload or download of a directory of files to or from S3.
  * 
  * @see DirectoryUpload
+ * @see DirectoryDownload
  */
 @SdkPublicApi
 @SdkPreviewApi
 public interface DirectoryTransfer extends Transfer {
+    /**
+     * The stateful {@link TransferProgress} of this transfer, aggregated across all of the files in the directory.
+     * <p>
+     * The {@link TransferProgress#snapshot() snapshot}'s transfer size is only known once every file in the directory has been
+     * discovered.
+     */
+    TransferProgress progress();
 }
@@ -20,7 +20,7 @@ import software.amazon.awssdk.annotations.SdkPublicApi;
 
 /**
  * Represents a failed single file transfer in a multi-file transfer operation such as
- * {@link S3TransferManager#uploadDirectory}
+ * {@link S3TransferManager#uploadDirectory} or {@link S3TransferManager#downloadDirectory}
  */
 @SdkPublicApi
 @SdkPreviewApi
@@ -28,4 +28,19 @@ public interface FileDownload extends ObjectTransfer {
     
     @Override
     CompletableFuture<CompletedFileDownload> completionFuture();
+
+    /**
+     * Pause the download and return a {@link ResumableFileDownload} that can be used to resume it with
+     * {@link S3TransferManager#resumeDownload(ResumableFileDownload)}.
+     * <p>
+     * The download is cancelled and its {@link #completionFuture()} completes with a
+     * {@link java.util.concurrent.CancellationException}, but the part of the object that has already been written to the
+     * destination file is kept, and only the rest of the object is requested when the download is resumed.
+     *
+     * @return the state of the paused download
+     * @throws IllegalStateException if the download has already completed or failed
+     */
+    default ResumableFileDownload pause() {
+        throw new UnsupportedOperationException();
+    }
 }
@@ -28,4 +28,20 @@ public interface FileUpload extends ObjectTransfer {
     
     @Override
     CompletableFuture<CompletedFileUpload> completionFuture();
+
+    /**
+     * Pause the upload and return a {@link ResumableFileUpload} that can be used to resume it with
+     * {@link S3TransferManager#resumeUpload(ResumableFileUpload)}.
+     * <p>
+     * The upload is cancelled and its {@link #completionFuture()} completes with a
+     * {@link java.util.concurrent.CancellationException}. If the upload was {@link UploadFileRequest#pausable() pausable} and
+     * the file is larger than the part size, the multipart upload is left in place so that the parts that have already been
+     * uploaded can be reused. Otherwise, the whole file is sent again when the upload is resumed.
+     *
+     * @return the state of the paused upload
+     * @throws IllegalStateException if the upload has already completed or failed
+     */
+    default ResumableFileUpload pause() {
+        throw new UnsupportedOperationException();
+    }
 }
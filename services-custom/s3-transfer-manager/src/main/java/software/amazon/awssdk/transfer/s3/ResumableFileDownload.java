@@ -0,0 +1,373 @@
+/*
+ * Copyright Amazon.com, Inc. or its affiliates. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License").
+ * You may not use this file except in compliance with the License.
+ * A copy of the License is located at
+ *
+ *  http://aws.amazon.com/apache2.0
+ *
+ * or in the "license" file accompanying this file. This file is distributed
+ * on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either
+ * express or implied. See the License for the specific language governing
+ * permissions and limitations under the License.
+ */
+
+
+package software.amazon.awssdk.transfer.s3;
+
+import java.io.InvalidObjectException;
+import java.io.ObjectInputStream;
+import java.io.Serializable;
+import java.nio.file.Paths;
+import java.time.Instant;
+import java.util.HashMap;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.function.Consumer;
+import software.amazon.awssdk.annotations.NotThreadSafe;
+import software.amazon.awssdk.annotations.SdkPreviewApi;
+import software.amazon.awssdk.annotations.SdkPublicApi;
+import software.amazon.awssdk.services.s3.model.GetObjectRequest;
+import software.amazon.awssdk.transfer.s3.internal.SdkPojoFields;
+import software.amazon.awssdk.utils.ToString;
+import software.amazon.awssdk.utils.Validate;
+import software.amazon.awssdk.utils.builder.CopyableBuilder;
+import software.amazon.awssdk.utils.builder.ToCopyableBuilder;
+
+/**
+ * The state of a paused file download, returned by {@link FileDownload#pause()} and accepted by
+ * {@link S3TransferManager#resumeDownload(ResumableFileDownload)}.
+ * <p>
+ * The object is written to the destination file in order, so the token records how many bytes of the object had been written
+ * when the download was paused, along with the last modified time of the destination file and the ETag of the object. When
+ * the download is resumed, only the rest of the object is requested, unless the file or the object changed in the meantime, in
+ * which case the download starts from the beginning.
+ * <p>
+ * This class is {@link Serializable}, so the token can be persisted and the download resumed from another process. The
+ * {@link DownloadFileRequest#overrideConfiguration() override configuration} of the request, and the override configuration of
+ * its {@link GetObjectRequest}, are not serialized and should be set again on the deserialized token if needed.
+ */
+@SdkPublicApi
+@SdkPreviewApi
+public final class ResumableFileDownload implements ToCopyableBuilder<ResumableFileDownload.Builder, ResumableFileDownload>,
+                                                    Serializable {
+
+    private static final long serialVersionUID = 1L;
+
+    private final transient DownloadFileRequest downloadFileRequest;
+    private final long bytesTransferred;
+    private final Instant fileLastModified;
+    private final Long totalSizeInBytes;
+    private final String objectETag;
+
+    private ResumableFileDownload(DefaultBuilder builder) {
+        this.downloadFileRequest = Validate.paramNotNull(builder.downloadFileRequest, "downloadFileRequest");
+        this.bytesTransferred = builder.bytesTransferred == null ? 0L : Validate.isNotNegative(builder.bytesTransferred,
+                                                                                                 "bytesTransferred");
+        this.fileLastModified = builder.fileLastModified;
+        this.totalSizeInBytes = builder.totalSizeInBytes;
+        this.objectETag = builder.objectETag;
+    }
+
+    /**
+     * @return the request of the paused download
+     */
+    public DownloadFileRequest downloadFileRequest() {
+        return downloadFileRequest;
+    }
+
+    /**
+     * @return the number of bytes at the start of the object that had been written to the destination file
+     */
+    public long bytesTransferred() {
+        return bytesTransferred;
+    }
+
+    /**
+     * @return the last modified time of the destination file when the download was paused, or empty if nothing had been
+     * written to it
+     */
+    public Optional<Instant> fileLastModified() {
+        return Optional.ofNullable(fileLastModified);
+    }
+
+    /**
+     * @return the size of the object, in bytes, or empty if the download was paused before the response was received
+     */
+    public Optional<Long> totalSizeInBytes() {
+        return Optional.ofNullable(totalSizeInBytes);
+    }
+
+    /**
+     * @return the ETag of the object that was being downloaded, or empty if the download was paused before the response was
+     * received
+     */
+    public Optional<String> objectETag() {
+        return Optional.ofNullable(objectETag);
+    }
+
+    public static Builder builder() {
+        return new DefaultBuilder();
+    }
+
+    public static Class<? extends Builder> serializableBuilderClass() {
+        return DefaultBuilder.class;
+    }
+
+    @Override
+    public Builder toBuilder() {
+        return new DefaultBuilder(this);
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) {
+            return true;
+        }
+        if (o == null || getClass() != o.getClass()) {
+            return false;
+        }
+
+        ResumableFileDownload that = (ResumableFileDownload) o;
+
+        if (bytesTransferred != that.bytesTransferred) {
+            return false;
+        }
+        if (!Objects.equals(downloadFileRequest, that.downloadFileRequest)) {
+            return false;
+        }
+        if (!Objects.equals(fileLastModified, that.fileLastModified)) {
+            return false;
+        }
+        if (!Objects.equals(totalSizeInBytes, that.totalSizeInBytes)) {
+            return false;
+        }
+        return Objects.equals(objectETag, that.objectETag);
+    }
+
+    @Override
+    public int hashCode() {
+        int result = downloadFileRequest != null ? downloadFileRequest.hashCode() : 0;
+        result = 31 * result + Long.hashCode(bytesTransferred);
+        result = 31 * result + (fileLastModified != null ? fileLastModified.hashCode() : 0);
+        result = 31 * result + (totalSizeInBytes != null ? totalSizeInBytes.hashCode() : 0);
+        result = 31 * result + (objectETag != null ? objectETag.hashCode() : 0);
+        return result;
+    }
+
+    @Override
+    public String toString() {
+        return ToString.builder("ResumableFileDownload")
+                       .add("downloadFileRequest", downloadFileRequest)
+                       .add("bytesTransferred", bytesTransferred)
+                       .add("fileLastModified", fileLastModified)
+                       .add("totalSizeInBytes", totalSizeInBytes)
+                       .add("objectETag", objectETag)
+                       .build();
+    }
+
+    private Object writeReplace() {
+        return new SerializedForm(this);
+    }
+
+    private void readObject(ObjectInputStream in) throws InvalidObjectException {
+        throw new InvalidObjectException("ResumableFileDownload must be deserialized from its serialized form");
+    }
+
+    /**
+     * The serialized form of a {@link ResumableFileDownload}. The {@link GetObjectRequest} is stored as a map of its members,
+     * and the destination as a path string.
+     */
+    private static final class SerializedForm implements Serializable {
+        private static final long serialVersionUID = 1L;
+
+        private final HashMap<String, Object> getObjectRequest;
+        private final String destination;
+        private final long bytesTransferred;
+        private final Instant fileLastModified;
+        private final Long totalSizeInBytes;
+        private final String objectETag;
+
+        private SerializedForm(ResumableFileDownload download) {
+            this.getObjectRequest = SdkPojoFields.toFieldMap(download.downloadFileRequest.getObjectRequest());
+            this.destination = download.downloadFileRequest.destination().toString();
+            this.bytesTransferred = download.bytesTransferred;
+            this.fileLastModified = download.fileLastModified;
+            this.totalSizeInBytes = download.totalSizeInBytes;
+            this.objectETag = download.objectETag;
+        }
+
+        private Object readResolve() {
+            GetObjectRequest request = SdkPojoFields.applyFieldMap(GetObjectRequest.builder(), getObjectRequest)
+                                                             .build();
+            return ResumableFileDownload.builder()
+                                        .downloadFileRequest(d -> d.getObjectRequest(request)
+                                                                   .destination(Paths.get(destination)))
+                                        .bytesTransferred(bytesTransferred)
+                                        .fileLastModified(fileLastModified)
+                                        .totalSizeInBytes(totalSizeInBytes)
+                                        .objectETag(objectETag)
+                                        .build();
+        }
+    }
+
+    /**
+     * A builder for a {@link ResumableFileDownload}, created with {@link #builder()}
+     */
+    @SdkPublicApi
+    @NotThreadSafe
+    public interface Builder extends CopyableBuilder<Builder, ResumableFileDownload> {
+
+        /**
+         * The request of the paused download.
+         *
+         * @param downloadFileRequest the download request
+         * @return Returns a reference to this object so that method calls can be chained together.
+         */
+        Builder downloadFileRequest(DownloadFileRequest downloadFileRequest);
+
+        /**
+         * The request of the paused download.
+         *
+         * <p>
+         * This is a convenience method that creates an instance of the {@link DownloadFileRequest} builder avoiding the
+         * need to create one manually via {@link DownloadFileRequest#builder()}.
+         *
+         * @param downloadFileRequestBuilder the download request consumer builder
+         * @return Returns a reference to this object so that method calls can be chained together.
+         */
+        default Builder downloadFileRequest(Consumer<DownloadFileRequest.Builder> downloadFileRequestBuilder) {
+            Validate.paramNotNull(downloadFileRequestBuilder, "downloadFileRequestBuilder");
+            return downloadFileRequest(DownloadFileRequest.builder()
+                                                          .applyMutation(downloadFileRequestBuilder)
+                                                          .build());
+        }
+
+        /**
+         * The number of bytes at the start of the object that have been written to the destination file. Defaults to 0.
+         *
+         * @param bytesTransferred the number of bytes written
+         * @return Returns a reference to this object so that method calls can be chained together.
+         */
+        Builder bytesTransferred(Long bytesTransferred);
+
+        /**
+         * The last modified time of the destination file when the download was paused.
+         *
+         * @param fileLastModified the last modified time
+         * @return Returns a reference to this object so that method calls can be chained together.
+         */
+        Builder fileLastModified(Instant fileLastModified);
+
+        /**
+         * The size of the object, in bytes.
+         *
+         * @param totalSizeInBytes the object size
+         * @return Returns a reference to this object so that method calls can be chained together.
+         */
+        Builder totalSizeInBytes(Long totalSizeInBytes);
+
+        /**
+         * The ETag of the object that was being downloaded.
+         *
+         * @param objectETag the ETag
+         * @return Returns a reference to this object so that method calls can be chained together.
+         */
+        Builder objectETag(String objectETag);
+    }
+
+    private static final class DefaultBuilder implements Builder {
+        private DownloadFileRequest downloadFileRequest;
+        private Long bytesTransferred;
+        private Instant fileLastModified;
+        private Long totalSizeInBytes;
+        private String objectETag;
+
+        private DefaultBuilder() {
+        }
+
+        private DefaultBuilder(ResumableFileDownload download) {
+            this.downloadFileRequest = download.downloadFileRequest;
+            this.bytesTransferred = download.bytesTransferred;
+            this.fileLastModified = download.fileLastModified;
+            this.totalSizeInBytes = download.totalSizeInBytes;
+            this.objectETag = download.objectETag;
+        }
+
+        @Override
+        public Builder downloadFileRequest(DownloadFileRequest downloadFileRequest) {
+            this.downloadFileRequest = downloadFileRequest;
+            return this;
+        }
+
+        public DownloadFileRequest getDownloadFileRequest() {
+            return downloadFileRequest;
+        }
+
+        public void setDownloadFileRequest(DownloadFileRequest downloadFileRequest) {
+            downloadFileRequest(downloadFileRequest);
+        }
+
+        @Override
+        public Builder bytesTransferred(Long bytesTransferred) {
+            this.bytesTransferred = bytesTransferred;
+            return this;
+        }
+
+        public Long getBytesTransferred() {
+            return bytesTransferred;
+        }
+
+        public void setBytesTransferred(Long bytesTransferred) {
+            bytesTransferred(bytesTransferred);
+        }
+
+        @Override
+        public Builder fileLastModified(Instant fileLastModified) {
+            this.fileLastModified = fileLastModified;
+            return this;
+        }
+
+        public Instant getFileLastModified() {
+            return fileLastModified;
+        }
+
+        public void setFileLastModified(Instant fileLastModified) {
+            fileLastModified(fileLastModified);
+        }
+
+        @Override
+        public Builder totalSizeInBytes(Long totalSizeInBytes) {
+            this.totalSizeInBytes = totalSizeInBytes;
+            return this;
+        }
+
+        public Long getTotalSizeInBytes() {
+            return totalSizeInBytes;
+        }
+
+        public void setTotalSizeInBytes(Long totalSizeInBytes) {
+            totalSizeInBytes(totalSizeInBytes);
+        }
+
+        @Override
+        public Builder objectETag(String objectETag) {
+            this.objectETag = objectETag;
+            return this;
+        }
+
+        public String getObjectETag() {
+            return objectETag;
+        }
+
+        public void setObjectETag(String objectETag) {
+            objectETag(objectETag);
+        }
+
+        @Override
+        public ResumableFileDownload build() {
+            return new ResumableFileDownload(this);
+        }
+    }
+}
@@ -0,0 +1,421 @@
+/*
+ * Copyright Amazon.com, Inc. or its affiliates. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License").
+ * You may not use this file except in compliance with the License.
+ * A copy of the License is located at
+ *
+ *  http://aws.amazon.com/apache2.0
+ *
+ * or in the "license" file accompanying this file. This file is distributed
+ * on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either
+ * express or implied. See the License for the specific language governing
+ * permissions and limitations under the License.
+ */
+
+
+package software.amazon.awssdk.transfer.s3;
+
+import java.io.InvalidObjectException;
+import java.io.ObjectInputStream;
+import java.io.Serializable;
+import java.nio.file.Paths;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.function.Consumer;
+import software.amazon.awssdk.annotations.NotThreadSafe;
+import software.amazon.awssdk.annotations.SdkPreviewApi;
+import software.amazon.awssdk.annotations.SdkPublicApi;
+import software.amazon.awssdk.services.s3.model.CompletedPart;
+import software.amazon.awssdk.services.s3.model.PutObjectRequest;
+import software.amazon.awssdk.transfer.s3.internal.SdkPojoFields;
+import software.amazon.awssdk.utils.ToString;
+import software.amazon.awssdk.utils.Validate;
+import software.amazon.awssdk.utils.builder.CopyableBuilder;
+import software.amazon.awssdk.utils.builder.ToCopyableBuilder;
+
+/**
+ * The state of a paused file upload, returned by {@link FileUpload#pause()} and accepted by
+ * {@link S3TransferManager#resumeUpload(ResumableFileUpload)}.
+ * <p>
+ * For {@link UploadFileRequest#pausable() pausable} uploads that were sent as a multipart upload, the token records the
+ * multipart upload ID and the parts that had been uploaded when the transfer was paused, so that resuming it only uploads the
+ * remaining parts. It also records the size and last modified time of the source file, which are used to detect that the file
+ * changed in the meantime.
+ * <p>
+ * This class is {@link Serializable}, so the token can be persisted and the upload resumed from another process. The
+ * {@link UploadFileRequest#overrideConfiguration() override configuration} of the request, and the override configuration of
+ * its {@link PutObjectRequest}, are not serialized and should be set again on the deserialized token if needed.
+ */
+@SdkPublicApi
+@SdkPreviewApi
+public final class ResumableFileUpload implements ToCopyableBuilder<ResumableFileUpload.Builder, ResumableFileUpload>,
+                                                  Serializable {
+
+    private static final long serialVersionUID = 1L;
+
+    private final transient UploadFileRequest uploadFileRequest;
+    private final long fileLength;
+    private final Instant fileLastModified;
+    private final String multipartUploadId;
+    private final Long partSizeInBytes;
+    private final List<CompletedPart> completedParts;
+
+    private ResumableFileUpload(DefaultBuilder builder) {
+        this.uploadFileRequest = Validate.paramNotNull(builder.uploadFileRequest, "uploadFileRequest");
+        this.fileLength = Validate.paramNotNull(builder.fileLength, "fileLength");
+        this.fileLastModified = Validate.paramNotNull(builder.fileLastModified, "fileLastModified");
+        this.multipartUploadId = builder.multipartUploadId;
+        this.partSizeInBytes = Validate.isPositiveOrNull(builder.partSizeInBytes, "partSizeInBytes");
+        if (multipartUploadId != null) {
+            Validate.paramNotNull(partSizeInBytes, "partSizeInBytes");
+        }
+        this.completedParts = builder.completedParts == null
+                              ? Collections.emptyList()
+                              : Collections.unmodifiableList(new ArrayList<>(builder.completedParts));
+    }
+
+    /**
+     * @return the request of the paused upload
+     */
+    public UploadFileRequest uploadFileRequest() {
+        return uploadFileRequest;
+    }
+
+    /**
+     * @return the size of the source file, in bytes, when the upload was started
+     */
+    public long fileLength() {
+        return fileLength;
+    }
+
+    /**
+     * @return the last modified time of the source file when the upload was started
+     */
+    public Instant fileLastModified() {
+        return fileLastModified;
+    }
+
+    /**
+     * @return the ID of the multipart upload, or empty if the object was not being uploaded as a multipart upload or the
+     * upload was paused before it was created. In that case, resuming the upload starts it from the beginning.
+     */
+    public Optional<String> multipartUploadId() {
+        return Optional.ofNullable(multipartUploadId);
+    }
+
+    /**
+     * @return the size of each part of the multipart upload, in bytes
+     */
+    public Optional<Long> partSizeInBytes() {
+        return Optional.ofNullable(partSizeInBytes);
+    }
+
+    /**
+     * @return the parts of the multipart upload that had completed when the upload was paused, with their ETags
+     */
+    public List<CompletedPart> completedParts() {
+        return completedParts;
+    }
+
+    public static Builder builder() {
+        return new DefaultBuilder();
+    }
+
+    public static Class<? extends Builder> serializableBuilderClass() {
+        return DefaultBuilder.class;
+    }
+
+    @Override
+    public Builder toBuilder() {
+        return new DefaultBuilder(this);
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) {
+            return true;
+        }
+        if (o == null || getClass() != o.getClass()) {
+            return false;
+        }
+
+        ResumableFileUpload that = (ResumableFileUpload) o;
+
+        if (fileLength != that.fileLength) {
+            return false;
+        }
+        if (!Objects.equals(uploadFileRequest, that.uploadFileRequest)) {
+            return false;
+        }
+        if (!Objects.equals(fileLastModified, that.fileLastModified)) {
+            return false;
+        }
+        if (!Objects.equals(multipartUploadId, that.multipartUploadId)) {
+            return false;
+        }
+        if (!Objects.equals(partSizeInBytes, that.partSizeInBytes)) {
+            return false;
+        }
+        return Objects.equals(completedParts, that.completedParts);
+    }
+
+    @Override
+    public int hashCode() {
+        int result = uploadFileRequest != null ? uploadFileRequest.hashCode() : 0;
+        result = 31 * result + Long.hashCode(fileLength);
+        result = 31 * result + (fileLastModified != null ? fileLastModified.hashCode() : 0);
+        result = 31 * result + (multipartUploadId != null ? multipartUploadId.hashCode() : 0);
+        result = 31 * result + (partSizeInBytes != null ? partSizeInBytes.hashCode() : 0);
+        result = 31 * result + completedParts.hashCode();
+        return result;
+    }
+
+    @Override
+    public String toString() {
+        return ToString.builder("ResumableFileUpload")
+                       .add("uploadFileRequest", uploadFileRequest)
+                       .add("fileLength", fileLength)
+                       .add("fileLastModified", fileLastModified)
+                       .add("multipartUploadId", multipartUploadId)
+                       .add("partSizeInBytes", partSizeInBytes)
+                       .add("completedParts", completedParts.size())
+                       .build();
+    }
+
+    private Object writeReplace() {
+        return new SerializedForm(this);
+    }
+
+    private void readObject(ObjectInputStream in) throws InvalidObjectException {
+        throw new InvalidObjectException("ResumableFileUpload must be deserialized from its serialized form");
+    }
+
+    /**
+     * The serialized form of a {@link ResumableFileUpload}. The {@link PutObjectRequest} is stored as a map of its members, and
+     * the source as a path string.
+     */
+    private static final class SerializedForm implements Serializable {
+        private static final long serialVersionUID = 1L;
+
+        private final HashMap<String, Object> putObjectRequest;
+        private final String source;
+        private final long fileLength;
+        private final Instant fileLastModified;
+        private final String multipartUploadId;
+        private final Long partSizeInBytes;
+        private final ArrayList<CompletedPart> completedParts;
+
+        private SerializedForm(ResumableFileUpload upload) {
+            this.putObjectRequest = SdkPojoFields.toFieldMap(upload.uploadFileRequest.putObjectRequest());
+            this.source = upload.uploadFileRequest.source().toString();
+            this.fileLength = upload.fileLength;
+            this.fileLastModified = upload.fileLastModified;
+            this.multipartUploadId = upload.multipartUploadId;
+            this.partSizeInBytes = upload.partSizeInBytes;
+            this.completedParts = new ArrayList<>(upload.completedParts);
+        }
+
+        private Object readResolve() {
+            PutObjectRequest request = SdkPojoFields.applyFieldMap(PutObjectRequest.builder(), putObjectRequest)
+                                                             .build();
+            return ResumableFileUpload.builder()
+                                      .uploadFileRequest(u -> u.putObjectRequest(request).source(Paths.get(source)))
+                                      .fileLength(fileLength)
+                                      .fileLastModified(fileLastModified)
+                                      .multipartUploadId(multipartUploadId)
+                                      .partSizeInBytes(partSizeInBytes)
+                                      .completedParts(completedParts)
+                                      .build();
+        }
+    }
+
+    /**
+     * A builder for a {@link ResumableFileUpload}, created with {@link #builder()}
+     */
+    @SdkPublicApi
+    @NotThreadSafe
+    public interface Builder extends CopyableBuilder<Builder, ResumableFileUpload> {
+
+        /**
+         * The request of the paused upload.
+         *
+         * @param uploadFileRequest the upload request
+         * @return Returns a reference to this object so that method calls can be chained together.
+         */
+        Builder uploadFileRequest(UploadFileRequest uploadFileRequest);
+
+        /**
+         * The request of the paused upload.
+         *
+         * <p>
+         * This is a convenience method that creates an instance of the {@link UploadFileRequest} builder avoiding the
+         * need to create one manually via {@link UploadFileRequest#builder()}.
+         *
+         * @param uploadFileRequestBuilder the upload request consumer builder
+         * @return Returns a reference to this object so that method calls can be chained together.
+         */
+        default Builder uploadFileRequest(Consumer<UploadFileRequest.Builder> uploadFileRequestBuilder) {
+            Validate.paramNotNull(uploadFileRequestBuilder, "uploadFileRequestBuilder");
+            return uploadFileRequest(UploadFileRequest.builder()
+                                                      .applyMutation(uploadFileRequestBuilder)
+                                                      .build());
+        }
+
+        /**
+         * The size of the source file, in bytes, when the upload was started.
+         *
+         * @param fileLength the file length
+         * @return Returns a reference to this object so that method calls can be chained together.
+         */
+        Builder fileLength(Long fileLength);
+
+        /**
+         * The last modified time of the source file when the upload was started.
+         *
+         * @param fileLastModified the last modified time
+         * @return Returns a reference to this object so that method calls can be chained together.
+         */
+        Builder fileLastModified(Instant fileLastModified);
+
+        /**
+         * The ID of the multipart upload that the remaining parts should be uploaded to.
+         *
+         * @param multipartUploadId the multipart upload ID
+         * @return Returns a reference to this object so that method calls can be chained together.
+         */
+        Builder multipartUploadId(String multipartUploadId);
+
+        /**
+         * The size of each part of the multipart upload, in bytes. Required if a multipart upload ID is set.
+         *
+         * @param partSizeInBytes the part size
+         * @return Returns a reference to this object so that method calls can be chained together.
+         */
+        Builder partSizeInBytes(Long partSizeInBytes);
+
+        /**
+         * The parts of the multipart upload that have already been uploaded. Each part must have a part number and an ETag.
+         *
+         * @param completedParts the completed parts
+         * @return Returns a reference to this object so that method calls can be chained together.
+         */
+        Builder completedParts(Collection<CompletedPart> completedParts);
+    }
+
+    private static final class DefaultBuilder implements Builder {
+        private UploadFileRequest uploadFileRequest;
+        private Long fileLength;
+        private Instant fileLastModified;
+        private String multipartUploadId;
+        private Long partSizeInBytes;
+        private Collection<CompletedPart> completedParts;
+
+        private DefaultBuilder() {
+        }
+
+        private DefaultBuilder(ResumableFileUpload upload) {
+            this.uploadFileRequest = upload.uploadFileRequest;
+            this.fileLength = upload.fileLength;
+            this.fileLastModified = upload.fileLastModified;
+            this.multipartUploadId = upload.multipartUploadId;
+            this.partSizeInBytes = upload.partSizeInBytes;
+            this.completedParts = upload.completedParts;
+        }
+
+        @Override
+        public Builder uploadFileRequest(UploadFileRequest uploadFileRequest) {
+            this.uploadFileRequest = uploadFileRequest;
+            return this;
+        }
+
+        public UploadFileRequest getUploadFileRequest() {
+            return uploadFileRequest;
+        }
+
+        public void setUploadFileRequest(UploadFileRequest uploadFileRequest) {
+            uploadFileRequest(uploadFileRequest);
+        }
+
+        @Override
+        public Builder fileLength(Long fileLength) {
+            this.fileLength = fileLength;
+            return this;
+        }
+
+        public Long getFileLength() {
+            return fileLength;
+        }
+
+        public void setFileLength(Long fileLength) {
+            fileLength(fileLength);
+        }
+
+        @Override
+        public Builder fileLastModified(Instant fileLastModified) {
+            this.fileLastModified = fileLastModified;
+            return this;
+        }
+
+        public Instant getFileLastModified() {
+            return fileLastModified;
+        }
+
+        public void setFileLastModified(Instant fileLastModified) {
+            fileLastModified(fileLastModified);
+        }
+
+        @Override
+        public Builder multipartUploadId(String multipartUploadId) {
+            this.multipartUploadId = multipartUploadId;
+            return this;
+        }
+
+        public String getMultipartUploadId() {
+            return multipartUploadId;
+        }
+
+        public void setMultipartUploadId(String multipartUploadId) {
+            multipartUploadId(multipartUploadId);
+        }
+
+        @Override
+        public Builder partSizeInBytes(Long partSizeInBytes) {
+            this.partSizeInBytes = partSizeInBytes;
+            return this;
+        }
+
+        public Long getPartSizeInBytes() {
+            return partSizeInBytes;
+        }
+
+        public void setPartSizeInBytes(Long partSizeInBytes) {
+            partSizeInBytes(partSizeInBytes);
+        }
+
+        @Override
+        public Builder completedParts(Collection<CompletedPart> completedParts) {
+            this.completedParts = completedParts;
+            return this;
+        }
+
+        public Collection<CompletedPart> getCompletedParts() {
+            return completedParts;
+        }
+
+        public void setCompletedParts(Collection<CompletedPart> completedParts) {
+            completedParts(completedParts);
+        }
+
+        @Override
+        public ResumableFileUpload build() {
+            return new ResumableFileUpload(this);
+        }
+    }
+}
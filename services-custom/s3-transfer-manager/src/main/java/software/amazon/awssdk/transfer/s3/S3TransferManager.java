@@ -15,16 +15,21 @@
 
 package software.amazon.awssdk.transfer.s3;
 
+import java.nio.channels.SeekableByteChannel;
 import java.util.concurrent.CompletableFuture;
 import java.util.function.Consumer;
 import java.util.function.Function;
+import org.reactivestreams.Publisher;
 import software.amazon.awssdk.annotations.SdkPreviewApi;
 import software.amazon.awssdk.annotations.SdkPublicApi;
 import software.amazon.awssdk.core.async.AsyncRequestBody;
 import software.amazon.awssdk.core.async.AsyncResponseTransformer;
+import software.amazon.awssdk.services.s3.S3AsyncClient;
+import software.amazon.awssdk.services.s3.model.CopyObjectRequest;
 import software.amazon.awssdk.services.s3.model.GetObjectRequest;
 import software.amazon.awssdk.services.s3.model.PutObjectRequest;
 import software.amazon.awssdk.transfer.s3.internal.DefaultS3TransferManager;
+import software.amazon.awssdk.transfer.s3.progress.TransferListener;
 import software.amazon.awssdk.utils.SdkAutoCloseable;
 import software.amazon.awssdk.utils.Validate;
 
@@ -72,6 +77,17 @@ import software.amazon.awssdk.utils.Validate;
  *                       .responseTransformer(AsyncResponseTransformer.toBytes()));
  * download.completionFuture().join();
  * 
+ * // Copy an object within S3
+ * Copy copy =
+ *     tm.copy(c -> c.copyObjectRequest(r -> r.sourceBucket("source-bucket").sourceKey("source-key")
+ *                                            .destinationBucket("bucket").destinationKey("key")));
+ * copy.completionFuture().join();
+ *
+ * // Delete every object under a prefix
+ * BulkDelete delete =
+ *     tm.deleteObjects(d -> d.bucket("bucket").prefix("prefix/"));
+ * delete.completionFuture().join();
+ *
  * // Attach a TransferListener
  * FileUpload upload =
  *     tm.uploadFile(u -> u.source(Paths.get("myFile.txt"))
@@ -117,6 +133,42 @@ public interface S3TransferManager extends SdkAutoCloseable {
         return downloadFile(DownloadFileRequest.builder().applyMutation(request).build());
     }
 
+    /**
+     * Resume a file download that was paused with {@link FileDownload#pause()}.
+     * <p>
+     * Only the part of the object that had not been written to the destination file is downloaded. If the destination file was
+     * modified since the download was paused, or the object in S3 no longer has the same ETag, the download starts again from
+     * the beginning.
+     * <p>
+     * <b>Usage Example:</b>
+     * <pre>
+     * {@code
+     * FileDownload download = tm.downloadFile(d -> d.getObjectRequest(g -> g.bucket("bucket").key("key"))
+     *                                               .destination(Paths.get("myFile.txt")));
+     * ResumableFileDownload resumableFileDownload = download.pause();
+     * // Later, possibly from another process
+     * FileDownload resumedDownload = tm.resumeDownload(resumableFileDownload);
+     * resumedDownload.completionFuture().join();
+     * }
+     * </pre>
+     *
+     * @see #resumeDownload(Consumer)
+     * @see FileDownload#pause()
+     */
+    default FileDownload resumeDownload(ResumableFileDownload resumableFileDownload) {
+        throw new UnsupportedOperationException();
+    }
+
+    /**
+     * This is a convenience method that creates an instance of the {@link ResumableFileDownload} builder, avoiding the need to
+     * create one manually via {@link ResumableFileDownload#builder()}.
+     *
+     * @see #resumeDownload(ResumableFileDownload)
+     */
+    default FileDownload resumeDownload(Consumer<ResumableFileDownload.Builder> resumableFileDownload) {
+        return resumeDownload(ResumableFileDownload.builder().applyMutation(resumableFileDownload).build());
+    }
+
     /**
      * Download an object identified by the bucket and key from S3 through the given {@link AsyncResponseTransformer}.
      * <p>
@@ -185,6 +237,44 @@ public interface S3TransferManager extends SdkAutoCloseable {
         return uploadFile(UploadFileRequest.builder().applyMutation(request).build());
     }
 
+    /**
+     * Resume a file upload that was paused with {@link FileUpload#pause()}.
+     * <p>
+     * If the file was being uploaded as a {@link UploadFileRequest#pausable() pausable} multipart upload, only the parts that
+     * had not completed when the upload was paused are uploaded. If the source file was modified since the upload was started,
+     * the multipart upload is aborted and the file is uploaded again from the beginning. Otherwise, the whole file is uploaded
+     * again. The resumed upload is always pausable.
+     * <p>
+     * <b>Usage Example:</b>
+     * <pre>
+     * {@code
+     * FileUpload upload = tm.uploadFile(u -> u.source(Paths.get("myFile.txt"))
+     *                                         .putObjectRequest(p -> p.bucket("bucket").key("key"))
+     *                                         .pausable(true));
+     * ResumableFileUpload resumableFileUpload = upload.pause();
+     * // Later, possibly from another process
+     * FileUpload resumedUpload = tm.resumeUpload(resumableFileUpload);
+     * resumedUpload.completionFuture().join();
+     * }
+     * </pre>
+     *
+     * @see #resumeUpload(Consumer)
+     * @see FileUpload#pause()
+     */
+    default FileUpload resumeUpload(ResumableFileUpload resumableFileUpload) {
+        throw new UnsupportedOperationException();
+    }
+
+    /**
+     * This is a convenience method that creates an instance of the {@link ResumableFileUpload} builder, avoiding the need to
+     * create one manually via {@link ResumableFileUpload#builder()}.
+     *
+     * @see #resumeUpload(ResumableFileUpload)
+     */
+    default FileUpload resumeUpload(Consumer<ResumableFileUpload.Builder> resumableFileUpload) {
+        return resumeUpload(ResumableFileUpload.builder().applyMutation(resumableFileUpload).build());
+    }
+
     /**
      * Upload an {@link AsyncRequestBody} to S3.
      * <p>
@@ -199,6 +289,12 @@ public interface S3TransferManager extends SdkAutoCloseable {
      * }
      * </pre>
      * See the static factory methods available in {@link AsyncRequestBody} for other use cases.
+     * <p>
+     * If the content length of the request body is not known, for example a body created with
+     * {@link AsyncRequestBody#fromPublisher}, the content is uploaded as a multipart upload in parts of
+     * {@link S3ClientConfiguration#minimumPartSizeInBytes()}, buffering at most eight parts in memory at a time. Because a
+     * multipart upload has at most 10,000 parts, the part size limits the size of such an object. Content that is smaller
+     * than one part is uploaded with a single request.
      *
      * @param uploadRequest the upload request, containing a {@link PutObjectRequest} and {@link AsyncRequestBody}
      * @return An {@link Upload} that can be used to track the ongoing transfer
@@ -219,6 +315,133 @@ public interface S3TransferManager extends SdkAutoCloseable {
         return upload(UploadRequest.builder().applyMutation(request).build());
     }
 
+    /**
+     * Copy an object within S3, or between buckets, without downloading it.
+     * <p>
+     * An object that is no larger than {@link S3ClientConfiguration#minimumPartSizeInBytes()} is copied with a single
+     * {@code CopyObject} request. A larger object is copied as a multipart upload whose parts are copied by S3 in parallel with
+     * {@code UploadPartCopy}, which also allows copying objects larger than the 5 GB limit of {@code CopyObject}. The
+     * content headers, user metadata and tags of the source object are copied unless
+     * {@link CopyObjectRequest#metadataDirective()} or {@link CopyObjectRequest#taggingDirective()} is {@code REPLACE}. The
+     * source object must be identified with {@link CopyObjectRequest#sourceBucket()} and {@link CopyObjectRequest#sourceKey()}.
+     * <p>
+     * <b>Usage Example:</b>
+     * <pre>
+     * {@code
+     * Copy copy =
+     *     tm.copy(c -> c.copyObjectRequest(r -> r.sourceBucket("source-bucket")
+     *                                            .sourceKey("source-key")
+     *                                            .destinationBucket("bucket")
+     *                                            .destinationKey("key")));
+     * // Wait for the transfer to complete
+     * copy.completionFuture().join();
+     * }
+     * </pre>
+     *
+     * @param copyRequest the copy request, containing a {@link CopyObjectRequest}
+     * @return A {@link Copy} that can be used to track the ongoing transfer
+     * @see #copy(Consumer)
+     */
+    default Copy copy(CopyRequest copyRequest) {
+        throw new UnsupportedOperationException();
+    }
+
+    /**
+     * This is a convenience method that creates an instance of the {@link CopyRequest} builder, avoiding the need to create one
+     * manually via {@link CopyRequest#builder()}.
+     *
+     * @see #copy(CopyRequest)
+     */
+    default Copy copy(Consumer<CopyRequest.Builder> request) {
+        return copy(CopyRequest.builder().applyMutation(request).build());
+    }
+
+    /**
+     * Delete many objects in a bucket: either every object under a prefix, or the objects whose keys are published by a
+     * {@link Publisher}.
+     * <p>
+     * The keys are deleted in batches of up to 1000 with {@code DeleteObjects} requests, of which up to
+     * {@link BulkDeleteRequest#maxConcurrentRequests()} are in flight at the same time. Keys are read from the listing of the
+     * prefix, or from the publisher, only as fast as they are deleted. Keys that S3 reports as failed with a transient error,
+     * such as {@code SlowDown}, and batches whose request is throttled, are retried with exponential backoff. The number of
+     * objects deleted so far can be read from {@link BulkDelete#objectsDeleted()}.
+     * <p>
+     * The returned {@link CompletableFuture} only completes exceptionally if the deletion cannot be carried out as a whole,
+     * for example if the listing or the publisher of keys fails. The future completes successfully when some objects could not
+     * be deleted, so you should check for errors via {@link CompletedBulkDelete#failedDeletes()} even when the future
+     * completes successfully.
+     * <p>
+     * <b>Usage Example:</b>
+     * <pre>
+     * {@code
+     * BulkDelete delete =
+     *     tm.deleteObjects(d -> d.bucket("bucket")
+     *                            .prefix("logs/2021/"));
+     * // Wait for the deletion to complete
+     * CompletedBulkDelete completedDelete = delete.completionFuture().join();
+     * completedDelete.failedDeletes().forEach(error -> System.out.println(error.key() + ": " + error.code()));
+     * }
+     * </pre>
+     *
+     * @param bulkDeleteRequest the request identifying the objects to delete
+     * @return A {@link BulkDelete} that can be used to track the ongoing deletion
+     * @see #deleteObjects(Consumer)
+     */
+    default BulkDelete deleteObjects(BulkDeleteRequest bulkDeleteRequest) {
+        throw new UnsupportedOperationException();
+    }
+
+    /**
+     * This is a convenience method that creates an instance of the {@link BulkDeleteRequest} builder, avoiding the need to
+     * create one manually via {@link BulkDeleteRequest#builder()}.
+     *
+     * @see #deleteObjects(BulkDeleteRequest)
+     */
+    default BulkDelete deleteObjects(Consumer<BulkDeleteRequest.Builder> request) {
+        return deleteObjects(BulkDeleteRequest.builder().applyMutation(request).build());
+    }
+
+    /**
+     * Open a read-only {@link SeekableByteChannel} over an object in S3, for reading parts of the object in any order, such as
+     * the footer and then selected column chunks of a columnar file.
+     * <p>
+     * The object is fetched with ranged GETs of up to {@link S3ClientConfiguration#minimumPartSizeInBytes()}, and recently read
+     * blocks of it are cached, so reads that are near each other are served by the same request. When the object is read
+     * sequentially, the following blocks are fetched in parallel ahead of the reads, with more blocks fetched ahead the longer
+     * the reads stay sequential. All reads
+     * observe the version of the object that existed when the channel was opened, and fail if it is overwritten. A range
+     * cannot be set on the request; use {@link SeekableByteChannel#position(long)} instead. The channel is not a transfer, so
+     * it does not report progress to {@link TransferListener}s. Closing the channel cancels any outstanding requests.
+     * <p>
+     * <b>Usage Example:</b>
+     * <pre>
+     * {@code
+     * try (SeekableByteChannel channel = tm.openReadChannel(r -> r.bucket("bucket").key("key"))) {
+     *     ByteBuffer footer = ByteBuffer.allocate(8);
+     *     channel.position(channel.size() - 8);
+     *     channel.read(footer);
+     * }
+     * }
+     * </pre>
+     *
+     * @param getObjectRequest the request identifying the object to read
+     * @return a channel reading the object, which must be closed
+     * @see #openReadChannel(Consumer)
+     */
+    default SeekableByteChannel openReadChannel(GetObjectRequest getObjectRequest) {
+        throw new UnsupportedOperationException();
+    }
+
+    /**
+     * This is a convenience method that creates an instance of the {@link GetObjectRequest} builder, avoiding the need to create
+     * one manually via {@link GetObjectRequest#builder()}.
+     *
+     * @see #openReadChannel(GetObjectRequest)
+     */
+    default SeekableByteChannel openReadChannel(Consumer<GetObjectRequest.Builder> getObjectRequest) {
+        return openReadChannel(GetObjectRequest.builder().applyMutation(getObjectRequest).build());
+    }
+
     /**
      * Upload all files under the given directory to the provided S3 bucket. The key name transformation depends on the optional
      * prefix and delimiter provided in the {@link UploadDirectoryRequest}. By default, all subdirectories will be uploaded
@@ -276,6 +499,60 @@ public interface S3TransferManager extends SdkAutoCloseable {
         return uploadDirectory(UploadDirectoryRequest.builder().applyMutation(requestBuilder).build());
     }
 
+    /**
+     * Download all objects under the given prefix of the provided S3 bucket to a local directory. Each object key, with the
+     * prefix removed, is split on the delimiter provided in the {@link DownloadDirectoryRequest} to build the path of the file
+     * relative to the destination directory.
+     * <p>
+     * Listing and downloading are pipelined: pages of {@code ListObjectsV2} results are requested as downloads complete, and at
+     * most {@link DownloadDirectoryOverrideConfiguration#maxConcurrentFileDownloads()} files are downloaded at a time. Objects
+     * larger than {@link S3ClientConfiguration#minimumPartSizeInBytes()} are downloaded with parallel ranged GETs that write
+     * directly into the destination file.
+     *
+     * <p>
+     * The returned {@link CompletableFuture} only completes exceptionally if the request cannot be attempted as a whole (the
+     * objects cannot be listed for example). The future completes successfully for partial successful requests, i.e., there
+     * might be failed downloads in the successfully completed response. As a result, you should check for errors in the
+     * response via {@link CompletedDirectoryDownload#failedTransfers()} even when the future completes successfully.
+     *
+     * <p>
+     * <b>Usage Example:</b>
+     * <pre>
+     * {@code
+     * DirectoryDownload directoryDownload =
+     *       transferManager.downloadDirectory(DownloadDirectoryRequest.builder()
+     *                                                                 .destinationDirectory(Paths.get("."))
+     *                                                                 .bucket("bucket")
+     *                                                                 .prefix("prefix")
+     *                                                                 .build());
+     * // Wait for the transfer to complete
+     * CompletedDirectoryDownload completedDirectoryDownload = directoryDownload.completionFuture().join();
+     *
+     * // Print out the failed downloads
+     * completedDirectoryDownload.failedTransfers().forEach(System.out::println);
+     *
+     * }
+     * </pre>
+     *
+     * @param downloadDirectoryRequest the download directory request
+     * @see #downloadDirectory(Consumer)
+     * @see DownloadDirectoryOverrideConfiguration
+     */
+    default DirectoryDownload downloadDirectory(DownloadDirectoryRequest downloadDirectoryRequest) {
+        throw new UnsupportedOperationException();
+    }
+
+    /**
+     * This is a convenience method that creates an instance of the {@link DownloadDirectoryRequest} builder, avoiding the need
+     * to create one manually via {@link DownloadDirectoryRequest#builder()}.
+     *
+     * @see #downloadDirectory(DownloadDirectoryRequest)
+     */
+    default DirectoryDownload downloadDirectory(Consumer<DownloadDirectoryRequest.Builder> requestBuilder) {
+        Validate.paramNotNull(requestBuilder, "requestBuilder");
+        return downloadDirectory(DownloadDirectoryRequest.builder().applyMutation(requestBuilder).build());
+    }
+
     /**
      * Create an {@code S3TransferManager} using the default values.
      */
@@ -324,6 +601,25 @@ public interface S3TransferManager extends SdkAutoCloseable {
             return this;
         }
 
+        /**
+         * Use the given {@link S3AsyncClient} instead of the CRT-based S3 client. Transfers are then split into parts by the
+         * {@link S3TransferManager} itself: files larger than the part size are uploaded with a multipart upload and
+         * downloaded with parallel ranged GETs, each with a bounded number of parts in flight. This does not require the
+         * native AWS Common Runtime library, so it can be used where that library is not available.
+         *
+         * <p>
+         * When a client is set, only {@link S3ClientConfiguration#minimumPartSizeInBytes()} is read from the
+         * {@link #s3ClientConfiguration(S3ClientConfiguration) S3 client configuration}; the other values are specific to the
+         * CRT-based client and should be configured on the given client instead. The client is not closed when the
+         * {@link S3TransferManager} is closed.
+         *
+         * @param s3AsyncClient the client to transfer objects with
+         * @return Returns a reference to this object so that method calls can be chained together.
+         */
+        default Builder s3AsyncClient(S3AsyncClient s3AsyncClient) {
+            throw new UnsupportedOperationException();
+        }
+
         /**
          * Configuration settings for how {@link S3TransferManager} should process the request. The
          * {@link S3TransferManager} already provides sensible defaults. All values are optional.
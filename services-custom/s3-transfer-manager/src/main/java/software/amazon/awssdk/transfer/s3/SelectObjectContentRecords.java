@@ -0,0 +1,175 @@
+/*
+ * Copyright Amazon.com, Inc. or its affiliates. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License").
+ * You may not use this file except in compliance with the License.
+ * A copy of the License is located at
+ *
+ *  http://aws.amazon.com/apache2.0
+ *
+ * or in the "license" file accompanying this file. This file is distributed
+ * on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either
+ * express or implied. See the License for the specific language governing
+ * permissions and limitations under the License.
+ */
+
+
+package software.amazon.awssdk.transfer.s3;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import org.reactivestreams.Publisher;
+import software.amazon.awssdk.annotations.SdkPreviewApi;
+import software.amazon.awssdk.annotations.SdkPublicApi;
+import software.amazon.awssdk.core.async.SdkPublisher;
+import software.amazon.awssdk.services.s3.model.OutputSerialization;
+import software.amazon.awssdk.services.s3.model.S3Exception;
+import software.amazon.awssdk.transfer.s3.internal.RecordPublisher;
+import software.amazon.awssdk.utils.BinaryUtils;
+import software.amazon.awssdk.utils.Validate;
+
+/**
+ * Streams the records of an S3 Select result, as returned by {@code SelectObjectContent}.
+ * <p>
+ * The result of a select is a stream of events, whose {@code Records} events carry the selected records in chunks that do not
+ * line up with the records: a record may start in one event and end in the next. The publishers created here split the
+ * chunks into whole records, one per element, without the record delimiter of the output serialization. A record that lies
+ * within one chunk is published as a read-only slice of the buffer it arrived in, without being copied; only a record that
+ * straddles chunks is copied. Because of that, the publisher of the buffers must not reuse them.
+ * <p>
+ * CSV fields that are quoted may contain the record delimiter. The publishers created from the {@link OutputSerialization} of
+ * the request track the quote character of CSV output, so such a field does not split its record; the publishers created from
+ * a record delimiter alone split on every delimiter, so they suit JSON output and CSV output whose fields never contain it.
+ * <p>
+ * The publishers are backpressured: the next buffer of the result is only requested once the subscriber has requested all of
+ * the records decoded from the previous one.
+ * <p>
+ * <b>Usage Example:</b>
+ * <pre>
+ * {@code
+ * // The body of a SelectObjectContent response
+ * Publisher<ByteBuffer> eventStream = ...;
+ * SelectObjectContentRecords.lines(eventStream, selectObjectContentRequest.outputSerialization())
+ *                           .subscribe(line -> System.out.println(line))
+ *                           .join();
+ * }
+ * </pre>
+ */
+@SdkPublicApi
+@SdkPreviewApi
+public final class SelectObjectContentRecords {
+    private static final char DEFAULT_RECORD_DELIMITER = '\n';
+
+    private SelectObjectContentRecords() {
+    }
+
+    /**
+     * Publish the records of a select result, separated by newlines, from the body of a {@code SelectObjectContent} response,
+     * encoded as {@code application/vnd.amazon.eventstream}.
+     *
+     * @see #fromEventStream(Publisher, char)
+     */
+    public static SdkPublisher<ByteBuffer> fromEventStream(Publisher<ByteBuffer> eventStream) {
+        return fromEventStream(eventStream, DEFAULT_RECORD_DELIMITER);
+    }
+
+    /**
+     * Publish the records of a select result from the body of a {@code SelectObjectContent} response, encoded as
+     * {@code application/vnd.amazon.eventstream}.
+     * <p>
+     * Every message is verified against its CRC, and its records are only published once it has been verified. {@code Stats},
+     * {@code Progress} and {@code Cont} events are skipped. An error message fails the publisher with an {@link S3Exception}
+     * that carries its error code and message, after the records received before it. A body that ends before the
+     * {@code End} event fails the publisher, because the result is then incomplete.
+     *
+     * <p>
+     * Every delimiter ends a record, even within a quoted CSV field. Use {@link #fromEventStream(Publisher, OutputSerialization)}
+     * for CSV output whose fields may contain the delimiter.
+     *
+     * @param eventStream the body of the response
+     * @param recordDelimiter the record delimiter of the output serialization of the request, which must be an ASCII character
+     * @return a publisher of the records
+     */
+    public static SdkPublisher<ByteBuffer> fromEventStream(Publisher<ByteBuffer> eventStream, char recordDelimiter) {
+        Validate.paramNotNull(eventStream, "eventStream");
+        return RecordPublisher.fromEventStream(eventStream, toByte(recordDelimiter));
+    }
+
+    /**
+     * Publish the records of a select result from the body of a {@code SelectObjectContent} response, encoded as
+     * {@code application/vnd.amazon.eventstream}, split according to the output serialization of the request. A record
+     * delimiter within a quoted CSV field does not end the record.
+     *
+     * @param eventStream the body of the response
+     * @param outputSerialization the output serialization of the request, whose characters must be ASCII characters
+     * @return a publisher of the records
+     * @see #fromEventStream(Publisher, char)
+     */
+    public static SdkPublisher<ByteBuffer> fromEventStream(Publisher<ByteBuffer> eventStream,
+                                                           OutputSerialization outputSerialization) {
+        Validate.paramNotNull(eventStream, "eventStream");
+        return RecordPublisher.fromEventStream(eventStream, outputSerialization);
+    }
+
+    /**
+     * Publish the records of a select result from the payloads of its {@code Records} events, in order, such as the
+     * {@code payload} of each {@code RecordsEvent} of a select result that has already been decoded.
+     *
+     * <p>
+     * Every delimiter ends a record, even within a quoted CSV field. Use
+     * {@link #fromRecordsPayloads(Publisher, OutputSerialization)} for CSV output whose fields may contain the delimiter.
+     *
+     * @param payloads the payloads of the {@code Records} events
+     * @param recordDelimiter the record delimiter of the output serialization of the request, which must be an ASCII character
+     * @return a publisher of the records
+     */
+    public static SdkPublisher<ByteBuffer> fromRecordsPayloads(Publisher<ByteBuffer> payloads, char recordDelimiter) {
+        Validate.paramNotNull(payloads, "payloads");
+        return RecordPublisher.fromRecordsPayloads(payloads, toByte(recordDelimiter));
+    }
+
+    /**
+     * Publish the records of a select result from the payloads of its {@code Records} events, in order, split according to
+     * the output serialization of the request. A record delimiter within a quoted CSV field does not end the record.
+     *
+     * @param payloads the payloads of the {@code Records} events
+     * @param outputSerialization the output serialization of the request, whose characters must be ASCII characters
+     * @return a publisher of the records
+     */
+    public static SdkPublisher<ByteBuffer> fromRecordsPayloads(Publisher<ByteBuffer> payloads,
+                                                               OutputSerialization outputSerialization) {
+        Validate.paramNotNull(payloads, "payloads");
+        return RecordPublisher.fromRecordsPayloads(payloads, outputSerialization);
+    }
+
+    /**
+     * Publish the records of a select result, separated by newlines, as UTF-8 strings, from the body of a
+     * {@code SelectObjectContent} response. This suits JSON output, and CSV output with the default record delimiter whose
+     * fields never contain a newline.
+     *
+     * @see #fromEventStream(Publisher, char)
+     */
+    public static SdkPublisher<String> lines(Publisher<ByteBuffer> eventStream) {
+        return fromEventStream(eventStream).map(SelectObjectContentRecords::toString);
+    }
+
+    /**
+     * Publish the records of a select result as UTF-8 strings, from the body of a {@code SelectObjectContent} response, split
+     * according to the output serialization of the request.
+     *
+     * @see #fromEventStream(Publisher, OutputSerialization)
+     */
+    public static SdkPublisher<String> lines(Publisher<ByteBuffer> eventStream, OutputSerialization outputSerialization) {
+        return fromEventStream(eventStream, outputSerialization).map(SelectObjectContentRecords::toString);
+    }
+
+    private static String toString(ByteBuffer record) {
+        return new String(BinaryUtils.copyBytesFrom(record), StandardCharsets.UTF_8);
+    }
+
+    private static byte toByte(char recordDelimiter) {
+        Validate.isTrue(recordDelimiter < 0x80, "The record delimiter must be an ASCII character, but was %s",
+                        (int) recordDelimiter);
+        return (byte) recordDelimiter;
+    }
+}
@@ -22,6 +22,7 @@ import software.amazon.awssdk.annotations.SdkPublicApi;
  * Interface for all transfer directory requests.
  * 
  * @see UploadDirectoryRequest
+ * @see DownloadDirectoryRequest
  */
 @SdkPublicApi
 @SdkPreviewApi
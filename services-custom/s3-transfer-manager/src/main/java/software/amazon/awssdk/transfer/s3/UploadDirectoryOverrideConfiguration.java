@@ -41,12 +41,14 @@ public final class UploadDirectoryOverrideConfiguration implements ToCopyableBui
     private final Boolean followSymbolicLinks;
     private final Integer maxDepth;
     private final Boolean recursive;
+    private final Integer maxConcurrentFileUploads;
     private final Consumer<UploadFileRequest.Builder> uploadFileRequestTransformer;
 
     public UploadDirectoryOverrideConfiguration(DefaultBuilder builder) {
         this.followSymbolicLinks = builder.followSymbolicLinks;
         this.maxDepth = Validate.isPositiveOrNull(builder.maxDepth, "maxDepth");
         this.recursive = builder.recursive;
+        this.maxConcurrentFileUploads = Validate.isPositiveOrNull(builder.maxConcurrentFileUploads, "maxConcurrentFileUploads");
         this.uploadFileRequestTransformer = builder.uploadFileRequestTransformer;
     }
 
@@ -74,6 +76,14 @@ public final class UploadDirectoryOverrideConfiguration implements ToCopyableBui
         return Optional.ofNullable(recursive);
     }
 
+    /**
+     * @return the maximum number of files to upload concurrently
+     * @see Builder#maxConcurrentFileUploads(Integer)
+     */
+    public Optional<Integer> maxConcurrentFileUploads() {
+        return Optional.ofNullable(maxConcurrentFileUploads);
+    }
+
     /**
      * @return the optional upload request transformer
      * @see UploadDirectoryOverrideConfiguration.Builder#uploadFileRequestTransformer(Consumer)
@@ -104,6 +114,9 @@ public final class UploadDirectoryOverrideConfiguration implements ToCopyableBui
         if (!Objects.equals(maxDepth, that.maxDepth)) {
             return false;
         }
+        if (!Objects.equals(maxConcurrentFileUploads, that.maxConcurrentFileUploads)) {
+            return false;
+        }
         if (!Objects.equals(uploadFileRequestTransformer, that.uploadFileRequestTransformer)) {
             return false;
         }
@@ -115,6 +128,7 @@ public final class UploadDirectoryOverrideConfiguration implements ToCopyableBui
         int result = followSymbolicLinks != null ? followSymbolicLinks.hashCode() : 0;
         result = 31 * result + (maxDepth != null ? maxDepth.hashCode() : 0);
         result = 31 * result + (recursive != null ? recursive.hashCode() : 0);
+        result = 31 * result + (maxConcurrentFileUploads != null ? maxConcurrentFileUploads.hashCode() : 0);
         result = 31 * result + (uploadFileRequestTransformer != null ? uploadFileRequestTransformer.hashCode() : 0);
         return result;
     }
@@ -125,6 +139,7 @@ public final class UploadDirectoryOverrideConfiguration implements ToCopyableBui
                        .add("followSymbolicLinks", followSymbolicLinks)
                        .add("maxDepth", maxDepth)
                        .add("recursive", recursive)
+                       .add("maxConcurrentFileUploads", maxConcurrentFileUploads)
                        .add("uploadFileRequestTransformer", uploadFileRequestTransformer)
                        .build();
     }
@@ -173,6 +188,21 @@ public final class UploadDirectoryOverrideConfiguration implements ToCopyableBui
          */
         Builder maxDepth(Integer maxDepth);
 
+        /**
+         * Specify the maximum number of files that may be uploaded concurrently. Must be positive.
+         * <p>
+         * Files are read from the source directory lazily and only this many uploads are in flight at any time, so memory
+         * usage does not grow with the number of files in the directory. Within the files that have been read ahead but not
+         * yet started, smaller files are uploaded first.
+         *
+         * <p>
+         * Default to 100
+         *
+         * @param maxConcurrentFileUploads the maximum number of concurrent file uploads
+         * @return This builder for method chaining.
+         */
+        Builder maxConcurrentFileUploads(Integer maxConcurrentFileUploads);
+
         /**
          * Specify a function used to transform the {@link UploadFileRequest}s generated by this {@link UploadDirectoryRequest}.
          * The provided function is called once for each file that is uploaded, allowing you to modify the paths resolved by
@@ -228,12 +258,14 @@ public final class UploadDirectoryOverrideConfiguration implements ToCopyableBui
         private Boolean followSymbolicLinks;
         private Integer maxDepth;
         private Boolean recursive;
+        private Integer maxConcurrentFileUploads;
         private Consumer<UploadFileRequest.Builder> uploadFileRequestTransformer;
 
         private DefaultBuilder(UploadDirectoryOverrideConfiguration configuration) {
             this.followSymbolicLinks = configuration.followSymbolicLinks;
             this.maxDepth = configuration.maxDepth;
             this.recursive = configuration.recursive;
+            this.maxConcurrentFileUploads = configuration.maxConcurrentFileUploads;
             this.uploadFileRequestTransformer = configuration.uploadFileRequestTransformer;
         }
 
@@ -282,6 +314,20 @@ public final class UploadDirectoryOverrideConfiguration implements ToCopyableBui
             return maxDepth;
         }
 
+        @Override
+        public Builder maxConcurrentFileUploads(Integer maxConcurrentFileUploads) {
+            this.maxConcurrentFileUploads = maxConcurrentFileUploads;
+            return this;
+        }
+
+        public void setMaxConcurrentFileUploads(Integer maxConcurrentFileUploads) {
+            maxConcurrentFileUploads(maxConcurrentFileUploads);
+        }
+
+        public Integer getMaxConcurrentFileUploads() {
+            return maxConcurrentFileUploads;
+        }
+
         @Override
         public Builder uploadFileRequestTransformer(Consumer<UploadFileRequest.Builder> uploadFileRequestTransformer) {
             this.uploadFileRequestTransformer = uploadFileRequestTransformer;
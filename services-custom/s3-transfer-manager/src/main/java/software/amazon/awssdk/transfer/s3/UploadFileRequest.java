@@ -25,6 +25,7 @@ import java.util.function.Consumer;
 import software.amazon.awssdk.annotations.NotThreadSafe;
 import software.amazon.awssdk.annotations.SdkPreviewApi;
 import software.amazon.awssdk.annotations.SdkPublicApi;
+import software.amazon.awssdk.services.s3.S3AsyncClient;
 import software.amazon.awssdk.services.s3.model.PutObjectRequest;
 import software.amazon.awssdk.utils.ToString;
 import software.amazon.awssdk.utils.Validate;
@@ -44,11 +45,13 @@ public final class UploadFileRequest
     private final PutObjectRequest putObjectRequest;
     private final Path source;
     private final TransferRequestOverrideConfiguration configuration;
+    private final Boolean pausable;
 
     private UploadFileRequest(DefaultBuilder builder) {
         this.putObjectRequest = paramNotNull(builder.putObjectRequest, "putObjectRequest");
         this.source = paramNotNull(builder.source, "source");
         this.configuration = builder.configuration;
+        this.pausable = builder.pausable;
     }
 
     /**
@@ -67,6 +70,14 @@ public final class UploadFileRequest
         return source;
     }
 
+    /**
+     * @return whether the upload can be paused without losing the parts that have already been uploaded
+     * @see Builder#pausable(Boolean)
+     */
+    public Optional<Boolean> pausable() {
+        return Optional.ofNullable(pausable);
+    }
+
     /**
      * @return the optional override configuration
      * @see Builder#overrideConfiguration(TransferRequestOverrideConfiguration)
@@ -111,6 +122,9 @@ public final class UploadFileRequest
         if (!Objects.equals(source, that.source)) {
             return false;
         }
+        if (!Objects.equals(pausable, that.pausable)) {
+            return false;
+        }
         return Objects.equals(configuration, that.configuration);
     }
 
@@ -119,6 +133,7 @@ public final class UploadFileRequest
         int result = putObjectRequest != null ? putObjectRequest.hashCode() : 0;
         result = 31 * result + (source != null ? source.hashCode() : 0);
         result = 31 * result + (configuration != null ? configuration.hashCode() : 0);
+        result = 31 * result + (pausable != null ? pausable.hashCode() : 0);
         return result;
     }
 
@@ -128,6 +143,7 @@ public final class UploadFileRequest
                        .add("putObjectRequest", putObjectRequest)
                        .add("source", source)
                        .add("configuration", configuration)
+                       .add("pausable", pausable)
                        .build();
     }
 
@@ -187,6 +203,34 @@ public final class UploadFileRequest
                                                     .build());
         }
 
+        /**
+         * Configure whether the upload can be paused without losing the parts that have already been uploaded.
+         *
+         * <p>
+         * By default, files are uploaded by the CRT-based S3 client, which splits a large file into parts itself and uploads
+         * them according to {@link S3ClientConfiguration#targetThroughputInGbps()} and
+         * {@link S3ClientConfiguration#maxConcurrency()}. That upload does not expose its multipart upload, so
+         * {@link FileUpload#pause()} cancels it and {@link S3TransferManager#resumeUpload(ResumableFileUpload)} uploads the
+         * whole file again.
+         *
+         * <p>
+         * When this is {@code true}, a file larger than {@link S3ClientConfiguration#minimumPartSizeInBytes()} is instead
+         * uploaded as a multipart upload that the transfer manager sends part by part, with at most eight parts of the file in
+         * flight at a time. Pausing it keeps the uploaded parts, and resuming it only uploads the missing ones. The trade-off
+         * is throughput: the parts are sent through a regular S3 client rather than the CRT-based one, so the target
+         * throughput and maximum concurrency of the transfer manager do not apply, and large files are usually uploaded more
+         * slowly. Uploads resumed with {@link S3TransferManager#resumeUpload(ResumableFileUpload)} are always pausable. A
+         * transfer manager created with {@link S3TransferManager.Builder#s3AsyncClient(S3AsyncClient)} has no CRT-based client,
+         * so it always uploads large files this way.
+         *
+         * <p>
+         * By default, this is {@code false}.
+         *
+         * @param pausable whether the upload can be paused without losing uploaded parts
+         * @return This builder for method chaining.
+         */
+        Builder pausable(Boolean pausable);
+
         /**
          * Add an optional request override configuration.
          *
@@ -216,6 +260,7 @@ public final class UploadFileRequest
         private PutObjectRequest putObjectRequest;
         private Path source;
         private TransferRequestOverrideConfiguration configuration;
+        private Boolean pausable;
 
         private DefaultBuilder() {
         }
@@ -224,6 +269,7 @@ public final class UploadFileRequest
             this.source = uploadFileRequest.source;
             this.putObjectRequest = uploadFileRequest.putObjectRequest;
             this.configuration = uploadFileRequest.configuration;
+            this.pausable = uploadFileRequest.pausable;
         }
 
         @Override
@@ -254,6 +300,20 @@ public final class UploadFileRequest
             putObjectRequest(putObjectRequest);
         }
 
+        @Override
+        public Builder pausable(Boolean pausable) {
+            this.pausable = pausable;
+            return this;
+        }
+
+        public Boolean getPausable() {
+            return pausable;
+        }
+
+        public void setPausable(Boolean pausable) {
+            pausable(pausable);
+        }
+
         @Override
         public Builder overrideConfiguration(TransferRequestOverrideConfiguration configuration) {
             this.configuration = configuration;
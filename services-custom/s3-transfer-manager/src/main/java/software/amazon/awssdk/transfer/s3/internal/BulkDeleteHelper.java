@@ -0,0 +1,406 @@
+/*
+ * Copyright Amazon.com, Inc. or its affiliates. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License").
+ * You may not use this file except in compliance with the License.
+ * A copy of the License is located at
+ *
+ *  http://aws.amazon.com/apache2.0
+ *
+ * or in the "license" file accompanying this file. This file is distributed
+ * on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either
+ * express or implied. See the License for the specific language governing
+ * permissions and limitations under the License.
+ */
+
+
+package software.amazon.awssdk.transfer.s3.internal;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledThreadPoolExecutor;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+import org.reactivestreams.Publisher;
+import org.reactivestreams.Subscriber;
+import org.reactivestreams.Subscription;
+import software.amazon.awssdk.annotations.SdkInternalApi;
+import software.amazon.awssdk.annotations.SdkTestInternalApi;
+import software.amazon.awssdk.awscore.exception.AwsServiceException;
+import software.amazon.awssdk.core.exception.SdkServiceException;
+import software.amazon.awssdk.services.s3.S3AsyncClient;
+import software.amazon.awssdk.services.s3.model.DeleteObjectsRequest;
+import software.amazon.awssdk.services.s3.model.DeleteObjectsResponse;
+import software.amazon.awssdk.services.s3.model.ListObjectsV2Request;
+import software.amazon.awssdk.services.s3.model.ObjectIdentifier;
+import software.amazon.awssdk.services.s3.model.S3Error;
+import software.amazon.awssdk.services.s3.model.S3Object;
+import software.amazon.awssdk.services.s3.paginators.ListObjectsV2Publisher;
+import software.amazon.awssdk.transfer.s3.BulkDelete;
+import software.amazon.awssdk.transfer.s3.BulkDeleteRequest;
+import software.amazon.awssdk.transfer.s3.CompletedBulkDelete;
+import software.amazon.awssdk.transfer.s3.S3TransferManager;
+import software.amazon.awssdk.utils.CompletableFutureUtils;
+import software.amazon.awssdk.utils.Logger;
+import software.amazon.awssdk.utils.SdkAutoCloseable;
+import software.amazon.awssdk.utils.ThreadFactoryBuilder;
+
+/**
+ * An internal helper class that deletes many objects with {@code DeleteObjects} requests of up to 1000 keys each.
+ * <p>
+ * Keys are pipelined into the requests: they are requested from the listing, or from the publisher of the request, one batch
+ * at a time and only while fewer batches than the maximum number of concurrent requests are waiting to be sent, so no more than
+ * twice that number of batches are held at once. Requests are sent in quiet mode, so that a response only lists the keys that
+ * could not be deleted. Keys that S3 failed to delete with a transient error, and batches whose request was throttled or failed
+ * with a server error, are retried after an exponential backoff with full jitter. A batch waiting to be retried keeps its slot,
+ * so retries slow the deletion down rather than adding load.
+ */
+@SdkInternalApi
+final class BulkDeleteHelper implements SdkAutoCloseable {
+    static final int MAX_KEYS_PER_REQUEST = 1000;
+    static final int DEFAULT_MAX_CONCURRENT_REQUESTS = 16;
+
+    /**
+     * The maximum number of times a key is sent in a {@code DeleteObjects} request.
+     */
+    static final int MAX_ATTEMPTS = 5;
+
+    private static final Duration DEFAULT_BASE_RETRY_DELAY = Duration.ofMillis(200);
+    private static final Set<String> RETRYABLE_ERROR_CODES =
+        Collections.unmodifiableSet(new HashSet<>(Arrays.asList("InternalError", "ServiceUnavailable", "SlowDown")));
+    private static final Logger log = Logger.loggerFor(S3TransferManager.class);
+
+    private final S3AsyncClient s3AsyncClient;
+    private final long baseRetryDelayMillis;
+    private final ScheduledThreadPoolExecutor retryScheduler;
+
+    BulkDeleteHelper(S3AsyncClient s3AsyncClient) {
+        this(s3AsyncClient, DEFAULT_BASE_RETRY_DELAY);
+    }
+
+    @SdkTestInternalApi
+    BulkDeleteHelper(S3AsyncClient s3AsyncClient, Duration baseRetryDelay) {
+        this.s3AsyncClient = s3AsyncClient;
+        this.baseRetryDelayMillis = baseRetryDelay.toMillis();
+        this.retryScheduler = new ScheduledThreadPoolExecutor(1, new ThreadFactoryBuilder()
+            .threadNamePrefix("s3-transfer-manager-bulk-delete").build());
+        // The thread is only started by the first retry, and stops once no retries are waiting
+        retryScheduler.setKeepAliveTime(60, TimeUnit.SECONDS);
+        retryScheduler.allowCoreThreadTimeOut(true);
+    }
+
+    BulkDelete deleteObjects(BulkDeleteRequest bulkDeleteRequest) {
+        CompletableFuture<CompletedBulkDelete> returnFuture = new CompletableFuture<>();
+        DeleteDispatcher dispatcher = new DeleteDispatcher(bulkDeleteRequest, returnFuture);
+
+        try {
+            DefaultS3TransferManager.assertNotUnsupportedArn(bulkDeleteRequest.bucket(), "deleteObjects");
+            keys(bulkDeleteRequest).subscribe(dispatcher);
+        } catch (Throwable throwable) {
+            returnFuture.completeExceptionally(throwable);
+        }
+
+        return new DefaultBulkDelete(returnFuture, dispatcher.objectsDeleted, dispatcher.objectsFailed);
+    }
+
+    private Publisher<String> keys(BulkDeleteRequest bulkDeleteRequest) {
+        if (bulkDeleteRequest.keys().isPresent()) {
+            return bulkDeleteRequest.keys().get();
+        }
+        ListObjectsV2Request listRequest = ListObjectsV2Request.builder()
+                                                               .bucket(bulkDeleteRequest.bucket())
+                                                               .prefix(bulkDeleteRequest.prefix().orElse(null))
+                                                               .build();
+        return new ListObjectsV2Publisher(s3AsyncClient, listRequest).contents().map(S3Object::key);
+    }
+
+    /**
+     * The delay before the given attempt of a batch, drawn uniformly between zero and a ceiling that doubles with each attempt.
+     */
+    private long retryDelayMillis(int attempt) {
+        long ceiling = baseRetryDelayMillis << (attempt - 2);
+        return ThreadLocalRandom.current().nextLong(ceiling + 1);
+    }
+
+    private static boolean isRetryable(Throwable throwable) {
+        if (!(throwable instanceof SdkServiceException)) {
+            return false;
+        }
+        SdkServiceException exception = (SdkServiceException) throwable;
+        return exception.isThrottlingException() || exception.statusCode() >= 500;
+    }
+
+    private static String errorCode(Throwable throwable) {
+        if (throwable instanceof AwsServiceException) {
+            AwsServiceException exception = (AwsServiceException) throwable;
+            if (exception.awsErrorDetails() != null && exception.awsErrorDetails().errorCode() != null) {
+                return exception.awsErrorDetails().errorCode();
+            }
+        }
+        return throwable.getClass().getSimpleName();
+    }
+
+    @Override
+    public void close() {
+        // Retries that are already waiting still run, and fail if the client has been closed
+        retryScheduler.shutdown();
+    }
+
+    /**
+     * The keys sent in one {@code DeleteObjects} request, and how many times they have been sent.
+     */
+    private static final class Batch {
+        private final List<ObjectIdentifier> objects;
+        private final int attempt;
+
+        private Batch(List<ObjectIdentifier> objects, int attempt) {
+            this.objects = objects;
+            this.attempt = attempt;
+        }
+    }
+
+    /**
+     * Batches the published keys and sends the batches while keeping at most {@code maxConcurrentRequests} requests in
+     * flight, requesting the next batch of keys only when the batches waiting to be sent run low.
+     * <p>
+     * {@link #drain()} may be invoked concurrently from the publisher, from the completion of any request and from a retry;
+     * the work-in-progress counter guarantees that only one thread at a time sends batches or requests keys.
+     */
+    private final class DeleteDispatcher implements Subscriber<String> {
+        private final String bucket;
+        private final int maxConcurrentRequests;
+        private final CompletableFuture<CompletedBulkDelete> returnFuture;
+        private final ConcurrentLinkedQueue<Batch> pendingBatches = new ConcurrentLinkedQueue<>();
+        private final AtomicInteger pendingCount = new AtomicInteger();
+        private final Set<CompletableFuture<DeleteObjectsResponse>> inFlightFutures = ConcurrentHashMap.newKeySet();
+        private final AtomicInteger inFlightCount = new AtomicInteger();
+        private final AtomicInteger workInProgress = new AtomicInteger();
+        private final LongAdder objectsDeleted = new LongAdder();
+        private final LongAdder objectsFailed = new LongAdder();
+        private final Collection<S3Error> failedDeletes = new ConcurrentLinkedQueue<>();
+        private List<ObjectIdentifier> currentBatch = new ArrayList<>(MAX_KEYS_PER_REQUEST);
+        private int keysRemaining;
+        private volatile Subscription subscription;
+        private volatile boolean keysRequested;
+        private volatile boolean keysComplete;
+        private volatile Throwable failure;
+        private boolean terminated;
+
+        private DeleteDispatcher(BulkDeleteRequest bulkDeleteRequest,
+                                 CompletableFuture<CompletedBulkDelete> returnFuture) {
+            this.bucket = bulkDeleteRequest.bucket();
+            this.maxConcurrentRequests = bulkDeleteRequest.maxConcurrentRequests().orElse(DEFAULT_MAX_CONCURRENT_REQUESTS);
+            this.returnFuture = returnFuture;
+
+            returnFuture.whenComplete((r, t) -> {
+                if (t != null) {
+                    // Forward cancellation of the return future to the publisher and all in-flight requests.
+                    failure = t;
+                    drain();
+                }
+            });
+        }
+
+        @Override
+        public void onSubscribe(Subscription s) {
+            if (subscription != null) {
+                s.cancel();
+                return;
+            }
+            subscription = s;
+            drain();
+        }
+
+        @Override
+        public void onNext(String key) {
+            currentBatch.add(ObjectIdentifier.builder().key(key).build());
+            if (--keysRemaining == 0) {
+                flushBatch();
+                keysRequested = false;
+                drain();
+            }
+        }
+
+        @Override
+        public void onError(Throwable t) {
+            keysComplete = true;
+            returnFuture.completeExceptionally(t);
+        }
+
+        @Override
+        public void onComplete() {
+            flushBatch();
+            keysComplete = true;
+            drain();
+        }
+
+        private void flushBatch() {
+            if (!currentBatch.isEmpty()) {
+                pendingBatches.add(new Batch(currentBatch, 1));
+                pendingCount.incrementAndGet();
+                currentBatch = new ArrayList<>(MAX_KEYS_PER_REQUEST);
+            }
+        }
+
+        private void drain() {
+            if (workInProgress.getAndIncrement() != 0) {
+                return;
+            }
+            do {
+                try {
+                    if (failure != null) {
+                        terminate();
+                        inFlightFutures.forEach(f -> f.completeExceptionally(failure));
+                    } else {
+                        dispatch();
+                    }
+                } catch (Throwable t) {
+                    returnFuture.completeExceptionally(t);
+                }
+            } while (workInProgress.decrementAndGet() != 0);
+        }
+
+        private void dispatch() {
+            while (inFlightCount.get() < maxConcurrentRequests) {
+                Batch next = pendingBatches.poll();
+                if (next == null) {
+                    break;
+                }
+                pendingCount.decrementAndGet();
+                inFlightCount.incrementAndGet();
+                send(next);
+            }
+
+            if (!keysComplete && !keysRequested && subscription != null && pendingCount.get() < maxConcurrentRequests) {
+                keysRequested = true;
+                keysRemaining = MAX_KEYS_PER_REQUEST;
+                subscription.request(MAX_KEYS_PER_REQUEST);
+            }
+
+            if (keysComplete && pendingCount.get() == 0 && inFlightCount.get() == 0 && !terminated) {
+                terminated = true;
+                returnFuture.complete(CompletedBulkDelete.builder()
+                                                         .objectsDeleted(objectsDeleted.sum())
+                                                         .failedDeletes(failedDeletes)
+                                                         .build());
+            }
+        }
+
+        private void terminate() {
+            if (!terminated) {
+                terminated = true;
+                if (!keysComplete && subscription != null) {
+                    subscription.cancel();
+                }
+                pendingBatches.clear();
+                pendingCount.set(0);
+            }
+        }
+
+        private void send(Batch batch) {
+            DeleteObjectsRequest request = DeleteObjectsRequest.builder()
+                                                               .bucket(bucket)
+                                                               .delete(d -> d.objects(batch.objects).quiet(true))
+                                                               .build();
+            CompletableFuture<DeleteObjectsResponse> future;
+            try {
+                future = s3AsyncClient.deleteObjects(request);
+            } catch (Throwable t) {
+                future = CompletableFutureUtils.failedFuture(t);
+            }
+            inFlightFutures.add(future);
+
+            CompletableFuture<DeleteObjectsResponse> requestFuture = future;
+            future.whenComplete((r, t) -> {
+                inFlightFutures.remove(requestFuture);
+                List<ObjectIdentifier> retries = t == null ? deleted(batch, r) : requestFailed(batch, t);
+                if (retries.isEmpty()) {
+                    inFlightCount.decrementAndGet();
+                    drain();
+                } else {
+                    retryLater(new Batch(retries, batch.attempt + 1));
+                }
+            });
+        }
+
+        /**
+         * Records the outcome of each key of a request that succeeded, and returns the keys to retry.
+         */
+        private List<ObjectIdentifier> deleted(Batch batch, DeleteObjectsResponse response) {
+            List<ObjectIdentifier> retries = new ArrayList<>();
+            for (S3Error error : response.errors()) {
+                if (batch.attempt < MAX_ATTEMPTS && RETRYABLE_ERROR_CODES.contains(error.code())) {
+                    retries.add(ObjectIdentifier.builder().key(error.key()).versionId(error.versionId()).build());
+                } else {
+                    failedDeletes.add(error);
+                    objectsFailed.increment();
+                }
+            }
+            objectsDeleted.add(batch.objects.size() - response.errors().size());
+            return retries;
+        }
+
+        /**
+         * Records the failure of a request that failed as a whole, unless it should be retried, and returns the keys to retry.
+         */
+        private List<ObjectIdentifier> requestFailed(Batch batch, Throwable throwable) {
+            Throwable cause = throwable instanceof CompletionException && throwable.getCause() != null
+                              ? throwable.getCause()
+                              : throwable;
+            if (failure != null) {
+                return Collections.emptyList();
+            }
+            if (batch.attempt < MAX_ATTEMPTS && isRetryable(cause)) {
+                log.debug(() -> String.format("Retrying the deletion of %d objects after attempt %d failed",
+                                              batch.objects.size(), batch.attempt), cause);
+                return batch.objects;
+            }
+            failAll(batch, cause);
+            return Collections.emptyList();
+        }
+
+        private void failAll(Batch batch, Throwable cause) {
+            String code = errorCode(cause);
+            for (ObjectIdentifier object : batch.objects) {
+                failedDeletes.add(S3Error.builder()
+                                         .key(object.key())
+                                         .versionId(object.versionId())
+                                         .code(code)
+                                         .message(cause.getMessage())
+                                         .build());
+            }
+            objectsFailed.add(batch.objects.size());
+        }
+
+        private void retryLater(Batch batch) {
+            try {
+                retryScheduler.schedule(() -> {
+                    if (failure != null) {
+                        inFlightCount.decrementAndGet();
+                        drain();
+                        return;
+                    }
+                    send(batch);
+                }, retryDelayMillis(batch.attempt), TimeUnit.MILLISECONDS);
+            } catch (RejectedExecutionException e) {
+                // The transfer manager has been closed
+                failAll(batch, e);
+                inFlightCount.decrementAndGet();
+                drain();
+            }
+        }
+    }
+}
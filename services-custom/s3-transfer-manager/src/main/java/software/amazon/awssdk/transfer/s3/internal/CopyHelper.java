@@ -0,0 +1,405 @@
+/*
+ * Copyright Amazon.com, Inc. or its affiliates. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License").
+ * You may not use this file except in compliance with the License.
+ * A copy of the License is located at
+ *
+ *  http://aws.amazon.com/apache2.0
+ *
+ * or in the "license" file accompanying this file. This file is distributed
+ * on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either
+ * express or implied. See the License for the specific language governing
+ * permissions and limitations under the License.
+ */
+
+
+package software.amazon.awssdk.transfer.s3.internal;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Queue;
+import java.util.Set;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.stream.Collectors;
+import software.amazon.awssdk.annotations.SdkInternalApi;
+import software.amazon.awssdk.services.s3.S3AsyncClient;
+import software.amazon.awssdk.services.s3.model.AbortMultipartUploadRequest;
+import software.amazon.awssdk.services.s3.model.CompleteMultipartUploadRequest;
+import software.amazon.awssdk.services.s3.model.CompleteMultipartUploadResponse;
+import software.amazon.awssdk.services.s3.model.CompletedPart;
+import software.amazon.awssdk.services.s3.model.CopyObjectRequest;
+import software.amazon.awssdk.services.s3.model.CopyObjectResponse;
+import software.amazon.awssdk.services.s3.model.CreateMultipartUploadRequest;
+import software.amazon.awssdk.services.s3.model.CreateMultipartUploadResponse;
+import software.amazon.awssdk.services.s3.model.GetObjectTaggingRequest;
+import software.amazon.awssdk.services.s3.model.GetObjectTaggingResponse;
+import software.amazon.awssdk.services.s3.model.HeadObjectRequest;
+import software.amazon.awssdk.services.s3.model.HeadObjectResponse;
+import software.amazon.awssdk.services.s3.model.MetadataDirective;
+import software.amazon.awssdk.services.s3.model.TaggingDirective;
+import software.amazon.awssdk.services.s3.model.UploadPartCopyRequest;
+import software.amazon.awssdk.services.s3.model.UploadPartCopyResponse;
+import software.amazon.awssdk.transfer.s3.CompletedCopy;
+import software.amazon.awssdk.transfer.s3.Copy;
+import software.amazon.awssdk.transfer.s3.CopyRequest;
+import software.amazon.awssdk.transfer.s3.internal.progress.TransferProgressUpdater;
+import software.amazon.awssdk.utils.CompletableFutureUtils;
+import software.amazon.awssdk.utils.Logger;
+import software.amazon.awssdk.utils.Validate;
+import software.amazon.awssdk.utils.http.SdkHttpUtils;
+
+/**
+ * An internal helper class that copies an object within S3.
+ * <p>
+ * An object that is no larger than the part size is copied with a single {@code CopyObject} request. A larger object is copied
+ * as a multipart upload whose parts are byte ranges of the source copied by S3 with {@code UploadPartCopy}, up to
+ * {@link MultipartFileUploadHelper#MAX_PARTS_IN_FLIGHT_PER_OBJECT} at a time, so that no content passes through the client and
+ * objects above the 5 GB limit of {@code CopyObject} can be copied. Every part is pinned to the ETag of the source with
+ * {@code x-amz-copy-source-if-match}, so a source that is overwritten during the copy fails the copy rather than producing a mix
+ * of both versions. As with {@code CopyObject}, the metadata and tags of the source are copied unless the request replaces them.
+ * If the copy fails or is cancelled, the multipart upload is aborted.
+ */
+@SdkInternalApi
+final class CopyHelper {
+    private static final Logger log = Logger.loggerFor(CopyHelper.class);
+
+    /**
+     * The members that {@code CopyObject} copies from the source object unless the metadata directive is {@code REPLACE}.
+     */
+    private static final Set<String> SOURCE_METADATA_FIELDS = new HashSet<>(Arrays.asList(
+        "CacheControl", "ContentDisposition", "ContentEncoding", "ContentLanguage", "ContentType", "Expires", "Metadata"));
+
+    private final S3AsyncClient s3AsyncClient;
+    private final long partSizeInBytes;
+
+    CopyHelper(S3AsyncClient s3AsyncClient, long partSizeInBytes) {
+        this.s3AsyncClient = s3AsyncClient;
+        this.partSizeInBytes = partSizeInBytes;
+    }
+
+    Copy copy(CopyRequest copyRequest) {
+        ObjectCopy copy = new ObjectCopy(copyRequest);
+        copy.start();
+        return new DefaultCopy(copy.returnFuture, copy.progressUpdater.progress());
+    }
+
+    /**
+     * @return the part size of a multipart copy of an object of the given size, which is increased if needed to copy the object
+     * in at most {@link MultipartFileUploadHelper#MAX_PART_COUNT} parts
+     */
+    static long partSize(long minimumPartSize, long objectSize) {
+        long partCount = MultipartFileUploadHelper.MAX_PART_COUNT;
+        return Math.max(minimumPartSize, (objectSize + partCount - 1) / partCount);
+    }
+
+    /**
+     * The {@code HeadObject} request for the source of the given copy, with the same preconditions.
+     */
+    static HeadObjectRequest toHeadObjectRequest(CopyObjectRequest copyObjectRequest) {
+        HeadObjectRequest.Builder builder =
+            HeadObjectRequest.builder()
+                             .bucket(copyObjectRequest.sourceBucket())
+                             .key(copyObjectRequest.sourceKey())
+                             .versionId(copyObjectRequest.sourceVersionId())
+                             .ifMatch(copyObjectRequest.copySourceIfMatch())
+                             .ifNoneMatch(copyObjectRequest.copySourceIfNoneMatch())
+                             .ifModifiedSince(copyObjectRequest.copySourceIfModifiedSince())
+                             .ifUnmodifiedSince(copyObjectRequest.copySourceIfUnmodifiedSince())
+                             .sseCustomerAlgorithm(copyObjectRequest.copySourceSSECustomerAlgorithm())
+                             .sseCustomerKey(copyObjectRequest.copySourceSSECustomerKey())
+                             .sseCustomerKeyMD5(copyObjectRequest.copySourceSSECustomerKeyMD5())
+                             .requestPayer(copyObjectRequest.requestPayerAsString())
+                             .expectedBucketOwner(copyObjectRequest.expectedSourceBucketOwner());
+        copyObjectRequest.overrideConfiguration().ifPresent(builder::overrideConfiguration);
+        return builder.build();
+    }
+
+    /**
+     * The {@code CreateMultipartUpload} request for the destination of the given copy. The content headers and user metadata are
+     * those of the source object unless the metadata directive is {@code REPLACE}, and the tags are the given tags of the source
+     * object unless the tagging directive is {@code REPLACE}.
+     */
+    static CreateMultipartUploadRequest toCreateMultipartUploadRequest(CopyObjectRequest copyObjectRequest,
+                                                                       HeadObjectResponse source,
+                                                                       String sourceTagging) {
+        Map<String, Object> fields = SdkPojoFields.toFieldMap(copyObjectRequest);
+        if (copyObjectRequest.metadataDirective() != MetadataDirective.REPLACE) {
+            fields.keySet().removeAll(SOURCE_METADATA_FIELDS);
+            Map<String, Object> sourceFields = SdkPojoFields.toFieldMap(source);
+            sourceFields.keySet().retainAll(SOURCE_METADATA_FIELDS);
+            fields.putAll(sourceFields);
+        }
+        if (copyObjectRequest.taggingDirective() != TaggingDirective.REPLACE) {
+            fields.remove("Tagging");
+            if (sourceTagging != null) {
+                fields.put("Tagging", sourceTagging);
+            }
+        }
+
+        CreateMultipartUploadRequest.Builder builder =
+            SdkPojoFields.applyFieldMap(CreateMultipartUploadRequest.builder(), fields)
+                         .bucket(copyObjectRequest.destinationBucket())
+                         .key(copyObjectRequest.destinationKey());
+        copyObjectRequest.overrideConfiguration().ifPresent(builder::overrideConfiguration);
+        return builder.build();
+    }
+
+    static UploadPartCopyRequest toUploadPartCopyRequest(CopyObjectRequest copyObjectRequest, String sourceETag,
+                                                         String uploadId, int partNumber, long offset, long length) {
+        UploadPartCopyRequest.Builder builder =
+            UploadPartCopyRequest.builder()
+                                 .sourceBucket(copyObjectRequest.sourceBucket())
+                                 .sourceKey(copyObjectRequest.sourceKey())
+                                 .sourceVersionId(copyObjectRequest.sourceVersionId())
+                                 .destinationBucket(copyObjectRequest.destinationBucket())
+                                 .destinationKey(copyObjectRequest.destinationKey())
+                                 .uploadId(uploadId)
+                                 .partNumber(partNumber)
+                                 .copySourceRange("bytes=" + offset + "-" + (offset + length - 1))
+                                 .copySourceIfMatch(sourceETag)
+                                 .sseCustomerAlgorithm(copyObjectRequest.sseCustomerAlgorithm())
+                                 .sseCustomerKey(copyObjectRequest.sseCustomerKey())
+                                 .sseCustomerKeyMD5(copyObjectRequest.sseCustomerKeyMD5())
+                                 .copySourceSSECustomerAlgorithm(copyObjectRequest.copySourceSSECustomerAlgorithm())
+                                 .copySourceSSECustomerKey(copyObjectRequest.copySourceSSECustomerKey())
+                                 .copySourceSSECustomerKeyMD5(copyObjectRequest.copySourceSSECustomerKeyMD5())
+                                 .requestPayer(copyObjectRequest.requestPayerAsString())
+                                 .expectedBucketOwner(copyObjectRequest.expectedBucketOwner())
+                                 .expectedSourceBucketOwner(copyObjectRequest.expectedSourceBucketOwner());
+        copyObjectRequest.overrideConfiguration().ifPresent(builder::overrideConfiguration);
+        return builder.build();
+    }
+
+    /**
+     * The response of an object that was copied in parts, which carries the ETag of the new object like the response of
+     * {@code CopyObject}.
+     */
+    static CopyObjectResponse toCopyObjectResponse(CompleteMultipartUploadResponse response, HeadObjectResponse source) {
+        return SdkPojoFields.applyFieldMap(CopyObjectResponse.builder(), SdkPojoFields.toFieldMap(response))
+                            .copyObjectResult(r -> r.eTag(response.eTag()))
+                            .copySourceVersionId(source.versionId())
+                            .build();
+    }
+
+    /**
+     * @return the given tags in the form of the {@code x-amz-tagging} header, or null if there are none
+     */
+    static String toTagging(GetObjectTaggingResponse response) {
+        if (!response.hasTagSet() || response.tagSet().isEmpty()) {
+            return null;
+        }
+        return response.tagSet()
+                       .stream()
+                       .map(t -> SdkHttpUtils.urlEncode(t.key()) + "=" + SdkHttpUtils.urlEncode(t.value()))
+                       .collect(Collectors.joining("&"));
+    }
+
+    /**
+     * The state of one copy.
+     */
+    private final class ObjectCopy {
+        private final CopyObjectRequest copyObjectRequest;
+        private final TransferProgressUpdater progressUpdater;
+        private final CompletableFuture<CompletedCopy> returnFuture = new CompletableFuture<>();
+        private final ConcurrentMap<Integer, CompletedPart> completedParts = new ConcurrentHashMap<>();
+        private final Queue<Integer> remainingParts = new ConcurrentLinkedQueue<>();
+        private final Set<CompletableFuture<?>> inFlightRequests = ConcurrentHashMap.newKeySet();
+        private final AtomicBoolean abortScheduled = new AtomicBoolean();
+        private volatile CompletableFuture<String> uploadIdFuture;
+
+        private ObjectCopy(CopyRequest copyRequest) {
+            this.copyObjectRequest = copyRequest.copyObjectRequest();
+            this.progressUpdater = new TransferProgressUpdater(copyRequest, null);
+        }
+
+        private void start() {
+            progressUpdater.transferInitiated();
+            progressUpdater.registerCompletion(returnFuture);
+            returnFuture.whenComplete((r, t) -> {
+                if (t != null) {
+                    onFailure();
+                }
+            });
+
+            try {
+                Validate.notNull(copyObjectRequest.sourceBucket(), "The source of the copy must be specified with sourceBucket "
+                                                                   + "and sourceKey instead of copySource");
+                Validate.notNull(copyObjectRequest.sourceKey(), "The source of the copy must be specified with sourceKey");
+                CompletableFuture<HeadObjectResponse> headFuture =
+                    track(s3AsyncClient.headObject(toHeadObjectRequest(copyObjectRequest)));
+                headFuture.thenCompose(this::copyObject)
+                          .whenComplete((r, t) -> {
+                              if (t != null) {
+                                  returnFuture.completeExceptionally(MultipartFileUploadHelper.unwrap(t));
+                              } else {
+                                  returnFuture.complete(CompletedCopy.builder().response(r).build());
+                              }
+                          });
+            } catch (Throwable t) {
+                returnFuture.completeExceptionally(t);
+            }
+        }
+
+        private CompletableFuture<CopyObjectResponse> copyObject(HeadObjectResponse source) {
+            long objectSize = source.contentLength();
+            progressUpdater.transferSizeInBytes(objectSize);
+            if (objectSize <= partSizeInBytes) {
+                return track(s3AsyncClient.copyObject(copyObjectRequest)).thenApply(response -> {
+                    progressUpdater.incrementBytesTransferred(objectSize);
+                    return response;
+                });
+            }
+
+            long partSize = partSize(partSizeInBytes, objectSize);
+            int partCount = (int) ((objectSize + partSize - 1) / partSize);
+            for (int partNumber = 1; partNumber <= partCount; partNumber++) {
+                remainingParts.add(partNumber);
+            }
+
+            CompletableFuture<String> sourceTagging = copyObjectRequest.taggingDirective() == TaggingDirective.REPLACE
+                                                      ? CompletableFuture.completedFuture(null)
+                                                      : track(s3AsyncClient.getObjectTagging(toGetObjectTaggingRequest()))
+                                                          .thenApply(CopyHelper::toTagging);
+            // The create request is not tracked: cancelling it could still leave an upload behind, without telling us its ID.
+            // Instead, onFailure aborts the upload once its ID is received.
+            CompletableFuture<String> createFuture =
+                sourceTagging.thenCompose(tagging -> createMultipartUpload(source, tagging))
+                             .thenApply(CreateMultipartUploadResponse::uploadId);
+            uploadIdFuture = createFuture;
+            if (returnFuture.isDone()) {
+                // Cancelled while the upload was being created, which onFailure could not see
+                onFailure();
+            }
+
+            return createFuture.thenCompose(uploadId -> copyParts(uploadId, source, objectSize, partSize))
+                               .thenCompose(this::completeMultipartUpload)
+                               .thenApply(response -> toCopyObjectResponse(response, source));
+        }
+
+        private CompletableFuture<CreateMultipartUploadResponse> createMultipartUpload(HeadObjectResponse source,
+                                                                                        String tagging) {
+            if (returnFuture.isDone()) {
+                return CompletableFutureUtils.failedFuture(new CancellationException("The copy has already completed"));
+            }
+            return s3AsyncClient.createMultipartUpload(toCreateMultipartUploadRequest(copyObjectRequest, source, tagging));
+        }
+
+        private CompletableFuture<CompleteMultipartUploadResponse> completeMultipartUpload(String uploadId) {
+            if (returnFuture.isDone()) {
+                // Cancelled before the parts were copied, so the upload is being aborted instead
+                return CompletableFutureUtils.failedFuture(new CancellationException("The copy has already completed"));
+            }
+            return track(s3AsyncClient.completeMultipartUpload(toCompleteMultipartUploadRequest(uploadId)));
+        }
+
+        private GetObjectTaggingRequest toGetObjectTaggingRequest() {
+            GetObjectTaggingRequest.Builder builder =
+                GetObjectTaggingRequest.builder()
+                                       .bucket(copyObjectRequest.sourceBucket())
+                                       .key(copyObjectRequest.sourceKey())
+                                       .versionId(copyObjectRequest.sourceVersionId())
+                                       .requestPayer(copyObjectRequest.requestPayerAsString())
+                                       .expectedBucketOwner(copyObjectRequest.expectedSourceBucketOwner());
+            copyObjectRequest.overrideConfiguration().ifPresent(builder::overrideConfiguration);
+            return builder.build();
+        }
+
+        private CompletableFuture<String> copyParts(String uploadId, HeadObjectResponse source, long objectSize, long partSize) {
+            int workerCount = Math.min(MultipartFileUploadHelper.MAX_PARTS_IN_FLIGHT_PER_OBJECT, remainingParts.size());
+            CompletableFuture<?>[] workers = new CompletableFuture<?>[workerCount];
+            for (int i = 0; i < workerCount; i++) {
+                CompletableFuture<Void> worker = copyNextPart(uploadId, source.eTag(), objectSize, partSize);
+                // Fail the copy as soon as any part fails, instead of waiting for the other workers
+                worker.whenComplete((r, t) -> {
+                    if (t != null) {
+                        returnFuture.completeExceptionally(MultipartFileUploadHelper.unwrap(t));
+                    }
+                });
+                workers[i] = worker;
+            }
+            return CompletableFuture.allOf(workers).thenApply(ignored -> uploadId);
+        }
+
+        private CompletableFuture<Void> copyNextPart(String uploadId, String sourceETag, long objectSize, long partSize) {
+            Integer partNumber = remainingParts.poll();
+            if (partNumber == null || returnFuture.isDone()) {
+                return CompletableFuture.completedFuture(null);
+            }
+
+            long offset = (partNumber - 1) * partSize;
+            long length = Math.min(partSize, objectSize - offset);
+            CompletableFuture<UploadPartCopyResponse> partFuture = track(s3AsyncClient.uploadPartCopy(
+                toUploadPartCopyRequest(copyObjectRequest, sourceETag, uploadId, partNumber, offset, length)));
+            return partFuture.thenCompose(response -> {
+                completedParts.put(partNumber, CompletedPart.builder()
+                                                            .partNumber(partNumber)
+                                                            .eTag(response.copyPartResult().eTag())
+                                                            .build());
+                progressUpdater.incrementBytesTransferred(length);
+                return copyNextPart(uploadId, sourceETag, objectSize, partSize);
+            });
+        }
+
+        private CompleteMultipartUploadRequest toCompleteMultipartUploadRequest(String uploadId) {
+            List<CompletedPart> parts = new ArrayList<>(completedParts.values());
+            parts.sort(Comparator.comparing(CompletedPart::partNumber));
+            CompleteMultipartUploadRequest.Builder builder =
+                CompleteMultipartUploadRequest.builder()
+                                              .bucket(copyObjectRequest.destinationBucket())
+                                              .key(copyObjectRequest.destinationKey())
+                                              .uploadId(uploadId)
+                                              .multipartUpload(m -> m.parts(parts))
+                                              .requestPayer(copyObjectRequest.requestPayerAsString())
+                                              .expectedBucketOwner(copyObjectRequest.expectedBucketOwner());
+            copyObjectRequest.overrideConfiguration().ifPresent(builder::overrideConfiguration);
+            return builder.build();
+        }
+
+        /**
+         * Remember the given request so that it is cancelled if the copy fails or is cancelled.
+         */
+        private <T> CompletableFuture<T> track(CompletableFuture<T> requestFuture) {
+            inFlightRequests.add(requestFuture);
+            requestFuture.whenComplete((r, t) -> inFlightRequests.remove(requestFuture));
+            if (returnFuture.isDone()) {
+                requestFuture.cancel(true);
+            }
+            return requestFuture;
+        }
+
+        private void onFailure() {
+            inFlightRequests.forEach(f -> f.cancel(true));
+            CompletableFuture<String> createFuture = uploadIdFuture;
+            if (createFuture != null && abortScheduled.compareAndSet(false, true)) {
+                // If the upload is created after all, it is aborted as soon as its ID is received
+                createFuture.thenAccept(this::abortMultipartUpload);
+            }
+        }
+
+        private void abortMultipartUpload(String uploadId) {
+            AbortMultipartUploadRequest.Builder builder =
+                AbortMultipartUploadRequest.builder()
+                                           .bucket(copyObjectRequest.destinationBucket())
+                                           .key(copyObjectRequest.destinationKey())
+                                           .uploadId(uploadId)
+                                           .requestPayer(copyObjectRequest.requestPayerAsString())
+                                           .expectedBucketOwner(copyObjectRequest.expectedBucketOwner());
+            s3AsyncClient.abortMultipartUpload(builder.build()).whenComplete((r, t) -> {
+                if (t != null) {
+                    log.warn(() -> String.format("Failed to abort multipart upload %s of %s", uploadId,
+                                                 copyObjectRequest.destinationKey()), t);
+                }
+            });
+        }
+    }
+}
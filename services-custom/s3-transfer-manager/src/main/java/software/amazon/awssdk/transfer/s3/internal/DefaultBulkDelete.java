@@ -0,0 +1,92 @@
+/*
+ * Copyright Amazon.com, Inc. or its affiliates. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License").
+ * You may not use this file except in compliance with the License.
+ * A copy of the License is located at
+ *
+ *  http://aws.amazon.com/apache2.0
+ *
+ * or in the "license" file accompanying this file. This file is distributed
+ * on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either
+ * express or implied. See the License for the specific language governing
+ * permissions and limitations under the License.
+ */
+
+
+package software.amazon.awssdk.transfer.s3.internal;
+
+import java.util.Objects;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.atomic.LongAdder;
+import software.amazon.awssdk.annotations.SdkInternalApi;
+import software.amazon.awssdk.transfer.s3.BulkDelete;
+import software.amazon.awssdk.transfer.s3.CompletedBulkDelete;
+import software.amazon.awssdk.utils.ToString;
+
+@SdkInternalApi
+public final class DefaultBulkDelete implements BulkDelete {
+
+    private final CompletableFuture<CompletedBulkDelete> completionFuture;
+    private final LongAdder objectsDeleted;
+    private final LongAdder objectsFailed;
+
+    DefaultBulkDelete(CompletableFuture<CompletedBulkDelete> completionFuture, LongAdder objectsDeleted,
+                      LongAdder objectsFailed) {
+        this.completionFuture = completionFuture;
+        this.objectsDeleted = objectsDeleted;
+        this.objectsFailed = objectsFailed;
+    }
+
+    @Override
+    public CompletableFuture<CompletedBulkDelete> completionFuture() {
+        return completionFuture;
+    }
+
+    @Override
+    public long objectsDeleted() {
+        return objectsDeleted.sum();
+    }
+
+    @Override
+    public long objectsFailed() {
+        return objectsFailed.sum();
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) {
+            return true;
+        }
+        if (o == null || getClass() != o.getClass()) {
+            return false;
+        }
+
+        DefaultBulkDelete that = (DefaultBulkDelete) o;
+
+        if (!Objects.equals(completionFuture, that.completionFuture)) {
+            return false;
+        }
+        if (!Objects.equals(objectsDeleted, that.objectsDeleted)) {
+            return false;
+        }
+        return Objects.equals(objectsFailed, that.objectsFailed);
+    }
+
+    @Override
+    public int hashCode() {
+        int result = completionFuture != null ? completionFuture.hashCode() : 0;
+        result = 31 * result + (objectsDeleted != null ? objectsDeleted.hashCode() : 0);
+        result = 31 * result + (objectsFailed != null ? objectsFailed.hashCode() : 0);
+        return result;
+    }
+
+    @Override
+    public String toString() {
+        return ToString.builder("DefaultBulkDelete")
+                       .add("completionFuture", completionFuture)
+                       .add("objectsDeleted", objectsDeleted)
+                       .add("objectsFailed", objectsFailed)
+                       .build();
+    }
+}
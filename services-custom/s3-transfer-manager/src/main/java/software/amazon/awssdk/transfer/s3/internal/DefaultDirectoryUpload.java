@@ -20,15 +20,18 @@ import java.util.concurrent.CompletableFuture;
 import software.amazon.awssdk.annotations.SdkInternalApi;
 import software.amazon.awssdk.transfer.s3.CompletedDirectoryUpload;
 import software.amazon.awssdk.transfer.s3.DirectoryUpload;
+import software.amazon.awssdk.transfer.s3.progress.TransferProgress;
 import software.amazon.awssdk.utils.ToString;
 
 @SdkInternalApi
 public final class DefaultDirectoryUpload implements DirectoryUpload {
     
     private final CompletableFuture<CompletedDirectoryUpload> completionFuture;
+    private final TransferProgress progress;
 
-    DefaultDirectoryUpload(CompletableFuture<CompletedDirectoryUpload> completionFuture) {
+    DefaultDirectoryUpload(CompletableFuture<CompletedDirectoryUpload> completionFuture, TransferProgress progress) {
         this.completionFuture = completionFuture;
+        this.progress = progress;
     }
 
     @Override
@@ -36,6 +39,11 @@ public final class DefaultDirectoryUpload implements DirectoryUpload {
         return completionFuture;
     }
 
+    @Override
+    public TransferProgress progress() {
+        return progress;
+    }
+
     @Override
     public boolean equals(Object o) {
         if (this == o) {
@@ -47,18 +55,24 @@ public final class DefaultDirectoryUpload implements DirectoryUpload {
 
         DefaultDirectoryUpload that = (DefaultDirectoryUpload) o;
 
-        return Objects.equals(completionFuture, that.completionFuture);
+        if (!Objects.equals(completionFuture, that.completionFuture)) {
+            return false;
+        }
+        return Objects.equals(progress, that.progress);
     }
 
     @Override
     public int hashCode() {
-        return completionFuture != null ? completionFuture.hashCode() : 0;
+        int result = completionFuture != null ? completionFuture.hashCode() : 0;
+        result = 31 * result + (progress != null ? progress.hashCode() : 0);
+        return result;
     }
 
     @Override
     public String toString() {
         return ToString.builder("DefaultDirectoryUpload")
                        .add("completionFuture", completionFuture)
+                       .add("progress", progress)
                        .build();
     }
 }
@@ -17,9 +17,11 @@ package software.amazon.awssdk.transfer.s3.internal;
 
 import java.util.Objects;
 import java.util.concurrent.CompletableFuture;
+import java.util.function.Supplier;
 import software.amazon.awssdk.annotations.SdkInternalApi;
 import software.amazon.awssdk.transfer.s3.CompletedFileDownload;
 import software.amazon.awssdk.transfer.s3.FileDownload;
+import software.amazon.awssdk.transfer.s3.ResumableFileDownload;
 import software.amazon.awssdk.transfer.s3.progress.TransferProgress;
 import software.amazon.awssdk.utils.ToString;
 
@@ -28,11 +30,17 @@ public final class DefaultFileDownload implements FileDownload {
 
     private final CompletableFuture<CompletedFileDownload> completionFuture;
     private final TransferProgress progress;
+    private final Supplier<ResumableFileDownload> pauseHandler;
 
-    DefaultFileDownload(CompletableFuture<CompletedFileDownload> completionFuture,
-                               TransferProgress progress) {
+    DefaultFileDownload(CompletableFuture<CompletedFileDownload> completionFuture, TransferProgress progress) {
+        this(completionFuture, progress, null);
+    }
+
+    DefaultFileDownload(CompletableFuture<CompletedFileDownload> completionFuture, TransferProgress progress,
+                        Supplier<ResumableFileDownload> pauseHandler) {
         this.completionFuture = completionFuture;
         this.progress = progress;
+        this.pauseHandler = pauseHandler;
     }
 
     @Override
@@ -46,6 +54,14 @@ public final class DefaultFileDownload implements FileDownload {
         return completionFuture;
     }
 
+    @Override
+    public ResumableFileDownload pause() {
+        if (pauseHandler == null) {
+            throw new UnsupportedOperationException();
+        }
+        return pauseHandler.get();
+    }
+
     @Override
     public boolean equals(Object o) {
         if (this == o) {
@@ -60,13 +76,17 @@ public final class DefaultFileDownload implements FileDownload {
         if (!Objects.equals(completionFuture, that.completionFuture)) {
             return false;
         }
-        return Objects.equals(progress, that.progress);
+        if (!Objects.equals(progress, that.progress)) {
+            return false;
+        }
+        return Objects.equals(pauseHandler, that.pauseHandler);
     }
 
     @Override
     public int hashCode() {
         int result = completionFuture != null ? completionFuture.hashCode() : 0;
         result = 31 * result + (progress != null ? progress.hashCode() : 0);
+        result = 31 * result + (pauseHandler != null ? pauseHandler.hashCode() : 0);
         return result;
     }
 
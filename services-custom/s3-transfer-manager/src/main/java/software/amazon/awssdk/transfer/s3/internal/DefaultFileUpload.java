@@ -17,9 +17,11 @@ package software.amazon.awssdk.transfer.s3.internal;
 
 import java.util.Objects;
 import java.util.concurrent.CompletableFuture;
+import java.util.function.Supplier;
 import software.amazon.awssdk.annotations.SdkInternalApi;
 import software.amazon.awssdk.transfer.s3.CompletedFileUpload;
 import software.amazon.awssdk.transfer.s3.FileUpload;
+import software.amazon.awssdk.transfer.s3.ResumableFileUpload;
 import software.amazon.awssdk.transfer.s3.progress.TransferProgress;
 import software.amazon.awssdk.utils.ToString;
 
@@ -28,10 +30,17 @@ public final class DefaultFileUpload implements FileUpload {
     
     private final CompletableFuture<CompletedFileUpload> completionFuture;
     private final TransferProgress progress;
+    private final Supplier<ResumableFileUpload> pauseHandler;
 
     DefaultFileUpload(CompletableFuture<CompletedFileUpload> completionFuture, TransferProgress progress) {
+        this(completionFuture, progress, null);
+    }
+
+    DefaultFileUpload(CompletableFuture<CompletedFileUpload> completionFuture, TransferProgress progress,
+                      Supplier<ResumableFileUpload> pauseHandler) {
         this.completionFuture = completionFuture;
         this.progress = progress;
+        this.pauseHandler = pauseHandler;
     }
 
     @Override
@@ -44,6 +53,14 @@ public final class DefaultFileUpload implements FileUpload {
         return progress;
     }
 
+    @Override
+    public ResumableFileUpload pause() {
+        if (pauseHandler == null) {
+            throw new UnsupportedOperationException();
+        }
+        return pauseHandler.get();
+    }
+
     @Override
     public boolean equals(Object o) {
         if (this == o) {
@@ -58,13 +75,17 @@ public final class DefaultFileUpload implements FileUpload {
         if (!Objects.equals(completionFuture, that.completionFuture)) {
             return false;
         }
-        return Objects.equals(progress, that.progress);
+        if (!Objects.equals(progress, that.progress)) {
+            return false;
+        }
+        return Objects.equals(pauseHandler, that.pauseHandler);
     }
 
     @Override
     public int hashCode() {
         int result = completionFuture != null ? completionFuture.hashCode() : 0;
         result = 31 * result + (progress != null ? progress.hashCode() : 0);
+        result = 31 * result + (pauseHandler != null ? pauseHandler.hashCode() : 0);
         return result;
     }
 
@@ -19,6 +19,7 @@ import com.amazonaws.s3.S3NativeClient;
 import com.amazonaws.s3.model.GetObjectOutput;
 import com.amazonaws.s3.model.PutObjectOutput;
 import java.util.concurrent.CompletableFuture;
+import java.util.function.Supplier;
 import software.amazon.awssdk.annotations.SdkInternalApi;
 import software.amazon.awssdk.annotations.SdkTestInternalApi;
 import software.amazon.awssdk.auth.credentials.AwsCredentialsProvider;
@@ -27,10 +28,33 @@ import software.amazon.awssdk.core.async.AsyncResponseTransformer;
 import software.amazon.awssdk.core.client.config.ClientAsyncConfiguration;
 import software.amazon.awssdk.http.SdkHttpResponse;
 import software.amazon.awssdk.regions.Region;
+import software.amazon.awssdk.services.s3.S3AsyncClient;
+import software.amazon.awssdk.services.s3.S3AsyncClientBuilder;
+import software.amazon.awssdk.services.s3.model.AbortMultipartUploadRequest;
+import software.amazon.awssdk.services.s3.model.AbortMultipartUploadResponse;
+import software.amazon.awssdk.services.s3.model.CompleteMultipartUploadRequest;
+import software.amazon.awssdk.services.s3.model.CompleteMultipartUploadResponse;
+import software.amazon.awssdk.services.s3.model.CopyObjectRequest;
+import software.amazon.awssdk.services.s3.model.CopyObjectResponse;
+import software.amazon.awssdk.services.s3.model.CreateMultipartUploadRequest;
+import software.amazon.awssdk.services.s3.model.CreateMultipartUploadResponse;
+import software.amazon.awssdk.services.s3.model.DeleteObjectsRequest;
+import software.amazon.awssdk.services.s3.model.DeleteObjectsResponse;
 import software.amazon.awssdk.services.s3.model.GetObjectRequest;
 import software.amazon.awssdk.services.s3.model.GetObjectResponse;
+import software.amazon.awssdk.services.s3.model.GetObjectTaggingRequest;
+import software.amazon.awssdk.services.s3.model.GetObjectTaggingResponse;
+import software.amazon.awssdk.services.s3.model.HeadObjectRequest;
+import software.amazon.awssdk.services.s3.model.HeadObjectResponse;
+import software.amazon.awssdk.services.s3.model.ListObjectsV2Request;
+import software.amazon.awssdk.services.s3.model.ListObjectsV2Response;
 import software.amazon.awssdk.services.s3.model.PutObjectRequest;
 import software.amazon.awssdk.services.s3.model.PutObjectResponse;
+import software.amazon.awssdk.services.s3.model.UploadPartCopyRequest;
+import software.amazon.awssdk.services.s3.model.UploadPartCopyResponse;
+import software.amazon.awssdk.services.s3.model.UploadPartRequest;
+import software.amazon.awssdk.services.s3.model.UploadPartResponse;
+import software.amazon.awssdk.services.s3.paginators.ListObjectsV2Publisher;
 import software.amazon.awssdk.utils.CompletableFutureUtils;
 
 @SdkInternalApi
@@ -38,6 +62,8 @@ public final class DefaultS3CrtAsyncClient implements S3CrtAsyncClient {
     private final S3NativeClient s3NativeClient;
     private final S3NativeClientConfiguration configuration;
     private final CrtErrorHandler crtErrorHandler;
+    private final Supplier<S3AsyncClient> controlPlaneClientSupplier;
+    private volatile S3AsyncClient controlPlaneClient;
 
     public DefaultS3CrtAsyncClient(DefaultS3CrtClientBuilder builder) {
         S3NativeClientConfiguration.Builder configBuilder =
@@ -60,15 +86,59 @@ public final class DefaultS3CrtAsyncClient implements S3CrtAsyncClient {
                                                  configuration.targetThroughputInGbps(),
                                                  configuration.maxConcurrency());
         this.crtErrorHandler = new CrtErrorHandler();
+        this.controlPlaneClientSupplier = () -> createControlPlaneClient(builder);
     }
 
     @SdkTestInternalApi
     DefaultS3CrtAsyncClient(S3NativeClientConfiguration configuration,
                             S3NativeClient nativeClient) {
+        this(configuration, nativeClient, null);
+    }
+
+    @SdkTestInternalApi
+    DefaultS3CrtAsyncClient(S3NativeClientConfiguration configuration,
+                            S3NativeClient nativeClient,
+                            S3AsyncClient controlPlaneClient) {
         this.configuration = configuration;
         this.s3NativeClient = nativeClient;
         this.crtErrorHandler = new CrtErrorHandler();
+        this.controlPlaneClient = controlPlaneClient;
+        this.controlPlaneClientSupplier = () -> {
+            throw new UnsupportedOperationException();
+        };
+    }
+
+    /**
+     * The CRT S3 client only supports object transfers. Other operations, such as listing objects or the individual steps of a
+     * multipart upload, are sent through a regular {@link S3AsyncClient} that is created with the same credentials and region
+     * the first time one of them is invoked.
+     */
+    private static S3AsyncClient createControlPlaneClient(DefaultS3CrtClientBuilder builder) {
+        S3AsyncClientBuilder clientBuilder = S3AsyncClient.builder();
+        if (builder.credentialsProvider != null) {
+            clientBuilder.credentialsProvider(builder.credentialsProvider);
+        }
+        if (builder.region != null) {
+            clientBuilder.region(builder.region);
+        }
+        if (builder.asyncConfiguration != null) {
+            clientBuilder.asyncConfiguration(builder.asyncConfiguration);
+        }
+        return clientBuilder.build();
+    }
 
+    private S3AsyncClient controlPlaneClient() {
+        S3AsyncClient client = controlPlaneClient;
+        if (client == null) {
+            synchronized (this) {
+                client = controlPlaneClient;
+                if (client == null) {
+                    client = controlPlaneClientSupplier.get();
+                    controlPlaneClient = client;
+                }
+            }
+        }
+        return client;
     }
 
     @Override
@@ -144,6 +214,104 @@ public final class DefaultS3CrtAsyncClient implements S3CrtAsyncClient {
         return CompletableFutureUtils.forwardExceptionTo(returnFuture, executeFuture);
     }
 
+    @Override
+    public CompletableFuture<ListObjectsV2Response> listObjectsV2(ListObjectsV2Request listObjectsV2Request) {
+        try {
+            return controlPlaneClient().listObjectsV2(listObjectsV2Request);
+        } catch (Throwable t) {
+            return CompletableFutureUtils.failedFuture(t);
+        }
+    }
+
+    @Override
+    public CompletableFuture<HeadObjectResponse> headObject(HeadObjectRequest headObjectRequest) {
+        try {
+            return controlPlaneClient().headObject(headObjectRequest);
+        } catch (Throwable t) {
+            return CompletableFutureUtils.failedFuture(t);
+        }
+    }
+
+    @Override
+    public CompletableFuture<CreateMultipartUploadResponse> createMultipartUpload(
+        CreateMultipartUploadRequest createMultipartUploadRequest) {
+        try {
+            return controlPlaneClient().createMultipartUpload(createMultipartUploadRequest);
+        } catch (Throwable t) {
+            return CompletableFutureUtils.failedFuture(t);
+        }
+    }
+
+    @Override
+    public CompletableFuture<UploadPartResponse> uploadPart(UploadPartRequest uploadPartRequest, AsyncRequestBody requestBody) {
+        try {
+            return controlPlaneClient().uploadPart(uploadPartRequest, requestBody);
+        } catch (Throwable t) {
+            return CompletableFutureUtils.failedFuture(t);
+        }
+    }
+
+    @Override
+    public CompletableFuture<UploadPartCopyResponse> uploadPartCopy(UploadPartCopyRequest uploadPartCopyRequest) {
+        try {
+            return controlPlaneClient().uploadPartCopy(uploadPartCopyRequest);
+        } catch (Throwable t) {
+            return CompletableFutureUtils.failedFuture(t);
+        }
+    }
+
+    @Override
+    public CompletableFuture<CompleteMultipartUploadResponse> completeMultipartUpload(
+        CompleteMultipartUploadRequest completeMultipartUploadRequest) {
+        try {
+            return controlPlaneClient().completeMultipartUpload(completeMultipartUploadRequest);
+        } catch (Throwable t) {
+            return CompletableFutureUtils.failedFuture(t);
+        }
+    }
+
+    @Override
+    public CompletableFuture<AbortMultipartUploadResponse> abortMultipartUpload(
+        AbortMultipartUploadRequest abortMultipartUploadRequest) {
+        try {
+            return controlPlaneClient().abortMultipartUpload(abortMultipartUploadRequest);
+        } catch (Throwable t) {
+            return CompletableFutureUtils.failedFuture(t);
+        }
+    }
+
+    @Override
+    public CompletableFuture<CopyObjectResponse> copyObject(CopyObjectRequest copyObjectRequest) {
+        try {
+            return controlPlaneClient().copyObject(copyObjectRequest);
+        } catch (Throwable t) {
+            return CompletableFutureUtils.failedFuture(t);
+        }
+    }
+
+    @Override
+    public CompletableFuture<DeleteObjectsResponse> deleteObjects(DeleteObjectsRequest deleteObjectsRequest) {
+        try {
+            return controlPlaneClient().deleteObjects(deleteObjectsRequest);
+        } catch (Throwable t) {
+            return CompletableFutureUtils.failedFuture(t);
+        }
+    }
+
+    @Override
+    public CompletableFuture<GetObjectTaggingResponse> getObjectTagging(GetObjectTaggingRequest getObjectTaggingRequest) {
+        try {
+            return controlPlaneClient().getObjectTagging(getObjectTaggingRequest);
+        } catch (Throwable t) {
+            return CompletableFutureUtils.failedFuture(t);
+        }
+    }
+
+    @Override
+    public ListObjectsV2Publisher listObjectsV2Paginator(ListObjectsV2Request listObjectsV2Request) {
+        return new ListObjectsV2Publisher(this, listObjectsV2Request);
+    }
+
     @Override
     public String serviceName() {
         return "s3";
@@ -153,6 +321,10 @@ public final class DefaultS3CrtAsyncClient implements S3CrtAsyncClient {
     public void close() {
         s3NativeClient.close();
         configuration.close();
+        S3AsyncClient client = controlPlaneClient;
+        if (client != null) {
+            client.close();
+        }
     }
 
     public static final class DefaultS3CrtClientBuilder implements S3CrtAsyncClientBuilder {
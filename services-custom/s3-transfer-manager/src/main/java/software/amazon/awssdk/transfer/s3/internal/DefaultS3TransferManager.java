@@ -15,6 +15,12 @@
 
 package software.amazon.awssdk.transfer.s3.internal;
 
+import java.io.IOException;
+import java.nio.channels.SeekableByteChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.util.concurrent.CancellationException;
 import java.util.concurrent.CompletableFuture;
 import software.amazon.awssdk.annotations.SdkInternalApi;
 import software.amazon.awssdk.annotations.SdkTestInternalApi;
@@ -23,21 +29,30 @@ import software.amazon.awssdk.core.async.AsyncRequestBody;
 import software.amazon.awssdk.core.async.AsyncResponseTransformer;
 import software.amazon.awssdk.core.client.config.ClientAsyncConfiguration;
 import software.amazon.awssdk.core.client.config.SdkAdvancedAsyncClientOption;
+import software.amazon.awssdk.services.s3.S3AsyncClient;
 import software.amazon.awssdk.services.s3.internal.resource.S3AccessPointResource;
 import software.amazon.awssdk.services.s3.internal.resource.S3ArnConverter;
 import software.amazon.awssdk.services.s3.internal.resource.S3Resource;
+import software.amazon.awssdk.services.s3.model.GetObjectRequest;
 import software.amazon.awssdk.services.s3.model.GetObjectResponse;
 import software.amazon.awssdk.services.s3.model.PutObjectResponse;
+import software.amazon.awssdk.transfer.s3.BulkDelete;
+import software.amazon.awssdk.transfer.s3.BulkDeleteRequest;
 import software.amazon.awssdk.transfer.s3.CompletedDownload;
-import software.amazon.awssdk.transfer.s3.CompletedFileDownload;
 import software.amazon.awssdk.transfer.s3.CompletedFileUpload;
 import software.amazon.awssdk.transfer.s3.CompletedUpload;
+import software.amazon.awssdk.transfer.s3.Copy;
+import software.amazon.awssdk.transfer.s3.CopyRequest;
+import software.amazon.awssdk.transfer.s3.DirectoryDownload;
 import software.amazon.awssdk.transfer.s3.DirectoryUpload;
 import software.amazon.awssdk.transfer.s3.Download;
+import software.amazon.awssdk.transfer.s3.DownloadDirectoryRequest;
 import software.amazon.awssdk.transfer.s3.DownloadFileRequest;
 import software.amazon.awssdk.transfer.s3.DownloadRequest;
 import software.amazon.awssdk.transfer.s3.FileDownload;
 import software.amazon.awssdk.transfer.s3.FileUpload;
+import software.amazon.awssdk.transfer.s3.ResumableFileDownload;
+import software.amazon.awssdk.transfer.s3.ResumableFileUpload;
 import software.amazon.awssdk.transfer.s3.S3ClientConfiguration;
 import software.amazon.awssdk.transfer.s3.S3TransferManager;
 import software.amazon.awssdk.transfer.s3.S3TransferManagerOverrideConfiguration;
@@ -45,29 +60,64 @@ import software.amazon.awssdk.transfer.s3.Upload;
 import software.amazon.awssdk.transfer.s3.UploadDirectoryRequest;
 import software.amazon.awssdk.transfer.s3.UploadFileRequest;
 import software.amazon.awssdk.transfer.s3.UploadRequest;
+import software.amazon.awssdk.transfer.s3.internal.progress.AggregateTransferProgress;
 import software.amazon.awssdk.transfer.s3.internal.progress.TransferProgressUpdater;
 import software.amazon.awssdk.utils.CompletableFutureUtils;
 import software.amazon.awssdk.utils.Validate;
 
 @SdkInternalApi
 public final class DefaultS3TransferManager implements S3TransferManager {
-    private final S3CrtAsyncClient s3CrtAsyncClient;
+    private final S3AsyncClient s3AsyncClient;
+    private final boolean isS3AsyncClientProvidedByUser;
     private final TransferManagerConfiguration transferConfiguration;
     private final UploadDirectoryHelper uploadDirectoryManager;
+    private final DownloadDirectoryHelper downloadDirectoryManager;
+    private final MultipartFileUploadHelper multipartFileUploadHelper;
+    private final StreamingMultipartUploadHelper streamingUploadHelper;
+    private final CopyHelper copyHelper;
+    private final BulkDeleteHelper bulkDeleteHelper;
+    private final PausableFileDownloader fileDownloader;
+    private final long partSizeInBytes;
 
     public DefaultS3TransferManager(DefaultBuilder tmBuilder) {
         transferConfiguration = resolveTransferManagerConfiguration(tmBuilder);
-        s3CrtAsyncClient = initializeS3CrtClient(tmBuilder);
+        partSizeInBytes = tmBuilder.s3ClientConfiguration.minimumPartSizeInBytes()
+                                                         .orElse(DownloadDirectoryHelper.DEFAULT_PART_SIZE_IN_BYTES);
+        isS3AsyncClientProvidedByUser = tmBuilder.s3AsyncClient != null;
+        if (isS3AsyncClientProvidedByUser) {
+            // The client does not split transfers into parts, so downloads are split here as uploads already are
+            s3AsyncClient = tmBuilder.s3AsyncClient;
+            fileDownloader = new ParallelFileDownloadHelper(s3AsyncClient, partSizeInBytes);
+        } else {
+            s3AsyncClient = initializeS3CrtClient(tmBuilder);
+            fileDownloader = new FileDownloadHelper(s3AsyncClient);
+        }
         uploadDirectoryManager = new UploadDirectoryHelper(transferConfiguration, this::uploadFile);
+        downloadDirectoryManager = new DownloadDirectoryHelper(transferConfiguration, s3AsyncClient, partSizeInBytes);
+        multipartFileUploadHelper = new MultipartFileUploadHelper(s3AsyncClient, partSizeInBytes);
+        streamingUploadHelper = new StreamingMultipartUploadHelper(s3AsyncClient, partSizeInBytes);
+        copyHelper = new CopyHelper(s3AsyncClient, partSizeInBytes);
+        bulkDeleteHelper = new BulkDeleteHelper(s3AsyncClient);
     }
 
     @SdkTestInternalApi
     DefaultS3TransferManager(S3CrtAsyncClient s3CrtAsyncClient,
                              UploadDirectoryHelper uploadDirectoryManager,
                              TransferManagerConfiguration configuration) {
-        this.s3CrtAsyncClient = s3CrtAsyncClient;
+        this.s3AsyncClient = s3CrtAsyncClient;
+        this.isS3AsyncClientProvidedByUser = false;
         this.transferConfiguration = configuration;
         this.uploadDirectoryManager = uploadDirectoryManager;
+        this.downloadDirectoryManager = new DownloadDirectoryHelper(configuration, s3CrtAsyncClient,
+                                                                    DownloadDirectoryHelper.DEFAULT_PART_SIZE_IN_BYTES);
+        this.multipartFileUploadHelper = new MultipartFileUploadHelper(s3CrtAsyncClient,
+                                                                       DownloadDirectoryHelper.DEFAULT_PART_SIZE_IN_BYTES);
+        this.streamingUploadHelper = new StreamingMultipartUploadHelper(s3CrtAsyncClient,
+                                                                        DownloadDirectoryHelper.DEFAULT_PART_SIZE_IN_BYTES);
+        this.copyHelper = new CopyHelper(s3CrtAsyncClient, DownloadDirectoryHelper.DEFAULT_PART_SIZE_IN_BYTES);
+        this.bulkDeleteHelper = new BulkDeleteHelper(s3CrtAsyncClient);
+        this.fileDownloader = new FileDownloadHelper(s3CrtAsyncClient);
+        this.partSizeInBytes = DownloadDirectoryHelper.DEFAULT_PART_SIZE_IN_BYTES;
     }
 
     private TransferManagerConfiguration resolveTransferManagerConfiguration(DefaultBuilder tmBuilder) {
@@ -100,7 +150,11 @@ public final class DefaultS3TransferManager implements S3TransferManager {
         Validate.paramNotNull(uploadRequest, "uploadRequest");
 
         AsyncRequestBody requestBody = uploadRequest.requestBody();
-        
+        if (hasUnknownContentLength(requestBody)) {
+            // Buffer the body into parts so that the memory used does not depend on the length of the content
+            return streamingUploadHelper.upload(uploadRequest);
+        }
+
         CompletableFuture<CompletedUpload> uploadFuture = new CompletableFuture<>();
         
         TransferProgressUpdater progressUpdater = new TransferProgressUpdater(uploadRequest, requestBody);
@@ -112,7 +166,7 @@ public final class DefaultS3TransferManager implements S3TransferManager {
             assertNotUnsupportedArn(uploadRequest.putObjectRequest().bucket(), "upload");
 
             CompletableFuture<PutObjectResponse> putObjFuture =
-                s3CrtAsyncClient.putObject(uploadRequest.putObjectRequest(), requestBody);
+                s3AsyncClient.putObject(uploadRequest.putObjectRequest(), requestBody);
 
             // Forward upload cancellation to CRT future
             CompletableFutureUtils.forwardExceptionTo(uploadFuture, putObjFuture);
@@ -127,10 +181,49 @@ public final class DefaultS3TransferManager implements S3TransferManager {
 
         return new DefaultUpload(uploadFuture, progressUpdater.progress());
     }
+
+    @Override
+    public Copy copy(CopyRequest copyRequest) {
+        Validate.paramNotNull(copyRequest, "copyRequest");
+        return copyHelper.copy(copyRequest);
+    }
+
+    @Override
+    public BulkDelete deleteObjects(BulkDeleteRequest bulkDeleteRequest) {
+        Validate.paramNotNull(bulkDeleteRequest, "bulkDeleteRequest");
+        return bulkDeleteHelper.deleteObjects(bulkDeleteRequest);
+    }
+
+    @Override
+    public SeekableByteChannel openReadChannel(GetObjectRequest getObjectRequest) {
+        Validate.paramNotNull(getObjectRequest, "getObjectRequest");
+        assertNotUnsupportedArn(getObjectRequest.bucket(), "openReadChannel");
+        return PrefetchingS3ReadChannel.create(s3AsyncClient, getObjectRequest, partSizeInBytes);
+    }
+
+    private static boolean hasUnknownContentLength(AsyncRequestBody requestBody) {
+        try {
+            return !requestBody.contentLength().isPresent();
+        } catch (RuntimeException e) {
+            // For example, a file that does not exist. Let the request report the failure.
+            return false;
+        }
+    }
     
     @Override
     public FileUpload uploadFile(UploadFileRequest uploadFileRequest) {
         Validate.paramNotNull(uploadFileRequest, "uploadFileRequest");
+        // Only a user-provided client needs the transfer manager to split the file; the CRT client splits it itself, faster.
+        boolean pausable = isS3AsyncClientProvidedByUser || uploadFileRequest.pausable().orElse(false);
+        return uploadFile(uploadFileRequest, pausable);
+    }
+
+    private FileUpload uploadFile(UploadFileRequest uploadFileRequest, boolean pausable) {
+        BasicFileAttributes sourceAttributes = readAttributesSafe(uploadFileRequest.source());
+        if (pausable && sourceAttributes != null && multipartFileUploadHelper.shouldUploadInParts(sourceAttributes.size())) {
+            return multipartFileUploadHelper.uploadFile(uploadFileRequest, sourceAttributes.size(),
+                                                        sourceAttributes.lastModifiedTime().toInstant());
+        }
 
         AsyncRequestBody requestBody = AsyncRequestBody.fromFile(uploadFileRequest.source());
 
@@ -145,7 +238,7 @@ public final class DefaultS3TransferManager implements S3TransferManager {
             assertNotUnsupportedArn(uploadFileRequest.putObjectRequest().bucket(), "upload");
 
             CompletableFuture<PutObjectResponse> putObjFuture =
-                s3CrtAsyncClient.putObject(uploadFileRequest.putObjectRequest(), requestBody);
+                s3AsyncClient.putObject(uploadFileRequest.putObjectRequest(), requestBody);
             
             // Forward upload cancellation to CRT future
             CompletableFutureUtils.forwardExceptionTo(uploadFuture, putObjFuture);
@@ -158,7 +251,43 @@ public final class DefaultS3TransferManager implements S3TransferManager {
             uploadFuture.completeExceptionally(throwable);
         }
 
-        return new DefaultFileUpload(uploadFuture, progressUpdater.progress());
+        return new DefaultFileUpload(uploadFuture, progressUpdater.progress(),
+                                     () -> pauseSingleRequestUpload(uploadFileRequest, sourceAttributes, uploadFuture));
+    }
+
+    /**
+     * Files that are not uploaded in parts by the transfer manager are sent with a single request, so pausing the upload
+     * cancels it and resuming it uploads the whole file again.
+     */
+    private static ResumableFileUpload pauseSingleRequestUpload(UploadFileRequest uploadFileRequest,
+                                                                BasicFileAttributes sourceAttributes,
+                                                                CompletableFuture<CompletedFileUpload> uploadFuture) {
+        if (sourceAttributes == null) {
+            throw new IllegalStateException("The upload cannot be paused because its source could not be read");
+        }
+        if (!uploadFuture.completeExceptionally(new CancellationException("The upload was paused"))) {
+            throw new IllegalStateException("The upload has already completed");
+        }
+        return ResumableFileUpload.builder()
+                                  .uploadFileRequest(uploadFileRequest)
+                                  .fileLength(sourceAttributes.size())
+                                  .fileLastModified(sourceAttributes.lastModifiedTime().toInstant())
+                                  .build();
+    }
+
+    private static BasicFileAttributes readAttributesSafe(Path source) {
+        // Failing to read the file is reported by the upload itself
+        try {
+            return Files.readAttributes(source, BasicFileAttributes.class);
+        } catch (IOException | RuntimeException ignored) {
+            return null;
+        }
+    }
+
+    @Override
+    public FileUpload resumeUpload(ResumableFileUpload resumableFileUpload) {
+        Validate.paramNotNull(resumableFileUpload, "resumableFileUpload");
+        return multipartFileUploadHelper.resumeUpload(resumableFileUpload, request -> uploadFile(request, true));
     }
 
     @Override
@@ -170,7 +299,20 @@ public final class DefaultS3TransferManager implements S3TransferManager {
 
             return uploadDirectoryManager.uploadDirectory(uploadDirectoryRequest);
         } catch (Throwable throwable) {
-            return new DefaultDirectoryUpload(CompletableFutureUtils.failedFuture(throwable));
+            return new DefaultDirectoryUpload(CompletableFutureUtils.failedFuture(throwable), new AggregateTransferProgress());
+        }
+    }
+
+    @Override
+    public DirectoryDownload downloadDirectory(DownloadDirectoryRequest downloadDirectoryRequest) {
+        Validate.paramNotNull(downloadDirectoryRequest, "downloadDirectoryRequest");
+
+        try {
+            assertNotUnsupportedArn(downloadDirectoryRequest.bucket(), "downloadDirectory");
+
+            return downloadDirectoryManager.downloadDirectory(downloadDirectoryRequest);
+        } catch (Throwable throwable) {
+            return new DefaultDirectoryDownload(CompletableFutureUtils.failedFuture(throwable), new AggregateTransferProgress());
         }
     }
 
@@ -192,7 +334,7 @@ public final class DefaultS3TransferManager implements S3TransferManager {
             assertNotUnsupportedArn(downloadRequest.getObjectRequest().bucket(), "download");
 
             CompletableFuture<ResultT> getObjectFuture =
-                s3CrtAsyncClient.getObject(downloadRequest.getObjectRequest(), responseTransformer);
+                s3AsyncClient.getObject(downloadRequest.getObjectRequest(), responseTransformer);
 
             // Forward download cancellation to CRT future
             CompletableFutureUtils.forwardExceptionTo(downloadFuture, getObjectFuture);
@@ -211,40 +353,21 @@ public final class DefaultS3TransferManager implements S3TransferManager {
     @Override
     public FileDownload downloadFile(DownloadFileRequest downloadRequest) {
         Validate.paramNotNull(downloadRequest, "downloadFileRequest");
+        return fileDownloader.downloadFile(downloadRequest);
+    }
 
-        AsyncResponseTransformer<GetObjectResponse, GetObjectResponse> responseTransformer =
-            AsyncResponseTransformer.toFile(downloadRequest.destination());
-
-        CompletableFuture<CompletedFileDownload> downloadFuture = new CompletableFuture<>();
-
-        TransferProgressUpdater progressUpdater = new TransferProgressUpdater(downloadRequest, null);
-        progressUpdater.transferInitiated();
-        responseTransformer = progressUpdater.wrapResponseTransformer(responseTransformer);
-        progressUpdater.registerCompletion(downloadFuture);
-
-        try {
-            assertNotUnsupportedArn(downloadRequest.getObjectRequest().bucket(), "download");
-
-            CompletableFuture<GetObjectResponse> getObjectFuture =
-                s3CrtAsyncClient.getObject(downloadRequest.getObjectRequest(), responseTransformer);
-
-            // Forward download cancellation to CRT future
-            CompletableFutureUtils.forwardExceptionTo(downloadFuture, getObjectFuture);
-
-            CompletableFutureUtils.forwardTransformedResultTo(getObjectFuture, downloadFuture,
-                                                              r -> CompletedFileDownload.builder()
-                                                                                        .response(r)
-                                                                                        .build());
-        } catch (Throwable throwable) {
-            downloadFuture.completeExceptionally(throwable);
-        }
-
-        return new DefaultFileDownload(downloadFuture, progressUpdater.progress());
+    @Override
+    public FileDownload resumeDownload(ResumableFileDownload resumableFileDownload) {
+        Validate.paramNotNull(resumableFileDownload, "resumableFileDownload");
+        return fileDownloader.resumeDownload(resumableFileDownload);
     }
 
     @Override
     public void close() {
-        s3CrtAsyncClient.close();
+        if (!isS3AsyncClientProvidedByUser) {
+            s3AsyncClient.close();
+        }
+        bulkDeleteHelper.close();
         transferConfiguration.close();
     }
 
@@ -252,7 +375,7 @@ public final class DefaultS3TransferManager implements S3TransferManager {
         return new DefaultBuilder();
     }
 
-    private static void assertNotUnsupportedArn(String bucket, String operation) {
+    static void assertNotUnsupportedArn(String bucket, String operation) {
         if (!bucket.startsWith("arn:")) {
             return;
         }
@@ -289,6 +412,7 @@ public final class DefaultS3TransferManager implements S3TransferManager {
         private S3ClientConfiguration s3ClientConfiguration = S3ClientConfiguration.builder().build();
         private S3TransferManagerOverrideConfiguration transferManagerConfiguration =
             S3TransferManagerOverrideConfiguration.builder().build();
+        private S3AsyncClient s3AsyncClient;
 
         private DefaultBuilder() {
         }
@@ -299,6 +423,12 @@ public final class DefaultS3TransferManager implements S3TransferManager {
             return this;
         }
 
+        @Override
+        public Builder s3AsyncClient(S3AsyncClient s3AsyncClient) {
+            this.s3AsyncClient = s3AsyncClient;
+            return this;
+        }
+
         @Override
         public Builder transferConfiguration(S3TransferManagerOverrideConfiguration transferManagerConfiguration) {
             this.transferManagerConfiguration = transferManagerConfiguration;
@@ -0,0 +1,456 @@
+/*
+ * Copyright Amazon.com, Inc. or its affiliates. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License").
+ * You may not use this file except in compliance with the License.
+ * A copy of the License is located at
+ *
+ *  http://aws.amazon.com/apache2.0
+ *
+ * or in the "license" file accompanying this file. This file is distributed
+ * on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either
+ * express or implied. See the License for the specific language governing
+ * permissions and limitations under the License.
+ */
+
+
+package software.amazon.awssdk.transfer.s3.internal;
+
+import static software.amazon.awssdk.transfer.s3.internal.TransferConfigurationOption.DEFAULT_DELIMITER;
+import static software.amazon.awssdk.utils.FunctionalUtils.invokeSafely;
+
+import java.io.IOException;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Collection;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.regex.Pattern;
+import org.reactivestreams.Subscriber;
+import org.reactivestreams.Subscription;
+import software.amazon.awssdk.annotations.SdkInternalApi;
+import software.amazon.awssdk.core.exception.SdkClientException;
+import software.amazon.awssdk.services.s3.S3AsyncClient;
+import software.amazon.awssdk.services.s3.model.GetObjectRequest;
+import software.amazon.awssdk.services.s3.model.GetObjectResponse;
+import software.amazon.awssdk.services.s3.model.ListObjectsV2Request;
+import software.amazon.awssdk.services.s3.model.ListObjectsV2Response;
+import software.amazon.awssdk.services.s3.model.S3Object;
+import software.amazon.awssdk.services.s3.paginators.ListObjectsV2Publisher;
+import software.amazon.awssdk.transfer.s3.CompletedDirectoryDownload;
+import software.amazon.awssdk.transfer.s3.CompletedFileDownload;
+import software.amazon.awssdk.transfer.s3.DirectoryDownload;
+import software.amazon.awssdk.transfer.s3.DownloadDirectoryOverrideConfiguration;
+import software.amazon.awssdk.transfer.s3.DownloadDirectoryRequest;
+import software.amazon.awssdk.transfer.s3.DownloadFileRequest;
+import software.amazon.awssdk.transfer.s3.FailedFileDownload;
+import software.amazon.awssdk.transfer.s3.S3TransferManager;
+import software.amazon.awssdk.transfer.s3.SizeConstant;
+import software.amazon.awssdk.transfer.s3.internal.progress.AggregateTransferProgress;
+import software.amazon.awssdk.transfer.s3.internal.progress.DefaultTransferProgress;
+import software.amazon.awssdk.transfer.s3.internal.progress.DefaultTransferProgressSnapshot;
+import software.amazon.awssdk.utils.Logger;
+import software.amazon.awssdk.utils.StringUtils;
+import software.amazon.awssdk.utils.Validate;
+
+/**
+ * An internal helper class that lists the objects under a prefix and downloads each of them to the destination directory.
+ * <p>
+ * Listing is pipelined with the downloads: the next page of {@code ListObjectsV2} results is only requested once the objects
+ * waiting to be downloaded drop below the number of concurrent downloads, so listing overlaps transfer without buffering more
+ * than one page ahead. Objects larger than the part size are downloaded with parallel ranged GETs, each of which writes its
+ * range directly into the destination file.
+ */
+@SdkInternalApi
+public class DownloadDirectoryHelper {
+    static final long DEFAULT_PART_SIZE_IN_BYTES = 8L * SizeConstant.MB;
+
+    /**
+     * The maximum number of ranged GETs in flight for a single object.
+     */
+    static final int MAX_RANGES_IN_FLIGHT_PER_OBJECT = 8;
+
+    private static final Logger log = Logger.loggerFor(S3TransferManager.class);
+
+    private final TransferManagerConfiguration transferConfiguration;
+    private final S3AsyncClient s3AsyncClient;
+    private final long partSizeInBytes;
+
+    public DownloadDirectoryHelper(TransferManagerConfiguration transferConfiguration,
+                                   S3AsyncClient s3AsyncClient,
+                                   long partSizeInBytes) {
+        this.transferConfiguration = transferConfiguration;
+        this.s3AsyncClient = s3AsyncClient;
+        this.partSizeInBytes = Validate.isPositive(partSizeInBytes, "partSizeInBytes");
+    }
+
+    public DirectoryDownload downloadDirectory(DownloadDirectoryRequest downloadDirectoryRequest) {
+
+        CompletableFuture<CompletedDirectoryDownload> returnFuture = new CompletableFuture<>();
+        AggregateTransferProgress progress = new AggregateTransferProgress();
+
+        // offload the execution to the transfer manager executor
+        CompletableFuture.runAsync(() -> doDownloadDirectory(returnFuture, progress, downloadDirectoryRequest),
+                                   transferConfiguration.option(TransferConfigurationOption.EXECUTOR))
+                         .whenComplete((r, t) -> {
+                             if (t != null) {
+                                 returnFuture.completeExceptionally(t);
+                             }
+                         });
+
+        return new DefaultDirectoryDownload(returnFuture, progress);
+    }
+
+    private void doDownloadDirectory(CompletableFuture<CompletedDirectoryDownload> returnFuture,
+                                     AggregateTransferProgress progress,
+                                     DownloadDirectoryRequest downloadDirectoryRequest) {
+        Path directory = downloadDirectoryRequest.destinationDirectory();
+        try {
+            Files.createDirectories(directory);
+        } catch (IOException e) {
+            throw SdkClientException.create("Failed to create the destination directory: " + directory, e);
+        }
+
+        ListObjectsV2Request listRequest = ListObjectsV2Request.builder()
+                                                               .bucket(downloadDirectoryRequest.bucket())
+                                                               .prefix(downloadDirectoryRequest.prefix().orElse(null))
+                                                               .build();
+        int maxConcurrency = transferConfiguration.resolveDownloadDirectoryMaxConcurrentFileDownloads(downloadDirectoryRequest);
+
+        new ListObjectsV2Publisher(s3AsyncClient, listRequest)
+            .subscribe(new FileDownloadDispatcher(downloadDirectoryRequest, returnFuture, progress, maxConcurrency));
+    }
+
+    /**
+     * Dispatches the download of every listed object while keeping at most {@code maxConcurrentFileDownloads} downloads in
+     * flight, requesting the next page of the listing only when the objects waiting to be downloaded run low.
+     * <p>
+     * {@link #drain()} may be invoked concurrently from the listing and from the completion of any download; the
+     * work-in-progress counter guarantees that only one thread at a time dispatches downloads or requests pages.
+     */
+    private final class FileDownloadDispatcher implements Subscriber<ListObjectsV2Response> {
+        private final DownloadDirectoryRequest downloadDirectoryRequest;
+        private final CompletableFuture<CompletedDirectoryDownload> returnFuture;
+        private final AggregateTransferProgress progress;
+        private final int maxConcurrentFileDownloads;
+        private final String delimiter;
+        private final String prefix;
+        private final Path destination;
+        private final ConcurrentLinkedQueue<S3Object> pendingObjects = new ConcurrentLinkedQueue<>();
+        private final AtomicInteger pendingCount = new AtomicInteger();
+        private final Set<CompletableFuture<CompletedFileDownload>> inFlightFutures = ConcurrentHashMap.newKeySet();
+        private final AtomicInteger inFlightCount = new AtomicInteger();
+        private final AtomicInteger workInProgress = new AtomicInteger();
+        private final Collection<FailedFileDownload> failedFileDownloads = new ConcurrentLinkedQueue<>();
+        private volatile Subscription subscription;
+        private volatile boolean pageRequested;
+        private volatile boolean listingComplete;
+        private volatile Throwable failure;
+        private boolean terminated;
+
+        private FileDownloadDispatcher(DownloadDirectoryRequest downloadDirectoryRequest,
+                                       CompletableFuture<CompletedDirectoryDownload> returnFuture,
+                                       AggregateTransferProgress progress,
+                                       int maxConcurrentFileDownloads) {
+            this.downloadDirectoryRequest = downloadDirectoryRequest;
+            this.returnFuture = returnFuture;
+            this.progress = progress;
+            this.maxConcurrentFileDownloads = maxConcurrentFileDownloads;
+            this.delimiter = downloadDirectoryRequest.delimiter()
+                                                     .filter(s -> !s.isEmpty())
+                                                     .orElse(DEFAULT_DELIMITER);
+            this.prefix = downloadDirectoryRequest.prefix().orElse("");
+            this.destination = downloadDirectoryRequest.destinationDirectory().toAbsolutePath().normalize();
+
+            returnFuture.whenComplete((r, t) -> {
+                if (t != null) {
+                    // Forward cancellation of the return future to the listing and all in-flight downloads.
+                    failure = t;
+                    drain();
+                }
+            });
+        }
+
+        @Override
+        public void onSubscribe(Subscription s) {
+            if (subscription != null) {
+                s.cancel();
+                return;
+            }
+            subscription = s;
+            drain();
+        }
+
+        @Override
+        public void onNext(ListObjectsV2Response page) {
+            for (S3Object object : page.contents()) {
+                String relativeKey = relativeKey(object.key());
+                if (relativeKey.isEmpty() || relativeKey.endsWith(delimiter)) {
+                    // Skip the "directory" placeholder objects some tools create.
+                    continue;
+                }
+                pendingObjects.add(object);
+                pendingCount.incrementAndGet();
+                progress.addTransferSize(object.size() == null ? 0L : object.size());
+            }
+            pageRequested = false;
+            drain();
+        }
+
+        @Override
+        public void onError(Throwable t) {
+            listingComplete = true;
+            returnFuture.completeExceptionally(t);
+        }
+
+        @Override
+        public void onComplete() {
+            listingComplete = true;
+            progress.discoveryComplete();
+            drain();
+        }
+
+        private void drain() {
+            if (workInProgress.getAndIncrement() != 0) {
+                return;
+            }
+            do {
+                try {
+                    if (failure != null) {
+                        terminate();
+                        inFlightFutures.forEach(f -> f.completeExceptionally(failure));
+                    } else {
+                        dispatch();
+                    }
+                } catch (Throwable t) {
+                    returnFuture.completeExceptionally(t);
+                }
+            } while (workInProgress.decrementAndGet() != 0);
+        }
+
+        private void dispatch() {
+            while (inFlightCount.get() < maxConcurrentFileDownloads) {
+                S3Object next = pendingObjects.poll();
+                if (next == null) {
+                    break;
+                }
+                pendingCount.decrementAndGet();
+                downloadSingleObject(next);
+            }
+
+            if (!listingComplete && !pageRequested && subscription != null
+                && pendingCount.get() < maxConcurrentFileDownloads) {
+                pageRequested = true;
+                subscription.request(1);
+            }
+
+            if (listingComplete && pendingCount.get() == 0 && inFlightCount.get() == 0 && !terminated) {
+                terminated = true;
+                returnFuture.complete(CompletedDirectoryDownload.builder()
+                                                                .failedTransfers(failedFileDownloads)
+                                                                .build());
+            }
+        }
+
+        private void terminate() {
+            if (!terminated) {
+                terminated = true;
+                if (!listingComplete && subscription != null) {
+                    subscription.cancel();
+                }
+                pendingObjects.clear();
+                pendingCount.set(0);
+            }
+        }
+
+        private void downloadSingleObject(S3Object object) {
+            DownloadFileRequest downloadFileRequest = constructDownloadRequest(object, relativeKey(object.key()));
+            log.debug(() -> String.format("Sending download request (%s) for key (%s)", downloadFileRequest, object.key()));
+
+            long size = object.size() == null ? 0L : object.size();
+            DefaultTransferProgress fileProgress =
+                new DefaultTransferProgress(DefaultTransferProgressSnapshot.builder().transferSizeInBytes(size).build());
+
+            inFlightCount.incrementAndGet();
+            progress.transferStarted(fileProgress);
+            CompletableFuture<CompletedFileDownload> future = downloadFile(downloadFileRequest, object, fileProgress);
+            inFlightFutures.add(future);
+
+            future.whenComplete((r, t) -> {
+                inFlightFutures.remove(future);
+                progress.transferFinished(fileProgress);
+                if (t != null) {
+                    failedFileDownloads.add(FailedFileDownload.builder()
+                                                              .exception(t)
+                                                              .request(downloadFileRequest)
+                                                              .build());
+                }
+                inFlightCount.decrementAndGet();
+                drain();
+            });
+        }
+
+        private String relativeKey(String key) {
+            String relativeKey = key;
+            if (!prefix.isEmpty() && key.startsWith(prefix)) {
+                relativeKey = key.substring(prefix.length());
+            }
+            while (relativeKey.startsWith(delimiter)) {
+                relativeKey = relativeKey.substring(delimiter.length());
+            }
+            return relativeKey;
+        }
+
+        private DownloadFileRequest constructDownloadRequest(S3Object object, String relativeKey) {
+            Path path = destination;
+            for (String segment : relativeKey.split(Pattern.quote(delimiter))) {
+                if (!StringUtils.isEmpty(segment)) {
+                    path = path.resolve(segment);
+                }
+            }
+
+            GetObjectRequest getObjectRequest = GetObjectRequest.builder()
+                                                                .bucket(downloadDirectoryRequest.bucket())
+                                                                .key(object.key())
+                                                                .build();
+
+            DownloadFileRequest.Builder requestBuilder = DownloadFileRequest.builder()
+                                                                            .destination(path)
+                                                                            .getObjectRequest(getObjectRequest);
+
+            downloadDirectoryRequest.overrideConfiguration()
+                                    .flatMap(DownloadDirectoryOverrideConfiguration::downloadFileRequestTransformer)
+                                    .ifPresent(c -> c.accept(requestBuilder));
+
+            return requestBuilder.build();
+        }
+
+        private CompletableFuture<CompletedFileDownload> downloadFile(DownloadFileRequest request,
+                                                                    S3Object object,
+                                                                    DefaultTransferProgress fileProgress) {
+            Path path = request.destination().toAbsolutePath().normalize();
+            if (!path.startsWith(destination) || path.equals(destination)) {
+                CompletableFuture<CompletedFileDownload> failed = new CompletableFuture<>();
+                failed.completeExceptionally(SdkClientException.create(
+                    String.format("Cannot download key (%s) to a path outside of the destination directory: %s",
+                                  object.key(), path)));
+                return failed;
+            }
+
+            return new RangedFileDownload(request, object, fileProgress).start();
+        }
+    }
+
+    /**
+     * The download of a single object into a file. Objects larger than the part size are split into ranges that are fetched
+     * in parallel, each one written at its own offset of a shared {@link FileChannel}. Every range is conditional on the ETag
+     * returned by the listing so that an object overwritten during the download fails instead of producing a mixed file.
+     */
+    private final class RangedFileDownload {
+        private final DownloadFileRequest request;
+        private final long size;
+        private final String eTag;
+        private final DefaultTransferProgress fileProgress;
+        private final CompletableFuture<CompletedFileDownload> returnFuture = new CompletableFuture<>();
+        private final Set<CompletableFuture<GetObjectResponse>> inFlightRanges = ConcurrentHashMap.newKeySet();
+        private final AtomicInteger nextPart = new AtomicInteger();
+        private final AtomicReference<GetObjectResponse> firstResponse = new AtomicReference<>();
+        private final int partCount;
+        private FileChannel fileChannel;
+
+        private RangedFileDownload(DownloadFileRequest request, S3Object object, DefaultTransferProgress fileProgress) {
+            this.request = request;
+            this.size = object.size() == null ? 0L : object.size();
+            this.eTag = object.eTag();
+            this.fileProgress = fileProgress;
+            boolean ranged = size > partSizeInBytes && request.getObjectRequest().range() == null;
+            this.partCount = ranged ? (int) ((size + partSizeInBytes - 1) / partSizeInBytes) : 1;
+        }
+
+        private CompletableFuture<CompletedFileDownload> start() {
+            Path path = request.destination();
+            try {
+                Path parent = path.toAbsolutePath().getParent();
+                if (parent != null) {
+                    Files.createDirectories(parent);
+                }
+                fileChannel = FileChannel.open(path, StandardOpenOption.CREATE, StandardOpenOption.WRITE,
+                                               StandardOpenOption.TRUNCATE_EXISTING);
+            } catch (IOException | RuntimeException e) {
+                returnFuture.completeExceptionally(
+                    SdkClientException.create("Failed to open the destination file: " + path, e));
+                return returnFuture;
+            }
+
+            returnFuture.whenComplete((r, t) -> {
+                invokeSafely(fileChannel::close);
+                if (t != null) {
+                    inFlightRanges.forEach(f -> f.cancel(true));
+                    invokeSafely(() -> Files.deleteIfExists(path));
+                }
+            });
+
+            int workers = Math.min(partCount, MAX_RANGES_IN_FLIGHT_PER_OBJECT);
+            CompletableFuture<?>[] workerFutures = new CompletableFuture<?>[workers];
+            for (int i = 0; i < workers; i++) {
+                workerFutures[i] = downloadNextPart();
+            }
+
+            CompletableFuture.allOf(workerFutures).whenComplete((r, t) -> {
+                if (t != null) {
+                    returnFuture.completeExceptionally(t instanceof CompletionException && t.getCause() != null
+                                                       ? t.getCause() : t);
+                } else {
+                    returnFuture.complete(CompletedFileDownload.builder().response(firstResponse.get()).build());
+                }
+            });
+            return returnFuture;
+        }
+
+        private CompletableFuture<Void> downloadNextPart() {
+            int part = nextPart.getAndIncrement();
+            if (part >= partCount || returnFuture.isDone()) {
+                return CompletableFuture.completedFuture(null);
+            }
+
+            long start = part * partSizeInBytes;
+            GetObjectRequest.Builder getObjectRequest = request.getObjectRequest().toBuilder();
+            if (partCount > 1) {
+                long end = Math.min(start + partSizeInBytes, size) - 1;
+                getObjectRequest.range("bytes=" + start + "-" + end);
+                if (request.getObjectRequest().ifMatch() == null && eTag != null) {
+                    getObjectRequest.ifMatch(eTag);
+                }
+            }
+
+            PositionalFileResponseTransformer transformer =
+                new PositionalFileResponseTransformer(fileChannel, start, this::bytesWritten);
+            CompletableFuture<GetObjectResponse> rangeFuture = s3AsyncClient.getObject(getObjectRequest.build(), transformer);
+            inFlightRanges.add(rangeFuture);
+
+            return rangeFuture.thenCompose(response -> {
+                inFlightRanges.remove(rangeFuture);
+                if (part == 0) {
+                    firstResponse.set(response);
+                }
+                return downloadNextPart();
+            });
+        }
+
+        private void bytesWritten(long bytes) {
+            fileProgress.addBytesTransferred(bytes);
+            Long size = fileProgress.transferSizeInBytes();
+            if (size != null && fileProgress.bytesTransferred() > size) {
+                // The object is larger than listed, e.g. because it was overwritten after it was listed.
+                fileProgress.transferSizeInBytes(null);
+            }
+        }
+    }
+}
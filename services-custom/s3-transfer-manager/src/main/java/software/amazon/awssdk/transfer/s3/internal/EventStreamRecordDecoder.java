@@ -0,0 +1,250 @@
+/*
+ * Copyright Amazon.com, Inc. or its affiliates. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License").
+ * You may not use this file except in compliance with the License.
+ * A copy of the License is located at
+ *
+ *  http://aws.amazon.com/apache2.0
+ *
+ * or in the "license" file accompanying this file. This file is distributed
+ * on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either
+ * express or implied. See the License for the specific language governing
+ * permissions and limitations under the License.
+ */
+
+
+package software.amazon.awssdk.transfer.s3.internal;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Consumer;
+import java.util.zip.CRC32;
+import software.amazon.awssdk.annotations.NotThreadSafe;
+import software.amazon.awssdk.annotations.SdkInternalApi;
+import software.amazon.awssdk.awscore.exception.AwsErrorDetails;
+import software.amazon.awssdk.core.exception.SdkClientException;
+import software.amazon.awssdk.services.s3.model.S3Exception;
+
+/**
+ * Decodes the {@code application/vnd.amazon.eventstream} body of a {@code SelectObjectContent} response into the records of
+ * its {@code Records} events.
+ * <p>
+ * The messages are decoded incrementally rather than assembled: the prelude and the headers are small and are copied, but the
+ * payload is passed to a {@link RecordSplitter} as slices of the buffers it arrives in, whether a message lies within a buffer
+ * or straddles several. The records of a message are held back until the CRC of the message is verified. {@code Stats},
+ * {@code Progress} and {@code Cont} events are skipped, an {@code error} message fails the decoding with an
+ * {@link S3Exception}, and a body that ends before the {@code End} event fails it with an {@link SdkClientException}, because the
+ * result is then incomplete.
+ */
+@NotThreadSafe
+@SdkInternalApi
+final class EventStreamRecordDecoder implements RecordDecoder {
+    private static final int PRELUDE_LENGTH = 12;
+    private static final int MESSAGE_CRC_LENGTH = 4;
+
+    private final RecordSplitter splitter;
+    private final List<ByteBuffer> messageRecords = new ArrayList<>();
+    private final ByteBuffer prelude = ByteBuffer.allocate(PRELUDE_LENGTH);
+    private final ByteBuffer messageCrc = ByteBuffer.allocate(MESSAGE_CRC_LENGTH);
+    private final CRC32 crc = new CRC32();
+    private State state = State.PRELUDE;
+    private ByteBuffer headers;
+    private long payloadRemaining;
+    private String messageType;
+    private String eventType;
+    private String errorCode;
+    private String errorMessage;
+    private boolean ended;
+
+    EventStreamRecordDecoder(RecordSplitter splitter) {
+        this.splitter = splitter;
+    }
+
+    @Override
+    public void decode(ByteBuffer buffer, Consumer<ByteBuffer> records) {
+        while (buffer.hasRemaining()) {
+            switch (state) {
+                case PRELUDE:
+                    if (fill(prelude, buffer)) {
+                        readPrelude();
+                    }
+                    break;
+                case HEADERS:
+                    if (fill(headers, buffer)) {
+                        crc.update(headers.array(), 0, headers.capacity());
+                        readHeaders();
+                        state = payloadRemaining == 0 ? State.MESSAGE_CRC : State.PAYLOAD;
+                    }
+                    break;
+                case PAYLOAD:
+                    readPayload(buffer);
+                    break;
+                case MESSAGE_CRC:
+                    if (fill(messageCrc, buffer)) {
+                        endMessage(records);
+                    }
+                    break;
+                default:
+                    throw new IllegalStateException("Unexpected state: " + state);
+            }
+        }
+    }
+
+    @Override
+    public void complete(Consumer<ByteBuffer> records) {
+        if (!ended) {
+            throw SdkClientException.create("The select result ended before its End event, so it is incomplete");
+        }
+        splitter.complete(records);
+    }
+
+    /**
+     * Copy bytes from the source until the target is full, returning whether it is.
+     */
+    private static boolean fill(ByteBuffer target, ByteBuffer source) {
+        int length = Math.min(target.remaining(), source.remaining());
+        ByteBuffer chunk = source.duplicate();
+        chunk.limit(chunk.position() + length);
+        target.put(chunk);
+        source.position(source.position() + length);
+        return !target.hasRemaining();
+    }
+
+    private void readPrelude() {
+        long totalLength = prelude.getInt(0) & 0xFFFFFFFFL;
+        int headersLength = prelude.getInt(4);
+        crc.reset();
+        crc.update(prelude.array(), 0, 8);
+        if ((int) crc.getValue() != prelude.getInt(8)) {
+            throw SdkClientException.create("The prelude of a message of the select result failed its CRC check");
+        }
+        crc.update(prelude.array(), 8, 4);
+        payloadRemaining = totalLength - PRELUDE_LENGTH - MESSAGE_CRC_LENGTH - headersLength;
+        if (headersLength < 0 || payloadRemaining < 0) {
+            throw SdkClientException.create("A message of the select result has an invalid length");
+        }
+        headers = ByteBuffer.allocate(headersLength);
+        state = State.HEADERS;
+    }
+
+    private void readHeaders() {
+        messageType = null;
+        eventType = null;
+        errorCode = null;
+        errorMessage = null;
+        headers.flip();
+        while (headers.hasRemaining()) {
+            String name = readString(headers, headers.get() & 0xFF);
+            int type = headers.get();
+            switch (type) {
+                case 0: // true
+                case 1: // false
+                    break;
+                case 2: // byte
+                    skip(headers, 1);
+                    break;
+                case 3: // short
+                    skip(headers, 2);
+                    break;
+                case 4: // integer
+                    skip(headers, 4);
+                    break;
+                case 5: // long
+                case 8: // timestamp
+                    skip(headers, 8);
+                    break;
+                case 6: // byte array
+                    skip(headers, headers.getShort() & 0xFFFF);
+                    break;
+                case 7: // string
+                    header(name, readString(headers, headers.getShort() & 0xFFFF));
+                    break;
+                case 9: // uuid
+                    skip(headers, 16);
+                    break;
+                default:
+                    throw SdkClientException.create("A message of the select result has a header of unknown type " + type);
+            }
+        }
+    }
+
+    private void header(String name, String value) {
+        switch (name) {
+            case ":message-type":
+                messageType = value;
+                break;
+            case ":event-type":
+                eventType = value;
+                break;
+            case ":error-code":
+                errorCode = value;
+                break;
+            case ":error-message":
+                errorMessage = value;
+                break;
+            default:
+                break;
+        }
+    }
+
+    private static String readString(ByteBuffer buffer, int length) {
+        String value = new String(buffer.array(), buffer.arrayOffset() + buffer.position(), length, StandardCharsets.UTF_8);
+        skip(buffer, length);
+        return value;
+    }
+
+    private static void skip(ByteBuffer buffer, int length) {
+        buffer.position(buffer.position() + length);
+    }
+
+    private void readPayload(ByteBuffer buffer) {
+        int length = (int) Math.min(buffer.remaining(), payloadRemaining);
+        ByteBuffer payload = buffer.duplicate();
+        payload.limit(payload.position() + length);
+        buffer.position(buffer.position() + length);
+        payloadRemaining -= length;
+
+        crc.update(payload.duplicate());
+        if ("event".equals(messageType) && "Records".equals(eventType)) {
+            splitter.decode(payload, messageRecords::add);
+        }
+        if (payloadRemaining == 0) {
+            state = State.MESSAGE_CRC;
+        }
+    }
+
+    private void endMessage(Consumer<ByteBuffer> records) {
+        if ((int) crc.getValue() != messageCrc.getInt(0)) {
+            throw SdkClientException.create("A message of the select result failed its CRC check");
+        }
+        if ("error".equals(messageType)) {
+            throw S3Exception.builder()
+                             .message(errorMessage)
+                             .awsErrorDetails(AwsErrorDetails.builder()
+                                                             .errorCode(errorCode)
+                                                             .errorMessage(errorMessage)
+                                                             .serviceName("S3")
+                                                             .build())
+                             .build();
+        }
+        if ("event".equals(messageType) && "End".equals(eventType)) {
+            ended = true;
+        }
+        messageRecords.forEach(records);
+        messageRecords.clear();
+        prelude.clear();
+        messageCrc.clear();
+        headers = null;
+        state = State.PRELUDE;
+    }
+
+    private enum State {
+        PRELUDE,
+        HEADERS,
+        PAYLOAD,
+        MESSAGE_CRC
+    }
+}
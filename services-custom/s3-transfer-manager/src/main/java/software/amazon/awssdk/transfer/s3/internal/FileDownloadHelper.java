@@ -0,0 +1,264 @@
+/*
+ * Copyright Amazon.com, Inc. or its affiliates. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License").
+ * You may not use this file except in compliance with the License.
+ * A copy of the License is located at
+ *
+ *  http://aws.amazon.com/apache2.0
+ *
+ * or in the "license" file accompanying this file. This file is distributed
+ * on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either
+ * express or implied. See the License for the specific language governing
+ * permissions and limitations under the License.
+ */
+
+
+package software.amazon.awssdk.transfer.s3.internal;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.OpenOption;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.Instant;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CompletableFuture;
+import software.amazon.awssdk.annotations.SdkInternalApi;
+import software.amazon.awssdk.core.async.AsyncResponseTransformer;
+import software.amazon.awssdk.services.s3.S3AsyncClient;
+import software.amazon.awssdk.services.s3.model.GetObjectRequest;
+import software.amazon.awssdk.services.s3.model.GetObjectResponse;
+import software.amazon.awssdk.services.s3.model.HeadObjectRequest;
+import software.amazon.awssdk.services.s3.model.HeadObjectResponse;
+import software.amazon.awssdk.transfer.s3.CompletedFileDownload;
+import software.amazon.awssdk.transfer.s3.DownloadFileRequest;
+import software.amazon.awssdk.transfer.s3.FileDownload;
+import software.amazon.awssdk.transfer.s3.ResumableFileDownload;
+import software.amazon.awssdk.transfer.s3.internal.progress.TransferProgressUpdater;
+import software.amazon.awssdk.utils.CompletableFutureUtils;
+import software.amazon.awssdk.utils.Logger;
+
+/**
+ * An internal helper class that downloads an object to a file in a way that can be paused and resumed.
+ * <p>
+ * The object is written to the file in order, so a paused download is described by the number of bytes in the file. Resuming it
+ * checks that neither the file nor the object has changed, using the last modified time of the file and the ETag of the
+ * object, and then requests the rest of the object with a ranged GET that is pinned to the ETag with {@code If-Match}.
+ * Otherwise, the object is downloaded again from the beginning.
+ */
+@SdkInternalApi
+final class FileDownloadHelper implements PausableFileDownloader {
+    private static final Logger log = Logger.loggerFor(FileDownloadHelper.class);
+
+    private final S3AsyncClient s3AsyncClient;
+
+    FileDownloadHelper(S3AsyncClient s3AsyncClient) {
+        this.s3AsyncClient = s3AsyncClient;
+    }
+
+    @Override
+    public FileDownload downloadFile(DownloadFileRequest downloadFileRequest) {
+        PausableFileDownload download = new PausableFileDownload(downloadFileRequest, new TransferProgressUpdater(
+            downloadFileRequest, null));
+        download.progressUpdater.transferInitiated();
+        download.progressUpdater.registerCompletion(download.returnFuture);
+
+        try {
+            DefaultS3TransferManager.assertNotUnsupportedArn(downloadFileRequest.getObjectRequest().bucket(), "download");
+            download.downloadFromStart(StandardOpenOption.WRITE, StandardOpenOption.CREATE_NEW);
+        } catch (Throwable throwable) {
+            download.returnFuture.completeExceptionally(throwable);
+        }
+
+        return download.toFileDownload();
+    }
+
+    @Override
+    public FileDownload resumeDownload(ResumableFileDownload resumableFileDownload) {
+        DownloadFileRequest downloadFileRequest = resumableFileDownload.downloadFileRequest();
+        PausableFileDownload download = new PausableFileDownload(downloadFileRequest, new TransferProgressUpdater(
+            downloadFileRequest, null));
+        boolean canContinue = isDestinationUnchanged(resumableFileDownload);
+        if (canContinue) {
+            download.progressUpdater.transferSizeInBytes(resumableFileDownload.totalSizeInBytes().get());
+            download.progressUpdater.bytesAlreadyTransferred(resumableFileDownload.bytesTransferred());
+        }
+        download.progressUpdater.transferInitiated();
+        download.progressUpdater.registerCompletion(download.returnFuture);
+
+        try {
+            DefaultS3TransferManager.assertNotUnsupportedArn(downloadFileRequest.getObjectRequest().bucket(), "download");
+            if (canContinue) {
+                download.continueFrom(resumableFileDownload);
+            } else {
+                download.downloadFromStart(StandardOpenOption.WRITE, StandardOpenOption.CREATE,
+                                           StandardOpenOption.TRUNCATE_EXISTING);
+            }
+        } catch (Throwable throwable) {
+            download.returnFuture.completeExceptionally(throwable);
+        }
+
+        return download.toFileDownload();
+    }
+
+    static boolean isDestinationUnchanged(ResumableFileDownload resumableFileDownload) {
+        if (resumableFileDownload.bytesTransferred() == 0
+            || !resumableFileDownload.objectETag().isPresent()
+            || !resumableFileDownload.totalSizeInBytes().isPresent()
+            || !resumableFileDownload.fileLastModified().isPresent()
+            || resumableFileDownload.downloadFileRequest().getObjectRequest().range() != null) {
+            return false;
+        }
+        Path destination = resumableFileDownload.downloadFileRequest().destination();
+        try {
+            return Files.size(destination) == resumableFileDownload.bytesTransferred()
+                   && Files.getLastModifiedTime(destination).toInstant().equals(resumableFileDownload.fileLastModified().get());
+        } catch (IOException | RuntimeException e) {
+            return false;
+        }
+    }
+
+    /**
+     * The {@code HeadObject} request that checks whether the object downloaded by the given request has changed.
+     */
+    static HeadObjectRequest toHeadObjectRequest(GetObjectRequest getObjectRequest) {
+        HeadObjectRequest.Builder headObjectRequest =
+            SdkPojoFields.applyFieldMap(HeadObjectRequest.builder(), SdkPojoFields.toFieldMap(getObjectRequest));
+        getObjectRequest.overrideConfiguration().ifPresent(headObjectRequest::overrideConfiguration);
+        return headObjectRequest.build();
+    }
+
+    /**
+     * The response of a download whose content was already fully written when it was resumed.
+     */
+    static GetObjectResponse toGetObjectResponse(HeadObjectResponse headObjectResponse) {
+        return SdkPojoFields.applyFieldMap(GetObjectResponse.builder(), SdkPojoFields.toFieldMap(headObjectResponse)).build();
+    }
+
+    /**
+     * The state of one file download.
+     */
+    private final class PausableFileDownload {
+        private final DownloadFileRequest downloadFileRequest;
+        private final TransferProgressUpdater progressUpdater;
+        private final CompletableFuture<CompletedFileDownload> returnFuture = new CompletableFuture<>();
+        private PausableFileResponseTransformer transformer;
+        private volatile String objectETag;
+        private volatile Long totalSizeInBytes;
+
+        private PausableFileDownload(DownloadFileRequest downloadFileRequest, TransferProgressUpdater progressUpdater) {
+            this.downloadFileRequest = downloadFileRequest;
+            this.progressUpdater = progressUpdater;
+        }
+
+        private FileDownload toFileDownload() {
+            return new DefaultFileDownload(returnFuture, progressUpdater.progress(), this::pause);
+        }
+
+        private void downloadFromStart(OpenOption... openOptions) {
+            PausableFileResponseTransformer fileTransformer =
+                new PausableFileResponseTransformer(downloadFileRequest.destination(), 0, null, openOptions);
+            getObject(downloadFileRequest.getObjectRequest(), fileTransformer,
+                      progressUpdater.wrapResponseTransformer(fileTransformer));
+        }
+
+        private void continueFrom(ResumableFileDownload resumableFileDownload) {
+            long startPosition = resumableFileDownload.bytesTransferred();
+            objectETag = resumableFileDownload.objectETag().get();
+            totalSizeInBytes = resumableFileDownload.totalSizeInBytes().get();
+
+            GetObjectRequest getObjectRequest = downloadFileRequest.getObjectRequest();
+            CompletableFuture<HeadObjectResponse> headFuture = s3AsyncClient.headObject(toHeadObjectRequest(getObjectRequest));
+            CompletableFutureUtils.forwardExceptionTo(returnFuture, headFuture);
+            headFuture.whenComplete((head, t) -> {
+                if (t != null) {
+                    returnFuture.completeExceptionally(t);
+                    return;
+                }
+                try {
+                    if (!objectETag.equals(head.eTag()) || !totalSizeInBytes.equals(head.contentLength())) {
+                        log.debug(() -> String.format("s3://%s/%s has changed since the download was paused, downloading it "
+                                                      + "again", getObjectRequest.bucket(), getObjectRequest.key()));
+                        objectETag = null;
+                        totalSizeInBytes = null;
+                        downloadFromStart(StandardOpenOption.WRITE, StandardOpenOption.CREATE,
+                                          StandardOpenOption.TRUNCATE_EXISTING);
+                    } else if (startPosition == totalSizeInBytes) {
+                        returnFuture.complete(CompletedFileDownload.builder().response(toGetObjectResponse(head)).build());
+                    } else {
+                        GetObjectRequest rangedRequest = getObjectRequest.toBuilder()
+                                                                         .range("bytes=" + startPosition + "-")
+                                                                         .ifMatch(objectETag)
+                                                                         .build();
+                        PausableFileResponseTransformer fileTransformer =
+                            new PausableFileResponseTransformer(downloadFileRequest.destination(), startPosition,
+                                                                progressUpdater::incrementBytesTransferred,
+                                                                StandardOpenOption.WRITE);
+                        getObject(rangedRequest, fileTransformer, fileTransformer);
+                    }
+                } catch (Throwable throwable) {
+                    returnFuture.completeExceptionally(throwable);
+                }
+            });
+        }
+
+        private void getObject(GetObjectRequest getObjectRequest, PausableFileResponseTransformer fileTransformer,
+                               AsyncResponseTransformer<GetObjectResponse, GetObjectResponse> responseTransformer) {
+            synchronized (this) {
+                if (returnFuture.isDone()) {
+                    // Paused or cancelled before the object was requested
+                    return;
+                }
+                transformer = fileTransformer;
+            }
+
+            CompletableFuture<GetObjectResponse> getObjectFuture = s3AsyncClient.getObject(getObjectRequest,
+                                                                                           responseTransformer);
+
+            // Forward download cancellation to CRT future
+            CompletableFutureUtils.forwardExceptionTo(returnFuture, getObjectFuture);
+
+            CompletableFutureUtils.forwardTransformedResultTo(getObjectFuture, returnFuture,
+                                                              r -> CompletedFileDownload.builder()
+                                                                                        .response(r)
+                                                                                        .build());
+        }
+
+        private ResumableFileDownload pause() {
+            PausableFileResponseTransformer pausedTransformer;
+            synchronized (this) {
+                pausedTransformer = transformer;
+                if (pausedTransformer != null) {
+                    // Stop writing before the request is cancelled, so that the file is kept rather than deleted
+                    pausedTransformer.pause();
+                }
+                if (!returnFuture.completeExceptionally(new CancellationException("The download was paused"))) {
+                    throw new IllegalStateException("The download has already completed");
+                }
+            }
+
+            ResumableFileDownload.Builder resumableFileDownload = ResumableFileDownload.builder()
+                                                                                       .downloadFileRequest(downloadFileRequest)
+                                                                                       .objectETag(objectETag)
+                                                                                       .totalSizeInBytes(totalSizeInBytes);
+            if (pausedTransformer != null && pausedTransformer.response() != null && objectETag == null) {
+                GetObjectResponse response = pausedTransformer.response();
+                resumableFileDownload.objectETag(response.eTag())
+                                     .totalSizeInBytes(response.contentLength());
+            }
+
+            Path destination = downloadFileRequest.destination();
+            try {
+                if (pausedTransformer != null && pausedTransformer.isFileOpened()) {
+                    Instant lastModified = Files.getLastModifiedTime(destination).toInstant();
+                    resumableFileDownload.bytesTransferred(Files.size(destination))
+                                         .fileLastModified(lastModified);
+                }
+            } catch (IOException | RuntimeException e) {
+                log.debug(() -> "Failed to read the state of " + destination + ", the download will restart when resumed", e);
+            }
+            return resumableFileDownload.build();
+        }
+    }
+}
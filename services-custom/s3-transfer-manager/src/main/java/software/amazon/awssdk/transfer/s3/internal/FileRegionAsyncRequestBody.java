@@ -0,0 +1,181 @@
+/*
+ * Copyright Amazon.com, Inc. or its affiliates. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License").
+ * You may not use this file except in compliance with the License.
+ * A copy of the License is located at
+ *
+ *  http://aws.amazon.com/apache2.0
+ *
+ * or in the "license" file accompanying this file. This file is distributed
+ * on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either
+ * express or implied. See the License for the specific language governing
+ * permissions and limitations under the License.
+ */
+
+
+package software.amazon.awssdk.transfer.s3.internal;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.AsynchronousFileChannel;
+import java.nio.channels.CompletionHandler;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Optional;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+import org.reactivestreams.Subscriber;
+import org.reactivestreams.Subscription;
+import software.amazon.awssdk.annotations.SdkInternalApi;
+import software.amazon.awssdk.core.async.AsyncRequestBody;
+import software.amazon.awssdk.utils.Logger;
+
+/**
+ * {@link AsyncRequestBody} that reads a region of a file, used to send one part of a multipart upload. Each subscription opens
+ * its own channel and reads the region in chunks with positional reads, one chunk for each unit of demand, so the request body
+ * can be sent again if the request is retried and several parts of the same file can be read concurrently.
+ */
+@SdkInternalApi
+final class FileRegionAsyncRequestBody implements AsyncRequestBody {
+    private static final Logger log = Logger.loggerFor(FileRegionAsyncRequestBody.class);
+    private static final int DEFAULT_CHUNK_SIZE_IN_BYTES = 16 * 1024;
+
+    private final Path path;
+    private final long offset;
+    private final long length;
+    private final int chunkSizeInBytes;
+
+    FileRegionAsyncRequestBody(Path path, long offset, long length) {
+        this(path, offset, length, DEFAULT_CHUNK_SIZE_IN_BYTES);
+    }
+
+    FileRegionAsyncRequestBody(Path path, long offset, long length, int chunkSizeInBytes) {
+        this.path = path;
+        this.offset = offset;
+        this.length = length;
+        this.chunkSizeInBytes = chunkSizeInBytes;
+    }
+
+    @Override
+    public Optional<Long> contentLength() {
+        return Optional.of(length);
+    }
+
+    @Override
+    public void subscribe(Subscriber<? super ByteBuffer> subscriber) {
+        AsynchronousFileChannel channel;
+        try {
+            channel = AsynchronousFileChannel.open(path, StandardOpenOption.READ);
+        } catch (IOException | RuntimeException e) {
+            subscriber.onSubscribe(new NoopSubscription());
+            subscriber.onError(e);
+            return;
+        }
+        subscriber.onSubscribe(new FileRegionSubscription(channel, subscriber));
+    }
+
+    private final class FileRegionSubscription implements Subscription {
+        private final AsynchronousFileChannel channel;
+        private final Subscriber<? super ByteBuffer> subscriber;
+        private final AtomicLong outstandingDemand = new AtomicLong();
+        private final AtomicBoolean readInProgress = new AtomicBoolean();
+        private volatile boolean done;
+        private long position = offset;
+        private long remaining = length;
+
+        private FileRegionSubscription(AsynchronousFileChannel channel, Subscriber<? super ByteBuffer> subscriber) {
+            this.channel = channel;
+            this.subscriber = subscriber;
+        }
+
+        @Override
+        public void request(long n) {
+            if (done) {
+                return;
+            }
+            if (n <= 0) {
+                signalError(new IllegalArgumentException("Demand must be positive"));
+                return;
+            }
+            outstandingDemand.getAndUpdate(current -> Long.MAX_VALUE - current < n ? Long.MAX_VALUE : current + n);
+            readNextChunk();
+        }
+
+        @Override
+        public void cancel() {
+            done = true;
+            closeChannel();
+        }
+
+        private void readNextChunk() {
+            while (!done && readInProgress.compareAndSet(false, true)) {
+                if (remaining == 0) {
+                    done = true;
+                    closeChannel();
+                    subscriber.onComplete();
+                    return;
+                }
+                if (outstandingDemand.get() == 0) {
+                    readInProgress.set(false);
+                    if (outstandingDemand.get() == 0) {
+                        return;
+                    }
+                    // More demand arrived while the flag was held, so try to read again
+                    continue;
+                }
+                ByteBuffer buffer = ByteBuffer.allocate((int) Math.min(chunkSizeInBytes, remaining));
+                channel.read(buffer, position, buffer, new CompletionHandler<Integer, ByteBuffer>() {
+                    @Override
+                    public void completed(Integer result, ByteBuffer attachment) {
+                        if (result < 0) {
+                            signalError(new IOException(String.format("%s ended %d bytes before the end of the part being read",
+                                                                      path, remaining)));
+                            return;
+                        }
+                        position += result;
+                        remaining -= result;
+                        attachment.flip();
+                        outstandingDemand.decrementAndGet();
+                        subscriber.onNext(attachment);
+                        readInProgress.set(false);
+                        readNextChunk();
+                    }
+
+                    @Override
+                    public void failed(Throwable exc, ByteBuffer attachment) {
+                        signalError(exc);
+                    }
+                });
+                return;
+            }
+        }
+
+        private void signalError(Throwable t) {
+            if (done) {
+                return;
+            }
+            done = true;
+            closeChannel();
+            subscriber.onError(t);
+        }
+
+        private void closeChannel() {
+            try {
+                channel.close();
+            } catch (IOException e) {
+                log.debug(() -> "Failed to close " + path, e);
+            }
+        }
+    }
+
+    private static final class NoopSubscription implements Subscription {
+        @Override
+        public void request(long n) {
+        }
+
+        @Override
+        public void cancel() {
+        }
+    }
+}
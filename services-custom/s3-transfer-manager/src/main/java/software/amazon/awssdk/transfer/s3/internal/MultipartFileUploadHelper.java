@@ -0,0 +1,393 @@
+/*
+ * Copyright Amazon.com, Inc. or its affiliates. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License").
+ * You may not use this file except in compliance with the License.
+ * A copy of the License is located at
+ *
+ *  http://aws.amazon.com/apache2.0
+ *
+ * or in the "license" file accompanying this file. This file is distributed
+ * on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either
+ * express or implied. See the License for the specific language governing
+ * permissions and limitations under the License.
+ */
+
+
+package software.amazon.awssdk.transfer.s3.internal;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Queue;
+import java.util.Set;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ConcurrentMap;
+import java.util.function.Function;
+import software.amazon.awssdk.annotations.SdkInternalApi;
+import software.amazon.awssdk.services.s3.S3AsyncClient;
+import software.amazon.awssdk.services.s3.model.AbortMultipartUploadRequest;
+import software.amazon.awssdk.services.s3.model.CompleteMultipartUploadRequest;
+import software.amazon.awssdk.services.s3.model.CompleteMultipartUploadResponse;
+import software.amazon.awssdk.services.s3.model.CompletedPart;
+import software.amazon.awssdk.services.s3.model.CreateMultipartUploadRequest;
+import software.amazon.awssdk.services.s3.model.CreateMultipartUploadResponse;
+import software.amazon.awssdk.services.s3.model.PutObjectRequest;
+import software.amazon.awssdk.services.s3.model.PutObjectResponse;
+import software.amazon.awssdk.services.s3.model.UploadPartRequest;
+import software.amazon.awssdk.services.s3.model.UploadPartResponse;
+import software.amazon.awssdk.transfer.s3.CompletedFileUpload;
+import software.amazon.awssdk.transfer.s3.FileUpload;
+import software.amazon.awssdk.transfer.s3.ResumableFileUpload;
+import software.amazon.awssdk.transfer.s3.UploadFileRequest;
+import software.amazon.awssdk.transfer.s3.internal.progress.TransferProgressUpdater;
+import software.amazon.awssdk.utils.CompletableFutureUtils;
+import software.amazon.awssdk.utils.Logger;
+
+/**
+ * An internal helper class that uploads a file as a multipart upload driven by the transfer manager rather than by the CRT
+ * client, so that the upload ID and the completed parts are known and the upload can be paused and resumed. It is used for
+ * {@link UploadFileRequest#pausable() pausable} uploads, for resumed uploads, and when the transfer manager has no CRT client.
+ * <p>
+ * The file is split into parts of a fixed size, and up to {@link #MAX_PARTS_IN_FLIGHT_PER_OBJECT} parts are uploaded at a time,
+ * each read from the file with positional reads. If the upload fails or is cancelled, the multipart upload is aborted. If it is
+ * paused, the multipart upload is left in place and its state is returned as a {@link ResumableFileUpload}.
+ */
+@SdkInternalApi
+final class MultipartFileUploadHelper {
+    static final int MAX_PARTS_IN_FLIGHT_PER_OBJECT = 8;
+
+    /**
+     * The maximum number of parts of a multipart upload allowed by S3.
+     */
+    static final int MAX_PART_COUNT = 10_000;
+
+    private static final Logger log = Logger.loggerFor(MultipartFileUploadHelper.class);
+
+    private final S3AsyncClient s3AsyncClient;
+    private final long partSizeInBytes;
+
+    MultipartFileUploadHelper(S3AsyncClient s3AsyncClient, long partSizeInBytes) {
+        this.s3AsyncClient = s3AsyncClient;
+        this.partSizeInBytes = partSizeInBytes;
+    }
+
+    /**
+     * @return whether a file of the given size should be uploaded in parts
+     */
+    boolean shouldUploadInParts(long fileLength) {
+        return fileLength > partSizeInBytes;
+    }
+
+    /**
+     * Start a new multipart upload of the given file.
+     */
+    FileUpload uploadFile(UploadFileRequest uploadFileRequest, long fileLength, Instant fileLastModified) {
+        MultipartFileUpload upload = new MultipartFileUpload(uploadFileRequest, partSizeInBytes, fileLength, fileLastModified,
+                                                             null, new ArrayList<>());
+        upload.start();
+        return new DefaultFileUpload(upload.returnFuture, upload.progressUpdater.progress(), upload::pause);
+    }
+
+    /**
+     * Resume a paused upload. A multipart upload continues with the parts that are missing if the source file has not changed
+     * since the upload was started. Otherwise, the multipart upload is aborted and the file is uploaded again with the given
+     * function.
+     */
+    FileUpload resumeUpload(ResumableFileUpload resumableFileUpload, Function<UploadFileRequest, FileUpload> uploadFunction) {
+        UploadFileRequest uploadFileRequest = resumableFileUpload.uploadFileRequest();
+        String multipartUploadId = resumableFileUpload.multipartUploadId().orElse(null);
+        if (multipartUploadId == null) {
+            return uploadFunction.apply(uploadFileRequest);
+        }
+
+        if (!isSourceUnchanged(resumableFileUpload)) {
+            log.debug(() -> String.format("%s has changed since the upload was paused, uploading it again",
+                                          uploadFileRequest.source()));
+            abortMultipartUpload(uploadFileRequest.putObjectRequest(), multipartUploadId);
+            return uploadFunction.apply(uploadFileRequest);
+        }
+
+        MultipartFileUpload upload = new MultipartFileUpload(uploadFileRequest,
+                                                             resumableFileUpload.partSizeInBytes().get(),
+                                                             resumableFileUpload.fileLength(),
+                                                             resumableFileUpload.fileLastModified(),
+                                                             multipartUploadId,
+                                                             resumableFileUpload.completedParts());
+        upload.start();
+        return new DefaultFileUpload(upload.returnFuture, upload.progressUpdater.progress(), upload::pause);
+    }
+
+    private static boolean isSourceUnchanged(ResumableFileUpload resumableFileUpload) {
+        try {
+            return Files.size(resumableFileUpload.uploadFileRequest().source()) == resumableFileUpload.fileLength()
+                   && Files.getLastModifiedTime(resumableFileUpload.uploadFileRequest().source()).toInstant()
+                           .equals(resumableFileUpload.fileLastModified());
+        } catch (IOException | RuntimeException e) {
+            // Let the new upload report why the file cannot be read
+            return false;
+        }
+    }
+
+    private void abortMultipartUpload(PutObjectRequest putObjectRequest, String uploadId) {
+        abortMultipartUpload(s3AsyncClient, putObjectRequest, uploadId);
+    }
+
+    static void abortMultipartUpload(S3AsyncClient s3AsyncClient, PutObjectRequest putObjectRequest, String uploadId) {
+        AbortMultipartUploadRequest request = AbortMultipartUploadRequest.builder()
+                                                                         .bucket(putObjectRequest.bucket())
+                                                                         .key(putObjectRequest.key())
+                                                                         .uploadId(uploadId)
+                                                                         .requestPayer(putObjectRequest.requestPayerAsString())
+                                                                         .expectedBucketOwner(
+                                                                             putObjectRequest.expectedBucketOwner())
+                                                                         .build();
+        s3AsyncClient.abortMultipartUpload(request).whenComplete((r, t) -> {
+            if (t != null) {
+                log.warn(() -> String.format("Failed to abort multipart upload %s of %s", uploadId, putObjectRequest.key()), t);
+            }
+        });
+    }
+
+    static CreateMultipartUploadRequest toCreateMultipartUploadRequest(PutObjectRequest putObjectRequest) {
+        CreateMultipartUploadRequest.Builder builder =
+            SdkPojoFields.applyFieldMap(CreateMultipartUploadRequest.builder(), SdkPojoFields.toFieldMap(putObjectRequest));
+        putObjectRequest.overrideConfiguration().ifPresent(builder::overrideConfiguration);
+        return builder.build();
+    }
+
+    static UploadPartRequest toUploadPartRequest(PutObjectRequest putObjectRequest, String uploadId, int partNumber,
+                                                 long contentLength) {
+        return UploadPartRequest.builder()
+                                .bucket(putObjectRequest.bucket())
+                                .key(putObjectRequest.key())
+                                .uploadId(uploadId)
+                                .partNumber(partNumber)
+                                .contentLength(contentLength)
+                                .sseCustomerAlgorithm(putObjectRequest.sseCustomerAlgorithm())
+                                .sseCustomerKey(putObjectRequest.sseCustomerKey())
+                                .sseCustomerKeyMD5(putObjectRequest.sseCustomerKeyMD5())
+                                .requestPayer(putObjectRequest.requestPayerAsString())
+                                .expectedBucketOwner(putObjectRequest.expectedBucketOwner())
+                                .build();
+    }
+
+    static CompleteMultipartUploadRequest toCompleteMultipartUploadRequest(PutObjectRequest putObjectRequest, String uploadId,
+                                                                           List<CompletedPart> sortedParts) {
+        return CompleteMultipartUploadRequest.builder()
+                                             .bucket(putObjectRequest.bucket())
+                                             .key(putObjectRequest.key())
+                                             .uploadId(uploadId)
+                                             .multipartUpload(m -> m.parts(sortedParts))
+                                             .requestPayer(putObjectRequest.requestPayerAsString())
+                                             .expectedBucketOwner(putObjectRequest.expectedBucketOwner())
+                                             .build();
+    }
+
+    static PutObjectResponse toPutObjectResponse(CompleteMultipartUploadResponse response) {
+        return SdkPojoFields.applyFieldMap(PutObjectResponse.builder(), SdkPojoFields.toFieldMap(response)).build();
+    }
+
+    /**
+     * The state of one multipart upload.
+     */
+    private final class MultipartFileUpload {
+        private final UploadFileRequest uploadFileRequest;
+        private final PutObjectRequest putObjectRequest;
+        private final long partSize;
+        private final long fileLength;
+        private final Instant fileLastModified;
+        private final ConcurrentMap<Integer, CompletedPart> completedParts = new ConcurrentHashMap<>();
+        private final Queue<Integer> remainingParts = new ConcurrentLinkedQueue<>();
+        private final Set<CompletableFuture<?>> inFlightRequests = ConcurrentHashMap.newKeySet();
+        private final CompletableFuture<CompletedFileUpload> returnFuture = new CompletableFuture<>();
+        private final TransferProgressUpdater progressUpdater;
+        private volatile CompletableFuture<String> uploadIdFuture;
+        private volatile String uploadId;
+        private volatile boolean paused;
+
+        private MultipartFileUpload(UploadFileRequest uploadFileRequest, long partSize, long fileLength,
+                                    Instant fileLastModified, String uploadId, Collection<CompletedPart> completedParts) {
+            this.uploadFileRequest = uploadFileRequest;
+            this.putObjectRequest = uploadFileRequest.putObjectRequest();
+            this.partSize = partSize;
+            this.fileLength = fileLength;
+            this.fileLastModified = fileLastModified;
+            this.uploadId = uploadId;
+
+            int partCount = (int) ((fileLength + partSize - 1) / partSize);
+            long bytesAlreadyUploaded = 0;
+            for (CompletedPart part : completedParts) {
+                if (part.partNumber() != null && part.partNumber() >= 1 && part.partNumber() <= partCount) {
+                    this.completedParts.put(part.partNumber(), part);
+                    bytesAlreadyUploaded += partLength(part.partNumber());
+                }
+            }
+            for (int partNumber = 1; partNumber <= partCount; partNumber++) {
+                if (!this.completedParts.containsKey(partNumber)) {
+                    remainingParts.add(partNumber);
+                }
+            }
+
+            this.progressUpdater = new TransferProgressUpdater(uploadFileRequest, null);
+            progressUpdater.transferSizeInBytes(fileLength);
+            progressUpdater.bytesAlreadyTransferred(bytesAlreadyUploaded);
+        }
+
+        private long partLength(int partNumber) {
+            return Math.min(partSize, fileLength - (partNumber - 1) * partSize);
+        }
+
+        private void start() {
+            progressUpdater.transferInitiated();
+            progressUpdater.registerCompletion(returnFuture);
+            returnFuture.whenComplete((r, t) -> {
+                if (t != null) {
+                    onFailure();
+                }
+            });
+
+            try {
+                DefaultS3TransferManager.assertNotUnsupportedArn(putObjectRequest.bucket(), "upload");
+                uploadIdFuture = uploadId != null
+                                 ? CompletableFuture.completedFuture(uploadId)
+                                 : s3AsyncClient.createMultipartUpload(toCreateMultipartUploadRequest(putObjectRequest))
+                                                .thenApply(CreateMultipartUploadResponse::uploadId);
+
+                uploadIdFuture.thenCompose(this::uploadRemainingParts)
+                              .thenCompose(ignored -> completeMultipartUpload())
+                              .whenComplete((r, t) -> {
+                                  if (t != null) {
+                                      returnFuture.completeExceptionally(unwrap(t));
+                                  } else {
+                                      returnFuture.complete(CompletedFileUpload.builder().response(r).build());
+                                  }
+                              });
+            } catch (Throwable t) {
+                returnFuture.completeExceptionally(t);
+            }
+        }
+
+        private CompletableFuture<Void> uploadRemainingParts(String createdUploadId) {
+            synchronized (this) {
+                if (returnFuture.isDone()) {
+                    // The upload was paused or cancelled while it was being created, and the token does not include it.
+                    if (uploadId == null) {
+                        abortMultipartUpload(putObjectRequest, createdUploadId);
+                    }
+                    return CompletableFutureUtils.failedFuture(new CancellationException());
+                }
+                uploadId = createdUploadId;
+            }
+
+            int workerCount = Math.min(MAX_PARTS_IN_FLIGHT_PER_OBJECT, remainingParts.size());
+            CompletableFuture<?>[] workers = new CompletableFuture<?>[workerCount];
+            for (int i = 0; i < workerCount; i++) {
+                CompletableFuture<Void> worker = uploadNextPart(createdUploadId);
+                // Fail the upload as soon as any part fails, instead of waiting for the other workers
+                worker.whenComplete((r, t) -> {
+                    if (t != null) {
+                        returnFuture.completeExceptionally(unwrap(t));
+                    }
+                });
+                workers[i] = worker;
+            }
+            return CompletableFuture.allOf(workers);
+        }
+
+        private CompletableFuture<Void> uploadNextPart(String currentUploadId) {
+            if (returnFuture.isDone()) {
+                return CompletableFutureUtils.failedFuture(new CancellationException());
+            }
+            Integer partNumber = remainingParts.poll();
+            if (partNumber == null) {
+                return CompletableFuture.completedFuture(null);
+            }
+
+            long offset = (partNumber - 1) * partSize;
+            long length = partLength(partNumber);
+            CompletableFuture<UploadPartResponse> partFuture =
+                s3AsyncClient.uploadPart(toUploadPartRequest(putObjectRequest, currentUploadId, partNumber, length),
+                                         new FileRegionAsyncRequestBody(uploadFileRequest.source(), offset, length));
+            inFlightRequests.add(partFuture);
+            if (returnFuture.isDone()) {
+                // Paused or cancelled after the request was sent, but before it could be tracked
+                partFuture.cancel(true);
+            }
+
+            return partFuture.thenCompose(response -> {
+                inFlightRequests.remove(partFuture);
+                completedParts.put(partNumber, CompletedPart.builder()
+                                                            .partNumber(partNumber)
+                                                            .eTag(response.eTag())
+                                                            .build());
+                progressUpdater.incrementBytesTransferred(length);
+                return uploadNextPart(currentUploadId);
+            });
+        }
+
+        private CompletableFuture<PutObjectResponse> completeMultipartUpload() {
+            CompleteMultipartUploadRequest request = toCompleteMultipartUploadRequest(putObjectRequest, uploadId,
+                                                                                      sortedCompletedParts());
+            return s3AsyncClient.completeMultipartUpload(request).thenApply(MultipartFileUploadHelper::toPutObjectResponse);
+        }
+
+        private List<CompletedPart> sortedCompletedParts() {
+            List<CompletedPart> parts = new ArrayList<>(completedParts.values());
+            parts.sort(Comparator.comparing(CompletedPart::partNumber));
+            return parts;
+        }
+
+        private void onFailure() {
+            inFlightRequests.forEach(f -> f.cancel(true));
+            String uploadIdToAbort;
+            synchronized (this) {
+                if (paused) {
+                    return;
+                }
+                uploadIdToAbort = uploadId;
+            }
+            CompletableFuture<String> createFuture = uploadIdFuture;
+            if (createFuture != null && !createFuture.isDone()) {
+                // If the upload is created after all, it is aborted as soon as its ID is received
+                return;
+            }
+            if (uploadIdToAbort != null) {
+                abortMultipartUpload(putObjectRequest, uploadIdToAbort);
+            }
+        }
+
+        private ResumableFileUpload pause() {
+            String pausedUploadId;
+            synchronized (this) {
+                paused = true;
+                if (!returnFuture.completeExceptionally(new CancellationException("The upload was paused"))) {
+                    paused = false;
+                    throw new IllegalStateException("The upload has already completed");
+                }
+                pausedUploadId = uploadId;
+            }
+
+            return ResumableFileUpload.builder()
+                                      .uploadFileRequest(uploadFileRequest)
+                                      .fileLength(fileLength)
+                                      .fileLastModified(fileLastModified)
+                                      .multipartUploadId(pausedUploadId)
+                                      .partSizeInBytes(partSize)
+                                      .completedParts(pausedUploadId == null ? new ArrayList<>() : sortedCompletedParts())
+                                      .build();
+        }
+    }
+
+    static Throwable unwrap(Throwable t) {
+        return t instanceof CompletionException && t.getCause() != null ? t.getCause() : t;
+    }
+}
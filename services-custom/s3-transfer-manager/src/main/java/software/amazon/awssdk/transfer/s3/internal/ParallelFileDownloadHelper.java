@@ -0,0 +1,431 @@
+/*
+ * Copyright Amazon.com, Inc. or its affiliates. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License").
+ * You may not use this file except in compliance with the License.
+ * A copy of the License is located at
+ *
+ *  http://aws.amazon.com/apache2.0
+ *
+ * or in the "license" file accompanying this file. This file is distributed
+ * on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either
+ * express or implied. See the License for the specific language governing
+ * permissions and limitations under the License.
+ */
+
+
+package software.amazon.awssdk.transfer.s3.internal;
+
+import static software.amazon.awssdk.utils.FunctionalUtils.invokeSafely;
+
+import java.io.IOException;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.OpenOption;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.Instant;
+import java.util.BitSet;
+import java.util.Set;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Consumer;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+import software.amazon.awssdk.annotations.SdkInternalApi;
+import software.amazon.awssdk.core.async.AsyncResponseTransformer;
+import software.amazon.awssdk.core.exception.SdkClientException;
+import software.amazon.awssdk.services.s3.S3AsyncClient;
+import software.amazon.awssdk.services.s3.model.GetObjectRequest;
+import software.amazon.awssdk.services.s3.model.GetObjectResponse;
+import software.amazon.awssdk.services.s3.model.HeadObjectResponse;
+import software.amazon.awssdk.services.s3.model.S3Exception;
+import software.amazon.awssdk.transfer.s3.CompletedFileDownload;
+import software.amazon.awssdk.transfer.s3.DownloadFileRequest;
+import software.amazon.awssdk.transfer.s3.FileDownload;
+import software.amazon.awssdk.transfer.s3.ResumableFileDownload;
+import software.amazon.awssdk.transfer.s3.internal.progress.NotifyingAsyncResponseTransformer;
+import software.amazon.awssdk.transfer.s3.internal.progress.NotifyingAsyncResponseTransformer.AsyncResponseTransformerListener;
+import software.amazon.awssdk.transfer.s3.internal.progress.TransferProgressUpdater;
+import software.amazon.awssdk.utils.CompletableFutureUtils;
+import software.amazon.awssdk.utils.Logger;
+import software.amazon.awssdk.utils.Validate;
+
+/**
+ * An internal helper class that downloads an object to a file with parallel ranged GETs, for clients that do not split
+ * downloads into parts themselves.
+ * <p>
+ * The first part is requested on its own, and its {@code Content-Range} gives the size of the object. The other parts are then
+ * requested with up to {@link DownloadDirectoryHelper#MAX_RANGES_IN_FLIGHT_PER_OBJECT} in flight, each pinned to the ETag of the
+ * first part with {@code If-Match} and written at its own offset of a shared {@link FileChannel}.
+ * <p>
+ * Parts complete out of order, so pausing the download closes the file and truncates it to the parts that were completed
+ * without a gap from the start of the object. The file then has the same layout as after a paused
+ * {@link FileDownloadHelper sequential download}, and is resumed the same way, except that the rest of the object is again
+ * requested in parallel parts.
+ */
+@SdkInternalApi
+final class ParallelFileDownloadHelper implements PausableFileDownloader {
+    private static final Logger log = Logger.loggerFor(ParallelFileDownloadHelper.class);
+    private static final Pattern CONTENT_RANGE_TOTAL = Pattern.compile("bytes \\d+-\\d+/(\\d+)");
+    private static final int INVALID_RANGE_STATUS_CODE = 416;
+
+    private final S3AsyncClient s3AsyncClient;
+    private final long partSizeInBytes;
+
+    ParallelFileDownloadHelper(S3AsyncClient s3AsyncClient, long partSizeInBytes) {
+        this.s3AsyncClient = s3AsyncClient;
+        this.partSizeInBytes = Validate.isPositive(partSizeInBytes, "partSizeInBytes");
+    }
+
+    @Override
+    public FileDownload downloadFile(DownloadFileRequest downloadFileRequest) {
+        ParallelFileDownload download = new ParallelFileDownload(downloadFileRequest);
+        download.progressUpdater.transferInitiated();
+        download.progressUpdater.registerCompletion(download.returnFuture);
+
+        try {
+            DefaultS3TransferManager.assertNotUnsupportedArn(downloadFileRequest.getObjectRequest().bucket(), "download");
+            download.downloadFromStart(StandardOpenOption.WRITE, StandardOpenOption.CREATE_NEW);
+        } catch (Throwable throwable) {
+            download.returnFuture.completeExceptionally(throwable);
+        }
+
+        return download.toFileDownload();
+    }
+
+    @Override
+    public FileDownload resumeDownload(ResumableFileDownload resumableFileDownload) {
+        DownloadFileRequest downloadFileRequest = resumableFileDownload.downloadFileRequest();
+        ParallelFileDownload download = new ParallelFileDownload(downloadFileRequest);
+        boolean canContinue = FileDownloadHelper.isDestinationUnchanged(resumableFileDownload);
+        if (canContinue) {
+            download.progressUpdater.transferSizeInBytes(resumableFileDownload.totalSizeInBytes().get());
+            download.progressUpdater.bytesAlreadyTransferred(resumableFileDownload.bytesTransferred());
+        }
+        download.progressUpdater.transferInitiated();
+        download.progressUpdater.registerCompletion(download.returnFuture);
+
+        try {
+            DefaultS3TransferManager.assertNotUnsupportedArn(downloadFileRequest.getObjectRequest().bucket(), "download");
+            if (canContinue) {
+                download.continueFrom(resumableFileDownload);
+            } else {
+                download.downloadFromStart(StandardOpenOption.WRITE, StandardOpenOption.CREATE,
+                                           StandardOpenOption.TRUNCATE_EXISTING);
+            }
+        } catch (Throwable throwable) {
+            download.returnFuture.completeExceptionally(throwable);
+        }
+
+        return download.toFileDownload();
+    }
+
+    private static Throwable unwrap(Throwable throwable) {
+        return throwable instanceof CompletionException && throwable.getCause() != null ? throwable.getCause() : throwable;
+    }
+
+    /**
+     * The state of one file download. Part numbers are relative to {@link #startPosition}, which is not zero when a paused
+     * download is resumed.
+     */
+    private final class ParallelFileDownload {
+        private final DownloadFileRequest downloadFileRequest;
+        private final boolean splitIntoParts;
+        private final TransferProgressUpdater progressUpdater;
+        private final CompletableFuture<CompletedFileDownload> returnFuture = new CompletableFuture<>();
+        private final Set<CompletableFuture<GetObjectResponse>> inFlightRanges = ConcurrentHashMap.newKeySet();
+        private final AtomicInteger nextPart = new AtomicInteger();
+        private final AtomicBoolean firstResponseReceived = new AtomicBoolean();
+        private final BitSet completedParts = new BitSet();
+        private volatile FileChannel fileChannel;
+        private volatile boolean paused;
+        private volatile long startPosition;
+        private volatile Long totalSizeInBytes;
+        private volatile String objectETag;
+        private volatile int partCount;
+        private volatile GetObjectResponse response;
+
+        private ParallelFileDownload(DownloadFileRequest downloadFileRequest) {
+            this.downloadFileRequest = downloadFileRequest;
+            GetObjectRequest getObjectRequest = downloadFileRequest.getObjectRequest();
+            // Only a portion of the object was requested, so it is downloaded as is
+            this.splitIntoParts = getObjectRequest.range() == null && getObjectRequest.partNumber() == null;
+            this.progressUpdater = new TransferProgressUpdater(downloadFileRequest, null);
+            returnFuture.whenComplete((r, t) -> cleanUp(t));
+        }
+
+        private FileDownload toFileDownload() {
+            return new DefaultFileDownload(returnFuture, progressUpdater.progress(), this::pause);
+        }
+
+        private void downloadFromStart(OpenOption... openOptions) {
+            if (!openFile(openOptions)) {
+                return;
+            }
+            GetObjectRequest getObjectRequest = downloadFileRequest.getObjectRequest();
+            if (!splitIntoParts) {
+                partCount = 1;
+                monitor(getPart(getObjectRequest, 0, this::onFirstResponse).thenAccept(r -> partCompleted(0)));
+                return;
+            }
+
+            nextPart.set(1);
+            GetObjectRequest firstPartRequest = getObjectRequest.toBuilder()
+                                                                .range("bytes=0-" + (partSizeInBytes - 1))
+                                                                .build();
+            CompletableFuture<Void> firstWorker =
+                getPart(firstPartRequest, 0, this::onFirstResponse)
+                    .handle((r, t) -> t)
+                    .thenCompose(t -> {
+                        if (t == null) {
+                            partCompleted(0);
+                            return downloadNextPart();
+                        }
+                        Throwable cause = unwrap(t);
+                        if (cause instanceof S3Exception
+                            && ((S3Exception) cause).statusCode() == INVALID_RANGE_STATUS_CODE) {
+                            // A ranged GET of an empty object is rejected, so it is downloaded with a plain GET instead
+                            return getPart(getObjectRequest, 0, this::onFirstResponse).thenAccept(r -> partCompleted(0));
+                        }
+                        return CompletableFutureUtils.failedFuture(cause);
+                    });
+            monitor(firstWorker);
+        }
+
+        /**
+         * Called once the response headers of the first part are received: the size of the object is then known, so the
+         * other parts can be requested while the first one is still being written.
+         */
+        private void onFirstResponse(GetObjectResponse firstResponse) {
+            if (!firstResponseReceived.compareAndSet(false, true)) {
+                return;
+            }
+            long objectSize = objectSize(firstResponse);
+            objectETag = firstResponse.eTag();
+            totalSizeInBytes = objectSize;
+            response = firstResponse.toBuilder()
+                                    .contentLength(objectSize)
+                                    .contentRange(null)
+                                    .build();
+            progressUpdater.transferSizeInBytes(objectSize);
+            if (!splitIntoParts || firstResponse.contentRange() == null) {
+                partCount = 1;
+                return;
+            }
+            partCount = (int) Math.max(1, (objectSize + partSizeInBytes - 1) / partSizeInBytes);
+            startWorkers(Math.min(partCount - 1, DownloadDirectoryHelper.MAX_RANGES_IN_FLIGHT_PER_OBJECT - 1));
+        }
+
+        private long objectSize(GetObjectResponse partResponse) {
+            if (partResponse.contentRange() != null) {
+                Matcher matcher = CONTENT_RANGE_TOTAL.matcher(partResponse.contentRange());
+                if (matcher.matches()) {
+                    return Long.parseLong(matcher.group(1));
+                }
+            }
+            return partResponse.contentLength() == null ? 0L : partResponse.contentLength();
+        }
+
+        private void continueFrom(ResumableFileDownload resumableFileDownload) {
+            long resumePosition = resumableFileDownload.bytesTransferred();
+            startPosition = resumePosition;
+            objectETag = resumableFileDownload.objectETag().get();
+            totalSizeInBytes = resumableFileDownload.totalSizeInBytes().get();
+
+            GetObjectRequest getObjectRequest = downloadFileRequest.getObjectRequest();
+            CompletableFuture<HeadObjectResponse> headFuture =
+                s3AsyncClient.headObject(FileDownloadHelper.toHeadObjectRequest(getObjectRequest));
+            CompletableFutureUtils.forwardExceptionTo(returnFuture, headFuture);
+            headFuture.whenComplete((head, t) -> {
+                if (t != null) {
+                    returnFuture.completeExceptionally(t);
+                    return;
+                }
+                try {
+                    if (!objectETag.equals(head.eTag()) || !totalSizeInBytes.equals(head.contentLength())) {
+                        log.debug(() -> String.format("s3://%s/%s has changed since the download was paused, downloading it "
+                                                      + "again", getObjectRequest.bucket(), getObjectRequest.key()));
+                        startPosition = 0;
+                        objectETag = null;
+                        totalSizeInBytes = null;
+                        progressUpdater.incrementBytesTransferred(-resumePosition);
+                        downloadFromStart(StandardOpenOption.WRITE, StandardOpenOption.CREATE,
+                                          StandardOpenOption.TRUNCATE_EXISTING);
+                        return;
+                    }
+
+                    response = FileDownloadHelper.toGetObjectResponse(head);
+                    if (resumePosition == totalSizeInBytes) {
+                        returnFuture.complete(CompletedFileDownload.builder().response(response).build());
+                    } else if (openFile(StandardOpenOption.WRITE)) {
+                        long remaining = totalSizeInBytes - resumePosition;
+                        partCount = (int) ((remaining + partSizeInBytes - 1) / partSizeInBytes);
+                        startWorkers(Math.min(partCount, DownloadDirectoryHelper.MAX_RANGES_IN_FLIGHT_PER_OBJECT));
+                    }
+                } catch (Throwable throwable) {
+                    returnFuture.completeExceptionally(throwable);
+                }
+            });
+        }
+
+        private boolean openFile(OpenOption... openOptions) {
+            Path destination = downloadFileRequest.destination();
+            synchronized (this) {
+                if (returnFuture.isDone()) {
+                    // Paused or cancelled before the object was requested
+                    return false;
+                }
+                try {
+                    fileChannel = FileChannel.open(destination, openOptions);
+                } catch (IOException | RuntimeException e) {
+                    throw SdkClientException.create("Failed to open the destination file: " + destination, e);
+                }
+            }
+            if (returnFuture.isDone()) {
+                // Cancelled while the file was being opened, after the clean up ran
+                cleanUp(new CancellationException("The download was cancelled"));
+                return false;
+            }
+            return true;
+        }
+
+        private void startWorkers(int workerCount) {
+            for (int i = 0; i < workerCount; i++) {
+                monitor(downloadNextPart());
+            }
+        }
+
+        private void monitor(CompletableFuture<Void> worker) {
+            worker.whenComplete((r, t) -> {
+                if (t != null) {
+                    returnFuture.completeExceptionally(unwrap(t));
+                }
+            });
+        }
+
+        private CompletableFuture<Void> downloadNextPart() {
+            int part = nextPart.getAndIncrement();
+            if (part >= partCount || returnFuture.isDone()) {
+                return CompletableFuture.completedFuture(null);
+            }
+
+            long start = startPosition + part * partSizeInBytes;
+            long end = Math.min(start + partSizeInBytes, totalSizeInBytes) - 1;
+            GetObjectRequest.Builder partRequest = downloadFileRequest.getObjectRequest()
+                                                                      .toBuilder()
+                                                                      .range("bytes=" + start + "-" + end);
+            if (downloadFileRequest.getObjectRequest().ifMatch() == null) {
+                partRequest.ifMatch(objectETag);
+            }
+
+            return getPart(partRequest.build(), start, null).thenCompose(r -> {
+                partCompleted(part);
+                return downloadNextPart();
+            });
+        }
+
+        private CompletableFuture<GetObjectResponse> getPart(GetObjectRequest partRequest, long position,
+                                                             Consumer<GetObjectResponse> responseListener) {
+            AsyncResponseTransformer<GetObjectResponse, GetObjectResponse> transformer =
+                new PositionalFileResponseTransformer(fileChannel, position, progressUpdater::incrementBytesTransferred);
+            if (responseListener != null) {
+                transformer = new NotifyingAsyncResponseTransformer<>(
+                    transformer,
+                    new AsyncResponseTransformerListener<GetObjectResponse, GetObjectResponse>() {
+                        @Override
+                        public void beforeOnResponse(GetObjectResponse partResponse) {
+                            responseListener.accept(partResponse);
+                        }
+                    });
+            }
+
+            CompletableFuture<GetObjectResponse> partFuture = s3AsyncClient.getObject(partRequest, transformer);
+            inFlightRanges.add(partFuture);
+            partFuture.whenComplete((r, t) -> inFlightRanges.remove(partFuture));
+            if (returnFuture.isDone()) {
+                partFuture.cancel(true);
+            }
+            return partFuture;
+        }
+
+        private void partCompleted(int part) {
+            boolean allPartsCompleted;
+            synchronized (completedParts) {
+                completedParts.set(part);
+                allPartsCompleted = completedParts.cardinality() == partCount;
+            }
+            if (allPartsCompleted) {
+                returnFuture.complete(CompletedFileDownload.builder().response(response).build());
+            }
+        }
+
+        /**
+         * The number of bytes written to the file without a gap from the start of the object.
+         */
+        private long contiguousBytesWritten() {
+            Long objectSize = totalSizeInBytes;
+            if (objectSize == null) {
+                return 0;
+            }
+            int contiguousParts;
+            synchronized (completedParts) {
+                contiguousParts = completedParts.nextClearBit(0);
+            }
+            return Math.min(startPosition + contiguousParts * partSizeInBytes, objectSize);
+        }
+
+        private void cleanUp(Throwable throwable) {
+            FileChannel channel = fileChannel;
+            if (throwable != null) {
+                inFlightRanges.forEach(f -> f.cancel(true));
+            }
+            if (channel != null) {
+                // Closing the channel waits for the writes in progress, and fails any later write
+                invokeSafely(channel::close);
+                if (throwable != null && !paused) {
+                    invokeSafely(() -> Files.deleteIfExists(downloadFileRequest.destination()));
+                }
+            }
+        }
+
+        private ResumableFileDownload pause() {
+            synchronized (this) {
+                paused = true;
+                if (!returnFuture.completeExceptionally(new CancellationException("The download was paused"))) {
+                    paused = false;
+                    throw new IllegalStateException("The download has already completed");
+                }
+            }
+
+            ResumableFileDownload.Builder resumableFileDownload = ResumableFileDownload.builder()
+                                                                                       .downloadFileRequest(downloadFileRequest)
+                                                                                       .objectETag(objectETag)
+                                                                                       .totalSizeInBytes(totalSizeInBytes);
+            Path destination = downloadFileRequest.destination();
+            if (fileChannel == null && startPosition == 0) {
+                return resumableFileDownload.build();
+            }
+            try {
+                long bytesWritten = startPosition;
+                if (fileChannel != null) {
+                    // The file is closed by now, so later parts cannot be written past the truncated end
+                    bytesWritten = contiguousBytesWritten();
+                    try (FileChannel channel = FileChannel.open(destination, StandardOpenOption.WRITE)) {
+                        channel.truncate(bytesWritten);
+                    }
+                }
+                Instant lastModified = Files.getLastModifiedTime(destination).toInstant();
+                resumableFileDownload.bytesTransferred(bytesWritten)
+                                     .fileLastModified(lastModified);
+            } catch (IOException | RuntimeException e) {
+                log.debug(() -> "Failed to read the state of " + destination + ", the download will restart when resumed", e);
+            }
+            return resumableFileDownload.build();
+        }
+    }
+}
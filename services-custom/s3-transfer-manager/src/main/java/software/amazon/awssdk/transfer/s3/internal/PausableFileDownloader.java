@@ -0,0 +1,34 @@
+/*
+ * Copyright Amazon.com, Inc. or its affiliates. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License").
+ * You may not use this file except in compliance with the License.
+ * A copy of the License is located at
+ *
+ *  http://aws.amazon.com/apache2.0
+ *
+ * or in the "license" file accompanying this file. This file is distributed
+ * on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either
+ * express or implied. See the License for the specific language governing
+ * permissions and limitations under the License.
+ */
+
+
+package software.amazon.awssdk.transfer.s3.internal;
+
+import software.amazon.awssdk.annotations.SdkInternalApi;
+import software.amazon.awssdk.transfer.s3.DownloadFileRequest;
+import software.amazon.awssdk.transfer.s3.FileDownload;
+import software.amazon.awssdk.transfer.s3.ResumableFileDownload;
+
+/**
+ * Downloads an object to a file in a way that can be paused and resumed. {@link FileDownloadHelper} relies on the client to
+ * split the download into parts, while {@link ParallelFileDownloadHelper} issues the ranged GETs itself.
+ */
+@SdkInternalApi
+interface PausableFileDownloader {
+
+    FileDownload downloadFile(DownloadFileRequest downloadFileRequest);
+
+    FileDownload resumeDownload(ResumableFileDownload resumableFileDownload);
+}
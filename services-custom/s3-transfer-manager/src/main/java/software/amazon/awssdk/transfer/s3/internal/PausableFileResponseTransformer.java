@@ -0,0 +1,217 @@
+/*
+ * Copyright Amazon.com, Inc. or its affiliates. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License").
+ * You may not use this file except in compliance with the License.
+ * A copy of the License is located at
+ *
+ *  http://aws.amazon.com/apache2.0
+ *
+ * or in the "license" file accompanying this file. This file is distributed
+ * on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either
+ * express or implied. See the License for the specific language governing
+ * permissions and limitations under the License.
+ */
+
+
+package software.amazon.awssdk.transfer.s3.internal;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.OpenOption;
+import java.nio.file.Path;
+import java.util.concurrent.CompletableFuture;
+import java.util.function.LongConsumer;
+import org.reactivestreams.Subscriber;
+import org.reactivestreams.Subscription;
+import software.amazon.awssdk.annotations.SdkInternalApi;
+import software.amazon.awssdk.core.async.AsyncResponseTransformer;
+import software.amazon.awssdk.core.async.SdkPublisher;
+import software.amazon.awssdk.services.s3.model.GetObjectResponse;
+import software.amazon.awssdk.utils.Logger;
+
+/**
+ * {@link AsyncResponseTransformer} that writes the response content to a file, in order, starting at a given position. It is
+ * used for file downloads so that a download can be paused: {@link #pause()} stops writing and closes the file, and the file is
+ * then kept with the bytes that were written so far, whereas it is deleted if the download fails.
+ * <p>
+ * When the start position is greater than zero, the file is expected to hold the first bytes of the object already, and it is
+ * truncated to the start position when it is opened in case bytes past it were written after its state was recorded.
+ */
+@SdkInternalApi
+final class PausableFileResponseTransformer implements AsyncResponseTransformer<GetObjectResponse, GetObjectResponse> {
+    private static final Logger log = Logger.loggerFor(PausableFileResponseTransformer.class);
+
+    private final Path path;
+    private final long startPosition;
+    private final OpenOption[] openOptions;
+    private final LongConsumer bytesWritten;
+    private final Object lock = new Object();
+    private volatile CompletableFuture<Void> cf;
+    private volatile GetObjectResponse response;
+    private FileChannel fileChannel;
+    private boolean paused;
+
+    PausableFileResponseTransformer(Path path, long startPosition, LongConsumer bytesWritten, OpenOption... openOptions) {
+        this.path = path;
+        this.startPosition = startPosition;
+        this.bytesWritten = bytesWritten;
+        this.openOptions = openOptions.clone();
+    }
+
+    /**
+     * @return the response, once it has been received
+     */
+    GetObjectResponse response() {
+        return response;
+    }
+
+    /**
+     * @return whether the file has been opened for writing
+     */
+    boolean isFileOpened() {
+        synchronized (lock) {
+            return fileChannel != null;
+        }
+    }
+
+    @Override
+    public CompletableFuture<GetObjectResponse> prepare() {
+        cf = new CompletableFuture<>();
+        return cf.thenApply(ignored -> response);
+    }
+
+    @Override
+    public void onResponse(GetObjectResponse response) {
+        this.response = response;
+    }
+
+    @Override
+    public void onStream(SdkPublisher<ByteBuffer> publisher) {
+        try {
+            openChannel();
+        } catch (IOException | RuntimeException e) {
+            cf.completeExceptionally(e);
+            return;
+        }
+        publisher.subscribe(new FileWriter(cf));
+    }
+
+    @Override
+    public void exceptionOccurred(Throwable throwable) {
+        synchronized (lock) {
+            boolean opened = fileChannel != null;
+            closeChannel();
+            if (opened && !paused) {
+                try {
+                    Files.deleteIfExists(path);
+                } catch (IOException e) {
+                    log.debug(() -> "Failed to delete " + path, e);
+                }
+            }
+        }
+        cf.completeExceptionally(throwable);
+    }
+
+    /**
+     * Stop writing to the file and close it, keeping the bytes that have been written. Any write that is in progress completes
+     * before this method returns.
+     */
+    void pause() {
+        synchronized (lock) {
+            paused = true;
+            closeChannel();
+        }
+    }
+
+    private void openChannel() throws IOException {
+        synchronized (lock) {
+            if (paused) {
+                throw new IOException("The download was paused");
+            }
+            if (fileChannel == null) {
+                FileChannel channel = FileChannel.open(path, openOptions);
+                if (startPosition > 0) {
+                    channel.truncate(startPosition);
+                }
+                fileChannel = channel;
+            }
+        }
+    }
+
+    private void closeChannel() {
+        if (fileChannel != null && fileChannel.isOpen()) {
+            try {
+                fileChannel.close();
+            } catch (IOException e) {
+                log.debug(() -> "Failed to close " + path, e);
+            }
+        }
+    }
+
+    /**
+     * {@link Subscriber} that writes each chunk synchronously after the previous one before requesting another one.
+     */
+    private final class FileWriter implements Subscriber<ByteBuffer> {
+        private final CompletableFuture<Void> future;
+        private Subscription subscription;
+        private long position = startPosition;
+
+        private FileWriter(CompletableFuture<Void> future) {
+            this.future = future;
+        }
+
+        @Override
+        public void onSubscribe(Subscription s) {
+            if (this.subscription != null) {
+                s.cancel();
+                return;
+            }
+            this.subscription = s;
+            s.request(1);
+        }
+
+        @Override
+        public void onNext(ByteBuffer byteBuffer) {
+            if (byteBuffer == null) {
+                throw new NullPointerException("Element must not be null");
+            }
+
+            int written = 0;
+            try {
+                synchronized (lock) {
+                    if (paused) {
+                        throw new IOException("The download was paused");
+                    }
+                    while (byteBuffer.hasRemaining()) {
+                        written += fileChannel.write(byteBuffer, position + written);
+                    }
+                }
+            } catch (IOException | RuntimeException e) {
+                subscription.cancel();
+                exceptionOccurred(e);
+                return;
+            }
+            position += written;
+            if (bytesWritten != null) {
+                bytesWritten.accept(written);
+            }
+            subscription.request(1);
+        }
+
+        @Override
+        public void onError(Throwable t) {
+            exceptionOccurred(t);
+        }
+
+        @Override
+        public void onComplete() {
+            synchronized (lock) {
+                closeChannel();
+            }
+            future.complete(null);
+        }
+    }
+}
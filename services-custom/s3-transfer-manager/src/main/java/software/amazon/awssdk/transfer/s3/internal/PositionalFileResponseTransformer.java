@@ -0,0 +1,134 @@
+/*
+ * Copyright Amazon.com, Inc. or its affiliates. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License").
+ * You may not use this file except in compliance with the License.
+ * A copy of the License is located at
+ *
+ *  http://aws.amazon.com/apache2.0
+ *
+ * or in the "license" file accompanying this file. This file is distributed
+ * on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either
+ * express or implied. See the License for the specific language governing
+ * permissions and limitations under the License.
+ */
+
+
+package software.amazon.awssdk.transfer.s3.internal;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.LongConsumer;
+import org.reactivestreams.Subscriber;
+import org.reactivestreams.Subscription;
+import software.amazon.awssdk.annotations.SdkInternalApi;
+import software.amazon.awssdk.core.async.AsyncResponseTransformer;
+import software.amazon.awssdk.core.async.SdkPublisher;
+import software.amazon.awssdk.services.s3.model.GetObjectResponse;
+
+/**
+ * {@link AsyncResponseTransformer} that writes the response content to a shared {@link FileChannel}, starting at a fixed
+ * position. Several instances may write to the same channel concurrently, one for each byte range of an object, since
+ * {@link FileChannel#write(ByteBuffer, long)} does not depend on the channel's position.
+ * <p>
+ * The channel is owned by the caller and is not closed by this transformer. If the request is retried, the content is simply
+ * written again at the same position, and the bytes reported for the failed attempt are reported back as negative.
+ */
+@SdkInternalApi
+final class PositionalFileResponseTransformer implements AsyncResponseTransformer<GetObjectResponse, GetObjectResponse> {
+    private final FileChannel fileChannel;
+    private final long startPosition;
+    private final LongConsumer bytesWritten;
+    private volatile CompletableFuture<Void> cf;
+    private volatile GetObjectResponse response;
+    private final AtomicLong attemptBytesWritten = new AtomicLong();
+
+    PositionalFileResponseTransformer(FileChannel fileChannel, long startPosition, LongConsumer bytesWritten) {
+        this.fileChannel = fileChannel;
+        this.startPosition = startPosition;
+        this.bytesWritten = bytesWritten;
+    }
+
+    @Override
+    public CompletableFuture<GetObjectResponse> prepare() {
+        long previousAttemptBytesWritten = attemptBytesWritten.getAndSet(0);
+        if (previousAttemptBytesWritten != 0) {
+            bytesWritten.accept(-previousAttemptBytesWritten);
+        }
+        cf = new CompletableFuture<>();
+        return cf.thenApply(ignored -> response);
+    }
+
+    @Override
+    public void onResponse(GetObjectResponse response) {
+        this.response = response;
+    }
+
+    @Override
+    public void onStream(SdkPublisher<ByteBuffer> publisher) {
+        publisher.subscribe(new PositionalFileSubscriber(cf));
+    }
+
+    @Override
+    public void exceptionOccurred(Throwable throwable) {
+        cf.completeExceptionally(throwable);
+    }
+
+    /**
+     * {@link Subscriber} that writes each chunk synchronously at the next position before requesting another one.
+     */
+    private final class PositionalFileSubscriber implements Subscriber<ByteBuffer> {
+        private final CompletableFuture<Void> future;
+        private Subscription subscription;
+        private long position = startPosition;
+
+        private PositionalFileSubscriber(CompletableFuture<Void> future) {
+            this.future = future;
+        }
+
+        @Override
+        public void onSubscribe(Subscription s) {
+            if (this.subscription != null) {
+                s.cancel();
+                return;
+            }
+            this.subscription = s;
+            s.request(1);
+        }
+
+        @Override
+        public void onNext(ByteBuffer byteBuffer) {
+            if (byteBuffer == null) {
+                throw new NullPointerException("Element must not be null");
+            }
+
+            try {
+                int written = 0;
+                while (byteBuffer.hasRemaining()) {
+                    written += fileChannel.write(byteBuffer, position + written);
+                }
+                position += written;
+                attemptBytesWritten.addAndGet(written);
+                bytesWritten.accept(written);
+            } catch (IOException | RuntimeException e) {
+                subscription.cancel();
+                future.completeExceptionally(e);
+                return;
+            }
+            subscription.request(1);
+        }
+
+        @Override
+        public void onError(Throwable t) {
+            future.completeExceptionally(t);
+        }
+
+        @Override
+        public void onComplete() {
+            future.complete(null);
+        }
+    }
+}
@@ -0,0 +1,391 @@
+/*
+ * Copyright Amazon.com, Inc. or its affiliates. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License").
+ * You may not use this file except in compliance with the License.
+ * A copy of the License is located at
+ *
+ *  http://aws.amazon.com/apache2.0
+ *
+ * or in the "license" file accompanying this file. This file is distributed
+ * on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either
+ * express or implied. See the License for the specific language governing
+ * permissions and limitations under the License.
+ */
+
+
+package software.amazon.awssdk.transfer.s3.internal;
+
+import java.io.IOException;
+import java.io.InterruptedIOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.AsynchronousCloseException;
+import java.nio.channels.ClosedChannelException;
+import java.nio.channels.NonWritableChannelException;
+import java.nio.channels.SeekableByteChannel;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.locks.Lock;
+import java.util.concurrent.locks.ReentrantLock;
+import software.amazon.awssdk.annotations.SdkInternalApi;
+import software.amazon.awssdk.annotations.ThreadSafe;
+import software.amazon.awssdk.core.ResponseBytes;
+import software.amazon.awssdk.core.async.AsyncResponseTransformer;
+import software.amazon.awssdk.core.exception.SdkClientException;
+import software.amazon.awssdk.services.s3.S3AsyncClient;
+import software.amazon.awssdk.services.s3.model.GetObjectRequest;
+import software.amazon.awssdk.services.s3.model.GetObjectResponse;
+import software.amazon.awssdk.services.s3.model.HeadObjectResponse;
+import software.amazon.awssdk.utils.Logger;
+import software.amazon.awssdk.utils.Validate;
+
+/**
+ * An internal read-only {@link SeekableByteChannel} over an object in S3, for readers that seek around an object, such as
+ * readers of columnar formats that read the footer of a file before the column chunks they need.
+ * <p>
+ * The object is cached in small blocks, so that sparse reads fetch little more than they read, and fetched with ranged GETs
+ * that are pinned to the ETag returned by a {@code HeadObject} request sent when the channel is opened, so that all reads
+ * observe the same version of the object. Recently read blocks are kept in a least recently used cache, so reads that are near
+ * each other are served by the same request. A read that spans several blocks that are not cached requests them together, with
+ * adjacent blocks coalesced into GETs of up to a part, which are sent in parallel.
+ * <p>
+ * Once half a block has been read sequentially, the blocks after the read are fetched ahead of time. The read-ahead grows with
+ * the sequential run to half of its length, up to a limit, and drops back to none after a seek, so random reads do not fetch
+ * data they will not use and a run that ends wastes little. The read-ahead is topped up once less than half of it is left, so
+ * that it is fetched in requests of several blocks.
+ */
+@ThreadSafe
+@SdkInternalApi
+final class PrefetchingS3ReadChannel implements SeekableByteChannel {
+    static final int DEFAULT_BLOCK_SIZE_IN_BYTES = 256 * 1024;
+
+    /**
+     * The largest ranged GET, since each is received into a single array.
+     */
+    static final long MAX_REQUEST_SIZE_IN_BYTES = 64L * 1024 * 1024;
+
+    private static final Logger log = Logger.loggerFor(PrefetchingS3ReadChannel.class);
+
+    private final S3AsyncClient s3AsyncClient;
+    private final GetObjectRequest getObjectRequest;
+    private final int blockSize;
+    private final int maxBlocksPerRequest;
+    private final int maxReadAheadBlocks;
+    private final int maxCachedBlocks;
+    private final CompletableFuture<HeadObjectResponse> headFuture;
+    private final Set<CompletableFuture<?>> inFlightRequests = ConcurrentHashMap.newKeySet();
+
+    /**
+     * Guards the position and the cache. A lock rather than a monitor, since reads wait for blocks while holding it.
+     */
+    private final Lock lock = new ReentrantLock();
+
+    /**
+     * The cached blocks by index, in access order. Guarded by {@link #lock}.
+     */
+    private final Map<Long, CompletableFuture<ByteBuffer>> blocks;
+
+    private long position;
+    private long nextSequentialPosition;
+    private long sequentialBytes;
+    private volatile boolean closed;
+
+    PrefetchingS3ReadChannel(S3AsyncClient s3AsyncClient, GetObjectRequest getObjectRequest, int blockSizeInBytes,
+                             int maxBlocksPerRequest, int maxReadAheadBlocks, int maxCachedBlocks) {
+        Validate.isTrue(getObjectRequest.range() == null,
+                        "A range cannot be requested when reading an object through a channel, set its position instead");
+        Validate.isPositive(blockSizeInBytes, "blockSizeInBytes");
+        Validate.isPositive(maxBlocksPerRequest, "maxBlocksPerRequest");
+        Validate.isTrue(maxReadAheadBlocks < maxCachedBlocks, "maxReadAheadBlocks must be less than maxCachedBlocks");
+        this.s3AsyncClient = s3AsyncClient;
+        this.getObjectRequest = getObjectRequest;
+        this.blockSize = blockSizeInBytes;
+        this.maxBlocksPerRequest = maxBlocksPerRequest;
+        this.maxReadAheadBlocks = maxReadAheadBlocks;
+        this.maxCachedBlocks = maxCachedBlocks;
+        this.blocks = new BlockCache(maxCachedBlocks);
+        this.headFuture = s3AsyncClient.headObject(FileDownloadHelper.toHeadObjectRequest(getObjectRequest));
+        inFlightRequests.add(headFuture);
+        headFuture.whenComplete((r, t) -> inFlightRequests.remove(headFuture));
+    }
+
+    /**
+     * Create a channel whose GETs are up to the given part size, reading ahead up to two parts and caching up to four.
+     */
+    static PrefetchingS3ReadChannel create(S3AsyncClient s3AsyncClient, GetObjectRequest getObjectRequest,
+                                           long partSizeInBytes) {
+        int blockSize = (int) Math.min(partSizeInBytes, DEFAULT_BLOCK_SIZE_IN_BYTES);
+        int blocksPerRequest = (int) Math.max(1, Math.min(partSizeInBytes, MAX_REQUEST_SIZE_IN_BYTES) / blockSize);
+        return new PrefetchingS3ReadChannel(s3AsyncClient, getObjectRequest, blockSize, blocksPerRequest,
+                                            2 * blocksPerRequest, 4 * blocksPerRequest);
+    }
+
+    @Override
+    public int read(ByteBuffer dst) throws IOException {
+        lock.lock();
+        try {
+            ensureOpen();
+            HeadObjectResponse head = await(headFuture);
+            long size = head.contentLength();
+            if (position >= size) {
+                return -1;
+            }
+            if (!dst.hasRemaining()) {
+                return 0;
+            }
+
+            long firstBlock = position / blockSize;
+            long lastBlock = (size - 1) / blockSize;
+            if (position != nextSequentialPosition) {
+                sequentialBytes = 0;
+            }
+            // Read ahead half as much as has been read sequentially, so at most a third of what is fetched goes unread
+            int readAheadBlocks = sequentialBytes < blockSize / 2
+                                  ? 0 : (int) Math.min(maxReadAheadBlocks, (sequentialBytes / 2 + blockSize - 1) / blockSize);
+
+            // Never fetch more blocks than the cache can hold, or the first ones would be evicted before they are read
+            long lastCachedBlock = Math.min(firstBlock + maxCachedBlocks - 1, lastBlock);
+            long lastRequestedBlock = Math.min((Math.min(position + dst.remaining(), size) - 1) / blockSize, lastCachedBlock);
+            fetch(head, size, firstBlock, lastRequestedBlock);
+            if (readAheadBlocks > 0) {
+                readAhead(head, size, lastRequestedBlock, Math.min(lastRequestedBlock + readAheadBlocks, lastCachedBlock),
+                          readAheadBlocks);
+            }
+
+            int bytesRead = 0;
+            while (dst.hasRemaining() && position < size) {
+                long index = position / blockSize;
+                CompletableFuture<ByteBuffer> blockFuture = block(head, size, index);
+                if (bytesRead > 0 && !blockFuture.isDone()) {
+                    break;
+                }
+                ByteBuffer block = await(blockFuture).duplicate();
+                block.position((int) (position - index * blockSize));
+                if (block.remaining() > dst.remaining()) {
+                    block.limit(block.position() + dst.remaining());
+                }
+                bytesRead += block.remaining();
+                position += block.remaining();
+                dst.put(block);
+            }
+            nextSequentialPosition = position;
+            sequentialBytes += bytesRead;
+            return bytesRead;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    @Override
+    public long position() throws IOException {
+        lock.lock();
+        try {
+            ensureOpen();
+            return position;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    @Override
+    public SeekableByteChannel position(long newPosition) throws IOException {
+        Validate.isNotNegative(newPosition, "newPosition");
+        lock.lock();
+        try {
+            ensureOpen();
+            position = newPosition;
+            return this;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    @Override
+    public long size() throws IOException {
+        ensureOpen();
+        return await(headFuture).contentLength();
+    }
+
+    @Override
+    public int write(ByteBuffer src) {
+        throw new NonWritableChannelException();
+    }
+
+    @Override
+    public SeekableByteChannel truncate(long size) {
+        throw new NonWritableChannelException();
+    }
+
+    @Override
+    public boolean isOpen() {
+        return !closed;
+    }
+
+    @Override
+    public void close() {
+        if (closed) {
+            return;
+        }
+        closed = true;
+        // Wakes up a read that is waiting for a block, so that the lock can be taken to drop the cache
+        inFlightRequests.forEach(f -> f.cancel(true));
+        lock.lock();
+        try {
+            blocks.clear();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * The block at the given index, fetching it if it is not cached or if fetching it failed before.
+     */
+    private CompletableFuture<ByteBuffer> block(HeadObjectResponse head, long size, long index) {
+        if (!isCached(index)) {
+            fetch(head, size, index, index);
+        }
+        return blocks.get(index);
+    }
+
+    /**
+     * Fetch the blocks after the given block up to the given last block, once less than half of them are cached.
+     */
+    private void readAhead(HeadObjectResponse head, long size, long fromBlock, long lastBlock, int readAheadBlocks) {
+        for (long index = fromBlock + 1; index <= lastBlock; index++) {
+            if (!isCached(index)) {
+                if (index - fromBlock - 1 < (readAheadBlocks + 1) / 2) {
+                    fetch(head, size, index, lastBlock);
+                }
+                return;
+            }
+        }
+    }
+
+    private boolean isCached(long index) {
+        CompletableFuture<ByteBuffer> block = blocks.get(index);
+        return block != null && !block.isCompletedExceptionally();
+    }
+
+    /**
+     * Fetch the blocks in the given range that are not cached, coalescing adjacent blocks into the same request.
+     */
+    private void fetch(HeadObjectResponse head, long size, long firstBlock, long lastBlock) {
+        List<Long> run = new ArrayList<>(maxBlocksPerRequest);
+        for (long index = firstBlock; index <= lastBlock; index++) {
+            if (isCached(index)) {
+                sendRequest(head, size, run);
+                continue;
+            }
+            run.add(index);
+            if (run.size() == maxBlocksPerRequest) {
+                sendRequest(head, size, run);
+            }
+        }
+        sendRequest(head, size, run);
+    }
+
+    /**
+     * Send a single ranged GET for the given adjacent blocks, and cache a future for each of them. The run is cleared.
+     */
+    private void sendRequest(HeadObjectResponse head, long size, List<Long> run) {
+        if (run.isEmpty()) {
+            return;
+        }
+        long firstBlock = run.get(0);
+        long start = firstBlock * blockSize;
+        long end = Math.min((firstBlock + run.size()) * blockSize, size) - 1;
+        List<CompletableFuture<ByteBuffer>> runBlocks = new ArrayList<>(run.size());
+        for (Long index : run) {
+            CompletableFuture<ByteBuffer> block = new CompletableFuture<>();
+            blocks.put(index, block);
+            runBlocks.add(block);
+        }
+        run.clear();
+
+        GetObjectRequest rangedRequest = getObjectRequest.toBuilder()
+                                                         .range("bytes=" + start + "-" + end)
+                                                         .ifMatch(head.eTag())
+                                                         .build();
+        log.trace(() -> "Fetching " + rangedRequest.range() + " of s3://" + rangedRequest.bucket() + "/" + rangedRequest.key());
+        CompletableFuture<ResponseBytes<GetObjectResponse>> getObjectFuture =
+            s3AsyncClient.getObject(rangedRequest, AsyncResponseTransformer.toBytes());
+        inFlightRequests.add(getObjectFuture);
+        getObjectFuture.whenComplete((r, t) -> {
+            inFlightRequests.remove(getObjectFuture);
+            if (t != null) {
+                runBlocks.forEach(b -> b.completeExceptionally(t));
+                return;
+            }
+            byte[] bytes = r.asByteArrayUnsafe();
+            if (bytes.length != end - start + 1) {
+                SdkClientException e = SdkClientException.create(String.format(
+                    "Expected %d bytes for %s but received %d", end - start + 1, rangedRequest.range(), bytes.length));
+                runBlocks.forEach(b -> b.completeExceptionally(e));
+                return;
+            }
+            if (runBlocks.size() == 1) {
+                runBlocks.get(0).complete(ByteBuffer.wrap(bytes).asReadOnlyBuffer());
+                return;
+            }
+            // Copy each block out of the response, so that a cached block does not keep the rest of its request in memory
+            for (int i = 0; i < runBlocks.size(); i++) {
+                int offset = i * blockSize;
+                int length = Math.min(blockSize, bytes.length - offset);
+                runBlocks.get(i).complete(ByteBuffer.wrap(Arrays.copyOfRange(bytes, offset, offset + length))
+                                                    .asReadOnlyBuffer());
+            }
+        });
+        if (closed) {
+            getObjectFuture.cancel(true);
+        }
+    }
+
+    private void ensureOpen() throws ClosedChannelException {
+        if (closed) {
+            throw new ClosedChannelException();
+        }
+    }
+
+    private <T> T await(CompletableFuture<T> future) throws IOException {
+        try {
+            return future.get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new InterruptedIOException("Interrupted while reading s3://" + getObjectRequest.bucket() + "/"
+                                             + getObjectRequest.key());
+        } catch (ExecutionException | CancellationException e) {
+            if (closed) {
+                throw new AsynchronousCloseException();
+            }
+            Throwable cause = e instanceof ExecutionException ? MultipartFileUploadHelper.unwrap(e.getCause()) : e;
+            throw new IOException("Failed to read s3://" + getObjectRequest.bucket() + "/" + getObjectRequest.key(), cause);
+        }
+    }
+
+    /**
+     * A map of blocks by index that evicts the least recently used block when it holds more than the given number of blocks.
+     */
+    private static final class BlockCache extends LinkedHashMap<Long, CompletableFuture<ByteBuffer>> {
+        private static final long serialVersionUID = 1L;
+
+        private final int maxCachedBlocks;
+
+        private BlockCache(int maxCachedBlocks) {
+            super(16, 0.75f, true);
+            this.maxCachedBlocks = maxCachedBlocks;
+        }
+
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<Long, CompletableFuture<ByteBuffer>> eldest) {
+            return size() > maxCachedBlocks;
+        }
+    }
+}
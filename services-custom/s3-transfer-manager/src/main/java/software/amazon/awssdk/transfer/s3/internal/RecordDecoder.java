@@ -0,0 +1,40 @@
+/*
+ * Copyright Amazon.com, Inc. or its affiliates. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License").
+ * You may not use this file except in compliance with the License.
+ * A copy of the License is located at
+ *
+ *  http://aws.amazon.com/apache2.0
+ *
+ * or in the "license" file accompanying this file. This file is distributed
+ * on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either
+ * express or implied. See the License for the specific language governing
+ * permissions and limitations under the License.
+ */
+
+
+package software.amazon.awssdk.transfer.s3.internal;
+
+import java.nio.ByteBuffer;
+import java.util.function.Consumer;
+import software.amazon.awssdk.annotations.SdkInternalApi;
+
+/**
+ * Decodes a stream of buffers into records, which are published by a {@link RecordPublisher}.
+ * <p>
+ * Implementations are not thread safe; the publisher calls them serially, in the order the buffers are received.
+ */
+@SdkInternalApi
+interface RecordDecoder {
+
+    /**
+     * Decode the remaining bytes of the given buffer, passing each record that is complete to the given consumer.
+     */
+    void decode(ByteBuffer buffer, Consumer<ByteBuffer> records);
+
+    /**
+     * Signal that no more buffers will be decoded, passing any record that is left to the given consumer.
+     */
+    void complete(Consumer<ByteBuffer> records);
+}
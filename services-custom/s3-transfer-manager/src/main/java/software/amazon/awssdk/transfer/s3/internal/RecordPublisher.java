@@ -0,0 +1,256 @@
+/*
+ * Copyright Amazon.com, Inc. or its affiliates. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License").
+ * You may not use this file except in compliance with the License.
+ * A copy of the License is located at
+ *
+ *  http://aws.amazon.com/apache2.0
+ *
+ * or in the "license" file accompanying this file. This file is distributed
+ * on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either
+ * express or implied. See the License for the specific language governing
+ * permissions and limitations under the License.
+ */
+
+
+package software.amazon.awssdk.transfer.s3.internal;
+
+import java.nio.ByteBuffer;
+import java.util.ArrayDeque;
+import java.util.Queue;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Supplier;
+import org.reactivestreams.Publisher;
+import org.reactivestreams.Subscriber;
+import org.reactivestreams.Subscription;
+import software.amazon.awssdk.annotations.SdkInternalApi;
+import software.amazon.awssdk.core.async.SdkPublisher;
+import software.amazon.awssdk.services.s3.model.OutputSerialization;
+
+/**
+ * Publishes the records that a {@link RecordDecoder} decodes from the buffers of another publisher.
+ * <p>
+ * The next buffer is only requested once the records decoded from the previous one have all been requested by the subscriber,
+ * so no more than one buffer's worth of records is held at a time. Records that were decoded before the buffers failed, or
+ * before the decoder failed, are published before the failure.
+ */
+@SdkInternalApi
+public final class RecordPublisher implements SdkPublisher<ByteBuffer> {
+    private final Publisher<ByteBuffer> upstream;
+    private final Supplier<RecordDecoder> decoderSupplier;
+
+    RecordPublisher(Publisher<ByteBuffer> upstream, Supplier<RecordDecoder> decoderSupplier) {
+        this.upstream = upstream;
+        this.decoderSupplier = decoderSupplier;
+    }
+
+    /**
+     * Publish the records of the {@code Records} events of a {@code SelectObjectContent} response body.
+     */
+    public static RecordPublisher fromEventStream(Publisher<ByteBuffer> eventStream, byte recordDelimiter) {
+        return new RecordPublisher(eventStream, () -> new EventStreamRecordDecoder(new RecordSplitter(recordDelimiter)));
+    }
+
+    /**
+     * Publish the records of the {@code Records} events of a {@code SelectObjectContent} response body, split according to
+     * the output serialization of the request.
+     */
+    public static RecordPublisher fromEventStream(Publisher<ByteBuffer> eventStream, OutputSerialization outputSerialization) {
+        // Fail on an invalid output serialization now, rather than when the publisher is subscribed to
+        RecordSplitter.forOutput(outputSerialization);
+        return new RecordPublisher(eventStream,
+                                   () -> new EventStreamRecordDecoder(RecordSplitter.forOutput(outputSerialization)));
+    }
+
+    /**
+     * Publish the records of the payloads of {@code Records} events.
+     */
+    public static RecordPublisher fromRecordsPayloads(Publisher<ByteBuffer> payloads, byte recordDelimiter) {
+        return new RecordPublisher(payloads, () -> new RecordSplitter(recordDelimiter));
+    }
+
+    /**
+     * Publish the records of the payloads of {@code Records} events, split according to the output serialization of the
+     * request.
+     */
+    public static RecordPublisher fromRecordsPayloads(Publisher<ByteBuffer> payloads, OutputSerialization outputSerialization) {
+        // Fail on an invalid output serialization now, rather than when the publisher is subscribed to
+        RecordSplitter.forOutput(outputSerialization);
+        return new RecordPublisher(payloads, () -> RecordSplitter.forOutput(outputSerialization));
+    }
+
+    @Override
+    public void subscribe(Subscriber<? super ByteBuffer> subscriber) {
+        upstream.subscribe(new RecordSubscription(subscriber, decoderSupplier.get()));
+    }
+
+    /**
+     * Decodes the buffers of the upstream publisher and publishes their records to the subscriber.
+     * <p>
+     * {@link #drain()} may be invoked concurrently from the upstream publisher and from the subscriber; the work-in-progress
+     * counter guarantees that only one thread at a time decodes buffers, signals the subscriber or requests buffers, so the
+     * decoder and the queue of records need no synchronization of their own.
+     */
+    private static final class RecordSubscription implements Subscriber<ByteBuffer>, Subscription {
+        private final Subscriber<? super ByteBuffer> downstream;
+        private final RecordDecoder decoder;
+        private final Queue<ByteBuffer> records = new ArrayDeque<>();
+        private final AtomicLong demand = new AtomicLong();
+        private final AtomicInteger workInProgress = new AtomicInteger();
+        private volatile Subscription subscription;
+        private volatile ByteBuffer buffer;
+        private volatile boolean upstreamCompleted;
+        private volatile Throwable upstreamFailure;
+        private volatile boolean bufferRequested;
+        private volatile boolean upstreamDone;
+        private volatile boolean cancelled;
+        private volatile boolean invalidRequest;
+        private volatile Throwable failure;
+        private boolean terminated;
+
+        private RecordSubscription(Subscriber<? super ByteBuffer> downstream, RecordDecoder decoder) {
+            this.downstream = downstream;
+            this.decoder = decoder;
+        }
+
+        @Override
+        public void onSubscribe(Subscription s) {
+            if (subscription != null) {
+                s.cancel();
+                return;
+            }
+            subscription = s;
+            downstream.onSubscribe(this);
+        }
+
+        @Override
+        public void onNext(ByteBuffer buffer) {
+            this.buffer = buffer;
+            drain();
+        }
+
+        @Override
+        public void onError(Throwable t) {
+            upstreamFailure = t;
+            drain();
+        }
+
+        @Override
+        public void onComplete() {
+            upstreamCompleted = true;
+            drain();
+        }
+
+        @Override
+        public void request(long n) {
+            if (n <= 0) {
+                invalidRequest = true;
+                fail(new IllegalArgumentException("A subscriber must request a positive number of records, but requested " + n));
+                subscription.cancel();
+            } else {
+                demand.accumulateAndGet(n, (current, added) -> current + added < 0 ? Long.MAX_VALUE : current + added);
+            }
+            drain();
+        }
+
+        @Override
+        public void cancel() {
+            cancelled = true;
+            subscription.cancel();
+            drain();
+        }
+
+        private void fail(Throwable t) {
+            failure = t;
+            upstreamDone = true;
+        }
+
+        private void drain() {
+            if (workInProgress.getAndIncrement() != 0) {
+                return;
+            }
+            do {
+                if (!terminated) {
+                    dispatch();
+                }
+            } while (workInProgress.decrementAndGet() != 0);
+        }
+
+        private void dispatch() {
+            decode();
+            if (cancelled) {
+                terminated = true;
+                records.clear();
+                return;
+            }
+            if (invalidRequest) {
+                // Signalled without demand, so the records that are held cannot be published first
+                records.clear();
+            }
+
+            while (demand.get() > 0) {
+                ByteBuffer record = records.poll();
+                if (record == null) {
+                    break;
+                }
+                demand.decrementAndGet();
+                downstream.onNext(record);
+                if (cancelled) {
+                    return;
+                }
+            }
+
+            if (!records.isEmpty()) {
+                return;
+            }
+            if (upstreamDone) {
+                terminated = true;
+                if (failure != null) {
+                    downstream.onError(failure);
+                } else {
+                    downstream.onComplete();
+                }
+            } else if (!bufferRequested && demand.get() > 0) {
+                bufferRequested = true;
+                subscription.request(1);
+            }
+        }
+
+        private void decode() {
+            ByteBuffer next = buffer;
+            if (next != null) {
+                buffer = null;
+                bufferRequested = false;
+                if (!upstreamDone) {
+                    try {
+                        decoder.decode(next, records::add);
+                    } catch (Throwable t) {
+                        fail(t);
+                        subscription.cancel();
+                    }
+                }
+            }
+            if (upstreamDone) {
+                return;
+            }
+            // The upstream publisher only signals completion or failure after its last buffer, which may still be pending
+            Throwable t = upstreamFailure;
+            boolean completed = upstreamCompleted;
+            if (buffer != null) {
+                return;
+            }
+            if (t != null) {
+                fail(t);
+            } else if (completed) {
+                try {
+                    decoder.complete(records::add);
+                    upstreamDone = true;
+                } catch (Throwable completionFailure) {
+                    fail(completionFailure);
+                }
+            }
+        }
+    }
+}
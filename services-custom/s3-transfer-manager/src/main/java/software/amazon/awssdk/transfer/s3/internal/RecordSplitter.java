@@ -0,0 +1,190 @@
+/*
+ * Copyright Amazon.com, Inc. or its affiliates. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License").
+ * You may not use this file except in compliance with the License.
+ * A copy of the License is located at
+ *
+ *  http://aws.amazon.com/apache2.0
+ *
+ * or in the "license" file accompanying this file. This file is distributed
+ * on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either
+ * express or implied. See the License for the specific language governing
+ * permissions and limitations under the License.
+ */
+
+
+package software.amazon.awssdk.transfer.s3.internal;
+
+import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Consumer;
+import software.amazon.awssdk.annotations.NotThreadSafe;
+import software.amazon.awssdk.annotations.SdkInternalApi;
+import software.amazon.awssdk.services.s3.model.CSVOutput;
+import software.amazon.awssdk.services.s3.model.JSONOutput;
+import software.amazon.awssdk.services.s3.model.OutputSerialization;
+import software.amazon.awssdk.utils.Validate;
+
+/**
+ * Splits buffers into records separated by a single-byte delimiter, without the delimiter.
+ * <p>
+ * A splitter for CSV output tracks the quote character of the output serialization, so that a delimiter within a quoted field
+ * does not end the record. Within quotes, a quote escape character that differs from the quote character makes the next byte
+ * literal; one that is the quote character needs no tracking, because a doubled quote leaves the field quoted.
+ * <p>
+ * A record that lies within one buffer is published as a read-only slice of that buffer, so the bytes are not copied. Only a
+ * record that straddles buffers is copied, once, into a buffer of its own when its end is found. The slices share memory with
+ * the buffers they were cut from, which therefore must not be reused by their publisher.
+ */
+@NotThreadSafe
+@SdkInternalApi
+final class RecordSplitter implements RecordDecoder {
+    private static final char DEFAULT_RECORD_DELIMITER = '\n';
+    private static final char DEFAULT_QUOTE_CHARACTER = '"';
+
+    private final byte delimiter;
+    private final boolean quoting;
+    private final byte quote;
+    private final byte quoteEscape;
+    private final List<ByteBuffer> partialRecord = new ArrayList<>();
+    private int partialRecordLength;
+    private boolean quoted;
+    private boolean escaped;
+
+    /**
+     * Create a splitter for records that never contain the delimiter, such as JSON records separated by newlines.
+     */
+    RecordSplitter(byte delimiter) {
+        this.delimiter = delimiter;
+        this.quoting = false;
+        this.quote = 0;
+        this.quoteEscape = 0;
+    }
+
+    /**
+     * Create a splitter for CSV records, whose quoted fields may contain the delimiter.
+     */
+    RecordSplitter(byte delimiter, byte quote, byte quoteEscape) {
+        this.delimiter = delimiter;
+        this.quoting = true;
+        this.quote = quote;
+        this.quoteEscape = quoteEscape;
+    }
+
+    /**
+     * Create a splitter for the records of a select result with the given output serialization, applying the defaults of
+     * S3 to the characters that it does not set.
+     */
+    static RecordSplitter forOutput(OutputSerialization outputSerialization) {
+        Validate.paramNotNull(outputSerialization, "outputSerialization");
+        CSVOutput csv = outputSerialization.csv();
+        if (csv != null) {
+            return new RecordSplitter(toByte(csv.recordDelimiter(), DEFAULT_RECORD_DELIMITER, "record delimiter"),
+                                      toByte(csv.quoteCharacter(), DEFAULT_QUOTE_CHARACTER, "quote character"),
+                                      toByte(csv.quoteEscapeCharacter(), DEFAULT_QUOTE_CHARACTER, "quote escape character"));
+        }
+        JSONOutput json = outputSerialization.json();
+        return new RecordSplitter(toByte(json == null ? null : json.recordDelimiter(), DEFAULT_RECORD_DELIMITER,
+                                         "record delimiter"));
+    }
+
+    /**
+     * The given character of an output serialization as a byte, which must be a single ASCII character.
+     */
+    static byte toByte(String character, char defaultCharacter, String name) {
+        if (character == null) {
+            return (byte) defaultCharacter;
+        }
+        Validate.isTrue(character.length() == 1 && character.charAt(0) < 0x80,
+                        "The %s must be a single ASCII character, but was '%s'", name, character);
+        return (byte) character.charAt(0);
+    }
+
+    @Override
+    public void decode(ByteBuffer buffer, Consumer<ByteBuffer> records) {
+        int start = buffer.position();
+        int limit = buffer.limit();
+        ByteBuffer view = buffer.asReadOnlyBuffer();
+        int end;
+        while ((end = indexOfDelimiter(buffer, start, limit)) >= 0) {
+            emit(slice(view, start, end), records);
+            start = end + 1;
+        }
+        if (start < limit) {
+            partialRecord.add(slice(view, start, limit));
+            partialRecordLength += limit - start;
+        }
+        buffer.position(limit);
+    }
+
+    @Override
+    public void complete(Consumer<ByteBuffer> records) {
+        if (!partialRecord.isEmpty()) {
+            emit(ByteBuffer.allocate(0), records);
+        }
+    }
+
+    private void emit(ByteBuffer end, Consumer<ByteBuffer> records) {
+        if (partialRecord.isEmpty()) {
+            records.accept(end);
+            return;
+        }
+        ByteBuffer record = ByteBuffer.allocate(partialRecordLength + end.remaining());
+        partialRecord.forEach(record::put);
+        record.put(end);
+        record.flip();
+        partialRecord.clear();
+        partialRecordLength = 0;
+        records.accept(record.asReadOnlyBuffer());
+    }
+
+    private int indexOfDelimiter(ByteBuffer buffer, int from, int to) {
+        if (quoting) {
+            return indexOfUnquotedDelimiter(buffer, from, to);
+        }
+        if (buffer.hasArray()) {
+            // A tight loop over the array is considerably faster than reading the buffer a byte at a time
+            byte[] array = buffer.array();
+            int offset = buffer.arrayOffset();
+            for (int i = from + offset; i < to + offset; i++) {
+                if (array[i] == delimiter) {
+                    return i - offset;
+                }
+            }
+            return -1;
+        }
+        for (int i = from; i < to; i++) {
+            if (buffer.get(i) == delimiter) {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    /**
+     * The index of the next delimiter outside quotes, tracking the quotes across buffers.
+     */
+    private int indexOfUnquotedDelimiter(ByteBuffer buffer, int from, int to) {
+        for (int i = from; i < to; i++) {
+            byte b = buffer.get(i);
+            if (escaped) {
+                escaped = false;
+            } else if (quoted && b == quoteEscape && quoteEscape != quote) {
+                escaped = true;
+            } else if (b == quote) {
+                quoted = !quoted;
+            } else if (!quoted && b == delimiter) {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    private static ByteBuffer slice(ByteBuffer view, int start, int end) {
+        view.limit(end);
+        view.position(start);
+        return view.slice();
+    }
+}
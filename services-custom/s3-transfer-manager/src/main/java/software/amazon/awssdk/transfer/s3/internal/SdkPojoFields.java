@@ -0,0 +1,78 @@
+/*
+ * Copyright Amazon.com, Inc. or its affiliates. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License").
+ * You may not use this file except in compliance with the License.
+ * A copy of the License is located at
+ *
+ *  http://aws.amazon.com/apache2.0
+ *
+ * or in the "license" file accompanying this file. This file is distributed
+ * on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either
+ * express or implied. See the License for the specific language governing
+ * permissions and limitations under the License.
+ */
+
+
+package software.amazon.awssdk.transfer.s3.internal;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import software.amazon.awssdk.annotations.SdkInternalApi;
+import software.amazon.awssdk.core.SdkField;
+import software.amazon.awssdk.core.SdkPojo;
+import software.amazon.awssdk.core.util.SdkAutoConstructList;
+import software.amazon.awssdk.core.util.SdkAutoConstructMap;
+
+/**
+ * Converts the members of generated model objects to and from a map of plain Java values, keyed by member name. This is used
+ * to carry a {@code PutObjectRequest} or {@code GetObjectRequest} through Java serialization in a resume token, since request
+ * objects are not {@link java.io.Serializable}, and to copy the members that two model classes have in common, e.g. from a
+ * {@code PutObjectRequest} to a {@code CreateMultipartUploadRequest}. Only scalar, list and map members are supported, which
+ * covers every member of those classes.
+ */
+@SdkInternalApi
+public final class SdkPojoFields {
+
+    private SdkPojoFields() {
+    }
+
+    /**
+     * @return the non-null members of the given request, keyed by member name
+     */
+    public static HashMap<String, Object> toFieldMap(SdkPojo pojo) {
+        HashMap<String, Object> fields = new HashMap<>();
+        for (SdkField<?> field : pojo.sdkFields()) {
+            Object value = field.getValueOrDefault(pojo);
+            if (value == null || value instanceof SdkAutoConstructList || value instanceof SdkAutoConstructMap) {
+                continue;
+            }
+            if (value instanceof SdkPojo) {
+                throw new IllegalArgumentException("Member " + field.memberName() + " of " + pojo.getClass().getSimpleName()
+                                                   + " cannot be serialized");
+            }
+            if (value instanceof List) {
+                value = new ArrayList<>((List<?>) value);
+            } else if (value instanceof Map) {
+                value = new HashMap<>((Map<?, ?>) value);
+            }
+            fields.put(field.memberName(), value);
+        }
+        return fields;
+    }
+
+    /**
+     * Sets each member of the given builder that has a value in the given map.
+     */
+    public static <T extends SdkPojo> T applyFieldMap(T builder, Map<String, ?> fields) {
+        for (SdkField<?> field : builder.sdkFields()) {
+            Object value = fields.get(field.memberName());
+            if (value != null) {
+                field.set(builder, value);
+            }
+        }
+        return builder;
+    }
+}
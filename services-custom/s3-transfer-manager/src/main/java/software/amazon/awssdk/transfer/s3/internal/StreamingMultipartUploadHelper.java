@@ -0,0 +1,336 @@
+/*
+ * Copyright Amazon.com, Inc. or its affiliates. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License").
+ * You may not use this file except in compliance with the License.
+ * A copy of the License is located at
+ *
+ *  http://aws.amazon.com/apache2.0
+ *
+ * or in the "license" file accompanying this file. This file is distributed
+ * on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either
+ * express or implied. See the License for the specific language governing
+ * permissions and limitations under the License.
+ */
+
+
+package software.amazon.awssdk.transfer.s3.internal;
+
+import java.nio.ByteBuffer;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.Deque;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import org.reactivestreams.Subscriber;
+import org.reactivestreams.Subscription;
+import software.amazon.awssdk.annotations.SdkInternalApi;
+import software.amazon.awssdk.core.exception.SdkClientException;
+import software.amazon.awssdk.services.s3.S3AsyncClient;
+import software.amazon.awssdk.services.s3.model.CompletedPart;
+import software.amazon.awssdk.services.s3.model.CreateMultipartUploadResponse;
+import software.amazon.awssdk.services.s3.model.PutObjectRequest;
+import software.amazon.awssdk.services.s3.model.UploadPartResponse;
+import software.amazon.awssdk.transfer.s3.CompletedUpload;
+import software.amazon.awssdk.transfer.s3.Upload;
+import software.amazon.awssdk.transfer.s3.UploadRequest;
+import software.amazon.awssdk.transfer.s3.internal.progress.TransferProgressUpdater;
+
+/**
+ * An internal helper class that uploads an {@link software.amazon.awssdk.core.async.AsyncRequestBody} whose content length is
+ * not known in advance, such as a stream that is compressed or encrypted on the fly.
+ * <p>
+ * The content is copied into buffers of the part size, and every full buffer is uploaded as a part of a multipart upload that is
+ * created when the first part is ready. At most {@link MultipartFileUploadHelper#MAX_PARTS_IN_FLIGHT_PER_OBJECT} buffers are
+ * allocated for an upload and each one is reused once its part has been uploaded, so no more content is requested from the body
+ * while all of them are in use. Content that ends before the first buffer is full is uploaded with a single {@code PutObject}
+ * request instead. If the upload fails or is cancelled, the multipart upload is aborted.
+ */
+@SdkInternalApi
+final class StreamingMultipartUploadHelper {
+    private final S3AsyncClient s3AsyncClient;
+    private final long partSizeInBytes;
+
+    StreamingMultipartUploadHelper(S3AsyncClient s3AsyncClient, long partSizeInBytes) {
+        this.s3AsyncClient = s3AsyncClient;
+        this.partSizeInBytes = partSizeInBytes;
+    }
+
+    Upload upload(UploadRequest uploadRequest) {
+        StreamingUpload upload = new StreamingUpload(uploadRequest);
+        upload.progressUpdater.transferInitiated();
+        upload.progressUpdater.registerCompletion(upload.returnFuture);
+
+        try {
+            DefaultS3TransferManager.assertNotUnsupportedArn(upload.putObjectRequest.bucket(), "upload");
+            if (partSizeInBytes > Integer.MAX_VALUE) {
+                throw new IllegalArgumentException("The part size must not exceed " + Integer.MAX_VALUE
+                                                   + " bytes for an upload of unknown content length, but was "
+                                                   + partSizeInBytes);
+            }
+            uploadRequest.requestBody().subscribe(upload);
+        } catch (Throwable throwable) {
+            upload.returnFuture.completeExceptionally(throwable);
+        }
+
+        return new DefaultUpload(upload.returnFuture, upload.progressUpdater.progress());
+    }
+
+    /**
+     * The state of one upload, which subscribes to its request body. All mutable state other than the completed parts is
+     * guarded by the instance lock.
+     */
+    private final class StreamingUpload implements Subscriber<ByteBuffer> {
+        private final PutObjectRequest putObjectRequest;
+        private final TransferProgressUpdater progressUpdater;
+        private final CompletableFuture<CompletedUpload> returnFuture = new CompletableFuture<>();
+        private final ConcurrentMap<Integer, CompletedPart> completedParts = new ConcurrentHashMap<>();
+        private final Set<CompletableFuture<?>> inFlightRequests = ConcurrentHashMap.newKeySet();
+        private final Deque<ByteBuffer> freeBuffers = new ArrayDeque<>();
+        private int allocatedBuffers;
+        private Subscription subscription;
+        private boolean demandOutstanding;
+        private boolean upstreamComplete;
+        private boolean lastPartSent;
+        private boolean completionSent;
+        private boolean advancing;
+        private ByteBuffer pendingChunk;
+        private ByteBuffer currentBuffer;
+        private CompletableFuture<String> uploadIdFuture;
+        private int partCount;
+        private int partsInFlight;
+        private long totalBytes;
+
+        private StreamingUpload(UploadRequest uploadRequest) {
+            this.putObjectRequest = uploadRequest.putObjectRequest();
+            this.progressUpdater = new TransferProgressUpdater(uploadRequest, null);
+        }
+
+        @Override
+        public void onSubscribe(Subscription s) {
+            synchronized (this) {
+                if (subscription != null) {
+                    s.cancel();
+                    return;
+                }
+                subscription = s;
+            }
+            returnFuture.whenComplete((r, t) -> {
+                if (t != null) {
+                    onFailure();
+                }
+            });
+            advance();
+        }
+
+        @Override
+        public void onNext(ByteBuffer byteBuffer) {
+            synchronized (this) {
+                demandOutstanding = false;
+                pendingChunk = byteBuffer;
+            }
+            advance();
+        }
+
+        @Override
+        public void onError(Throwable t) {
+            returnFuture.completeExceptionally(t);
+        }
+
+        @Override
+        public void onComplete() {
+            synchronized (this) {
+                upstreamComplete = true;
+            }
+            advance();
+        }
+
+        /**
+         * Copy the pending content into free buffers, uploading every buffer that is full, and then either request more content,
+         * upload the last part once the body has ended, or complete the multipart upload once every part has been uploaded.
+         */
+        private void advance() {
+            Subscription subscriptionToRequest = null;
+            CompletableFuture<String> uploadToComplete = null;
+            synchronized (this) {
+                if (advancing || returnFuture.isDone()) {
+                    // A part that completed while a part was being sent is picked up by the call that is already advancing
+                    return;
+                }
+                advancing = true;
+                try {
+                    if (fillBuffers()) {
+                        if (upstreamComplete) {
+                            if (!lastPartSent) {
+                                lastPartSent = true;
+                                sendLastPart();
+                            }
+                        } else if (!demandOutstanding) {
+                            demandOutstanding = true;
+                            subscriptionToRequest = subscription;
+                        }
+                    }
+                    if (lastPartSent && uploadIdFuture != null && partsInFlight == 0 && !completionSent) {
+                        completionSent = true;
+                        uploadToComplete = uploadIdFuture;
+                    }
+                } finally {
+                    advancing = false;
+                }
+            }
+
+            if (subscriptionToRequest != null) {
+                subscriptionToRequest.request(1);
+            }
+            if (uploadToComplete != null) {
+                completeMultipartUpload(uploadToComplete);
+            }
+        }
+
+        /**
+         * @return whether all pending content has been copied into buffers
+         */
+        private boolean fillBuffers() {
+            while (pendingChunk != null && pendingChunk.hasRemaining()) {
+                if (returnFuture.isDone()) {
+                    return false;
+                }
+                if (currentBuffer == null) {
+                    currentBuffer = nextFreeBuffer();
+                    if (currentBuffer == null) {
+                        // Every buffer is being uploaded, so wait for a part to complete before requesting more content
+                        return false;
+                    }
+                }
+                int length = Math.min(pendingChunk.remaining(), currentBuffer.remaining());
+                ByteBuffer slice = pendingChunk.duplicate();
+                slice.limit(slice.position() + length);
+                currentBuffer.put(slice);
+                pendingChunk.position(pendingChunk.position() + length);
+                totalBytes += length;
+                if (!currentBuffer.hasRemaining()) {
+                    ByteBuffer fullBuffer = currentBuffer;
+                    currentBuffer = null;
+                    uploadPart(fullBuffer);
+                }
+            }
+            pendingChunk = null;
+            return true;
+        }
+
+        private ByteBuffer nextFreeBuffer() {
+            ByteBuffer buffer = freeBuffers.poll();
+            if (buffer == null && allocatedBuffers < MultipartFileUploadHelper.MAX_PARTS_IN_FLIGHT_PER_OBJECT) {
+                allocatedBuffers++;
+                buffer = ByteBuffer.allocate((int) partSizeInBytes);
+            }
+            return buffer;
+        }
+
+        private void sendLastPart() {
+            progressUpdater.transferSizeInBytes(totalBytes);
+            ByteBuffer lastBuffer = currentBuffer;
+            currentBuffer = null;
+            if (uploadIdFuture == null) {
+                putObject(lastBuffer);
+            } else if (lastBuffer != null && lastBuffer.position() > 0) {
+                uploadPart(lastBuffer);
+            }
+        }
+
+        private void putObject(ByteBuffer buffer) {
+            ByteBuffer content = buffer == null ? ByteBuffer.allocate(0) : buffer;
+            content.flip();
+            long length = content.remaining();
+            PutObjectRequest request = putObjectRequest.toBuilder().contentLength(length).build();
+            CompletableFuture<?> putObjectFuture =
+                s3AsyncClient.putObject(request, new PartBufferAsyncRequestBody(content))
+                             .whenComplete((r, t) -> {
+                                 if (t != null) {
+                                     returnFuture.completeExceptionally(MultipartFileUploadHelper.unwrap(t));
+                                 } else {
+                                     progressUpdater.incrementBytesTransferred(length);
+                                     returnFuture.complete(CompletedUpload.builder().response(r).build());
+                                 }
+                             });
+            inFlightRequests.add(putObjectFuture);
+        }
+
+        private void uploadPart(ByteBuffer buffer) {
+            int partNumber = ++partCount;
+            if (partNumber > MultipartFileUploadHelper.MAX_PART_COUNT) {
+                returnFuture.completeExceptionally(SdkClientException.create(
+                    "The content does not fit in " + MultipartFileUploadHelper.MAX_PART_COUNT + " parts of " + partSizeInBytes
+                    + " bytes. Configure a larger minimum part size to upload it."));
+                return;
+            }
+            if (uploadIdFuture == null) {
+                uploadIdFuture = s3AsyncClient.createMultipartUpload(
+                    MultipartFileUploadHelper.toCreateMultipartUploadRequest(putObjectRequest))
+                                              .thenApply(CreateMultipartUploadResponse::uploadId);
+            }
+
+            buffer.flip();
+            long length = buffer.remaining();
+            partsInFlight++;
+            CompletableFuture<UploadPartResponse> partFuture = uploadIdFuture.thenCompose(uploadId -> s3AsyncClient.uploadPart(
+                MultipartFileUploadHelper.toUploadPartRequest(putObjectRequest, uploadId, partNumber, length),
+                new PartBufferAsyncRequestBody(buffer)));
+            inFlightRequests.add(partFuture);
+            partFuture.whenComplete((response, t) -> {
+                inFlightRequests.remove(partFuture);
+                if (t != null) {
+                    returnFuture.completeExceptionally(MultipartFileUploadHelper.unwrap(t));
+                    return;
+                }
+                completedParts.put(partNumber, CompletedPart.builder()
+                                                            .partNumber(partNumber)
+                                                            .eTag(response.eTag())
+                                                            .build());
+                progressUpdater.incrementBytesTransferred(length);
+                synchronized (this) {
+                    buffer.clear();
+                    freeBuffers.push(buffer);
+                    partsInFlight--;
+                }
+                advance();
+            });
+        }
+
+        private void completeMultipartUpload(CompletableFuture<String> createFuture) {
+            List<CompletedPart> parts = new ArrayList<>(completedParts.values());
+            parts.sort(Comparator.comparing(CompletedPart::partNumber));
+            createFuture.thenCompose(uploadId -> s3AsyncClient.completeMultipartUpload(
+                            MultipartFileUploadHelper.toCompleteMultipartUploadRequest(putObjectRequest, uploadId, parts)))
+                        .thenApply(MultipartFileUploadHelper::toPutObjectResponse)
+                        .whenComplete((r, t) -> {
+                            if (t != null) {
+                                returnFuture.completeExceptionally(MultipartFileUploadHelper.unwrap(t));
+                            } else {
+                                returnFuture.complete(CompletedUpload.builder().response(r).build());
+                            }
+                        });
+        }
+
+        private void onFailure() {
+            Subscription s;
+            CompletableFuture<String> createFuture;
+            synchronized (this) {
+                s = subscription;
+                createFuture = uploadIdFuture;
+            }
+            s.cancel();
+            inFlightRequests.forEach(f -> f.cancel(true));
+            if (createFuture != null) {
+                // If the upload is created after all, it is aborted as soon as its ID is received
+                createFuture.thenAccept(uploadId -> MultipartFileUploadHelper.abortMultipartUpload(s3AsyncClient,
+                                                                                                   putObjectRequest,
+                                                                                                   uploadId));
+            }
+        }
+    }
+}
@@ -35,6 +35,12 @@ public final class TransferConfigurationOption<T> extends AttributeMap.Key<T> {
     public static final TransferConfigurationOption<Boolean> UPLOAD_DIRECTORY_FOLLOW_SYMBOLIC_LINKS =
         new TransferConfigurationOption<>("UploadDirectoryFileVisitOption", Boolean.class);
 
+    public static final TransferConfigurationOption<Integer> UPLOAD_DIRECTORY_MAX_CONCURRENT_FILE_UPLOADS =
+        new TransferConfigurationOption<>("UploadDirectoryMaxConcurrentFileUploads", Integer.class);
+
+    public static final TransferConfigurationOption<Integer> DOWNLOAD_DIRECTORY_MAX_CONCURRENT_FILE_DOWNLOADS =
+        new TransferConfigurationOption<>("DownloadDirectoryMaxConcurrentFileDownloads", Integer.class);
+
     public static final TransferConfigurationOption<Executor> EXECUTOR =
         new TransferConfigurationOption<>("Executor", Executor.class);
 
@@ -45,12 +51,18 @@ public final class TransferConfigurationOption<T> extends AttributeMap.Key<T> {
 
     private static final Boolean DEFAULT_UPLOAD_DIRECTORY_FOLLOW_SYMBOLIC_LINKS = Boolean.FALSE;
 
+    private static final int DEFAULT_UPLOAD_DIRECTORY_MAX_CONCURRENT_FILE_UPLOADS = 100;
+
+    private static final int DEFAULT_DOWNLOAD_DIRECTORY_MAX_CONCURRENT_FILE_DOWNLOADS = 100;
+
     // TODO: revisit default settings before GA
     public static final AttributeMap TRANSFER_MANAGER_DEFAULTS = AttributeMap
         .builder()
         .put(UPLOAD_DIRECTORY_MAX_DEPTH, DEFAULT_UPLOAD_DIRECTORY_MAX_DEPTH)
         .put(UPLOAD_DIRECTORY_RECURSIVE, DEFAULT_UPLOAD_DIRECTORY_RECURSIVE)
         .put(UPLOAD_DIRECTORY_FOLLOW_SYMBOLIC_LINKS, DEFAULT_UPLOAD_DIRECTORY_FOLLOW_SYMBOLIC_LINKS)
+        .put(UPLOAD_DIRECTORY_MAX_CONCURRENT_FILE_UPLOADS, DEFAULT_UPLOAD_DIRECTORY_MAX_CONCURRENT_FILE_UPLOADS)
+        .put(DOWNLOAD_DIRECTORY_MAX_CONCURRENT_FILE_DOWNLOADS, DEFAULT_DOWNLOAD_DIRECTORY_MAX_CONCURRENT_FILE_DOWNLOADS)
         .build();
 
     private final String name;
@@ -15,8 +15,10 @@
 
 package software.amazon.awssdk.transfer.s3.internal;
 
+import static software.amazon.awssdk.transfer.s3.internal.TransferConfigurationOption.DOWNLOAD_DIRECTORY_MAX_CONCURRENT_FILE_DOWNLOADS;
 import static software.amazon.awssdk.transfer.s3.internal.TransferConfigurationOption.TRANSFER_MANAGER_DEFAULTS;
 import static software.amazon.awssdk.transfer.s3.internal.TransferConfigurationOption.UPLOAD_DIRECTORY_FOLLOW_SYMBOLIC_LINKS;
+import static software.amazon.awssdk.transfer.s3.internal.TransferConfigurationOption.UPLOAD_DIRECTORY_MAX_CONCURRENT_FILE_UPLOADS;
 import static software.amazon.awssdk.transfer.s3.internal.TransferConfigurationOption.UPLOAD_DIRECTORY_MAX_DEPTH;
 import static software.amazon.awssdk.transfer.s3.internal.TransferConfigurationOption.UPLOAD_DIRECTORY_RECURSIVE;
 
@@ -25,6 +27,8 @@ import java.util.concurrent.LinkedBlockingQueue;
 import java.util.concurrent.ThreadPoolExecutor;
 import java.util.concurrent.TimeUnit;
 import software.amazon.awssdk.annotations.SdkInternalApi;
+import software.amazon.awssdk.transfer.s3.DownloadDirectoryOverrideConfiguration;
+import software.amazon.awssdk.transfer.s3.DownloadDirectoryRequest;
 import software.amazon.awssdk.transfer.s3.S3TransferManager;
 import software.amazon.awssdk.transfer.s3.UploadDirectoryOverrideConfiguration;
 import software.amazon.awssdk.transfer.s3.UploadDirectoryRequest;
@@ -53,6 +57,8 @@ public class TransferManagerConfiguration implements SdkAutoCloseable {
                             uploadDirectoryConfiguration.maxDepth().orElse(null));
         standardOptions.put(TransferConfigurationOption.UPLOAD_DIRECTORY_RECURSIVE,
                             uploadDirectoryConfiguration.recursive().orElse(null));
+        standardOptions.put(TransferConfigurationOption.UPLOAD_DIRECTORY_MAX_CONCURRENT_FILE_UPLOADS,
+                            uploadDirectoryConfiguration.maxConcurrentFileUploads().orElse(null));
         finalizeExecutor(builder, standardOptions);
 
         options = standardOptions.build().merge(TRANSFER_MANAGER_DEFAULTS);
@@ -92,6 +98,18 @@ public class TransferManagerConfiguration implements SdkAutoCloseable {
                       .orElseGet(() -> options.get(UPLOAD_DIRECTORY_MAX_DEPTH));
     }
 
+    public int resolveUploadDirectoryMaxConcurrentFileUploads(UploadDirectoryRequest request) {
+        return request.overrideConfiguration()
+                      .flatMap(UploadDirectoryOverrideConfiguration::maxConcurrentFileUploads)
+                      .orElseGet(() -> options.get(UPLOAD_DIRECTORY_MAX_CONCURRENT_FILE_UPLOADS));
+    }
+
+    public int resolveDownloadDirectoryMaxConcurrentFileDownloads(DownloadDirectoryRequest request) {
+        return request.overrideConfiguration()
+                      .flatMap(DownloadDirectoryOverrideConfiguration::maxConcurrentFileDownloads)
+                      .orElseGet(() -> options.get(DOWNLOAD_DIRECTORY_MAX_CONCURRENT_FILE_DOWNLOADS));
+    }
+
     @Override
     public void close() {
         options.close();
@@ -25,11 +25,17 @@ import java.nio.file.Files;
 import java.nio.file.LinkOption;
 import java.nio.file.Path;
 import java.util.Collection;
-import java.util.List;
+import java.util.Comparator;
+import java.util.Iterator;
+import java.util.PriorityQueue;
+import java.util.Set;
 import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.atomic.AtomicInteger;
 import java.util.function.Function;
-import java.util.stream.Collectors;
 import java.util.stream.Stream;
 import software.amazon.awssdk.annotations.SdkInternalApi;
 import software.amazon.awssdk.annotations.SdkTestInternalApi;
@@ -44,7 +50,7 @@ import software.amazon.awssdk.transfer.s3.S3TransferManager;
 import software.amazon.awssdk.transfer.s3.UploadDirectoryOverrideConfiguration;
 import software.amazon.awssdk.transfer.s3.UploadDirectoryRequest;
 import software.amazon.awssdk.transfer.s3.UploadFileRequest;
-import software.amazon.awssdk.utils.CompletableFutureUtils;
+import software.amazon.awssdk.transfer.s3.internal.progress.AggregateTransferProgress;
 import software.amazon.awssdk.utils.Logger;
 import software.amazon.awssdk.utils.StringUtils;
 import software.amazon.awssdk.utils.Validate;
@@ -57,6 +63,12 @@ import software.amazon.awssdk.utils.Validate;
 public class UploadDirectoryHelper {
     private static final Logger log = Logger.loggerFor(S3TransferManager.class);
 
+    /**
+     * Smallest files first, falling back to directory listing order for files of the same size.
+     */
+    private static final Comparator<PendingFile> PENDING_FILE_ORDER =
+        Comparator.<PendingFile>comparingLong(f -> f.size).thenComparingLong(f -> f.sequence);
+
     private final TransferManagerConfiguration transferConfiguration;
     private final Function<UploadFileRequest, FileUpload> uploadFunction;
     private final FileSystem fileSystem;
@@ -82,9 +94,10 @@ public class UploadDirectoryHelper {
     public DirectoryUpload uploadDirectory(UploadDirectoryRequest uploadDirectoryRequest) {
 
         CompletableFuture<CompletedDirectoryUpload> returnFuture = new CompletableFuture<>();
+        AggregateTransferProgress progress = new AggregateTransferProgress();
 
         // offload the execution to the transfer manager executor
-        CompletableFuture.runAsync(() -> doUploadDirectory(returnFuture, uploadDirectoryRequest),
+        CompletableFuture.runAsync(() -> doUploadDirectory(returnFuture, progress, uploadDirectoryRequest),
                                    transferConfiguration.option(TransferConfigurationOption.EXECUTOR))
                          .whenComplete((r, t) -> {
                              if (t != null) {
@@ -92,34 +105,21 @@ public class UploadDirectoryHelper {
                              }
                          });
 
-        return new DefaultDirectoryUpload(returnFuture);
+        return new DefaultDirectoryUpload(returnFuture, progress);
     }
 
     private void doUploadDirectory(CompletableFuture<CompletedDirectoryUpload> returnFuture,
+                                   AggregateTransferProgress progress,
                                    UploadDirectoryRequest uploadDirectoryRequest) {
 
         Path directory = uploadDirectoryRequest.sourceDirectory();
 
         validateDirectory(uploadDirectoryRequest);
 
-        Collection<FailedFileUpload> failedFileUploads = new ConcurrentLinkedQueue<>();
-        List<CompletableFuture<CompletedFileUpload>> futures;
-
-        try (Stream<Path> entries = listFiles(directory, uploadDirectoryRequest)) {
-            futures = entries.map(path -> {
-                CompletableFuture<CompletedFileUpload> future = uploadSingleFile(uploadDirectoryRequest,
-                                                                                 failedFileUploads, path);
-
-                // Forward cancellation of the return future to all individual futures.
-                CompletableFutureUtils.forwardExceptionTo(returnFuture, future);
-                return future;
-            }).collect(Collectors.toList());
-        }
+        int maxConcurrency = transferConfiguration.resolveUploadDirectoryMaxConcurrentFileUploads(uploadDirectoryRequest);
+        Stream<Path> entries = listFiles(directory, uploadDirectoryRequest);
 
-        CompletableFuture.allOf(futures.toArray(new CompletableFuture[0]))
-                         .whenComplete((r, t) -> returnFuture.complete(CompletedDirectoryUpload.builder()
-                                                                                               .failedTransfers(failedFileUploads)
-                                                                                               .build()));
+        new FileUploadDispatcher(uploadDirectoryRequest, returnFuture, progress, entries, maxConcurrency).start();
     }
 
     private void validateDirectory(UploadDirectoryRequest uploadDirectoryRequest) {
@@ -136,24 +136,6 @@ public class UploadDirectoryHelper {
         }
     }
 
-    private CompletableFuture<CompletedFileUpload> uploadSingleFile(UploadDirectoryRequest uploadDirectoryRequest,
-                                                                    Collection<FailedFileUpload> failedFileUploads,
-                                                                    Path path) {
-        int nameCount = uploadDirectoryRequest.sourceDirectory().getNameCount();
-        UploadFileRequest uploadFileRequest = constructUploadRequest(uploadDirectoryRequest, nameCount, path);
-        log.debug(() -> String.format("Sending upload request (%s) for path (%s)", uploadFileRequest, path));
-        CompletableFuture<CompletedFileUpload> future = uploadFunction.apply(uploadFileRequest).completionFuture();
-        future.whenComplete((r, t) -> {
-            if (t != null) {
-                failedFileUploads.add(FailedFileUpload.builder()
-                                                      .exception(t)
-                                                      .request(uploadFileRequest)
-                                                      .build());
-            }
-        });
-        return future;
-    }
-
     private Stream<Path> listFiles(Path directory, UploadDirectoryRequest request) {
 
         try {
@@ -243,4 +225,190 @@ public class UploadDirectoryHelper {
         return requestBuilder.build();
     }
 
+    private static long sizeOf(Path path) {
+        try {
+            return Files.size(path);
+        } catch (IOException e) {
+            return -1L;
+        }
+    }
+
+    /**
+     * Dispatches the upload of every file in a directory while keeping at most {@code maxConcurrentFileUploads} uploads in
+     * flight. Files are pulled lazily from the directory listing into a look-ahead buffer of the same size, from which the
+     * smallest file is always dispatched next. Nothing is retained for a file once its upload succeeds, so memory usage does not
+     * depend on the number of files in the directory.
+     * <p>
+     * Walking the directory, sizing files and starting uploads all block, so they only ever run on the transfer manager
+     * executor: the completion of an upload merely schedules a {@link #drain()} there rather than running it on the thread that
+     * completed the upload, which may belong to the SDK client. The work-in-progress counter guarantees that only one thread at
+     * a time touches the directory listing and the look-ahead buffer, that at most one drain is scheduled at a time, and that a
+     * completion which races with an ongoing drain is never missed.
+     */
+    private final class FileUploadDispatcher {
+        private final UploadDirectoryRequest uploadDirectoryRequest;
+        private final Executor executor;
+        private final CompletableFuture<CompletedDirectoryUpload> returnFuture;
+        private final AggregateTransferProgress progress;
+        private final Stream<Path> entries;
+        private final Iterator<Path> iterator;
+        private final int maxConcurrentFileUploads;
+        private final int directoryNameCount;
+        private final PriorityQueue<PendingFile> pendingFiles;
+        private final Set<CompletableFuture<CompletedFileUpload>> inFlightFutures = ConcurrentHashMap.newKeySet();
+        private final AtomicInteger inFlightCount = new AtomicInteger();
+        private final AtomicInteger workInProgress = new AtomicInteger();
+        private final Collection<FailedFileUpload> failedFileUploads = new ConcurrentLinkedQueue<>();
+        private volatile Throwable returnFutureFailure;
+        private long discoveredFiles;
+        private boolean exhausted;
+        private boolean closed;
+
+        private FileUploadDispatcher(UploadDirectoryRequest uploadDirectoryRequest,
+                                     CompletableFuture<CompletedDirectoryUpload> returnFuture,
+                                     AggregateTransferProgress progress,
+                                     Stream<Path> entries,
+                                     int maxConcurrentFileUploads) {
+            this.uploadDirectoryRequest = uploadDirectoryRequest;
+            this.executor = transferConfiguration.option(TransferConfigurationOption.EXECUTOR);
+            this.returnFuture = returnFuture;
+            this.progress = progress;
+            this.entries = entries;
+            this.iterator = entries.iterator();
+            this.maxConcurrentFileUploads = maxConcurrentFileUploads;
+            this.directoryNameCount = uploadDirectoryRequest.sourceDirectory().getNameCount();
+            this.pendingFiles = new PriorityQueue<>(maxConcurrentFileUploads, PENDING_FILE_ORDER);
+        }
+
+        /**
+         * Invoked on the transfer manager executor.
+         */
+        private void start() {
+            returnFuture.whenComplete((r, t) -> {
+                if (t != null) {
+                    // Forward cancellation of the return future to all in-flight uploads.
+                    returnFutureFailure = t;
+                    scheduleDrain();
+                }
+            });
+            if (workInProgress.getAndIncrement() == 0) {
+                drain();
+            }
+        }
+
+        private void scheduleDrain() {
+            if (workInProgress.getAndIncrement() != 0) {
+                return;
+            }
+            try {
+                executor.execute(this::drain);
+            } catch (RejectedExecutionException e) {
+                // The transfer manager is shutting down. Fail the directory upload, and let the drain on this thread close the
+                // listing and cancel the in-flight uploads instead of starting new ones.
+                returnFutureFailure = e;
+                returnFuture.completeExceptionally(e);
+                drain();
+            }
+        }
+
+        /**
+         * Must only be invoked by the thread that moved the work-in-progress counter away from zero.
+         */
+        private void drain() {
+            do {
+                try {
+                    if (returnFutureFailure != null) {
+                        close();
+                        inFlightFutures.forEach(f -> f.completeExceptionally(returnFutureFailure));
+                    } else {
+                        dispatch();
+                    }
+                } catch (Throwable t) {
+                    close();
+                    returnFuture.completeExceptionally(t);
+                }
+            } while (workInProgress.decrementAndGet() != 0);
+        }
+
+        private void dispatch() {
+            while (inFlightCount.get() < maxConcurrentFileUploads) {
+                PendingFile next = nextFile();
+                if (next == null) {
+                    break;
+                }
+                uploadSingleFile(next.path);
+            }
+
+            if (exhausted && pendingFiles.isEmpty() && inFlightCount.get() == 0) {
+                close();
+                returnFuture.complete(CompletedDirectoryUpload.builder()
+                                                              .failedTransfers(failedFileUploads)
+                                                              .build());
+            }
+        }
+
+        private PendingFile nextFile() {
+            while (!exhausted && pendingFiles.size() < maxConcurrentFileUploads) {
+                if (iterator.hasNext()) {
+                    Path path = iterator.next();
+                    long size = sizeOf(path);
+                    if (size < 0) {
+                        progress.transferSizeUnknown();
+                        size = Long.MAX_VALUE;
+                    } else {
+                        progress.addTransferSize(size);
+                    }
+                    pendingFiles.add(new PendingFile(path, size, discoveredFiles++));
+                } else {
+                    exhausted = true;
+                    progress.discoveryComplete();
+                }
+            }
+            return pendingFiles.poll();
+        }
+
+        private void uploadSingleFile(Path path) {
+            UploadFileRequest uploadFileRequest = constructUploadRequest(uploadDirectoryRequest, directoryNameCount, path);
+            log.debug(() -> String.format("Sending upload request (%s) for path (%s)", uploadFileRequest, path));
+            inFlightCount.incrementAndGet();
+            FileUpload fileUpload = uploadFunction.apply(uploadFileRequest);
+            CompletableFuture<CompletedFileUpload> future = fileUpload.completionFuture();
+            inFlightFutures.add(future);
+            progress.transferStarted(fileUpload.progress());
+
+            future.whenComplete((r, t) -> {
+                inFlightFutures.remove(future);
+                progress.transferFinished(fileUpload.progress());
+                if (t != null) {
+                    failedFileUploads.add(FailedFileUpload.builder()
+                                                          .exception(t)
+                                                          .request(uploadFileRequest)
+                                                          .build());
+                }
+                inFlightCount.decrementAndGet();
+                scheduleDrain();
+            });
+        }
+
+        private void close() {
+            if (!closed) {
+                closed = true;
+                exhausted = true;
+                pendingFiles.clear();
+                entries.close();
+            }
+        }
+    }
+
+    private static final class PendingFile {
+        private final Path path;
+        private final long size;
+        private final long sequence;
+
+        private PendingFile(Path path, long size, long sequence) {
+            this.path = path;
+            this.size = size;
+            this.sequence = sequence;
+        }
+    }
 }
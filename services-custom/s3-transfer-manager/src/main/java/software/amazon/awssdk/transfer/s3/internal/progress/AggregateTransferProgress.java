@@ -0,0 +1,102 @@
+/*
+ * Copyright Amazon.com, Inc. or its affiliates. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License").
+ * You may not use this file except in compliance with the License.
+ * A copy of the License is located at
+ *
+ *  http://aws.amazon.com/apache2.0
+ *
+ * or in the "license" file accompanying this file. This file is distributed
+ * on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either
+ * express or implied. See the License for the specific language governing
+ * permissions and limitations under the License.
+ */
+
+
+package software.amazon.awssdk.transfer.s3.internal.progress;
+
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import software.amazon.awssdk.annotations.Mutable;
+import software.amazon.awssdk.annotations.SdkInternalApi;
+import software.amazon.awssdk.annotations.ThreadSafe;
+import software.amazon.awssdk.transfer.s3.progress.TransferProgress;
+import software.amazon.awssdk.transfer.s3.progress.TransferProgressSnapshot;
+import software.amazon.awssdk.utils.ToString;
+
+/**
+ * An SDK-internal implementation of {@link TransferProgress} that aggregates the progress of the individual object transfers
+ * that make up a directory transfer.
+ * <p>
+ * Only the progress of transfers that are currently in flight is retained. Once a transfer finishes, its bytes are folded into
+ * a running total, so the memory used does not grow with the number of transfers.
+ */
+@Mutable
+@ThreadSafe
+@SdkInternalApi
+public final class AggregateTransferProgress implements TransferProgress {
+
+    private final Set<TransferProgress> inFlight = ConcurrentHashMap.newKeySet();
+    private final AtomicLong finishedBytes = new AtomicLong();
+    private final AtomicLong discoveredBytes = new AtomicLong();
+    private volatile boolean sizeUnknown;
+    private volatile boolean discoveryComplete;
+
+    /**
+     * Add the size of a newly discovered object to the total size of the transfer.
+     */
+    public void addTransferSize(long sizeInBytes) {
+        discoveredBytes.addAndGet(sizeInBytes);
+    }
+
+    /**
+     * Mark the total size of the transfer as unknown, e.g. because the size of one of the objects could not be determined.
+     */
+    public void transferSizeUnknown() {
+        sizeUnknown = true;
+    }
+
+    /**
+     * Mark that every object in the transfer has been discovered, making the total transfer size available.
+     */
+    public void discoveryComplete() {
+        discoveryComplete = true;
+    }
+
+    public void transferStarted(TransferProgress progress) {
+        if (progress != null) {
+            inFlight.add(progress);
+        }
+    }
+
+    public void transferFinished(TransferProgress progress) {
+        if (progress != null && inFlight.remove(progress)) {
+            finishedBytes.addAndGet(progress.snapshot().bytesTransferred());
+        }
+    }
+
+    @Override
+    public TransferProgressSnapshot snapshot() {
+        long bytesTransferred = finishedBytes.get();
+        for (TransferProgress progress : inFlight) {
+            bytesTransferred += progress.snapshot().bytesTransferred();
+        }
+
+        DefaultTransferProgressSnapshot.Builder snapshot = DefaultTransferProgressSnapshot.builder();
+        if (discoveryComplete && !sizeUnknown) {
+            long transferSizeInBytes = discoveredBytes.get();
+            snapshot.transferSizeInBytes(transferSizeInBytes);
+            bytesTransferred = Math.min(bytesTransferred, transferSizeInBytes);
+        }
+        return snapshot.bytesTransferred(bytesTransferred).build();
+    }
+
+    @Override
+    public String toString() {
+        return ToString.builder("AggregateTransferProgress")
+                       .add("snapshot", snapshot())
+                       .build();
+    }
+}
@@ -15,20 +15,21 @@
 
 package software.amazon.awssdk.transfer.s3.internal.progress;
 
-import java.util.concurrent.atomic.AtomicReference;
-import java.util.function.Consumer;
+import java.util.concurrent.atomic.LongAdder;
 import software.amazon.awssdk.annotations.Mutable;
 import software.amazon.awssdk.annotations.SdkInternalApi;
 import software.amazon.awssdk.annotations.ThreadSafe;
-import software.amazon.awssdk.transfer.s3.internal.progress.DefaultTransferProgressSnapshot.Builder;
 import software.amazon.awssdk.transfer.s3.progress.TransferProgress;
 import software.amazon.awssdk.transfer.s3.progress.TransferProgressSnapshot;
 import software.amazon.awssdk.utils.ToString;
 
 /**
- * An SDK-internal implementation of {@link TransferProgress}. This implementation acts as a thin wrapper around {@link
- * AtomicReference}, where calls to get the latest {@link #snapshot()} simply return the latest reference, while {@link
- * TransferProgressUpdater} is responsible for continuously updating the latest reference.
+ * An SDK-internal implementation of {@link TransferProgress}. The number of bytes transferred is kept in a {@link LongAdder},
+ * so that {@link TransferProgressUpdater} can record every chunk of a transfer without allocating or contending on a single
+ * reference, and a {@link TransferProgressSnapshot} is only created when {@link #snapshot()} is called.
+ * <p>
+ * Because the byte count and the transfer size are read separately, a snapshot taken while the transfer is being restarted may
+ * briefly observe more bytes than the transfer size. The snapshot reports the transfer size in that case.
  *
  * @see TransferProgress
  */
@@ -37,29 +38,63 @@ import software.amazon.awssdk.utils.ToString;
 @SdkInternalApi
 public final class DefaultTransferProgress implements TransferProgress {
 
-    private final AtomicReference<TransferProgressSnapshot> snapshot;
+    private final LongAdder bytesTransferred = new LongAdder();
+    private volatile Long transferSizeInBytes;
 
     public DefaultTransferProgress(TransferProgressSnapshot snapshot) {
-        this.snapshot = new AtomicReference<>(snapshot);
+        this.bytesTransferred.add(snapshot.bytesTransferred());
+        this.transferSizeInBytes = snapshot.transferSizeInBytes().orElse(null);
     }
 
     /**
-     * Atomically convert the current snapshot reference to its {@link Builder}, perform updates using the provided {@link
-     * Consumer}, and save the result as the latest snapshot.
+     * Add to the number of bytes transferred. The count may be negative when bytes have to be transferred again.
      */
-    public TransferProgressSnapshot updateAndGet(Consumer<DefaultTransferProgressSnapshot.Builder> updater) {
-        return this.snapshot.updateAndGet(s -> ((DefaultTransferProgressSnapshot) s).copy(updater));
+    public void addBytesTransferred(long bytes) {
+        bytesTransferred.add(bytes);
+    }
+
+    /**
+     * Replace the number of bytes transferred, e.g. when a transfer is restarted from the beginning. This is not atomic with
+     * respect to concurrent calls to {@link #addBytesTransferred(long)}, so it should only be called when the transfer is not
+     * making progress.
+     */
+    public void bytesTransferred(long bytes) {
+        bytesTransferred.reset();
+        bytesTransferred.add(bytes);
+    }
+
+    public long bytesTransferred() {
+        return bytesTransferred.sum();
+    }
+
+    /**
+     * Set the size of the transfer, or {@code null} if it is not known.
+     */
+    public void transferSizeInBytes(Long transferSizeInBytes) {
+        this.transferSizeInBytes = transferSizeInBytes;
+    }
+
+    public Long transferSizeInBytes() {
+        return transferSizeInBytes;
     }
 
     @Override
     public TransferProgressSnapshot snapshot() {
-        return snapshot.get();
+        Long size = transferSizeInBytes;
+        long bytes = Math.max(0, bytesTransferred.sum());
+        if (size != null) {
+            bytes = Math.min(bytes, size);
+        }
+        return DefaultTransferProgressSnapshot.builder()
+                                              .bytesTransferred(bytes)
+                                              .transferSizeInBytes(size)
+                                              .build();
     }
 
     @Override
     public String toString() {
         return ToString.builder("TransferProgress")
-                       .add("snapshot", snapshot)
+                       .add("snapshot", snapshot())
                        .build();
     }
 }
@@ -17,6 +17,7 @@ package software.amazon.awssdk.transfer.s3.internal.progress;
 
 import java.nio.ByteBuffer;
 import java.util.Collections;
+import java.util.List;
 import java.util.Optional;
 import java.util.concurrent.CompletableFuture;
 import org.reactivestreams.Subscriber;
@@ -35,6 +36,9 @@ import software.amazon.awssdk.transfer.s3.progress.TransferProgressSnapshot;
 
 /**
  * An SDK-internal helper class that facilitates updating a {@link TransferProgress} and invoking {@link TransferListener}s.
+ * <p>
+ * Every chunk of a transfer is recorded by adding to the counter of a {@link DefaultTransferProgress}. A snapshot of the progress
+ * and a {@link TransferListener.Context.BytesTransferred} are only created for a chunk when the transfer has listeners.
  */
 @SdkInternalApi
 public class TransferProgressUpdater {
@@ -42,6 +46,7 @@ public class TransferProgressUpdater {
     private final DefaultTransferProgress progress;
     private final TransferListenerContext context;
     private final TransferListenerInvoker listeners;
+    private final boolean hasListeners;
 
     public TransferProgressUpdater(TransferObjectRequest request, AsyncRequestBody requestBody) {
         DefaultTransferProgressSnapshot.Builder snapshotBuilder = DefaultTransferProgressSnapshot.builder();
@@ -52,9 +57,11 @@ public class TransferProgressUpdater {
                                          .request(request)
                                          .progressSnapshot(snapshot)
                                          .build();
-        listeners = new TransferListenerInvoker(request.overrideConfiguration()
-                                                       .map(TransferRequestOverrideConfiguration::listeners)
-                                                       .orElseGet(Collections::emptyList));
+        List<TransferListener> transferListeners = request.overrideConfiguration()
+                                                          .map(TransferRequestOverrideConfiguration::listeners)
+                                                          .orElseGet(Collections::emptyList);
+        listeners = new TransferListenerInvoker(transferListeners);
+        hasListeners = !transferListeners.isEmpty();
     }
 
     public TransferProgress progress() {
@@ -62,7 +69,39 @@ public class TransferProgressUpdater {
     }
 
     public void transferInitiated() {
-        listeners.transferInitiated(context);
+        listeners.transferInitiated(context.copy(b -> b.progressSnapshot(progress.snapshot())));
+    }
+
+    /**
+     * Set the size of the transfer when it is not known from the request body, e.g. when resuming a transfer.
+     */
+    public void transferSizeInBytes(long transferSizeInBytes) {
+        progress.transferSizeInBytes(transferSizeInBytes);
+    }
+
+    /**
+     * Record the bytes that were transferred before this transfer was resumed, without notifying listeners. This should be
+     * called before {@link #transferInitiated()}.
+     */
+    public void bytesAlreadyTransferred(long bytesTransferred) {
+        progress.bytesTransferred(bytesTransferred);
+    }
+
+    /**
+     * Record bytes transferred outside of a wrapped request body or response transformer, e.g. a completed part of a multipart
+     * upload, and notify listeners. The count may be negative when bytes have to be transferred again.
+     */
+    public void incrementBytesTransferred(long bytes) {
+        progress.addBytesTransferred(bytes);
+        notifyBytesTransferred();
+    }
+
+    private void notifyBytesTransferred() {
+        if (!hasListeners) {
+            return;
+        }
+        TransferProgressSnapshot snapshot = progress.snapshot();
+        listeners.bytesTransferred(context.copy(b -> b.progressSnapshot(snapshot)));
     }
 
     public AsyncRequestBody wrapRequestBody(AsyncRequestBody requestBody) {
@@ -71,15 +110,12 @@ public class TransferProgressUpdater {
             new AsyncRequestBodyListener() {
                 @Override
                 public void beforeSubscribe(Subscriber<? super ByteBuffer> subscriber) {
-                    progress.updateAndGet(b -> b.bytesTransferred(0));
+                    progress.bytesTransferred(0);
                 }
 
                 @Override
                 public void beforeOnNext(ByteBuffer byteBuffer) {
-                    TransferProgressSnapshot snapshot = progress.updateAndGet(b -> {
-                        b.bytesTransferred(b.getBytesTransferred() + byteBuffer.limit());
-                    });
-                    listeners.bytesTransferred(context.copy(b -> b.progressSnapshot(snapshot)));
+                    incrementBytesTransferred(byteBuffer.limit());
                 }
             });
     }
@@ -92,21 +128,20 @@ public class TransferProgressUpdater {
                 @Override
                 public void beforeOnResponse(GetObjectResponse response) {
                     if (response.contentLength() != null) {
-                        progress.updateAndGet(b -> b.transferSizeInBytes(response.contentLength()));
+                        // The body is transferred from the start, so drop any count left over from a resumed transfer
+                        progress.bytesTransferred(0);
+                        progress.transferSizeInBytes(response.contentLength());
                     }
                 }
 
                 @Override
                 public void beforeSubscribe(Subscriber<? super ByteBuffer> subscriber) {
-                    progress.updateAndGet(b -> b.bytesTransferred(0));
+                    progress.bytesTransferred(0);
                 }
 
                 @Override
                 public void beforeOnNext(ByteBuffer byteBuffer) {
-                    TransferProgressSnapshot snapshot = progress.updateAndGet(b -> {
-                        b.bytesTransferred(b.getBytesTransferred() + byteBuffer.limit());
-                    });
-                    listeners.bytesTransferred(context.copy(b -> b.progressSnapshot(snapshot)));
+                    incrementBytesTransferred(byteBuffer.limit());
                 }
             });
     }
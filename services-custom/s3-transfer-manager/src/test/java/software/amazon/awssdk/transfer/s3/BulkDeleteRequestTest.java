@@ -0,0 +1,73 @@
+/*
+ * Copyright Amazon.com, Inc. or its affiliates. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License").
+ * You may not use this file except in compliance with the License.
+ * A copy of the License is located at
+ *
+ *  http://aws.amazon.com/apache2.0
+ *
+ * or in the "license" file accompanying this file. This file is distributed
+ * on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either
+ * express or implied. See the License for the specific language governing
+ * permissions and limitations under the License.
+ */
+
+
+package software.amazon.awssdk.transfer.s3;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import io.reactivex.Flowable;
+import nl.jqno.equalsverifier.EqualsVerifier;
+import org.junit.jupiter.api.Test;
+
+public class BulkDeleteRequestTest {
+
+    @Test
+    public void noBucket_shouldThrow() {
+        assertThatThrownBy(() -> BulkDeleteRequest.builder().prefix("prefix").build())
+            .isInstanceOf(NullPointerException.class)
+            .hasMessageContaining("bucket");
+    }
+
+    @Test
+    public void neitherOrBothOfPrefixAndKeys_shouldThrow() {
+        assertThatThrownBy(() -> BulkDeleteRequest.builder().bucket("bucket").build())
+            .isInstanceOf(IllegalArgumentException.class)
+            .hasMessageContaining("Exactly one of prefix and keys");
+        assertThatThrownBy(() -> BulkDeleteRequest.builder().bucket("bucket").prefix("").keys(Flowable.just("key")).build())
+            .isInstanceOf(IllegalArgumentException.class)
+            .hasMessageContaining("Exactly one of prefix and keys");
+    }
+
+    @Test
+    public void maxConcurrentRequestsNotPositive_shouldThrow() {
+        assertThatThrownBy(() -> BulkDeleteRequest.builder().bucket("bucket").prefix("").maxConcurrentRequests(0).build())
+            .isInstanceOf(IllegalArgumentException.class)
+            .hasMessageContaining("maxConcurrentRequests");
+    }
+
+    @Test
+    public void toBuilder_shouldCopyAllFields() {
+        BulkDeleteRequest request = BulkDeleteRequest.builder()
+                                                     .bucket("bucket")
+                                                     .prefix("prefix/")
+                                                     .maxConcurrentRequests(4)
+                                                     .build();
+
+        assertThat(request.bucket()).isEqualTo("bucket");
+        assertThat(request.prefix()).hasValue("prefix/");
+        assertThat(request.keys()).isEmpty();
+        assertThat(request.maxConcurrentRequests()).hasValue(4);
+        assertThat(request.toBuilder().build()).isEqualTo(request);
+    }
+
+    @Test
+    public void equals_hashcode() {
+        EqualsVerifier.forClass(BulkDeleteRequest.class)
+                      .withNonnullFields("bucket")
+                      .verify();
+    }
+}
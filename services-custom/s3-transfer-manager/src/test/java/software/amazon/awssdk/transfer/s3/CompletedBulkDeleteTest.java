@@ -0,0 +1,54 @@
+/*
+ * Copyright Amazon.com, Inc. or its affiliates. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License").
+ * You may not use this file except in compliance with the License.
+ * A copy of the License is located at
+ *
+ *  http://aws.amazon.com/apache2.0
+ *
+ * or in the "license" file accompanying this file. This file is distributed
+ * on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either
+ * express or implied. See the License for the specific language governing
+ * permissions and limitations under the License.
+ */
+
+
+package software.amazon.awssdk.transfer.s3;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import nl.jqno.equalsverifier.EqualsVerifier;
+import org.junit.jupiter.api.Test;
+import software.amazon.awssdk.services.s3.model.S3Error;
+
+public class CompletedBulkDeleteTest {
+
+    @Test
+    public void defaults_shouldHaveNoFailures() {
+        CompletedBulkDelete completedBulkDelete = CompletedBulkDelete.builder().build();
+
+        assertThat(completedBulkDelete.objectsDeleted()).isZero();
+        assertThat(completedBulkDelete.failedDeletes()).isEmpty();
+    }
+
+    @Test
+    public void addFailedDelete_shouldAddToFailedDeletes() {
+        S3Error error = S3Error.builder().key("key").code("AccessDenied").build();
+
+        CompletedBulkDelete completedBulkDelete = CompletedBulkDelete.builder()
+                                                                     .objectsDeleted(3)
+                                                                     .addFailedDelete(error)
+                                                                     .build();
+
+        assertThat(completedBulkDelete.objectsDeleted()).isEqualTo(3);
+        assertThat(completedBulkDelete.failedDeletes()).containsExactly(error);
+    }
+
+    @Test
+    public void equalsHashcode() {
+        EqualsVerifier.forClass(CompletedBulkDelete.class)
+                      .withNonnullFields("failedDeletes")
+                      .verify();
+    }
+}
@@ -0,0 +1,57 @@
+/*
+ * Copyright Amazon.com, Inc. or its affiliates. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License").
+ * You may not use this file except in compliance with the License.
+ * A copy of the License is located at
+ *
+ *  http://aws.amazon.com/apache2.0
+ *
+ * or in the "license" file accompanying this file. This file is distributed
+ * on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either
+ * express or implied. See the License for the specific language governing
+ * permissions and limitations under the License.
+ */
+
+
+package software.amazon.awssdk.transfer.s3;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import nl.jqno.equalsverifier.EqualsVerifier;
+import org.junit.jupiter.api.Test;
+import software.amazon.awssdk.services.s3.model.CopyObjectRequest;
+
+public class CopyRequestTest {
+
+    @Test
+    public void noCopyObjectRequest_shouldThrow() {
+        assertThatThrownBy(() -> CopyRequest.builder().build()).isInstanceOf(NullPointerException.class)
+                                                                .hasMessageContaining("copyObjectRequest");
+    }
+
+    @Test
+    public void consumerBuilder_shouldBuildCopyObjectRequest() {
+        CopyRequest request = CopyRequest.builder()
+                                         .copyObjectRequest(c -> c.sourceBucket("source").sourceKey("sourceKey")
+                                                                  .destinationBucket("bucket").destinationKey("key"))
+                                         .build();
+
+        assertThat(request.copyObjectRequest()).isEqualTo(CopyObjectRequest.builder()
+                                                                           .sourceBucket("source")
+                                                                           .sourceKey("sourceKey")
+                                                                           .destinationBucket("bucket")
+                                                                           .destinationKey("key")
+                                                                           .build());
+        assertThat(request.overrideConfiguration()).isEmpty();
+        assertThat(request.toBuilder().build()).isEqualTo(request);
+    }
+
+    @Test
+    public void equals_hashcode() {
+        EqualsVerifier.forClass(CopyRequest.class)
+                      .withNonnullFields("copyObjectRequest")
+                      .verify();
+    }
+}
@@ -0,0 +1,98 @@
+/*
+ * Copyright Amazon.com, Inc. or its affiliates. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License").
+ * You may not use this file except in compliance with the License.
+ * A copy of the License is located at
+ *
+ *  http://aws.amazon.com/apache2.0
+ *
+ * or in the "license" file accompanying this file. This file is distributed
+ * on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either
+ * express or implied. See the License for the specific language governing
+ * permissions and limitations under the License.
+ */
+
+
+package software.amazon.awssdk.transfer.s3;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.ObjectInputStream;
+import java.io.ObjectOutputStream;
+import java.nio.file.Paths;
+import java.time.Instant;
+import nl.jqno.equalsverifier.EqualsVerifier;
+import nl.jqno.equalsverifier.Warning;
+import org.junit.jupiter.api.Test;
+
+public class ResumableFileDownloadTest {
+    private static final DownloadFileRequest DOWNLOAD_FILE_REQUEST =
+        DownloadFileRequest.builder()
+                           .destination(Paths.get("some", "file"))
+                           .getObjectRequest(b -> b.bucket("bucket").key("key").versionId("version"))
+                           .build();
+
+    @Test
+    public void negativeBytesTransferred_shouldThrow() {
+        assertThatThrownBy(() -> ResumableFileDownload.builder()
+                                                      .downloadFileRequest(DOWNLOAD_FILE_REQUEST)
+                                                      .bytesTransferred(-1L)
+                                                      .build())
+            .isInstanceOf(IllegalArgumentException.class)
+            .hasMessageContaining("bytesTransferred");
+    }
+
+    @Test
+    public void missingDownloadFileRequest_shouldThrow() {
+        assertThatThrownBy(() -> ResumableFileDownload.builder().build())
+            .isInstanceOf(NullPointerException.class)
+            .hasMessageContaining("downloadFileRequest");
+    }
+
+    @Test
+    public void defaults_shouldHaveNoProgress() {
+        ResumableFileDownload resumableFileDownload = ResumableFileDownload.builder()
+                                                                           .downloadFileRequest(DOWNLOAD_FILE_REQUEST)
+                                                                           .build();
+
+        assertThat(resumableFileDownload.bytesTransferred()).isZero();
+        assertThat(resumableFileDownload.fileLastModified()).isEmpty();
+        assertThat(resumableFileDownload.totalSizeInBytes()).isEmpty();
+        assertThat(resumableFileDownload.objectETag()).isEmpty();
+    }
+
+    @Test
+    public void javaSerialization_shouldRoundTrip() throws IOException, ClassNotFoundException {
+        ResumableFileDownload resumableFileDownload = ResumableFileDownload.builder()
+                                                                           .downloadFileRequest(DOWNLOAD_FILE_REQUEST)
+                                                                           .bytesTransferred(40L)
+                                                                           .fileLastModified(Instant.ofEpochMilli(1234))
+                                                                           .totalSizeInBytes(100L)
+                                                                           .objectETag("\"etag\"")
+                                                                           .build();
+
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        try (ObjectOutputStream out = new ObjectOutputStream(bytes)) {
+            out.writeObject(resumableFileDownload);
+        }
+        Object deserialized;
+        try (ObjectInputStream in = new ObjectInputStream(new ByteArrayInputStream(bytes.toByteArray()))) {
+            deserialized = in.readObject();
+        }
+
+        assertThat(deserialized).isEqualTo(resumableFileDownload);
+    }
+
+    @Test
+    public void equals_hashcode() {
+        EqualsVerifier.forClass(ResumableFileDownload.class)
+                      .withNonnullFields("downloadFileRequest")
+                      .suppress(Warning.TRANSIENT_FIELDS)
+                      .verify();
+    }
+}
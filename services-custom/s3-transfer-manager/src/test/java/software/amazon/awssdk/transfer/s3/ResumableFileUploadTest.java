@@ -0,0 +1,113 @@
+/*
+ * Copyright Amazon.com, Inc. or its affiliates. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License").
+ * You may not use this file except in compliance with the License.
+ * A copy of the License is located at
+ *
+ *  http://aws.amazon.com/apache2.0
+ *
+ * or in the "license" file accompanying this file. This file is distributed
+ * on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either
+ * express or implied. See the License for the specific language governing
+ * permissions and limitations under the License.
+ */
+
+
+package software.amazon.awssdk.transfer.s3;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.ObjectInputStream;
+import java.io.ObjectOutputStream;
+import java.nio.file.Paths;
+import java.time.Instant;
+import java.util.Arrays;
+import java.util.Collections;
+import nl.jqno.equalsverifier.EqualsVerifier;
+import nl.jqno.equalsverifier.Warning;
+import org.junit.jupiter.api.Test;
+import software.amazon.awssdk.services.s3.model.CompletedPart;
+
+public class ResumableFileUploadTest {
+    private static final UploadFileRequest UPLOAD_FILE_REQUEST =
+        UploadFileRequest.builder()
+                         .source(Paths.get("some", "file"))
+                         .putObjectRequest(b -> b.bucket("bucket")
+                                                 .key("key")
+                                                 .contentType("text/plain")
+                                                 .metadata(Collections.singletonMap("foo", "bar")))
+                         .build();
+
+    @Test
+    public void multipartUploadIdWithoutPartSize_shouldThrow() {
+        assertThatThrownBy(() -> ResumableFileUpload.builder()
+                                                    .uploadFileRequest(UPLOAD_FILE_REQUEST)
+                                                    .fileLength(10L)
+                                                    .fileLastModified(Instant.now())
+                                                    .multipartUploadId("upload-id")
+                                                    .build())
+            .isInstanceOf(NullPointerException.class)
+            .hasMessageContaining("partSizeInBytes");
+    }
+
+    @Test
+    public void missingFileLength_shouldThrow() {
+        assertThatThrownBy(() -> ResumableFileUpload.builder()
+                                                    .uploadFileRequest(UPLOAD_FILE_REQUEST)
+                                                    .fileLastModified(Instant.now())
+                                                    .build())
+            .isInstanceOf(NullPointerException.class)
+            .hasMessageContaining("fileLength");
+    }
+
+    @Test
+    public void noMultipartUpload_shouldHaveNoParts() {
+        ResumableFileUpload resumableFileUpload = ResumableFileUpload.builder()
+                                                                     .uploadFileRequest(UPLOAD_FILE_REQUEST)
+                                                                     .fileLength(10L)
+                                                                     .fileLastModified(Instant.now())
+                                                                     .build();
+
+        assertThat(resumableFileUpload.multipartUploadId()).isEmpty();
+        assertThat(resumableFileUpload.partSizeInBytes()).isEmpty();
+        assertThat(resumableFileUpload.completedParts()).isEmpty();
+    }
+
+    @Test
+    public void javaSerialization_shouldRoundTrip() throws IOException, ClassNotFoundException {
+        ResumableFileUpload resumableFileUpload =
+            ResumableFileUpload.builder()
+                               .uploadFileRequest(UPLOAD_FILE_REQUEST)
+                               .fileLength(100L)
+                               .fileLastModified(Instant.ofEpochMilli(1234))
+                               .multipartUploadId("upload-id")
+                               .partSizeInBytes(10L)
+                               .completedParts(Arrays.asList(CompletedPart.builder().partNumber(1).eTag("\"1\"").build(),
+                                                             CompletedPart.builder().partNumber(2).eTag("\"2\"").build()))
+                               .build();
+
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        try (ObjectOutputStream out = new ObjectOutputStream(bytes)) {
+            out.writeObject(resumableFileUpload);
+        }
+        Object deserialized;
+        try (ObjectInputStream in = new ObjectInputStream(new ByteArrayInputStream(bytes.toByteArray()))) {
+            deserialized = in.readObject();
+        }
+
+        assertThat(deserialized).isEqualTo(resumableFileUpload);
+    }
+
+    @Test
+    public void equals_hashcode() {
+        EqualsVerifier.forClass(ResumableFileUpload.class)
+                      .withNonnullFields("uploadFileRequest", "fileLastModified", "completedParts")
+                      .suppress(Warning.TRANSIENT_FIELDS)
+                      .verify();
+    }
+}
@@ -38,12 +38,22 @@ public class UploadDirectoryOverrideConfigurationTest {
             .hasMessageContaining("positive");
     }
 
+    @Test
+    public void maxConcurrentFileUploadsNotPositive_shouldThrowException() {
+        assertThatThrownBy(() -> UploadDirectoryOverrideConfiguration.builder()
+                                                                     .maxConcurrentFileUploads(0)
+                                                                     .build())
+            .isInstanceOf(IllegalArgumentException.class)
+            .hasMessageContaining("positive");
+    }
+
     @Test
     public void defaultBuilder() {
         UploadDirectoryOverrideConfiguration configuration = UploadDirectoryOverrideConfiguration.builder().build();
         assertThat(configuration.followSymbolicLinks()).isEmpty();
         assertThat(configuration.recursive()).isEmpty();
         assertThat(configuration.maxDepth()).isEmpty();
+        assertThat(configuration.maxConcurrentFileUploads()).isEmpty();
     }
 
     @Test
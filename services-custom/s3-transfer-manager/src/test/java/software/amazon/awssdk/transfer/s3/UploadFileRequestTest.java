@@ -70,6 +70,16 @@ public class UploadFileRequestTest {
                          .build();
     }
 
+    @Test
+    public void pausable_isNotSetByDefault() {
+        UploadFileRequest request = UploadFileRequest.builder()
+                                                     .putObjectRequest(b -> b.bucket("bucket").key("key"))
+                                                     .source(Paths.get("."))
+                                                     .build();
+        assertThat(request.pausable()).isEmpty();
+        assertThat(request.toBuilder().pausable(true).build().pausable()).contains(true);
+    }
+
     @Test
     public void equals_hashcode() {
         EqualsVerifier.forClass(UploadFileRequest.class)
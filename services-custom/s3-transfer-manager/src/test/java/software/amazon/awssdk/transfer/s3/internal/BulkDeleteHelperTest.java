@@ -0,0 +1,219 @@
+/*
+ * Copyright Amazon.com, Inc. or its affiliates. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License").
+ * You may not use this file except in compliance with the License.
+ * A copy of the License is located at
+ *
+ *  http://aws.amazon.com/apache2.0
+ *
+ * or in the "license" file accompanying this file. This file is distributed
+ * on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either
+ * express or implied. See the License for the specific language governing
+ * permissions and limitations under the License.
+ */
+
+
+package software.amazon.awssdk.transfer.s3.internal;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.assertj.core.api.Assertions.tuple;
+import static software.amazon.awssdk.transfer.s3.util.WaitUtils.waitUntil;
+
+import io.reactivex.Flowable;
+import java.time.Duration;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import software.amazon.awssdk.services.s3.model.S3Error;
+import software.amazon.awssdk.transfer.s3.BulkDelete;
+import software.amazon.awssdk.transfer.s3.BulkDeleteRequest;
+import software.amazon.awssdk.transfer.s3.CompletedBulkDelete;
+import software.amazon.awssdk.transfer.s3.S3TransferManager;
+import software.amazon.awssdk.transfer.s3.internal.StubS3AsyncClient.KeyError;
+
+public class BulkDeleteHelperTest {
+    private StubS3AsyncClient stubS3;
+    private BulkDeleteHelper helper;
+
+    @BeforeEach
+    public void methodSetup() {
+        stubS3 = new StubS3AsyncClient();
+        helper = new BulkDeleteHelper(stubS3, Duration.ofMillis(1));
+    }
+
+    @AfterEach
+    public void methodTeardown() {
+        helper.close();
+        stubS3.close();
+    }
+
+    @Test
+    public void deleteObjects_prefix_shouldDeleteListedKeysInBatchesUnderConcurrencyLimit() throws Exception {
+        addKeys("a/", 2500);
+        addKeys("b/", 10);
+
+        BulkDelete delete = helper.deleteObjects(BulkDeleteRequest.builder()
+                                                                  .bucket("bucket")
+                                                                  .prefix("a/")
+                                                                  .maxConcurrentRequests(2)
+                                                                  .build());
+        CompletedBulkDelete completedDelete = delete.completionFuture().get(5, TimeUnit.SECONDS);
+
+        assertThat(completedDelete.objectsDeleted()).isEqualTo(2500);
+        assertThat(completedDelete.failedDeletes()).isEmpty();
+        assertThat(delete.objectsDeleted()).isEqualTo(2500);
+        assertThat(delete.objectsFailed()).isZero();
+        assertThat(stubS3.objects.keySet()).hasSize(10).allSatisfy(k -> assertThat(k).startsWith("b/"));
+        assertThat(stubS3.deleteRequests).allSatisfy(r -> {
+            assertThat(r.bucket()).isEqualTo("bucket");
+            assertThat(r.delete().quiet()).isTrue();
+            assertThat(r.delete().objects()).hasSizeLessThanOrEqualTo(BulkDeleteHelper.MAX_KEYS_PER_REQUEST);
+        });
+        assertThat(stubS3.maxRequestsInFlight.get()).isLessThanOrEqualTo(2);
+    }
+
+    @Test
+    public void deleteObjects_keys_shouldBatchKeysAndDeleteRemainder() throws Exception {
+        addKeys("", 2001);
+
+        CompletedBulkDelete completedDelete = helper.deleteObjects(keysRequest(Flowable.range(0, 2001).map(i -> "" + i)))
+                                                    .completionFuture().get(5, TimeUnit.SECONDS);
+
+        assertThat(completedDelete.objectsDeleted()).isEqualTo(2001);
+        assertThat(stubS3.objects.keySet()).isEmpty();
+        assertThat(stubS3.deleteRequests.stream().map(r -> r.delete().objects().size()).sorted().collect(Collectors.toList()))
+            .containsExactly(1, 1000, 1000);
+    }
+
+    @Test
+    public void deleteObjects_requestsInFlight_shouldNotReadKeysFurtherAhead() {
+        AtomicLong keysEmitted = new AtomicLong();
+        stubS3.paused = true;
+
+        BulkDelete delete = helper.deleteObjects(keysRequest(Flowable.range(0, 100_000)
+                                                                     .map(i -> "" + i)
+                                                                     .doOnNext(k -> keysEmitted.incrementAndGet()))
+                                                     .toBuilder()
+                                                     .maxConcurrentRequests(1)
+                                                     .build());
+
+        waitUntil(() -> stubS3.heldResponses.size() == 1);
+        // One batch is being deleted and one is waiting to be sent
+        assertThat(keysEmitted.get()).isEqualTo(2 * BulkDeleteHelper.MAX_KEYS_PER_REQUEST);
+
+        stubS3.release();
+        assertThat(delete.completionFuture().join().objectsDeleted()).isEqualTo(100_000);
+        assertThat(stubS3.maxRequestsInFlight.get()).isEqualTo(1);
+    }
+
+    @Test
+    public void deleteObjects_keyErrors_shouldRetryTransientErrorsAndReportOthers() throws Exception {
+        addKeys("", 10);
+        stubS3.keyErrors.put("1", new KeyError("SlowDown", 2));
+        stubS3.keyErrors.put("2", new KeyError("AccessDenied", Integer.MAX_VALUE));
+        stubS3.keyErrors.put("3", new KeyError("InternalError", Integer.MAX_VALUE));
+
+        BulkDelete delete = helper.deleteObjects(keysRequest(Flowable.range(0, 10).map(i -> "" + i)));
+        CompletedBulkDelete completedDelete = delete.completionFuture().get(5, TimeUnit.SECONDS);
+
+        assertThat(completedDelete.objectsDeleted()).isEqualTo(8);
+        assertThat(completedDelete.failedDeletes()).extracting(S3Error::key, S3Error::code)
+                                                   .containsExactlyInAnyOrder(tuple("2", "AccessDenied"),
+                                                                              tuple("3", "InternalError"));
+        assertThat(delete.objectsFailed()).isEqualTo(2);
+        assertThat(stubS3.objects.keySet()).containsExactlyInAnyOrder("2", "3");
+        assertThat(stubS3.deleteAttempts("1")).isEqualTo(3);
+        assertThat(stubS3.deleteAttempts("2")).isEqualTo(1);
+        assertThat(stubS3.deleteAttempts("3")).isEqualTo(BulkDeleteHelper.MAX_ATTEMPTS);
+        // Only the keys that failed are sent again
+        assertThat(stubS3.deleteRequests.stream().skip(1).map(r -> r.delete().objects().size()))
+            .allSatisfy(size -> assertThat(size).isLessThanOrEqualTo(2));
+    }
+
+    @Test
+    public void deleteObjects_requestThrottled_shouldRetryBatch() throws Exception {
+        addKeys("", 10);
+        stubS3.failingRequests.set(2);
+
+        CompletedBulkDelete completedDelete = helper.deleteObjects(keysRequest(Flowable.range(0, 10).map(i -> "" + i)))
+                                                    .completionFuture().get(5, TimeUnit.SECONDS);
+
+        assertThat(completedDelete.objectsDeleted()).isEqualTo(10);
+        assertThat(completedDelete.failedDeletes()).isEmpty();
+        assertThat(stubS3.objects.keySet()).isEmpty();
+        assertThat(stubS3.deleteRequests).hasSize(3);
+    }
+
+    @Test
+    public void deleteObjects_requestDenied_shouldReportEveryKeyOfBatch() throws Exception {
+        addKeys("", 10);
+        stubS3.failingRequests.set(1);
+        stubS3.failingStatusCode = 403;
+
+        BulkDelete delete = helper.deleteObjects(keysRequest(Flowable.range(0, 10).map(i -> "" + i)));
+        CompletedBulkDelete completedDelete = delete.completionFuture().get(5, TimeUnit.SECONDS);
+
+        assertThat(completedDelete.objectsDeleted()).isZero();
+        assertThat(completedDelete.failedDeletes()).hasSize(10)
+                                                   .allSatisfy(e -> assertThat(e.code()).isEqualTo("AccessDenied"));
+        assertThat(delete.objectsFailed()).isEqualTo(10);
+        assertThat(stubS3.deleteRequests).hasSize(1);
+    }
+
+    @Test
+    public void deleteObjects_keysFail_shouldFail() {
+        addKeys("", 10);
+
+        BulkDelete delete = helper.deleteObjects(keysRequest(Flowable.range(0, 10)
+                                                                     .map(i -> "" + i)
+                                                                     .concatWith(Flowable.error(new IllegalStateException("boom")))));
+
+        assertThatThrownBy(() -> delete.completionFuture().get(5, TimeUnit.SECONDS)).hasCauseInstanceOf(IllegalStateException.class);
+    }
+
+    @Test
+    public void deleteObjects_cancelled_shouldCancelKeysAndRequestsInFlight() {
+        AtomicBoolean keysCancelled = new AtomicBoolean();
+        stubS3.paused = true;
+
+        BulkDelete delete = helper.deleteObjects(keysRequest(Flowable.range(0, 100_000)
+                                                                     .map(i -> "" + i)
+                                                                     .doOnCancel(() -> keysCancelled.set(true))));
+        waitUntil(() -> !stubS3.heldResponses.isEmpty());
+        delete.completionFuture().cancel(true);
+
+        assertThat(keysCancelled).isTrue();
+        assertThat(stubS3.returnedResponses).isNotEmpty()
+                                            .allSatisfy(f -> assertThat(f).isCompletedExceptionally());
+        assertThatThrownBy(() -> delete.completionFuture().join()).isInstanceOf(CancellationException.class);
+    }
+
+    @Test
+    public void transferManager_deleteObjects_shouldDeletePrefix() throws Exception {
+        addKeys("a/", 1500);
+        S3TransferManager transferManager = S3TransferManager.builder().s3AsyncClient(stubS3).build();
+
+        CompletedBulkDelete completedDelete = transferManager.deleteObjects(d -> d.bucket("bucket").prefix("a/"))
+                                                             .completionFuture().get(5, TimeUnit.SECONDS);
+        transferManager.close();
+
+        assertThat(completedDelete.objectsDeleted()).isEqualTo(1500);
+        assertThat(stubS3.objects.keySet()).isEmpty();
+    }
+
+    private void addKeys(String prefix, int count) {
+        IntStream.range(0, count).forEach(i -> stubS3.putObject(prefix + i, new byte[1]));
+    }
+
+    private static BulkDeleteRequest keysRequest(Flowable<String> keys) {
+        return BulkDeleteRequest.builder().bucket("bucket").keys(keys).build();
+    }
+}
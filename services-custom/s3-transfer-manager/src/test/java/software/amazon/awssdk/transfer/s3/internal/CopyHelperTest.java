@@ -0,0 +1,258 @@
+/*
+ * Copyright Amazon.com, Inc. or its affiliates. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License").
+ * You may not use this file except in compliance with the License.
+ * A copy of the License is located at
+ *
+ *  http://aws.amazon.com/apache2.0
+ *
+ * or in the "license" file accompanying this file. This file is distributed
+ * on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either
+ * express or implied. See the License for the specific language governing
+ * permissions and limitations under the License.
+ */
+
+
+package software.amazon.awssdk.transfer.s3.internal;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.assertj.core.api.Assertions.entry;
+import static software.amazon.awssdk.transfer.s3.util.WaitUtils.waitUntil;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Consumer;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import software.amazon.awssdk.services.s3.model.CompletedPart;
+import software.amazon.awssdk.services.s3.model.CopyObjectRequest;
+import software.amazon.awssdk.services.s3.model.CreateMultipartUploadRequest;
+import software.amazon.awssdk.services.s3.model.HeadObjectRequest;
+import software.amazon.awssdk.services.s3.model.MetadataDirective;
+import software.amazon.awssdk.services.s3.model.S3Exception;
+import software.amazon.awssdk.services.s3.model.Tag;
+import software.amazon.awssdk.services.s3.model.TaggingDirective;
+import software.amazon.awssdk.services.s3.model.UploadPartCopyRequest;
+import software.amazon.awssdk.transfer.s3.CompletedCopy;
+import software.amazon.awssdk.transfer.s3.Copy;
+import software.amazon.awssdk.transfer.s3.CopyRequest;
+import software.amazon.awssdk.transfer.s3.S3TransferManager;
+import software.amazon.awssdk.transfer.s3.internal.StubS3AsyncClient.StoredObject;
+import software.amazon.awssdk.transfer.s3.progress.TransferListener;
+
+public class CopyHelperTest {
+    private static final long PART_SIZE = 10;
+    private static final String SOURCE_ETAG = "\"source\"";
+
+    private StubS3AsyncClient stubS3;
+    private CopyHelper helper;
+
+    @BeforeEach
+    public void methodSetup() {
+        stubS3 = new StubS3AsyncClient();
+        putSourceObject(95);
+        helper = new CopyHelper(stubS3, PART_SIZE);
+    }
+
+    @AfterEach
+    public void methodTeardown() {
+        stubS3.close();
+    }
+
+    @Test
+    public void copy_objectNoLargerThanPartSize_shouldUseCopyObject() throws Exception {
+        putSourceObject(PART_SIZE);
+
+        Copy copy = helper.copy(request(r -> { }));
+        CompletedCopy completedCopy = copy.completionFuture().get(5, TimeUnit.SECONDS);
+
+        assertThat(completedCopy.response().copyObjectResult().eTag()).isEqualTo("\"copy\"");
+        assertThat(stubS3.copyObjectCount.get()).isEqualTo(1);
+        assertThat(stubS3.createCount.get()).isZero();
+        assertThat(copy.progress().snapshot().bytesTransferred()).isEqualTo(PART_SIZE);
+        assertThat(copy.progress().snapshot().transferSizeInBytes()).hasValue(PART_SIZE);
+    }
+
+    @Test
+    public void copy_largeObject_shouldCopyRangesPinnedToSourceETagAndComplete() throws Exception {
+        AtomicLong bytesReported = new AtomicLong();
+        AtomicInteger completions = new AtomicInteger();
+        TransferListener listener = new TransferListener() {
+            @Override
+            public void bytesTransferred(Context.BytesTransferred context) {
+                bytesReported.set(context.progressSnapshot().bytesTransferred());
+            }
+
+            @Override
+            public void transferComplete(Context.TransferComplete context) {
+                completions.incrementAndGet();
+            }
+        };
+
+        Copy copy = helper.copy(CopyRequest.builder()
+                                           .copyObjectRequest(copyObjectRequest(r -> { }))
+                                           .overrideConfiguration(o -> o.addListener(listener))
+                                           .build());
+        CompletedCopy completedCopy = copy.completionFuture().get(5, TimeUnit.SECONDS);
+
+        assertThat(stubS3.copyObjectCount.get()).isZero();
+        assertThat(stubS3.uploadPartCopyRequests).hasSize(10);
+        assertThat(stubS3.uploadPartCopyRequests).allSatisfy(r -> {
+            assertThat(r.copySourceIfMatch()).isEqualTo(SOURCE_ETAG);
+            assertThat(r.sourceBucket()).isEqualTo("source-bucket");
+            assertThat(r.destinationKey()).isEqualTo("key");
+        });
+        assertThat(stubS3.uploadPartCopyRequests.stream().map(UploadPartCopyRequest::copySourceRange))
+            .contains("bytes=0-9", "bytes=80-89", "bytes=90-94");
+        assertThat(stubS3.maxPartsInFlight.get()).isLessThanOrEqualTo(MultipartFileUploadHelper.MAX_PARTS_IN_FLIGHT_PER_OBJECT);
+        assertThat(stubS3.completedParts).extracting(CompletedPart::partNumber).isSorted().hasSize(10);
+        assertThat(stubS3.completedParts).allSatisfy(p -> assertThat(p.eTag()).isEqualTo("\"" + p.partNumber() + "\""));
+
+        CreateMultipartUploadRequest createRequest = stubS3.createRequest;
+        assertThat(createRequest.bucket()).isEqualTo("bucket");
+        assertThat(createRequest.key()).isEqualTo("key");
+        assertThat(createRequest.contentType()).isEqualTo("source/type");
+        assertThat(createRequest.metadata()).containsOnly(entry("from", "source"));
+        assertThat(createRequest.tagging()).isEqualTo("a=b&c=d%20e");
+        assertThat(createRequest.storageClassAsString()).isEqualTo("STANDARD_IA");
+
+        assertThat(completedCopy.response().copyObjectResult().eTag()).isEqualTo("\"object\"");
+        assertThat(completedCopy.response().versionId()).isEqualTo("new-version");
+        assertThat(bytesReported.get()).isEqualTo(95);
+        assertThat(completions.get()).isEqualTo(1);
+    }
+
+    @Test
+    public void copy_replaceDirectives_shouldUseMetadataAndTagsOfRequest() throws Exception {
+        helper.copy(request(r -> r.metadataDirective(MetadataDirective.REPLACE)
+                                  .contentType("request/type")
+                                  .taggingDirective(TaggingDirective.REPLACE)
+                                  .tagging("x=y")))
+              .completionFuture().get(5, TimeUnit.SECONDS);
+
+        assertThat(stubS3.getObjectTaggingCount.get()).isZero();
+        assertThat(stubS3.createRequest.contentType()).isEqualTo("request/type");
+        assertThat(stubS3.createRequest.metadata()).isEmpty();
+        assertThat(stubS3.createRequest.tagging()).isEqualTo("x=y");
+    }
+
+    @Test
+    public void copy_partFails_shouldAbortMultipartUpload() {
+        stubS3.failingParts.add(3);
+
+        Copy copy = helper.copy(request(r -> { }));
+
+        assertThatThrownBy(() -> copy.completionFuture().get(5, TimeUnit.SECONDS)).hasCauseInstanceOf(S3Exception.class);
+        waitUntil(() -> stubS3.abortedUploads.contains(StubS3AsyncClient.UPLOAD_ID));
+        assertThat(stubS3.abortedUploads).hasSize(1);
+        assertThat(stubS3.completeCount.get()).isZero();
+    }
+
+    @Test
+    public void copy_cancelledWhileCreatingUpload_shouldAbortUploadOnceCreated() {
+        stubS3.createGate = new CompletableFuture<>();
+
+        Copy copy = helper.copy(request(r -> { }));
+        waitUntil(() -> stubS3.createCount.get() == 1);
+        copy.completionFuture().cancel(true);
+        stubS3.createGate.complete(null);
+
+        waitUntil(() -> stubS3.abortedUploads.contains(StubS3AsyncClient.UPLOAD_ID));
+        assertThat(stubS3.uploadPartCopyRequests).isEmpty();
+        assertThat(stubS3.completeCount.get()).isZero();
+    }
+
+    @Test
+    public void copy_sourceNotFound_shouldFailWithoutCreatingUpload() {
+        stubS3.objects.remove("source-key");
+
+        Copy copy = helper.copy(request(r -> { }));
+
+        assertThatThrownBy(() -> copy.completionFuture().get(5, TimeUnit.SECONDS)).hasCauseInstanceOf(S3Exception.class);
+        assertThat(stubS3.createCount.get()).isZero();
+    }
+
+    @Test
+    public void copy_copySourceInsteadOfSourceBucket_shouldFail() {
+        Copy copy = helper.copy(CopyRequest.builder()
+                                           .copyObjectRequest(c -> c.copySource("source-bucket/source-key")
+                                                                    .destinationBucket("bucket")
+                                                                    .destinationKey("key"))
+                                           .build());
+
+        assertThatThrownBy(() -> copy.completionFuture().join()).hasMessageContaining("sourceBucket");
+    }
+
+    @Test
+    public void toHeadObjectRequest_shouldTargetSourceWithPreconditions() {
+        HeadObjectRequest request = CopyHelper.toHeadObjectRequest(copyObjectRequest(r -> r.sourceVersionId("v1")
+                                                                                           .copySourceIfMatch("\"etag\"")
+                                                                                           .expectedSourceBucketOwner("123")
+                                                                                           .expectedBucketOwner("456")));
+
+        assertThat(request).isEqualTo(HeadObjectRequest.builder()
+                                                       .bucket("source-bucket")
+                                                       .key("source-key")
+                                                       .versionId("v1")
+                                                       .ifMatch("\"etag\"")
+                                                       .expectedBucketOwner("123")
+                                                       .build());
+    }
+
+    @Test
+    public void partSize_objectTooLargeForMinimumPartSize_shouldFitInMaxPartCount() {
+        long fiveTebibytes = 5L * 1024 * 1024 * 1024 * 1024;
+
+        long partSize = CopyHelper.partSize(8 * 1024 * 1024, fiveTebibytes);
+
+        assertThat((fiveTebibytes + partSize - 1) / partSize).isLessThanOrEqualTo(MultipartFileUploadHelper.MAX_PART_COUNT);
+        assertThat(CopyHelper.partSize(8 * 1024 * 1024, 1024)).isEqualTo(8 * 1024 * 1024);
+    }
+
+    @Test
+    public void transferManager_copy_shouldCopyInParts() throws Exception {
+        S3TransferManager transferManager =
+            S3TransferManager.builder()
+                             .s3AsyncClient(stubS3)
+                             .s3ClientConfiguration(b -> b.minimumPartSizeInBytes(PART_SIZE))
+                             .build();
+
+        transferManager.copy(request(r -> { })).completionFuture().get(5, TimeUnit.SECONDS);
+        transferManager.close();
+
+        assertThat(stubS3.uploadPartCopyRequests).hasSize(10);
+        assertThat(stubS3.completeCount.get()).isEqualTo(1);
+    }
+
+    private void putSourceObject(long size) {
+        stubS3.putObject("source-key", new StoredObject(new byte[(int) size],
+                                                        SOURCE_ETAG,
+                                                        "source/type",
+                                                        Collections.singletonMap("from", "source"),
+                                                        Arrays.asList(Tag.builder().key("a").value("b").build(),
+                                                                      Tag.builder().key("c").value("d e").build())));
+    }
+
+    private static CopyRequest request(Consumer<CopyObjectRequest.Builder> mutation) {
+        return CopyRequest.builder().copyObjectRequest(copyObjectRequest(mutation)).build();
+    }
+
+    private static CopyObjectRequest copyObjectRequest(Consumer<CopyObjectRequest.Builder> mutation) {
+        return CopyObjectRequest.builder()
+                                .sourceBucket("source-bucket")
+                                .sourceKey("source-key")
+                                .destinationBucket("bucket")
+                                .destinationKey("key")
+                                .contentType("ignored/type")
+                                .storageClass("STANDARD_IA")
+                                .applyMutation(mutation)
+                                .build();
+    }
+}
@@ -0,0 +1,101 @@
+/*
+ * Copyright Amazon.com, Inc. or its affiliates. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License").
+ * You may not use this file except in compliance with the License.
+ * A copy of the License is located at
+ *
+ *  http://aws.amazon.com/apache2.0
+ *
+ * or in the "license" file accompanying this file. This file is distributed
+ * on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either
+ * express or implied. See the License for the specific language governing
+ * permissions and limitations under the License.
+ */
+
+
+package software.amazon.awssdk.transfer.s3.internal;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import org.junit.jupiter.api.Test;
+import software.amazon.awssdk.transfer.s3.internal.progress.DefaultTransferProgress;
+import software.amazon.awssdk.transfer.s3.internal.progress.DefaultTransferProgressSnapshot;
+import software.amazon.awssdk.transfer.s3.progress.TransferProgressSnapshot;
+
+public class DefaultTransferProgressTest {
+    @Test
+    public void snapshot_shouldReflectInitialSnapshotAndAddedBytes() {
+        DefaultTransferProgress progress = new DefaultTransferProgress(DefaultTransferProgressSnapshot.builder()
+                                                                                                      .bytesTransferred(3)
+                                                                                                      .transferSizeInBytes(10L)
+                                                                                                      .build());
+        progress.addBytesTransferred(4);
+
+        TransferProgressSnapshot snapshot = progress.snapshot();
+        assertThat(snapshot.bytesTransferred()).isEqualTo(7);
+        assertThat(snapshot.transferSizeInBytes()).hasValue(10L);
+    }
+
+    @Test
+    public void bytesTransferred_shouldReplaceCount() {
+        DefaultTransferProgress progress = new DefaultTransferProgress(DefaultTransferProgressSnapshot.builder().build());
+        progress.addBytesTransferred(5);
+        progress.bytesTransferred(0);
+        progress.addBytesTransferred(2);
+
+        assertThat(progress.snapshot().bytesTransferred()).isEqualTo(2);
+    }
+
+    @Test
+    public void snapshot_bytesTransferredGreaterThanTransferSize_shouldReportTransferSize() {
+        DefaultTransferProgress progress = new DefaultTransferProgress(DefaultTransferProgressSnapshot.builder()
+                                                                                                      .transferSizeInBytes(4L)
+                                                                                                      .build());
+        progress.addBytesTransferred(6);
+
+        assertThat(progress.bytesTransferred()).isEqualTo(6);
+        assertThat(progress.snapshot().bytesTransferred()).isEqualTo(4);
+        assertThat(progress.snapshot().ratioTransferred()).hasValue(1.0);
+    }
+
+    @Test
+    public void snapshot_shouldNotChangeAfterItWasTaken() {
+        DefaultTransferProgress progress = new DefaultTransferProgress(DefaultTransferProgressSnapshot.builder().build());
+        progress.addBytesTransferred(1);
+        TransferProgressSnapshot snapshot = progress.snapshot();
+        progress.addBytesTransferred(1);
+
+        assertThat(snapshot.bytesTransferred()).isEqualTo(1);
+        assertThat(progress.snapshot().bytesTransferred()).isEqualTo(2);
+    }
+
+    @Test
+    public void addBytesTransferred_concurrently_shouldCountEveryChunk() {
+        int threads = 8;
+        int chunksPerThread = 100_000;
+        DefaultTransferProgress progress = new DefaultTransferProgress(DefaultTransferProgressSnapshot.builder().build());
+        ExecutorService executor = Executors.newFixedThreadPool(threads);
+        try {
+            List<CompletableFuture<Void>> futures = new ArrayList<>();
+            for (int i = 0; i < threads; i++) {
+                futures.add(CompletableFuture.runAsync(() -> {
+                    for (int j = 0; j < chunksPerThread; j++) {
+                        progress.addBytesTransferred(8);
+                        progress.snapshot();
+                    }
+                }, executor));
+            }
+            CompletableFuture.allOf(futures.toArray(new CompletableFuture[0])).join();
+        } finally {
+            executor.shutdownNow();
+        }
+
+        assertThat(progress.snapshot().bytesTransferred()).isEqualTo(8L * threads * chunksPerThread);
+    }
+}
@@ -0,0 +1,178 @@
+/*
+ * Copyright Amazon.com, Inc. or its affiliates. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License").
+ * You may not use this file except in compliance with the License.
+ * A copy of the License is located at
+ *
+ *  http://aws.amazon.com/apache2.0
+ *
+ * or in the "license" file accompanying this file. This file is distributed
+ * on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either
+ * express or implied. See the License for the specific language governing
+ * permissions and limitations under the License.
+ */
+
+
+package software.amazon.awssdk.transfer.s3.internal;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import com.google.common.jimfs.Jimfs;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.FileSystem;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.concurrent.TimeUnit;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import software.amazon.awssdk.services.s3.model.GetObjectRequest;
+import software.amazon.awssdk.services.s3.model.NoSuchKeyException;
+import software.amazon.awssdk.transfer.s3.CompletedDirectoryDownload;
+import software.amazon.awssdk.transfer.s3.DirectoryDownload;
+import software.amazon.awssdk.transfer.s3.DownloadDirectoryRequest;
+import software.amazon.awssdk.transfer.s3.FailedFileDownload;
+import software.amazon.awssdk.transfer.s3.progress.TransferProgressSnapshot;
+
+public class DownloadDirectoryHelperTest {
+    private static final int PAGE_SIZE = 7;
+
+    private FileSystem jimfs;
+    private Path destination;
+    private StubS3AsyncClient stubS3;
+
+    @BeforeEach
+    public void methodSetup() {
+        jimfs = Jimfs.newFileSystem();
+        destination = jimfs.getPath("destination");
+        stubS3 = new StubS3AsyncClient();
+        stubS3.listPageSize = PAGE_SIZE;
+    }
+
+    @AfterEach
+    public void methodTeardown() throws IOException {
+        stubS3.close();
+        jimfs.close();
+    }
+
+    @Test
+    public void downloadDirectory_withPrefix_shouldDownloadObjectsToRelativePaths() throws Exception {
+        putObject("prefix/1", "one");
+        putObject("prefix/nested/2", "two");
+        putObject("prefix/nested/", "");
+        putObject("other/3", "three");
+
+        CompletedDirectoryDownload completed = helper(100).downloadDirectory(request("prefix/"))
+                                                          .completionFuture()
+                                                          .get(5, TimeUnit.SECONDS);
+
+        assertThat(completed.failedTransfers()).isEmpty();
+        assertThat(read(destination.resolve("1"))).isEqualTo("one");
+        assertThat(read(destination.resolve("nested").resolve("2"))).isEqualTo("two");
+        assertThat(Files.exists(destination.resolve("3"))).isFalse();
+    }
+
+    @Test
+    public void downloadDirectory_manyObjects_shouldPipelineListingAndBoundConcurrency() throws Exception {
+        int objectCount = 500;
+        for (int i = 0; i < objectCount; i++) {
+            putObject(String.format("data/%04d", i), "content-" + i);
+        }
+
+        int maxConcurrentFileDownloads = 4;
+        DirectoryDownload directoryDownload = helper(100).downloadDirectory(
+            request("data/").toBuilder()
+                            .overrideConfiguration(o -> o.maxConcurrentFileDownloads(maxConcurrentFileDownloads))
+                            .build());
+        CompletedDirectoryDownload completed = directoryDownload.completionFuture().get(30, TimeUnit.SECONDS);
+
+        assertThat(completed.failedTransfers()).isEmpty();
+        assertThat(stubS3.maxGetsInFlight.get()).isLessThanOrEqualTo(maxConcurrentFileDownloads);
+        // Pages are only requested as downloads drain the queue, so listing never runs far ahead of the transfers.
+        assertThat(stubS3.maxObjectsListedAheadOfDownloads.get())
+            .isLessThanOrEqualTo(2 * maxConcurrentFileDownloads + PAGE_SIZE);
+        for (int i = 0; i < objectCount; i++) {
+            assertThat(read(destination.resolve(String.format("%04d", i)))).isEqualTo("content-" + i);
+        }
+
+        long totalBytes = stubS3.objects.keySet().stream().mapToLong(k -> stubS3.content(k).length).sum();
+        TransferProgressSnapshot snapshot = directoryDownload.progress().snapshot();
+        assertThat(snapshot.transferSizeInBytes()).hasValue(totalBytes);
+        assertThat(snapshot.bytesTransferred()).isEqualTo(totalBytes);
+    }
+
+    @Test
+    public void downloadDirectory_largeObject_shouldUseConditionalRangedGets() throws Exception {
+        StringBuilder content = new StringBuilder();
+        for (int i = 0; i < 95; i++) {
+            content.append((char) ('a' + i % 26));
+        }
+        putObject("large", content.toString());
+
+        CompletedDirectoryDownload completed = helper(10).downloadDirectory(request(null))
+                                                         .completionFuture()
+                                                         .get(5, TimeUnit.SECONDS);
+
+        assertThat(completed.failedTransfers()).isEmpty();
+        assertThat(read(destination.resolve("large"))).isEqualTo(content.toString());
+        assertThat(stubS3.getObjectRequests).extracting(GetObjectRequest::range)
+                                            .hasSize(10)
+                                            .contains("bytes=0-9", "bytes=90-94");
+        assertThat(stubS3.getObjectRequests).extracting(GetObjectRequest::ifMatch)
+                                            .containsOnly(StubS3AsyncClient.eTag("large"));
+    }
+
+    @Test
+    public void downloadDirectory_singleObjectFails_shouldReportFailedDownload() throws Exception {
+        putObject("1", "one");
+        putObject("2", "two");
+        stubS3.failingKeys.add("2");
+
+        CompletedDirectoryDownload completed = helper(100).downloadDirectory(request(null))
+                                                          .completionFuture()
+                                                          .get(5, TimeUnit.SECONDS);
+
+        assertThat(completed.failedTransfers()).hasSize(1);
+        FailedFileDownload failed = completed.failedTransfers().iterator().next();
+        assertThat(failed.exception()).isInstanceOf(NoSuchKeyException.class);
+        assertThat(failed.request().getObjectRequest().key()).isEqualTo("2");
+        assertThat(read(destination.resolve("1"))).isEqualTo("one");
+        assertThat(Files.exists(destination.resolve("2"))).isFalse();
+    }
+
+    @Test
+    public void downloadDirectory_keyOutsideDestination_shouldReportFailedDownload() throws Exception {
+        putObject("../escaped", "nope");
+
+        CompletedDirectoryDownload completed = helper(100).downloadDirectory(request(null))
+                                                          .completionFuture()
+                                                          .get(5, TimeUnit.SECONDS);
+
+        assertThat(completed.failedTransfers()).hasSize(1);
+        assertThat(completed.failedTransfers().iterator().next().exception())
+            .hasMessageContaining("outside of the destination directory");
+        assertThat(Files.exists(jimfs.getPath("escaped"))).isFalse();
+    }
+
+    private DownloadDirectoryHelper helper(long partSizeInBytes) {
+        return new DownloadDirectoryHelper(TransferManagerConfiguration.builder().build(), stubS3, partSizeInBytes);
+    }
+
+    private DownloadDirectoryRequest request(String prefix) {
+        return DownloadDirectoryRequest.builder()
+                                       .destinationDirectory(destination)
+                                       .bucket("bucket")
+                                       .prefix(prefix)
+                                       .build();
+    }
+
+    private void putObject(String key, String content) {
+        stubS3.putObject(key, content.getBytes(StandardCharsets.UTF_8));
+    }
+
+    private static String read(Path path) throws IOException {
+        return new String(Files.readAllBytes(path), StandardCharsets.UTF_8);
+    }
+}
@@ -0,0 +1,164 @@
+/*
+ * Copyright Amazon.com, Inc. or its affiliates. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License").
+ * You may not use this file except in compliance with the License.
+ * A copy of the License is located at
+ *
+ *  http://aws.amazon.com/apache2.0
+ *
+ * or in the "license" file accompanying this file. This file is distributed
+ * on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either
+ * express or implied. See the License for the specific language governing
+ * permissions and limitations under the License.
+ */
+
+
+package software.amazon.awssdk.transfer.s3.internal;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static software.amazon.awssdk.transfer.s3.util.WaitUtils.waitUntil;
+
+import com.google.common.jimfs.Jimfs;
+import java.io.IOException;
+import java.nio.file.FileSystem;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.Random;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.TimeUnit;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import software.amazon.awssdk.services.s3.model.GetObjectRequest;
+import software.amazon.awssdk.services.s3.model.HeadObjectRequest;
+import software.amazon.awssdk.services.s3.model.S3Exception;
+import software.amazon.awssdk.transfer.s3.DownloadFileRequest;
+import software.amazon.awssdk.transfer.s3.FileDownload;
+import software.amazon.awssdk.transfer.s3.ResumableFileDownload;
+
+public class FileDownloadHelperTest {
+    private FileSystem jimfs;
+    private Path destination;
+    private StubS3AsyncClient stubS3;
+    private FileDownloadHelper helper;
+
+    @BeforeEach
+    public void methodSetup() {
+        jimfs = Jimfs.newFileSystem();
+        destination = jimfs.getPath("destination");
+        stubS3 = new StubS3AsyncClient();
+        stubS3.putObject("key", randomBytes(100), "\"etag-1\"");
+        helper = new FileDownloadHelper(stubS3);
+    }
+
+    @AfterEach
+    public void methodTeardown() throws IOException {
+        stubS3.close();
+        jimfs.close();
+    }
+
+    @Test
+    public void pause_shouldKeepPartialFileAndRecordProgress() throws IOException {
+        stubS3.hangAfterBytes = 40;
+        FileDownload download = helper.downloadFile(request());
+        waitUntil(() -> Files.exists(destination) && size(destination) == 40);
+
+        ResumableFileDownload resumableFileDownload = download.pause();
+
+        assertThatThrownBy(() -> download.completionFuture().join()).isInstanceOf(CancellationException.class);
+        assertThatThrownBy(download::pause).isInstanceOf(IllegalStateException.class);
+        assertThat(resumableFileDownload.bytesTransferred()).isEqualTo(40);
+        assertThat(resumableFileDownload.objectETag()).hasValue("\"etag-1\"");
+        assertThat(resumableFileDownload.totalSizeInBytes()).hasValue(100L);
+        assertThat(resumableFileDownload.fileLastModified()).hasValue(Files.getLastModifiedTime(destination).toInstant());
+        assertThat(Files.readAllBytes(destination)).isEqualTo(Arrays.copyOf(stubS3.content("key"), 40));
+    }
+
+    @Test
+    public void resumeDownload_objectUnchanged_shouldRequestRemainingBytesOnly() throws Exception {
+        stubS3.hangAfterBytes = 40;
+        FileDownload download = helper.downloadFile(request());
+        waitUntil(() -> Files.exists(destination) && size(destination) == 40);
+        ResumableFileDownload resumableFileDownload = download.pause();
+        stubS3.hangAfterBytes = -1;
+        stubS3.getObjectRequests.clear();
+
+        FileDownload resumedDownload = helper.resumeDownload(resumableFileDownload);
+        resumedDownload.completionFuture().get(5, TimeUnit.SECONDS);
+
+        assertThat(stubS3.headObjectRequests).extracting(HeadObjectRequest::key).containsExactly("key");
+        assertThat(stubS3.getObjectRequests).hasSize(1);
+        GetObjectRequest rangedRequest = stubS3.getObjectRequests.peek();
+        assertThat(rangedRequest.range()).isEqualTo("bytes=40-");
+        assertThat(rangedRequest.ifMatch()).isEqualTo("\"etag-1\"");
+        assertThat(Files.readAllBytes(destination)).isEqualTo(stubS3.content("key"));
+        assertThat(resumedDownload.progress().snapshot().bytesTransferred()).isEqualTo(100);
+        assertThat(resumedDownload.progress().snapshot().transferSizeInBytes()).hasValue(100L);
+    }
+
+    @Test
+    public void resumeDownload_objectChanged_shouldDownloadAgainFromStart() throws Exception {
+        stubS3.hangAfterBytes = 40;
+        FileDownload download = helper.downloadFile(request());
+        waitUntil(() -> Files.exists(destination) && size(destination) == 40);
+        ResumableFileDownload resumableFileDownload = download.pause();
+        stubS3.hangAfterBytes = -1;
+        stubS3.getObjectRequests.clear();
+        stubS3.putObject("key", randomBytes(30), "\"etag-2\"");
+
+        helper.resumeDownload(resumableFileDownload).completionFuture().get(5, TimeUnit.SECONDS);
+
+        assertThat(stubS3.getObjectRequests).extracting(GetObjectRequest::range).containsExactly((String) null);
+        assertThat(Files.readAllBytes(destination)).isEqualTo(stubS3.content("key"));
+    }
+
+    @Test
+    public void resumeDownload_destinationModified_shouldDownloadAgainFromStart() throws Exception {
+        stubS3.hangAfterBytes = 40;
+        FileDownload download = helper.downloadFile(request());
+        waitUntil(() -> Files.exists(destination) && size(destination) == 40);
+        ResumableFileDownload resumableFileDownload = download.pause();
+        stubS3.hangAfterBytes = -1;
+        Files.write(destination, new byte[10]);
+
+        helper.resumeDownload(resumableFileDownload).completionFuture().get(5, TimeUnit.SECONDS);
+
+        assertThat(stubS3.headObjectRequests).isEmpty();
+        assertThat(Files.readAllBytes(destination)).isEqualTo(stubS3.content("key"));
+    }
+
+    @Test
+    public void downloadFile_streamFails_shouldDeleteFile() {
+        stubS3.hangAfterBytes = 40;
+        stubS3.failInsteadOfHanging = true;
+
+        FileDownload download = helper.downloadFile(request());
+
+        assertThatThrownBy(() -> download.completionFuture().get(5, TimeUnit.SECONDS)).hasCauseInstanceOf(S3Exception.class);
+        assertThat(Files.exists(destination)).isFalse();
+    }
+
+    private DownloadFileRequest request() {
+        return DownloadFileRequest.builder()
+                                  .destination(destination)
+                                  .getObjectRequest(g -> g.bucket("bucket").key("key"))
+                                  .build();
+    }
+
+    private static byte[] randomBytes(int length) {
+        byte[] bytes = new byte[length];
+        new Random(length).nextBytes(bytes);
+        return bytes;
+    }
+
+    private static long size(Path path) {
+        try {
+            return Files.size(path);
+        } catch (IOException e) {
+            return -1;
+        }
+    }
+}
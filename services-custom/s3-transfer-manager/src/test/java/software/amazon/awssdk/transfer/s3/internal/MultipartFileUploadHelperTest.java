@@ -0,0 +1,196 @@
+/*
+ * Copyright Amazon.com, Inc. or its affiliates. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License").
+ * You may not use this file except in compliance with the License.
+ * A copy of the License is located at
+ *
+ *  http://aws.amazon.com/apache2.0
+ *
+ * or in the "license" file accompanying this file. This file is distributed
+ * on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either
+ * express or implied. See the License for the specific language governing
+ * permissions and limitations under the License.
+ */
+
+
+package software.amazon.awssdk.transfer.s3.internal;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static software.amazon.awssdk.transfer.s3.util.WaitUtils.waitUntil;
+
+import com.google.common.jimfs.Jimfs;
+import java.io.IOException;
+import java.nio.file.FileSystem;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Instant;
+import java.util.Collections;
+import java.util.Random;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import software.amazon.awssdk.services.s3.model.CompletedPart;
+import software.amazon.awssdk.services.s3.model.CreateMultipartUploadRequest;
+import software.amazon.awssdk.services.s3.model.PutObjectRequest;
+import software.amazon.awssdk.services.s3.model.S3Exception;
+import software.amazon.awssdk.services.s3.model.UploadPartRequest;
+import software.amazon.awssdk.transfer.s3.CompletedFileUpload;
+import software.amazon.awssdk.transfer.s3.FileUpload;
+import software.amazon.awssdk.transfer.s3.ResumableFileUpload;
+import software.amazon.awssdk.transfer.s3.UploadFileRequest;
+
+public class MultipartFileUploadHelperTest {
+    private static final long PART_SIZE = 10;
+
+    private FileSystem jimfs;
+    private Path source;
+    private byte[] content;
+    private StubS3AsyncClient stubS3;
+    private MultipartFileUploadHelper helper;
+
+    @BeforeEach
+    public void methodSetup() throws IOException {
+        jimfs = Jimfs.newFileSystem();
+        source = jimfs.getPath("source");
+        content = new byte[95];
+        new Random(1).nextBytes(content);
+        Files.write(source, content);
+        stubS3 = new StubS3AsyncClient();
+        helper = new MultipartFileUploadHelper(stubS3, PART_SIZE);
+    }
+
+    @AfterEach
+    public void methodTeardown() throws IOException {
+        stubS3.close();
+        jimfs.close();
+    }
+
+    @Test
+    public void uploadFile_shouldUploadEachPartAndCompleteInOrder() throws Exception {
+        FileUpload upload = helper.uploadFile(request(), content.length, lastModified());
+
+        CompletedFileUpload completedUpload = upload.completionFuture().get(5, TimeUnit.SECONDS);
+
+        assertThat(completedUpload.response().eTag()).isEqualTo("\"object\"");
+        assertThat(stubS3.completedObject()).isEqualTo(content);
+        assertThat(stubS3.uploadedParts).hasSize(10);
+        assertThat(stubS3.maxPartsInFlight.get()).isLessThanOrEqualTo(MultipartFileUploadHelper.MAX_PARTS_IN_FLIGHT_PER_OBJECT);
+        assertThat(stubS3.createRequest.contentType()).isEqualTo("text/plain");
+        assertThat(stubS3.createRequest.metadata()).containsEntry("foo", "bar");
+        assertThat(upload.progress().snapshot().bytesTransferred()).isEqualTo(content.length);
+        assertThat(upload.progress().snapshot().transferSizeInBytes()).hasValue((long) content.length);
+    }
+
+    @Test
+    public void pause_shouldKeepMultipartUpload_andResumeShouldUploadOnlyMissingParts() throws Exception {
+        for (int partNumber = 5; partNumber <= 10; partNumber++) {
+            stubS3.blockedParts.add(partNumber);
+        }
+        FileUpload upload = helper.uploadFile(request(), content.length, lastModified());
+        waitUntil(() -> stubS3.uploadedParts.size() == 4 && stubS3.partsInFlight.get() == 6);
+
+        ResumableFileUpload resumableFileUpload = upload.pause();
+
+        assertThatThrownBy(() -> upload.completionFuture().join()).isInstanceOf(CancellationException.class);
+        assertThatThrownBy(upload::pause).isInstanceOf(IllegalStateException.class);
+        assertThat(resumableFileUpload.multipartUploadId()).hasValue(StubS3AsyncClient.UPLOAD_ID);
+        assertThat(resumableFileUpload.partSizeInBytes()).hasValue(PART_SIZE);
+        assertThat(resumableFileUpload.fileLength()).isEqualTo(content.length);
+        assertThat(resumableFileUpload.completedParts()).extracting(CompletedPart::partNumber).containsExactly(1, 2, 3, 4);
+        assertThat(resumableFileUpload.completedParts()).extracting(CompletedPart::eTag).containsExactly("\"1\"", "\"2\"",
+                                                                                                           "\"3\"", "\"4\"");
+        assertThat(stubS3.abortedUploads).isEmpty();
+
+        stubS3.blockedParts.clear();
+        stubS3.uploadPartRequests.clear();
+        FileUpload resumedUpload = helper.resumeUpload(resumableFileUpload, r -> {
+            throw new AssertionError("Should not start a new upload");
+        });
+        resumedUpload.completionFuture().get(5, TimeUnit.SECONDS);
+
+        assertThat(stubS3.uploadPartRequests).extracting(UploadPartRequest::partNumber)
+                                             .containsExactlyInAnyOrder(5, 6, 7, 8, 9, 10);
+        assertThat(stubS3.createCount.get()).isEqualTo(1);
+        assertThat(stubS3.completedObject()).isEqualTo(content);
+        assertThat(resumedUpload.progress().snapshot().bytesTransferred()).isEqualTo(content.length);
+    }
+
+    @Test
+    public void resumeUpload_sourceModified_shouldAbortMultipartUploadAndUploadAgain() throws Exception {
+        ResumableFileUpload resumableFileUpload =
+            ResumableFileUpload.builder()
+                               .uploadFileRequest(request())
+                               .fileLength((long) content.length)
+                               .fileLastModified(lastModified().minusSeconds(60))
+                               .multipartUploadId(StubS3AsyncClient.UPLOAD_ID)
+                               .partSizeInBytes(PART_SIZE)
+                               .completedParts(Collections.singletonList(CompletedPart.builder()
+                                                                                      .partNumber(1)
+                                                                                      .eTag("\"1\"")
+                                                                                      .build()))
+                               .build();
+        CompletableFuture<CompletedFileUpload> newUpload = new CompletableFuture<>();
+
+        FileUpload resumedUpload = helper.resumeUpload(resumableFileUpload,
+                                                       r -> new DefaultFileUpload(newUpload, null));
+
+        assertThat(resumedUpload.completionFuture()).isSameAs(newUpload);
+        waitUntil(() -> stubS3.abortedUploads.contains(StubS3AsyncClient.UPLOAD_ID));
+        assertThat(stubS3.uploadPartRequests).isEmpty();
+    }
+
+    @Test
+    public void uploadFile_partFails_shouldAbortMultipartUpload() {
+        stubS3.failingParts.add(3);
+        FileUpload upload = helper.uploadFile(request(), content.length, lastModified());
+
+        assertThatThrownBy(() -> upload.completionFuture().get(5, TimeUnit.SECONDS)).hasCauseInstanceOf(S3Exception.class);
+        waitUntil(() -> stubS3.abortedUploads.contains(StubS3AsyncClient.UPLOAD_ID));
+        assertThat(stubS3.completeCount.get()).isZero();
+    }
+
+    @Test
+    public void toCreateMultipartUploadRequest_shouldCopyObjectSettings() {
+        PutObjectRequest putObjectRequest = PutObjectRequest.builder()
+                                                            .bucket("bucket")
+                                                            .key("key")
+                                                            .contentLength(95L)
+                                                            .storageClass("STANDARD_IA")
+                                                            .ssekmsKeyId("kms")
+                                                            .tagging("a=b")
+                                                            .build();
+
+        CreateMultipartUploadRequest request = MultipartFileUploadHelper.toCreateMultipartUploadRequest(putObjectRequest);
+
+        assertThat(request).isEqualTo(CreateMultipartUploadRequest.builder()
+                                                                  .bucket("bucket")
+                                                                  .key("key")
+                                                                  .storageClass("STANDARD_IA")
+                                                                  .ssekmsKeyId("kms")
+                                                                  .tagging("a=b")
+                                                                  .build());
+    }
+
+    private UploadFileRequest request() {
+        return UploadFileRequest.builder()
+                                .source(source)
+                                .putObjectRequest(p -> p.bucket("bucket")
+                                                        .key("key")
+                                                        .contentType("text/plain")
+                                                        .metadata(Collections.singletonMap("foo", "bar")))
+                                .build();
+    }
+
+    private Instant lastModified() {
+        try {
+            return Files.getLastModifiedTime(source).toInstant();
+        } catch (IOException e) {
+            throw new RuntimeException(e);
+        }
+    }
+}
@@ -0,0 +1,197 @@
+/*
+ * Copyright Amazon.com, Inc. or its affiliates. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License").
+ * You may not use this file except in compliance with the License.
+ * A copy of the License is located at
+ *
+ *  http://aws.amazon.com/apache2.0
+ *
+ * or in the "license" file accompanying this file. This file is distributed
+ * on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either
+ * express or implied. See the License for the specific language governing
+ * permissions and limitations under the License.
+ */
+
+
+package software.amazon.awssdk.transfer.s3.internal;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static software.amazon.awssdk.transfer.s3.util.WaitUtils.waitUntil;
+
+import com.google.common.jimfs.Jimfs;
+import java.io.IOException;
+import java.nio.file.FileSystem;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.Random;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.TimeUnit;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import software.amazon.awssdk.services.s3.model.GetObjectRequest;
+import software.amazon.awssdk.services.s3.model.HeadObjectRequest;
+import software.amazon.awssdk.services.s3.model.S3Exception;
+import software.amazon.awssdk.transfer.s3.CompletedFileDownload;
+import software.amazon.awssdk.transfer.s3.DownloadFileRequest;
+import software.amazon.awssdk.transfer.s3.FileDownload;
+import software.amazon.awssdk.transfer.s3.ResumableFileDownload;
+import software.amazon.awssdk.transfer.s3.S3TransferManager;
+
+public class ParallelFileDownloadHelperTest {
+    private static final long PART_SIZE = 10;
+    private static final String ETAG = "\"etag-1\"";
+
+    private FileSystem jimfs;
+    private Path destination;
+    private StubS3AsyncClient stubS3;
+    private ParallelFileDownloadHelper helper;
+
+    @BeforeEach
+    public void methodSetup() {
+        jimfs = Jimfs.newFileSystem();
+        destination = jimfs.getPath("destination");
+        stubS3 = new StubS3AsyncClient();
+        stubS3.putObject("key", randomBytes(95), ETAG);
+        helper = new ParallelFileDownloadHelper(stubS3, PART_SIZE);
+    }
+
+    @AfterEach
+    public void methodTeardown() throws IOException {
+        stubS3.close();
+        jimfs.close();
+    }
+
+    @Test
+    public void downloadFile_shouldRequestEachPartPinnedToETag() throws Exception {
+        FileDownload download = helper.downloadFile(request());
+
+        CompletedFileDownload completedDownload = download.completionFuture().get(5, TimeUnit.SECONDS);
+
+        assertThat(Files.readAllBytes(destination)).isEqualTo(stubS3.content("key"));
+        assertThat(completedDownload.response().contentLength()).isEqualTo(95L);
+        assertThat(completedDownload.response().contentRange()).isNull();
+        assertThat(completedDownload.response().eTag()).isEqualTo(ETAG);
+        assertThat(stubS3.getObjectRequests).hasSize(10);
+        assertThat(stubS3.getObjectRequests).filteredOn(r -> r.range().equals("bytes=0-9"))
+                                            .extracting(GetObjectRequest::ifMatch)
+                                            .containsExactly((String) null);
+        assertThat(stubS3.getObjectRequests).filteredOn(r -> !r.range().equals("bytes=0-9"))
+                                            .extracting(GetObjectRequest::ifMatch)
+                                            .containsOnly(ETAG);
+        assertThat(stubS3.getObjectRequests).extracting(GetObjectRequest::range).contains("bytes=90-94");
+        assertThat(stubS3.maxGetsInFlight.get()).isLessThanOrEqualTo(DownloadDirectoryHelper.MAX_RANGES_IN_FLIGHT_PER_OBJECT);
+        assertThat(download.progress().snapshot().bytesTransferred()).isEqualTo(95);
+        assertThat(download.progress().snapshot().transferSizeInBytes()).hasValue(95L);
+    }
+
+    @Test
+    public void downloadFile_emptyObject_shouldFallBackToPlainGet() throws Exception {
+        stubS3.putObject("key", new byte[0], ETAG);
+
+        helper.downloadFile(request()).completionFuture().get(5, TimeUnit.SECONDS);
+
+        assertThat(stubS3.getObjectRequests).extracting(GetObjectRequest::range).containsExactly("bytes=0-9", null);
+        assertThat(Files.readAllBytes(destination)).isEmpty();
+    }
+
+    @Test
+    public void downloadFile_rangeRequested_shouldNotSplitIntoParts() throws Exception {
+        DownloadFileRequest request = DownloadFileRequest.builder()
+                                                         .destination(destination)
+                                                         .getObjectRequest(g -> g.bucket("bucket").key("key").range("bytes=5-34"))
+                                                         .build();
+
+        helper.downloadFile(request).completionFuture().get(5, TimeUnit.SECONDS);
+
+        assertThat(stubS3.getObjectRequests).extracting(GetObjectRequest::range).containsExactly("bytes=5-34");
+        assertThat(Files.readAllBytes(destination)).isEqualTo(Arrays.copyOfRange(stubS3.content("key"), 5, 35));
+    }
+
+    @Test
+    public void pause_shouldTruncateFileToContiguousParts_andResumeShouldRequestTheRest() throws Exception {
+        stubS3.blockedRangeStarts.add(40L);
+        FileDownload download = helper.downloadFile(request());
+        waitUntil(() -> stubS3.completedGets.get() == 9);
+
+        ResumableFileDownload resumableFileDownload = download.pause();
+
+        assertThatThrownBy(() -> download.completionFuture().join()).isInstanceOf(CancellationException.class);
+        assertThatThrownBy(download::pause).isInstanceOf(IllegalStateException.class);
+        assertThat(resumableFileDownload.bytesTransferred()).isEqualTo(40);
+        assertThat(resumableFileDownload.objectETag()).hasValue(ETAG);
+        assertThat(resumableFileDownload.totalSizeInBytes()).hasValue(95L);
+        assertThat(Files.readAllBytes(destination)).isEqualTo(Arrays.copyOf(stubS3.content("key"), 40));
+
+        stubS3.blockedRangeStarts.clear();
+        stubS3.getObjectRequests.clear();
+        FileDownload resumedDownload = helper.resumeDownload(resumableFileDownload);
+        resumedDownload.completionFuture().get(5, TimeUnit.SECONDS);
+
+        assertThat(stubS3.headObjectRequests).extracting(HeadObjectRequest::key).containsExactly("key");
+        assertThat(stubS3.getObjectRequests).extracting(GetObjectRequest::range)
+                                            .containsExactlyInAnyOrder("bytes=40-49", "bytes=50-59", "bytes=60-69",
+                                                                       "bytes=70-79", "bytes=80-89", "bytes=90-94");
+        assertThat(stubS3.getObjectRequests).extracting(GetObjectRequest::ifMatch).containsOnly(ETAG);
+        assertThat(Files.readAllBytes(destination)).isEqualTo(stubS3.content("key"));
+        assertThat(resumedDownload.progress().snapshot().bytesTransferred()).isEqualTo(95);
+    }
+
+    @Test
+    public void resumeDownload_objectChanged_shouldDownloadAgainFromStart() throws Exception {
+        stubS3.blockedRangeStarts.add(40L);
+        FileDownload download = helper.downloadFile(request());
+        waitUntil(() -> stubS3.completedGets.get() == 9);
+        ResumableFileDownload resumableFileDownload = download.pause();
+        stubS3.blockedRangeStarts.clear();
+        stubS3.putObject("key", randomBytes(42), "\"etag-2\"");
+
+        FileDownload resumedDownload = helper.resumeDownload(resumableFileDownload);
+        resumedDownload.completionFuture().get(5, TimeUnit.SECONDS);
+
+        assertThat(Files.readAllBytes(destination)).isEqualTo(stubS3.content("key"));
+        assertThat(resumedDownload.progress().snapshot().bytesTransferred()).isEqualTo(42);
+    }
+
+    @Test
+    public void downloadFile_partFails_shouldDeleteFile() {
+        stubS3.failingRangeStarts.add(50L);
+
+        FileDownload download = helper.downloadFile(request());
+
+        assertThatThrownBy(() -> download.completionFuture().get(5, TimeUnit.SECONDS)).hasCauseInstanceOf(S3Exception.class);
+        waitUntil(() -> !Files.exists(destination));
+    }
+
+    @Test
+    public void transferManager_withS3AsyncClient_shouldDownloadInPartsAndNotCloseClient() throws Exception {
+        S3TransferManager transferManager =
+            S3TransferManager.builder()
+                             .s3AsyncClient(stubS3)
+                             .s3ClientConfiguration(b -> b.minimumPartSizeInBytes(PART_SIZE))
+                             .build();
+
+        transferManager.downloadFile(request()).completionFuture().get(5, TimeUnit.SECONDS);
+        transferManager.close();
+
+        assertThat(stubS3.getObjectRequests).hasSize(10);
+        assertThat(Files.readAllBytes(destination)).isEqualTo(stubS3.content("key"));
+        assertThat(stubS3.closed).isFalse();
+    }
+
+    private DownloadFileRequest request() {
+        return DownloadFileRequest.builder()
+                                  .destination(destination)
+                                  .getObjectRequest(g -> g.bucket("bucket").key("key"))
+                                  .build();
+    }
+
+    private static byte[] randomBytes(int length) {
+        byte[] bytes = new byte[length];
+        new Random(length).nextBytes(bytes);
+        return bytes;
+    }
+}
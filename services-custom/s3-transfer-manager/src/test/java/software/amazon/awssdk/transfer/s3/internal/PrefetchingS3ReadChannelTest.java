@@ -0,0 +1,244 @@
+/*
+ * Copyright Amazon.com, Inc. or its affiliates. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License").
+ * You may not use this file except in compliance with the License.
+ * A copy of the License is located at
+ *
+ *  http://aws.amazon.com/apache2.0
+ *
+ * or in the "license" file accompanying this file. This file is distributed
+ * on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either
+ * express or implied. See the License for the specific language governing
+ * permissions and limitations under the License.
+ */
+
+
+package software.amazon.awssdk.transfer.s3.internal;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static software.amazon.awssdk.transfer.s3.util.WaitUtils.waitUntil;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.AsynchronousCloseException;
+import java.nio.channels.ClosedChannelException;
+import java.nio.channels.NonWritableChannelException;
+import java.nio.channels.SeekableByteChannel;
+import java.util.Arrays;
+import java.util.Random;
+import java.util.concurrent.CompletableFuture;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import software.amazon.awssdk.services.s3.model.GetObjectRequest;
+import software.amazon.awssdk.services.s3.model.S3Exception;
+import software.amazon.awssdk.transfer.s3.S3TransferManager;
+
+public class PrefetchingS3ReadChannelTest {
+    private static final int BLOCK_SIZE = 10;
+    private static final int MAX_BLOCKS_PER_REQUEST = 2;
+    private static final int MAX_READ_AHEAD_BLOCKS = 4;
+    private static final int MAX_CACHED_BLOCKS = 8;
+    private static final String ETAG = "\"etag-1\"";
+
+    private StubS3AsyncClient stubS3;
+
+    @BeforeEach
+    public void methodSetup() {
+        stubS3 = new StubS3AsyncClient();
+        stubS3.putObject("key", randomBytes(95), ETAG);
+    }
+
+    @AfterEach
+    public void methodTeardown() {
+        stubS3.close();
+    }
+
+    @Test
+    public void read_sequentially_shouldReadWholeObjectOnceAndReadAhead() throws Exception {
+        try (SeekableByteChannel channel = openChannel()) {
+            assertThat(readFully(channel, 4)).isEqualTo(stubS3.content("key"));
+            assertThat(channel.read(ByteBuffer.allocate(1))).isEqualTo(-1);
+            assertThat(channel.position()).isEqualTo(95);
+        }
+
+        assertThat(stubS3.headObjectRequests).hasSize(1);
+        assertThat(stubS3.getObjectRequests).extracting(GetObjectRequest::ifMatch).containsOnly(ETAG);
+        assertThat(stubS3.requestedBytes.get()).isEqualTo(95);
+        // Blocks after the first are fetched before the reads reach them, some of them together
+        assertThat(stubS3.getObjectRequests.size()).isLessThan(10);
+    }
+
+    @Test
+    public void read_footerThenColumn_shouldOnlyRequestBlocksThatAreRead() throws Exception {
+        try (SeekableByteChannel channel = openChannel()) {
+            assertThat(channel.size()).isEqualTo(95);
+            ByteBuffer footer = ByteBuffer.allocate(5);
+            channel.position(90).read(footer);
+            assertThat(footer.array()).isEqualTo(Arrays.copyOfRange(stubS3.content("key"), 90, 95));
+
+            ByteBuffer column = ByteBuffer.allocate(4);
+            channel.position(32).read(column);
+            assertThat(column.array()).isEqualTo(Arrays.copyOfRange(stubS3.content("key"), 32, 36));
+        }
+
+        assertThat(stubS3.getObjectRequests).extracting(GetObjectRequest::range).containsExactly("bytes=90-94", "bytes=30-39");
+    }
+
+    @Test
+    public void read_sequentialRunShorterThanHalfABlock_shouldNotReadAhead() throws Exception {
+        try (SeekableByteChannel channel = openChannel()) {
+            channel.position(20).read(ByteBuffer.allocate(2));
+            channel.read(ByteBuffer.allocate(2));
+            channel.read(ByteBuffer.allocate(2));
+            assertThat(stubS3.getObjectRequests).extracting(GetObjectRequest::range).containsExactly("bytes=20-29");
+
+            channel.read(ByteBuffer.allocate(2));
+            assertThat(stubS3.getObjectRequests).extracting(GetObjectRequest::range).containsExactly("bytes=20-29", "bytes=30-39");
+        }
+    }
+
+    @Test
+    public void read_nearPreviousRead_shouldBeServedFromCache() throws Exception {
+        try (SeekableByteChannel channel = openChannel()) {
+            channel.position(51).read(ByteBuffer.allocate(2));
+            channel.position(55).read(ByteBuffer.allocate(3));
+            ByteBuffer buffer = ByteBuffer.allocate(4);
+            channel.position(50).read(buffer);
+            assertThat(buffer.array()).isEqualTo(Arrays.copyOfRange(stubS3.content("key"), 50, 54));
+        }
+
+        assertThat(stubS3.getObjectRequests).extracting(GetObjectRequest::range).containsExactly("bytes=50-59");
+    }
+
+    @Test
+    public void read_spanningBlocks_shouldCoalesceAdjacentBlocksIntoParallelRequests() throws Exception {
+        stubS3.blockedRangeStarts.add(0L);
+        try (SeekableByteChannel channel = openChannel()) {
+            CompletableFuture<Integer> read = CompletableFuture.supplyAsync(() -> {
+                try {
+                    return channel.position(5).read(ByteBuffer.allocate(40));
+                } catch (IOException e) {
+                    throw new RuntimeException(e);
+                }
+            });
+
+            waitUntil(() -> stubS3.getObjectRequests.size() == 3);
+            assertThat(stubS3.getObjectRequests).extracting(GetObjectRequest::range)
+                                                .containsExactlyInAnyOrder("bytes=0-19", "bytes=20-39", "bytes=40-49");
+            assertThat(read).isNotDone();
+            channel.close();
+            assertThatThrownBy(read::join).hasRootCauseInstanceOf(AsynchronousCloseException.class);
+        }
+    }
+
+    @Test
+    public void read_moreBlocksThanCached_shouldEvictLeastRecentlyUsed() throws Exception {
+        stubS3.putObject("key", randomBytes(BLOCK_SIZE * (MAX_CACHED_BLOCKS + 2)), ETAG);
+        try (SeekableByteChannel channel = openChannel()) {
+            // Read backwards, so that no block is read ahead
+            for (int block = MAX_CACHED_BLOCKS; block >= 0; block--) {
+                channel.position(block * BLOCK_SIZE).read(ByteBuffer.allocate(1));
+            }
+            stubS3.getObjectRequests.clear();
+
+            channel.position(BLOCK_SIZE).read(ByteBuffer.allocate(1));
+            assertThat(stubS3.getObjectRequests).isEmpty();
+            channel.position(MAX_CACHED_BLOCKS * BLOCK_SIZE).read(ByteBuffer.allocate(1));
+            assertThat(stubS3.getObjectRequests).extracting(GetObjectRequest::range).containsExactly("bytes=80-89");
+        }
+    }
+
+    @Test
+    public void read_requestFails_shouldThrowAndFetchAgainOnNextRead() throws Exception {
+        stubS3.failingRangeStarts.add(20L);
+        try (SeekableByteChannel channel = openChannel()) {
+            assertThatThrownBy(() -> channel.position(25).read(ByteBuffer.allocate(1)))
+                .isInstanceOf(IOException.class)
+                .hasCauseInstanceOf(S3Exception.class);
+
+            stubS3.failingRangeStarts.clear();
+            ByteBuffer buffer = ByteBuffer.allocate(1);
+            assertThat(channel.position(25).read(buffer)).isEqualTo(1);
+            assertThat(buffer.get(0)).isEqualTo(stubS3.content("key")[25]);
+        }
+    }
+
+    @Test
+    public void read_objectChanged_shouldFail() throws Exception {
+        try (SeekableByteChannel channel = openChannel()) {
+            channel.read(ByteBuffer.allocate(1));
+            stubS3.putObject("key", stubS3.content("key"), "\"etag-2\"");
+
+            assertThatThrownBy(() -> channel.position(60).read(ByteBuffer.allocate(1)))
+                .isInstanceOf(IOException.class)
+                .satisfies(e -> assertThat(((S3Exception) e.getCause()).statusCode()).isEqualTo(412));
+        }
+    }
+
+    @Test
+    public void closedChannel_shouldThrow() throws Exception {
+        SeekableByteChannel channel = openChannel();
+        channel.close();
+
+        assertThat(channel.isOpen()).isFalse();
+        assertThatThrownBy(() -> channel.read(ByteBuffer.allocate(1))).isInstanceOf(ClosedChannelException.class);
+        assertThatThrownBy(channel::size).isInstanceOf(ClosedChannelException.class);
+    }
+
+    @Test
+    public void invalidUse_shouldThrow() {
+        assertThatThrownBy(() -> new PrefetchingS3ReadChannel(stubS3, GetObjectRequest.builder()
+                                                                                       .bucket("bucket")
+                                                                                       .key("key")
+                                                                                       .range("bytes=0-9")
+                                                                                       .build(),
+                                                                BLOCK_SIZE, MAX_BLOCKS_PER_REQUEST, MAX_READ_AHEAD_BLOCKS,
+                                                                MAX_CACHED_BLOCKS))
+            .isInstanceOf(IllegalArgumentException.class);
+
+        SeekableByteChannel channel = openChannel();
+        assertThatThrownBy(() -> channel.write(ByteBuffer.allocate(1))).isInstanceOf(NonWritableChannelException.class);
+        assertThatThrownBy(() -> channel.position(-1)).isInstanceOf(IllegalArgumentException.class);
+    }
+
+    @Test
+    public void transferManager_openReadChannel_shouldUsePartSizeAsBlockSize() throws Exception {
+        try (S3TransferManager tm = S3TransferManager.builder()
+                                                     .s3AsyncClient(stubS3)
+                                                     .s3ClientConfiguration(b -> b.minimumPartSizeInBytes((long) BLOCK_SIZE))
+                                                     .build();
+             SeekableByteChannel channel = tm.openReadChannel(r -> r.bucket("bucket").key("key"))) {
+            ByteBuffer buffer = ByteBuffer.allocate(3);
+            channel.position(41).read(buffer);
+            assertThat(buffer.array()).isEqualTo(Arrays.copyOfRange(stubS3.content("key"), 41, 44));
+        }
+
+        assertThat(stubS3.getObjectRequests).extracting(GetObjectRequest::range).containsExactly("bytes=40-49");
+    }
+
+    private PrefetchingS3ReadChannel openChannel() {
+        return new PrefetchingS3ReadChannel(stubS3, GetObjectRequest.builder().bucket("bucket").key("key").build(), BLOCK_SIZE,
+                                            MAX_BLOCKS_PER_REQUEST, MAX_READ_AHEAD_BLOCKS, MAX_CACHED_BLOCKS);
+    }
+
+    private static byte[] readFully(SeekableByteChannel channel, int bufferSize) throws IOException {
+        ByteArrayOutputStream content = new ByteArrayOutputStream();
+        ByteBuffer buffer = ByteBuffer.allocate(bufferSize);
+        while (channel.read(buffer) >= 0) {
+            buffer.flip();
+            content.write(buffer.array(), 0, buffer.limit());
+            buffer.clear();
+        }
+        return content.toByteArray();
+    }
+
+    private static byte[] randomBytes(int length) {
+        byte[] bytes = new byte[length];
+        new Random().nextBytes(bytes);
+        return bytes;
+    }
+}
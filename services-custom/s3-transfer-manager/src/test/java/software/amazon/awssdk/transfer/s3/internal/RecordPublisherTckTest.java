@@ -0,0 +1,55 @@
+/*
+ * Copyright Amazon.com, Inc. or its affiliates. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License").
+ * You may not use this file except in compliance with the License.
+ * A copy of the License is located at
+ *
+ *  http://aws.amazon.com/apache2.0
+ *
+ * or in the "license" file accompanying this file. This file is distributed
+ * on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either
+ * express or implied. See the License for the specific language governing
+ * permissions and limitations under the License.
+ */
+
+
+package software.amazon.awssdk.transfer.s3.internal;
+
+import io.reactivex.Flowable;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import org.reactivestreams.Publisher;
+import org.reactivestreams.tck.TestEnvironment;
+
+/**
+ * TCK verification test for {@link RecordPublisher}.
+ */
+public class RecordPublisherTckTest extends org.reactivestreams.tck.PublisherVerification<ByteBuffer> {
+
+    public RecordPublisherTckTest() {
+        super(new TestEnvironment());
+    }
+
+    @Override
+    public Publisher<ByteBuffer> createPublisher(long elements) {
+        // Each record straddles two payloads
+        Flowable<ByteBuffer> payloads = Flowable.rangeLong(0, elements)
+                                                .concatMap(i -> Flowable.just(buffer("r"), buffer("\n")));
+        return RecordPublisher.fromRecordsPayloads(payloads, (byte) '\n');
+    }
+
+    @Override
+    public long maxElementsFromPublisher() {
+        return 1024;
+    }
+
+    @Override
+    public Publisher<ByteBuffer> createFailedPublisher() {
+        return RecordPublisher.fromRecordsPayloads(Flowable.error(new RuntimeException("error")), (byte) '\n');
+    }
+
+    private static ByteBuffer buffer(String content) {
+        return ByteBuffer.wrap(content.getBytes(StandardCharsets.UTF_8));
+    }
+}
@@ -0,0 +1,346 @@
+/*
+ * Copyright Amazon.com, Inc. or its affiliates. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License").
+ * You may not use this file except in compliance with the License.
+ * A copy of the License is located at
+ *
+ *  http://aws.amazon.com/apache2.0
+ *
+ * or in the "license" file accompanying this file. This file is distributed
+ * on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either
+ * express or implied. See the License for the specific language governing
+ * permissions and limitations under the License.
+ */
+
+
+package software.amazon.awssdk.transfer.s3.internal;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import io.reactivex.Flowable;
+import java.io.ByteArrayOutputStream;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.zip.CRC32;
+import org.junit.jupiter.api.Test;
+import org.reactivestreams.Subscriber;
+import org.reactivestreams.Subscription;
+import software.amazon.awssdk.core.exception.SdkClientException;
+import software.amazon.awssdk.services.s3.model.CSVOutput;
+import software.amazon.awssdk.services.s3.model.OutputSerialization;
+import software.amazon.awssdk.services.s3.model.S3Exception;
+import software.amazon.awssdk.utils.BinaryUtils;
+
+public class RecordPublisherTest {
+    /**
+     * A {@code Records} event with the payload {@code "a,b\nc,d\ne"}, as encoded by the event stream library of the SDK.
+     */
+    private static final String ENCODED_RECORDS_EVENT =
+        "0000006e000000555821b33e0d3a6d6573736167652d747970650700056576656e740b3a6576656e742d747970650700075265636f7264730d3a"
+        + "636f6e74656e742d747970650700186170706c69636174696f6e2f6f637465742d73747265616d612c620a632c640a6542dd2d6a";
+
+    @Test
+    public void fromEventStream_referenceEncoding_shouldDecodeRecords() {
+        ByteBuffer body = concat(BinaryUtils.fromHex(ENCODED_RECORDS_EVENT), end());
+
+        assertThat(collect(RecordPublisher.fromEventStream(Flowable.just(ByteBuffer.wrap(body.array())), (byte) '\n')))
+            .containsExactly("a,b", "c,d", "e");
+    }
+
+    @Test
+    public void fromEventStream_recordsInOneBuffer_shouldBeReadOnlySlicesOfIt() throws Exception {
+        byte[] body = concat(records("one\ntwo\n"), end()).array();
+
+        List<ByteBuffer> records = Collections.synchronizedList(new ArrayList<>());
+        RecordPublisher.fromEventStream(Flowable.just(ByteBuffer.wrap(body)), (byte) '\n')
+                       .subscribe(records::add)
+                       .get(5, TimeUnit.SECONDS);
+        int recordStart = indexOf(body, "one".getBytes(StandardCharsets.UTF_8));
+        body[recordStart] = 'O';
+
+        assertThat(records).hasSize(2).allSatisfy(r -> assertThat(r.isReadOnly()).isTrue());
+        assertThat(StandardCharsets.UTF_8.decode(records.get(0)).toString()).isEqualTo("One");
+    }
+
+    @Test
+    public void fromEventStream_anySplitOfBody_shouldPublishSameRecords() {
+        List<String> expected = new ArrayList<>();
+        ByteArrayOutputStream body = new ByteArrayOutputStream();
+        StringBuilder payloads = new StringBuilder();
+        for (int i = 0; i < 200; i++) {
+            String record = "{\"id\":" + i + ",\"name\":\"" + repeat('x', i % 37) + "\"}";
+            expected.add(record);
+            payloads.append(record).append('\n');
+        }
+        // Cut the records into events of varying sizes, so that most records straddle events
+        Random random = new Random(42);
+        for (int start = 0; start < payloads.length(); ) {
+            int end = Math.min(payloads.length(), start + 1 + random.nextInt(60));
+            write(body, records(payloads.substring(start, end)));
+            write(body, event("Stats", "<Stats/>"));
+            write(body, event("Cont", ""));
+            start = end;
+        }
+        write(body, end());
+        byte[] bytes = body.toByteArray();
+
+        for (int chunkSize : Arrays.asList(1, 7, 64, 1000, bytes.length)) {
+            assertThat(collect(RecordPublisher.fromEventStream(chunks(bytes, chunkSize), (byte) '\n')))
+                .as("chunk size %s", chunkSize)
+                .isEqualTo(expected);
+        }
+    }
+
+    @Test
+    public void fromEventStream_lastRecordWithoutDelimiter_shouldBePublished() {
+        ByteBuffer body = concat(records("a,b\nc"), records(",d"), end());
+
+        assertThat(collect(RecordPublisher.fromEventStream(Flowable.just(body), (byte) '\n'))).containsExactly("a,b", "c,d");
+    }
+
+    @Test
+    public void fromEventStream_customDelimiter_shouldSplitOnIt() {
+        ByteBuffer body = concat(records("a\n1|b\n2|"), end());
+
+        assertThat(collect(RecordPublisher.fromEventStream(Flowable.just(body), (byte) '|'))).containsExactly("a\n1", "b\n2");
+    }
+
+    @Test
+    public void fromEventStream_noEndEvent_shouldFail() {
+        ByteBuffer body = records("a\nb\n");
+
+        assertThatThrownBy(() -> collect(RecordPublisher.fromEventStream(Flowable.just(body), (byte) '\n')))
+            .hasRootCauseInstanceOf(SdkClientException.class)
+            .hasMessageContaining("End event");
+    }
+
+    @Test
+    public void fromEventStream_errorMessage_shouldFailAfterPrecedingRecords() {
+        Map<String, String> headers = new LinkedHashMap<>();
+        headers.put(":message-type", "error");
+        headers.put(":error-code", "CSVParsingError");
+        headers.put(":error-message", "Bad CSV");
+        ByteBuffer body = concat(records("a\nb\n"), message(headers, new byte[0]));
+        List<String> received = Collections.synchronizedList(new ArrayList<>());
+
+        assertThatThrownBy(() -> RecordPublisher.fromEventStream(Flowable.just(body), (byte) '\n')
+                                                .subscribe(r -> received.add(StandardCharsets.UTF_8.decode(r).toString()))
+                                                .get(5, TimeUnit.SECONDS))
+            .hasCauseInstanceOf(S3Exception.class)
+            .satisfies(e -> assertThat(((S3Exception) e.getCause()).awsErrorDetails().errorCode()).isEqualTo("CSVParsingError"));
+        assertThat(received).containsExactly("a", "b");
+    }
+
+    @Test
+    public void upstreamFailure_shouldFailAfterRecordsOfPrecedingBuffers() {
+        IllegalStateException failure = new IllegalStateException("Connection reset");
+        Flowable<ByteBuffer> body = Flowable.concat(Flowable.just(records("a\nb\nc")), Flowable.error(failure));
+        List<String> received = Collections.synchronizedList(new ArrayList<>());
+
+        assertThatThrownBy(() -> RecordPublisher.fromEventStream(body, (byte) '\n')
+                                                .subscribe(r -> received.add(StandardCharsets.UTF_8.decode(r).toString()))
+                                                .get(5, TimeUnit.SECONDS))
+            .hasCause(failure);
+        assertThat(received).containsExactly("a", "b");
+    }
+
+    @Test
+    public void fromEventStream_corruptedPayload_shouldFailWithoutPublishingMessageRecords() {
+        ByteBuffer body = concat(records("a\nb\n"), end());
+        body.put(body.limit() - end().remaining() - 6, (byte) 'X');
+
+        assertThatThrownBy(() -> collect(RecordPublisher.fromEventStream(Flowable.just(body), (byte) '\n')))
+            .hasRootCauseInstanceOf(SdkClientException.class)
+            .hasMessageContaining("CRC");
+    }
+
+    @Test
+    public void fromRecordsPayloads_shouldJoinRecordsThatStraddlePayloads() {
+        Flowable<ByteBuffer> payloads = Flowable.just("a,b\nc", ",d\n", "e,", "f")
+                                                .map(s -> ByteBuffer.wrap(s.getBytes(StandardCharsets.UTF_8)));
+
+        assertThat(collect(RecordPublisher.fromRecordsPayloads(payloads, (byte) '\n'))).containsExactly("a,b", "c,d", "e,f");
+    }
+
+    @Test
+    public void fromRecordsPayloads_quotedCsvFields_shouldNotBeSplitOnDelimiters() {
+        Flowable<ByteBuffer> payloads = Flowable.just("a,\"b\nc\"\n\"d\"\"\n", "e\",f\n\"g", "\nh\"\n")
+                                                .map(s -> ByteBuffer.wrap(s.getBytes(StandardCharsets.UTF_8)));
+        OutputSerialization csv = OutputSerialization.builder().csv(CSVOutput.builder().build()).build();
+
+        assertThat(collect(RecordPublisher.fromRecordsPayloads(payloads, csv)))
+            .containsExactly("a,\"b\nc\"", "\"d\"\"\ne\",f", "\"g\nh\"");
+    }
+
+    @Test
+    public void fromRecordsPayloads_csvQuoteEscapeCharacter_shouldEscapeQuotesAcrossPayloads() {
+        Flowable<ByteBuffer> payloads = Flowable.just("'a\\", "'|b'|c")
+                                                .map(s -> ByteBuffer.wrap(s.getBytes(StandardCharsets.UTF_8)));
+        OutputSerialization csv = OutputSerialization.builder()
+                                                     .csv(c -> c.recordDelimiter("|")
+                                                                .quoteCharacter("'")
+                                                                .quoteEscapeCharacter("\\"))
+                                                     .build();
+
+        assertThat(collect(RecordPublisher.fromRecordsPayloads(payloads, csv))).containsExactly("'a\\'|b'", "c");
+    }
+
+    @Test
+    public void fromRecordsPayloads_jsonOutput_shouldSplitOnRecordDelimiter() {
+        Flowable<ByteBuffer> payloads = Flowable.just("{\"a\":\"\\\"\"}\n{\"b\":1}")
+                                                .map(s -> ByteBuffer.wrap(s.getBytes(StandardCharsets.UTF_8)));
+        OutputSerialization json = OutputSerialization.builder().json(j -> j.recordDelimiter("\n")).build();
+
+        assertThat(collect(RecordPublisher.fromRecordsPayloads(payloads, json)))
+            .containsExactly("{\"a\":\"\\\"\"}", "{\"b\":1}");
+    }
+
+    @Test
+    public void fromRecordsPayloads_multiCharacterDelimiter_shouldFail() {
+        OutputSerialization csv = OutputSerialization.builder().csv(c -> c.recordDelimiter("\r\n")).build();
+
+        assertThatThrownBy(() -> RecordPublisher.fromRecordsPayloads(Flowable.empty(), csv))
+            .isInstanceOf(IllegalArgumentException.class)
+            .hasMessageContaining("record delimiter");
+    }
+
+    @Test
+    public void subscriber_requestingOneRecord_shouldOnlyRequestBuffersAsNeeded() {
+        AtomicLong buffersRequested = new AtomicLong();
+        Flowable<ByteBuffer> payloads = Flowable.range(0, 1000)
+                                                .map(i -> ByteBuffer.wrap("x\ny\n".getBytes(StandardCharsets.UTF_8)))
+                                                .doOnRequest(buffersRequested::addAndGet);
+        List<ByteBuffer> received = new ArrayList<>();
+        Subscription[] subscription = new Subscription[1];
+
+        RecordPublisher.fromRecordsPayloads(payloads, (byte) '\n').subscribe(new Subscriber<ByteBuffer>() {
+            @Override
+            public void onSubscribe(Subscription s) {
+                subscription[0] = s;
+            }
+
+            @Override
+            public void onNext(ByteBuffer record) {
+                received.add(record);
+            }
+
+            @Override
+            public void onError(Throwable t) {
+            }
+
+            @Override
+            public void onComplete() {
+            }
+        });
+        subscription[0].request(1);
+        assertThat(received).hasSize(1);
+        assertThat(buffersRequested.get()).isEqualTo(1);
+
+        subscription[0].request(2);
+        assertThat(received).hasSize(3);
+        assertThat(buffersRequested.get()).isEqualTo(2);
+    }
+
+    static ByteBuffer records(String payload) {
+        Map<String, String> headers = new LinkedHashMap<>();
+        headers.put(":message-type", "event");
+        headers.put(":event-type", "Records");
+        headers.put(":content-type", "application/octet-stream");
+        return message(headers, payload.getBytes(StandardCharsets.UTF_8));
+    }
+
+    static ByteBuffer end() {
+        return event("End", "");
+    }
+
+    private static ByteBuffer event(String eventType, String payload) {
+        Map<String, String> headers = new LinkedHashMap<>();
+        headers.put(":message-type", "event");
+        headers.put(":event-type", eventType);
+        return message(headers, payload.getBytes(StandardCharsets.UTF_8));
+    }
+
+    /**
+     * Encode a message with string headers in the {@code application/vnd.amazon.eventstream} format.
+     */
+    static ByteBuffer message(Map<String, String> headers, byte[] payload) {
+        ByteArrayOutputStream encodedHeaders = new ByteArrayOutputStream();
+        headers.forEach((name, value) -> {
+            byte[] nameBytes = name.getBytes(StandardCharsets.UTF_8);
+            byte[] valueBytes = value.getBytes(StandardCharsets.UTF_8);
+            encodedHeaders.write(nameBytes.length);
+            write(encodedHeaders, ByteBuffer.wrap(nameBytes));
+            encodedHeaders.write(7);
+            encodedHeaders.write(valueBytes.length >> 8);
+            encodedHeaders.write(valueBytes.length);
+            write(encodedHeaders, ByteBuffer.wrap(valueBytes));
+        });
+        int totalLength = 16 + encodedHeaders.size() + payload.length;
+        ByteBuffer message = ByteBuffer.allocate(totalLength);
+        message.putInt(totalLength).putInt(encodedHeaders.size());
+        message.putInt(crc(message.array(), 8));
+        message.put(encodedHeaders.toByteArray()).put(payload);
+        message.putInt(crc(message.array(), totalLength - 4));
+        message.flip();
+        return message;
+    }
+
+    static ByteBuffer concat(Object... parts) {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        for (Object part : parts) {
+            write(out, part instanceof byte[] ? ByteBuffer.wrap((byte[]) part) : (ByteBuffer) part);
+        }
+        return ByteBuffer.wrap(out.toByteArray());
+    }
+
+    private static Flowable<ByteBuffer> chunks(byte[] bytes, int chunkSize) {
+        return Flowable.range(0, (bytes.length + chunkSize - 1) / chunkSize)
+                       .map(i -> ByteBuffer.wrap(Arrays.copyOfRange(bytes, i * chunkSize,
+                                                                    Math.min(bytes.length, (i + 1) * chunkSize))));
+    }
+
+    private static List<String> collect(RecordPublisher publisher) {
+        List<String> records = new ArrayList<>();
+        publisher.subscribe(r -> records.add(StandardCharsets.UTF_8.decode(r).toString())).join();
+        return records;
+    }
+
+    private static int crc(byte[] bytes, int length) {
+        CRC32 crc = new CRC32();
+        crc.update(bytes, 0, length);
+        return (int) crc.getValue();
+    }
+
+    private static void write(ByteArrayOutputStream out, ByteBuffer buffer) {
+        ByteBuffer copy = buffer.duplicate();
+        byte[] bytes = new byte[copy.remaining()];
+        copy.get(bytes);
+        out.write(bytes, 0, bytes.length);
+    }
+
+    private static int indexOf(byte[] bytes, byte[] target) {
+        for (int i = 0; i + target.length <= bytes.length; i++) {
+            if (Arrays.equals(Arrays.copyOfRange(bytes, i, i + target.length), target)) {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    private static String repeat(char c, int times) {
+        char[] chars = new char[times];
+        Arrays.fill(chars, c);
+        return new String(chars);
+    }
+}
@@ -19,9 +19,14 @@ import static org.assertj.core.api.Assertions.assertThat;
 import static org.assertj.core.api.Assertions.assertThatThrownBy;
 import static org.mockito.Matchers.any;
 import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.nio.file.Files;
+import java.nio.file.Path;
 import java.nio.file.Paths;
 import java.util.concurrent.CompletableFuture;
 import org.junit.jupiter.api.AfterEach;
@@ -30,6 +35,7 @@ import org.junit.jupiter.api.Test;
 import software.amazon.awssdk.core.ResponseBytes;
 import software.amazon.awssdk.core.async.AsyncRequestBody;
 import software.amazon.awssdk.core.async.AsyncResponseTransformer;
+import software.amazon.awssdk.services.s3.model.CreateMultipartUploadRequest;
 import software.amazon.awssdk.services.s3.model.GetObjectRequest;
 import software.amazon.awssdk.services.s3.model.GetObjectResponse;
 import software.amazon.awssdk.services.s3.model.PutObjectRequest;
@@ -83,6 +89,45 @@ public class S3TransferManagerTest {
         assertThat(completedFileUpload.response()).isEqualTo(response);
     }
 
+    @Test
+    public void uploadFile_largeFile_isUploadedByCrtClient() throws IOException {
+        when(mockS3Crt.putObject(any(PutObjectRequest.class), any(AsyncRequestBody.class)))
+            .thenReturn(CompletableFuture.completedFuture(PutObjectResponse.builder().build()));
+
+        Path largeFile = createLargeFile();
+        try {
+            tm.uploadFile(u -> u.putObjectRequest(p -> p.bucket("bucket").key("key"))
+                                .source(largeFile))
+              .completionFuture()
+              .join();
+        } finally {
+            Files.delete(largeFile);
+        }
+
+        verify(mockS3Crt).putObject(any(PutObjectRequest.class), any(AsyncRequestBody.class));
+        verify(mockS3Crt, never()).createMultipartUpload(any(CreateMultipartUploadRequest.class));
+    }
+
+    @Test
+    public void uploadFile_largeFile_pausable_isUploadedInParts() throws IOException {
+        when(mockS3Crt.createMultipartUpload(any(CreateMultipartUploadRequest.class)))
+            .thenReturn(new CompletableFuture<>());
+
+        Path largeFile = createLargeFile();
+        try {
+            tm.uploadFile(u -> u.putObjectRequest(p -> p.bucket("bucket").key("key"))
+                                .source(largeFile)
+                                .pausable(true))
+              .completionFuture()
+              .cancel(true);
+        } finally {
+            Files.delete(largeFile);
+        }
+
+        verify(mockS3Crt).createMultipartUpload(any(CreateMultipartUploadRequest.class));
+        verify(mockS3Crt, never()).putObject(any(PutObjectRequest.class), any(AsyncRequestBody.class));
+    }
+
     @Test
     public void upload_returnsResponse() {
         PutObjectResponse response = PutObjectResponse.builder().build();
@@ -267,6 +312,14 @@ public class S3TransferManagerTest {
                                                                                   .hasMessageContaining("must not be null");
     }
 
+    private static Path createLargeFile() throws IOException {
+        Path file = Files.createTempFile(S3TransferManagerTest.class.getSimpleName(), ".tmp");
+        try (RandomAccessFile randomAccessFile = new RandomAccessFile(file.toFile(), "rw")) {
+            randomAccessFile.setLength(DownloadDirectoryHelper.DEFAULT_PART_SIZE_IN_BYTES + 1);
+        }
+        return file;
+    }
+
     @Test
     public void download_requestNull_shouldThrowException() {
         DownloadFileRequest request = null;
@@ -0,0 +1,182 @@
+/*
+ * Copyright Amazon.com, Inc. or its affiliates. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License").
+ * You may not use this file except in compliance with the License.
+ * A copy of the License is located at
+ *
+ *  http://aws.amazon.com/apache2.0
+ *
+ * or in the "license" file accompanying this file. This file is distributed
+ * on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either
+ * express or implied. See the License for the specific language governing
+ * permissions and limitations under the License.
+ */
+
+
+package software.amazon.awssdk.transfer.s3.internal;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static software.amazon.awssdk.transfer.s3.util.WaitUtils.waitUntil;
+
+import io.reactivex.Flowable;
+import java.nio.ByteBuffer;
+import java.util.Arrays;
+import java.util.Random;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import software.amazon.awssdk.core.async.AsyncRequestBody;
+import software.amazon.awssdk.services.s3.model.S3Exception;
+import software.amazon.awssdk.services.s3.model.UploadPartRequest;
+import software.amazon.awssdk.transfer.s3.CompletedUpload;
+import software.amazon.awssdk.transfer.s3.S3TransferManager;
+import software.amazon.awssdk.transfer.s3.Upload;
+import software.amazon.awssdk.transfer.s3.UploadRequest;
+
+public class StreamingMultipartUploadHelperTest {
+    private static final long PART_SIZE = 10;
+    private static final int CHUNK_SIZE = 7;
+
+    private StubS3AsyncClient stubS3;
+    private StreamingMultipartUploadHelper helper;
+
+    @BeforeEach
+    public void methodSetup() {
+        stubS3 = new StubS3AsyncClient();
+        helper = new StreamingMultipartUploadHelper(stubS3, PART_SIZE);
+    }
+
+    @AfterEach
+    public void methodTeardown() {
+        stubS3.close();
+    }
+
+    @Test
+    public void upload_unknownContentLength_shouldUploadPartsOfPartSizeAndComplete() throws Exception {
+        byte[] content = randomBytes(95);
+
+        Upload upload = helper.upload(request(unknownLengthBody(content, null)));
+        CompletedUpload completedUpload = upload.completionFuture().get(5, TimeUnit.SECONDS);
+
+        assertThat(completedUpload.response().eTag()).isEqualTo("\"object\"");
+        assertThat(stubS3.completedObject()).isEqualTo(content);
+        assertThat(stubS3.uploadPartRequests).extracting(UploadPartRequest::contentLength)
+                                             .containsOnly(PART_SIZE, 5L)
+                                             .hasSize(10);
+        assertThat(stubS3.createRequest.contentType()).isEqualTo("text/plain");
+        assertThat(stubS3.putObjectRequests).isEmpty();
+        assertThat(upload.progress().snapshot().bytesTransferred()).isEqualTo(content.length);
+        assertThat(upload.progress().snapshot().transferSizeInBytes()).hasValue((long) content.length);
+    }
+
+    @Test
+    public void upload_allBuffersInUse_shouldStopRequestingContent() throws Exception {
+        byte[] content = randomBytes(200);
+        AtomicLong bytesPublished = new AtomicLong();
+        stubS3.partGate = new CompletableFuture<>();
+
+        Upload upload = helper.upload(request(unknownLengthBody(content, bytesPublished)));
+        waitUntil(() -> stubS3.uploadPartRequests.size() == MultipartFileUploadHelper.MAX_PARTS_IN_FLIGHT_PER_OBJECT);
+        Thread.sleep(100);
+
+        // The full buffers, plus the chunk that is waiting for a buffer
+        long maxBuffered = MultipartFileUploadHelper.MAX_PARTS_IN_FLIGHT_PER_OBJECT * PART_SIZE + CHUNK_SIZE;
+        assertThat(bytesPublished.get()).isLessThanOrEqualTo(maxBuffered);
+        assertThat(stubS3.uploadPartRequests).hasSize(MultipartFileUploadHelper.MAX_PARTS_IN_FLIGHT_PER_OBJECT);
+
+        stubS3.partGate.complete(null);
+        upload.completionFuture().get(5, TimeUnit.SECONDS);
+
+        assertThat(stubS3.completedObject()).isEqualTo(content);
+        assertThat(stubS3.maxPartsInFlight.get()).isLessThanOrEqualTo(MultipartFileUploadHelper.MAX_PARTS_IN_FLIGHT_PER_OBJECT);
+    }
+
+    @Test
+    public void upload_contentSmallerThanPartSize_shouldUsePutObject() throws Exception {
+        byte[] content = randomBytes(7);
+
+        helper.upload(request(unknownLengthBody(content, null))).completionFuture().get(5, TimeUnit.SECONDS);
+
+        assertThat(stubS3.createCount.get()).isZero();
+        assertThat(stubS3.putObjectRequests).hasSize(1);
+        assertThat(stubS3.putObjectRequests.peek().contentLength()).isEqualTo(7L);
+        assertThat(stubS3.content("key")).isEqualTo(content);
+    }
+
+    @Test
+    public void upload_emptyContent_shouldPutEmptyObject() throws Exception {
+        helper.upload(request(unknownLengthBody(new byte[0], null))).completionFuture().get(5, TimeUnit.SECONDS);
+
+        assertThat(stubS3.createCount.get()).isZero();
+        assertThat(stubS3.putObjectRequests.peek().contentLength()).isZero();
+        assertThat(stubS3.content("key")).isEmpty();
+    }
+
+    @Test
+    public void upload_partFails_shouldAbortMultipartUploadAndCancelBody() {
+        AtomicBoolean cancelled = new AtomicBoolean();
+        stubS3.failingParts.add(3);
+        AsyncRequestBody body = AsyncRequestBody.fromPublisher(
+            Flowable.fromArray(chunks(randomBytes(500))).doOnCancel(() -> cancelled.set(true)));
+
+        Upload upload = helper.upload(request(body));
+
+        assertThatThrownBy(() -> upload.completionFuture().get(5, TimeUnit.SECONDS)).hasCauseInstanceOf(S3Exception.class);
+        waitUntil(() -> stubS3.abortedUploads.contains(StubS3AsyncClient.UPLOAD_ID));
+        assertThat(cancelled).isTrue();
+        assertThat(stubS3.completeCount.get()).isZero();
+    }
+
+    @Test
+    public void transferManager_unknownContentLength_shouldUploadInParts() throws Exception {
+        byte[] content = randomBytes(95);
+        S3TransferManager transferManager =
+            S3TransferManager.builder()
+                             .s3AsyncClient(stubS3)
+                             .s3ClientConfiguration(b -> b.minimumPartSizeInBytes(PART_SIZE))
+                             .build();
+
+        transferManager.upload(request(unknownLengthBody(content, null))).completionFuture().get(5, TimeUnit.SECONDS);
+        transferManager.close();
+
+        assertThat(stubS3.uploadPartRequests).hasSize(10);
+        assertThat(stubS3.completedObject()).isEqualTo(content);
+    }
+
+    private static UploadRequest request(AsyncRequestBody body) {
+        return UploadRequest.builder()
+                            .requestBody(body)
+                            .putObjectRequest(p -> p.bucket("bucket").key("key").contentType("text/plain"))
+                            .build();
+    }
+
+    private static AsyncRequestBody unknownLengthBody(byte[] content, AtomicLong bytesPublished) {
+        Flowable<ByteBuffer> chunks = Flowable.fromArray(chunks(content));
+        if (bytesPublished != null) {
+            chunks = chunks.doOnNext(b -> bytesPublished.addAndGet(b.remaining()));
+        }
+        return AsyncRequestBody.fromPublisher(chunks);
+    }
+
+    private static ByteBuffer[] chunks(byte[] content) {
+        int chunkCount = (content.length + CHUNK_SIZE - 1) / CHUNK_SIZE;
+        ByteBuffer[] chunks = new ByteBuffer[chunkCount];
+        for (int i = 0; i < chunkCount; i++) {
+            chunks[i] = ByteBuffer.wrap(Arrays.copyOfRange(content, i * CHUNK_SIZE,
+                                                           Math.min(content.length, (i + 1) * CHUNK_SIZE)));
+        }
+        return chunks;
+    }
+
+    private static byte[] randomBytes(int length) {
+        byte[] bytes = new byte[length];
+        new Random(length).nextBytes(bytes);
+        return bytes;
+    }
+}
@@ -0,0 +1,577 @@
+/*
+ * Copyright Amazon.com, Inc. or its affiliates. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License").
+ * You may not use this file except in compliance with the License.
+ * A copy of the License is located at
+ *
+ *  http://aws.amazon.com/apache2.0
+ *
+ * or in the "license" file accompanying this file. This file is distributed
+ * on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either
+ * express or implied. See the License for the specific language governing
+ * permissions and limitations under the License.
+ */
+
+
+package software.amazon.awssdk.transfer.s3.internal;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.io.ByteArrayOutputStream;
+import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.Queue;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+import java.util.stream.Collectors;
+import org.reactivestreams.Publisher;
+import org.reactivestreams.Subscriber;
+import org.reactivestreams.Subscription;
+import software.amazon.awssdk.awscore.exception.AwsErrorDetails;
+import software.amazon.awssdk.core.async.AsyncRequestBody;
+import software.amazon.awssdk.core.async.AsyncResponseTransformer;
+import software.amazon.awssdk.core.async.SdkPublisher;
+import software.amazon.awssdk.services.s3.S3AsyncClient;
+import software.amazon.awssdk.services.s3.model.AbortMultipartUploadRequest;
+import software.amazon.awssdk.services.s3.model.AbortMultipartUploadResponse;
+import software.amazon.awssdk.services.s3.model.CompleteMultipartUploadRequest;
+import software.amazon.awssdk.services.s3.model.CompleteMultipartUploadResponse;
+import software.amazon.awssdk.services.s3.model.CompletedPart;
+import software.amazon.awssdk.services.s3.model.CopyObjectRequest;
+import software.amazon.awssdk.services.s3.model.CopyObjectResponse;
+import software.amazon.awssdk.services.s3.model.CreateMultipartUploadRequest;
+import software.amazon.awssdk.services.s3.model.CreateMultipartUploadResponse;
+import software.amazon.awssdk.services.s3.model.DeleteObjectsRequest;
+import software.amazon.awssdk.services.s3.model.DeleteObjectsResponse;
+import software.amazon.awssdk.services.s3.model.GetObjectRequest;
+import software.amazon.awssdk.services.s3.model.GetObjectResponse;
+import software.amazon.awssdk.services.s3.model.GetObjectTaggingRequest;
+import software.amazon.awssdk.services.s3.model.GetObjectTaggingResponse;
+import software.amazon.awssdk.services.s3.model.HeadObjectRequest;
+import software.amazon.awssdk.services.s3.model.HeadObjectResponse;
+import software.amazon.awssdk.services.s3.model.ListObjectsV2Request;
+import software.amazon.awssdk.services.s3.model.ListObjectsV2Response;
+import software.amazon.awssdk.services.s3.model.NoSuchKeyException;
+import software.amazon.awssdk.services.s3.model.ObjectIdentifier;
+import software.amazon.awssdk.services.s3.model.PutObjectRequest;
+import software.amazon.awssdk.services.s3.model.PutObjectResponse;
+import software.amazon.awssdk.services.s3.model.S3Error;
+import software.amazon.awssdk.services.s3.model.S3Exception;
+import software.amazon.awssdk.services.s3.model.S3Object;
+import software.amazon.awssdk.services.s3.model.Tag;
+import software.amazon.awssdk.services.s3.model.UploadPartCopyRequest;
+import software.amazon.awssdk.services.s3.model.UploadPartCopyResponse;
+import software.amazon.awssdk.services.s3.model.UploadPartRequest;
+import software.amazon.awssdk.services.s3.model.UploadPartResponse;
+import software.amazon.awssdk.utils.CompletableFutureUtils;
+
+/**
+ * An in-memory stand-in for the S3 operations used by the transfer manager. Objects live in a single namespace of keys (the
+ * bucket of a request is ignored), GETs honor ranges and If-Match the way S3 does, and every request is recorded so that
+ * tests can assert on it. Its fields let a test stall or fail individual requests.
+ */
+final class StubS3AsyncClient implements S3AsyncClient {
+    static final String UPLOAD_ID = "upload-id";
+
+    private static final Pattern RANGE = Pattern.compile("bytes=(\\d+)-(\\d*)");
+
+    // Objects
+    final NavigableMap<String, StoredObject> objects = new ConcurrentSkipListMap<>();
+    final Set<String> failingKeys = ConcurrentHashMap.newKeySet();
+    volatile int listPageSize = 1000;
+
+    // GETs
+    final Queue<HeadObjectRequest> headObjectRequests = new ConcurrentLinkedQueue<>();
+    final Queue<GetObjectRequest> getObjectRequests = new ConcurrentLinkedQueue<>();
+    final Set<Long> blockedRangeStarts = ConcurrentHashMap.newKeySet();
+    final Set<Long> failingRangeStarts = ConcurrentHashMap.newKeySet();
+    final AtomicInteger getsInFlight = new AtomicInteger();
+    final AtomicInteger maxGetsInFlight = new AtomicInteger();
+    final AtomicInteger completedGets = new AtomicInteger();
+    final AtomicInteger requestedBytes = new AtomicInteger();
+    final AtomicInteger objectsListed = new AtomicInteger();
+    final AtomicInteger objectsDownloaded = new AtomicInteger();
+    final AtomicInteger maxObjectsListedAheadOfDownloads = new AtomicInteger();
+    volatile int hangAfterBytes = -1;
+    volatile boolean failInsteadOfHanging;
+
+    // Uploads and copies
+    final Queue<PutObjectRequest> putObjectRequests = new ConcurrentLinkedQueue<>();
+    final Map<Integer, byte[]> uploadedParts = new ConcurrentHashMap<>();
+    final Queue<UploadPartRequest> uploadPartRequests = new ConcurrentLinkedQueue<>();
+    final Queue<UploadPartCopyRequest> uploadPartCopyRequests = new ConcurrentLinkedQueue<>();
+    final Set<Integer> blockedParts = ConcurrentHashMap.newKeySet();
+    final Set<Integer> failingParts = ConcurrentHashMap.newKeySet();
+    final Queue<String> abortedUploads = new ConcurrentLinkedQueue<>();
+    final AtomicInteger partsInFlight = new AtomicInteger();
+    final AtomicInteger maxPartsInFlight = new AtomicInteger();
+    final AtomicInteger createCount = new AtomicInteger();
+    final AtomicInteger completeCount = new AtomicInteger();
+    final AtomicInteger copyObjectCount = new AtomicInteger();
+    final AtomicInteger getObjectTaggingCount = new AtomicInteger();
+    volatile CompletableFuture<Void> createGate = CompletableFuture.completedFuture(null);
+    volatile CompletableFuture<Void> partGate = CompletableFuture.completedFuture(null);
+    volatile CreateMultipartUploadRequest createRequest;
+    volatile List<CompletedPart> completedParts;
+
+    // Deletes
+    final Queue<DeleteObjectsRequest> deleteRequests = new ConcurrentLinkedQueue<>();
+    final Map<String, KeyError> keyErrors = new ConcurrentHashMap<>();
+    final Queue<CompletableFuture<DeleteObjectsResponse>> heldResponses = new ConcurrentLinkedQueue<>();
+    final Queue<CompletableFuture<DeleteObjectsResponse>> returnedResponses = new ConcurrentLinkedQueue<>();
+    final AtomicInteger requestsInFlight = new AtomicInteger();
+    final AtomicInteger maxRequestsInFlight = new AtomicInteger();
+    final AtomicInteger failingRequests = new AtomicInteger();
+    volatile int failingStatusCode = 503;
+    volatile boolean paused;
+
+    final AtomicBoolean closed = new AtomicBoolean();
+
+    private final Map<String, AtomicInteger> deleteAttempts = new ConcurrentHashMap<>();
+    private final ExecutorService executor = Executors.newCachedThreadPool();
+
+    /**
+     * The ETag given to objects stored without an explicit one.
+     */
+    static String eTag(String key) {
+        return "\"" + key.hashCode() + "\"";
+    }
+
+    void putObject(String key, byte[] content) {
+        putObject(key, content, eTag(key));
+    }
+
+    void putObject(String key, byte[] content, String eTag) {
+        putObject(key, new StoredObject(content, eTag, null, Collections.emptyMap(), Collections.emptyList()));
+    }
+
+    void putObject(String key, StoredObject object) {
+        objects.put(key, object);
+    }
+
+    byte[] content(String key) {
+        return objects.get(key).content;
+    }
+
+    /**
+     * The object assembled from the parts named by the last CompleteMultipartUpload request.
+     */
+    byte[] completedObject() {
+        ByteArrayOutputStream object = new ByteArrayOutputStream();
+        for (CompletedPart part : completedParts) {
+            assertThat(part.eTag()).isEqualTo(partETag(part.partNumber()));
+            byte[] bytes = uploadedParts.get(part.partNumber());
+            object.write(bytes, 0, bytes.length);
+        }
+        return object.toByteArray();
+    }
+
+    int deleteAttempts(String key) {
+        return deleteAttempts.getOrDefault(key, new AtomicInteger()).get();
+    }
+
+    /**
+     * Complete the DeleteObjects requests held while {@link #paused}, and stop holding new ones.
+     */
+    synchronized void release() {
+        paused = false;
+        CompletableFuture<DeleteObjectsResponse> held;
+        while ((held = heldResponses.poll()) != null) {
+            held.complete(null);
+        }
+    }
+
+    @Override
+    public CompletableFuture<HeadObjectResponse> headObject(HeadObjectRequest request) {
+        headObjectRequests.add(request);
+        StoredObject object = objects.get(request.key());
+        if (object == null) {
+            return CompletableFutureUtils.failedFuture(noSuchKey());
+        }
+        return CompletableFuture.completedFuture(HeadObjectResponse.builder()
+                                                                   .eTag(object.eTag)
+                                                                   .contentLength((long) object.content.length)
+                                                                   .contentType(object.contentType)
+                                                                   .metadata(object.metadata)
+                                                                   .build());
+    }
+
+    @Override
+    public <ReturnT> CompletableFuture<ReturnT> getObject(
+        GetObjectRequest request, AsyncResponseTransformer<GetObjectResponse, ReturnT> transformer) {
+        getObjectRequests.add(request);
+        maxGetsInFlight.accumulateAndGet(getsInFlight.incrementAndGet(), Math::max);
+        CompletableFuture<ReturnT> future = transformer.prepare();
+        // Registered first, so it runs after the dependents registered by the caller
+        future.whenComplete((r, t) -> completedGets.incrementAndGet());
+        executor.execute(() -> serve(request, transformer));
+        return future;
+    }
+
+    private void serve(GetObjectRequest request, AsyncResponseTransformer<GetObjectResponse, ?> transformer) {
+        StoredObject object = objects.get(request.key());
+        if (object == null || failingKeys.contains(request.key())) {
+            fail(transformer, noSuchKey());
+            return;
+        }
+        if (request.ifMatch() != null && !request.ifMatch().equals(object.eTag)) {
+            fail(transformer, 412);
+            return;
+        }
+
+        byte[] content = object.content;
+        long start = 0;
+        long end = content.length - 1;
+        String contentRange = null;
+        if (request.range() != null) {
+            Matcher matcher = RANGE.matcher(request.range());
+            assertThat(matcher.matches()).isTrue();
+            start = Long.parseLong(matcher.group(1));
+            if (start >= content.length) {
+                fail(transformer, 416);
+                return;
+            }
+            if (!matcher.group(2).isEmpty()) {
+                end = Math.min(Long.parseLong(matcher.group(2)), end);
+            }
+            contentRange = "bytes " + start + "-" + end + "/" + content.length;
+        }
+        if (failingRangeStarts.contains(start)) {
+            fail(transformer, 500);
+            return;
+        }
+
+        byte[] body = Arrays.copyOfRange(content, (int) start, (int) end + 1);
+        requestedBytes.addAndGet(body.length);
+        transformer.onResponse(GetObjectResponse.builder()
+                                                .eTag(object.eTag)
+                                                .contentLength((long) body.length)
+                                                .contentRange(contentRange)
+                                                .build());
+        if (blockedRangeStarts.contains(start)) {
+            return;
+        }
+        getsInFlight.decrementAndGet();
+        if (start == 0) {
+            objectsDownloaded.incrementAndGet();
+        }
+        int hangAfter = hangAfterBytes;
+        if (hangAfter < 0) {
+            transformer.onStream(AsyncRequestBody.fromBytes(body));
+        } else {
+            transformer.onStream(SdkPublisher.adapt(new StallingPublisher(body, hangAfter, failInsteadOfHanging)));
+        }
+    }
+
+    private void fail(AsyncResponseTransformer<GetObjectResponse, ?> transformer, int statusCode) {
+        fail(transformer, S3Exception.builder().statusCode(statusCode).build());
+    }
+
+    private void fail(AsyncResponseTransformer<GetObjectResponse, ?> transformer, Throwable error) {
+        getsInFlight.decrementAndGet();
+        transformer.exceptionOccurred(error);
+    }
+
+    @Override
+    public CompletableFuture<ListObjectsV2Response> listObjectsV2(ListObjectsV2Request request) {
+        String prefix = request.prefix() == null ? "" : request.prefix();
+        String start = request.continuationToken() == null ? prefix : request.continuationToken();
+        int pageSize = listPageSize;
+        List<String> keys = objects.tailMap(start, request.continuationToken() == null)
+                                   .keySet()
+                                   .stream()
+                                   .filter(k -> k.startsWith(prefix))
+                                   .limit(pageSize + 1)
+                                   .collect(Collectors.toList());
+        List<String> page = keys.subList(0, Math.min(pageSize, keys.size()));
+        boolean truncated = keys.size() > pageSize;
+
+        int listedAhead = objectsListed.addAndGet(page.size()) - objectsDownloaded.get();
+        maxObjectsListedAheadOfDownloads.accumulateAndGet(listedAhead, Math::max);
+
+        List<S3Object> contents = page.stream()
+                                      .map(k -> S3Object.builder()
+                                                        .key(k)
+                                                        .size((long) objects.get(k).content.length)
+                                                        .eTag(objects.get(k).eTag)
+                                                        .build())
+                                      .collect(Collectors.toList());
+        ListObjectsV2Response response =
+            ListObjectsV2Response.builder()
+                                 .contents(contents)
+                                 .isTruncated(truncated)
+                                 .nextContinuationToken(truncated ? page.get(page.size() - 1) : null)
+                                 .build();
+        return CompletableFuture.supplyAsync(() -> response, executor);
+    }
+
+    @Override
+    public CompletableFuture<PutObjectResponse> putObject(PutObjectRequest request, AsyncRequestBody body) {
+        putObjectRequests.add(request);
+        return drain(body).thenApply(bytes -> {
+            putObject(request.key(), bytes);
+            return PutObjectResponse.builder().eTag("\"object\"").build();
+        });
+    }
+
+    @Override
+    public CompletableFuture<CreateMultipartUploadResponse> createMultipartUpload(CreateMultipartUploadRequest request) {
+        createCount.incrementAndGet();
+        createRequest = request;
+        return createGate.thenApplyAsync(ignored -> CreateMultipartUploadResponse.builder().uploadId(UPLOAD_ID).build(),
+                                         executor);
+    }
+
+    @Override
+    public CompletableFuture<UploadPartResponse> uploadPart(UploadPartRequest request, AsyncRequestBody body) {
+        assertThat(request.uploadId()).isEqualTo(UPLOAD_ID);
+        assertThat(body.contentLength()).hasValue(request.contentLength());
+        uploadPartRequests.add(request);
+        maxPartsInFlight.accumulateAndGet(partsInFlight.incrementAndGet(), Math::max);
+        CompletableFuture<UploadPartResponse> response = new CompletableFuture<>();
+        if (blockedParts.contains(request.partNumber())) {
+            return response;
+        }
+        partGate.thenCompose(ignored -> drain(body)).whenComplete((bytes, t) -> {
+            partsInFlight.decrementAndGet();
+            if (t != null) {
+                response.completeExceptionally(t);
+            } else if (failingParts.contains(request.partNumber())) {
+                response.completeExceptionally(S3Exception.builder().statusCode(500).build());
+            } else {
+                assertThat((long) bytes.length).isEqualTo(request.contentLength());
+                uploadedParts.put(request.partNumber(), bytes);
+                response.complete(UploadPartResponse.builder().eTag(partETag(request.partNumber())).build());
+            }
+        });
+        return response;
+    }
+
+    @Override
+    public CompletableFuture<CopyObjectResponse> copyObject(CopyObjectRequest request) {
+        copyObjectCount.incrementAndGet();
+        return CompletableFuture.completedFuture(CopyObjectResponse.builder()
+                                                                   .copyObjectResult(r -> r.eTag("\"copy\""))
+                                                                   .build());
+    }
+
+    @Override
+    public CompletableFuture<GetObjectTaggingResponse> getObjectTagging(GetObjectTaggingRequest request) {
+        getObjectTaggingCount.incrementAndGet();
+        StoredObject object = objects.get(request.key());
+        if (object == null) {
+            return CompletableFutureUtils.failedFuture(noSuchKey());
+        }
+        return CompletableFuture.completedFuture(GetObjectTaggingResponse.builder().tagSet(object.tags).build());
+    }
+
+    @Override
+    public CompletableFuture<UploadPartCopyResponse> uploadPartCopy(UploadPartCopyRequest request) {
+        assertThat(request.uploadId()).isEqualTo(UPLOAD_ID);
+        uploadPartCopyRequests.add(request);
+        maxPartsInFlight.accumulateAndGet(partsInFlight.incrementAndGet(), Math::max);
+        return CompletableFuture.supplyAsync(() -> {
+            partsInFlight.decrementAndGet();
+            if (failingParts.contains(request.partNumber())) {
+                // The source changed since the first part was copied
+                throw S3Exception.builder().statusCode(412).build();
+            }
+            return UploadPartCopyResponse.builder()
+                                         .copyPartResult(r -> r.eTag(partETag(request.partNumber())))
+                                         .build();
+        }, executor);
+    }
+
+    @Override
+    public CompletableFuture<CompleteMultipartUploadResponse> completeMultipartUpload(CompleteMultipartUploadRequest request) {
+        completeCount.incrementAndGet();
+        completedParts = request.multipartUpload().parts();
+        assertThat(completedParts.stream().map(CompletedPart::partNumber).collect(Collectors.toList())).isSorted();
+        return CompletableFuture.completedFuture(CompleteMultipartUploadResponse.builder()
+                                                                                .eTag("\"object\"")
+                                                                                .versionId("new-version")
+                                                                                .build());
+    }
+
+    @Override
+    public CompletableFuture<AbortMultipartUploadResponse> abortMultipartUpload(AbortMultipartUploadRequest request) {
+        abortedUploads.add(request.uploadId());
+        return CompletableFuture.completedFuture(AbortMultipartUploadResponse.builder().build());
+    }
+
+    @Override
+    public CompletableFuture<DeleteObjectsResponse> deleteObjects(DeleteObjectsRequest request) {
+        deleteRequests.add(request);
+        maxRequestsInFlight.accumulateAndGet(requestsInFlight.incrementAndGet(), Math::max);
+        CompletableFuture<DeleteObjectsResponse> response = new CompletableFuture<>();
+        synchronized (this) {
+            if (paused) {
+                heldResponses.add(response);
+            } else {
+                response.complete(null);
+            }
+        }
+        CompletableFuture<DeleteObjectsResponse> returnedResponse = response.thenApplyAsync(ignored -> {
+            requestsInFlight.decrementAndGet();
+            if (failingRequests.getAndDecrement() > 0) {
+                throw S3Exception.builder()
+                                 .statusCode(failingStatusCode)
+                                 .awsErrorDetails(AwsErrorDetails.builder()
+                                                                 .errorCode(failingStatusCode == 403 ? "AccessDenied"
+                                                                                                     : "SlowDown")
+                                                                 .build())
+                                 .build();
+            }
+            List<S3Error> errors = new ArrayList<>();
+            for (ObjectIdentifier object : request.delete().objects()) {
+                int attempt = deleteAttempts.computeIfAbsent(object.key(), k -> new AtomicInteger()).incrementAndGet();
+                KeyError keyError = keyErrors.get(object.key());
+                if (keyError != null && attempt <= keyError.times) {
+                    errors.add(S3Error.builder().key(object.key()).code(keyError.code).build());
+                } else {
+                    objects.remove(object.key());
+                }
+            }
+            return DeleteObjectsResponse.builder().errors(errors).build();
+        }, executor);
+        returnedResponses.add(returnedResponse);
+        return returnedResponse;
+    }
+
+    @Override
+    public String serviceName() {
+        return "s3";
+    }
+
+    @Override
+    public void close() {
+        closed.set(true);
+        executor.shutdownNow();
+    }
+
+    private static String partETag(int partNumber) {
+        return "\"" + partNumber + "\"";
+    }
+
+    private static NoSuchKeyException noSuchKey() {
+        return (NoSuchKeyException) NoSuchKeyException.builder().statusCode(404).message("NoSuchKey").build();
+    }
+
+    private static CompletableFuture<byte[]> drain(AsyncRequestBody body) {
+        CompletableFuture<byte[]> future = new CompletableFuture<>();
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        body.subscribe(new Subscriber<ByteBuffer>() {
+            private Subscription subscription;
+
+            @Override
+            public void onSubscribe(Subscription s) {
+                subscription = s;
+                s.request(1);
+            }
+
+            @Override
+            public void onNext(ByteBuffer byteBuffer) {
+                byte[] chunk = new byte[byteBuffer.remaining()];
+                byteBuffer.get(chunk);
+                bytes.write(chunk, 0, chunk.length);
+                subscription.request(1);
+            }
+
+            @Override
+            public void onError(Throwable t) {
+                future.completeExceptionally(t);
+            }
+
+            @Override
+            public void onComplete() {
+                future.complete(bytes.toByteArray());
+            }
+        });
+        return future;
+    }
+
+    /**
+     * An object held by the stub.
+     */
+    static final class StoredObject {
+        private final byte[] content;
+        private final String eTag;
+        private final String contentType;
+        private final Map<String, String> metadata;
+        private final List<Tag> tags;
+
+        StoredObject(byte[] content, String eTag, String contentType, Map<String, String> metadata, List<Tag> tags) {
+            this.content = content;
+            this.eTag = eTag;
+            this.contentType = contentType;
+            this.metadata = metadata;
+            this.tags = tags;
+        }
+    }
+
+    /**
+     * An error that DeleteObjects reports for a key the first {@code times} it is asked to delete it.
+     */
+    static final class KeyError {
+        private final String code;
+        private final int times;
+
+        KeyError(String code, int times) {
+            this.code = code;
+            this.times = times;
+        }
+    }
+
+    /**
+     * A body that sends its first {@code hangAfterBytes} bytes and then either stalls or fails.
+     */
+    private static final class StallingPublisher implements Publisher<ByteBuffer> {
+        private final byte[] body;
+        private final int hangAfterBytes;
+        private final boolean fail;
+
+        private StallingPublisher(byte[] body, int hangAfterBytes, boolean fail) {
+            this.body = body;
+            this.hangAfterBytes = hangAfterBytes;
+            this.fail = fail;
+        }
+
+        @Override
+        public void subscribe(Subscriber<? super ByteBuffer> subscriber) {
+            subscriber.onSubscribe(new Subscription() {
+                private boolean sent;
+
+                @Override
+                public void request(long n) {
+                    if (sent) {
+                        return;
+                    }
+                    sent = true;
+                    subscriber.onNext(ByteBuffer.wrap(body, 0, Math.min(hangAfterBytes, body.length)));
+                    if (fail) {
+                        subscriber.onError(S3Exception.builder().statusCode(500).build());
+                    }
+                }
+
+                @Override
+                public void cancel() {
+                }
+            });
+        }
+    }
+}
@@ -18,8 +18,10 @@ package software.amazon.awssdk.transfer.s3.internal;
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.verify;
+import static software.amazon.awssdk.transfer.s3.internal.TransferConfigurationOption.DOWNLOAD_DIRECTORY_MAX_CONCURRENT_FILE_DOWNLOADS;
 import static software.amazon.awssdk.transfer.s3.internal.TransferConfigurationOption.EXECUTOR;
 import static software.amazon.awssdk.transfer.s3.internal.TransferConfigurationOption.UPLOAD_DIRECTORY_FOLLOW_SYMBOLIC_LINKS;
+import static software.amazon.awssdk.transfer.s3.internal.TransferConfigurationOption.UPLOAD_DIRECTORY_MAX_CONCURRENT_FILE_UPLOADS;
 import static software.amazon.awssdk.transfer.s3.internal.TransferConfigurationOption.UPLOAD_DIRECTORY_MAX_DEPTH;
 import static software.amazon.awssdk.transfer.s3.internal.TransferConfigurationOption.UPLOAD_DIRECTORY_RECURSIVE;
 
@@ -76,12 +78,29 @@ public class TransferManagerConfigurationTest {
         assertThat(transferManagerConfiguration.resolveUploadDirectoryFollowSymbolicLinks(uploadDirectoryRequest)).isTrue();
     }
 
+    @Test
+    public void resolveMaxConcurrentFileUploads_requestOverride_requestOverrideShouldTakePrecedence() {
+        transferManagerConfiguration = TransferManagerConfiguration.builder()
+                                                                   .uploadDirectoryConfiguration(UploadDirectoryOverrideConfiguration.builder()
+                                                                                                                                     .maxConcurrentFileUploads(10)
+                                                                                                                                     .build())
+                                                                   .build();
+        UploadDirectoryRequest uploadDirectoryRequest = UploadDirectoryRequest.builder()
+                                                                              .bucket("bucket")
+                                                                              .sourceDirectory(Paths.get("."))
+                                                                              .overrideConfiguration(o -> o.maxConcurrentFileUploads(20))
+                                                                              .build();
+        assertThat(transferManagerConfiguration.resolveUploadDirectoryMaxConcurrentFileUploads(uploadDirectoryRequest)).isEqualTo(20);
+    }
+
     @Test
     public void noOverride_shouldUseDefaults() {
         transferManagerConfiguration = TransferManagerConfiguration.builder().build();
         assertThat(transferManagerConfiguration.option(UPLOAD_DIRECTORY_FOLLOW_SYMBOLIC_LINKS)).isFalse();
         assertThat(transferManagerConfiguration.option(UPLOAD_DIRECTORY_MAX_DEPTH)).isEqualTo(Integer.MAX_VALUE);
         assertThat(transferManagerConfiguration.option(UPLOAD_DIRECTORY_RECURSIVE)).isTrue();
+        assertThat(transferManagerConfiguration.option(UPLOAD_DIRECTORY_MAX_CONCURRENT_FILE_UPLOADS)).isEqualTo(100);
+        assertThat(transferManagerConfiguration.option(DOWNLOAD_DIRECTORY_MAX_CONCURRENT_FILE_DOWNLOADS)).isEqualTo(100);
         assertThat(transferManagerConfiguration.option(EXECUTOR)).isNotNull();
     }
 
@@ -19,6 +19,8 @@ import static org.assertj.core.api.Assertions.assertThat;
 import static org.assertj.core.api.Assertions.assertThatThrownBy;
 import static org.mockito.Matchers.any;
 import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.timeout;
+import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
 import com.google.common.jimfs.Jimfs;
@@ -28,9 +30,16 @@ import java.nio.file.Files;
 import java.nio.file.Path;
 import java.nio.file.Paths;
 import java.util.List;
+import java.util.Queue;
+import java.util.Set;
 import java.util.concurrent.CancellationException;
 import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
 import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
 import java.util.function.Function;
 import org.junit.jupiter.api.AfterAll;
 import org.junit.jupiter.api.BeforeAll;
@@ -50,6 +59,8 @@ import software.amazon.awssdk.transfer.s3.UploadDirectoryRequest;
 import software.amazon.awssdk.transfer.s3.UploadFileRequest;
 import software.amazon.awssdk.transfer.s3.internal.progress.DefaultTransferProgress;
 import software.amazon.awssdk.transfer.s3.internal.progress.DefaultTransferProgressSnapshot;
+import software.amazon.awssdk.transfer.s3.progress.TransferProgressSnapshot;
+import software.amazon.awssdk.utils.ThreadFactoryBuilder;
 
 public class UploadDirectoryHelperTest {
     private static FileSystem jimfs;
@@ -93,6 +104,8 @@ public class UploadDirectoryHelperTest {
                                                                         .bucket("bucket")
                                                                         .build());
 
+        // Uploads are dispatched asynchronously; files that have not been dispatched yet are skipped on cancellation.
+        verify(singleUploadFunction, timeout(1000).times(2)).apply(any(UploadFileRequest.class));
         uploadDirectory.completionFuture().cancel(true);
 
         assertThatThrownBy(() -> future.get(1, TimeUnit.SECONDS))
@@ -211,9 +224,114 @@ public class UploadDirectoryHelperTest {
         });
     }
 
+    @Test
+    public void uploadDirectory_manyFiles_shouldNotExceedMaxConcurrentFileUploads() throws Exception {
+        Path largeDirectory = jimfs.getPath("many-files");
+        Files.createDirectories(largeDirectory.resolve("nested"));
+        int fileCount = 2_000;
+        for (int i = 0; i < fileCount; i++) {
+            Path parent = i % 2 == 0 ? largeDirectory : largeDirectory.resolve("nested");
+            Files.write(parent.resolve("file-" + i), new byte[i % 7]);
+        }
+
+        int maxConcurrentFileUploads = 8;
+        StubS3 stubS3 = new StubS3();
+        uploadDirectoryHelper = new UploadDirectoryHelper(TransferManagerConfiguration.builder().build(), stubS3::upload);
+
+        DirectoryUpload uploadDirectory =
+            uploadDirectoryHelper.uploadDirectory(UploadDirectoryRequest.builder()
+                                                                        .sourceDirectory(largeDirectory)
+                                                                        .bucket("bucket")
+                                                                        .overrideConfiguration(o -> o.maxConcurrentFileUploads(
+                                                                            maxConcurrentFileUploads))
+                                                                        .build());
+
+        CompletedDirectoryUpload completedDirectoryUpload = uploadDirectory.completionFuture().get(30, TimeUnit.SECONDS);
+        stubS3.close();
+
+        assertThat(completedDirectoryUpload.failedTransfers()).isEmpty();
+        assertThat(stubS3.uploadedKeys).hasSize(fileCount);
+        assertThat(stubS3.maxInFlight.get()).isLessThanOrEqualTo(maxConcurrentFileUploads);
+        // Completions come from the stub's threads, but files are only ever listed and dispatched on the executor.
+        assertThat(stubS3.dispatchingThreads).allSatisfy(name -> assertThat(name).startsWith("s3-transfer-manager"));
+
+        long totalBytes = 0;
+        for (int i = 0; i < fileCount; i++) {
+            totalBytes += i % 7;
+        }
+        TransferProgressSnapshot snapshot = uploadDirectory.progress().snapshot();
+        assertThat(snapshot.transferSizeInBytes()).hasValue(totalBytes);
+        assertThat(snapshot.bytesTransferred()).isEqualTo(totalBytes);
+    }
+
+    @Test
+    public void uploadDirectory_withinLookAheadWindow_shouldUploadSmallerFilesFirst() throws Exception {
+        Path sizedDirectory = jimfs.getPath("sized-files");
+        Files.createDirectory(sizedDirectory);
+        Files.write(sizedDirectory.resolve("large"), new byte[30]);
+        Files.write(sizedDirectory.resolve("medium"), new byte[20]);
+        Files.write(sizedDirectory.resolve("small"), new byte[10]);
+
+        StubS3 stubS3 = new StubS3();
+        uploadDirectoryHelper = new UploadDirectoryHelper(TransferManagerConfiguration.builder().build(), stubS3::upload);
+
+        uploadDirectoryHelper.uploadDirectory(UploadDirectoryRequest.builder()
+                                                                    .sourceDirectory(sizedDirectory)
+                                                                    .bucket("bucket")
+                                                                    .overrideConfiguration(o -> o.maxConcurrentFileUploads(3))
+                                                                    .build())
+                             .completionFuture()
+                             .get(5, TimeUnit.SECONDS);
+        stubS3.close();
+
+        assertThat(stubS3.uploadedKeys).containsExactly("small", "medium", "large");
+    }
+
     private FileUpload newUpload(CompletableFuture<CompletedFileUpload> future) {
         return new DefaultFileUpload(future,
                                  new DefaultTransferProgress(DefaultTransferProgressSnapshot.builder().build())
         );
     }
+
+    /**
+     * A stand-in for S3 that completes every upload asynchronously after reporting the file's bytes as transferred, while
+     * recording the order in which uploads were started, the threads that started them and the highest number of uploads that
+     * were in flight at once.
+     */
+    private static final class StubS3 {
+        private final ScheduledExecutorService executor =
+            Executors.newScheduledThreadPool(4, new ThreadFactoryBuilder().threadNamePrefix("stub-s3").build());
+        private final Queue<String> uploadedKeys = new ConcurrentLinkedQueue<>();
+        private final Set<String> dispatchingThreads = ConcurrentHashMap.newKeySet();
+        private final AtomicInteger inFlight = new AtomicInteger();
+        private final AtomicInteger maxInFlight = new AtomicInteger();
+
+        private FileUpload upload(UploadFileRequest request) {
+            uploadedKeys.add(request.putObjectRequest().key());
+            dispatchingThreads.add(Thread.currentThread().getName());
+            maxInFlight.accumulateAndGet(inFlight.incrementAndGet(), Math::max);
+
+            DefaultTransferProgress progress = new DefaultTransferProgress(DefaultTransferProgressSnapshot.builder().build());
+            CompletableFuture<CompletedFileUpload> future = new CompletableFuture<>();
+            executor.schedule(() -> {
+                try {
+                    long size = Files.size(request.source());
+                    progress.transferSizeInBytes(size);
+                    progress.bytesTransferred(size);
+                    inFlight.decrementAndGet();
+                    future.complete(CompletedFileUpload.builder()
+                                                       .response(PutObjectResponse.builder().eTag("etag").build())
+                                                       .build());
+                } catch (IOException e) {
+                    inFlight.decrementAndGet();
+                    future.completeExceptionally(e);
+                }
+            }, 1, TimeUnit.MILLISECONDS);
+            return new DefaultFileUpload(future, progress);
+        }
+
+        private void close() {
+            executor.shutdownNow();
+        }
+    }
 }
@@ -105,9 +105,8 @@ public class LoggingTransferListenerTest {
         listener.transferInitiated(context);
 
         for (int i = 0; i <= TRANSFER_SIZE_IN_BYTES; i++) {
-            int bytes = i;
-            listener.bytesTransferred(context.copy(c -> c.progressSnapshot(
-                progress.updateAndGet(p -> p.bytesTransferred(bytes)))));
+            progress.bytesTransferred(i);
+            listener.bytesTransferred(context.copy(c -> c.progressSnapshot(progress.snapshot())));
         }
 
         listener.transferComplete(context.copy(b -> b.progressSnapshot(progress.snapshot())
@@ -0,0 +1,46 @@
+/*
+ * Copyright Amazon.com, Inc. or its affiliates. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License").
+ * You may not use this file except in compliance with the License.
+ * A copy of the License is located at
+ *
+ *  http://aws.amazon.com/apache2.0
+ *
+ * or in the "license" file accompanying this file. This file is distributed
+ * on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either
+ * express or implied. See the License for the specific language governing
+ * permissions and limitations under the License.
+ */
+
+
+package software.amazon.awssdk.services.ec2.internal.waiters;
+
+import static java.util.stream.Collectors.toList;
+
+import java.util.HashSet;
+import java.util.Set;
+import java.util.function.BiFunction;
+import software.amazon.awssdk.annotations.SdkInternalApi;
+import software.amazon.awssdk.services.ec2.model.DescribeInstanceStatusRequest;
+import software.amazon.awssdk.services.ec2.model.DescribeInstanceStatusResponse;
+
+/**
+ * Narrows the response of a {@code DescribeInstanceStatus} call that was made for the instances of several waits down to the
+ * instances of one of them, so that the instance status waiters can poll many instances with a single call.
+ */
+@SdkInternalApi
+public final class DescribeInstanceStatusResponseFilter
+    implements BiFunction<DescribeInstanceStatusRequest, DescribeInstanceStatusResponse, DescribeInstanceStatusResponse> {
+
+    @Override
+    public DescribeInstanceStatusResponse apply(DescribeInstanceStatusRequest request, DescribeInstanceStatusResponse response) {
+        Set<String> instanceIds = new HashSet<>(request.instanceIds());
+        return response.toBuilder()
+                       .instanceStatuses(response.instanceStatuses()
+                                                 .stream()
+                                                 .filter(s -> instanceIds.contains(s.instanceId()))
+                                                 .collect(toList()))
+                       .build();
+    }
+}
@@ -0,0 +1,57 @@
+/*
+ * Copyright Amazon.com, Inc. or its affiliates. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License").
+ * You may not use this file except in compliance with the License.
+ * A copy of the License is located at
+ *
+ *  http://aws.amazon.com/apache2.0
+ *
+ * or in the "license" file accompanying this file. This file is distributed
+ * on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either
+ * express or implied. See the License for the specific language governing
+ * permissions and limitations under the License.
+ */
+
+
+package software.amazon.awssdk.services.ec2.internal.waiters;
+
+import static java.util.stream.Collectors.toList;
+
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.function.BiFunction;
+import software.amazon.awssdk.annotations.SdkInternalApi;
+import software.amazon.awssdk.services.ec2.model.DescribeInstancesRequest;
+import software.amazon.awssdk.services.ec2.model.DescribeInstancesResponse;
+import software.amazon.awssdk.services.ec2.model.Reservation;
+
+/**
+ * Narrows the response of a {@code DescribeInstances} call that was made for the instances of several waits down to the
+ * instances of one of them, so that the instance waiters can poll many instances with a single call.
+ */
+@SdkInternalApi
+public final class DescribeInstancesResponseFilter
+    implements BiFunction<DescribeInstancesRequest, DescribeInstancesResponse, DescribeInstancesResponse> {
+
+    @Override
+    public DescribeInstancesResponse apply(DescribeInstancesRequest request, DescribeInstancesResponse response) {
+        Set<String> instanceIds = new HashSet<>(request.instanceIds());
+        List<Reservation> reservations = response.reservations()
+                                                 .stream()
+                                                 .map(r -> filterInstances(r, instanceIds))
+                                                 .filter(r -> !r.instances().isEmpty())
+                                                 .collect(toList());
+        return response.toBuilder().reservations(reservations).build();
+    }
+
+    private static Reservation filterInstances(Reservation reservation, Set<String> instanceIds) {
+        return reservation.toBuilder()
+                          .instances(reservation.instances()
+                                                .stream()
+                                                .filter(i -> instanceIds.contains(i.instanceId()))
+                                                .collect(toList()))
+                          .build();
+    }
+}
@@ -26,6 +26,10 @@ import software.amazon.awssdk.annotations.SdkInternalApi;
 import software.amazon.awssdk.core.async.SdkPublisher;
 import software.amazon.awssdk.core.checksums.SdkChecksum;
 import software.amazon.awssdk.core.exception.RetryableException;
+import software.amazon.awssdk.core.internal.util.ByteBufferPoolMetrics;
+import software.amazon.awssdk.core.util.ByteBufferPool;
+import software.amazon.awssdk.core.util.ByteBufferPool.PooledBuffer;
+import software.amazon.awssdk.metrics.MetricCollector;
 import software.amazon.awssdk.utils.BinaryUtils;
 
 @SdkInternalApi
@@ -34,19 +38,36 @@ public final class ChecksumValidatingPublisher implements SdkPublisher<ByteBuffe
     private final Publisher<ByteBuffer> publisher;
     private final SdkChecksum sdkChecksum;
     private final long contentLength;
+    private final ByteBufferPool byteBufferPool;
+    private final MetricCollector metricCollector;
 
     public ChecksumValidatingPublisher(Publisher<ByteBuffer> publisher,
                                        SdkChecksum sdkChecksum,
                                        long contentLength) {
+        this(publisher, sdkChecksum, contentLength, ByteBufferPool.defaultPool(), null);
+    }
+
+    /**
+     * @param byteBufferPool The pool of the temporary buffers that direct buffers are copied through.
+     * @param metricCollector The collector that the pool usage is reported to once the content has been read, or null.
+     */
+    public ChecksumValidatingPublisher(Publisher<ByteBuffer> publisher,
+                                       SdkChecksum sdkChecksum,
+                                       long contentLength,
+                                       ByteBufferPool byteBufferPool,
+                                       MetricCollector metricCollector) {
         this.publisher = publisher;
         this.sdkChecksum = sdkChecksum;
         this.contentLength = contentLength;
+        this.byteBufferPool = byteBufferPool;
+        this.metricCollector = metricCollector;
     }
 
     @Override
     public void subscribe(Subscriber<? super ByteBuffer> s) {
         if (contentLength > 0) {
-            publisher.subscribe(new ChecksumValidatingSubscriber(s, sdkChecksum, contentLength));
+            publisher.subscribe(new ChecksumValidatingSubscriber(s, sdkChecksum, contentLength, byteBufferPool,
+                                                                metricCollector));
         } else {
             publisher.subscribe(new ChecksumSkippingSubscriber(s));
         }
@@ -59,16 +80,22 @@ public final class ChecksumValidatingPublisher implements SdkPublisher<ByteBuffe
         private final Subscriber<? super ByteBuffer> wrapped;
         private final SdkChecksum sdkChecksum;
         private final long strippedLength;
+        private final ByteBufferPoolMetrics byteBufferPool;
+        private final MetricCollector metricCollector;
 
         private byte[] streamChecksum = new byte[CHECKSUM_SIZE];
         private long lengthRead = 0;
 
         ChecksumValidatingSubscriber(Subscriber<? super ByteBuffer> wrapped,
                                      SdkChecksum sdkChecksum,
-                                     long contentLength) {
+                                     long contentLength,
+                                     ByteBufferPool byteBufferPool,
+                                     MetricCollector metricCollector) {
             this.wrapped = wrapped;
             this.sdkChecksum = sdkChecksum;
             this.strippedLength = contentLength - CHECKSUM_SIZE;
+            this.byteBufferPool = new ByteBufferPoolMetrics(byteBufferPool);
+            this.metricCollector = metricCollector;
         }
 
         @Override
@@ -78,14 +105,32 @@ public final class ChecksumValidatingPublisher implements SdkPublisher<ByteBuffe
 
         @Override
         public void onNext(ByteBuffer byteBuffer) {
-            byte[] buf = BinaryUtils.copyBytesFrom(byteBuffer);
+            if (byteBuffer.hasArray()) {
+                onNext(byteBuffer, byteBuffer.array(), byteBuffer.arrayOffset() + byteBuffer.position());
+                return;
+            }
+
+            // The checksum can only be computed from an array, so copy direct buffers into a temporary one
+            try (PooledBuffer pooledBuffer = byteBufferPool.acquire(byteBuffer.remaining())) {
+                pooledBuffer.buffer().put(byteBuffer.duplicate());
+                onNext(byteBuffer, pooledBuffer.buffer().array(), 0);
+            }
+        }
+
+        /**
+         * @param byteBuffer The buffer received from the upstream publisher.
+         * @param buf An array holding the content of byteBuffer.
+         * @param offset The offset of the content of byteBuffer in buf.
+         */
+        private void onNext(ByteBuffer byteBuffer, byte[] buf, int offset) {
+            int length = byteBuffer.remaining();
 
             if (lengthRead < strippedLength) {
-                int toUpdate = (int) Math.min(strippedLength - lengthRead, buf.length);
+                int toUpdate = (int) Math.min(strippedLength - lengthRead, length);
 
-                sdkChecksum.update(buf, 0, toUpdate);
+                sdkChecksum.update(buf, offset, toUpdate);
             }
-            lengthRead += buf.length;
+            lengthRead += length;
 
             if (lengthRead >= strippedLength) {
                 // Incoming buffer contains at least a bit of the checksum
@@ -103,12 +148,12 @@ public final class ChecksumValidatingPublisher implements SdkPublisher<ByteBuffe
                 //                                |           <--- bufChecksumOffset
                 //                            |<->|           <--- streamChecksumOffset
                 int cksumBytesSoFar = toIntExact(lengthRead - strippedLength);
-                int bufChecksumOffset = (buf.length > cksumBytesSoFar) ? (buf.length - cksumBytesSoFar) : 0;
-                int streamChecksumOffset = (buf.length > cksumBytesSoFar) ? 0 : (cksumBytesSoFar - buf.length);
-                int cksumBytes = Math.min(cksumBytesSoFar, buf.length);
-                System.arraycopy(buf, bufChecksumOffset, streamChecksum, streamChecksumOffset, cksumBytes);
-                if (buf.length > cksumBytesSoFar) {
-                    wrapped.onNext(ByteBuffer.wrap(Arrays.copyOfRange(buf, 0, buf.length - cksumBytesSoFar)));
+                int bufChecksumOffset = (length > cksumBytesSoFar) ? (length - cksumBytesSoFar) : 0;
+                int streamChecksumOffset = (length > cksumBytesSoFar) ? 0 : (cksumBytesSoFar - length);
+                int cksumBytes = Math.min(cksumBytesSoFar, length);
+                System.arraycopy(buf, offset + bufChecksumOffset, streamChecksum, streamChecksumOffset, cksumBytes);
+                if (length > cksumBytesSoFar) {
+                    wrapped.onNext(ByteBuffer.wrap(Arrays.copyOfRange(buf, offset, offset + length - cksumBytesSoFar)));
                 } else {
                     // Always be sure to satisfy the wrapped publisher's demand.
                     wrapped.onNext(ByteBuffer.allocate(0));
@@ -126,11 +171,13 @@ public final class ChecksumValidatingPublisher implements SdkPublisher<ByteBuffe
 
         @Override
         public void onError(Throwable t) {
+            byteBufferPool.report(metricCollector);
             wrapped.onError(t);
         }
 
         @Override
         public void onComplete() {
+            byteBufferPool.report(metricCollector);
             if (strippedLength > 0) {
                 byte[] computedChecksum = sdkChecksum.getChecksumBytes();
                 if (!Arrays.equals(computedChecksum, streamChecksum)) {
@@ -165,8 +212,7 @@ public final class ChecksumValidatingPublisher implements SdkPublisher<ByteBuffe
 
         @Override
         public void onNext(ByteBuffer byteBuffer) {
-            byte[] buf = BinaryUtils.copyBytesFrom(byteBuffer);
-            wrapped.onNext(ByteBuffer.wrap(Arrays.copyOfRange(buf, 0, buf.length - CHECKSUM_SIZE)));
+            wrapped.onNext(ByteBuffer.wrap(BinaryUtils.copyBytesFrom(byteBuffer, byteBuffer.remaining() - CHECKSUM_SIZE)));
         }
 
         @Override
@@ -34,6 +34,10 @@ import software.amazon.awssdk.core.interceptor.Context;
 import software.amazon.awssdk.core.interceptor.ExecutionAttribute;
 import software.amazon.awssdk.core.interceptor.ExecutionAttributes;
 import software.amazon.awssdk.core.interceptor.ExecutionInterceptor;
+import software.amazon.awssdk.core.interceptor.SdkExecutionAttribute;
+import software.amazon.awssdk.core.interceptor.SdkInternalExecutionAttribute;
+import software.amazon.awssdk.core.util.ByteBufferPool;
+import software.amazon.awssdk.metrics.MetricCollector;
 import software.amazon.awssdk.services.s3.checksums.ChecksumCalculatingAsyncRequestBody;
 import software.amazon.awssdk.services.s3.checksums.ChecksumValidatingPublisher;
 import software.amazon.awssdk.services.s3.model.PutObjectResponse;
@@ -72,7 +76,13 @@ public final class AsyncChecksumValidationInterceptor implements ExecutionInterc
             SdkChecksum checksum = new Md5Checksum();
             executionAttributes.putAttribute(CHECKSUM, checksum);
             if (contentLength > 0) {
-                return Optional.of(new ChecksumValidatingPublisher(context.responsePublisher().get(), checksum, contentLength));
+                ByteBufferPool byteBufferPool =
+                    Optional.ofNullable(executionAttributes.getAttribute(SdkInternalExecutionAttribute.BYTE_BUFFER_POOL))
+                            .orElseGet(ByteBufferPool::defaultPool);
+                MetricCollector metricCollector =
+                    executionAttributes.getAttribute(SdkExecutionAttribute.API_CALL_ATTEMPT_METRIC_COLLECTOR);
+                return Optional.of(new ChecksumValidatingPublisher(context.responsePublisher().get(), checksum, contentLength,
+                                                                   byteBufferPool, metricCollector));
             }
         }
 
@@ -153,6 +153,29 @@ public class ChecksumValidatingPublisherTest {
     assertFalse(s.isOnErrorCalled());
   }
 
+  @Test
+  public void testTwoPackets_directAndSlicedBuffers() {
+    for (int i = 1; i < TEST_DATA_SIZE + CHECKSUM_SIZE - 1; i++) {
+      final TestPublisher driver = new TestPublisher();
+      final TestSubscriber s = new TestSubscriber();
+      final ChecksumValidatingPublisher p = new ChecksumValidatingPublisher(driver, new Md5Checksum(), TEST_DATA_SIZE + CHECKSUM_SIZE);
+      p.subscribe(s);
+
+      ByteBuffer direct = ByteBuffer.allocateDirect(i);
+      direct.put(testData, 0, i);
+      direct.flip();
+      ByteBuffer sliced = ByteBuffer.wrap(testData);
+      sliced.position(i);
+      driver.doOnNext(direct);
+      driver.doOnNext(sliced.slice());
+      driver.doOnComplete();
+
+      assertArrayEquals(testDataWithoutChecksum, s.receivedData());
+      assertTrue(s.hasCompleted());
+      assertFalse(s.isOnErrorCalled());
+    }
+  }
+
   @Test
   public void checksumValidationFailure_throwsSdkClientException_NotNPE() {
     final byte[] incorrectData = new byte[0];
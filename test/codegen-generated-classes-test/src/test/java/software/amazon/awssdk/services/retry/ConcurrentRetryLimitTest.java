@@ -0,0 +1,200 @@
+/*
+ * Copyright Amazon.com, Inc. or its affiliates. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License").
+ * You may not use this file except in compliance with the License.
+ * A copy of the License is located at
+ *
+ *  http://aws.amazon.com/apache2.0
+ *
+ * or in the "license" file accompanying this file. This file is distributed
+ * on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either
+ * express or implied. See the License for the specific language governing
+ * permissions and limitations under the License.
+ */
+
+
+package software.amazon.awssdk.services.retry;
+
+import static com.github.tomakehurst.wiremock.client.WireMock.aResponse;
+import static com.github.tomakehurst.wiremock.client.WireMock.anyRequestedFor;
+import static com.github.tomakehurst.wiremock.client.WireMock.anyUrl;
+import static com.github.tomakehurst.wiremock.client.WireMock.matching;
+import static com.github.tomakehurst.wiremock.client.WireMock.post;
+import static com.github.tomakehurst.wiremock.client.WireMock.stubFor;
+import static org.assertj.core.api.Assertions.assertThat;
+
+import com.github.tomakehurst.wiremock.junit.WireMockRule;
+import java.net.URI;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import software.amazon.awssdk.auth.credentials.AwsBasicCredentials;
+import software.amazon.awssdk.auth.credentials.StaticCredentialsProvider;
+import software.amazon.awssdk.core.metrics.CoreMetric;
+import software.amazon.awssdk.core.retry.RetryMode;
+import software.amazon.awssdk.core.retry.RetryPolicy;
+import software.amazon.awssdk.core.retry.backoff.DecorrelatedJitterBackoffStrategy;
+import software.amazon.awssdk.metrics.MetricCollection;
+import software.amazon.awssdk.metrics.MetricPublisher;
+import software.amazon.awssdk.metrics.SdkMetric;
+import software.amazon.awssdk.regions.Region;
+import software.amazon.awssdk.services.protocolrestjson.ProtocolRestJsonAsyncClient;
+import software.amazon.awssdk.services.protocolrestjson.ProtocolRestJsonClient;
+import software.amazon.awssdk.services.protocolrestjson.model.AllTypesRequest;
+
+/**
+ * Sends concurrent requests to a server that fails every request, and verifies that
+ * {@link RetryPolicy.Builder#maxConcurrentRetriesPerEndpoint(Integer)} bounds the retries that reach it.
+ */
+public class ConcurrentRetryLimitTest {
+    private static final int CALLERS = 10;
+    private static final int NUM_RETRIES = 3;
+    private static final int MAX_CONCURRENT_RETRIES = 2;
+
+    @Rule
+    public WireMockRule wireMock = new WireMockRule(0);
+
+    private final CollectingMetricPublisher metricPublisher = new CollectingMetricPublisher();
+    private ExecutorService executor;
+
+    @Before
+    public void setup() {
+        executor = Executors.newFixedThreadPool(CALLERS);
+        // Slow failures, so that the failed attempts of all callers overlap.
+        stubFor(post(anyUrl()).willReturn(aResponse().withStatus(503).withFixedDelay(300)));
+    }
+
+    @After
+    public void teardown() throws InterruptedException {
+        executor.shutdownNow();
+        executor.awaitTermination(5, TimeUnit.SECONDS);
+    }
+
+    @Test(timeout = 30_000)
+    public void syncClient_withoutLimit_retriesEveryCall() throws Exception {
+        ProtocolRestJsonClient client = syncClient(retryPolicy(null));
+        callConcurrently(() -> client.allTypes(AllTypesRequest.builder().build()));
+
+        assertThat(retryRequests()).isEqualTo(CALLERS * NUM_RETRIES);
+        assertThat(metricPublisher.values(CoreMetric.RETRY_REJECTED)).isEmpty();
+    }
+
+    @Test(timeout = 30_000)
+    public void syncClient_withLimit_rejectsRetriesAboveLimit() throws Exception {
+        ProtocolRestJsonClient client = syncClient(retryPolicy(MAX_CONCURRENT_RETRIES));
+        callConcurrently(() -> client.allTypes(AllTypesRequest.builder().build()));
+
+        assertRetriesWereLimited();
+    }
+
+    @Test(timeout = 30_000)
+    public void asyncClient_withLimit_rejectsRetriesAboveLimit() throws Exception {
+        ProtocolRestJsonAsyncClient client =
+            ProtocolRestJsonAsyncClient.builder()
+                                      .credentialsProvider(StaticCredentialsProvider.create(AwsBasicCredentials.create("akid",
+                                                                                                                       "skid")))
+                                      .region(Region.US_EAST_1)
+                                      .endpointOverride(URI.create("http://localhost:" + wireMock.port()))
+                                      .overrideConfiguration(c -> c.retryPolicy(retryPolicy(MAX_CONCURRENT_RETRIES))
+                                                                   .addMetricPublisher(metricPublisher))
+                                      .build();
+
+        List<CompletableFuture<?>> calls = new ArrayList<>();
+        for (int i = 0; i < CALLERS; i++) {
+            calls.add(client.allTypes(AllTypesRequest.builder().build()));
+        }
+        for (CompletableFuture<?> call : calls) {
+            assertThat(call).failsWithin(Duration.ofSeconds(20));
+        }
+
+        assertRetriesWereLimited();
+    }
+
+    private void assertRetriesWereLimited() {
+        // Every caller failed at the same time, but only MAX_CONCURRENT_RETRIES of them were allowed to retry.
+        assertThat(retryRequests()).isLessThanOrEqualTo(MAX_CONCURRENT_RETRIES * NUM_RETRIES);
+        assertThat(metricPublisher.values(CoreMetric.RETRY_REJECTED)).hasSize(CALLERS);
+        assertThat(metricPublisher.values(CoreMetric.RETRY_REJECTED).stream().filter(Boolean.TRUE::equals).count())
+            .isGreaterThanOrEqualTo(CALLERS - MAX_CONCURRENT_RETRIES);
+        assertThat(metricPublisher.values(CoreMetric.CONCURRENT_RETRIES))
+            .allSatisfy(concurrentRetries -> assertThat(concurrentRetries).isBetween(0, MAX_CONCURRENT_RETRIES));
+    }
+
+    private int retryRequests() {
+        return wireMock.findAll(anyRequestedFor(anyUrl()).withHeader("amz-sdk-request", matching("attempt=[2-9];.*")))
+                       .size();
+    }
+
+    private void callConcurrently(Runnable call) throws Exception {
+        CountDownLatch start = new CountDownLatch(1);
+        List<Future<?>> calls = new ArrayList<>();
+        for (int i = 0; i < CALLERS; i++) {
+            calls.add(executor.submit(() -> {
+                start.await();
+                try {
+                    call.run();
+                } catch (RuntimeException e) {
+                    // Expected, every request fails.
+                }
+                return null;
+            }));
+        }
+        start.countDown();
+        for (Future<?> f : calls) {
+            f.get();
+        }
+    }
+
+    private ProtocolRestJsonClient syncClient(RetryPolicy retryPolicy) {
+        return ProtocolRestJsonClient.builder()
+                                    .credentialsProvider(StaticCredentialsProvider.create(AwsBasicCredentials.create("akid",
+                                                                                                                     "skid")))
+                                    .region(Region.US_EAST_1)
+                                    .endpointOverride(URI.create("http://localhost:" + wireMock.port()))
+                                    .overrideConfiguration(c -> c.retryPolicy(retryPolicy)
+                                                                 .addMetricPublisher(metricPublisher))
+                                    .build();
+    }
+
+    private static RetryPolicy retryPolicy(Integer maxConcurrentRetriesPerEndpoint) {
+        return RetryPolicy.builder(RetryMode.STANDARD)
+                          .numRetries(NUM_RETRIES)
+                          .backoffStrategy(DecorrelatedJitterBackoffStrategy.builder()
+                                                                            .baseDelay(Duration.ofMillis(10))
+                                                                            .maxBackoffTime(Duration.ofMillis(50))
+                                                                            .build())
+                          .maxConcurrentRetriesPerEndpoint(maxConcurrentRetriesPerEndpoint)
+                          .build();
+    }
+
+    private static final class CollectingMetricPublisher implements MetricPublisher {
+        private final ConcurrentLinkedQueue<MetricCollection> collections = new ConcurrentLinkedQueue<>();
+
+        @Override
+        public void publish(MetricCollection metricCollection) {
+            collections.add(metricCollection);
+        }
+
+        private <T> List<T> values(SdkMetric<T> metric) {
+            List<T> values = new ArrayList<>();
+            collections.forEach(c -> values.addAll(c.metricValues(metric)));
+            return values;
+        }
+
+        @Override
+        public void close() {
+        }
+    }
+}
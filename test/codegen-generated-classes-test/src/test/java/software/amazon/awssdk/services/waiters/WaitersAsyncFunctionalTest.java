@@ -20,6 +20,7 @@ import static org.assertj.core.api.Assertions.assertThatThrownBy;
 import static org.mockito.Matchers.any;
 import static org.mockito.Mockito.mock;
 import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
@@ -28,6 +29,7 @@ import java.util.concurrent.ScheduledExecutorService;
 import org.junit.jupiter.api.AfterEach;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
 import software.amazon.awssdk.awscore.exception.AwsErrorDetails;
 import software.amazon.awssdk.core.exception.SdkClientException;
 import software.amazon.awssdk.core.exception.SdkServiceException;
@@ -198,6 +200,37 @@ public class WaitersAsyncFunctionalTest {
             .hasCauseInstanceOf(SdkClientException.class);
     }
 
+    @Test
+    public void batchedWaiter_waitsPendingAtTheSameTime_arePolledWithOneRequest() {
+        AllTypesResponse response = AllTypesResponse.builder().simpleList("ready", "ready").build();
+        when(asyncClient.allTypes(any(AllTypesRequest.class))).thenReturn(CompletableFuture.completedFuture(response));
+
+        CompletableFuture<WaiterResponse<AllTypesResponse>> first =
+            asyncWaiter.waitUntilAllTypesBatchedSuccess(AllTypesRequest.builder().simpleList("a").build());
+        CompletableFuture<WaiterResponse<AllTypesResponse>> second =
+            asyncWaiter.waitUntilAllTypesBatchedSuccess(AllTypesRequest.builder().simpleList("b").build());
+
+        assertThat(first.join().attemptsExecuted()).isEqualTo(1);
+        assertThat(second.join().attemptsExecuted()).isEqualTo(1);
+
+        ArgumentCaptor<AllTypesRequest> requests = ArgumentCaptor.forClass(AllTypesRequest.class);
+        verify(asyncClient).allTypes(requests.capture());
+        assertThat(requests.getValue().simpleList()).containsExactly("a", "b");
+    }
+
+    @Test
+    public void batchedWaiter_moreResourcesThanMaxBatchSize_arePolledWithSeveralRequests() {
+        AllTypesResponse response = AllTypesResponse.builder().simpleList("ready").build();
+        when(asyncClient.allTypes(any(AllTypesRequest.class))).thenReturn(CompletableFuture.completedFuture(response));
+
+        CompletableFuture.allOf(asyncWaiter.waitUntilAllTypesBatchedSuccess(r -> r.simpleList("a")),
+                                asyncWaiter.waitUntilAllTypesBatchedSuccess(r -> r.simpleList("b")),
+                                asyncWaiter.waitUntilAllTypesBatchedSuccess(r -> r.simpleList("c")))
+                         .join();
+
+        verify(asyncClient, times(2)).allTypes(any(AllTypesRequest.class));
+    }
+
     @Test
     public void closeWaiterCreatedWithClient_clientDoesNotClose() {
         asyncWaiter.close();
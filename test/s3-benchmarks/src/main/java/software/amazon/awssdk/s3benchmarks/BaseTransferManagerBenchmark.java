@@ -24,15 +24,19 @@ import java.nio.file.Path;
 import java.util.ArrayList;
 import java.util.List;
 import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.atomic.LongAdder;
 import software.amazon.awssdk.core.async.AsyncRequestBody;
 import software.amazon.awssdk.core.async.AsyncResponseTransformer;
+import software.amazon.awssdk.services.s3.S3AsyncClient;
 import software.amazon.awssdk.services.s3.S3Client;
 import software.amazon.awssdk.services.s3.model.GetObjectRequest;
 import software.amazon.awssdk.services.s3.model.HeadObjectResponse;
 import software.amazon.awssdk.services.s3.model.PutObjectRequest;
 import software.amazon.awssdk.testutils.RandomTempFile;
 import software.amazon.awssdk.transfer.s3.S3TransferManager;
+import software.amazon.awssdk.transfer.s3.TransferRequestOverrideConfiguration;
 import software.amazon.awssdk.transfer.s3.internal.S3CrtAsyncClient;
+import software.amazon.awssdk.transfer.s3.progress.TransferListener;
 import software.amazon.awssdk.utils.Logger;
 
 public abstract class BaseTransferManagerBenchmark implements TransferManagerBenchmark {
@@ -43,29 +47,53 @@ public abstract class BaseTransferManagerBenchmark implements TransferManagerBen
     private static final String WARMUP_KEY = "warmupobject";
 
     protected final S3TransferManager transferManager;
-    protected final S3CrtAsyncClient s3;
+    protected final S3AsyncClient s3;
     protected final S3Client s3Sync;
     protected final String bucket;
     protected final String key;
     protected final String path;
+    protected final TransferManagerBenchmarkConfig.ClientType client;
+
+    /**
+     * The override configuration of the benchmarked transfers, which attaches a progress listener when the benchmark runs with
+     * {@code --progressListener}, or null
+     */
+    protected final TransferRequestOverrideConfiguration overrideConfiguration;
+    private final boolean progressListener;
+    private final LongAdder progressNotifications = new LongAdder();
     private final File file;
 
     BaseTransferManagerBenchmark(TransferManagerBenchmarkConfig config) {
         logger.info(() -> "Benchmark config: " + config);
         Long partSizeInMb = config.partSizeInMb() == null ? null : config.partSizeInMb() * 1024 * 1024L;
-        s3 = S3CrtAsyncClient.builder()
-                             .targetThroughputInGbps(config.targetThroughput())
-                             .minimumPartSizeInBytes(partSizeInMb)
-                             .build();
+        client = config.client();
         s3Sync = S3Client.builder()
                          .build();
-        transferManager = S3TransferManager.builder()
-                                           .s3ClientConfiguration(b -> b.targetThroughputInGbps(config.targetThroughput())
-                                           .minimumPartSizeInBytes(partSizeInMb))
-                                           .build();
+        if (client == TransferManagerBenchmarkConfig.ClientType.JAVA) {
+            s3 = S3AsyncClient.builder()
+                              .build();
+            transferManager = S3TransferManager.builder()
+                                               .s3AsyncClient(s3)
+                                               .s3ClientConfiguration(b -> b.minimumPartSizeInBytes(partSizeInMb))
+                                               .build();
+        } else {
+            s3 = S3CrtAsyncClient.builder()
+                                 .targetThroughputInGbps(config.targetThroughput())
+                                 .minimumPartSizeInBytes(partSizeInMb)
+                                 .build();
+            transferManager = S3TransferManager.builder()
+                                               .s3ClientConfiguration(b -> b.targetThroughputInGbps(config.targetThroughput())
+                                               .minimumPartSizeInBytes(partSizeInMb))
+                                               .build();
+        }
         bucket = config.bucket();
         key = config.key();
         path = config.filePath();
+        progressListener = config.progressListener();
+        overrideConfiguration = progressListener ? TransferRequestOverrideConfiguration.builder()
+                                                                                       .addListener(new ProgressListener())
+                                                                                       .build()
+                                                 : null;
         try {
             file = new RandomTempFile(1024 * 1000L);
         } catch (IOException e) {
@@ -96,7 +124,8 @@ public abstract class BaseTransferManagerBenchmark implements TransferManagerBen
     protected abstract void doRunBenchmark();
 
     protected final void printOutResult(List<Double> metrics, String name) {
-        logger.info(() -> String.format("===============  %s Result ================", name));
+        logger.info(() -> String.format("===============  %s Result (%s client, %s) ================", name, client,
+                                        progressListener ? "with progress listener" : "without listener"));
         logger.info(() -> "" + metrics);
         double averageLatency = metrics.stream()
                                        .mapToDouble(a -> a)
@@ -113,12 +142,16 @@ public abstract class BaseTransferManagerBenchmark implements TransferManagerBen
         logger.info(() -> "Object size (Gigabit): " + contentLengthInGigabit);
         logger.info(() -> "Average throughput (Gbps): " + contentLengthInGigabit / averageLatency);
         logger.info(() -> "Highest average throughput (Gbps): " + contentLengthInGigabit / lowestLatency);
+        if (progressListener) {
+            logger.info(() -> "Progress notifications: " + progressNotifications.sumThenReset());
+        }
         logger.info(() -> "==========================================================");
     }
 
     private void cleanup() {
         s3Sync.deleteObject(b -> b.bucket(bucket).key(WARMUP_KEY));
         transferManager.close();
+        s3.close();
     }
 
     private void warmUp() throws InterruptedException {
@@ -155,4 +188,15 @@ public abstract class BaseTransferManagerBenchmark implements TransferManagerBen
 
         CompletableFuture.allOf(futures.toArray(new CompletableFuture<?>[0])).join();
     }
+
+    /**
+     * A listener that reads the progress of every chunk, like a progress bar would, without the cost of printing it
+     */
+    private final class ProgressListener implements TransferListener {
+        @Override
+        public void bytesTransferred(Context.BytesTransferred context) {
+            context.progressSnapshot().ratioTransferred();
+            progressNotifications.increment();
+        }
+    }
 }
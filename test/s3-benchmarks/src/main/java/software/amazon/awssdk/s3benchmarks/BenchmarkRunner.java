@@ -29,6 +29,8 @@ public class BenchmarkRunner {
     private static final String MAX_THROUGHPUT = "maxThroughput";
     private static final String KEY = "key";
     private static final String OPERATION = "operation";
+    private static final String CLIENT = "client";
+    private static final String PROGRESS_LISTENER = "progressListener";
 
     private BenchmarkRunner() {
     }
@@ -45,6 +47,9 @@ public class BenchmarkRunner {
         options.addRequiredOption(null, OPERATION, true, "The operation to benchmark against");
         options.addOption(null, PART_SIZE_IN_MB, true, "Part size in MB");
         options.addOption(null, MAX_THROUGHPUT, true, "The max throughput");
+        options.addOption(null, CLIENT, true, "The client to transfer with: crt (default) or java");
+        options.addOption(null, PROGRESS_LISTENER, false, "Attach a TransferListener that reads the progress of every "
+                                                          + "transferred chunk");
 
         CommandLine cmd = parser.parse(options, args);
         TransferManagerBenchmarkConfig config = parseConfig(cmd);
@@ -57,6 +62,15 @@ public class BenchmarkRunner {
             case UPLOAD:
                 TransferManagerBenchmark.upload(config).run();
                 break;
+            case COPY:
+                TransferManagerBenchmark.copy(config).run();
+                break;
+            case READ_CHANNEL:
+                TransferManagerBenchmark.readChannel(config).run();
+                break;
+            case SELECT_RECORDS:
+                TransferManagerBenchmark.selectRecords(config).run();
+                break;
             default:
                 throw new UnsupportedOperationException();
         }
@@ -72,17 +86,26 @@ public class BenchmarkRunner {
         Double maxThroughput = cmd.getOptionValue(MAX_THROUGHPUT) == null ? null :
                                Double.parseDouble(cmd.getOptionValue(MAX_THROUGHPUT));
 
+        TransferManagerBenchmarkConfig.ClientType client =
+            cmd.getOptionValue(CLIENT) == null ? null :
+            TransferManagerBenchmarkConfig.ClientType.valueOf(cmd.getOptionValue(CLIENT).toUpperCase(Locale.ENGLISH));
+
         return TransferManagerBenchmarkConfig.builder()
                                              .key(key)
                                              .bucket(bucket)
                                              .partSizeInMb(partSize)
                                              .targetThroughput(maxThroughput)
                                              .filePath(filePath)
+                                             .client(client)
+                                             .progressListener(cmd.hasOption(PROGRESS_LISTENER))
                                              .build();
     }
 
     private enum TransferManagerOperation {
         DOWNLOAD,
-        UPLOAD
+        UPLOAD,
+        COPY,
+        READ_CHANNEL,
+        SELECT_RECORDS
     }
 }
@@ -0,0 +1,119 @@
+/*
+ * Copyright Amazon.com, Inc. or its affiliates. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License").
+ * You may not use this file except in compliance with the License.
+ * A copy of the License is located at
+ *
+ *  http://aws.amazon.com/apache2.0
+ *
+ * or in the "license" file accompanying this file. This file is distributed
+ * on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either
+ * express or implied. See the License for the specific language governing
+ * permissions and limitations under the License.
+ */
+
+
+package software.amazon.awssdk.s3benchmarks;
+
+import java.util.Arrays;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+import software.amazon.awssdk.core.async.AsyncRequestBody;
+import software.amazon.awssdk.core.async.AsyncResponseTransformer;
+import software.amazon.awssdk.services.s3.S3AsyncClient;
+import software.amazon.awssdk.services.s3.model.GetObjectRequest;
+import software.amazon.awssdk.services.s3.model.GetObjectResponse;
+import software.amazon.awssdk.services.s3.model.HeadObjectRequest;
+import software.amazon.awssdk.services.s3.model.HeadObjectResponse;
+
+/**
+ * A local stand-in for S3 that serves a single object from memory, delaying every response by a fixed time to first byte and
+ * by the time the body would take at a fixed per-connection bandwidth, so that the number and size of requests affect the
+ * results the way they do against S3.
+ */
+class LocalS3StandIn implements S3AsyncClient {
+    static final long TIME_TO_FIRST_BYTE_MS = 30;
+    static final long BYTES_PER_SECOND_PER_CONNECTION = 80L * 1024 * 1024;
+
+    private static final Pattern RANGE = Pattern.compile("bytes=(\\d+)-(\\d+)");
+    private static final String ETAG = "\"stand-in\"";
+
+    private final ScheduledExecutorService executor = Executors.newScheduledThreadPool(16);
+    private final byte[] object;
+    private final AtomicLong getRequests = new AtomicLong();
+    private final AtomicLong bytesServed = new AtomicLong();
+
+    LocalS3StandIn(byte[] object) {
+        this.object = object;
+    }
+
+    long getRequests() {
+        return getRequests.get();
+    }
+
+    long bytesServed() {
+        return bytesServed.get();
+    }
+
+    void resetCounters() {
+        getRequests.set(0);
+        bytesServed.set(0);
+    }
+
+    @Override
+    public CompletableFuture<HeadObjectResponse> headObject(HeadObjectRequest headObjectRequest) {
+        CompletableFuture<HeadObjectResponse> future = new CompletableFuture<>();
+        executor.schedule(() -> future.complete(HeadObjectResponse.builder()
+                                                                  .eTag(ETAG)
+                                                                  .contentLength((long) object.length)
+                                                                  .build()),
+                          TIME_TO_FIRST_BYTE_MS, TimeUnit.MILLISECONDS);
+        return future;
+    }
+
+    @Override
+    public <ReturnT> CompletableFuture<ReturnT> getObject(GetObjectRequest getObjectRequest,
+                                                          AsyncResponseTransformer<GetObjectResponse, ReturnT> transformer) {
+        getRequests.incrementAndGet();
+        CompletableFuture<ReturnT> future = transformer.prepare();
+        int start = 0;
+        int end = object.length - 1;
+        if (getObjectRequest.range() != null) {
+            Matcher matcher = RANGE.matcher(getObjectRequest.range());
+            if (!matcher.matches()) {
+                throw new IllegalArgumentException("Unsupported range: " + getObjectRequest.range());
+            }
+            start = Integer.parseInt(matcher.group(1));
+            end = (int) Math.min(Long.parseLong(matcher.group(2)), object.length - 1);
+        }
+        byte[] body = Arrays.copyOfRange(object, start, end + 1);
+        bytesServed.addAndGet(body.length);
+        String contentRange = "bytes " + start + "-" + end + "/" + object.length;
+        long delayMs = TIME_TO_FIRST_BYTE_MS + TimeUnit.SECONDS.toMillis(body.length) / BYTES_PER_SECOND_PER_CONNECTION;
+        executor.schedule(() -> {
+            transformer.onResponse(GetObjectResponse.builder()
+                                                    .eTag(ETAG)
+                                                    .contentLength((long) body.length)
+                                                    .contentRange(contentRange)
+                                                    .build());
+            transformer.onStream(AsyncRequestBody.fromBytes(body));
+        }, delayMs, TimeUnit.MILLISECONDS);
+        return future;
+    }
+
+    @Override
+    public String serviceName() {
+        return "s3";
+    }
+
+    @Override
+    public void close() {
+        executor.shutdownNow();
+    }
+}
@@ -34,4 +34,16 @@ public interface TransferManagerBenchmark {
         return new TransferManagerUploadBenchmark(config);
     }
 
+    static TransferManagerBenchmark copy(TransferManagerBenchmarkConfig config) {
+        return new TransferManagerCopyBenchmark(config);
+    }
+
+    static TransferManagerBenchmark readChannel(TransferManagerBenchmarkConfig config) {
+        return new TransferManagerReadChannelBenchmark(config);
+    }
+
+    static TransferManagerBenchmark selectRecords(TransferManagerBenchmarkConfig config) {
+        return new TransferManagerSelectRecordsBenchmark(config);
+    }
+
 }
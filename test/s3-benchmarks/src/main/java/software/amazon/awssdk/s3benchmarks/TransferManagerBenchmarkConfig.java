@@ -21,6 +21,8 @@ public class TransferManagerBenchmarkConfig {
     private final String key;
     private final Double targetThroughput;
     private final Long partSizeInMb;
+    private final ClientType client;
+    private final boolean progressListener;
 
     private TransferManagerBenchmarkConfig(Builder builder) {
         this.filePath = builder.filePath;
@@ -28,6 +30,8 @@ public class TransferManagerBenchmarkConfig {
         this.key = builder.key;
         this.targetThroughput = builder.targetThroughput;
         this.partSizeInMb = builder.partSizeInMb;
+        this.client = builder.client == null ? ClientType.CRT : builder.client;
+        this.progressListener = builder.progressListener;
     }
 
     public String filePath() {
@@ -50,6 +54,14 @@ public class TransferManagerBenchmarkConfig {
         return partSizeInMb;
     }
 
+    public ClientType client() {
+        return client;
+    }
+
+    public boolean progressListener() {
+        return progressListener;
+    }
+
     public static Builder builder() {
         return new Builder();
     }
@@ -62,6 +74,8 @@ public class TransferManagerBenchmarkConfig {
                ", key: '" + key + '\'' +
                ", targetThroughput: " + targetThroughput +
                ", partSizeInMB: " + partSizeInMb +
+               ", client: " + client +
+               ", progressListener: " + progressListener +
                '}';
     }
 
@@ -71,6 +85,8 @@ public class TransferManagerBenchmarkConfig {
         private String key;
         private Double targetThroughput;
         private Long partSizeInMb;
+        private ClientType client;
+        private boolean progressListener;
 
         public Builder filePath(String filePath) {
             this.filePath = filePath;
@@ -97,8 +113,33 @@ public class TransferManagerBenchmarkConfig {
             return this;
         }
 
+        public Builder client(ClientType client) {
+            this.client = client;
+            return this;
+        }
+
+        public Builder progressListener(boolean progressListener) {
+            this.progressListener = progressListener;
+            return this;
+        }
+
         public TransferManagerBenchmarkConfig build() {
             return new TransferManagerBenchmarkConfig(this);
         }
     }
+
+    /**
+     * The client the transfer manager transfers objects with
+     */
+    public enum ClientType {
+        /**
+         * The CRT-based S3 client, which splits transfers into parts natively
+         */
+        CRT,
+
+        /**
+         * The standard {@code S3AsyncClient}, with transfers split into parts by the transfer manager
+         */
+        JAVA
+    }
 }
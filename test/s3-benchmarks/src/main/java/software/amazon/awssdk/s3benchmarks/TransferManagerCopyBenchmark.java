@@ -0,0 +1,68 @@
+/*
+ * Copyright Amazon.com, Inc. or its affiliates. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License").
+ * You may not use this file except in compliance with the License.
+ * A copy of the License is located at
+ *
+ *  http://aws.amazon.com/apache2.0
+ *
+ * or in the "license" file accompanying this file. This file is distributed
+ * on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either
+ * express or implied. See the License for the specific language governing
+ * permissions and limitations under the License.
+ */
+
+
+package software.amazon.awssdk.s3benchmarks;
+
+import java.util.ArrayList;
+import java.util.List;
+import software.amazon.awssdk.utils.Logger;
+
+public class TransferManagerCopyBenchmark extends BaseTransferManagerBenchmark {
+    private static final Logger logger = Logger.loggerFor("TransferManagerCopyBenchmark");
+    private static final String COPY_SUFFIX = "-copy";
+
+    public TransferManagerCopyBenchmark(TransferManagerBenchmarkConfig config) {
+        super(config);
+    }
+
+    @Override
+    protected void doRunBenchmark() {
+        try {
+            copy(BENCHMARK_ITERATIONS, true);
+        } catch (Exception exception) {
+            logger.error(() -> "Request failed: ", exception);
+        } finally {
+            s3Sync.deleteObject(b -> b.bucket(bucket).key(key + COPY_SUFFIX));
+        }
+    }
+
+    @Override
+    protected void additionalWarmup() {
+        copy(3, false);
+    }
+
+    private void copy(int count, boolean printOutResult) {
+        List<Double> metrics = new ArrayList<>();
+        logger.info(() -> "Starting to copy");
+        for (int i = 0; i < count; i++) {
+            copyOnce(metrics);
+        }
+        if (printOutResult) {
+            printOutResult(metrics, "Copy");
+        }
+    }
+
+    private void copyOnce(List<Double> latencies) {
+        long start = System.currentTimeMillis();
+        transferManager.copy(b -> b.copyObjectRequest(r -> r.sourceBucket(bucket)
+                                                            .sourceKey(key)
+                                                            .destinationBucket(bucket)
+                                                            .destinationKey(key + COPY_SUFFIX)))
+                       .completionFuture().join();
+        long end = System.currentTimeMillis();
+        latencies.add((end - start) / 1000.0);
+    }
+}
@@ -77,7 +77,8 @@ public class TransferManagerDownloadBenchmark extends BaseTransferManagerBenchma
         long start = System.currentTimeMillis();
         FileDownload download =
             transferManager.downloadFile(b -> b.getObjectRequest(r -> r.bucket(bucket).key(key))
-                                               .destination(downloadPath));
+                                               .destination(downloadPath)
+                                               .overrideConfiguration(overrideConfiguration));
         download.completionFuture().join();
         long end = System.currentTimeMillis();
         latencies.add((end - start) / 1000.0);
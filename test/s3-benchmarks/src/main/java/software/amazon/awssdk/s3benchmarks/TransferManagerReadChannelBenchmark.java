@@ -0,0 +1,152 @@
+/*
+ * Copyright Amazon.com, Inc. or its affiliates. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License").
+ * You may not use this file except in compliance with the License.
+ * A copy of the License is located at
+ *
+ *  http://aws.amazon.com/apache2.0
+ *
+ * or in the "license" file accompanying this file. This file is distributed
+ * on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either
+ * express or implied. See the License for the specific language governing
+ * permissions and limitations under the License.
+ */
+
+
+package software.amazon.awssdk.s3benchmarks;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.SeekableByteChannel;
+import java.nio.file.Files;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.List;
+import software.amazon.awssdk.core.async.AsyncResponseTransformer;
+import software.amazon.awssdk.transfer.s3.S3TransferManager;
+import software.amazon.awssdk.utils.Logger;
+
+/**
+ * Compares reading an object through {@link S3TransferManager#openReadChannel} with sending a ranged GET for every read, using
+ * the access pattern of a reader of a columnar file such as Parquet: the length of the footer is read from the end of the
+ * object, then the footer, then a few columns out of every row group. The columns are read either a whole column chunk at a
+ * time, as parquet-mr does, or a page at a time, as readers that stream pages do.
+ * <p>
+ * The object is the content of the benchmark file, served by a {@link LocalS3StandIn} rather than S3, so that the benchmark
+ * measures the requests the reader sends rather than the network.
+ */
+public class TransferManagerReadChannelBenchmark implements TransferManagerBenchmark {
+    private static final Logger logger = Logger.loggerFor("TransferManagerReadChannelBenchmark");
+
+    private static final int WARMUP_ITERATIONS = 1;
+    private static final int BENCHMARK_ITERATIONS = 5;
+    private static final int FOOTER_LENGTH_SIZE = 8;
+    private static final int MAX_FOOTER_SIZE = 1024 * 1024;
+    private static final int ROW_GROUPS = 4;
+    private static final int COLUMNS = 10;
+    private static final int[] SELECTED_COLUMNS = {1, 4, 7};
+    private static final int PAGE_SIZE = 64 * 1024;
+
+    private final TransferManagerBenchmarkConfig config;
+
+    public TransferManagerReadChannelBenchmark(TransferManagerBenchmarkConfig config) {
+        this.config = config;
+    }
+
+    @Override
+    public void run() {
+        logger.info(() -> "Benchmark config: " + config);
+        byte[] object;
+        try {
+            object = Files.readAllBytes(Paths.get(config.filePath()));
+        } catch (IOException e) {
+            throw new UncheckedIOException("Failed to read " + config.filePath(), e);
+        }
+        Long partSizeInBytes = config.partSizeInMb() == null ? null : config.partSizeInMb() * 1024 * 1024L;
+
+        try (LocalS3StandIn s3 = new LocalS3StandIn(object);
+             S3TransferManager transferManager = S3TransferManager.builder()
+                                                                  .s3AsyncClient(s3)
+                                                                  .s3ClientConfiguration(b -> b.minimumPartSizeInBytes(
+                                                                      partSizeInBytes))
+                                                                  .build()) {
+            benchmark(s3, transferManager, "Column chunks", columnarAccessPattern(object.length, Long.MAX_VALUE));
+            benchmark(s3, transferManager, "Pages", columnarAccessPattern(object.length, PAGE_SIZE));
+        }
+    }
+
+    private void benchmark(LocalS3StandIn s3, S3TransferManager transferManager, String pattern, List<long[]> reads) {
+        for (int i = 0; i < WARMUP_ITERATIONS; i++) {
+            readWithRangedGets(s3, reads);
+            readWithChannel(transferManager, reads);
+        }
+        benchmark(s3, pattern + ", ranged GET per read", () -> readWithRangedGets(s3, reads));
+        benchmark(s3, pattern + ", read channel", () -> readWithChannel(transferManager, reads));
+    }
+
+    private void benchmark(LocalS3StandIn s3, String name, Runnable read) {
+        List<Double> latencies = new ArrayList<>();
+        s3.resetCounters();
+        for (int i = 0; i < BENCHMARK_ITERATIONS; i++) {
+            long start = System.currentTimeMillis();
+            read.run();
+            long end = System.currentTimeMillis();
+            latencies.add((end - start) / 1000.0);
+        }
+        double averageLatency = latencies.stream().mapToDouble(a -> a).average().orElse(0.0);
+        logger.info(() -> String.format("===============  %s Result ================", name));
+        logger.info(() -> "" + latencies);
+        logger.info(() -> "Average latency (s): " + averageLatency);
+        logger.info(() -> "GET requests per iteration: " + s3.getRequests() / BENCHMARK_ITERATIONS);
+        logger.info(() -> "Bytes fetched per iteration: " + s3.bytesServed() / BENCHMARK_ITERATIONS);
+        logger.info(() -> "==========================================================");
+    }
+
+    /**
+     * The reads of a columnar reader in an object of the given size, each read being a position and a length.
+     */
+    private static List<long[]> columnarAccessPattern(long size, long maxReadSize) {
+        List<long[]> reads = new ArrayList<>();
+        long footerSize = Math.min(MAX_FOOTER_SIZE, size / 100);
+        long footerStart = size - FOOTER_LENGTH_SIZE - footerSize;
+        reads.add(new long[] {size - FOOTER_LENGTH_SIZE, FOOTER_LENGTH_SIZE});
+        reads.add(new long[] {footerStart, footerSize});
+
+        long rowGroupSize = footerStart / ROW_GROUPS;
+        long columnChunkSize = rowGroupSize / COLUMNS;
+        for (int rowGroup = 0; rowGroup < ROW_GROUPS; rowGroup++) {
+            for (int column : SELECTED_COLUMNS) {
+                long columnChunkStart = rowGroup * rowGroupSize + column * columnChunkSize;
+                for (long offset = 0; offset < columnChunkSize; offset += maxReadSize) {
+                    reads.add(new long[] {columnChunkStart + offset, Math.min(maxReadSize, columnChunkSize - offset)});
+                }
+            }
+        }
+        return reads;
+    }
+
+    private static void readWithRangedGets(LocalS3StandIn s3, List<long[]> reads) {
+        for (long[] read : reads) {
+            long end = read[0] + read[1] - 1;
+            s3.getObject(r -> r.bucket("bucket").key("key").range("bytes=" + read[0] + "-" + end),
+                         AsyncResponseTransformer.toBytes())
+              .join();
+        }
+    }
+
+    private static void readWithChannel(S3TransferManager transferManager, List<long[]> reads) {
+        try (SeekableByteChannel channel = transferManager.openReadChannel(r -> r.bucket("bucket").key("key"))) {
+            for (long[] read : reads) {
+                ByteBuffer buffer = ByteBuffer.allocate((int) read[1]);
+                channel.position(read[0]);
+                while (buffer.hasRemaining() && channel.read(buffer) >= 0) {
+                    // Read fully
+                }
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+}
@@ -0,0 +1,231 @@
+/*
+ * Copyright Amazon.com, Inc. or its affiliates. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License").
+ * You may not use this file except in compliance with the License.
+ * A copy of the License is located at
+ *
+ *  http://aws.amazon.com/apache2.0
+ *
+ * or in the "license" file accompanying this file. This file is distributed
+ * on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either
+ * express or implied. See the License for the specific language governing
+ * permissions and limitations under the License.
+ */
+
+
+package software.amazon.awssdk.s3benchmarks;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.ToLongFunction;
+import org.reactivestreams.Publisher;
+import org.reactivestreams.Subscriber;
+import org.reactivestreams.Subscription;
+import software.amazon.awssdk.transfer.s3.SelectObjectContentRecords;
+import software.amazon.awssdk.utils.Logger;
+import software.amazon.eventstream.HeaderValue;
+import software.amazon.eventstream.Message;
+import software.amazon.eventstream.MessageDecoder;
+
+/**
+ * Measures how many records per second can be consumed from a recorded S3 Select result with {@link SelectObjectContentRecords},
+ * compared with decoding it the way the event stream support of the SDK does, which copies the payload of every message into a
+ * byte array, and then splitting the payloads into lines.
+ * <p>
+ * The content of the benchmark file is taken as the records selected by a query, one per line, such as a JSON lines file. It is
+ * recorded as the body of a {@code SelectObjectContent} response: {@code Records} events of up to 64 KiB, with a
+ * {@code Progress} event after every 16 of them and a {@code Stats} and an {@code End} event at the end, delivered in 8 KiB
+ * buffers as an HTTP client would deliver them. The benchmark does not use S3.
+ */
+public class TransferManagerSelectRecordsBenchmark implements TransferManagerBenchmark {
+    private static final Logger logger = Logger.loggerFor("TransferManagerSelectRecordsBenchmark");
+
+    private static final int WARMUP_ITERATIONS = 3;
+    private static final int BENCHMARK_ITERATIONS = 5;
+    private static final int RECORDS_PAYLOAD_SIZE = 64 * 1024;
+    private static final int RECORDS_EVENTS_PER_PROGRESS_EVENT = 16;
+    private static final int HTTP_BUFFER_SIZE = 8 * 1024;
+
+    private final TransferManagerBenchmarkConfig config;
+
+    public TransferManagerSelectRecordsBenchmark(TransferManagerBenchmarkConfig config) {
+        this.config = config;
+    }
+
+    @Override
+    public void run() {
+        logger.info(() -> "Benchmark config: " + config);
+        byte[] records;
+        try {
+            records = Files.readAllBytes(Paths.get(config.filePath()));
+        } catch (IOException e) {
+            throw new UncheckedIOException("Failed to read " + config.filePath(), e);
+        }
+        List<ByteBuffer> body = record(records);
+
+        for (int i = 0; i < WARMUP_ITERATIONS; i++) {
+            copyAndSplitLines(body);
+            recordBuffers(body);
+            recordLines(body);
+        }
+        benchmark("Copied payloads split into lines", body, TransferManagerSelectRecordsBenchmark::copyAndSplitLines);
+        benchmark("SelectObjectContentRecords.fromEventStream", body, TransferManagerSelectRecordsBenchmark::recordBuffers);
+        benchmark("SelectObjectContentRecords.lines", body, TransferManagerSelectRecordsBenchmark::recordLines);
+    }
+
+    private void benchmark(String name, List<ByteBuffer> body, ToLongFunction<List<ByteBuffer>> consume) {
+        List<Double> latencies = new ArrayList<>();
+        long records = 0;
+        for (int i = 0; i < BENCHMARK_ITERATIONS; i++) {
+            long start = System.nanoTime();
+            records = consume.applyAsLong(body);
+            long end = System.nanoTime();
+            latencies.add((end - start) / 1_000_000_000.0);
+        }
+        long recordsPerIteration = records;
+        long bytes = body.stream().mapToLong(ByteBuffer::remaining).sum();
+        double averageLatency = latencies.stream().mapToDouble(a -> a).average().orElse(0.0);
+        logger.info(() -> String.format("===============  %s Result ================", name));
+        logger.info(() -> "" + latencies);
+        logger.info(() -> "Average latency (s): " + averageLatency);
+        logger.info(() -> "Records per iteration: " + recordsPerIteration);
+        logger.info(() -> String.format("Records per second: %.0f", recordsPerIteration / averageLatency));
+        logger.info(() -> String.format("Throughput (MB/s): %.1f", bytes / averageLatency / 1024 / 1024));
+        logger.info(() -> "==========================================================");
+    }
+
+    /**
+     * Decode the messages with the event stream decoder of the SDK, copy every payload into a string and split it into lines,
+     * carrying a line that straddles payloads over to the next one.
+     */
+    private static long copyAndSplitLines(List<ByteBuffer> body) {
+        AtomicLong lines = new AtomicLong();
+        StringBuilder partialLine = new StringBuilder();
+        MessageDecoder decoder = new MessageDecoder(message -> {
+            if (!"Records".equals(message.getHeaders().get(":event-type").getString())) {
+                return;
+            }
+            String payload = new String(message.getPayload(), StandardCharsets.UTF_8);
+            int start = 0;
+            int end;
+            while ((end = payload.indexOf('\n', start)) >= 0) {
+                String line = partialLine.length() == 0
+                              ? payload.substring(start, end)
+                              : partialLine.append(payload, start, end).toString();
+                partialLine.setLength(0);
+                lines.incrementAndGet();
+                start = end + 1;
+            }
+            partialLine.append(payload, start, payload.length());
+        });
+        body.forEach(buffer -> decoder.feed(buffer.duplicate()));
+        return lines.get() + (partialLine.length() > 0 ? 1 : 0);
+    }
+
+    private static long recordBuffers(List<ByteBuffer> body) {
+        AtomicLong records = new AtomicLong();
+        SelectObjectContentRecords.fromEventStream(new ListPublisher(body))
+                                  .subscribe(record -> records.incrementAndGet())
+                                  .join();
+        return records.get();
+    }
+
+    private static long recordLines(List<ByteBuffer> body) {
+        AtomicLong lines = new AtomicLong();
+        SelectObjectContentRecords.lines(new ListPublisher(body))
+                                  .subscribe(line -> lines.incrementAndGet())
+                                  .join();
+        return lines.get();
+    }
+
+    /**
+     * Record the given records as the body of a {@code SelectObjectContent} response, cut into HTTP buffers.
+     */
+    private static List<ByteBuffer> record(byte[] records) {
+        ByteArrayOutputStream body = new ByteArrayOutputStream();
+        int recordsEvents = 0;
+        for (int start = 0; start < records.length; start += RECORDS_PAYLOAD_SIZE) {
+            byte[] payload = Arrays.copyOfRange(records, start, Math.min(records.length, start + RECORDS_PAYLOAD_SIZE));
+            event("Records", payload).encode(body);
+            if (++recordsEvents % RECORDS_EVENTS_PER_PROGRESS_EVENT == 0) {
+                event("Progress", "<Progress><BytesProcessed>0</BytesProcessed></Progress>"
+                    .getBytes(StandardCharsets.UTF_8)).encode(body);
+            }
+        }
+        event("Stats", "<Stats><BytesReturned>0</BytesReturned></Stats>".getBytes(StandardCharsets.UTF_8)).encode(body);
+        event("End", new byte[0]).encode(body);
+
+        byte[] bytes = body.toByteArray();
+        List<ByteBuffer> buffers = new ArrayList<>();
+        for (int start = 0; start < bytes.length; start += HTTP_BUFFER_SIZE) {
+            buffers.add(ByteBuffer.wrap(Arrays.copyOfRange(bytes, start, Math.min(bytes.length, start + HTTP_BUFFER_SIZE))));
+        }
+        return Collections.unmodifiableList(buffers);
+    }
+
+    private static Message event(String eventType, byte[] payload) {
+        Map<String, HeaderValue> headers = new LinkedHashMap<>();
+        headers.put(":message-type", HeaderValue.fromString("event"));
+        headers.put(":event-type", HeaderValue.fromString(eventType));
+        return new Message(headers, payload);
+    }
+
+    /**
+     * Publishes a duplicate of each of the given buffers on the thread that requests it.
+     */
+    private static final class ListPublisher implements Publisher<ByteBuffer> {
+        private final List<ByteBuffer> buffers;
+
+        private ListPublisher(List<ByteBuffer> buffers) {
+            this.buffers = buffers;
+        }
+
+        @Override
+        public void subscribe(Subscriber<? super ByteBuffer> subscriber) {
+            subscriber.onSubscribe(new Subscription() {
+                private final AtomicLong demand = new AtomicLong();
+                private final AtomicInteger workInProgress = new AtomicInteger();
+                private int next;
+                private volatile boolean cancelled;
+                private boolean completed;
+
+                @Override
+                public void request(long n) {
+                    demand.accumulateAndGet(n, (current, added) -> current + added < 0 ? Long.MAX_VALUE : current + added);
+                    if (workInProgress.getAndIncrement() != 0) {
+                        return;
+                    }
+                    do {
+                        while (!cancelled && demand.get() > 0 && next < buffers.size()) {
+                            demand.decrementAndGet();
+                            subscriber.onNext(buffers.get(next++).duplicate());
+                        }
+                        if (!cancelled && !completed && next == buffers.size()) {
+                            completed = true;
+                            subscriber.onComplete();
+                        }
+                    } while (workInProgress.decrementAndGet() != 0);
+                }
+
+                @Override
+                public void cancel() {
+                    cancelled = true;
+                }
+            });
+        }
+    }
+}
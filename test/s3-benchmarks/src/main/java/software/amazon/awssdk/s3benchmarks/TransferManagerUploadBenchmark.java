@@ -56,7 +56,8 @@ public class TransferManagerUploadBenchmark extends BaseTransferManagerBenchmark
         File sourceFile = new File(path);
         long start = System.currentTimeMillis();
         transferManager.uploadFile(b -> b.putObjectRequest(r -> r.bucket(bucket).key(key))
-                                         .source(sourceFile.toPath()))
+                                         .source(sourceFile.toPath())
+                                         .overrideConfiguration(overrideConfiguration))
                        .completionFuture().join();
         long end = System.currentTimeMillis();
         latencies.add((end - start) / 1000.0);
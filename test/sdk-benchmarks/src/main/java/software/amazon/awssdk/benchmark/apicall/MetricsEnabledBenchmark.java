@@ -19,6 +19,7 @@ import org.openjdk.jmh.annotations.Benchmark;
 import org.openjdk.jmh.annotations.BenchmarkMode;
 import org.openjdk.jmh.annotations.Level;
 import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.Param;
 import org.openjdk.jmh.annotations.Scope;
 import org.openjdk.jmh.annotations.Setup;
 import org.openjdk.jmh.annotations.State;
@@ -35,6 +36,7 @@ import software.amazon.awssdk.http.apache.ApacheHttpClient;
 import software.amazon.awssdk.http.nio.netty.NettyNioAsyncHttpClient;
 import software.amazon.awssdk.metrics.MetricCollection;
 import software.amazon.awssdk.metrics.MetricPublisher;
+import software.amazon.awssdk.metrics.publishers.local.LocalMetricPublisher;
 import software.amazon.awssdk.services.protocolrestjson.ProtocolRestJsonAsyncClient;
 import software.amazon.awssdk.services.protocolrestjson.ProtocolRestJsonAsyncClientBuilder;
 import software.amazon.awssdk.services.protocolrestjson.ProtocolRestJsonClient;
@@ -44,11 +46,18 @@ import software.amazon.awssdk.services.protocolrestjson.model.StreamingOutputOpe
 
 /**
  * Benchmarking comparing metrics-enabled versus metrics-disabled performance.
+ *
+ * <p>The {@code publisher} parameter selects whether metrics are published to a publisher that discards them, or to a
+ * {@link LocalMetricPublisher} that aggregates them in memory, to measure the overhead of the publisher itself.
  */
 @State(Scope.Benchmark)
 @BenchmarkMode(Mode.Throughput)
 public class MetricsEnabledBenchmark {
+    @Param({"noop", "local"})
+    private String publisher;
+
     private MockServer mockServer;
+    private MetricPublisher metricPublisher;
     private ProtocolRestJsonClient enabledMetricsSyncClient;
     private ProtocolRestJsonAsyncClient enabledMetricsAsyncClient;
 
@@ -56,12 +65,13 @@ public class MetricsEnabledBenchmark {
     public void setup() throws Exception {
         mockServer = new MockServer();
         mockServer.start();
+        metricPublisher = "local".equals(publisher) ? LocalMetricPublisher.create() : new EnabledPublisher();
         enabledMetricsSyncClient = enableMetrics(syncClientBuilder()).build();
         enabledMetricsAsyncClient = enableMetrics(asyncClientBuilder()).build();
     }
 
     private <T extends SdkClientBuilder<T, ?>> T enableMetrics(T syncClientBuilder) {
-        return syncClientBuilder.overrideConfiguration(c -> c.addMetricPublisher(new EnabledPublisher()));
+        return syncClientBuilder.overrideConfiguration(c -> c.addMetricPublisher(metricPublisher));
     }
 
     private ProtocolRestJsonClientBuilder syncClientBuilder() {
@@ -81,6 +91,7 @@ public class MetricsEnabledBenchmark {
         mockServer.stop();
         enabledMetricsSyncClient.close();
         enabledMetricsAsyncClient.close();
+        metricPublisher.close();
     }
 
     @Benchmark
@@ -0,0 +1,129 @@
+/*
+ * Copyright Amazon.com, Inc. or its affiliates. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License").
+ * You may not use this file except in compliance with the License.
+ * A copy of the License is located at
+ *
+ *  http://aws.amazon.com/apache2.0
+ *
+ * or in the "license" file accompanying this file. This file is distributed
+ * on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either
+ * express or implied. See the License for the specific language governing
+ * permissions and limitations under the License.
+ */
+
+package software.amazon.awssdk.benchmark.apicall.httpclient.sync;
+
+import static software.amazon.awssdk.benchmark.utils.BenchmarkUtils.awaitCountdownLatchUninterruptibly;
+import static software.amazon.awssdk.benchmark.utils.BenchmarkUtils.countDownUponCompletion;
+
+import java.time.Duration;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+import software.amazon.awssdk.benchmark.utils.MockServer;
+import software.amazon.awssdk.http.SdkHttpClient;
+import software.amazon.awssdk.http.apache.ApacheHttpClient;
+import software.amazon.awssdk.services.protocolrestjson.ProtocolRestJsonClient;
+
+/**
+ * Runs {@value #CALLS} concurrent sync API calls, one per virtual thread, against a local mock server. API call and API call
+ * attempt timeouts are enabled so the timeout path is exercised as well.
+ *
+ * <p>Virtual threads require Java 21+. This module is compiled for Java 8, so the virtual thread executor is created
+ * reflectively and the benchmark must be run on a Java 21+ JVM. Run with {@code -Djdk.tracePinnedThreads=short} to report
+ * any carrier thread pinning in the sync execution path.
+ */
+@State(Scope.Benchmark)
+@Warmup(iterations = 2)
+@Measurement(iterations = 5)
+@Fork(value = 1, jvmArgsAppend = "-Djdk.tracePinnedThreads=short")
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+public class VirtualThreadSyncClientBenchmark {
+    private static final int CALLS = 100_000;
+
+    @Param({"500", "2000"})
+    private int maxConnections;
+
+    private MockServer mockServer;
+    private SdkHttpClient sdkHttpClient;
+    private ProtocolRestJsonClient client;
+    private ExecutorService virtualThreadExecutor;
+
+    @Setup(Level.Trial)
+    public void setup() throws Exception {
+        mockServer = new MockServer();
+        mockServer.start();
+        sdkHttpClient = ApacheHttpClient.builder()
+                                        .maxConnections(maxConnections)
+                                        .connectionAcquisitionTimeout(Duration.ofMinutes(1))
+                                        .build();
+        client = ProtocolRestJsonClient.builder()
+                                       .endpointOverride(mockServer.getHttpUri())
+                                       .httpClient(sdkHttpClient)
+                                       .overrideConfiguration(o -> o.apiCallTimeout(Duration.ofMinutes(2))
+                                                                    .apiCallAttemptTimeout(Duration.ofMinutes(1)))
+                                       .build();
+        virtualThreadExecutor = newVirtualThreadPerTaskExecutor();
+
+        client.allTypes();
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() throws Exception {
+        virtualThreadExecutor.shutdown();
+        mockServer.stop();
+        sdkHttpClient.close();
+        client.close();
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(CALLS)
+    public void concurrentApiCallOnVirtualThreads(Blackhole blackhole) {
+        CountDownLatch countDownLatch = new CountDownLatch(CALLS);
+        for (int i = 0; i < CALLS; i++) {
+            countDownUponCompletion(blackhole,
+                                    CompletableFuture.runAsync(() -> client.allTypes(), virtualThreadExecutor),
+                                    countDownLatch);
+        }
+
+        awaitCountdownLatchUninterruptibly(countDownLatch, 5, TimeUnit.MINUTES);
+    }
+
+    private static ExecutorService newVirtualThreadPerTaskExecutor() {
+        try {
+            return (ExecutorService) Executors.class.getMethod("newVirtualThreadPerTaskExecutor").invoke(null);
+        } catch (ReflectiveOperationException e) {
+            throw new IllegalStateException("Virtual threads are not available. Run this benchmark on Java 21 or later.", e);
+        }
+    }
+
+    public static void main(String... args) throws Exception {
+        Options opt = new OptionsBuilder()
+            .include(VirtualThreadSyncClientBenchmark.class.getSimpleName())
+            .build();
+        new Runner(opt).run();
+    }
+}
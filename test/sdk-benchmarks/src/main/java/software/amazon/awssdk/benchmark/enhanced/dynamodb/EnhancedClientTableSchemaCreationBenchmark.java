@@ -0,0 +1,74 @@
+/*
+ * Copyright Amazon.com, Inc. or its affiliates. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License").
+ * You may not use this file except in compliance with the License.
+ * A copy of the License is located at
+ *
+ *  http://aws.amazon.com/apache2.0
+ *
+ * or in the "license" file accompanying this file. This file is distributed
+ * on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either
+ * express or implied. See the License for the specific language governing
+ * permissions and limitations under the License.
+ */
+
+package software.amazon.awssdk.benchmark.enhanced.dynamodb;
+
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+import software.amazon.awssdk.benchmark.enhanced.dynamodb.ItemFactory.HugeBean;
+import software.amazon.awssdk.benchmark.enhanced.dynamodb.ItemFactory.HugeBeanFlat;
+import software.amazon.awssdk.benchmark.enhanced.dynamodb.ItemFactory.SmallBean;
+import software.amazon.awssdk.benchmark.enhanced.dynamodb.ItemFactory.TinyBean;
+import software.amazon.awssdk.enhanced.dynamodb.TableSchema;
+import software.amazon.awssdk.enhanced.dynamodb.mapper.BeanTableSchema;
+
+/**
+ * Measures the time it takes a new JVM to create the table schemas of the beans in {@link ItemFactory} and map an item with
+ * each of them, which is part of the cold start of an application such as a Lambda function.
+ * <p>
+ * {@link #beanTableSchema} creates the table schemas by scanning the bean classes, {@link #generatedTableSchema} loads the
+ * table schemas that the dynamodb-enhanced-processor annotation processor generated for them when this module was compiled,
+ * and {@link #staticTableSchema} creates the table schemas written by hand in {@link V2ItemFactory}.
+ */
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 0)
+@Measurement(iterations = 1)
+@Fork(30)
+@State(Scope.Benchmark)
+public class EnhancedClientTableSchemaCreationBenchmark {
+    @Benchmark
+    public void beanTableSchema(Blackhole bh) {
+        bh.consume(BeanTableSchema.create(TinyBean.class).itemToMap(new TinyBean(), false));
+        bh.consume(BeanTableSchema.create(SmallBean.class).itemToMap(new SmallBean(), false));
+        bh.consume(BeanTableSchema.create(HugeBean.class).itemToMap(new HugeBean(), false));
+        bh.consume(BeanTableSchema.create(HugeBeanFlat.class).itemToMap(new HugeBeanFlat(), false));
+    }
+
+    @Benchmark
+    public void generatedTableSchema(Blackhole bh) {
+        bh.consume(TableSchema.fromBean(TinyBean.class).itemToMap(new TinyBean(), false));
+        bh.consume(TableSchema.fromBean(SmallBean.class).itemToMap(new SmallBean(), false));
+        bh.consume(TableSchema.fromBean(HugeBean.class).itemToMap(new HugeBean(), false));
+        bh.consume(TableSchema.fromBean(HugeBeanFlat.class).itemToMap(new HugeBeanFlat(), false));
+    }
+
+    @Benchmark
+    public void staticTableSchema(Blackhole bh) {
+        bh.consume(V2ItemFactory.TINY_BEAN_TABLE_SCHEMA.itemToMap(new TinyBean(), false));
+        bh.consume(V2ItemFactory.SMALL_BEAN_TABLE_SCHEMA.itemToMap(new SmallBean(), false));
+        bh.consume(V2ItemFactory.HUGE_BEAN_TABLE_SCHEMA.itemToMap(new HugeBean(), false));
+        bh.consume(V2ItemFactory.HUGE_BEAN_FLAT_TABLE_SCHEMA.itemToMap(new HugeBeanFlat(), false));
+    }
+}
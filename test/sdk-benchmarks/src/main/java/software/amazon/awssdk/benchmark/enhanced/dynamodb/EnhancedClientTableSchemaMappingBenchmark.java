@@ -0,0 +1,129 @@
+/*
+ * Copyright Amazon.com, Inc. or its affiliates. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License").
+ * You may not use this file except in compliance with the License.
+ * A copy of the License is located at
+ *
+ *  http://aws.amazon.com/apache2.0
+ *
+ * or in the "license" file accompanying this file. This file is distributed
+ * on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either
+ * express or implied. See the License for the specific language governing
+ * permissions and limitations under the License.
+ */
+
+package software.amazon.awssdk.benchmark.enhanced.dynamodb;
+
+import java.util.Map;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import software.amazon.awssdk.enhanced.dynamodb.TableSchema;
+import software.amazon.awssdk.enhanced.dynamodb.mapper.BeanTableSchema;
+import software.amazon.awssdk.services.dynamodb.model.AttributeValue;
+
+/**
+ * Compares the cost of mapping items with table schemas that were created by scanning the bean classes
+ * ({@code BEAN}), generated by the dynamodb-enhanced-processor annotation processor ({@code GENERATED}), or written by
+ * hand ({@code STATIC}).
+ */
+@BenchmarkMode(Mode.Throughput)
+@Warmup(iterations = 5)
+@Measurement(iterations = 5)
+@Fork(2)
+@State(Scope.Benchmark)
+public class EnhancedClientTableSchemaMappingBenchmark {
+    @Benchmark
+    public Map<String, AttributeValue> itemToMap(TestState s) {
+        return s.tableSchema.itemToMap(s.item, false);
+    }
+
+    @Benchmark
+    public Object mapToItem(TestState s) {
+        return s.tableSchema.mapToItem(s.itemMap);
+    }
+
+    @State(Scope.Benchmark)
+    public static class TestState {
+        @Param({"TINY", "SMALL", "HUGE", "HUGE_FLAT"})
+        private TestItem testItem;
+
+        @Param({"BEAN", "GENERATED", "STATIC"})
+        private TableSchemaSource tableSchemaSource;
+
+        private TableSchema<Object> tableSchema;
+        private Object item;
+        private Map<String, AttributeValue> itemMap;
+
+        @Setup
+        @SuppressWarnings("unchecked")
+        public void setup() {
+            switch (tableSchemaSource) {
+                case BEAN:
+                    tableSchema = (TableSchema<Object>) BeanTableSchema.create(testItem.beanClass);
+                    break;
+                case GENERATED:
+                    tableSchema = (TableSchema<Object>) testItem.generatedTableSchema;
+                    break;
+                case STATIC:
+                    tableSchema = (TableSchema<Object>) testItem.staticTableSchema;
+                    break;
+                default:
+                    throw new IllegalStateException("Unknown table schema source " + tableSchemaSource);
+            }
+            item = testItem.bean;
+            itemMap = tableSchema.itemToMap(item, false);
+        }
+    }
+
+    public enum TableSchemaSource {
+        BEAN,
+        GENERATED,
+        STATIC
+    }
+
+    public enum TestItem {
+        TINY,
+        SMALL,
+        HUGE,
+        HUGE_FLAT
+        ;
+
+        private static final V2ItemFactory FACTORY = new V2ItemFactory();
+
+        private Class<?> beanClass;
+        private TableSchema<?> generatedTableSchema;
+        private TableSchema<?> staticTableSchema;
+        private Object bean;
+
+        static {
+            TINY.beanClass = ItemFactory.TinyBean.class;
+            TINY.generatedTableSchema = ItemFactory_TinyBean_TableSchema.create();
+            TINY.staticTableSchema = V2ItemFactory.TINY_BEAN_TABLE_SCHEMA;
+            TINY.bean = FACTORY.tinyBean();
+
+            SMALL.beanClass = ItemFactory.SmallBean.class;
+            SMALL.generatedTableSchema = ItemFactory_SmallBean_TableSchema.create();
+            SMALL.staticTableSchema = V2ItemFactory.SMALL_BEAN_TABLE_SCHEMA;
+            SMALL.bean = FACTORY.smallBean();
+
+            HUGE.beanClass = ItemFactory.HugeBean.class;
+            HUGE.generatedTableSchema = ItemFactory_HugeBean_TableSchema.create();
+            HUGE.staticTableSchema = V2ItemFactory.HUGE_BEAN_TABLE_SCHEMA;
+            HUGE.bean = FACTORY.hugeBean();
+
+            HUGE_FLAT.beanClass = ItemFactory.HugeBeanFlat.class;
+            HUGE_FLAT.generatedTableSchema = ItemFactory_HugeBeanFlat_TableSchema.create();
+            HUGE_FLAT.staticTableSchema = V2ItemFactory.HUGE_BEAN_FLAT_TABLE_SCHEMA;
+            HUGE_FLAT.bean = FACTORY.hugeBeanFlat();
+        }
+    }
+}
@@ -26,6 +26,7 @@ import java.util.Random;
 import java.util.stream.Collectors;
 import java.util.stream.IntStream;
 import software.amazon.awssdk.core.SdkBytes;
+import software.amazon.awssdk.enhanced.dynamodb.mapper.annotations.DynamoDbBean;
 
 abstract class ItemFactory<T> {
     private static final String ALPHA = "abcdefghijklmnopqrstuvwxyz";
@@ -179,6 +180,7 @@ abstract class ItemFactory<T> {
         return SdkBytes.fromByteBuffer(randomB());
     }
 
+    @DynamoDbBean
     public static class TinyBean {
         private String stringAttr;
 
@@ -191,6 +193,7 @@ abstract class ItemFactory<T> {
         }
     }
 
+    @DynamoDbBean
     public static class SmallBean {
         private String stringAttr;
         private SdkBytes binaryAttr;
@@ -221,6 +224,7 @@ abstract class ItemFactory<T> {
         }
     }
 
+    @DynamoDbBean
     public static class HugeBean {
         private String hashKey;
         private String stringAttr;
@@ -288,6 +292,7 @@ abstract class ItemFactory<T> {
         }
     }
 
+    @DynamoDbBean
     public static class HugeBeanFlat {
         private String stringAttr1;
         private String stringAttr2;
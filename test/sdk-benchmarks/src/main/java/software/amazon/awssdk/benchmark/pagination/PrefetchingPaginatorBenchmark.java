@@ -0,0 +1,192 @@
+/*
+ * Copyright Amazon.com, Inc. or its affiliates. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License").
+ * You may not use this file except in compliance with the License.
+ * A copy of the License is located at
+ *
+ *  http://aws.amazon.com/apache2.0
+ *
+ * or in the "license" file accompanying this file. This file is distributed
+ * on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either
+ * express or implied. See the License for the specific language governing
+ * permissions and limitations under the License.
+ */
+
+
+package software.amazon.awssdk.benchmark.pagination;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+import software.amazon.awssdk.auth.credentials.AwsBasicCredentials;
+import software.amazon.awssdk.auth.credentials.StaticCredentialsProvider;
+import software.amazon.awssdk.http.AbortableInputStream;
+import software.amazon.awssdk.http.ExecutableHttpRequest;
+import software.amazon.awssdk.http.HttpExecuteRequest;
+import software.amazon.awssdk.http.HttpExecuteResponse;
+import software.amazon.awssdk.http.SdkHttpClient;
+import software.amazon.awssdk.http.SdkHttpResponse;
+import software.amazon.awssdk.regions.Region;
+import software.amazon.awssdk.services.dynamodb.DynamoDbClient;
+import software.amazon.awssdk.services.dynamodb.model.ScanRequest;
+import software.amazon.awssdk.services.dynamodb.model.ScanResponse;
+import software.amazon.awssdk.utils.IoUtils;
+
+/**
+ * Compares iterating over all the pages of a DynamoDB Scan with and without prefetching, against a mock HTTP client that
+ * takes {@code serviceLatencyMillis} to return each page. Processing each page takes {@code pageProcessingMillis}.
+ *
+ * <p>Without prefetching, a scan of {@code n} pages takes about {@code n * (serviceLatency + pageProcessing)}. With
+ * prefetching, pages are fetched while the previous ones are processed, and it takes about
+ * {@code serviceLatency + n * max(serviceLatency, pageProcessing)}.
+ */
+@State(Scope.Benchmark)
+@Warmup(iterations = 3, time = 5)
+@Measurement(iterations = 5, time = 5)
+@Fork(1)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+public class PrefetchingPaginatorBenchmark {
+    private static final int PAGES = 10;
+    private static final ScanRequest SCAN_REQUEST = ScanRequest.builder().tableName("table").build();
+
+    @Param({"10"})
+    private int serviceLatencyMillis;
+
+    @Param({"5", "10", "20"})
+    private int pageProcessingMillis;
+
+    @Param({"1", "4"})
+    private int maxPrefetchedPages;
+
+    private DynamoDbClient client;
+    private ExecutorService prefetchExecutor;
+
+    @Setup(Level.Trial)
+    public void setup() {
+        client = DynamoDbClient.builder()
+                               .region(Region.US_WEST_2)
+                               .credentialsProvider(StaticCredentialsProvider.create(AwsBasicCredentials.create("akid", "skid")))
+                               .httpClient(new DelayedScanHttpClient(serviceLatencyMillis))
+                               .build();
+        prefetchExecutor = Executors.newCachedThreadPool();
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        client.close();
+        prefetchExecutor.shutdown();
+    }
+
+    @Benchmark
+    public void scan(Blackhole blackhole) throws InterruptedException {
+        for (ScanResponse page : client.scanPaginator(SCAN_REQUEST)) {
+            process(page, blackhole);
+        }
+    }
+
+    @Benchmark
+    public void scanWithPrefetch(Blackhole blackhole) throws InterruptedException {
+        for (ScanResponse page : client.scanPaginator(SCAN_REQUEST).prefetch(maxPrefetchedPages, prefetchExecutor)) {
+            process(page, blackhole);
+        }
+    }
+
+    private void process(ScanResponse page, Blackhole blackhole) throws InterruptedException {
+        blackhole.consume(page);
+        Thread.sleep(pageProcessingMillis);
+    }
+
+    /**
+     * Returns {@link #PAGES} scan pages of one item each, linked by their {@code LastEvaluatedKey}, after the configured
+     * latency.
+     */
+    private static final class DelayedScanHttpClient implements SdkHttpClient {
+        private static final Pattern START_KEY = Pattern.compile("\"ExclusiveStartKey\":\\{\"id\":\\{\"N\":\"(\\d+)\"}}");
+
+        private final int latencyMillis;
+
+        private DelayedScanHttpClient(int latencyMillis) {
+            this.latencyMillis = latencyMillis;
+        }
+
+        @Override
+        public ExecutableHttpRequest prepareRequest(HttpExecuteRequest request) {
+            return new ExecutableHttpRequest() {
+                @Override
+                public HttpExecuteResponse call() throws IOException {
+                    try {
+                        Thread.sleep(latencyMillis);
+                    } catch (InterruptedException e) {
+                        Thread.currentThread().interrupt();
+                        throw new IOException(e);
+                    }
+                    return response(pageNumber(request) + 1);
+                }
+
+                @Override
+                public void abort() {
+                }
+            };
+        }
+
+        private static int pageNumber(HttpExecuteRequest request) {
+            String body = request.contentStreamProvider()
+                                 .map(p -> {
+                                     try {
+                                         return IoUtils.toUtf8String(p.newStream());
+                                     } catch (IOException e) {
+                                         throw new UncheckedIOException(e);
+                                     }
+                                 })
+                                 .orElse("");
+            Matcher matcher = START_KEY.matcher(body);
+            return matcher.find() ? Integer.parseInt(matcher.group(1)) : 0;
+        }
+
+        private static HttpExecuteResponse response(int nextPage) {
+            String lastEvaluatedKey = nextPage < PAGES ? ",\"LastEvaluatedKey\":{\"id\":{\"N\":\"" + nextPage + "\"}}" : "";
+            String body = "{\"Count\":1,\"Items\":[{\"id\":{\"N\":\"" + nextPage + "\"}}]" + lastEvaluatedKey + "}";
+            return HttpExecuteResponse.builder()
+                                      .response(SdkHttpResponse.builder().statusCode(200).build())
+                                      .responseBody(AbortableInputStream.create(
+                                          new ByteArrayInputStream(body.getBytes(StandardCharsets.UTF_8))))
+                                      .build();
+        }
+
+        @Override
+        public void close() {
+        }
+    }
+
+    public static void main(String... args) throws Exception {
+        Options opt = new OptionsBuilder()
+            .include(PrefetchingPaginatorBenchmark.class.getSimpleName())
+            .build();
+        new Runner(opt).run();
+    }
+}
@@ -0,0 +1,75 @@
+/*
+ * Copyright Amazon.com, Inc. or its affiliates. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License").
+ * You may not use this file except in compliance with the License.
+ * A copy of the License is located at
+ *
+ *  http://aws.amazon.com/apache2.0
+ *
+ * or in the "license" file accompanying this file. This file is distributed
+ * on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either
+ * express or implied. See the License for the specific language governing
+ * permissions and limitations under the License.
+ */
+
+package software.amazon.awssdk.benchmark.retry;
+
+import java.util.OptionalDouble;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+import software.amazon.awssdk.core.internal.retry.RateLimitingTokenBucket;
+
+/**
+ * Measures the cost of the client-side rate limiting that every API call made with the {@code ADAPTIVE} retry mode performs:
+ * acquiring a token before the request is sent and updating the sending rate once the response is received. All threads share
+ * a single enabled bucket, as all clients configured with the same
+ * {@link software.amazon.awssdk.core.retry.RetryPolicy#rateLimiterName()} do.
+ *
+ * <p>Run with {@code -t} to change the number of contending threads.
+ */
+@State(Scope.Benchmark)
+@Warmup(iterations = 3, time = 5)
+@Measurement(iterations = 5, time = 5)
+@Fork(1)
+@Threads(8)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+public class RateLimitingTokenBucketBenchmark {
+    private RateLimitingTokenBucket bucket;
+
+    @Setup(Level.Trial)
+    public void setup() {
+        bucket = new RateLimitingTokenBucket();
+        // Throttle once so that the bucket starts limiting the sending rate, as it does for a throttled service.
+        bucket.updateClientSendingRate(true);
+    }
+
+    @Benchmark
+    public OptionalDouble acquireAndUpdateSendingRate() {
+        OptionalDouble delay = bucket.acquireNonBlocking(1.0, false);
+        bucket.updateClientSendingRate(false);
+        return delay;
+    }
+
+    public static void main(String... args) throws Exception {
+        Options opt = new OptionsBuilder()
+            .include(RateLimitingTokenBucketBenchmark.class.getSimpleName())
+            .build();
+        new Runner(opt).run();
+    }
+}
@@ -0,0 +1,99 @@
+/*
+ * Copyright Amazon.com, Inc. or its affiliates. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License").
+ * You may not use this file except in compliance with the License.
+ * A copy of the License is located at
+ *
+ *  http://aws.amazon.com/apache2.0
+ *
+ * or in the "license" file accompanying this file. This file is distributed
+ * on an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either
+ * express or implied. See the License for the specific language governing
+ * permissions and limitations under the License.
+ */
+
+package software.amazon.awssdk.benchmark.timers;
+
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+import software.amazon.awssdk.core.internal.http.timers.HashedWheelTimer;
+import software.amazon.awssdk.core.internal.http.timers.TimeoutTracker;
+import software.amazon.awssdk.core.internal.http.timers.TimerUtils;
+import software.amazon.awssdk.utils.ThreadFactoryBuilder;
+
+/**
+ * Measures the cost of scheduling and cancelling an API call timeout when many threads do so at once, which is what every
+ * API call with {@code apiCallTimeout} or {@code apiCallAttemptTimeout} configured does. Compares a
+ * {@link ScheduledThreadPoolExecutor}, where every schedule and cancel takes the lock of its delay queue, with the
+ * {@link HashedWheelTimer} that SDK clients use.
+ *
+ * <p>Run with {@code -t} to change the number of contending threads.
+ */
+@State(Scope.Benchmark)
+@Warmup(iterations = 3, time = 5)
+@Measurement(iterations = 5, time = 5)
+@Fork(1)
+@Threads(64)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+public class TimeoutSchedulingBenchmark {
+    private static final long TIMEOUT_MILLIS = 30_000;
+
+    @Param({"ScheduledThreadPoolExecutor", "HashedWheelTimer"})
+    private String scheduler;
+
+    private ScheduledExecutorService timeoutExecutor;
+
+    @Setup(Level.Trial)
+    public void setup() {
+        ThreadFactoryBuilder threadFactory = new ThreadFactoryBuilder().threadNamePrefix("benchmark-timer").daemonThreads(true);
+        if ("HashedWheelTimer".equals(scheduler)) {
+            timeoutExecutor = new HashedWheelTimer(HashedWheelTimer.DEFAULT_TICK_DURATION,
+                                                   HashedWheelTimer.DEFAULT_TICKS_PER_WHEEL,
+                                                   threadFactory.build(),
+                                                   null);
+        } else {
+            ScheduledThreadPoolExecutor executor = new ScheduledThreadPoolExecutor(1, threadFactory.build());
+            executor.setRemoveOnCancelPolicy(true);
+            timeoutExecutor = executor;
+        }
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        timeoutExecutor.shutdownNow();
+    }
+
+    @Benchmark
+    public boolean scheduleAndCancelTimeout() {
+        TimeoutTracker tracker = TimerUtils.timeSyncTaskIfNeeded(timeoutExecutor, TIMEOUT_MILLIS, Thread.currentThread());
+        tracker.cancel();
+        return tracker.hasExecuted();
+    }
+
+    public static void main(String... args) throws Exception {
+        Options opt = new OptionsBuilder()
+            .include(TimeoutSchedulingBenchmark.class.getSimpleName())
+            .build();
+        new Runner(opt).run();
+    }
+}
@@ -15,6 +15,8 @@
 
 package software.amazon.awssdk.utils;
 
+import java.util.concurrent.locks.Lock;
+import java.util.concurrent.locks.ReentrantLock;
 import java.util.function.Supplier;
 import software.amazon.awssdk.annotations.SdkPublicApi;
 
@@ -27,6 +29,12 @@ import software.amazon.awssdk.annotations.SdkPublicApi;
 public class Lazy<T> implements SdkAutoCloseable {
     private final Supplier<T> initializer;
 
+    /**
+     * Guards initialization. A j.u.c lock is used instead of a monitor so that virtual threads waiting on a slow initializer
+     * (e.g. one that makes a network call) do not pin their carrier threads.
+     */
+    private final Lock initializationLock = new ReentrantLock();
+
     private volatile T value;
 
     public Lazy(Supplier<T> initializer) {
@@ -36,12 +44,15 @@ public class Lazy<T> implements SdkAutoCloseable {
     public T getValue() {
         T result = value;
         if (result == null) {
-            synchronized (this) {
+            initializationLock.lock();
+            try {
                 result = value;
                 if (result == null) {
                     result = initializer.get();
                     value = result;
                 }
+            } finally {
+                initializationLock.unlock();
             }
         }
 